@@ -25,6 +25,7 @@ public class BatchSize {
     private Integer count;
     private String size;
     private String duration;
+    private Boolean adaptive;
 
     @ApiModelProperty("Preferred number of flow files to include in a transaction.")
     public Integer getCount() {
@@ -53,9 +54,19 @@ public class BatchSize {
         this.duration = duration;
     }
 
+    @ApiModelProperty("Whether the number of flow files and bytes in a transaction are adjusted based on observed throughput, "
+        + "with the preferred count and size acting as upper bounds.")
+    public Boolean getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(Boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(count, duration, size);
+        return Objects.hash(count, duration, size, adaptive);
     }
 
     @Override
@@ -71,6 +82,7 @@ public class BatchSize {
         }
 
         final BatchSize other = (BatchSize) obj;
-        return Objects.equals(count, other.count) && Objects.equals(size, other.size) && Objects.equals(duration, other.duration);
+        return Objects.equals(count, other.count) && Objects.equals(size, other.size) && Objects.equals(duration, other.duration)
+            && Objects.equals(adaptive, other.adaptive);
     }
 }
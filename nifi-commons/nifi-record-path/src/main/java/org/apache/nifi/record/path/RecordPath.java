@@ -29,6 +29,9 @@ import org.apache.nifi.record.path.paths.RecordPathCompiler;
 import org.apache.nifi.record.path.paths.RecordPathSegment;
 import org.apache.nifi.record.path.paths.RootPath;
 import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.util.Optional;
 
 public interface RecordPath {
 
@@ -67,6 +70,18 @@ public interface RecordPath {
      */
     boolean isAbsolute();
 
+    /**
+     * Creates an accessor that selects the same field as this RecordPath without the overhead of {@link #evaluate(Record)}. This is possible
+     * only for Absolute RecordPaths that consist solely of child field references and single array indices, such as <code>/person/addresses[0]/city</code>.
+     * Any other RecordPath must be evaluated using {@link #evaluate(Record)}.
+     *
+     * @param schema the schema of the Records that the accessor will be used against, or <code>null</code> if the schema is not known in advance
+     * @return an accessor for this RecordPath, or an empty Optional if this RecordPath cannot be evaluated by an accessor
+     */
+    default Optional<RecordPathAccessor> createAccessor(final RecordSchema schema) {
+        return Optional.empty();
+    }
+
     /**
      * Compiles a RecordPath from the given text
      *
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.record.path;
+
+import org.apache.nifi.serialization.record.Record;
+
+/**
+ * <p>
+ * Provides direct access to the single field that a simple RecordPath selects, such as <code>/name</code> or <code>/addresses[0]/city</code>.
+ * Unlike {@link RecordPath#evaluate(Record)}, an accessor does not create a Stream, and the fields that the path refers to are resolved
+ * against the Record Schema ahead of time rather than once per Record. The results are the same as those of {@link RecordPath#evaluate(Record)}.
+ * </p>
+ *
+ * <p>
+ * An accessor may be used against Records of any schema. It is most efficient, though, when consecutive Records share the same
+ * RecordSchema instance, as is the case for Records that are produced by the same Record Reader. Implementations must be thread-safe.
+ * </p>
+ */
+public interface RecordPathAccessor {
+
+    /**
+     * @return the RecordPath that this accessor evaluates
+     */
+    RecordPath getRecordPath();
+
+    /**
+     * Returns the value of the field that the RecordPath selects from the given Record. This method does not create any objects
+     * and is therefore preferable when only the value is needed.
+     *
+     * @param record the Record to evaluate
+     * @return the value of the selected field, or <code>null</code> if no field is selected or the selected field has no value
+     */
+    Object getValue(Record record);
+
+    /**
+     * Returns the value of the field that the RecordPath selects from the given Record. Unlike {@link #getValue(Record)}, this method distinguishes
+     * a selected field that has no value from a RecordPath that selects no field, such as an array index that is out of bounds. It also does not
+     * create any objects.
+     *
+     * @param record the Record to evaluate
+     * @param noSelection the object to return if the RecordPath selects no field
+     * @return the value of the selected field, which may be <code>null</code>, or <code>noSelection</code> if no field is selected
+     */
+    Object getValue(Record record, Object noSelection);
+
+    /**
+     * Returns the FieldValue that the RecordPath selects from the given Record, which may be used to update the field
+     *
+     * @param record the Record to evaluate
+     * @return the selected FieldValue, which is equal to the only FieldValue returned by {@link RecordPath#evaluate(Record)},
+     *         or <code>null</code> if the RecordPath selects no field
+     */
+    FieldValue getFieldValue(Record record);
+}
@@ -18,14 +18,17 @@
 package org.apache.nifi.record.path.paths;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.RecordPathAccessor;
 import org.apache.nifi.record.path.RecordPathEvaluationContext;
 import org.apache.nifi.record.path.RecordPathResult;
 import org.apache.nifi.record.path.StandardRecordPathEvaluationContext;
 import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
 
 public abstract class RecordPathSegment implements RecordPath {
     private final String path;
@@ -115,5 +118,10 @@ public abstract class RecordPathSegment implements RecordPath {
         };
     }
 
+    @Override
+    public Optional<RecordPathAccessor> createAccessor(final RecordSchema schema) {
+        return StandardRecordPathAccessor.create(this, schema);
+    }
+
     public abstract Stream<FieldValue> evaluate(RecordPathEvaluationContext context);
 }
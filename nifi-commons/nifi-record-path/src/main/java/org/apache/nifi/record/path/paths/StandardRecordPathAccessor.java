@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.record.path.paths;
+
+import org.apache.nifi.record.path.ArrayIndexFieldValue;
+import org.apache.nifi.record.path.FieldValue;
+import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.RecordPathAccessor;
+import org.apache.nifi.record.path.StandardFieldValue;
+import org.apache.nifi.record.path.util.Filters;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A RecordPathAccessor for Absolute RecordPaths that consist of only {@link ChildFieldPath} and {@link ArrayIndexPath} segments.
+ * The path is flattened into an array of steps, and each child field reference is resolved against the Record Schema once,
+ * when the accessor is first used against a Record of that schema. Evaluating a Record of a different schema re-resolves the fields.
+ */
+class StandardRecordPathAccessor implements RecordPathAccessor {
+    private static final Object NO_SELECTION = new Object();
+
+    private final RecordPath recordPath;
+    private final Step[] steps;
+    private volatile SchemaBinding binding;
+
+    private StandardRecordPathAccessor(final RecordPath recordPath, final Step[] steps, final RecordSchema schema) {
+        this.recordPath = recordPath;
+        this.steps = steps;
+        this.binding = schema == null ? null : new SchemaBinding(schema, steps);
+    }
+
+    static Optional<RecordPathAccessor> create(final RecordPathSegment recordPath, final RecordSchema schema) {
+        if (!recordPath.isAbsolute()) {
+            return Optional.empty();
+        }
+
+        final List<Step> steps = new ArrayList<>();
+        RecordPathSegment segment = recordPath;
+        while (!(segment instanceof RootPath)) {
+            if (segment instanceof ChildFieldPath) {
+                steps.add(Step.child(((ChildFieldPath) segment).getChildName()));
+            } else if (segment instanceof ArrayIndexPath) {
+                steps.add(Step.arrayIndex(((ArrayIndexPath) segment).getIndex()));
+            } else {
+                return Optional.empty();
+            }
+
+            segment = segment.getParentPath();
+            if (segment == null) {
+                return Optional.empty();
+            }
+        }
+
+        Collections.reverse(steps);
+        return Optional.of(new StandardRecordPathAccessor(recordPath, steps.toArray(new Step[0]), schema));
+    }
+
+    @Override
+    public RecordPath getRecordPath() {
+        return recordPath;
+    }
+
+    @Override
+    public Object getValue(final Record record) {
+        return getValue(record, null);
+    }
+
+    @Override
+    public Object getValue(final Record record, final Object noSelection) {
+        final Object value = evaluate(record, false);
+        return value == NO_SELECTION ? noSelection : value;
+    }
+
+    @Override
+    public FieldValue getFieldValue(final Record record) {
+        final Object fieldValue = evaluate(record, true);
+        return fieldValue == NO_SELECTION ? null : (FieldValue) fieldValue;
+    }
+
+    /**
+     * Walks the steps of the path, mirroring the semantics of ChildFieldPath and ArrayIndexPath
+     *
+     * @return {@link #NO_SELECTION} if the path selects nothing; otherwise, the selected FieldValue if <code>createFieldValues</code> is true or the selected value if it is false
+     */
+    private Object evaluate(final Record record, final boolean createFieldValues) {
+        final SchemaBinding schemaBinding = getBinding(record.getSchema());
+
+        Object value = record;
+        DataType dataType = schemaBinding.rootField.getDataType();
+        FieldValue fieldValue = createFieldValues ? new StandardFieldValue(record, schemaBinding.rootField, null) : null;
+
+        for (int i = 0; i < steps.length; i++) {
+            final Step step = steps[i];
+
+            if (step.childName != null) {
+                RecordField field = null;
+                Object childValue = null;
+
+                if (value != null && Filters.isRecord(dataType, value)) {
+                    final Record parentRecord = (Record) value;
+                    final RecordSchema parentSchema = parentRecord.getSchema();
+                    field = parentSchema == schemaBinding.schemas[i] ? schemaBinding.fields[i] : parentSchema.getField(step.childName).orElse(null);
+                    if (field != null) {
+                        childValue = parentRecord.getValue(field);
+                    }
+                }
+
+                if (childValue == null) {
+                    field = step.missingField;
+                }
+
+                value = childValue;
+                dataType = field.getDataType();
+                if (createFieldValues) {
+                    fieldValue = new StandardFieldValue(childValue, field, fieldValue);
+                }
+            } else {
+                if (dataType.getFieldType() != RecordFieldType.ARRAY || !(value instanceof Object[])) {
+                    return NO_SELECTION;
+                }
+
+                final Object[] array = (Object[]) value;
+                final int arrayIndex = step.index < 0 ? array.length + step.index : step.index;
+                if (arrayIndex < 0 || arrayIndex >= array.length) {
+                    return NO_SELECTION;
+                }
+
+                value = array[arrayIndex];
+                dataType = ((ArrayDataType) dataType).getElementType();
+                if (createFieldValues) {
+                    final RecordField elementField = new RecordField(fieldValue.getField().getFieldName(), dataType);
+                    fieldValue = new ArrayIndexFieldValue(value, elementField, fieldValue, arrayIndex);
+                }
+            }
+        }
+
+        return createFieldValues ? fieldValue : value;
+    }
+
+    private SchemaBinding getBinding(final RecordSchema schema) {
+        SchemaBinding schemaBinding = binding;
+        if (schemaBinding == null || schemaBinding.rootSchema != schema) {
+            schemaBinding = new SchemaBinding(schema, steps);
+            binding = schemaBinding;
+        }
+
+        return schemaBinding;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordPathAccessor[" + recordPath.getPath() + "]";
+    }
+
+    private static class Step {
+        private final String childName;
+        private final RecordField missingField;
+        private final int index;
+
+        private Step(final String childName, final int index) {
+            this.childName = childName;
+            this.index = index;
+            this.missingField = childName == null ? null
+                : new RecordField(childName, RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.STRING.getDataType(), RecordFieldType.RECORD.getDataType()));
+        }
+
+        static Step child(final String childName) {
+            return new Step(childName, 0);
+        }
+
+        static Step arrayIndex(final int index) {
+            return new Step(null, index);
+        }
+    }
+
+    /**
+     * The fields that each child step resolves to for Records of a given schema. For each step, <code>schemas[i]</code> holds the schema
+     * that the parent Record is expected to have, and <code>fields[i]</code> holds the corresponding field, or <code>null</code> if that
+     * schema does not have the field.
+     */
+    private static class SchemaBinding {
+        private final RecordSchema rootSchema;
+        private final RecordField rootField;
+        private final RecordSchema[] schemas;
+        private final RecordField[] fields;
+
+        private SchemaBinding(final RecordSchema rootSchema, final Step[] steps) {
+            this.rootSchema = rootSchema;
+            this.rootField = new RecordField("root", RecordFieldType.RECORD.getRecordDataType(rootSchema));
+            this.schemas = new RecordSchema[steps.length];
+            this.fields = new RecordField[steps.length];
+
+            DataType dataType = rootField.getDataType();
+            for (int i = 0; i < steps.length && dataType != null; i++) {
+                final Step step = steps[i];
+
+                if (step.childName == null) {
+                    dataType = dataType instanceof ArrayDataType ? ((ArrayDataType) dataType).getElementType() : null;
+                    continue;
+                }
+
+                final RecordSchema schema = dataType instanceof RecordDataType ? ((RecordDataType) dataType).getChildSchema() : null;
+                final RecordField field = schema == null ? null : schema.getField(step.childName).orElse(null);
+                schemas[i] = schema;
+                fields[i] = field;
+                dataType = field == null ? null : field.getDataType();
+            }
+        }
+    }
+}
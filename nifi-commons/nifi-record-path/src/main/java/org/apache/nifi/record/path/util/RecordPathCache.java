@@ -20,17 +20,36 @@ package org.apache.nifi.record.path.util;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.RecordPathAccessor;
+
+import java.util.Optional;
 
 public class RecordPathCache {
     private final LoadingCache<String, RecordPath> compiledRecordPaths;
+    private final LoadingCache<String, Optional<RecordPathAccessor>> accessors;
 
     public RecordPathCache(final int cacheSize) {
         compiledRecordPaths = Caffeine.newBuilder()
                 .maximumSize(cacheSize)
                 .build(RecordPath::compile);
+        accessors = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build(path -> getCompiled(path).createAccessor(null));
     }
 
     public RecordPath getCompiled(final String path) {
         return compiledRecordPaths.get(path);
     }
+
+    /**
+     * Returns an accessor for the given RecordPath, if the RecordPath is simple enough to be evaluated by one. The accessor
+     * is shared by all callers and resolves fields against the schema of the Records that it is used against.
+     *
+     * @param path the textual representation of the RecordPath
+     * @return an accessor for the RecordPath, or an empty Optional if the RecordPath must be evaluated by {@link RecordPath#evaluate}
+     * @see RecordPath#createAccessor(org.apache.nifi.serialization.record.RecordSchema)
+     */
+    public Optional<RecordPathAccessor> getAccessor(final String path) {
+        return accessors.get(path);
+    }
 }
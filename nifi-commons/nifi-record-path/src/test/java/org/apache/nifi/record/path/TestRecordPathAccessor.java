@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.record.path;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRecordPathAccessor {
+
+    private static final RecordSchema ACCOUNT_SCHEMA = new SimpleRecordSchema(Arrays.asList(
+        new RecordField("id", RecordFieldType.INT.getDataType()),
+        new RecordField("balance", RecordFieldType.DOUBLE.getDataType())));
+
+    private static final RecordSchema PERSON_SCHEMA = new SimpleRecordSchema(Arrays.asList(
+        new RecordField("id", RecordFieldType.INT.getDataType()),
+        new RecordField("name", RecordFieldType.STRING.getDataType()),
+        new RecordField("missing", RecordFieldType.STRING.getDataType()),
+        new RecordField("mainAccount", RecordFieldType.RECORD.getRecordDataType(ACCOUNT_SCHEMA)),
+        new RecordField("accounts", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.RECORD.getRecordDataType(ACCOUNT_SCHEMA))),
+        new RecordField("numbers", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.INT.getDataType()))));
+
+    @Test
+    public void testSameResultsAsEvaluate() {
+        final Record record = createPerson();
+
+        for (final String path : Arrays.asList("/id", "/name", "/missing", "/unknown", "/mainAccount", "/mainAccount/balance", "/mainAccount/unknown/id",
+                "/name/id", "/accounts[0]", "/accounts[1]/id", "/accounts[-1]/balance", "/accounts[2]", "/numbers[0]", "/numbers[2]",
+                "/name[0]", "/missing[0]", "/unknown[0]/id")) {
+            final RecordPath recordPath = RecordPath.compile(path);
+            final RecordPathAccessor accessor = recordPath.createAccessor(PERSON_SCHEMA).get();
+
+            final List<FieldValue> expected = recordPath.evaluate(record).getSelectedFields().collect(Collectors.toList());
+            assertTrue(expected.size() <= 1, path);
+
+            final FieldValue expectedFieldValue = expected.isEmpty() ? null : expected.get(0);
+            assertEquals(expectedFieldValue, accessor.getFieldValue(record), path);
+            assertEquals(expectedFieldValue == null ? null : expectedFieldValue.getValue(), accessor.getValue(record), path);
+
+            final Object noSelection = new Object();
+            assertSame(expectedFieldValue == null ? noSelection : expectedFieldValue.getValue(), accessor.getValue(record, noSelection), path);
+        }
+    }
+
+    @Test
+    public void testUnsupportedPaths() {
+        for (final String path : Arrays.asList("/*", "//id", "/accounts[*]/id", "/accounts[0..1]", "/accounts[0, 1]", "/accounts[0]/..", "/mainAccount['id']",
+                "/accounts[./balance > 10]", "substring(/name, 0, 4)", "./name", "/name/.")) {
+            assertFalse(RecordPath.compile(path).createAccessor(PERSON_SCHEMA).isPresent(), path);
+        }
+    }
+
+    @Test
+    public void testDifferentSchema() {
+        final RecordPathAccessor accessor = RecordPath.compile("/mainAccount/balance").createAccessor(PERSON_SCHEMA).get();
+        assertEquals(123.45D, accessor.getValue(createPerson()));
+
+        final RecordSchema otherAccountSchema = new SimpleRecordSchema(Arrays.asList(
+            new RecordField("balance", RecordFieldType.FLOAT.getDataType())));
+        final RecordSchema otherSchema = new SimpleRecordSchema(Arrays.asList(
+            new RecordField("mainAccount", RecordFieldType.RECORD.getRecordDataType(otherAccountSchema))));
+
+        final Map<String, Object> accountValues = new HashMap<>();
+        accountValues.put("balance", 5.5F);
+        final Map<String, Object> values = new HashMap<>();
+        values.put("mainAccount", new MapRecord(otherAccountSchema, accountValues));
+
+        final FieldValue fieldValue = accessor.getFieldValue(new MapRecord(otherSchema, values));
+        assertEquals(5.5F, fieldValue.getValue());
+        assertEquals(RecordFieldType.FLOAT, fieldValue.getField().getDataType().getFieldType());
+
+        assertEquals(123.45D, accessor.getValue(createPerson()));
+        assertNull(RecordPath.compile("/mainAccount/balance").createAccessor(null).get().getValue(new MapRecord(PERSON_SCHEMA, new HashMap<>())));
+    }
+
+    @Test
+    public void testUpdateValue() {
+        final Record record = createPerson();
+
+        RecordPath.compile("/name").createAccessor(PERSON_SCHEMA).get().getFieldValue(record).updateValue("Jane Doe");
+        assertEquals("Jane Doe", record.getValue("name"));
+
+        RecordPath.compile("/accounts[1]/balance").createAccessor(PERSON_SCHEMA).get().getFieldValue(record).updateValue(1.5D);
+        assertEquals(1.5D, ((Record) ((Object[]) record.getValue("accounts"))[1]).getValue("balance"));
+
+        RecordPath.compile("/numbers[-1]").createAccessor(PERSON_SCHEMA).get().getFieldValue(record).updateValue(7);
+        assertEquals(7, ((Object[]) record.getValue("numbers"))[1]);
+    }
+
+    private Record createPerson() {
+        final Map<String, Object> mainAccountValues = new HashMap<>();
+        mainAccountValues.put("id", 1);
+        mainAccountValues.put("balance", 123.45D);
+
+        final List<Record> accounts = new ArrayList<>();
+        for (int i = 2; i < 4; i++) {
+            final Map<String, Object> accountValues = new HashMap<>();
+            accountValues.put("id", i);
+            accountValues.put("balance", i * 10D);
+            accounts.add(new MapRecord(ACCOUNT_SCHEMA, accountValues));
+        }
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", 48);
+        values.put("name", "John Doe");
+        values.put("mainAccount", new MapRecord(ACCOUNT_SCHEMA, mainAccountValues));
+        values.put("accounts", accounts.toArray());
+        values.put("numbers", new Object[] {4, 5});
+        return new MapRecord(PERSON_SCHEMA, values);
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.nifi.serialization;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.nifi.serialization.record.RecordSet;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
+import org.apache.nifi.serialization.record.batch.RecordBatchBuilder;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -76,6 +78,36 @@ public interface RecordReader extends Closeable {
      */
     RecordSchema getSchema() throws MalformedRecordException;
 
+    /**
+     * Reads up to the given number of records and returns them in columnar form. Types are coerced and unknown fields are dropped,
+     * as with {@link #nextRecord()}. The default implementation reads one record at a time; readers that are able to populate
+     * column vectors directly should override this method.
+     *
+     * @param maxRecords the maximum number of records to include in the batch
+     * @return a batch of up to <code>maxRecords</code> records, or <code>null</code> if no more records are available
+     *
+     * @throws IOException if unable to read from the underlying data
+     * @throws MalformedRecordException if an unrecoverable failure occurs when trying to parse a record
+     */
+    default RecordBatch nextBatch(final int maxRecords) throws IOException, MalformedRecordException {
+        if (maxRecords < 1) {
+            throw new IllegalArgumentException("Cannot read a batch of " + maxRecords + " records. Batch size must be a positive integer");
+        }
+
+        Record record = nextRecord();
+        if (record == null) {
+            return null;
+        }
+
+        final RecordBatchBuilder builder = new RecordBatchBuilder(getSchema(), Math.min(maxRecords, 1024));
+        builder.addRecord(record);
+        while (builder.getRowCount() < maxRecords && (record = nextRecord()) != null) {
+            builder.addRecord(record);
+        }
+
+        return builder.build();
+    }
+
     /**
      * @return a RecordSet that returns the records in this Record Reader in a streaming fashion
      */
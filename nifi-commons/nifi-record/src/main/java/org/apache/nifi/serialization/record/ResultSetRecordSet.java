@@ -56,6 +56,9 @@ public class ResultSetRecordSet implements RecordSet, Closeable {
     private final Set<String> rsColumnNames;
     private final int defaultPrecision;
     private final int defaultScale;
+    private final String[] fieldNames;
+    private final ColumnReader[] columnReaders;
+    private final int valuesCapacity;
 
     private boolean moreRows;
 
@@ -66,6 +69,9 @@ public class ResultSetRecordSet implements RecordSet, Closeable {
     private static final String DOUBLE_CLASS_NAME = Double.class.getName();
     private static final String FLOAT_CLASS_NAME = Float.class.getName();
     private static final String BIGDECIMAL_CLASS_NAME = BigDecimal.class.getName();
+    private static final String BOOLEAN_CLASS_NAME = Boolean.class.getName();
+    private static final String SQL_DATE_CLASS_NAME = java.sql.Date.class.getName();
+    private static final String SQL_TIMESTAMP_CLASS_NAME = java.sql.Timestamp.class.getName();
 
     public ResultSetRecordSet(final ResultSet rs, final RecordSchema readerSchema) throws SQLException {
         this(rs, readerSchema, JDBC_DEFAULT_PRECISION_VALUE, JDBC_DEFAULT_SCALE_VALUE);
@@ -90,6 +96,11 @@ public class ResultSetRecordSet implements RecordSet, Closeable {
             tempSchema = createSchema(rs, readerSchema, useLogicalTypes);
         }
         this.schema = tempSchema;
+
+        // Determine how to read each column once, rather than for every row
+        this.fieldNames = new String[schema.getFieldCount()];
+        this.columnReaders = createColumnReaders(rs.getMetaData(), schema, fieldNames);
+        this.valuesCapacity = (int) (fieldNames.length / 0.75f) + 1;
     }
 
     @Override
@@ -135,21 +146,121 @@ public class ResultSetRecordSet implements RecordSet, Closeable {
     }
 
     protected Record createRecord(final ResultSet rs) throws SQLException {
-        final Map<String, Object> values = new HashMap<>(schema.getFieldCount());
+        final Map<String, Object> values = new HashMap<>(valuesCapacity);
+
+        for (int i = 0; i < fieldNames.length; i++) {
+            values.put(fieldNames[i], columnReaders[i].read(rs));
+        }
+
+        return new MapRecord(schema, values);
+    }
+
+    /**
+     * Creates a reader for each field of the schema. When the metadata reports both the SQL type of a column and the Java class of its
+     * values, and the two agree, the column is read by index with the matching primitive getter, which avoids the boxing, column name lookup
+     * and type inspection of getObject. Any other column is read by name with getObject and normalized, as it always has been.
+     */
+    private ColumnReader[] createColumnReaders(final ResultSetMetaData metadata, final RecordSchema schema, final String[] fieldNames) throws SQLException {
+        final ColumnReader[] readers = new ColumnReader[fieldNames.length];
 
-        for (final RecordField field : schema.getFields()) {
+        for (int i = 0; i < fieldNames.length; i++) {
+            final RecordField field = schema.getField(i);
             final String fieldName = field.getFieldName();
-            RecordFieldType fieldType = field.getDataType().getFieldType();
-            final Object value;
+            fieldNames[i] = fieldName;
 
-            value = rsColumnNames.contains(fieldName)
-                    ? normalizeValue((fieldType == TIMESTAMP) ? rs.getTimestamp(fieldName) : rs.getObject(fieldName))
-                    : null;
+            if (!rsColumnNames.contains(fieldName)) {
+                readers[i] = resultSet -> null;
+                continue;
+            }
 
-            values.put(fieldName, value);
+            // Fields are created from the columns in order, so the field index determines the column index
+            final ColumnReader typedReader = getTypedColumnReader(i + 1, metadata.getColumnType(i + 1), metadata.getColumnClassName(i + 1));
+            if (typedReader != null) {
+                readers[i] = typedReader;
+            } else if (field.getDataType().getFieldType() == TIMESTAMP) {
+                readers[i] = resultSet -> normalizeValue(resultSet.getTimestamp(fieldName));
+            } else {
+                readers[i] = resultSet -> normalizeValue(resultSet.getObject(fieldName));
+            }
         }
 
-        return new MapRecord(schema, values);
+        return readers;
+    }
+
+    private static ColumnReader getTypedColumnReader(final int column, final int sqlType, final String valueClassName) {
+        if (valueClassName == null) {
+            return null;
+        }
+
+        switch (sqlType) {
+            case Types.BIGINT:
+                if (LONG_CLASS_NAME.equals(valueClassName)) {
+                    return resultSet -> {
+                        final long value = resultSet.getLong(column);
+                        return resultSet.wasNull() ? null : value;
+                    };
+                }
+                break;
+            case Types.INTEGER:
+                if (INT_CLASS_NAME.equals(valueClassName)) {
+                    return resultSet -> {
+                        final int value = resultSet.getInt(column);
+                        return resultSet.wasNull() ? null : value;
+                    };
+                }
+                break;
+            case Types.DOUBLE:
+            case Types.FLOAT:
+                if (DOUBLE_CLASS_NAME.equals(valueClassName)) {
+                    return resultSet -> {
+                        final double value = resultSet.getDouble(column);
+                        return resultSet.wasNull() ? null : value;
+                    };
+                }
+                break;
+            case Types.REAL:
+                if (FLOAT_CLASS_NAME.equals(valueClassName)) {
+                    return resultSet -> {
+                        final float value = resultSet.getFloat(column);
+                        return resultSet.wasNull() ? null : value;
+                    };
+                }
+                break;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                if (BOOLEAN_CLASS_NAME.equals(valueClassName)) {
+                    return resultSet -> {
+                        final boolean value = resultSet.getBoolean(column);
+                        return resultSet.wasNull() ? null : value;
+                    };
+                }
+                break;
+            case Types.CHAR:
+            case Types.NCHAR:
+            case Types.VARCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.LONGNVARCHAR:
+                if (STRING_CLASS_NAME.equals(valueClassName)) {
+                    return resultSet -> resultSet.getString(column);
+                }
+                break;
+            case Types.DATE:
+                if (SQL_DATE_CLASS_NAME.equals(valueClassName)) {
+                    return resultSet -> {
+                        final java.sql.Date value = resultSet.getDate(column);
+                        return value == null ? null : DataTypeUtils.convertDateToUTC(value);
+                    };
+                }
+                break;
+            case Types.TIMESTAMP:
+                if (SQL_TIMESTAMP_CLASS_NAME.equals(valueClassName)) {
+                    return resultSet -> resultSet.getTimestamp(column);
+                }
+                break;
+        }
+
+        return null;
     }
 
     @SuppressWarnings("rawtypes")
@@ -540,4 +651,9 @@ public class ResultSetRecordSet implements RecordSet, Closeable {
             return RecordFieldType.STRING;
         }
     }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object read(ResultSet resultSet) throws SQLException;
+    }
 }
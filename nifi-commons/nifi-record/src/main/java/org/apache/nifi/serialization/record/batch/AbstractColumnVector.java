@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.DataType;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Tracks the data type, size, and <code>null</code> values of a column, leaving the storage of non-null values to subclasses.
+ */
+public abstract class AbstractColumnVector implements ColumnVector {
+    private final DataType dataType;
+    private boolean[] nulls;
+    private int size = 0;
+
+    protected AbstractColumnVector(final DataType dataType, final int initialCapacity) {
+        this.dataType = Objects.requireNonNull(dataType);
+        this.nulls = new boolean[Math.max(1, initialCapacity)];
+    }
+
+    @Override
+    public DataType getDataType() {
+        return dataType;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isNull(final int row) {
+        checkRow(row);
+        return nulls[row];
+    }
+
+    @Override
+    public void setNull(final int row) {
+        prepareRow(row);
+        nulls[row] = true;
+    }
+
+    @Override
+    public void setObject(final int row, final Object value) {
+        if (value == null) {
+            setNull(row);
+        } else {
+            setNonNullObject(row, value);
+        }
+    }
+
+    /**
+     * Sets a non-null value, converting it to the type of this vector
+     *
+     * @param row the index of the row
+     * @param value the value to set, never <code>null</code>
+     */
+    protected abstract void setNonNullObject(int row, Object value);
+
+    /**
+     * Grows the storage of the subclass so that it is able to hold at least the given number of rows
+     *
+     * @param capacity the new capacity
+     */
+    protected abstract void growStorage(int capacity);
+
+    /**
+     * Ensures that the given row can be written to and marks it as non-null. Subclasses must call this before writing a value.
+     *
+     * @param row the index of the row about to be written
+     */
+    protected final void prepareRow(final int row) {
+        if (row < 0) {
+            throw new IndexOutOfBoundsException("Row index must be non-negative but was " + row);
+        }
+
+        if (row >= nulls.length) {
+            final int capacity = Math.max(row + 1, nulls.length * 2);
+            nulls = Arrays.copyOf(nulls, capacity);
+            growStorage(capacity);
+        }
+
+        if (row > size) {
+            // rows that were skipped over were never given a value
+            Arrays.fill(nulls, size, row, true);
+        }
+
+        nulls[row] = false;
+        if (row >= size) {
+            size = row + 1;
+        }
+    }
+
+    protected final void checkRow(final int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row index " + row + " is out of bounds for column of size " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[type=" + dataType + ", size=" + size + "]";
+    }
+}
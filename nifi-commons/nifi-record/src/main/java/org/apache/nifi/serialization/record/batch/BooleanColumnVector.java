@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.util.DataTypeUtils;
+
+import java.util.Arrays;
+
+/**
+ * A column of BOOLEAN values, held in a <code>boolean[]</code>
+ */
+public class BooleanColumnVector extends AbstractColumnVector {
+    private boolean[] values;
+
+    public BooleanColumnVector(final DataType dataType, final int initialCapacity) {
+        super(dataType, initialCapacity);
+        values = new boolean[Math.max(1, initialCapacity)];
+    }
+
+    public boolean getBoolean(final int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    public void setBoolean(final int row, final boolean value) {
+        prepareRow(row);
+        values[row] = value;
+    }
+
+    @Override
+    public Object getObject(final int row) {
+        return isNull(row) ? null : Boolean.valueOf(values[row]);
+    }
+
+    @Override
+    protected void setNonNullObject(final int row, final Object value) {
+        final boolean booleanValue = value instanceof Boolean ? (Boolean) value : DataTypeUtils.toBoolean(value, null);
+        setBoolean(row, booleanValue);
+    }
+
+    @Override
+    protected void growStorage(final int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+}
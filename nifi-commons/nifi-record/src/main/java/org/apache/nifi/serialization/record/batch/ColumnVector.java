@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.DataType;
+
+/**
+ * <p>
+ * Holds the values of a single field for every row of a {@link RecordBatch}. Implementations store values of
+ * primitive types in primitive arrays so that a batch of rows does not require one boxed object per value.
+ * </p>
+ *
+ * <p>
+ * PLEASE NOTE: This interface is still considered 'unstable' and may change in a non-backward-compatible
+ * manner between minor or incremental releases of NiFi.
+ * </p>
+ */
+public interface ColumnVector {
+
+    /**
+     * @return the type of the values held by this vector
+     */
+    DataType getDataType();
+
+    /**
+     * @return the number of rows that have been populated in this vector
+     */
+    int size();
+
+    /**
+     * @param row the index of the row
+     * @return <code>true</code> if the value for the given row is <code>null</code>
+     */
+    boolean isNull(int row);
+
+    /**
+     * Returns the value for the given row as an Object of the type that a {@link org.apache.nifi.serialization.record.Record}
+     * would return for a field of this vector's data type. For primitive vectors this boxes the value, so callers that
+     * are aware of the vector's concrete type should prefer its primitive accessor.
+     *
+     * @param row the index of the row
+     * @return the value for the given row, or <code>null</code> if the row holds a <code>null</code> value
+     */
+    Object getObject(int row);
+
+    /**
+     * Sets the value for the given row, converting it to this vector's data type if necessary, and grows the vector if the row
+     * is beyond its current capacity.
+     *
+     * @param row the index of the row
+     * @param value the value to set, or <code>null</code>
+     * @throws org.apache.nifi.serialization.record.util.IllegalTypeConversionException if the value cannot be converted to this vector's data type
+     */
+    void setObject(int row, Object value);
+
+    /**
+     * Marks the value for the given row as <code>null</code>
+     *
+     * @param row the index of the row
+     */
+    void setNull(int row);
+
+    /**
+     * Creates a vector that is appropriate for the given data type. Integral types are held in a {@link LongColumnVector},
+     * floating-point types in a {@link DoubleColumnVector}, booleans in a {@link BooleanColumnVector}, and all other
+     * types in an {@link ObjectColumnVector}.
+     *
+     * @param dataType the type of values that the vector is to hold
+     * @param initialCapacity the number of rows to allocate space for initially
+     * @return a new, empty vector
+     */
+    static ColumnVector create(final DataType dataType, final int initialCapacity) {
+        switch (dataType.getFieldType()) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return new LongColumnVector(dataType, initialCapacity);
+            case FLOAT:
+            case DOUBLE:
+                return new DoubleColumnVector(dataType, initialCapacity);
+            case BOOLEAN:
+                return new BooleanColumnVector(dataType, initialCapacity);
+            default:
+                return new ObjectColumnVector(dataType, initialCapacity);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.IllegalTypeConversionException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A column of BYTE, SHORT, INT, or LONG values, held in a <code>long[]</code>
+ */
+public class LongColumnVector extends AbstractColumnVector {
+    private long[] values;
+
+    public LongColumnVector(final DataType dataType, final int initialCapacity) {
+        super(dataType, initialCapacity);
+        values = new long[Math.max(1, initialCapacity)];
+    }
+
+    public long getLong(final int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    public void setLong(final int row, final long value) {
+        prepareRow(row);
+        values[row] = value;
+    }
+
+    @Override
+    public Object getObject(final int row) {
+        if (isNull(row)) {
+            return null;
+        }
+
+        final long value = values[row];
+        switch (getDataType().getFieldType()) {
+            case BYTE:
+                return (byte) value;
+            case SHORT:
+                return (short) value;
+            case INT:
+                return (int) value;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Stores any whole number that fits in a <code>long</code>. Floating-point, decimal and big integer values are rejected unless they
+     * can be stored without losing their fractional part or overflowing; such values belong in an {@link ObjectColumnVector}.
+     */
+    @Override
+    protected void setNonNullObject(final int row, final Object value) {
+        if (!(value instanceof Number)) {
+            setLong(row, DataTypeUtils.toLong(value, null));
+            return;
+        }
+
+        final Number number = (Number) value;
+        final long longValue = number.longValue();
+        final boolean exact;
+        if (value instanceof Double || value instanceof Float) {
+            final double doubleValue = number.doubleValue();
+            exact = doubleValue == Math.rint(doubleValue) && doubleValue >= Long.MIN_VALUE && doubleValue < 0x1p63;
+        } else if (value instanceof BigDecimal) {
+            exact = ((BigDecimal) value).compareTo(BigDecimal.valueOf(longValue)) == 0;
+        } else if (value instanceof BigInteger) {
+            exact = ((BigInteger) value).bitLength() < Long.SIZE;
+        } else {
+            exact = true;
+        }
+
+        if (!exact) {
+            throw new IllegalTypeConversionException("Cannot store value [" + value + "] of type " + value.getClass() + " in a column of type "
+                + getDataType() + " without losing precision");
+        }
+
+        setLong(row, longValue);
+    }
+
+    @Override
+    protected void growStorage(final int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+}
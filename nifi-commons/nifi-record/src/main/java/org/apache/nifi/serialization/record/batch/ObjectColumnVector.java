@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.DataType;
+
+import java.util.Arrays;
+
+/**
+ * A column of values that have no primitive representation, such as strings, decimals, timestamps, arrays, maps, and records.
+ * Values are stored as given; callers are responsible for providing values of the column's type.
+ */
+public class ObjectColumnVector extends AbstractColumnVector {
+    private Object[] values;
+
+    public ObjectColumnVector(final DataType dataType, final int initialCapacity) {
+        super(dataType, initialCapacity);
+        values = new Object[Math.max(1, initialCapacity)];
+    }
+
+    @Override
+    public Object getObject(final int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    @Override
+    public void setNull(final int row) {
+        super.setNull(row);
+        values[row] = null;
+    }
+
+    @Override
+    protected void setNonNullObject(final int row, final Object value) {
+        prepareRow(row);
+        values[row] = value;
+    }
+
+    @Override
+    protected void growStorage(final int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+}
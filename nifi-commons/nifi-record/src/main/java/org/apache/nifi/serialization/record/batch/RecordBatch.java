@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.RecordSet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ * A set of rows held in columnar form: one {@link ColumnVector} per field of the schema, plus an optional selection vector
+ * that identifies which of the rows are part of the batch.
+ * </p>
+ *
+ * <p>
+ * For components that are not batch-aware, {@link #getRecord(int)} and {@link #toRecordSet()} expose the selected rows as
+ * {@link Record}s.
+ * </p>
+ *
+ * <p>
+ * PLEASE NOTE: This class is still considered 'unstable' and may change in a non-backward-compatible
+ * manner between minor or incremental releases of NiFi.
+ * </p>
+ */
+public class RecordBatch {
+    private final RecordSchema schema;
+    private final ColumnVector[] columns;
+    private final int rowCount;
+    private final int[] selection;
+    private final int selectedCount;
+
+    /**
+     * Creates a batch in which every row is selected
+     *
+     * @param schema the schema of the rows
+     * @param columns one vector per field of the schema, in the same order as the schema's fields
+     * @param rowCount the number of rows in the batch
+     */
+    public RecordBatch(final RecordSchema schema, final ColumnVector[] columns, final int rowCount) {
+        this(schema, columns, rowCount, null, rowCount);
+    }
+
+    /**
+     * Creates a batch in which only the rows identified by the selection vector are selected
+     *
+     * @param schema the schema of the rows
+     * @param columns one vector per field of the schema, in the same order as the schema's fields
+     * @param rowCount the number of rows held by the column vectors
+     * @param selection the indices of the selected rows, in ascending order, or <code>null</code> if all rows are selected
+     * @param selectedCount the number of entries of the selection vector that are in use
+     */
+    public RecordBatch(final RecordSchema schema, final ColumnVector[] columns, final int rowCount, final int[] selection, final int selectedCount) {
+        this.schema = Objects.requireNonNull(schema);
+        this.columns = Objects.requireNonNull(columns);
+        this.rowCount = rowCount;
+        this.selection = selection;
+        this.selectedCount = selectedCount;
+
+        if (columns.length != schema.getFieldCount()) {
+            throw new IllegalArgumentException("Schema has " + schema.getFieldCount() + " fields but " + columns.length + " column vectors were provided");
+        }
+        if (selection == null ? selectedCount != rowCount : selectedCount > selection.length) {
+            throw new IllegalArgumentException("Selected count of " + selectedCount + " is not valid for a batch of " + rowCount + " rows");
+        }
+    }
+
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return the number of rows held by the column vectors, regardless of whether or not they are selected
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public ColumnVector getColumn(final int index) {
+        return columns[index];
+    }
+
+    /**
+     * @param fieldName the name of the field
+     * @return the vector for the given field, or <code>null</code> if the schema has no such field
+     */
+    public ColumnVector getColumn(final String fieldName) {
+        final int index = schema.getFieldNames().indexOf(fieldName);
+        return index < 0 ? null : columns[index];
+    }
+
+    /**
+     * @return the number of rows that are selected
+     */
+    public int getSelectedCount() {
+        return selectedCount;
+    }
+
+    /**
+     * @return <code>true</code> if only a subset of the rows may be selected, <code>false</code> if all rows are selected
+     */
+    public boolean isSelectionInUse() {
+        return selection != null;
+    }
+
+    /**
+     * @param position a value between 0 (inclusive) and {@link #getSelectedCount()} (exclusive)
+     * @return the index of the row that is selected at the given position
+     */
+    public int getSelectedRow(final int position) {
+        if (position < 0 || position >= selectedCount) {
+            throw new IndexOutOfBoundsException("Position " + position + " is out of bounds for batch with " + selectedCount + " selected rows");
+        }
+
+        return selection == null ? position : selection[position];
+    }
+
+    /**
+     * Materializes a single row as a Record
+     *
+     * @param row the index of the row
+     * @return a Record that holds the values of the given row
+     */
+    public Record getRecord(final int row) {
+        final Map<String, Object> values = new LinkedHashMap<>(columns.length * 2);
+        for (int i = 0; i < columns.length; i++) {
+            final ColumnVector column = columns[i];
+            values.put(schema.getField(i).getFieldName(), row < column.size() ? column.getObject(row) : null);
+        }
+
+        return new MapRecord(schema, values);
+    }
+
+    /**
+     * @return a RecordSet that returns the selected rows of this batch, in order, as Records
+     */
+    public RecordSet toRecordSet() {
+        return new RecordSet() {
+            private int position = 0;
+
+            @Override
+            public RecordSchema getSchema() {
+                return schema;
+            }
+
+            @Override
+            public Record next() {
+                if (position >= selectedCount) {
+                    return null;
+                }
+
+                return getRecord(getSelectedRow(position++));
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "RecordBatch[rows=" + rowCount + ", selected=" + selectedCount + ", schema=" + schema + "]";
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Accumulates rows into a {@link RecordBatch}. Readers that are able to produce columnar data natively obtain a row with
+ * {@link #nextRow()} and populate each {@link ColumnVector} directly using its primitive setters. Other components may
+ * append existing {@link Record}s using {@link #addRecord(Record)}.
+ * </p>
+ *
+ * <p>
+ * Any value that is not populated for a row is treated as <code>null</code>. A builder may be used to build only a single batch.
+ * </p>
+ */
+public class RecordBatchBuilder {
+    private final RecordSchema schema;
+    private final List<RecordField> fields;
+    private final ColumnVector[] columns;
+    private int rowCount = 0;
+    private boolean built = false;
+
+    public RecordBatchBuilder(final RecordSchema schema, final int initialCapacity) {
+        this.schema = Objects.requireNonNull(schema);
+        this.fields = schema.getFields();
+        this.columns = new ColumnVector[fields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = ColumnVector.create(fields.get(i).getDataType(), initialCapacity);
+        }
+    }
+
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    public ColumnVector getColumn(final int index) {
+        return columns[index];
+    }
+
+    /**
+     * @return the number of rows that have been added so far
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Adds a row whose values are to be populated by the caller
+     *
+     * @return the index of the new row
+     */
+    public int nextRow() {
+        verifyNotBuilt();
+        return rowCount++;
+    }
+
+    /**
+     * Adds a row that holds the values of the given Record for each field of this builder's schema. Fields of the
+     * Record that are not part of the schema are ignored.
+     *
+     * @param record the record to add
+     * @return the index of the new row
+     * @throws org.apache.nifi.serialization.record.util.IllegalTypeConversionException if a value cannot be converted to the type of its field
+     */
+    public int addRecord(final Record record) {
+        final int row = nextRow();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].setObject(row, record.getValue(fields.get(i)));
+        }
+
+        return row;
+    }
+
+    /**
+     * @return a batch that holds all rows that have been added, with every row selected
+     */
+    public RecordBatch build() {
+        verifyNotBuilt();
+        built = true;
+
+        for (final ColumnVector column : columns) {
+            if (column.size() < rowCount) {
+                column.setNull(rowCount - 1);
+            }
+        }
+
+        return new RecordBatch(schema, columns, rowCount);
+    }
+
+    private void verifyNotBuilt() {
+        if (built) {
+            throw new IllegalStateException("RecordBatch has already been built");
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.util;
+
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>
+ * A precomputed plan for converting Records of one schema into Records of another. The plan resolves, once, which field of the source
+ * schema supplies each field of the target schema and creates a {@link ValueConverter} for each target field, so that converting a Record
+ * does not need to look up fields by alias or select a conversion based on the target type for every value.
+ * </p>
+ *
+ * <p>
+ * A plan is created for a specific source schema and should be reused for every Record that has that schema; {@link #isPlanFor(RecordSchema)}
+ * can be used to determine whether a new plan is needed. Plans are immutable and thread-safe.
+ * </p>
+ */
+public class RecordConversionPlan {
+    private final RecordSchema sourceSchema;
+    private final RecordSchema targetSchema;
+    private final RecordField[] targetFields;
+    private final RecordField[] sourceFields;
+    private final ValueConverter[] converters;
+
+    private RecordConversionPlan(final RecordSchema sourceSchema, final RecordSchema targetSchema, final RecordField[] sourceFields, final ValueConverter[] converters) {
+        this.sourceSchema = sourceSchema;
+        this.targetSchema = targetSchema;
+        this.targetFields = targetSchema.getFields().toArray(new RecordField[0]);
+        this.sourceFields = sourceFields;
+        this.converters = converters;
+    }
+
+    /**
+     * Creates a plan for converting Records of the given source schema into Records of the given target schema using the default date, time,
+     * and timestamp formats
+     *
+     * @param sourceSchema the schema of the Records that will be converted, or null if not known, in which case fields are resolved for each Record
+     * @param targetSchema the schema of the Records that will be produced
+     * @return a plan for converting the Records
+     */
+    public static RecordConversionPlan create(final RecordSchema sourceSchema, final RecordSchema targetSchema) {
+        return create(sourceSchema, targetSchema, RecordFieldType.DATE.getDefaultFormat(), RecordFieldType.TIME.getDefaultFormat(), RecordFieldType.TIMESTAMP.getDefaultFormat());
+    }
+
+    /**
+     * Creates a plan for converting Records of the given source schema into Records of the given target schema
+     *
+     * @param sourceSchema the schema of the Records that will be converted, or null if not known, in which case fields are resolved for each Record
+     * @param targetSchema the schema of the Records that will be produced
+     * @param dateFormat the format to use when parsing Strings as dates, or null if such Strings contain epoch milliseconds
+     * @param timeFormat the format to use when parsing Strings as times, or null if such Strings contain epoch milliseconds
+     * @param timestampFormat the format to use when parsing Strings as timestamps, or null if such Strings contain epoch milliseconds
+     * @return a plan for converting the Records
+     */
+    public static RecordConversionPlan create(final RecordSchema sourceSchema, final RecordSchema targetSchema, final String dateFormat, final String timeFormat,
+                                              final String timestampFormat) {
+        return create(sourceSchema, targetSchema, dateFormat, timeFormat, timestampFormat, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a plan for converting Records of the given source schema into Records of the given target schema
+     *
+     * @param sourceSchema the schema of the Records that will be converted, or null if not known, in which case fields are resolved for each Record
+     * @param targetSchema the schema of the Records that will be produced
+     * @param dateFormat the format to use when parsing Strings as dates, or null if such Strings contain epoch milliseconds
+     * @param timeFormat the format to use when parsing Strings as times, or null if such Strings contain epoch milliseconds
+     * @param timestampFormat the format to use when parsing Strings as timestamps, or null if such Strings contain epoch milliseconds
+     * @param charset the character set to use when converting byte arrays to Strings
+     * @return a plan for converting the Records
+     */
+    public static RecordConversionPlan create(final RecordSchema sourceSchema, final RecordSchema targetSchema, final String dateFormat, final String timeFormat,
+                                              final String timestampFormat, final Charset charset) {
+        final List<RecordField> fields = targetSchema.getFields();
+        final RecordField[] sourceFields = new RecordField[fields.size()];
+        final ValueConverter[] converters = new ValueConverter[fields.size()];
+
+        for (int i = 0; i < fields.size(); i++) {
+            final RecordField targetField = fields.get(i);
+            sourceFields[i] = resolveSourceField(sourceSchema, targetField);
+            converters[i] = ValueConverters.create(targetField.getDataType(), dateFormat, timeFormat, timestampFormat, charset);
+        }
+
+        return new RecordConversionPlan(sourceSchema, targetSchema, sourceFields, converters);
+    }
+
+    private static RecordField resolveSourceField(final RecordSchema sourceSchema, final RecordField targetField) {
+        if (sourceSchema == null) {
+            return null;
+        }
+
+        Optional<RecordField> sourceField = sourceSchema.getField(targetField.getFieldName());
+        if (sourceField.isPresent()) {
+            return sourceField.get();
+        }
+
+        for (final String alias : targetField.getAliases()) {
+            sourceField = sourceSchema.getField(alias);
+            if (sourceField.isPresent()) {
+                return sourceField.get();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param schema the schema of a Record that is to be converted
+     * @return <code>true</code> if this plan was created for the given schema, <code>false</code> if a new plan should be created
+     */
+    public boolean isPlanFor(final RecordSchema schema) {
+        return schema == sourceSchema;
+    }
+
+    /**
+     * Returns a plan for converting Records of the given source schema into Records of the same target schema. Only the source fields are
+     * resolved again; the converters of this plan, which depend only on the target schema, are shared.
+     *
+     * @param schema the schema of the Records that will be converted
+     * @return this plan if it was created for the given schema, otherwise a new plan for it
+     */
+    public RecordConversionPlan forSourceSchema(final RecordSchema schema) {
+        if (isPlanFor(schema)) {
+            return this;
+        }
+
+        final RecordField[] resolvedFields = new RecordField[targetFields.length];
+        for (int i = 0; i < targetFields.length; i++) {
+            resolvedFields[i] = resolveSourceField(schema, targetFields[i]);
+        }
+
+        return new RecordConversionPlan(schema, targetSchema, resolvedFields, converters);
+    }
+
+    public RecordSchema getSourceSchema() {
+        return sourceSchema;
+    }
+
+    public RecordSchema getTargetSchema() {
+        return targetSchema;
+    }
+
+    /**
+     * Converts the given Record into a Record of the target schema. Fields of the given Record that are not part of the target schema are dropped.
+     *
+     * @param record the Record to convert
+     * @return a new Record of the target schema
+     * @throws IllegalTypeConversionException if any value cannot be converted to the type of its target field
+     */
+    public Record convert(final Record record) {
+        final Map<String, Object> values = new LinkedHashMap<>(targetFields.length * 4 / 3 + 1);
+        for (int i = 0; i < targetFields.length; i++) {
+            values.put(targetFields[i].getFieldName(), convertValue(record, i));
+        }
+
+        return new MapRecord(targetSchema, values);
+    }
+
+    /**
+     * Converts the value of a single target field from the given Record
+     *
+     * @param record the Record to obtain the value from
+     * @param fieldIndex the index of the field in the target schema
+     * @return the converted value
+     * @throws IllegalTypeConversionException if the value cannot be converted to the type of the target field
+     */
+    public Object convertValue(final Record record, final int fieldIndex) {
+        return converters[fieldIndex].convert(getValue(record, fieldIndex), targetFields[fieldIndex].getFieldName());
+    }
+
+    /**
+     * Obtains the value of a single target field from the given Record without converting it
+     *
+     * @param record the Record to obtain the value from
+     * @param fieldIndex the index of the field in the target schema
+     * @return the value of the field, or null if the Record has no value for it
+     */
+    public Object getValue(final Record record, final int fieldIndex) {
+        final RecordField sourceField = sourceFields[fieldIndex];
+
+        final Object value = sourceField == null ? null : record.getValue(sourceField);
+        if (value == null) {
+            // the target field may define a default value or aliases that apply to this Record
+            return record.getValue(targetFields[fieldIndex]);
+        }
+
+        return value;
+    }
+
+    /**
+     * @param fieldIndex the index of the field in the target schema
+     * @return the converter used for the given target field
+     */
+    public ValueConverter getConverter(final int fieldIndex) {
+        return converters[fieldIndex];
+    }
+}
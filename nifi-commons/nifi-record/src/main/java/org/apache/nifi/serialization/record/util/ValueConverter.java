@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.util;
+
+/**
+ * Converts a single value to a specific {@link org.apache.nifi.serialization.record.DataType}. Implementations are created once
+ * for a given target type and format configuration, so that the decisions that {@link DataTypeUtils#convertType} makes for every
+ * value are made only once. Implementations are thread-safe.
+ */
+@FunctionalInterface
+public interface ValueConverter {
+
+    /**
+     * Converts the given value
+     *
+     * @param value the value to convert, may be null
+     * @param fieldName the name of the field that the value belongs to, used for error reporting
+     * @return the converted value, or null if the given value is null
+     * @throws IllegalTypeConversionException if the value cannot be converted
+     */
+    Object convert(Object value, String fieldName);
+}
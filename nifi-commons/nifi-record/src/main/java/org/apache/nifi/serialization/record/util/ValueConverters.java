@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.util;
+
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordFieldType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.text.DateFormat;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.function.Supplier;
+
+/**
+ * Factory for {@link ValueConverter} instances that produce the same results as {@link DataTypeUtils#convertType} for a given
+ * target type and set of date, time, and timestamp formats.
+ * <p>
+ * Dates, times, and timestamps are parsed with a {@link DateTimeFormatter} that is created once, rather than with a new
+ * {@link java.text.SimpleDateFormat} for each value. Because {@code SimpleDateFormat} is lenient, a formatter is only used for patterns
+ * whose numeric fields are interpreted identically by both classes, and any value that the strict formatter rejects is handed to the
+ * lenient {@code SimpleDateFormat} path so that results do not change.
+ * </p>
+ */
+public final class ValueConverters {
+    private static final LocalDate EPOCH_DATE = LocalDate.of(1970, 1, 1);
+    private static final ChronoField[] DATE_FIELDS = {ChronoField.YEAR, ChronoField.MONTH_OF_YEAR, ChronoField.DAY_OF_MONTH};
+    private static final ChronoField[] TIME_FIELDS = {ChronoField.HOUR_OF_DAY, ChronoField.MINUTE_OF_HOUR, ChronoField.SECOND_OF_MINUTE, ChronoField.NANO_OF_SECOND};
+    private static final String RESERVED_FORMATTER_CHARACTERS = "[]{}#";
+
+    private ValueConverters() {
+    }
+
+    /**
+     * Creates a converter for the given data type using the default date, time, and timestamp formats
+     *
+     * @param dataType the type to convert values to
+     * @return a converter for the given type
+     */
+    public static ValueConverter create(final DataType dataType) {
+        return create(dataType, RecordFieldType.DATE.getDefaultFormat(), RecordFieldType.TIME.getDefaultFormat(), RecordFieldType.TIMESTAMP.getDefaultFormat());
+    }
+
+    /**
+     * Creates a converter for the given data type
+     *
+     * @param dataType the type to convert values to
+     * @param dateFormat the format to use when parsing Strings as dates, or null if such Strings contain epoch milliseconds
+     * @param timeFormat the format to use when parsing Strings as times, or null if such Strings contain epoch milliseconds
+     * @param timestampFormat the format to use when parsing Strings as timestamps, or null if such Strings contain epoch milliseconds
+     * @return a converter for the given type
+     */
+    public static ValueConverter create(final DataType dataType, final String dateFormat, final String timeFormat, final String timestampFormat) {
+        return create(dataType, dateFormat, timeFormat, timestampFormat, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a converter for the given data type
+     *
+     * @param dataType the type to convert values to
+     * @param dateFormat the format to use when parsing Strings as dates, or null if such Strings contain epoch milliseconds
+     * @param timeFormat the format to use when parsing Strings as times, or null if such Strings contain epoch milliseconds
+     * @param timestampFormat the format to use when parsing Strings as timestamps, or null if such Strings contain epoch milliseconds
+     * @param charset the character set to use when converting byte arrays to Strings
+     * @return a converter for the given type
+     */
+    public static ValueConverter create(final DataType dataType, final String dateFormat, final String timeFormat, final String timestampFormat, final Charset charset) {
+        switch (dataType.getFieldType()) {
+            case BIGINT:
+                return (value, fieldName) -> value == null || value instanceof BigInteger ? value : DataTypeUtils.toBigInt(value, fieldName);
+            case BOOLEAN:
+                return (value, fieldName) -> value == null || value instanceof Boolean ? value : DataTypeUtils.toBoolean(value, fieldName);
+            case BYTE:
+                return (value, fieldName) -> value == null || value instanceof Byte ? value : DataTypeUtils.toByte(value, fieldName);
+            case CHAR:
+                return (value, fieldName) -> value == null || value instanceof Character ? value : DataTypeUtils.toCharacter(value, fieldName);
+            case DECIMAL:
+                return (value, fieldName) -> value == null || value instanceof BigDecimal ? value : DataTypeUtils.toBigDecimal(value, fieldName);
+            case DOUBLE:
+                return (value, fieldName) -> value == null || value instanceof Double ? value : DataTypeUtils.toDouble(value, fieldName);
+            case FLOAT:
+                return (value, fieldName) -> value == null || value instanceof Float ? value : DataTypeUtils.toFloat(value, fieldName);
+            case INT:
+                return (value, fieldName) -> value == null || value instanceof Integer ? value : DataTypeUtils.toInteger(value, fieldName);
+            case LONG:
+                return (value, fieldName) -> value == null || value instanceof Long ? value : DataTypeUtils.toLong(value, fieldName);
+            case SHORT:
+                return (value, fieldName) -> value == null || value instanceof Short ? value : DataTypeUtils.toShort(value, fieldName);
+            case STRING:
+                // DataTypeUtils never applies a format when converting to a String, so dates become epoch milliseconds
+                return (value, fieldName) -> value == null || value instanceof String ? value : DataTypeUtils.toString(value, (Supplier<DateFormat>) null, charset);
+            case DATE:
+                return createDateConverter(dateFormat);
+            case TIME:
+                return createTimeConverter(timeFormat);
+            case TIMESTAMP:
+                return createTimestampConverter(timestampFormat);
+            default:
+                final Supplier<DateFormat> dateFormatSupplier = getDateFormatSupplier(dateFormat);
+                final Supplier<DateFormat> timeFormatSupplier = getDateFormatSupplier(timeFormat);
+                final Supplier<DateFormat> timestampFormatSupplier = getDateFormatSupplier(timestampFormat);
+                return (value, fieldName) -> DataTypeUtils.convertType(value, dataType, dateFormatSupplier, timeFormatSupplier, timestampFormatSupplier, fieldName, charset);
+        }
+    }
+
+    private static ValueConverter createDateConverter(final String pattern) {
+        // Matches DataTypeUtils.convertTypeToDate, which already parses using a DateTimeFormatter but creates it for every value
+        final DateTimeFormatter formatter = pattern == null ? null : DateTimeFormatter.ofPattern(pattern);
+        final Supplier<DateTimeFormatter> formatterSupplier = () -> formatter;
+
+        return (value, fieldName) -> {
+            if (value == null) {
+                return null;
+            }
+
+            final LocalDate localDate = DataTypeUtils.toLocalDate(value, formatterSupplier, fieldName);
+            return localDate == null ? null : Date.valueOf(localDate);
+        };
+    }
+
+    private static ValueConverter createTimeConverter(final String pattern) {
+        final Supplier<DateFormat> formatSupplier = getDateFormatSupplier(pattern);
+        final DateTimeFormatter formatter = getEquivalentFormatter(pattern);
+
+        return (value, fieldName) -> {
+            if (value == null || value instanceof Time) {
+                return value;
+            }
+            if (value instanceof Number) {
+                return new Time(((Number) value).longValue());
+            }
+
+            if (formatter != null && value instanceof String) {
+                final String string = ((String) value).trim();
+                if (string.isEmpty()) {
+                    return null;
+                }
+
+                final LocalDateTime localDateTime = parse(string, formatter, true);
+                if (localDateTime != null) {
+                    return new Time(toEpochMillis(localDateTime));
+                }
+            }
+
+            return DataTypeUtils.toTime(value, formatSupplier, fieldName);
+        };
+    }
+
+    private static ValueConverter createTimestampConverter(final String pattern) {
+        final Supplier<DateFormat> formatSupplier = getDateFormatSupplier(pattern);
+        final DateTimeFormatter formatter = getEquivalentFormatter(pattern);
+
+        return (value, fieldName) -> {
+            if (value == null || value instanceof Timestamp) {
+                return value;
+            }
+            if (value instanceof java.util.Date) {
+                return new Timestamp(((java.util.Date) value).getTime());
+            }
+            if (value instanceof Number) {
+                return new Timestamp(((Number) value).longValue());
+            }
+
+            if (formatter != null && value instanceof String) {
+                final String string = ((String) value).trim();
+                if (string.isEmpty()) {
+                    return null;
+                }
+
+                final LocalDateTime localDateTime = parse(string, formatter, false);
+                if (localDateTime != null) {
+                    return Timestamp.valueOf(localDateTime);
+                }
+            }
+
+            return DataTypeUtils.toTimestamp(value, formatSupplier, fieldName);
+        };
+    }
+
+    /**
+     * Parses the given value, filling in the fields that SimpleDateFormat would default
+     *
+     * @return the parsed value, or null if the value could not be parsed strictly and must be handed to SimpleDateFormat instead
+     */
+    private static LocalDateTime parse(final String value, final DateTimeFormatter formatter, final boolean allowMissingDate) {
+        final TemporalAccessor parsed;
+        try {
+            parsed = formatter.parse(value);
+        } catch (final DateTimeException e) {
+            return null;
+        }
+
+        // Fields that were parsed but could not be resolved, such as a month without a year, are left to SimpleDateFormat
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        if (date == null) {
+            if (!allowMissingDate || isAnySupported(parsed, DATE_FIELDS)) {
+                return null;
+            }
+            date = EPOCH_DATE;
+        }
+
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        if (time == null) {
+            if (isAnySupported(parsed, TIME_FIELDS)) {
+                return null;
+            }
+            time = LocalTime.MIDNIGHT;
+        }
+
+        return LocalDateTime.of(date, time);
+    }
+
+    private static boolean isAnySupported(final TemporalAccessor parsed, final ChronoField[] fields) {
+        for (final ChronoField field : fields) {
+            if (parsed.isSupported(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toEpochMillis(final LocalDateTime localDateTime) {
+        return localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Supplier<DateFormat> getDateFormatSupplier(final String pattern) {
+        return pattern == null ? null : () -> DataTypeUtils.getDateFormat(pattern);
+    }
+
+    /**
+     * Returns a strict DateTimeFormatter that interprets the given SimpleDateFormat pattern identically, or null if the pattern uses
+     * any field whose meaning or width rules differ between the two classes, such as two-digit years, text fields, or time zones.
+     */
+    static DateTimeFormatter getEquivalentFormatter(final String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+
+        final StringBuilder translated = new StringBuilder(pattern.length());
+        int i = 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                final int end = pattern.indexOf('\'', i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                translated.append(pattern, i, end + 1);
+                i = end + 1;
+                continue;
+            }
+
+            if (!Character.isLetter(c)) {
+                // characters that are literals to SimpleDateFormat but have a meaning to DateTimeFormatter
+                if (RESERVED_FORMATTER_CHARACTERS.indexOf(c) >= 0) {
+                    return null;
+                }
+                translated.append(c);
+                i++;
+                continue;
+            }
+
+            int count = 1;
+            while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                count++;
+            }
+
+            switch (c) {
+                case 'y':
+                    if (count != 4) {
+                        return null;
+                    }
+                    // year-of-era cannot be resolved strictly without an era, so use the proleptic year, which is identical for AD dates
+                    translated.append("uuuu");
+                    break;
+                case 'M':
+                case 'd':
+                case 'H':
+                case 'm':
+                case 's':
+                    if (count > 2) {
+                        return null;
+                    }
+                    for (int j = 0; j < count; j++) {
+                        translated.append(c);
+                    }
+                    break;
+                case 'S':
+                    // SimpleDateFormat treats S as a count of milliseconds rather than a fraction of a second
+                    if (count != 3) {
+                        return null;
+                    }
+                    translated.append("SSS");
+                    break;
+                default:
+                    return null;
+            }
+
+            i += count;
+        }
+
+        try {
+            return DateTimeFormatter.ofPattern(translated.toString()).withResolverStyle(ResolverStyle.STRICT);
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
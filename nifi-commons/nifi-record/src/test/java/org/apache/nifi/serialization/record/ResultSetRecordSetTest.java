@@ -54,8 +54,11 @@ import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -328,6 +331,60 @@ public class ResultSetRecordSetTest {
         assertEquals(bigDecimal5Value, record.getValue(COLUMN_NAME_BIG_DECIMAL_5));
     }
 
+    @Test
+    public void testCreateRecordWithTypedColumnReaders() throws SQLException {
+        // given
+        final RecordSchema recordSchema = givenRecordSchema(COLUMNS);
+
+        LocalDate testDate = LocalDate.of(2021, 1, 26);
+        LocalDateTime testDateTime = LocalDateTime.of(2021, 9, 10, 11, 11, 11);
+
+        final Date dateValue = Date.valueOf(testDate);
+        final Timestamp timestampValue = Timestamp.valueOf(testDateTime);
+
+        when(resultSetMetaData.getColumnClassName(1)).thenReturn(String.class.getName());
+        when(resultSetMetaData.getColumnClassName(2)).thenReturn(Long.class.getName());
+        when(resultSetMetaData.getColumnClassName(5)).thenReturn(Boolean.class.getName());
+        when(resultSetMetaData.getColumnClassName(7)).thenReturn(Date.class.getName());
+        when(resultSetMetaData.getColumnClassName(8)).thenReturn(Integer.class.getName());
+        when(resultSetMetaData.getColumnClassName(9)).thenReturn(Double.class.getName());
+        when(resultSetMetaData.getColumnClassName(19)).thenReturn(Timestamp.class.getName());
+        // The class does not match the SQL type, so the column must still be read with getObject
+        when(resultSetMetaData.getColumnClassName(13)).thenReturn(Integer.class.getName());
+
+        when(resultSet.getString(1)).thenReturn("varchar");
+        when(resultSet.getLong(2)).thenReturn(1234567890123456789L);
+        when(resultSet.getBoolean(5)).thenReturn(true);
+        when(resultSet.getDate(7)).thenReturn(dateValue);
+        when(resultSet.getInt(8)).thenReturn(0);
+        when(resultSet.getDouble(9)).thenReturn(0.12);
+        when(resultSet.getTimestamp(19)).thenReturn(timestampValue);
+        when(resultSet.getObject(COLUMN_NAME_TINYINT)).thenReturn(123);
+        // Columns are read in order, so the integer column is the only one reported as null
+        when(resultSet.wasNull()).thenReturn(false, false, true, false);
+
+        // when
+        ResultSetRecordSet testSubject = new ResultSetRecordSet(resultSet, recordSchema);
+        Record record = testSubject.createRecord(resultSet);
+
+        // then
+        assertEquals("varchar", record.getValue(COLUMN_NAME_VARCHAR));
+        assertEquals(1234567890123456789L, record.getValue(COLUMN_NAME_BIGINT));
+        assertEquals(Boolean.TRUE, record.getValue(COLUMN_NAME_BOOLEAN));
+        assertNull(record.getValue(COLUMN_NAME_INTEGER));
+        assertEquals(0.12, record.getValue(COLUMN_NAME_DOUBLE));
+        assertEquals(123, record.getValue(COLUMN_NAME_TINYINT));
+
+        // Date is expected in UTC normalized form
+        Date expectedDate = new Date(testDate.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
+        assertEquals(expectedDate, record.getAsDate(COLUMN_NAME_DATE, null));
+        assertEquals(timestampValue, record.getValue(COLUMN_NAME_TIMESTAMP));
+
+        verify(resultSet, never()).getObject(COLUMN_NAME_BIGINT);
+        verify(resultSet, never()).getObject(COLUMN_NAME_INTEGER);
+        verify(resultSet, never()).getTimestamp(COLUMN_NAME_TIMESTAMP);
+    }
+
     @Test
     public void testCreateSchemaArrayThrowsException() throws SQLException {
         // given
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.RecordSet;
+import org.apache.nifi.serialization.record.util.IllegalTypeConversionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRecordBatch {
+
+    private RecordSchema schema;
+
+    @BeforeEach
+    public void setup() {
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("score", RecordFieldType.DOUBLE.getDataType()));
+        fields.add(new RecordField("active", RecordFieldType.BOOLEAN.getDataType()));
+        schema = new SimpleRecordSchema(fields);
+    }
+
+    @Test
+    public void testColumnVectorTypes() {
+        assertTrue(ColumnVector.create(RecordFieldType.INT.getDataType(), 1) instanceof LongColumnVector);
+        assertTrue(ColumnVector.create(RecordFieldType.LONG.getDataType(), 1) instanceof LongColumnVector);
+        assertTrue(ColumnVector.create(RecordFieldType.FLOAT.getDataType(), 1) instanceof DoubleColumnVector);
+        assertTrue(ColumnVector.create(RecordFieldType.BOOLEAN.getDataType(), 1) instanceof BooleanColumnVector);
+        assertTrue(ColumnVector.create(RecordFieldType.STRING.getDataType(), 1) instanceof ObjectColumnVector);
+        assertTrue(ColumnVector.create(RecordFieldType.TIMESTAMP.getDataType(), 1) instanceof ObjectColumnVector);
+    }
+
+    @Test
+    public void testColumnVectorGrowsAndTracksNulls() {
+        final LongColumnVector vector = new LongColumnVector(RecordFieldType.INT.getDataType(), 1);
+        vector.setLong(0, 1L);
+        vector.setLong(5, 6L);
+
+        assertEquals(6, vector.size());
+        assertEquals(1, vector.getObject(0));
+        assertEquals(6, vector.getObject(5));
+        for (int i = 1; i < 5; i++) {
+            assertTrue(vector.isNull(i));
+            assertNull(vector.getObject(i));
+        }
+
+        vector.setObject(2, "3");
+        assertFalse(vector.isNull(2));
+        assertEquals(3L, vector.getLong(2));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.getLong(6));
+    }
+
+    @Test
+    public void testLongColumnVectorRejectsLossyConversions() {
+        final LongColumnVector vector = new LongColumnVector(RecordFieldType.LONG.getDataType(), 4);
+        vector.setObject(0, 2.0D);
+        assertEquals(2L, vector.getLong(0));
+        vector.setObject(1, new BigDecimal("42.000"));
+        assertEquals(42L, vector.getLong(1));
+
+        assertThrows(IllegalTypeConversionException.class, () -> vector.setObject(2, 1.5D));
+        assertThrows(IllegalTypeConversionException.class, () -> vector.setObject(2, new BigDecimal("1.25")));
+        assertThrows(IllegalTypeConversionException.class, () -> vector.setObject(2, 1.0E20D));
+        assertThrows(IllegalTypeConversionException.class, () -> vector.setObject(2, BigInteger.ONE.shiftLeft(64)));
+    }
+
+    @Test
+    public void testBuildFromRecords() throws IOException {
+        final RecordBatch batch = createBatch();
+        assertEquals(3, batch.getRowCount());
+        assertEquals(3, batch.getSelectedCount());
+        assertFalse(batch.isSelectionInUse());
+
+        final LongColumnVector ids = (LongColumnVector) batch.getColumn("id");
+        assertEquals(2L, ids.getLong(1));
+        assertTrue(batch.getColumn("score").isNull(2));
+        assertNull(batch.getColumn("missing"));
+
+        final RecordSet recordSet = batch.toRecordSet();
+        final Record first = recordSet.next();
+        assertEquals(1, first.getValue("id"));
+        assertEquals("a", first.getValue("name"));
+        assertEquals(1.5D, first.getValue("score"));
+        assertEquals(Boolean.TRUE, first.getValue("active"));
+        assertEquals(schema, first.getSchema());
+
+        assertEquals(2, recordSet.next().getValue("id"));
+        final Record third = recordSet.next();
+        assertNull(third.getValue("score"));
+        assertNull(recordSet.next());
+    }
+
+    @Test
+    public void testSelection() throws IOException {
+        final RecordBatch batch = createBatch();
+        final ColumnVector[] columns = new ColumnVector[batch.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = batch.getColumn(i);
+        }
+
+        final RecordBatch selected = new RecordBatch(schema, columns, batch.getRowCount(), new int[] {0, 2}, 2);
+        assertTrue(selected.isSelectionInUse());
+        assertEquals(2, selected.getSelectedCount());
+        assertEquals(2, selected.getSelectedRow(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> selected.getSelectedRow(2));
+
+        final RecordSet recordSet = selected.toRecordSet();
+        assertEquals("a", recordSet.next().getValue("name"));
+        assertEquals(3, recordSet.next().getValue("id"));
+        assertNull(recordSet.next());
+
+        assertThrows(IllegalArgumentException.class, () -> new RecordBatch(schema, columns, batch.getRowCount(), new int[] {0}, 2));
+    }
+
+    @Test
+    public void testBuilderCannotBeReused() {
+        final RecordBatchBuilder builder = new RecordBatchBuilder(schema, 4);
+        builder.nextRow();
+        builder.build();
+        assertThrows(IllegalStateException.class, builder::nextRow);
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    public void testUnpopulatedTrailingRowsAreNull() {
+        final RecordBatchBuilder builder = new RecordBatchBuilder(schema, 4);
+        final int row = builder.nextRow();
+        ((LongColumnVector) builder.getColumn(0)).setLong(row, 7L);
+        builder.nextRow();
+
+        final RecordBatch batch = builder.build();
+        assertEquals(2, batch.getRowCount());
+        for (int i = 0; i < batch.getColumnCount(); i++) {
+            assertEquals(2, batch.getColumn(i).size());
+            assertTrue(batch.getColumn(i).isNull(1));
+        }
+        assertEquals(7, batch.getRecord(0).getValue("id"));
+    }
+
+    private RecordBatch createBatch() {
+        final RecordBatchBuilder builder = new RecordBatchBuilder(schema, 2);
+        builder.addRecord(createRecord(1, "a", 1.5D, true));
+        builder.addRecord(createRecord(2, "b", 2.5D, false));
+        builder.addRecord(createRecord(3, "c", null, true));
+        return builder.build();
+    }
+
+    private Record createRecord(final int id, final String name, final Double score, final boolean active) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", id);
+        values.put("name", name);
+        values.put("score", score);
+        values.put("active", active);
+        return new MapRecord(schema, values);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.util;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRecordConversionPlan {
+
+    @Test
+    public void testConvertRecord() {
+        final RecordSchema sourceSchema = new SimpleRecordSchema(Arrays.asList(
+                new RecordField("id", RecordFieldType.STRING.getDataType()),
+                new RecordField("full_name", RecordFieldType.STRING.getDataType()),
+                new RecordField("born", RecordFieldType.STRING.getDataType()),
+                new RecordField("extra", RecordFieldType.STRING.getDataType())));
+        final RecordSchema targetSchema = new SimpleRecordSchema(Arrays.asList(
+                new RecordField("id", RecordFieldType.INT.getDataType()),
+                new RecordField("name", RecordFieldType.STRING.getDataType(), null, Collections.singleton("full_name")),
+                new RecordField("born", RecordFieldType.DATE.getDataType()),
+                new RecordField("active", RecordFieldType.BOOLEAN.getDataType(), (Object) "true")));
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", "42");
+        values.put("full_name", "John Doe");
+        values.put("born", "2000-02-29");
+        values.put("extra", "ignored");
+        final Record source = new MapRecord(sourceSchema, values);
+
+        final RecordConversionPlan plan = RecordConversionPlan.create(sourceSchema, targetSchema, "yyyy-MM-dd", "HH:mm:ss", "yyyy-MM-dd HH:mm:ss");
+        assertTrue(plan.isPlanFor(sourceSchema));
+        assertFalse(plan.isPlanFor(targetSchema));
+
+        final Record converted = plan.convert(source);
+        assertSame(targetSchema, converted.getSchema());
+        assertEquals(42, converted.getValue("id"));
+        assertEquals("John Doe", converted.getValue("name"));
+        assertEquals(Date.valueOf("2000-02-29"), converted.getValue("born"));
+        assertEquals(Boolean.TRUE, converted.getValue("active"));
+        assertNull(converted.getValue("extra"));
+    }
+
+    @Test
+    public void testForSourceSchema() {
+        final RecordSchema targetSchema = new SimpleRecordSchema(Collections.singletonList(
+                new RecordField("count", RecordFieldType.LONG.getDataType(), null, Collections.singleton("total"))));
+        final RecordSchema countSchema = new SimpleRecordSchema(Collections.singletonList(new RecordField("count", RecordFieldType.STRING.getDataType())));
+        final RecordSchema totalSchema = new SimpleRecordSchema(Collections.singletonList(new RecordField("total", RecordFieldType.INT.getDataType())));
+
+        final RecordConversionPlan plan = RecordConversionPlan.create(countSchema, targetSchema);
+        assertSame(plan, plan.forSourceSchema(countSchema));
+
+        final RecordConversionPlan totalPlan = plan.forSourceSchema(totalSchema);
+        assertTrue(totalPlan.isPlanFor(totalSchema));
+        assertSame(targetSchema, totalPlan.getTargetSchema());
+        assertSame(plan.getConverter(0), totalPlan.getConverter(0));
+        assertEquals(7, totalPlan.getValue(new MapRecord(totalSchema, Collections.singletonMap("total", 7)), 0));
+        assertEquals(7L, totalPlan.convertValue(new MapRecord(totalSchema, Collections.singletonMap("total", 7)), 0));
+        assertEquals(5L, plan.convertValue(new MapRecord(countSchema, Collections.singletonMap("count", "5")), 0));
+    }
+
+    @Test
+    public void testConvertRecordWithoutSourceSchema() {
+        final RecordSchema schema = new SimpleRecordSchema(Collections.singletonList(new RecordField("count", RecordFieldType.LONG.getDataType())));
+        final RecordConversionPlan plan = RecordConversionPlan.create(null, schema, null, null, null);
+
+        final Record converted = plan.convert(new MapRecord(schema, Collections.singletonMap("count", 12)));
+        assertEquals(12L, converted.getValue("count"));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.util;
+
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestValueConverters {
+
+    @Test
+    public void testScalarConversionsMatchDataTypeUtils() {
+        final List<Object> values = Arrays.asList(null, "12", 12, 12L, 12.5D, "true", true, "x", "", " 7 ");
+        final RecordFieldType[] types = {RecordFieldType.INT, RecordFieldType.LONG, RecordFieldType.SHORT, RecordFieldType.BYTE, RecordFieldType.DOUBLE,
+            RecordFieldType.FLOAT, RecordFieldType.DECIMAL, RecordFieldType.BIGINT, RecordFieldType.BOOLEAN, RecordFieldType.STRING, RecordFieldType.CHAR};
+
+        for (final RecordFieldType type : types) {
+            final DataType dataType = type.getDataType();
+            final ValueConverter converter = ValueConverters.create(dataType);
+            for (final Object value : values) {
+                assertSameConversion(value, dataType, converter);
+            }
+        }
+
+        final Date date = new Date(1_000_000L);
+        assertEquals(DataTypeUtils.convertType(date, RecordFieldType.STRING.getDataType(), "field"), ValueConverters.create(RecordFieldType.STRING.getDataType()).convert(date, "field"));
+    }
+
+    @Test
+    public void testTimestampConversionsMatchDataTypeUtils() {
+        final DataType timestampType = RecordFieldType.TIMESTAMP.getDataType();
+        final ValueConverter converter = ValueConverters.create(timestampType);
+
+        // The last values are rejected by a strict DateTimeFormatter but accepted by the lenient SimpleDateFormat
+        final List<Object> values = Arrays.asList("2020-03-08 02:30:00", "2021-12-31 23:59:59", "  2021-01-01 00:00:00 ", "", "1000",
+                new java.util.Date(5000L), 77L, "2021-02-31 10:00:00", "2021-01-01 24:00:00", "2021-1-5 3:04:05", "2021-01-01 10:00:00.123 trailing");
+        for (final Object value : values) {
+            assertSameConversion(value, timestampType, converter);
+        }
+
+        final DataType millisType = RecordFieldType.TIMESTAMP.getDataType("yyyy-MM-dd'T'HH:mm:ss.SSS");
+        final ValueConverter millisConverter = ValueConverters.create(millisType, null, null, millisType.getFormat());
+        final Object expected = DataTypeUtils.convertType("2021-06-01T12:34:56.789", millisType, null, null, () -> DataTypeUtils.getDateFormat(millisType.getFormat()), "field");
+        assertEquals(expected, millisConverter.convert("2021-06-01T12:34:56.789", "field"));
+        assertEquals(Timestamp.valueOf("2021-06-01 12:34:56.789"), expected);
+
+        assertThrows(IllegalTypeConversionException.class, () -> converter.convert("not a timestamp", "field"));
+    }
+
+    @Test
+    public void testTimeAndDateConversionsMatchDataTypeUtils() {
+        final DataType timeType = RecordFieldType.TIME.getDataType();
+        final ValueConverter timeConverter = ValueConverters.create(timeType);
+        for (final Object value : Arrays.asList("10:11:12", "23:59:59", "25:00:00", "1:2:3", "", 3600000L)) {
+            assertSameConversion(value, timeType, timeConverter);
+        }
+        assertTrue(timeConverter.convert("10:11:12", "field") instanceof Time);
+
+        final DataType dateType = RecordFieldType.DATE.getDataType();
+        final ValueConverter dateConverter = ValueConverters.create(dateType);
+        for (final Object value : Arrays.asList("2000-01-01", "1999-12-31", 946684800000L, Date.valueOf("2010-10-10"))) {
+            assertSameConversion(value, dateType, dateConverter);
+        }
+        assertNull(dateConverter.convert(" ", "field"));
+    }
+
+    @Test
+    public void testEquivalentFormatter() {
+        assertNotNull(ValueConverters.getEquivalentFormatter("yyyy-MM-dd HH:mm:ss"));
+        assertNotNull(ValueConverters.getEquivalentFormatter("yyyy-MM-dd'T'HH:mm:ss.SSS"));
+        assertNull(ValueConverters.getEquivalentFormatter("yy-MM-dd"));
+        assertNull(ValueConverters.getEquivalentFormatter("dd MMM yyyy"));
+        assertNull(ValueConverters.getEquivalentFormatter("yyyy-MM-dd HH:mm:ssZ"));
+        assertNull(ValueConverters.getEquivalentFormatter("yyyy-MM-dd [HH]"));
+        assertNull(ValueConverters.getEquivalentFormatter(null));
+    }
+
+    private static void assertSameConversion(final Object value, final DataType dataType, final ValueConverter converter) {
+        Object expected;
+        try {
+            expected = DataTypeUtils.convertType(value, dataType, "field");
+        } catch (final IllegalTypeConversionException | NumberFormatException e) {
+            final Class<? extends Exception> exceptionClass = e.getClass();
+            assertThrows(exceptionClass, () -> converter.convert(value, "field"), () -> "Converting " + value + " to " + dataType);
+            return;
+        }
+
+        assertEquals(expected, converter.convert(value, "field"), () -> "Converting " + value + " to " + dataType);
+    }
+}
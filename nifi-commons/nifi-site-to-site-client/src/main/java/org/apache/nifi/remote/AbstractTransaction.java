@@ -21,10 +21,12 @@ import org.apache.nifi.remote.codec.FlowFileCodec;
 import org.apache.nifi.remote.exception.ProtocolException;
 import org.apache.nifi.remote.io.CompressionInputStream;
 import org.apache.nifi.remote.io.CompressionOutputStream;
+import org.apache.nifi.remote.protocol.CommunicationsOutput;
 import org.apache.nifi.remote.protocol.CommunicationsSession;
 import org.apache.nifi.remote.protocol.DataPacket;
 import org.apache.nifi.remote.protocol.Response;
 import org.apache.nifi.remote.protocol.ResponseCode;
+import org.apache.nifi.remote.util.FileChannelDataPacket;
 import org.apache.nifi.remote.util.StandardDataPacket;
 import org.apache.nifi.reporting.Severity;
 import org.slf4j.Logger;
@@ -367,11 +369,19 @@ public abstract class AbstractTransaction implements Transaction {
 
                 logger.debug("{} Sending data to {}", this, peer);
 
-                final OutputStream os = peer.getCommunicationsSession().getOutput().getOutputStream();
+                final CommunicationsOutput output = peer.getCommunicationsSession().getOutput();
+                final OutputStream os = output.getOutputStream();
                 final OutputStream dataOut = compress ? new CompressionOutputStream(os) : os;
                 final OutputStream out = new CheckedOutputStream(dataOut, crc);
 
-                codec.encode(dataPacket, out);
+                if (!compress && dataPacket instanceof FileChannelDataPacket) {
+                    // Let the transport move the content straight from the file rather than copying it through the codec
+                    final FileChannelDataPacket filePacket = (FileChannelDataPacket) dataPacket;
+                    codec.encodeHeader(dataPacket, out);
+                    output.transferFrom(filePacket.getChannel(), filePacket.getPosition(), filePacket.getSize(), crc);
+                } else {
+                    codec.encode(dataPacket, out);
+                }
 
                 // need to close the CompressionOutputStream in order to force it write out any remaining bytes.
                 // Otherwise, do NOT close it because we don't want to close the underlying stream
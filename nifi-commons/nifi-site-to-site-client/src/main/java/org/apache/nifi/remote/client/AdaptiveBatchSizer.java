@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Determines how many FlowFiles and how many bytes should be included in a Site-to-Site Transaction
+ * based on the observed cost of previous Transactions, rather than on static, hand-tuned values.
+ * </p>
+ *
+ * <p>
+ * The duration of a Transaction is modeled as a fixed overhead (the round trips needed to confirm and
+ * complete the Transaction) plus a per-FlowFile transfer cost. Both are tracked as exponentially weighted
+ * moving averages, and the batch is sized so that the Transaction spans approximately the target duration.
+ * If the fixed overhead alone exceeds half of the target duration, as is common on high-latency WAN links,
+ * the target is stretched so that the overhead never accounts for more than half of the Transaction.
+ * Batch count is never grown or shrunk by more than a factor of two between consecutive Transactions.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public class AdaptiveBatchSizer {
+    public static final int DEFAULT_INITIAL_BATCH_COUNT = 100;
+    public static final int DEFAULT_MAX_BATCH_COUNT = 100_000;
+
+    private static final double SMOOTHING_FACTOR = 0.3D;
+    private static final int MAX_ADJUSTMENT_FACTOR = 2;
+
+    private final long targetNanos;
+    private final int minBatchCount;
+    private final int maxBatchCount;
+
+    private int batchCount;
+    private long batchBytes = -1L;
+    private double overheadNanos = -1D;
+    private double nanosPerFlowFile = -1D;
+    private double bytesPerNano = -1D;
+
+    public AdaptiveBatchSizer(final long targetDuration, final TimeUnit timeUnit) {
+        this(targetDuration, timeUnit, 1, DEFAULT_INITIAL_BATCH_COUNT, DEFAULT_MAX_BATCH_COUNT);
+    }
+
+    public AdaptiveBatchSizer(final long targetDuration, final TimeUnit timeUnit, final int minBatchCount, final int initialBatchCount, final int maxBatchCount) {
+        if (targetDuration <= 0) {
+            throw new IllegalArgumentException("Target Transaction duration must be positive");
+        }
+        if (minBatchCount < 1 || maxBatchCount < minBatchCount) {
+            throw new IllegalArgumentException("Batch count bounds must satisfy 1 <= min <= max but were min=" + minBatchCount + ", max=" + maxBatchCount);
+        }
+
+        this.targetNanos = timeUnit.toNanos(targetDuration);
+        this.minBatchCount = minBatchCount;
+        this.maxBatchCount = maxBatchCount;
+        this.batchCount = clamp(initialBatchCount);
+    }
+
+    /**
+     * @return the number of FlowFiles that should be included in the next Transaction
+     */
+    public synchronized int getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * @return the number of bytes that should be included in the next Transaction, or <code>-1</code> if
+     * no Transaction has been observed yet and therefore the number of bytes should not be limited
+     */
+    public synchronized long getBatchSize() {
+        return batchBytes;
+    }
+
+    /**
+     * @param timeUnit the desired time unit
+     * @return the duration that Transactions are sized to span
+     */
+    public long getTargetDuration(final TimeUnit timeUnit) {
+        return timeUnit.convert(targetNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the outcome of a completed Transaction and recalculates the batch count and size to use
+     * for subsequent Transactions.
+     *
+     * @param flowFileCount the number of FlowFiles that were transferred in the Transaction
+     * @param bytes the number of bytes that were transferred in the Transaction
+     * @param transferNanos the number of nanoseconds spent transferring the FlowFiles
+     * @param overheadNanos the number of nanoseconds spent on the remainder of the Transaction,
+     *            such as confirming and completing it
+     */
+    public synchronized void recordTransaction(final int flowFileCount, final long bytes, final long transferNanos, final long overheadNanos) {
+        if (flowFileCount < 1) {
+            return;
+        }
+
+        this.overheadNanos = smooth(this.overheadNanos, Math.max(0L, overheadNanos));
+        this.nanosPerFlowFile = smooth(this.nanosPerFlowFile, Math.max(1D, (double) transferNanos / flowFileCount));
+        this.bytesPerNano = smooth(this.bytesPerNano, (double) bytes / Math.max(1L, transferNanos));
+
+        // Leave at least half of each Transaction for actually moving data
+        final double transferBudgetNanos = Math.max(targetNanos - this.overheadNanos, this.overheadNanos);
+
+        final long idealCount = (long) (transferBudgetNanos / this.nanosPerFlowFile);
+        final long lowerBound = Math.max(1L, batchCount / MAX_ADJUSTMENT_FACTOR);
+        final long upperBound = (long) batchCount * MAX_ADJUSTMENT_FACTOR;
+        batchCount = clamp(Math.min(upperBound, Math.max(lowerBound, idealCount)));
+
+        batchBytes = Math.max(1L, (long) (transferBudgetNanos * this.bytesPerNano));
+    }
+
+    private int clamp(final long count) {
+        return (int) Math.min(maxBatchCount, Math.max(minBatchCount, count));
+    }
+
+    private static double smooth(final double current, final double observed) {
+        if (current < 0D) {
+            return observed;
+        }
+
+        return SMOOTHING_FACTOR * observed + (1D - SMOOTHING_FACTOR) * current;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "AdaptiveBatchSizer[targetMillis=" + TimeUnit.NANOSECONDS.toMillis(targetNanos) + ", batchCount=" + batchCount + ", batchBytes=" + batchBytes + "]";
+    }
+}
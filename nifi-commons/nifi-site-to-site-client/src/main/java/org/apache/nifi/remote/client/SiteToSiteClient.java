@@ -172,6 +172,7 @@ public interface SiteToSiteClient extends Closeable {
         private int batchCount;
         private long batchSize;
         private long batchNanos;
+        private boolean adaptiveBatching;
         private InetAddress localAddress;
         private SiteToSiteTransportProtocol transportProtocol = SiteToSiteTransportProtocol.RAW;
         private HttpProxy httpProxy;
@@ -204,6 +205,7 @@ public interface SiteToSiteClient extends Closeable {
             this.batchCount = config.getPreferredBatchCount();
             this.batchSize = config.getPreferredBatchSize();
             this.batchNanos = config.getPreferredBatchDuration(TimeUnit.NANOSECONDS);
+            this.adaptiveBatching = config.isAdaptiveBatching();
             this.localAddress = config.getLocalAddress();
             this.httpProxy = config.getHttpProxy();
 
@@ -614,6 +616,21 @@ public interface SiteToSiteClient extends Closeable {
             return this;
         }
 
+        /**
+         * Specifies whether or not the number of FlowFiles and bytes to include in a
+         * Transaction should be adjusted based on the observed round-trip time and
+         * throughput of previous Transactions. When enabled, the preferred batch
+         * duration is used as the target duration of each Transaction, and the
+         * preferred batch count and size, if specified, act as upper bounds.
+         *
+         * @param adaptiveBatching whether or not to size Transactions adaptively
+         * @return the builder
+         */
+        public Builder adaptiveBatching(final boolean adaptiveBatching) {
+            this.adaptiveBatching = adaptiveBatching;
+            return this;
+        }
+
         /**
          * @return a {@link SiteToSiteClientConfig} for the configured values
          * but does not create a SiteToSiteClient
@@ -784,6 +801,7 @@ public interface SiteToSiteClient extends Closeable {
         private final int batchCount;
         private final long batchSize;
         private final long batchNanos;
+        private final boolean adaptiveBatching;
         private final HttpProxy httpProxy;
         private final InetAddress localAddress;
 
@@ -809,6 +827,7 @@ public interface SiteToSiteClient extends Closeable {
             this.batchCount = 0;
             this.batchSize = 0;
             this.batchNanos = 0;
+            this.adaptiveBatching = false;
             this.transportProtocol = null;
             this.httpProxy = null;
             this.localAddress = null;
@@ -838,6 +857,7 @@ public interface SiteToSiteClient extends Closeable {
             this.batchCount = builder.batchCount;
             this.batchSize = builder.batchSize;
             this.batchNanos = builder.batchNanos;
+            this.adaptiveBatching = builder.adaptiveBatching;
             this.transportProtocol = builder.getTransportProtocol();
             this.httpProxy = builder.getHttpProxy();
             this.localAddress = builder.localAddress;
@@ -983,6 +1003,11 @@ public interface SiteToSiteClient extends Closeable {
             return batchCount;
         }
 
+        @Override
+        public boolean isAdaptiveBatching() {
+            return adaptiveBatching;
+        }
+
         @Override
         public String getKeystoreFilename() {
             return keystoreFilename;
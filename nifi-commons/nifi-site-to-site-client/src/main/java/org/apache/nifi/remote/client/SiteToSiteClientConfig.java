@@ -173,6 +173,18 @@ public interface SiteToSiteClientConfig extends Serializable {
      */
     int getPreferredBatchCount();
 
+    /**
+     * When adaptive batching is enabled, the number of FlowFiles and bytes that are
+     * sent in a Transaction are adjusted based on the observed duration and throughput of
+     * previous Transactions, aiming for Transactions that span the preferred batch duration.
+     * Any preferred batch count or size then acts only as an upper bound.
+     *
+     * @return <code>true</code> if the size of Transactions should be adjusted adaptively
+     */
+    default boolean isAdaptiveBatching() {
+        return false;
+    }
+
     /**
      * When the contents of a remote NiFi instance are fetched, that information is cached
      * so that many calls that are made in a short period of time do not overwhelm the remote
@@ -26,6 +26,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.URI;
+import java.nio.channels.SocketChannel;
 import java.security.cert.CertificateException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -457,7 +458,8 @@ public class EndpointConnectionPool implements PeerStatusProvider {
                 }
             } else {
 
-                final Socket socket = new Socket();
+                // Obtain the Socket from a SocketChannel so that content can be transferred to it directly from files
+                final Socket socket = SocketChannel.open().socket();
                 socket.connect(new InetSocketAddress(hostname, port), commsTimeout);
                 socket.setSoTimeout(commsTimeout);
 
@@ -54,6 +54,19 @@ public interface FlowFileCodec extends VersionedRemoteResource {
      */
     void encode(DataPacket dataPacket, OutputStream outStream) throws IOException, TransmissionDisabledException;
 
+    /**
+     * Encodes everything about a DataPacket except for its content and writes it to the output.
+     * The caller is then responsible for writing exactly {@link DataPacket#getSize()} bytes of content,
+     * which allows the content to be transferred without being copied through this codec.
+     *
+     * @param dataPacket the data whose attributes and size are to be serialized
+     * @param outStream the stream to write the data to
+     *
+     * @throws IOException if there is a communications issue
+     * @throws TransmissionDisabledException if a user terminates the connection
+     */
+    void encodeHeader(DataPacket dataPacket, OutputStream outStream) throws IOException, TransmissionDisabledException;
+
     /**
      * Decodes the contents of the InputStream, interpreting the data to
      * determine the next DataPacket's attributes and content.
@@ -47,6 +47,14 @@ public class StandardFlowFileCodec implements FlowFileCodec {
 
     @Override
     public void encode(final DataPacket dataPacket, final OutputStream encodedOut) throws IOException {
+        encodeHeader(dataPacket, encodedOut);
+
+        final InputStream in = dataPacket.getData();
+        StreamUtils.copy(in, encodedOut);
+    }
+
+    @Override
+    public void encodeHeader(final DataPacket dataPacket, final OutputStream encodedOut) throws IOException {
         final DataOutputStream out = new DataOutputStream(encodedOut);
 
         final Map<String, String> attributes = dataPacket.getAttributes();
@@ -57,9 +65,6 @@ public class StandardFlowFileCodec implements FlowFileCodec {
         }
 
         out.writeLong(dataPacket.getSize());
-
-        final InputStream in = dataPacket.getData();
-        StreamUtils.copy(in, encodedOut);
     }
 
     @Override
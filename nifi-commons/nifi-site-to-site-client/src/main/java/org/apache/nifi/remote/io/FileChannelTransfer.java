@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Utility methods for moving a region of a file to a remote peer without routing the content through
+ * intermediate heap buffers.
+ */
+public final class FileChannelTransfer {
+
+    public static final int BUFFER_SIZE = 64 * 1024;
+    public static final int TRANSFER_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private FileChannelTransfer() {
+    }
+
+    /**
+     * Transfers the given region of the source file to the target channel. When no checksum is needed, the region is handed to
+     * {@link FileChannel#transferTo(long, long, WritableByteChannel)} in chunks of {@link #TRANSFER_CHUNK_SIZE} bytes, which allows the
+     * operating system to move the bytes directly from the file system cache to the socket. When a checksum is needed, the bytes have to
+     * pass through user space anyway, so the region is read into the given direct buffer, added to the checksum and written from that
+     * same buffer, reading the content only once.
+     *
+     * @param source the file to transfer from
+     * @param position the offset into the file at which to start
+     * @param count the number of bytes to transfer
+     * @param target the channel to transfer to
+     * @param checksum the checksum to update with the transferred bytes, or <code>null</code> if no checksum is needed
+     * @param buffer a direct buffer to read into when a checksum is needed
+     * @return the number of bytes transferred
+     * @throws IOException if unable to read from the source or write to the target
+     */
+    public static long transferTo(final FileChannel source, final long position, final long count, final WritableByteChannel target,
+                                  final CRC32 checksum, final ByteBuffer buffer) throws IOException {
+        if (position + count > source.size()) {
+            throw new EOFException("Expected to transfer " + count + " bytes starting at offset " + position + " but file is only " + source.size() + " bytes");
+        }
+
+        if (checksum != null) {
+            long written = 0L;
+            while (written < count) {
+                final int bytesRead = read(source, position + written, count - written, buffer);
+                checksum.update(buffer);
+                buffer.rewind();
+
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                written += bytesRead;
+            }
+
+            return written;
+        }
+
+        long transferred = 0L;
+        while (transferred < count) {
+            final long chunkPosition = position + transferred;
+            final long chunkSize = Math.min(TRANSFER_CHUNK_SIZE, count - transferred);
+
+            long chunkTransferred = 0L;
+            while (chunkTransferred < chunkSize) {
+                final long bytesTransferred = source.transferTo(chunkPosition + chunkTransferred, chunkSize - chunkTransferred, target);
+                if (bytesTransferred <= 0 && chunkPosition + chunkTransferred >= source.size()) {
+                    throw new EOFException("Expected to transfer " + count + " bytes starting at offset " + position + " but file ended after "
+                        + (transferred + chunkTransferred) + " bytes");
+                }
+
+                chunkTransferred += bytesTransferred;
+            }
+
+            transferred += chunkSize;
+        }
+
+        return transferred;
+    }
+
+    /**
+     * Copies the given region of the source file to the given OutputStream, reading through a direct buffer. This is used when the
+     * destination cannot be written to as a channel, such as when the connection is secured with TLS.
+     *
+     * @param source the file to copy from
+     * @param position the offset into the file at which to start
+     * @param count the number of bytes to copy
+     * @param out the stream to write to
+     * @param checksum the checksum to update with the copied bytes, or <code>null</code> if no checksum is needed
+     * @param buffer a direct buffer to read into
+     * @param array an array of at least the buffer's capacity, used to hand the bytes to the stream
+     * @return the number of bytes copied
+     * @throws IOException if unable to read from the source or write to the stream
+     */
+    public static long copy(final FileChannel source, final long position, final long count, final OutputStream out,
+                            final CRC32 checksum, final ByteBuffer buffer, final byte[] array) throws IOException {
+        long copied = 0L;
+        while (copied < count) {
+            final int bytesRead = read(source, position + copied, count - copied, buffer);
+            if (checksum != null) {
+                checksum.update(buffer);
+                buffer.rewind();
+            }
+
+            buffer.get(array, 0, bytesRead);
+            out.write(array, 0, bytesRead);
+            copied += bytesRead;
+        }
+
+        return copied;
+    }
+
+    /**
+     * Fills the buffer from the given position of the source, leaving the buffer flipped and ready to be drained
+     */
+    private static int read(final FileChannel source, final long position, final long remaining, final ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        if (remaining < buffer.capacity()) {
+            buffer.limit((int) remaining);
+        }
+
+        int bytesRead = 0;
+        while (buffer.hasRemaining()) {
+            final int read = source.read(buffer, position + bytesRead);
+            if (read < 0) {
+                if (bytesRead == 0) {
+                    throw new EOFException("Expected " + remaining + " more bytes starting at offset " + position + " but reached end of file");
+                }
+                break;
+            }
+
+            bytesRead += read;
+        }
+
+        buffer.flip();
+        return bytesRead;
+    }
+}
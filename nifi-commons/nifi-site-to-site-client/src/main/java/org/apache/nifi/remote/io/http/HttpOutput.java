@@ -16,17 +16,23 @@
  */
 package org.apache.nifi.remote.io.http;
 
+import org.apache.nifi.remote.io.FileChannelTransfer;
 import org.apache.nifi.remote.io.InterruptableOutputStream;
 import org.apache.nifi.remote.protocol.CommunicationsOutput;
 import org.apache.nifi.stream.io.ByteCountingOutputStream;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
 
 public class HttpOutput implements CommunicationsOutput {
 
     private ByteCountingOutputStream countingOut;
     private InterruptableOutputStream interruptableOut;
+    private ByteBuffer transferBuffer;
+    private byte[] transferArray;
 
     @Override
     public OutputStream getOutputStream() throws IOException {
@@ -41,6 +47,16 @@ public class HttpOutput implements CommunicationsOutput {
         return 0L;
     }
 
+    @Override
+    public long transferFrom(final FileChannel source, final long position, final long count, final CRC32 checksum) throws IOException {
+        if (transferBuffer == null) {
+            transferBuffer = ByteBuffer.allocateDirect(FileChannelTransfer.BUFFER_SIZE);
+            transferArray = new byte[FileChannelTransfer.BUFFER_SIZE];
+        }
+
+        return FileChannelTransfer.copy(source, position, count, countingOut, checksum, transferBuffer, transferArray);
+    }
+
     public void setOutputStream(OutputStream outputStream) {
         interruptableOut = new InterruptableOutputStream(outputStream);
         this.countingOut = new ByteCountingOutputStream(interruptableOut);
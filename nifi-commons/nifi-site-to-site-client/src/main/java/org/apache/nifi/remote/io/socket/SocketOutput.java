@@ -16,6 +16,8 @@
  */
 package org.apache.nifi.remote.io.socket;
 
+import org.apache.nifi.remote.exception.TransmissionDisabledException;
+import org.apache.nifi.remote.io.FileChannelTransfer;
 import org.apache.nifi.remote.io.InterruptableOutputStream;
 import org.apache.nifi.remote.protocol.CommunicationsOutput;
 import org.apache.nifi.stream.io.ByteCountingOutputStream;
@@ -27,6 +29,10 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.util.zip.CRC32;
 
 public class SocketOutput implements CommunicationsOutput {
 
@@ -36,6 +42,10 @@ public class SocketOutput implements CommunicationsOutput {
     private final ByteCountingOutputStream countingOut;
     private final OutputStream bufferedOut;
     private final InterruptableOutputStream interruptableOut;
+    private volatile boolean interrupted = false;
+    private long bytesTransferred = 0L;
+    private ByteBuffer transferBuffer;
+    private byte[] transferArray;
 
     public SocketOutput(final Socket socket) throws IOException {
         this.socket = socket;
@@ -59,10 +69,39 @@ public class SocketOutput implements CommunicationsOutput {
 
     @Override
     public long getBytesWritten() {
-        return countingOut.getBytesWritten();
+        return countingOut.getBytesWritten() + bytesTransferred;
+    }
+
+    /**
+     * If the socket was created from a {@link SocketChannel}, which is the case for connections that are not secured with TLS,
+     * the region is handed to the operating system via {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+     * Otherwise, it is copied to the OutputStream through a direct buffer.
+     */
+    @Override
+    public long transferFrom(final FileChannel source, final long position, final long count, final CRC32 checksum) throws IOException {
+        if (interrupted) {
+            throw new TransmissionDisabledException();
+        }
+
+        if (transferBuffer == null) {
+            transferBuffer = ByteBuffer.allocateDirect(FileChannelTransfer.BUFFER_SIZE);
+            transferArray = new byte[FileChannelTransfer.BUFFER_SIZE];
+        }
+
+        final SocketChannel channel = socket.getChannel();
+        if (channel == null) {
+            return FileChannelTransfer.copy(source, position, count, interruptableOut, checksum, transferBuffer, transferArray);
+        }
+
+        // anything already written to the stream must reach the socket before the file content
+        interruptableOut.flush();
+        final long transferred = FileChannelTransfer.transferTo(source, position, count, channel, checksum, transferBuffer);
+        bytesTransferred += transferred;
+        return transferred;
     }
 
     public void interrupt() {
+        interrupted = true;
         interruptableOut.interrupt();
     }
 }
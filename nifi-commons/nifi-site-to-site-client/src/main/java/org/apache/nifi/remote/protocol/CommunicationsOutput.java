@@ -16,12 +16,33 @@
  */
 package org.apache.nifi.remote.protocol;
 
+import org.apache.nifi.remote.io.FileChannelTransfer;
+
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
 
 public interface CommunicationsOutput {
 
     OutputStream getOutputStream() throws IOException;
 
     long getBytesWritten();
+
+    /**
+     * Writes the given region of a file to this output, after any data that has already been written to the OutputStream.
+     * Implementations are encouraged to avoid copying the content through the heap where the underlying transport allows it.
+     *
+     * @param source the file to read from
+     * @param position the offset into the file of the first byte to write
+     * @param count the number of bytes to write
+     * @param checksum the checksum to update with the bytes written, or <code>null</code> if no checksum is needed
+     * @return the number of bytes written
+     * @throws IOException if unable to read the file or write to this output
+     */
+    default long transferFrom(final FileChannel source, final long position, final long count, final CRC32 checksum) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(FileChannelTransfer.BUFFER_SIZE);
+        return FileChannelTransfer.copy(source, position, count, getOutputStream(), checksum, buffer, new byte[FileChannelTransfer.BUFFER_SIZE]);
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+
+import org.apache.nifi.remote.protocol.DataPacket;
+import org.apache.nifi.stream.io.LimitingInputStream;
+import org.apache.nifi.stream.io.MinimumLengthInputStream;
+
+/**
+ * A {@link DataPacket} whose content is a region of a file. When sending over a raw socket without
+ * compression, the content of such a packet is transferred directly from the file to the socket by
+ * the operating system, rather than being copied through the JVM heap.
+ */
+public class FileChannelDataPacket implements DataPacket {
+
+    private final Map<String, String> attributes;
+    private final FileChannel channel;
+    private final long position;
+    private final long size;
+    private InputStream stream;
+
+    public FileChannelDataPacket(final Map<String, String> attributes, final FileChannel channel, final long position, final long size) {
+        if (position < 0 || size < 0) {
+            throw new IllegalArgumentException("Position and size must be non-negative but were " + position + " and " + size);
+        }
+
+        this.attributes = attributes;
+        this.channel = channel;
+        this.position = position;
+        this.size = size;
+    }
+
+    @Override
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Provides the content as a stream for transports that cannot transfer directly from the file. Note that
+     * reading from the stream changes the position of the underlying channel.
+     */
+    @Override
+    public synchronized InputStream getData() {
+        if (stream == null) {
+            try {
+                channel.position(position);
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException("Failed to position channel at offset " + position, ioe);
+            }
+
+            stream = new MinimumLengthInputStream(new LimitingInputStream(Channels.newInputStream(channel), size), size);
+        }
+
+        return stream;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    public FileChannel getChannel() {
+        return channel;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestAdaptiveBatchSizer {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    @Test
+    public void testInitialValues() {
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(500, TimeUnit.MILLISECONDS);
+        assertEquals(AdaptiveBatchSizer.DEFAULT_INITIAL_BATCH_COUNT, sizer.getBatchCount());
+        assertEquals(-1L, sizer.getBatchSize());
+        assertEquals(500L, sizer.getTargetDuration(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testGrowsOnFastLink() {
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(500, TimeUnit.MILLISECONDS, 1, 100, 1000);
+
+        // 100 FlowFiles in 10 millis with 1 milli of overhead: the batch should double, but no more
+        sizer.recordTransaction(100, 100_000L, 10 * MILLIS, MILLIS);
+        assertEquals(200, sizer.getBatchCount());
+
+        for (int i = 0; i < 10; i++) {
+            sizer.recordTransaction(sizer.getBatchCount(), sizer.getBatchCount() * 1000L, sizer.getBatchCount() * MILLIS / 10, MILLIS);
+        }
+        assertEquals(1000, sizer.getBatchCount());
+        assertTrue(sizer.getBatchSize() > 0);
+    }
+
+    @Test
+    public void testShrinksOnSlowLink() {
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(500, TimeUnit.MILLISECONDS, 1, 100, 1000);
+
+        // each FlowFile takes 100 millis to transfer, so only a handful fit in the target duration
+        for (int i = 0; i < 10; i++) {
+            sizer.recordTransaction(sizer.getBatchCount(), sizer.getBatchCount() * 1_000_000L, sizer.getBatchCount() * 100 * MILLIS, 10 * MILLIS);
+        }
+        assertEquals(4, sizer.getBatchCount());
+        assertEquals(4_900_000D, sizer.getBatchSize(), 1_000D);
+    }
+
+    @Test
+    public void testHighLatencyStretchesTarget() {
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, TimeUnit.MILLISECONDS, 1, 10, 1000);
+
+        // 400 millis of round-trip overhead exceeds the target, so at least as much time should be spent transferring
+        for (int i = 0; i < 10; i++) {
+            sizer.recordTransaction(sizer.getBatchCount(), sizer.getBatchCount() * 1000L, sizer.getBatchCount() * MILLIS, 400 * MILLIS);
+        }
+        assertEquals(400, sizer.getBatchCount());
+    }
+
+    @Test
+    public void testIgnoresEmptyTransaction() {
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(500, TimeUnit.MILLISECONDS);
+        sizer.recordTransaction(0, 0L, 0L, 10 * MILLIS);
+        assertEquals(AdaptiveBatchSizer.DEFAULT_INITIAL_BATCH_COUNT, sizer.getBatchCount());
+        assertEquals(-1L, sizer.getBatchSize());
+    }
+
+    @Test
+    public void testInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSizer(0, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSizer(500, TimeUnit.MILLISECONDS, 10, 10, 5));
+    }
+}
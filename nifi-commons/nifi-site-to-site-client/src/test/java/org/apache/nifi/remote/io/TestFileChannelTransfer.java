@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestFileChannelTransfer {
+
+    private static final int OFFSET = 1000;
+    private static final int LENGTH = 3 * FileChannelTransfer.BUFFER_SIZE + 17;
+
+    @TempDir
+    Path tempDir;
+
+    private byte[] content;
+    private Path file;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        content = new byte[OFFSET + LENGTH + 500];
+        new Random(42L).nextBytes(content);
+        file = tempDir.resolve("content");
+        Files.write(file, content);
+    }
+
+    @Test
+    public void testTransferTo() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final CRC32 checksum = new CRC32();
+
+        try (final FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long transferred = FileChannelTransfer.transferTo(source, OFFSET, LENGTH, Channels.newChannel(baos), checksum,
+                ByteBuffer.allocateDirect(FileChannelTransfer.BUFFER_SIZE));
+            assertEquals(LENGTH, transferred);
+        }
+
+        assertExpectedContent(baos.toByteArray(), checksum);
+    }
+
+    @Test
+    public void testTransferToWithoutChecksum() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        try (final FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long transferred = FileChannelTransfer.transferTo(source, OFFSET, LENGTH, Channels.newChannel(baos), null, null);
+            assertEquals(LENGTH, transferred);
+        }
+
+        assertArrayEquals(Arrays.copyOfRange(content, OFFSET, OFFSET + LENGTH), baos.toByteArray());
+    }
+
+    @Test
+    public void testCopy() throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final CRC32 checksum = new CRC32();
+
+        try (final FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long copied = FileChannelTransfer.copy(source, OFFSET, LENGTH, baos, checksum,
+                ByteBuffer.allocateDirect(FileChannelTransfer.BUFFER_SIZE), new byte[FileChannelTransfer.BUFFER_SIZE]);
+            assertEquals(LENGTH, copied);
+        }
+
+        assertExpectedContent(baos.toByteArray(), checksum);
+    }
+
+    @Test
+    public void testTransferToPastEndOfFile() throws IOException {
+        try (final FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThrows(EOFException.class, () -> FileChannelTransfer.transferTo(source, content.length - 10, 20,
+                Channels.newChannel(new ByteArrayOutputStream()), new CRC32(), ByteBuffer.allocateDirect(FileChannelTransfer.BUFFER_SIZE)));
+        }
+    }
+
+    @Test
+    public void testCopyPastEndOfFile() throws IOException {
+        try (final FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThrows(EOFException.class, () -> FileChannelTransfer.copy(source, content.length - 10, 20, new ByteArrayOutputStream(), null,
+                ByteBuffer.allocateDirect(FileChannelTransfer.BUFFER_SIZE), new byte[FileChannelTransfer.BUFFER_SIZE]));
+        }
+    }
+
+    private void assertExpectedContent(final byte[] actual, final CRC32 checksum) {
+        final byte[] expected = Arrays.copyOfRange(content, OFFSET, OFFSET + LENGTH);
+        assertArrayEquals(expected, actual);
+
+        final CRC32 expectedChecksum = new CRC32();
+        expectedChecksum.update(expected);
+        assertEquals(expectedChecksum.getValue(), checksum.getValue());
+    }
+}
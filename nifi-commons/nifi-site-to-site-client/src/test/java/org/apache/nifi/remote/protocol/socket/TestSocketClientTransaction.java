@@ -30,7 +30,11 @@ import org.apache.nifi.remote.protocol.DataPacket;
 import org.apache.nifi.remote.protocol.RequestType;
 import org.apache.nifi.remote.protocol.Response;
 import org.apache.nifi.remote.protocol.ResponseCode;
+import org.apache.nifi.remote.util.FileChannelDataPacket;
+import org.apache.nifi.remote.util.StandardDataPacket;
+import org.apache.nifi.stream.io.StreamUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +43,21 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.createDataPacket;
 import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.execReceiveOneFlowFile;
@@ -51,6 +70,7 @@ import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.execSendTwoFlo
 import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.execSendWithInvalidChecksum;
 import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.execSendZeroFlowFile;
 import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.readContents;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -331,4 +351,70 @@ public class TestSocketClientTransaction {
         assertEquals(-1, sentByClient.read());
     }
 
+    @Test
+    public void testSendFileChannelDataPacketOverSocket(@TempDir final Path tempDir) throws Exception {
+        final byte[] content = new byte[512 * 1024];
+        new Random(42L).nextBytes(content);
+        final Path file = tempDir.resolve("content");
+        Files.write(file, content);
+        final Map<String, String> attributes = Collections.singletonMap("filename", "content");
+
+        // The server confirms the checksum of everything the codec would have written for the packet
+        final CRC32 expectedChecksum = new CRC32();
+        codec.encode(new StandardDataPacket(attributes, new ByteArrayInputStream(content), content.length),
+            new CheckedOutputStream(new ByteArrayOutputStream(), expectedChecksum));
+
+        ByteArrayOutputStream serverResponseBos = new ByteArrayOutputStream();
+        DataOutputStream serverResponse = new DataOutputStream(serverResponseBos);
+        ResponseCode.CONFIRM_TRANSACTION.writeResponse(serverResponse, String.valueOf(expectedChecksum.getValue()));
+        ResponseCode.TRANSACTION_FINISHED.writeResponse(serverResponse);
+
+        try (final ServerSocketChannel serverSocketChannel = ServerSocketChannel.open().bind(new InetSocketAddress("localhost", 0));
+             final SocketChannel clientChannel = SocketChannel.open(serverSocketChannel.getLocalAddress());
+             final SocketChannel serverChannel = serverSocketChannel.accept();
+             final FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            final CompletableFuture<byte[]> received = CompletableFuture.supplyAsync(() -> {
+                try (final InputStream in = serverChannel.socket().getInputStream()) {
+                    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                    StreamUtils.copy(in, baos);
+                    return baos.toByteArray();
+                } catch (final IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            SocketCommunicationsSession commsSession = mock(SocketCommunicationsSession.class);
+            SocketInput socketIn = mock(SocketInput.class);
+            SocketOutput socketOut = new SocketOutput(clientChannel.socket());
+            when(commsSession.getInput()).thenReturn(socketIn);
+            when(commsSession.getOutput()).thenReturn(socketOut);
+            when(socketIn.getInputStream()).thenReturn(new ByteArrayInputStream(serverResponseBos.toByteArray()));
+
+            Peer peer = new Peer(null, commsSession, "", "");
+            SocketClientTransaction transaction = new SocketClientTransaction(5, "destinationId", peer, codec, TransferDirection.SEND, false, 1000, null);
+
+            transaction.send(new FileChannelDataPacket(attributes, fileChannel, 0, content.length));
+            transaction.confirm();
+            transaction.complete();
+            clientChannel.shutdownOutput();
+
+            final byte[] sent = received.get(30, TimeUnit.SECONDS);
+            assertEquals(sent.length, socketOut.getBytesWritten());
+
+            // Verify what client has sent.
+            DataInputStream sentByClient = new DataInputStream(new ByteArrayInputStream(sent));
+            assertEquals(RequestType.SEND_FLOWFILES, RequestType.readRequestType(sentByClient));
+            DataPacket packetByClient = codec.decode(sentByClient);
+            assertEquals(attributes, packetByClient.getAttributes());
+            final ByteArrayOutputStream contentByClient = new ByteArrayOutputStream();
+            StreamUtils.copy(packetByClient.getData(), contentByClient);
+            assertArrayEquals(content, contentByClient.toByteArray());
+            Response endOfDataResponse = Response.read(sentByClient);
+            assertEquals(ResponseCode.FINISH_TRANSACTION, endOfDataResponse.getCode());
+            Response confirmResponse = Response.read(sentByClient);
+            assertEquals(ResponseCode.CONFIRM_TRANSACTION, confirmResponse.getCode());
+            assertEquals(-1, sentByClient.read());
+        }
+    }
 }
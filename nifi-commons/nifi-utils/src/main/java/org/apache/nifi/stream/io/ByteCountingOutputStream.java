@@ -16,8 +16,12 @@
  */
 package org.apache.nifi.stream.io;
 
+import java.io.EOFException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 public class ByteCountingOutputStream extends OutputStream {
 
@@ -50,6 +54,49 @@ public class ByteCountingOutputStream extends OutputStream {
         bytesWritten += len;
     }
 
+    /**
+     * Writes the given region of the source file to the wrapped stream. If the wrapped stream is a {@link FileOutputStream},
+     * the bytes are moved with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} so that
+     * the operating system can copy them between the files without passing them through the heap.
+     *
+     * @param source the file to read from
+     * @param position the offset into the source file at which to start
+     * @param count the number of bytes to write
+     * @return the number of bytes written
+     * @throws IOException if unable to read from the source or write to the wrapped stream
+     */
+    public long transferFrom(final FileChannel source, final long position, final long count) throws IOException {
+        if (out instanceof FileOutputStream) {
+            final FileChannel target = ((FileOutputStream) out).getChannel();
+            long transferred = 0L;
+            while (transferred < count) {
+                final long bytesTransferred = source.transferTo(position + transferred, count - transferred, target);
+                if (bytesTransferred <= 0 && position + transferred >= source.size()) {
+                    throw new EOFException("Expected to transfer " + count + " bytes starting at offset " + position + " but file ended after " + transferred + " bytes");
+                }
+
+                transferred += bytesTransferred;
+                bytesWritten += bytesTransferred;
+            }
+        } else {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, 8192L));
+            long copied = 0L;
+            while (copied < count) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), count - copied));
+                final int bytesRead = source.read(buffer, position + copied);
+                if (bytesRead < 0) {
+                    throw new EOFException("Expected to transfer " + count + " bytes starting at offset " + position + " but file ended after " + copied + " bytes");
+                }
+
+                write(buffer.array(), 0, bytesRead);
+                copied += bytesRead;
+            }
+        }
+
+        return count;
+    }
+
     public long getBytesWritten() {
         return bytesWritten;
     }
@@ -18,6 +18,7 @@ package org.apache.nifi.stream.io;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
 public class SynchronizedByteCountingOutputStream extends ByteCountingOutputStream {
 
@@ -63,4 +64,9 @@ public class SynchronizedByteCountingOutputStream extends ByteCountingOutputStre
     public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
         super.write(b, off, len);
     }
+
+    @Override
+    public synchronized long transferFrom(final FileChannel source, final long position, final long count) throws IOException {
+        return super.transferFrom(source, position, count);
+    }
 }
@@ -151,7 +151,16 @@ public class ListS3 extends AbstractS3Processor implements VerifiableProcessor {
     public static final PropertyDescriptor TRACKING_STATE_CACHE = new PropertyDescriptor.Builder()
         .fromPropertyDescriptor(ListedEntityTracker.TRACKING_STATE_CACHE)
         .dependsOn(LISTING_STRATEGY, BY_ENTITIES)
-        .required(true)
+        .build();
+
+    public static final PropertyDescriptor TRACKING_STATE_DIRECTORY = new PropertyDescriptor.Builder()
+        .fromPropertyDescriptor(ListedEntityTracker.TRACKING_STATE_DIRECTORY)
+        .dependsOn(LISTING_STRATEGY, BY_ENTITIES)
+        .build();
+
+    public static final PropertyDescriptor TRACKING_STATE_PARTITIONS = new PropertyDescriptor.Builder()
+        .fromPropertyDescriptor(ListedEntityTracker.TRACKING_STATE_PARTITIONS)
+        .dependsOn(LISTING_STRATEGY, BY_ENTITIES)
         .build();
 
     public static final PropertyDescriptor INITIAL_LISTING_TARGET = new PropertyDescriptor.Builder()
@@ -273,6 +282,8 @@ public class ListS3 extends AbstractS3Processor implements VerifiableProcessor {
     public static final List<PropertyDescriptor> properties = Collections.unmodifiableList(Arrays.asList(
         LISTING_STRATEGY,
         TRACKING_STATE_CACHE,
+        TRACKING_STATE_DIRECTORY,
+        TRACKING_STATE_PARTITIONS,
         INITIAL_LISTING_TARGET,
         TRACKING_TIME_WINDOW,
         BUCKET,
@@ -365,6 +376,17 @@ public class ListS3 extends AbstractS3Processor implements VerifiableProcessor {
         return properties;
     }
 
+    @Override
+    protected Collection<ValidationResult> customValidate(final ValidationContext validationContext) {
+        final List<ValidationResult> results = new ArrayList<>(super.customValidate(validationContext));
+
+        if (BY_ENTITIES.getValue().equals(validationContext.getProperty(LISTING_STRATEGY).getValue())) {
+            ListedEntityTracker.validateProperties(validationContext, results, Scope.CLUSTER);
+        }
+
+        return results;
+    }
+
     @Override
     public Set<Relationship> getRelationships() {
         return relationships;
@@ -42,10 +42,12 @@ import org.apache.nifi.util.TestRunner;
 import org.apache.nifi.util.TestRunners;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
@@ -239,6 +241,18 @@ public class TestListS3 {
         runner.assertNotValid();
     }
 
+    @Test
+    public void testTrackingEntitiesRequiresTrackingState(@TempDir final Path trackingStateDirectory) {
+        runner.setProperty(ListS3.REGION, "eu-west-1");
+        runner.setProperty(ListS3.BUCKET, "test-bucket");
+        runner.setProperty(ListS3.LISTING_STRATEGY, ListS3.BY_ENTITIES);
+
+        runner.assertNotValid();
+
+        runner.setProperty(ListS3.TRACKING_STATE_DIRECTORY, trackingStateDirectory.toString());
+        runner.assertValid();
+    }
+
     @Test
     public void testListVersion2() {
         runner.setProperty(ListS3.REGION, "eu-west-1");
@@ -110,6 +110,8 @@ public class ListAzureBlobStorage extends AbstractListAzureProcessor<BlobInfo> {
             PROP_PREFIX,
             AzureStorageUtils.PROXY_CONFIGURATION_SERVICE,
             ListedEntityTracker.TRACKING_STATE_CACHE,
+            ListedEntityTracker.TRACKING_STATE_DIRECTORY,
+            ListedEntityTracker.TRACKING_STATE_PARTITIONS,
             ListedEntityTracker.TRACKING_TIME_WINDOW,
             ListedEntityTracker.INITIAL_LISTING_TARGET,
             MIN_AGE,
@@ -119,6 +119,16 @@ public class ListAzureBlobStorage_v12 extends AbstractListAzureProcessor<BlobInf
             .dependsOn(LISTING_STRATEGY, BY_ENTITIES)
             .build();
 
+    public static final PropertyDescriptor TRACKING_STATE_DIRECTORY = new PropertyDescriptor.Builder()
+            .fromPropertyDescriptor(ListedEntityTracker.TRACKING_STATE_DIRECTORY)
+            .dependsOn(LISTING_STRATEGY, BY_ENTITIES)
+            .build();
+
+    public static final PropertyDescriptor TRACKING_STATE_PARTITIONS = new PropertyDescriptor.Builder()
+            .fromPropertyDescriptor(ListedEntityTracker.TRACKING_STATE_PARTITIONS)
+            .dependsOn(LISTING_STRATEGY, BY_ENTITIES)
+            .build();
+
     public static final PropertyDescriptor TRACKING_TIME_WINDOW = new PropertyDescriptor.Builder()
             .fromPropertyDescriptor(ListedEntityTracker.TRACKING_TIME_WINDOW)
             .dependsOn(LISTING_STRATEGY, BY_ENTITIES)
@@ -136,6 +146,8 @@ public class ListAzureBlobStorage_v12 extends AbstractListAzureProcessor<BlobInf
             RECORD_WRITER,
             LISTING_STRATEGY,
             TRACKING_STATE_CACHE,
+            TRACKING_STATE_DIRECTORY,
+            TRACKING_STATE_PARTITIONS,
             TRACKING_TIME_WINDOW,
             INITIAL_LISTING_TARGET,
             MIN_AGE,
@@ -59,6 +59,8 @@ import java.util.stream.Collectors;
 
 import static org.apache.nifi.processor.util.list.ListedEntityTracker.INITIAL_LISTING_TARGET;
 import static org.apache.nifi.processor.util.list.ListedEntityTracker.TRACKING_STATE_CACHE;
+import static org.apache.nifi.processor.util.list.ListedEntityTracker.TRACKING_STATE_DIRECTORY;
+import static org.apache.nifi.processor.util.list.ListedEntityTracker.TRACKING_STATE_PARTITIONS;
 import static org.apache.nifi.processor.util.list.ListedEntityTracker.TRACKING_TIME_WINDOW;
 import static org.apache.nifi.processors.azure.AbstractAzureDataLakeStorageProcessor.ADLS_CREDENTIALS_SERVICE;
 import static org.apache.nifi.processors.azure.AbstractAzureDataLakeStorageProcessor.DIRECTORY;
@@ -139,6 +141,8 @@ public class ListAzureDataLakeStorage extends AbstractListAzureProcessor<ADLSFil
             RECORD_WRITER,
             LISTING_STRATEGY,
             TRACKING_STATE_CACHE,
+            TRACKING_STATE_DIRECTORY,
+            TRACKING_STATE_PARTITIONS,
             TRACKING_TIME_WINDOW,
             INITIAL_LISTING_TARGET,
             MIN_AGE,
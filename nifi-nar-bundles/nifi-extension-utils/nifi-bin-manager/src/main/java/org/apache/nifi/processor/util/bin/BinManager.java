@@ -24,6 +24,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,14 +35,21 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This class is thread safe
- *
+ * <p/>
+ * Bins are partitioned into stripes by group identifier, each guarded by its own lock, so that FlowFiles for different groups can be
+ * binned concurrently. Rather than examining every bin each time that ready bins are requested, each stripe keeps track of the bins
+ * that have been offered FlowFiles since they were last examined, and uses a {@link TimingWheel} to find the bins that have exceeded
+ * the Max Bin Age.
  */
 public class BinManager {
 
+    private static final int STRIPE_COUNT = 16;
+    private static final long EXPIRATION_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+
     private final AtomicLong minSizeBytes = new AtomicLong(0L);
     private final AtomicLong maxSizeBytes = new AtomicLong(Long.MAX_VALUE);
     private final AtomicInteger minEntries = new AtomicInteger(0);
@@ -47,28 +57,27 @@ public class BinManager {
     private final AtomicReference<String> fileCountAttribute = new AtomicReference<>(null);
 
     private final AtomicInteger maxBinAgeSeconds = new AtomicInteger(Integer.MAX_VALUE);
-    private final Map<String, List<Bin>> groupBinMap = new HashMap<>();
-    private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
-    private final Lock rLock = rwLock.readLock();
-    private final Lock wLock = rwLock.writeLock();
-
-    private int binCount = 0;   // guarded by read/write lock
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private final AtomicInteger binCount = new AtomicInteger(0);
 
     public BinManager() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
     }
 
     public void purge() {
-        wLock.lock();
-        try {
-            for (final List<Bin> binList : groupBinMap.values()) {
-                for (final Bin bin : binList) {
+        for (final Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                for (final Bin bin : stripe.bins.keySet()) {
                     bin.getSession().rollback();
                 }
+                binCount.addAndGet(-stripe.bins.size());
+                stripe.clear();
+            } finally {
+                stripe.lock.unlock();
             }
-            groupBinMap.clear();
-            binCount = 0;
-        } finally {
-            wLock.unlock();
         }
     }
 
@@ -89,12 +98,7 @@ public class BinManager {
     }
 
     public int getBinCount() {
-        rLock.lock();
-        try {
-            return binCount;
-        } finally {
-            rLock.unlock();
-        }
+        return binCount.get();
     }
 
     public void setMinimumSize(final long numBytes) {
@@ -106,7 +110,22 @@ public class BinManager {
     }
 
     public void setMaxBinAge(final int seconds) {
-        maxBinAgeSeconds.set(seconds);
+        if (maxBinAgeSeconds.getAndSet(seconds) == seconds) {
+            return;
+        }
+
+        // Any bins that already exist must be rescheduled according to the new age
+        for (final Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.expirations.clear();
+                for (final Bin bin : stripe.bins.keySet()) {
+                    scheduleExpiration(stripe, bin, seconds);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
     }
 
     /**
@@ -125,34 +144,13 @@ public class BinManager {
         if (flowFile.getSize() > currentMaxSizeBytes) { //won't fit into any new bins (and probably none existing)
             return false;
         }
-        wLock.lock();
-        try {
-            final List<Bin> currentBins = groupBinMap.get(groupIdentifier);
-            if (currentBins == null) { // this is a new group we need to register
-                final List<Bin> bins = new ArrayList<>();
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                bins.add(bin);
-                groupBinMap.put(groupIdentifier, bins);
-                binCount++;
-                return bin.offer(flowFile, session);
-            } else {
-                for (final Bin bin : currentBins) {
-                    final boolean accepted = bin.offer(flowFile, session);
-                    if (accepted) {
-                        return true;
-                    }
-                }
 
-                //if we've reached this point then we couldn't fit it into any existing bins - gotta make a new one
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                currentBins.add(bin);
-                binCount++;
-                return bin.offer(flowFile, session);
-            }
+        final Stripe stripe = getStripe(groupIdentifier);
+        stripe.lock.lock();
+        try {
+            return offer(stripe, groupIdentifier, flowFile, session, sessionFactory, currentMaxSizeBytes);
         } finally {
-            wLock.unlock();
+            stripe.lock.unlock();
         }
     }
 
@@ -171,41 +169,52 @@ public class BinManager {
         final long currentMaxSizeBytes = maxSizeBytes.get();
         final Set<FlowFile> unbinned = new HashSet<>();
 
-        wLock.lock();
+        final Stripe stripe = getStripe(groupIdentifier);
+        stripe.lock.lock();
         try {
-            flowFileLoop: for (final FlowFile flowFile : flowFiles) {
+            for (final FlowFile flowFile : flowFiles) {
                 if (flowFile.getSize() > currentMaxSizeBytes) { //won't fit into any new bins (and probably none existing)
                     unbinned.add(flowFile);
                     continue;
                 }
 
-                final List<Bin> currentBins = groupBinMap.computeIfAbsent(groupIdentifier, k -> new ArrayList<>());
-                for (final Bin bin : currentBins) {
-                    final boolean accepted = bin.offer(flowFile, session);
-                    if (accepted) {
-                        continue flowFileLoop;
-                    }
-                }
-
-                // if we've reached this point then the groupIdentifier was a brand new one,
-                // or we couldn't fit it into any existing bins - gotta make a new one
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                currentBins.add(bin);
-                binCount++;
-                final boolean added = bin.offer(flowFile, session);
+                final boolean added = offer(stripe, groupIdentifier, flowFile, session, sessionFactory, currentMaxSizeBytes);
                 if (!added) {
                     unbinned.add(flowFile);
                 }
-
             }
         } finally {
-            wLock.unlock();
+            stripe.lock.unlock();
         }
 
         return unbinned;
     }
 
+    // must be called while holding the stripe's lock
+    private boolean offer(final Stripe stripe, final String groupIdentifier, final FlowFile flowFile, final ProcessSession session,
+                          final ProcessSessionFactory sessionFactory, final long currentMaxSizeBytes) {
+        final List<Bin> currentBins = stripe.groupBinMap.computeIfAbsent(groupIdentifier, k -> new ArrayList<>());
+        for (final Bin bin : currentBins) {
+            // even a rejected offer counts towards the bin being full, so the bin must be examined again either way
+            stripe.modifiedBins.add(bin);
+            final boolean accepted = bin.offer(flowFile, session);
+            if (accepted) {
+                return true;
+            }
+        }
+
+        // if we've reached this point then the groupIdentifier was a brand new one,
+        // or we couldn't fit it into any existing bins - gotta make a new one
+        final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
+            maxEntries.get(), fileCountAttribute.get());
+        currentBins.add(bin);
+        stripe.bins.put(bin, groupIdentifier);
+        stripe.modifiedBins.add(bin);
+        scheduleExpiration(stripe, bin, maxBinAgeSeconds.get());
+        binCount.incrementAndGet();
+        return bin.offer(flowFile, session);
+    }
+
     /**
      * Finds all bins that are considered full and removes them from the manager.
      * <p/>
@@ -214,52 +223,62 @@ public class BinManager {
      * @return bins that are considered full
      */
     public Collection<Bin> removeReadyBins(boolean relaxFullnessConstraint) {
-        final Map<String, List<Bin>> newGroupMap = new HashMap<>();
         final List<Bin> readyBins = new ArrayList<>();
 
-        wLock.lock();
-        try {
-            for (final Map.Entry<String, List<Bin>> group : groupBinMap.entrySet()) {
-                final List<Bin> remainingBins = new ArrayList<>();
-                for (final Bin bin : group.getValue()) {
+        for (final Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                // Bins that have not been offered anything since they were last examined can only have become ready by growing old,
+                // so only the modified bins and those that the timing wheel reports as expired need to be examined
+                final Set<Bin> expiredBins = relaxFullnessConstraint ? new HashSet<>(stripe.expirations.advance(System.nanoTime())) : new HashSet<>();
+                final Set<Bin> candidates = new LinkedHashSet<>(stripe.modifiedBins);
+                candidates.addAll(expiredBins);
+
+                for (final Bin bin : candidates) {
                     if (relaxFullnessConstraint && bin.isFullEnough()) {
                         bin.setEvictionReason(bin.determineFullness());
-                        readyBins.add(bin);
                     } else if (!relaxFullnessConstraint && bin.isFull()) { //strict check
                         bin.setEvictionReason(bin.determineFullness());
-                        readyBins.add(bin);
-                    } else if (relaxFullnessConstraint && bin.isOlderThan(maxBinAgeSeconds.get(), TimeUnit.SECONDS)) {
+                    } else if (expiredBins.contains(bin)) {
                         bin.setEvictionReason(EvictionReason.TIMEOUT);
-                        readyBins.add(bin);
                     } else { //it isn't time yet...
-                        remainingBins.add(bin);
+                        // a bin that is full enough must be examined again when the fullness constraint is relaxed
+                        if (!bin.isFullEnough()) {
+                            stripe.modifiedBins.remove(bin);
+                        }
+                        continue;
                     }
+
+                    removeBin(stripe, bin);
+                    readyBins.add(bin);
                 }
-                if (!remainingBins.isEmpty()) {
-                    newGroupMap.put(group.getKey(), remainingBins);
-                }
+            } finally {
+                stripe.lock.unlock();
             }
-            groupBinMap.clear();
-            groupBinMap.putAll(newGroupMap);
-            binCount -= readyBins.size();
-        } finally {
-            wLock.unlock();
         }
+
         return readyBins;
     }
 
     public Bin removeOldestBin() {
-        wLock.lock();
-        try {
+        while (true) {
             Bin oldestBin = null;
-            String oldestBinGroup = null;
-
-            for (final Map.Entry<String, List<Bin>> group : groupBinMap.entrySet()) {
-                for (final Bin bin : group.getValue()) {
-                    if (oldestBin == null || bin.isOlderThan(oldestBin)) {
-                        oldestBin = bin;
-                        oldestBinGroup = group.getKey();
+            Stripe oldestBinStripe = null;
+
+            // The bins of each stripe are ordered by creation, so only the first bin of each stripe needs to be considered
+            for (final Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    final Iterator<Bin> itr = stripe.bins.keySet().iterator();
+                    if (itr.hasNext()) {
+                        final Bin bin = itr.next();
+                        if (oldestBin == null || bin.isOlderThan(oldestBin)) {
+                            oldestBin = bin;
+                            oldestBinStripe = stripe;
+                        }
                     }
+                } finally {
+                    stripe.lock.unlock();
                 }
             }
 
@@ -267,15 +286,16 @@ public class BinManager {
                 return null;
             }
 
-            binCount--;
-            final List<Bin> bins = groupBinMap.get(oldestBinGroup);
-            bins.remove(oldestBin);
-            if (bins.isEmpty()) {
-                groupBinMap.remove(oldestBinGroup);
+            oldestBinStripe.lock.lock();
+            try {
+                // another thread may have removed the bin since the stripe was examined, in which case look again
+                if (oldestBinStripe.bins.containsKey(oldestBin)) {
+                    removeBin(oldestBinStripe, oldestBin);
+                    return oldestBin;
+                }
+            } finally {
+                oldestBinStripe.lock.unlock();
             }
-            return oldestBin;
-        } finally {
-            wLock.unlock();
         }
     }
 
@@ -283,19 +303,73 @@ public class BinManager {
      * @return true if any current bins are older than the allowable max
      */
     public boolean containsOldBins() {
-        rLock.lock();
-        try {
-            for (final List<Bin> bins : groupBinMap.values()) {
-                for (final Bin bin : bins) {
-                    if (bin.isOlderThan(maxBinAgeSeconds.get(), TimeUnit.SECONDS)) {
-                        return true;
-                    }
+        final int maxAge = maxBinAgeSeconds.get();
+        for (final Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                final Iterator<Bin> itr = stripe.bins.keySet().iterator();
+                if (itr.hasNext() && itr.next().isOlderThan(maxAge, TimeUnit.SECONDS)) {
+                    return true;
                 }
+            } finally {
+                stripe.lock.unlock();
             }
-        } finally {
-            rLock.unlock();
         }
         return false;
     }
 
+    private Stripe getStripe(final String groupIdentifier) {
+        if (groupIdentifier == null) {
+            return stripes[0];
+        }
+
+        final int hash = groupIdentifier.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    // must be called while holding the stripe's lock
+    private void scheduleExpiration(final Stripe stripe, final Bin bin, final int maxAgeSeconds) {
+        if (maxAgeSeconds == Integer.MAX_VALUE) {
+            return;
+        }
+
+        final long now = System.nanoTime();
+        final long createdNanos = now - TimeUnit.MILLISECONDS.toNanos(bin.getBinAge());
+        stripe.expirations.schedule(bin, createdNanos + TimeUnit.SECONDS.toNanos(maxAgeSeconds));
+    }
+
+    // must be called while holding the stripe's lock
+    private void removeBin(final Stripe stripe, final Bin bin) {
+        final String groupIdentifier = stripe.bins.remove(bin);
+        final List<Bin> groupBins = stripe.groupBinMap.get(groupIdentifier);
+        if (groupBins != null) {
+            groupBins.remove(bin);
+            if (groupBins.isEmpty()) {
+                stripe.groupBinMap.remove(groupIdentifier);
+            }
+        }
+
+        stripe.modifiedBins.remove(bin);
+        stripe.expirations.cancel(bin);
+        binCount.decrementAndGet();
+    }
+
+    private static class Stripe {
+        private final Lock lock = new ReentrantLock();
+        private final Map<String, List<Bin>> groupBinMap = new HashMap<>();
+
+        // all bins in the stripe, in the order in which they were created, mapped to their group identifier
+        private final Map<Bin, String> bins = new LinkedHashMap<>();
+
+        // bins that were offered FlowFiles since they were last examined, or that are full enough but not yet removed
+        private final Set<Bin> modifiedBins = new LinkedHashSet<>();
+        private final TimingWheel<Bin> expirations = new TimingWheel<>(EXPIRATION_TICK_NANOS, System.nanoTime());
+
+        private void clear() {
+            groupBinMap.clear();
+            bins.clear();
+            modifiedBins.clear();
+            expirations.clear();
+        }
+    }
 }
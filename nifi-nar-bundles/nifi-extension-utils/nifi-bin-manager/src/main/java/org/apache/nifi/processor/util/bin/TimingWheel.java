@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processor.util.bin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * A hierarchical timing wheel that keeps track of when each of a set of items expires. Scheduling and cancelling an item are
+ * constant time operations, and advancing the wheel costs time proportional to the number of ticks that have elapsed and the
+ * number of items that expire, rather than to the number of items that are scheduled.
+ * </p>
+ *
+ * <p>
+ * Each level of the wheel has 64 slots. An item is placed in the lowest level whose slot range covers its deadline, and it is
+ * moved down to a finer level as the wheel turns, until it reaches the lowest level and expires. Deadlines are rounded up to
+ * the next tick, so an item is never reported as expired before its deadline, but may be reported up to one tick later.
+ * </p>
+ *
+ * <p>
+ * Note: {@code TimingWheel} objects are NOT thread safe. If multiple threads access a {@code TimingWheel}, the caller must
+ * synchronize access.
+ * </p>
+ *
+ * @param <T> the type of item that is scheduled. Items are tracked by their equals and hashCode methods.
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVELS = 7;
+    private static final int OVERDUE = -1;
+
+    private final long tickNanos;
+    private final long originNanos;
+    private final Set<T>[][] slots;
+    // for each level, a bit is set for each slot that contains at least one item
+    private final long[] occupiedSlots = new long[LEVELS];
+    private final Set<T> overdue = new LinkedHashSet<>();
+    private final Map<T, Scheduled> scheduled = new HashMap<>();
+
+    private long currentTick = 0L;
+
+    /**
+     * @param tickNanos the resolution of the wheel, in nanoseconds
+     * @param originNanos the time, as given by {@link System#nanoTime()}, at which the wheel starts turning
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(final long tickNanos, final long originNanos) {
+        if (tickNanos < 1) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+
+        this.tickNanos = tickNanos;
+        this.originNanos = originNanos;
+        this.slots = new Set[LEVELS][SLOT_COUNT];
+        for (final Set<T>[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new LinkedHashSet<>();
+            }
+        }
+    }
+
+    /**
+     * Schedules the given item to expire at the given time, replacing any deadline that was previously scheduled for it.
+     *
+     * @param item the item to schedule
+     * @param deadlineNanos the time, as given by {@link System#nanoTime()}, at which the item expires
+     */
+    public void schedule(final T item, final long deadlineNanos) {
+        cancel(item);
+
+        final long elapsed = deadlineNanos - originNanos;
+        final long deadlineTick = elapsed <= 0 ? 0L : elapsed / tickNanos + (elapsed % tickNanos == 0 ? 0L : 1L);
+        place(item, new Scheduled(deadlineTick));
+    }
+
+    /**
+     * Removes the given item from the wheel, if it is scheduled
+     *
+     * @param item the item to remove
+     * @return <code>true</code> if the item was scheduled, <code>false</code> otherwise
+     */
+    public boolean cancel(final T item) {
+        final Scheduled removed = scheduled.remove(item);
+        if (removed == null) {
+            return false;
+        }
+
+        if (removed.level == OVERDUE) {
+            overdue.remove(item);
+        } else {
+            final Set<T> slot = slots[removed.level][removed.index];
+            slot.remove(item);
+            if (slot.isEmpty()) {
+                occupiedSlots[removed.level] &= ~(1L << removed.index);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Turns the wheel forward to the given time and removes all items whose deadline has passed.
+     *
+     * @param nowNanos the current time, as given by {@link System#nanoTime()}
+     * @return the items that have expired, in no particular order
+     */
+    public List<T> advance(final long nowNanos) {
+        final List<T> expired = new ArrayList<>(overdue);
+        for (final T item : overdue) {
+            scheduled.remove(item);
+        }
+        overdue.clear();
+
+        final long targetTick = Math.floorDiv(nowNanos - originNanos, tickNanos);
+        while (currentTick < targetTick) {
+            // Ticks at which no slot comes around are skipped, so the cost does not depend on how much time has passed
+            final long nextTick = scheduled.isEmpty() ? Long.MAX_VALUE : nextOccupiedTick();
+            if (nextTick > targetTick) {
+                currentTick = targetTick;
+                break;
+            }
+
+            currentTick = nextTick;
+
+            // Move items down from any coarser level whose slot has just come around, starting with the coarsest
+            // so that items can cascade through several levels within the same tick
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (level * SLOT_BITS)) - 1)) == 0) {
+                    cascade(level, slotIndex(currentTick, level), expired);
+                }
+            }
+
+            final int index = slotIndex(currentTick, 0);
+            final Set<T> slot = slots[0][index];
+            for (final T item : slot) {
+                scheduled.remove(item);
+                expired.add(item);
+            }
+            slot.clear();
+            occupiedSlots[0] &= ~(1L << index);
+        }
+
+        return expired;
+    }
+
+    /**
+     * @return the number of items that are currently scheduled
+     */
+    public int size() {
+        return scheduled.size();
+    }
+
+    /**
+     * Removes all items from the wheel
+     */
+    public void clear() {
+        for (final Set<T>[] level : slots) {
+            for (final Set<T> slot : level) {
+                slot.clear();
+            }
+        }
+        Arrays.fill(occupiedSlots, 0L);
+        overdue.clear();
+        scheduled.clear();
+    }
+
+    /**
+     * @return the first tick after the current tick at which an occupied slot of any level comes around
+     */
+    private long nextOccupiedTick() {
+        long nextTick = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            final int shift = level * SLOT_BITS;
+            final int currentIndex = slotIndex(currentTick, level);
+            final long blockStart = (currentTick >>> (shift + SLOT_BITS)) << (shift + SLOT_BITS);
+
+            final long laterSlots = currentIndex == SLOT_MASK ? 0L : occupiedSlots[level] & (-1L << (currentIndex + 1));
+            if (laterSlots != 0L) {
+                nextTick = Math.min(nextTick, blockStart + ((long) Long.numberOfTrailingZeros(laterSlots) << shift));
+            } else if (level == LEVELS - 1 && occupiedSlots[level] != 0L) {
+                // items beyond the range of the wheel wait for the coarsest level to come around again
+                final long nextBlockStart = blockStart + (1L << (shift + SLOT_BITS));
+                nextTick = Math.min(nextTick, nextBlockStart + ((long) Long.numberOfTrailingZeros(occupiedSlots[level]) << shift));
+            }
+        }
+        return nextTick;
+    }
+
+    private void cascade(final int level, final int index, final List<T> expired) {
+        final Set<T> slot = slots[level][index];
+        if (slot.isEmpty()) {
+            return;
+        }
+
+        // Replace the slot before re-placing its items, as items whose deadline lies beyond the range of the wheel may land in it again
+        slots[level][index] = new LinkedHashSet<>();
+        occupiedSlots[level] &= ~(1L << index);
+        for (final T item : slot) {
+            final Scheduled entry = scheduled.get(item);
+            if (entry.deadlineTick <= currentTick) {
+                scheduled.remove(item);
+                expired.add(item);
+            } else {
+                place(item, entry);
+            }
+        }
+    }
+
+    private void place(final T item, final Scheduled entry) {
+        if (entry.deadlineTick <= currentTick) {
+            entry.level = OVERDUE;
+            overdue.add(item);
+        } else {
+            // The level is determined by the most significant digit in which the deadline differs from the current tick
+            final long difference = entry.deadlineTick ^ currentTick;
+            entry.level = Math.min(LEVELS - 1, (Long.SIZE - 1 - Long.numberOfLeadingZeros(difference)) / SLOT_BITS);
+            entry.index = slotIndex(entry.deadlineTick, entry.level);
+            slots[entry.level][entry.index].add(item);
+            occupiedSlots[entry.level] |= 1L << entry.index;
+        }
+
+        scheduled.put(item, entry);
+    }
+
+    private static int slotIndex(final long tick, final int level) {
+        return (int) ((tick >>> (level * SLOT_BITS)) & SLOT_MASK);
+    }
+
+    private static class Scheduled {
+        private final long deadlineTick;
+        private int level;
+        private int index;
+
+        private Scheduled(final long deadlineTick) {
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processor.util.bin;
+
+import org.apache.nifi.flowfile.FlowFile;
+import org.apache.nifi.processor.ProcessSession;
+import org.apache.nifi.processor.ProcessSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestBinManager {
+
+    private ProcessSession session;
+    private ProcessSessionFactory sessionFactory;
+    private BinManager binManager;
+
+    @BeforeEach
+    public void setup() {
+        session = mock(ProcessSession.class);
+        sessionFactory = mock(ProcessSessionFactory.class);
+        when(sessionFactory.createSession()).thenReturn(mock(ProcessSession.class));
+
+        binManager = new BinManager();
+        binManager.setMinimumEntries(2);
+        binManager.setMaximumEntries(2);
+    }
+
+    @Test
+    public void testFullBinsRemovedAcrossGroups() {
+        for (int i = 0; i < 100; i++) {
+            final List<FlowFile> flowFiles = new ArrayList<>();
+            flowFiles.add(createFlowFile());
+            flowFiles.add(createFlowFile());
+            assertTrue(binManager.offer("group-" + i, flowFiles, session, sessionFactory).isEmpty());
+        }
+        assertTrue(binManager.offer("partial", createFlowFile(), session, sessionFactory));
+        assertEquals(101, binManager.getBinCount());
+
+        final Collection<Bin> readyBins = binManager.removeReadyBins(false);
+        assertEquals(100, readyBins.size());
+        for (final Bin bin : readyBins) {
+            assertEquals(2, bin.getContents().size());
+            assertEquals(EvictionReason.MAX_ENTRIES_THRESHOLD_REACHED, bin.getEvictionReason());
+        }
+        assertEquals(1, binManager.getBinCount());
+
+        assertTrue(binManager.removeReadyBins(false).isEmpty());
+        assertTrue(binManager.removeReadyBins(true).isEmpty());
+
+        assertTrue(binManager.offer("partial", createFlowFile(), session, sessionFactory));
+        assertEquals(1, binManager.removeReadyBins(false).size());
+        assertEquals(0, binManager.getBinCount());
+    }
+
+    @Test
+    public void testFullEnoughBinRemovedWhenRelaxed() {
+        binManager.setMinimumEntries(1);
+        binManager.setMaximumEntries(10);
+
+        assertTrue(binManager.offer("group", createFlowFile(), session, sessionFactory));
+        assertTrue(binManager.removeReadyBins(false).isEmpty());
+
+        final Collection<Bin> readyBins = binManager.removeReadyBins(true);
+        assertEquals(1, readyBins.size());
+        assertEquals(EvictionReason.MIN_THRESHOLDS_REACHED, readyBins.iterator().next().getEvictionReason());
+        assertEquals(0, binManager.getBinCount());
+    }
+
+    @Test
+    public void testBinRemovedAfterMaxBinAge() throws InterruptedException {
+        binManager.setMaxBinAge(1);
+        assertTrue(binManager.offer("group", createFlowFile(), session, sessionFactory));
+        assertTrue(binManager.removeReadyBins(true).isEmpty());
+        assertFalse(binManager.containsOldBins());
+
+        Thread.sleep(1200L);
+        assertTrue(binManager.containsOldBins());
+        assertTrue(binManager.removeReadyBins(false).isEmpty());
+
+        final Collection<Bin> readyBins = binManager.removeReadyBins(true);
+        assertEquals(1, readyBins.size());
+        assertEquals(EvictionReason.TIMEOUT, readyBins.iterator().next().getEvictionReason());
+        assertFalse(binManager.containsOldBins());
+        assertEquals(0, binManager.getBinCount());
+    }
+
+    @Test
+    public void testRemoveOldestBin() {
+        final List<FlowFile> flowFiles = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final FlowFile flowFile = createFlowFile();
+            flowFiles.add(flowFile);
+            assertTrue(binManager.offer("group-" + i, flowFile, session, sessionFactory));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            final Bin bin = binManager.removeOldestBin();
+            assertSame(flowFiles.get(i), bin.getContents().get(0));
+            assertEquals(19 - i, binManager.getBinCount());
+        }
+        assertNull(binManager.removeOldestBin());
+    }
+
+    @Test
+    public void testPurge() {
+        binManager.setMaxBinAge(1);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(binManager.offer("group-" + i, createFlowFile(), session, sessionFactory));
+        }
+
+        binManager.purge();
+        assertEquals(0, binManager.getBinCount());
+        assertTrue(binManager.removeReadyBins(true).isEmpty());
+        assertNull(binManager.removeOldestBin());
+    }
+
+    private FlowFile createFlowFile() {
+        final FlowFile flowFile = mock(FlowFile.class);
+        when(flowFile.getSize()).thenReturn(10L);
+        return flowFile;
+    }
+}
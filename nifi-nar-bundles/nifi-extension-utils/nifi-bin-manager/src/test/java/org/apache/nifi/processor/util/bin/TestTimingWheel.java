@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processor.util.bin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestTimingWheel {
+
+    private static final long TICK = 10L;
+
+    @Test
+    public void testExpiresAtDeadline() {
+        final TimingWheel<String> wheel = new TimingWheel<>(TICK, 0L);
+        wheel.schedule("a", 25L);
+        wheel.schedule("b", 31L);
+        assertEquals(2, wheel.size());
+
+        // deadlines are rounded up to the next tick
+        assertTrue(wheel.advance(29L).isEmpty());
+        assertEquals(Collections.singletonList("a"), wheel.advance(30L));
+        assertTrue(wheel.advance(39L).isEmpty());
+        assertEquals(Collections.singletonList("b"), wheel.advance(40L));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testOverdueItemExpiresOnNextAdvance() {
+        final TimingWheel<String> wheel = new TimingWheel<>(TICK, 1_000L);
+        wheel.advance(5_000L);
+        wheel.schedule("a", 2_000L);
+        assertEquals(Collections.singletonList("a"), wheel.advance(5_000L));
+    }
+
+    @Test
+    public void testCancelAndReschedule() {
+        final TimingWheel<String> wheel = new TimingWheel<>(TICK, 0L);
+        wheel.schedule("a", 100L);
+        wheel.schedule("b", 100L);
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+
+        wheel.schedule("b", 1_000_000L);
+        assertTrue(wheel.advance(500_000L).isEmpty());
+        assertEquals(Collections.singletonList("b"), wheel.advance(1_000_000L));
+    }
+
+    @Test
+    public void testCascadesAcrossLevels() {
+        final TimingWheel<Integer> wheel = new TimingWheel<>(1L, 0L);
+        final Random random = new Random(7L);
+        final Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            // spread the deadlines over several levels of the wheel
+            final long deadline = (long) Math.pow(2, random.nextDouble() * 26);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        long now = 0L;
+        final List<Integer> expired = new ArrayList<>();
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(5_000);
+            for (final Integer item : wheel.advance(now)) {
+                assertTrue(deadlines.get(item) <= now);
+                expired.add(item);
+            }
+            for (final Map.Entry<Integer, Long> entry : deadlines.entrySet()) {
+                if (entry.getValue() <= now) {
+                    assertFalse(wheel.cancel(entry.getKey()), "Item " + entry.getKey() + " should have expired by " + now);
+                }
+            }
+        }
+        assertEquals(deadlines.size(), expired.size());
+    }
+
+    @Test
+    public void testDistantDeadline() {
+        final TimingWheel<String> wheel = new TimingWheel<>(TICK, 0L);
+        final long distant = Long.MAX_VALUE / 2;
+        wheel.schedule("a", distant);
+        assertTrue(wheel.advance(distant - TICK).isEmpty());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void testClear() {
+        final TimingWheel<String> wheel = new TimingWheel<>(TICK, 0L);
+        wheel.schedule("a", 100L);
+        wheel.schedule("b", 1L);
+        wheel.clear();
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(1_000L).isEmpty());
+    }
+}
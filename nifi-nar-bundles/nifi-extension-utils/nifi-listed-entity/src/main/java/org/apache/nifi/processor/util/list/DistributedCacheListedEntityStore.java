@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processor.util.list;
+
+import org.apache.nifi.distributed.cache.client.Deserializer;
+import org.apache.nifi.distributed.cache.client.DistributedMapCacheClient;
+import org.apache.nifi.distributed.cache.client.Serializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stores listed entities in a {@link DistributedMapCacheClient}.
+ */
+class DistributedCacheListedEntityStore implements ListedEntityStore {
+
+    private static final Serializer<String> STRING_SERIALIZER = (v, o) -> o.write(v.getBytes(StandardCharsets.UTF_8));
+    private static final Serializer<byte[]> BYTES_SERIALIZER = (v, o) -> o.write(v);
+    private static final Deserializer<byte[]> BYTES_DESERIALIZER = v -> v == null || v.length == 0 ? null : v;
+
+    private final DistributedMapCacheClient mapCacheClient;
+
+    DistributedCacheListedEntityStore(final DistributedMapCacheClient mapCacheClient) {
+        this.mapCacheClient = mapCacheClient;
+    }
+
+    @Override
+    public byte[] get(final String key) throws IOException {
+        return mapCacheClient.get(key, STRING_SERIALIZER, BYTES_DESERIALIZER);
+    }
+
+    @Override
+    public void put(final String key, final byte[] value) throws IOException {
+        mapCacheClient.put(key, value, STRING_SERIALIZER, BYTES_SERIALIZER);
+    }
+
+    @Override
+    public void remove(final String key) throws IOException {
+        mapCacheClient.remove(key, STRING_SERIALIZER);
+    }
+
+    boolean isBackedBy(final DistributedMapCacheClient mapCacheClient) {
+        return this.mapCacheClient == mapCacheClient;
+    }
+
+    @Override
+    public String toString() {
+        return "DistributedMapCache[" + mapCacheClient + "]";
+    }
+}
@@ -23,9 +23,7 @@ import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.ValidationContext;
 import org.apache.nifi.components.ValidationResult;
 import org.apache.nifi.components.state.Scope;
-import org.apache.nifi.distributed.cache.client.Deserializer;
 import org.apache.nifi.distributed.cache.client.DistributedMapCacheClient;
-import org.apache.nifi.distributed.cache.client.Serializer;
 import org.apache.nifi.expression.ExpressionLanguageScope;
 import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.logging.ComponentLog;
@@ -42,14 +40,19 @@ import org.apache.nifi.stream.io.GZIPOutputStream;
 import org.apache.nifi.util.StringUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -66,9 +69,12 @@ public class ListedEntityTracker<T extends ListableEntity> {
     protected volatile Map<String, ListedEntity> alreadyListedEntities;
 
     private static final String NOTE = "Used by 'Tracking Entities' strategy.";
+    private static final String TRACKING_STATE_CACHE_NAME = "Entity Tracking State Cache";
+    private static final String TRACKING_STATE_DIRECTORY_NAME = "Entity Tracking State Directory";
+    private static final String TRACKING_STATE_PARTITIONS_NAME = "Entity Tracking State Partitions";
     public static final PropertyDescriptor TRACKING_STATE_CACHE = new PropertyDescriptor.Builder()
             .name("et-state-cache")
-            .displayName("Entity Tracking State Cache")
+            .displayName(TRACKING_STATE_CACHE_NAME)
             .description(format("Listed entities are stored in the specified cache storage" +
                     " so that this processor can resume listing across NiFi restart or in case of primary node change." +
                     " 'Tracking Entities' strategy require tracking information of all listed entities within the last 'Tracking Time Window'." +
@@ -78,11 +84,41 @@ public class ListedEntityTracker<T extends ListableEntity> {
                     " E.g. cluster wide cache key = 'ListedEntities::8dda2321-0164-1000-50fa-3042fe7d6a7b'," +
                     " per node cache key = 'ListedEntities::8dda2321-0164-1000-50fa-3042fe7d6a7b::nifi-node3'" +
                     " The stored cache content is Gzipped JSON string." +
+                    " If '%s' is greater than 1, one cache key is stored per partition with '::{partition}/{partitions}' appended." +
                     " The cache key will be deleted when target listing configuration is changed." +
-                    " %s", NOTE))
+                    " Not required if '%s' is set." +
+                    " %s", TRACKING_STATE_PARTITIONS_NAME, TRACKING_STATE_DIRECTORY_NAME, NOTE))
             .identifiesControllerService(DistributedMapCacheClient.class)
             .build();
 
+    public static final PropertyDescriptor TRACKING_STATE_DIRECTORY = new PropertyDescriptor.Builder()
+            .name("et-state-directory")
+            .displayName(TRACKING_STATE_DIRECTORY_NAME)
+            .description(format("A local directory to store listed entities in, instead of '%s'." +
+                    " Each cache key is stored as a Gzipped JSON file in this directory, named after the key." +
+                    " The directory is created if it does not exist." +
+                    " Since the directory is only accessible from the local node, listed entities tracked with cluster scope are not carried over" +
+                    " when the primary node changes, unless the directory is on storage shared by all nodes." +
+                    " %s", TRACKING_STATE_CACHE_NAME, NOTE))
+            .addValidator(StandardValidators.createDirectoryExistsValidator(true, true))
+            .expressionLanguageSupported(ExpressionLanguageScope.VARIABLE_REGISTRY)
+            .build();
+
+    public static final PropertyDescriptor TRACKING_STATE_PARTITIONS = new PropertyDescriptor.Builder()
+            .name("et-state-partitions")
+            .displayName(TRACKING_STATE_PARTITIONS_NAME)
+            .description(format("The number of partitions the listed entities are split into when stored." +
+                    " Each entity is assigned to a partition by the hash of its identifier, and each partition is stored separately." +
+                    " When an entity is listed or expires, only the partition containing it is written again," +
+                    " instead of every listed entity as is the case with a single partition." +
+                    " Increase this when tracking a large number of entities." +
+                    " Changing this value writes all partitions again at the next listing." +
+                    " %s", NOTE))
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .defaultValue("1")
+            .required(true)
+            .build();
+
     public static final PropertyDescriptor TRACKING_TIME_WINDOW = new PropertyDescriptor.Builder()
             .name("et-time-window")
             .displayName("Entity Tracking Time Window")
@@ -128,35 +164,42 @@ public class ListedEntityTracker<T extends ListableEntity> {
     static final Supplier<Long> DEFAULT_CURRENT_TIMESTAMP_SUPPLIER = System::currentTimeMillis;
     private final Supplier<Long> currentTimestampSupplier;
 
-    private final Serializer<String> stringSerializer = (v, o) -> o.write(v.getBytes(StandardCharsets.UTF_8));
-
-    private final Serializer<Map<String, ListedEntity>> listedEntitiesSerializer = (v, o) -> {
-        final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(o);
-        objectMapper.writeValue(gzipOutputStream, v);
-        // Finish writing gzip data without closing the underlying stream.
-        gzipOutputStream.finish();
-    };
+    private byte[] serializeListedEntities(final Map<String, ListedEntity> listedEntities) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzipOutputStream, listedEntities);
+        }
+        return out.toByteArray();
+    }
 
-    private final Deserializer<Map<String, ListedEntity>> listedEntitiesDeserializer = v -> {
-        if (v == null || v.length == 0) {
+    private Map<String, ListedEntity> deserializeListedEntities(final byte[] value) throws IOException {
+        if (value == null || value.length == 0) {
             return null;
         }
-        try (final GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(v))) {
+        try (final GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(value))) {
             return objectMapper.readValue(in, new TypeReference<Map<String, ListedEntity>>() {});
         }
-    };
+    }
 
     private final String componentId;
     private final ComponentLog logger;
     private final RecordSchema recordSchema;
 
     /*
-     * The scope, nodeId and mapCacheClient being used at the previous trackEntities method execution is captured,
+     * The scope, nodeId, store and partitions being used at the previous trackEntities method execution is captured,
      * so that it can be used when resetListedEntities is called.
      */
     private Scope scope;
     private String nodeId;
-    private DistributedMapCacheClient mapCacheClient;
+    private ListedEntityStore store;
+    private int partitions = 1;
+
+    /*
+     * Partitions whose listed entities have changed but have not been persisted yet,
+     * and keys left over from a previous partitioning that should be removed once the current partitions are persisted.
+     */
+    private final Set<Integer> pendingPartitions = ConcurrentHashMap.newKeySet();
+    private final Set<String> obsoleteKeys = ConcurrentHashMap.newKeySet();
 
     public ListedEntityTracker(final String componentId, final ComponentLog logger, final RecordSchema recordSchema) {
         this(componentId, logger, DEFAULT_CURRENT_TIMESTAMP_SUPPLIER, recordSchema);
@@ -173,8 +216,18 @@ public class ListedEntityTracker<T extends ListableEntity> {
         this.recordSchema = recordSchema;
     }
 
-    static void validateProperties(ValidationContext context, Collection<ValidationResult> results, Scope scope) {
-        validateRequiredProperty(context, results, ListedEntityTracker.TRACKING_STATE_CACHE);
+    /**
+     * Validates the properties used to track entities, for processors using the 'Tracking Entities' listing strategy.
+     * Either a Tracking State Cache or a Tracking State Directory is required.
+     *
+     * @param context the validation context of the processor
+     * @param results the collection to which any validation failures are added
+     * @param scope   the scope in which the processor stores its state
+     */
+    public static void validateProperties(final ValidationContext context, final Collection<ValidationResult> results, final Scope scope) {
+        if (!context.getProperty(TRACKING_STATE_DIRECTORY).isSet()) {
+            validateRequiredProperty(context, results, ListedEntityTracker.TRACKING_STATE_CACHE);
+        }
         validateRequiredProperty(context, results, ListedEntityTracker.TRACKING_TIME_WINDOW);
 
         if (Scope.LOCAL.equals(scope)
@@ -209,26 +262,131 @@ public class ListedEntityTracker<T extends ListableEntity> {
         throw new IllegalArgumentException("Unknown scope: " + scope);
     }
 
+    private String getPartitionKey(final String cacheKey, final int partition, final int partitions) {
+        return partitions == 1 ? cacheKey : format("%s::%d/%d", cacheKey, partition, partitions);
+    }
+
+    private List<String> getPartitionKeys(final String cacheKey, final int partitions) {
+        final List<String> keys = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            keys.add(getPartitionKey(cacheKey, partition, partitions));
+        }
+        return keys;
+    }
+
+    static int getPartition(final String identifier, final int partitions) {
+        if (partitions == 1) {
+            return 0;
+        }
+        final int hash = identifier.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), partitions);
+    }
+
+    private void markAllPartitionsPending() {
+        for (int partition = 0; partition < partitions; partition++) {
+            pendingPartitions.add(partition);
+        }
+    }
+
     private void persistListedEntities(Map<String, ListedEntity> listedEntities) throws IOException {
         final String cacheKey = getCacheKey();
-        logger.debug("Persisting listed entities: {}={}", new Object[]{cacheKey, listedEntities});
-        mapCacheClient.put(cacheKey, listedEntities, stringSerializer, listedEntitiesSerializer);
+        if (partitions == 1) {
+            logger.debug("Persisting listed entities: {}={}", new Object[]{cacheKey, listedEntities});
+            store.put(cacheKey, serializeListedEntities(listedEntities));
+            pendingPartitions.clear();
+        } else {
+            final Map<Integer, Map<String, ListedEntity>> partitionedEntities = new HashMap<>();
+            for (final Integer partition : new ArrayList<>(pendingPartitions)) {
+                partitionedEntities.put(partition, new HashMap<>());
+            }
+            listedEntities.forEach((identifier, listedEntity) -> {
+                final Map<String, ListedEntity> partitionEntities = partitionedEntities.get(getPartition(identifier, partitions));
+                if (partitionEntities != null) {
+                    partitionEntities.put(identifier, listedEntity);
+                }
+            });
+
+            for (final Map.Entry<Integer, Map<String, ListedEntity>> entry : partitionedEntities.entrySet()) {
+                final String partitionKey = getPartitionKey(cacheKey, entry.getKey(), partitions);
+                logger.debug("Persisting listed entities: {}={}", new Object[]{partitionKey, entry.getValue()});
+                store.put(partitionKey, serializeListedEntities(entry.getValue()));
+                pendingPartitions.remove(entry.getKey());
+            }
+        }
+
+        for (final String obsoleteKey : new ArrayList<>(obsoleteKeys)) {
+            logger.debug("Removing listed entities stored with previous partitioning: {}", new Object[]{obsoleteKey});
+            store.remove(obsoleteKey);
+            obsoleteKeys.remove(obsoleteKey);
+        }
     }
 
     private Map<String, ListedEntity> fetchListedEntities() throws IOException {
         final String cacheKey = getCacheKey();
-        final Map<String, ListedEntity> listedEntities = mapCacheClient.get(cacheKey, stringSerializer, listedEntitiesDeserializer);
-        logger.debug("Fetched listed entities: {}={}", new Object[]{cacheKey, listedEntities});
+        if (partitions == 1) {
+            final Map<String, ListedEntity> listedEntities = deserializeListedEntities(store.get(cacheKey));
+            logger.debug("Fetched listed entities: {}={}", new Object[]{cacheKey, listedEntities});
+            return listedEntities;
+        }
+
+        Map<String, ListedEntity> listedEntities = null;
+        for (final String partitionKey : getPartitionKeys(cacheKey, partitions)) {
+            final Map<String, ListedEntity> partitionEntities = deserializeListedEntities(store.get(partitionKey));
+            logger.debug("Fetched listed entities: {}={}", new Object[]{partitionKey, partitionEntities});
+            if (partitionEntities != null) {
+                if (listedEntities == null) {
+                    listedEntities = new HashMap<>();
+                }
+                listedEntities.putAll(partitionEntities);
+            }
+        }
+
+        if (listedEntities == null) {
+            // Listed entities may have been stored without partitioning, before partitions were configured.
+            listedEntities = deserializeListedEntities(store.get(cacheKey));
+            if (listedEntities != null) {
+                logger.info("Fetched listed entities stored without partitioning, those will be stored in {} partitions.", new Object[]{partitions});
+                markAllPartitionsPending();
+                obsoleteKeys.add(cacheKey);
+            }
+        }
         return listedEntities;
     }
 
     public void clearListedEntities() throws IOException {
         alreadyListedEntities = null;
-        if (mapCacheClient != null) {
+        pendingPartitions.clear();
+        obsoleteKeys.clear();
+        if (store != null) {
             final String cacheKey = getCacheKey();
-            logger.debug("Removing listed entities from cache storage: {}", new Object[]{cacheKey});
-            mapCacheClient.remove(cacheKey, stringSerializer);
+            final Set<String> keys = new HashSet<>(getPartitionKeys(cacheKey, partitions));
+            keys.add(cacheKey);
+            for (final String key : keys) {
+                logger.debug("Removing listed entities from cache storage: {}", new Object[]{key});
+                store.remove(key);
+            }
+        }
+    }
+
+    private ListedEntityStore getStore(final ProcessContext context) {
+        if (context.getProperty(TRACKING_STATE_DIRECTORY).isSet()) {
+            final String directory = context.getProperty(TRACKING_STATE_DIRECTORY).evaluateAttributeExpressions().getValue();
+            if (store instanceof LocalDirectoryListedEntityStore && ((LocalDirectoryListedEntityStore) store).getDirectory().equals(Paths.get(directory))) {
+                return store;
+            }
+            return new LocalDirectoryListedEntityStore(Paths.get(directory));
         }
+
+        final DistributedMapCacheClient mapCacheClient = context.getProperty(TRACKING_STATE_CACHE).asControllerService(DistributedMapCacheClient.class);
+        if (store instanceof DistributedCacheListedEntityStore && ((DistributedCacheListedEntityStore) store).isBackedBy(mapCacheClient)) {
+            return store;
+        }
+        return new DistributedCacheListedEntityStore(mapCacheClient);
+    }
+
+    private static int getPartitions(final ProcessContext context) {
+        final Integer partitions = context.getProperty(TRACKING_STATE_PARTITIONS).asInteger();
+        return partitions == null ? 1 : partitions;
     }
 
     public void trackEntities(ProcessContext context, ProcessSession session,
@@ -238,7 +396,12 @@ public class ListedEntityTracker<T extends ListableEntity> {
                               Function<T, Map<String, String>> createAttributes) throws ProcessException {
 
         boolean initialListing = false;
-        mapCacheClient = context.getProperty(TRACKING_STATE_CACHE).asControllerService(DistributedMapCacheClient.class);
+        final ListedEntityStore previousStore = store;
+        final String previousCacheKey = this.scope == null ? null : getCacheKey();
+        final int previousPartitions = partitions;
+
+        store = getStore(context);
+        partitions = getPartitions(context);
         this.scope = scope;
         if (Scope.LOCAL.equals(scope)) {
             nodeId = context.getProperty(ListedEntityTracker.NODE_IDENTIFIER).evaluateAttributeExpressions().getValue();
@@ -249,6 +412,8 @@ public class ListedEntityTracker<T extends ListableEntity> {
         if (alreadyListedEntities == null || justElectedPrimaryNode) {
             logger.info(justElectedPrimaryNode ? "Just elected as Primary node, restoring already-listed entities." : "At the first onTrigger, restoring already-listed entities.");
 
+            pendingPartitions.clear();
+            obsoleteKeys.clear();
             try {
                 final Map<String, ListedEntity> fetchedListedEntities = fetchListedEntities();
                 if (fetchedListedEntities == null) {
@@ -260,6 +425,14 @@ public class ListedEntityTracker<T extends ListableEntity> {
             } catch (final IOException e) {
                 throw new ProcessException("Failed to restore already-listed entities due to " + e, e);
             }
+        } else if (store != previousStore || !Objects.equals(getCacheKey(), previousCacheKey) || partitions != previousPartitions) {
+            // Only changed partitions are written at each listing, so every partition has to be written once to the new location.
+            logger.info("Listed entities storage has changed, all listed entities will be persisted to {} in {} partitions.", new Object[]{store, partitions});
+            markAllPartitionsPending();
+            if (store == previousStore && Objects.equals(getCacheKey(), previousCacheKey)) {
+                obsoleteKeys.addAll(getPartitionKeys(previousCacheKey, previousPartitions));
+                obsoleteKeys.removeAll(getPartitionKeys(getCacheKey(), partitions));
+            }
         }
 
         final long currentTimeMillis = currentTimestampSupplier.get();
@@ -319,6 +492,10 @@ public class ListedEntityTracker<T extends ListableEntity> {
         // Remove old entries.
         oldEntityIds.forEach(oldEntityId -> alreadyListedEntities.remove(oldEntityId));
 
+        // Only partitions containing updated or removed entities need to be persisted.
+        updatedEntities.forEach(entity -> pendingPartitions.add(getPartition(entity.getIdentifier(), partitions)));
+        oldEntityIds.forEach(oldEntityId -> pendingPartitions.add(getPartition(oldEntityId, partitions)));
+
         // Emit updated entities.
         if (context.getProperty(AbstractListProcessor.RECORD_WRITER).isSet()) {
             try {
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processor.util.list;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores listed entities as files in a local directory, one file per key.
+ * A value is written to a temporary file first and then moved into place, so that a partially written file is never read.
+ */
+class LocalDirectoryListedEntityStore implements ListedEntityStore {
+
+    private static final String FILE_SUFFIX = ".json.gz";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    LocalDirectoryListedEntityStore(final Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public byte[] get(final String key) throws IOException {
+        try {
+            final byte[] value = Files.readAllBytes(getFile(key));
+            return value.length == 0 ? null : value;
+        } catch (final NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void put(final String key, final byte[] value) throws IOException {
+        Files.createDirectories(directory);
+        final Path file = getFile(key);
+        final Path tempFile = file.resolveSibling(file.getFileName() + TEMP_FILE_SUFFIX);
+        Files.write(tempFile, value);
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void remove(final String key) throws IOException {
+        Files.deleteIfExists(getFile(key));
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    private Path getFile(final String key) {
+        return directory.resolve(key.replaceAll("[^A-Za-z0-9._-]", "_") + FILE_SUFFIX);
+    }
+
+    @Override
+    public String toString() {
+        return "LocalDirectory[" + directory + "]";
+    }
+}
@@ -74,6 +74,7 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class TestAbstractListProcessor {
@@ -455,6 +456,77 @@ public class TestAbstractListProcessor {
                 "Found 6 objects.  Of those, 2 match the filter.");
     }
 
+    @Test
+    public void testEntityTrackingStrategyWithPartitions() throws InitializationException {
+        final DistributedCache trackingCache = new DistributedCache();
+        runner.addControllerService("tracking-cache", trackingCache);
+        runner.enableControllerService(trackingCache);
+
+        runner.setProperty(AbstractListProcessor.LISTING_STRATEGY, AbstractListProcessor.BY_ENTITIES);
+        runner.setProperty(ListedEntityTracker.TRACKING_STATE_CACHE, "tracking-cache");
+        runner.setProperty(ListedEntityTracker.TRACKING_STATE_PARTITIONS, "4");
+        runner.setProperty(ListedEntityTracker.TRACKING_TIME_WINDOW, "10ms");
+        runner.assertValid();
+
+        for (int i = 0; i < 20; i++) {
+            proc.addEntity("file-" + i, "dir/file-" + i, 1, 1);
+        }
+        proc.currentTimestamp.set(1L);
+        runner.run();
+        assertEquals(20, runner.getFlowFilesForRelationship(AbstractListProcessor.REL_SUCCESS).size());
+
+        final String cacheKey = "ListedEntities::" + proc.getIdentifier();
+        for (int partition = 0; partition < 4; partition++) {
+            assertTrue(trackingCache.stored.containsKey(cacheKey + "::" + partition + "/4"));
+        }
+        assertFalse(trackingCache.stored.containsKey(cacheKey));
+
+        // Only the partition containing the updated entity should be stored again.
+        trackingCache.putKeys.clear();
+        proc.addEntity("file-3", "dir/file-3", 2, 1);
+        proc.currentTimestamp.set(2L);
+        runner.clearTransferState();
+        runner.run();
+        assertEquals(1, runner.getFlowFilesForRelationship(AbstractListProcessor.REL_SUCCESS).size());
+        assertEquals(Collections.singletonList(cacheKey + "::" + ListedEntityTracker.getPartition("dir/file-3", 4) + "/4"), trackingCache.putKeys);
+    }
+
+    @Test
+    public void testEntityTrackingStrategyWithLocalDirectory() throws IOException {
+        final File stateDirectory = testFolder.newFolder("listed-entities");
+        runner.setProperty(AbstractListProcessor.LISTING_STRATEGY, AbstractListProcessor.BY_ENTITIES);
+        runner.setProperty(ListedEntityTracker.TRACKING_TIME_WINDOW, "10ms");
+        // Require a cache service or a local directory.
+        runner.assertNotValid();
+
+        runner.setProperty(ListedEntityTracker.TRACKING_STATE_DIRECTORY, stateDirectory.getAbsolutePath());
+        runner.assertValid();
+
+        proc.addEntity("one", "one", 1, 1);
+        proc.currentTimestamp.set(1L);
+        runner.run();
+        assertEquals(1, runner.getFlowFilesForRelationship(AbstractListProcessor.REL_SUCCESS).size());
+        assertEquals(1, stateDirectory.listFiles().length);
+
+        // Listed entities should be restored from the local directory by a new processor instance.
+        final ConcreteListProcessor restartedProc = new ConcreteListProcessor();
+        final TestRunner restartedRunner = TestRunners.newTestRunner(restartedProc);
+        restartedRunner.setProperty(AbstractListProcessor.LISTING_STRATEGY, AbstractListProcessor.BY_ENTITIES);
+        restartedRunner.setProperty(ListedEntityTracker.TRACKING_TIME_WINDOW, "10ms");
+        restartedRunner.setProperty(ListedEntityTracker.TRACKING_STATE_DIRECTORY, stateDirectory.getAbsolutePath());
+        final File stateFile = stateDirectory.listFiles()[0];
+        final File restartedStateFile = new File(stateDirectory, stateFile.getName().replace(proc.getIdentifier(), restartedProc.getIdentifier()));
+        assertTrue(stateFile.renameTo(restartedStateFile));
+
+        restartedProc.addEntity("one", "one", 1, 1);
+        restartedProc.addEntity("two", "two", 2, 2);
+        restartedProc.currentTimestamp.set(2L);
+        restartedRunner.run();
+        restartedRunner.assertAllFlowFilesTransferred(AbstractListProcessor.REL_SUCCESS, 1);
+        restartedRunner.getFlowFilesForRelationship(AbstractListProcessor.REL_SUCCESS).get(0)
+                .assertAttributeEquals(CoreAttributes.FILENAME.key(), "two");
+    }
+
     private void assertVerificationOutcome(final Outcome expectedOutcome, final String expectedExplanationRegex) {
         final List<ConfigVerificationResult> results = proc.verify(runner.getProcessContext(), runner.getLogger(), Collections.emptyMap());
 
@@ -468,6 +540,7 @@ public class TestAbstractListProcessor {
     static class DistributedCache extends AbstractControllerService implements DistributedMapCacheClient {
         private final Map<Object, Object> stored = new HashMap<>();
         private int fetchCount = 0;
+        private final List<Object> putKeys = new ArrayList<>();
 
         @Override
         public <K, V> boolean putIfAbsent(K key, V value, Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
@@ -486,6 +559,7 @@ public class TestAbstractListProcessor {
 
         @Override
         public <K, V> void put(K key, V value, Serializer<K> keySerializer, Serializer<V> valueSerializer) throws IOException {
+            putKeys.add(key);
             stored.put(key, value);
         }
 
@@ -556,6 +630,8 @@ public class TestAbstractListProcessor {
             properties.add(DISTRIBUTED_CACHE_SERVICE);
             properties.add(TARGET_SYSTEM_TIMESTAMP_PRECISION);
             properties.add(ListedEntityTracker.TRACKING_STATE_CACHE);
+            properties.add(ListedEntityTracker.TRACKING_STATE_DIRECTORY);
+            properties.add(ListedEntityTracker.TRACKING_STATE_PARTITIONS);
             properties.add(ListedEntityTracker.TRACKING_TIME_WINDOW);
             properties.add(ListedEntityTracker.INITIAL_LISTING_TARGET);
             properties.add(RESET_STATE);
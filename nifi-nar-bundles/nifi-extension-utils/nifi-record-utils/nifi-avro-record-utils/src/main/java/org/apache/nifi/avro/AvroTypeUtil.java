@@ -524,6 +524,20 @@ public class AvroTypeUtil {
         return schemaType == Type.NULL;
     }
 
+    /**
+     * Returns the bytes between the position and the limit of the given buffer. When a DatumReader reuses a ByteBuffer, the backing array
+     * may be larger than the value that was read into it, so the array cannot be used as-is in that case.
+     */
+    private static byte[] toByteArray(final ByteBuffer bb) {
+        if (bb.hasArray() && bb.arrayOffset() == 0 && bb.position() == 0 && bb.remaining() == bb.array().length) {
+            return bb.array();
+        }
+
+        final byte[] bytes = new byte[bb.remaining()];
+        bb.duplicate().get(bytes);
+        return bytes;
+    }
+
     public static Object[] convertByteArray(final byte[] bytes) {
         final Object[] array = new Object[bytes.length];
         for (int i = 0; i < bytes.length; i++) {
@@ -1111,7 +1125,7 @@ public class AvroTypeUtil {
                 if (logicalType != null && LOGICAL_TYPE_DECIMAL.equals(logicalType.getName())) {
                     return new Conversions.DecimalConversion().fromBytes(bb, avroSchema, logicalType);
                 }
-                return AvroTypeUtil.convertByteArray(bb.array());
+                return AvroTypeUtil.convertByteArray(toByteArray(bb));
             case FIXED:
                 final GenericFixed fixed = (GenericFixed) value;
                 final LogicalType fixedLogicalType = avroSchema.getLogicalType();
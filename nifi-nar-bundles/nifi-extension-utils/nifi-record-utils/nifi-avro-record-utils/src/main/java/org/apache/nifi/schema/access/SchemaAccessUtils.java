@@ -114,6 +114,30 @@ public class SchemaAccessUtils {
             .required(false)
             .build();
 
+    public static final PropertyDescriptor SCHEMA_CACHE_REFRESH_INTERVAL = new PropertyDescriptor.Builder()
+            .name("schema-cache-refresh-interval")
+            .displayName("Schema Cache Refresh Interval")
+            .description("Schemas retrieved from the Schema Registry are cached and shared with all other services that use the same Schema Registry and cache settings. "
+                    + "A cached schema that is older than this interval is retrieved again in the background the next time it is requested, while the cached "
+                    + "schema continues to be used.")
+            .addValidator(StandardValidators.TIME_PERIOD_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+            .defaultValue("1 min")
+            .dependsOn(SCHEMA_REGISTRY)
+            .required(true)
+            .build();
+
+    public static final PropertyDescriptor SCHEMA_CACHE_EXPIRATION = new PropertyDescriptor.Builder()
+            .name("schema-cache-expiration")
+            .displayName("Schema Cache Expiration")
+            .description("How long a schema that was retrieved from the Schema Registry remains cached after it was last requested.")
+            .addValidator(StandardValidators.TIME_PERIOD_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+            .defaultValue("1 hour")
+            .dependsOn(SCHEMA_REGISTRY)
+            .required(true)
+            .build();
+
     public static Collection<ValidationResult> validateSchemaAccessStrategy(final ValidationContext validationContext, final String schemaAccessStrategyValue,
                                                                             final List<AllowableValue> schemaAccessStrategyValues) {
 
@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.serialization;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.components.ValidationContext;
+import org.apache.nifi.components.ValidationResult;
+import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.controller.ControllerServiceInitializationContext;
+import org.apache.nifi.reporting.InitializationException;
+import org.apache.nifi.schema.access.SchemaField;
+import org.apache.nifi.schema.access.SchemaNotFoundException;
+import org.apache.nifi.schemaregistry.services.SchemaRegistry;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.SchemaIdentifier;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * A {@link SchemaRegistry} that caches the schemas retrieved from another Schema Registry, keyed by the {@link SchemaIdentifier}
+ * (name, identifier, version, schema version identifier and branch) that they were requested with.
+ * </p>
+ *
+ * <p>
+ * Schemas that have been cached for longer than the refresh interval are retrieved again in the background the next time they are
+ * requested, while the cached schema continues to be returned. If the background retrieval fails because the Schema Registry cannot
+ * be reached, the cached schema is kept, so that an outage of the Schema Registry does not affect schemas that are already in use.
+ * Schemas that have not been requested for the idle timeout are removed. Requests for schemas that do not exist are also cached,
+ * for a shorter time, so that repeated requests for a missing schema do not each go to the Schema Registry. Failures to communicate
+ * with the Schema Registry while retrieving a schema that is not cached are never cached.
+ * </p>
+ *
+ * <p>
+ * {@link #acquire(SchemaRegistry, String, long, long, TimeUnit)} provides a single instance per Schema Registry service and cache settings,
+ * so that all Record Readers and Writers that use the same Schema Registry share the cached schemas. Each user of a shared instance
+ * {@link #release(String) releases} it when it is disabled, and the instance is discarded once it has no users. A Schema Registry can
+ * only be reconfigured while every service that references it is disabled, so the cached schemas never outlive its configuration.
+ * </p>
+ */
+public class CachingSchemaRegistry implements SchemaRegistry {
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    public static final long DEFAULT_REFRESH_MILLIS = TimeUnit.MINUTES.toMillis(1L);
+    public static final long DEFAULT_IDLE_MILLIS = TimeUnit.HOURS.toMillis(1L);
+    public static final long DEFAULT_NEGATIVE_MILLIS = TimeUnit.SECONDS.toMillis(10L);
+
+    private static final ConcurrentMap<SharedKey, CachingSchemaRegistry> SHARED = new ConcurrentHashMap<>();
+
+    private final SchemaRegistry delegate;
+    private final SharedKey sharedKey;
+    private final Set<String> users = ConcurrentHashMap.newKeySet();
+    private final LoadingCache<SchemaIdentifier, CachedSchema> cache;
+    private final AtomicLong negativeHits = new AtomicLong(0L);
+    private final AtomicLong refreshFailures = new AtomicLong(0L);
+
+    public CachingSchemaRegistry(final SchemaRegistry delegate) {
+        this(delegate, DEFAULT_MAX_SIZE, DEFAULT_REFRESH_MILLIS, DEFAULT_IDLE_MILLIS, DEFAULT_NEGATIVE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public CachingSchemaRegistry(final SchemaRegistry delegate, final int maxSize, final long refreshInterval, final long idleTimeout, final long negativeTimeout,
+                                 final TimeUnit timeUnit) {
+        this(delegate, null, maxSize, refreshInterval, idleTimeout, negativeTimeout, timeUnit);
+    }
+
+    private CachingSchemaRegistry(final SchemaRegistry delegate, final SharedKey sharedKey, final int maxSize, final long refreshInterval, final long idleTimeout,
+                                  final long negativeTimeout, final TimeUnit timeUnit) {
+        this.delegate = delegate;
+        this.sharedKey = sharedKey;
+
+        final long idleNanos = timeUnit.toNanos(idleTimeout);
+        final long negativeNanos = timeUnit.toNanos(negativeTimeout);
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .refreshAfterWrite(refreshInterval, timeUnit)
+            .expireAfter(new Expiry<SchemaIdentifier, CachedSchema>() {
+                @Override
+                public long expireAfterCreate(final SchemaIdentifier key, final CachedSchema value, final long currentTime) {
+                    return value.isFound() ? idleNanos : negativeNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(final SchemaIdentifier key, final CachedSchema value, final long currentTime, final long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(final SchemaIdentifier key, final CachedSchema value, final long currentTime, final long currentDuration) {
+                    // A missing schema is only cached for a fixed time, whereas a schema that is in use is kept for as long as it is used
+                    return value.isFound() ? idleNanos : currentDuration;
+                }
+            })
+            .recordStats()
+            .build(new SchemaLoader());
+    }
+
+    /**
+     * Obtains the cache that is shared by all users of the given Schema Registry that use the same refresh interval and idle timeout,
+     * registering the given user of it. Every user must {@link #release(String)} the cache when it no longer uses it.
+     *
+     * @param schemaRegistry the Schema Registry whose schemas should be cached
+     * @param userIdentifier the identifier of the component that uses the cache
+     * @param refreshInterval how long a schema is cached before it is retrieved again in the background
+     * @param idleTimeout how long a schema that is not requested remains cached
+     * @param timeUnit the unit of the refresh interval and idle timeout
+     * @return the shared cache, or <code>null</code> if the given Schema Registry is <code>null</code>
+     */
+    public static CachingSchemaRegistry acquire(final SchemaRegistry schemaRegistry, final String userIdentifier, final long refreshInterval, final long idleTimeout,
+                                                final TimeUnit timeUnit) {
+        if (schemaRegistry == null || schemaRegistry instanceof CachingSchemaRegistry) {
+            return (CachingSchemaRegistry) schemaRegistry;
+        }
+
+        if (schemaRegistry.getIdentifier() == null) {
+            return new CachingSchemaRegistry(schemaRegistry, null, DEFAULT_MAX_SIZE, refreshInterval, idleTimeout, DEFAULT_NEGATIVE_MILLIS, timeUnit);
+        }
+
+        final SharedKey key = new SharedKey(schemaRegistry.getIdentifier(), timeUnit.toMillis(refreshInterval), timeUnit.toMillis(idleTimeout));
+
+        // A different instance with the same identifier means that the service was replaced, so anything cached for the old one is discarded
+        return SHARED.compute(key, (sharedKey, existing) -> {
+            final CachingSchemaRegistry shared = existing != null && existing.delegate == schemaRegistry ? existing
+                : new CachingSchemaRegistry(schemaRegistry, sharedKey, DEFAULT_MAX_SIZE, sharedKey.refreshMillis, sharedKey.idleMillis, DEFAULT_NEGATIVE_MILLIS,
+                    TimeUnit.MILLISECONDS);
+            shared.users.add(userIdentifier);
+            return shared;
+        });
+    }
+
+    /**
+     * Unregisters the given user of this cache. Once a shared cache has no users, its schemas are discarded and the next user that
+     * {@link #acquire(SchemaRegistry, String, long, long, TimeUnit) acquires} a cache for the same Schema Registry obtains a new one.
+     *
+     * @param userIdentifier the identifier of the component that no longer uses the cache
+     */
+    public void release(final String userIdentifier) {
+        if (sharedKey == null) {
+            return;
+        }
+
+        SHARED.computeIfPresent(sharedKey, (key, existing) -> {
+            if (existing != this) {
+                return existing;
+            }
+
+            users.remove(userIdentifier);
+            if (!users.isEmpty()) {
+                return existing;
+            }
+
+            cache.invalidateAll();
+            return null;
+        });
+    }
+
+    static int getSharedCount() {
+        return SHARED.size();
+    }
+
+    @Override
+    public RecordSchema retrieveSchema(final SchemaIdentifier schemaIdentifier) throws IOException, SchemaNotFoundException {
+        final CachedSchema cached;
+        try {
+            cached = cache.get(schemaIdentifier);
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to retrieve schema with " + schemaIdentifier, cause);
+        }
+
+        if (cached == null) {
+            return null;
+        }
+
+        if (!cached.isFound()) {
+            negativeHits.incrementAndGet();
+            throw new SchemaNotFoundException(cached.notFound.getMessage(), cached.notFound);
+        }
+
+        return cached.schema;
+    }
+
+    /**
+     * @return the number of requests that were answered with a cached schema
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount() - negativeHits.get();
+    }
+
+    /**
+     * @return the number of requests that were answered with a cached indication that the schema does not exist
+     */
+    public long getNegativeHitCount() {
+        return negativeHits.get();
+    }
+
+    /**
+     * @return the number of requests that had to retrieve the schema from the Schema Registry
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * @return the number of background refreshes that failed to communicate with the Schema Registry and kept the cached schema
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailures.get();
+    }
+
+    @Override
+    public Set<SchemaField> getSuppliedSchemaFields() {
+        return delegate.getSuppliedSchemaFields();
+    }
+
+    @Override
+    public void initialize(final ControllerServiceInitializationContext context) throws InitializationException {
+        delegate.initialize(context);
+    }
+
+    @Override
+    public boolean isStateful(final ConfigurationContext context) {
+        return delegate.isStateful(context);
+    }
+
+    @Override
+    public Collection<ValidationResult> validate(final ValidationContext context) {
+        return delegate.validate(context);
+    }
+
+    @Override
+    public PropertyDescriptor getPropertyDescriptor(final String name) {
+        return delegate.getPropertyDescriptor(name);
+    }
+
+    @Override
+    public void onPropertyModified(final PropertyDescriptor descriptor, final String oldValue, final String newValue) {
+        delegate.onPropertyModified(descriptor, oldValue, newValue);
+    }
+
+    @Override
+    public List<PropertyDescriptor> getPropertyDescriptors() {
+        return delegate.getPropertyDescriptors();
+    }
+
+    @Override
+    public String getIdentifier() {
+        return delegate.getIdentifier();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingSchemaRegistry[delegate=" + delegate + ", size=" + cache.estimatedSize() + ", hits=" + getHitCount() + ", negativeHits=" + getNegativeHitCount()
+            + ", misses=" + getMissCount() + ", refreshFailures=" + getRefreshFailureCount() + "]";
+    }
+
+    private class SchemaLoader implements CacheLoader<SchemaIdentifier, CachedSchema> {
+        @Override
+        public CachedSchema load(final SchemaIdentifier schemaIdentifier) throws IOException {
+            try {
+                final RecordSchema schema = delegate.retrieveSchema(schemaIdentifier);
+                return schema == null ? null : new CachedSchema(schema, null);
+            } catch (final SchemaNotFoundException e) {
+                return new CachedSchema(null, e);
+            }
+        }
+
+        @Override
+        public CachedSchema reload(final SchemaIdentifier schemaIdentifier, final CachedSchema oldValue) {
+            try {
+                final CachedSchema reloaded = load(schemaIdentifier);
+                return reloaded == null ? oldValue : reloaded;
+            } catch (final IOException | RuntimeException e) {
+                refreshFailures.incrementAndGet();
+                return oldValue;
+            }
+        }
+    }
+
+    private static class SharedKey {
+        private final String registryIdentifier;
+        private final long refreshMillis;
+        private final long idleMillis;
+
+        private SharedKey(final String registryIdentifier, final long refreshMillis, final long idleMillis) {
+            this.registryIdentifier = registryIdentifier;
+            this.refreshMillis = refreshMillis;
+            this.idleMillis = idleMillis;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SharedKey)) {
+                return false;
+            }
+
+            final SharedKey other = (SharedKey) obj;
+            return refreshMillis == other.refreshMillis && idleMillis == other.idleMillis && Objects.equals(registryIdentifier, other.registryIdentifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(registryIdentifier, refreshMillis, idleMillis);
+        }
+    }
+
+    private static class CachedSchema {
+        private final RecordSchema schema;
+        private final SchemaNotFoundException notFound;
+
+        private CachedSchema(final RecordSchema schema, final SchemaNotFoundException notFound) {
+            this.schema = schema;
+            this.notFound = notFound;
+        }
+
+        private boolean isFound() {
+            return notFound == null;
+        }
+    }
+}
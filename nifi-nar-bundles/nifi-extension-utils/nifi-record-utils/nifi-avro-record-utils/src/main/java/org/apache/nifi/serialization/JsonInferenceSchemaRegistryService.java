@@ -39,6 +39,8 @@ import java.util.Map;
 
 import static org.apache.nifi.schema.access.SchemaAccessUtils.INFER_SCHEMA;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_BRANCH_NAME;
+import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_CACHE_EXPIRATION;
+import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_CACHE_REFRESH_INTERVAL;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_NAME;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_NAME_PROPERTY;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_REGISTRY;
@@ -95,6 +97,8 @@ public class JsonInferenceSchemaRegistryService extends SchemaRegistryService {
         properties.add(SCHEMA_VERSION);
         properties.add(SCHEMA_BRANCH_NAME);
         properties.add(SCHEMA_TEXT);
+        properties.add(SCHEMA_CACHE_REFRESH_INTERVAL);
+        properties.add(SCHEMA_CACHE_EXPIRATION);
 
         return properties;
     }
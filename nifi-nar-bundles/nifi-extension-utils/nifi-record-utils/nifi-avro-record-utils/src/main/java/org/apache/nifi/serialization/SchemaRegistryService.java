@@ -17,6 +17,7 @@
 
 package org.apache.nifi.serialization;
 
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
 import org.apache.nifi.annotation.lifecycle.OnEnabled;
 import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
@@ -43,12 +44,15 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.nifi.schema.access.SchemaAccessUtils.CONFLUENT_ENCODED_SCHEMA;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.HWX_CONTENT_ENCODED_SCHEMA;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.HWX_SCHEMA_REF_ATTRIBUTES;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_ACCESS_STRATEGY;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_BRANCH_NAME;
+import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_CACHE_EXPIRATION;
+import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_CACHE_REFRESH_INTERVAL;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_NAME;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_NAME_PROPERTY;
 import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_REGISTRY;
@@ -60,6 +64,7 @@ public abstract class SchemaRegistryService extends AbstractControllerService {
 
     private volatile ConfigurationContext configurationContext;
     protected volatile SchemaAccessStrategy schemaAccessStrategy;
+    private volatile CachingSchemaRegistry cachingSchemaRegistry;
     private static InputStream EMPTY_INPUT_STREAM = new ByteArrayInputStream(new byte[0]);
 
     private final List<AllowableValue> strategyList = Collections.unmodifiableList(Arrays.asList(
@@ -89,6 +94,8 @@ public abstract class SchemaRegistryService extends AbstractControllerService {
         properties.add(SCHEMA_VERSION);
         properties.add(SCHEMA_BRANCH_NAME);
         properties.add(SCHEMA_TEXT);
+        properties.add(SCHEMA_CACHE_REFRESH_INTERVAL);
+        properties.add(SCHEMA_CACHE_EXPIRATION);
 
         return properties;
     }
@@ -101,13 +108,32 @@ public abstract class SchemaRegistryService extends AbstractControllerService {
     public void storeSchemaAccessStrategy(final ConfigurationContext context) {
         this.configurationContext = context;
 
-        final SchemaRegistry schemaRegistry = context.getProperty(SCHEMA_REGISTRY).asControllerService(SchemaRegistry.class);
+        // Schemas are retrieved through a cache that is shared with all other services that use the same Schema Registry
+        final CachingSchemaRegistry schemaRegistry = CachingSchemaRegistry.acquire(context.getProperty(SCHEMA_REGISTRY).asControllerService(SchemaRegistry.class),
+            getIdentifier(), context.getProperty(SCHEMA_CACHE_REFRESH_INTERVAL).asTimePeriod(TimeUnit.MILLISECONDS),
+            context.getProperty(SCHEMA_CACHE_EXPIRATION).asTimePeriod(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        final CachingSchemaRegistry previous = this.cachingSchemaRegistry;
+        if (previous != null && previous != schemaRegistry) {
+            previous.release(getIdentifier());
+        }
+        this.cachingSchemaRegistry = schemaRegistry;
 
         final PropertyDescriptor descriptor = getSchemaAcessStrategyDescriptor();
         final String schemaAccess = context.getProperty(descriptor).getValue();
         this.schemaAccessStrategy = getSchemaAccessStrategy(schemaAccess, schemaRegistry, context);
     }
 
+    @OnDisabled
+    public void releaseSchemaRegistry() {
+        final CachingSchemaRegistry schemaRegistry = cachingSchemaRegistry;
+        if (schemaRegistry != null) {
+            getLogger().debug("Schema cache statistics for {}: {} hits, {} cached not found, {} misses, {} failed refreshes", schemaRegistry.getIdentifier(),
+                schemaRegistry.getHitCount(), schemaRegistry.getNegativeHitCount(), schemaRegistry.getMissCount(), schemaRegistry.getRefreshFailureCount());
+            schemaRegistry.release(getIdentifier());
+            cachingSchemaRegistry = null;
+        }
+    }
+
     @Override
     protected ConfigurationContext getConfigurationContext() {
         return configurationContext;
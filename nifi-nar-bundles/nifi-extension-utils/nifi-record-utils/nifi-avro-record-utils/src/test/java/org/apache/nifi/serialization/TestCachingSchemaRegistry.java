@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization;
+
+import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.schema.access.SchemaField;
+import org.apache.nifi.schema.access.SchemaNotFoundException;
+import org.apache.nifi.schemaregistry.services.SchemaRegistry;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.SchemaIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCachingSchemaRegistry {
+    private static final SchemaIdentifier PERSON = SchemaIdentifier.builder().name("person").build();
+    private static final SchemaIdentifier MISSING = SchemaIdentifier.builder().name("missing").build();
+
+    private static RecordSchema createSchema(final String fieldName) {
+        return new SimpleRecordSchema(Collections.singletonList(new RecordField(fieldName, RecordFieldType.STRING.getDataType())));
+    }
+
+    @Test
+    public void testSchemaIsCached() throws IOException, SchemaNotFoundException {
+        final StubSchemaRegistry delegate = new StubSchemaRegistry("registry");
+        delegate.schemas.put("person", createSchema("name"));
+
+        final CachingSchemaRegistry registry = new CachingSchemaRegistry(delegate);
+        final RecordSchema first = registry.retrieveSchema(PERSON);
+        for (int i = 0; i < 10; i++) {
+            assertSame(first, registry.retrieveSchema(SchemaIdentifier.builder().name("person").build()));
+        }
+
+        assertEquals(1, delegate.retrievals.get());
+        assertEquals(1, registry.getMissCount());
+        assertEquals(10, registry.getHitCount());
+
+        // A different version is a different schema
+        delegate.schemas.put("person", createSchema("fullName"));
+        assertNotSame(first, registry.retrieveSchema(SchemaIdentifier.builder().name("person").version(2).build()));
+        assertEquals(2, delegate.retrievals.get());
+    }
+
+    @Test
+    public void testMissingSchemaIsCachedTemporarily() throws Exception {
+        final StubSchemaRegistry delegate = new StubSchemaRegistry("registry");
+        final CachingSchemaRegistry registry = new CachingSchemaRegistry(delegate, 100, 1, 1, 50, TimeUnit.MINUTES);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(SchemaNotFoundException.class, () -> registry.retrieveSchema(MISSING));
+        }
+        assertEquals(1, delegate.retrievals.get());
+        assertEquals(4, registry.getNegativeHitCount());
+        assertEquals(0, registry.getHitCount());
+
+        final CachingSchemaRegistry shortLived = new CachingSchemaRegistry(delegate, 100, 1, 1, 50, TimeUnit.MILLISECONDS);
+        assertThrows(SchemaNotFoundException.class, () -> shortLived.retrieveSchema(MISSING));
+        delegate.schemas.put("missing", createSchema("name"));
+        Thread.sleep(100L);
+        assertEquals(createSchema("name"), shortLived.retrieveSchema(MISSING));
+    }
+
+    @Test
+    public void testCommunicationFailureIsNotCached() throws IOException, SchemaNotFoundException {
+        final StubSchemaRegistry delegate = new StubSchemaRegistry("registry");
+        delegate.schemas.put("person", createSchema("name"));
+        delegate.failing = true;
+
+        final CachingSchemaRegistry registry = new CachingSchemaRegistry(delegate);
+        assertThrows(IOException.class, () -> registry.retrieveSchema(PERSON));
+
+        delegate.failing = false;
+        assertEquals(createSchema("name"), registry.retrieveSchema(PERSON));
+    }
+
+    @Test
+    public void testCachedSchemaKeptWhenRefreshFails() throws Exception {
+        final StubSchemaRegistry delegate = new StubSchemaRegistry("registry");
+        delegate.schemas.put("person", createSchema("name"));
+
+        final CachingSchemaRegistry registry = new CachingSchemaRegistry(delegate, 100, 10, 60_000, 10, TimeUnit.MILLISECONDS);
+        final RecordSchema cached = registry.retrieveSchema(PERSON);
+
+        delegate.failing = true;
+        final long timeout = System.currentTimeMillis() + 10_000L;
+        while (registry.getRefreshFailureCount() == 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(20L);
+            assertSame(cached, registry.retrieveSchema(PERSON));
+        }
+        assertTrue(registry.getRefreshFailureCount() > 0);
+
+        // Once the Schema Registry is reachable again, a changed schema is picked up in the background
+        delegate.failing = false;
+        delegate.schemas.put("person", createSchema("fullName"));
+        while (registry.retrieveSchema(PERSON) == cached && System.currentTimeMillis() < timeout) {
+            Thread.sleep(20L);
+        }
+        assertEquals(createSchema("fullName"), registry.retrieveSchema(PERSON));
+    }
+
+    @Test
+    public void testSharedPerSchemaRegistryAndSettings() {
+        final StubSchemaRegistry delegate = new StubSchemaRegistry("shared-registry");
+        final CachingSchemaRegistry shared = acquire(delegate, "reader-1");
+        try {
+            assertSame(shared, acquire(delegate, "reader-2"));
+            assertSame(shared, CachingSchemaRegistry.acquire(shared, "reader-3", 1, 60, TimeUnit.MINUTES));
+            assertNotSame(shared, CachingSchemaRegistry.acquire(delegate, "reader-4", 2, 60, TimeUnit.MINUTES));
+            assertNotSame(shared, acquire(new StubSchemaRegistry("other-registry"), "reader-5"));
+        } finally {
+            shared.release("reader-1");
+            shared.release("reader-2");
+            CachingSchemaRegistry.acquire(delegate, "reader-4", 2, 60, TimeUnit.MINUTES).release("reader-4");
+            acquire(new StubSchemaRegistry("other-registry"), "reader-5").release("reader-5");
+        }
+    }
+
+    @Test
+    public void testSharedCacheDiscardedWhenLastUserReleases() throws IOException, SchemaNotFoundException {
+        final int sharedCount = CachingSchemaRegistry.getSharedCount();
+        final StubSchemaRegistry delegate = new StubSchemaRegistry("released-registry");
+        delegate.schemas.put("person", createSchema("name"));
+
+        final CachingSchemaRegistry shared = acquire(delegate, "reader");
+        assertSame(shared, acquire(delegate, "writer"));
+        assertEquals(sharedCount + 1, CachingSchemaRegistry.getSharedCount());
+        shared.retrieveSchema(PERSON);
+
+        // The writer still uses the cache, so disabling and re-enabling the reader keeps the cached schemas
+        shared.release("reader");
+        assertSame(shared, acquire(delegate, "reader"));
+        shared.retrieveSchema(PERSON);
+        assertEquals(1, delegate.retrievals.get());
+
+        shared.release("reader");
+        shared.release("writer");
+        assertEquals(sharedCount, CachingSchemaRegistry.getSharedCount());
+
+        // Once all users are disabled, the Schema Registry may have been reconfigured, so the next user starts with an empty cache
+        final CachingSchemaRegistry next = acquire(delegate, "reader");
+        assertNotSame(shared, next);
+        next.retrieveSchema(PERSON);
+        assertEquals(2, delegate.retrievals.get());
+        next.release("reader");
+        assertEquals(sharedCount, CachingSchemaRegistry.getSharedCount());
+    }
+
+    private static CachingSchemaRegistry acquire(final SchemaRegistry schemaRegistry, final String userIdentifier) {
+        return CachingSchemaRegistry.acquire(schemaRegistry, userIdentifier, 1, 60, TimeUnit.MINUTES);
+    }
+
+    private static class StubSchemaRegistry extends AbstractControllerService implements SchemaRegistry {
+        private final String identifier;
+        private final Map<String, RecordSchema> schemas = new ConcurrentHashMap<>();
+        private final AtomicInteger retrievals = new AtomicInteger(0);
+        private volatile boolean failing = false;
+
+        private StubSchemaRegistry(final String identifier) {
+            this.identifier = identifier;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public synchronized RecordSchema retrieveSchema(final SchemaIdentifier schemaIdentifier) throws IOException, SchemaNotFoundException {
+            retrievals.incrementAndGet();
+            if (failing) {
+                throw new IOException("Schema Registry is unavailable");
+            }
+
+            final RecordSchema schema = schemas.get(schemaIdentifier.getName().orElse(null));
+            if (schema == null) {
+                throw new SchemaNotFoundException("No schema with " + schemaIdentifier);
+            }
+            return schema;
+        }
+
+        @Override
+        public Set<SchemaField> getSuppliedSchemaFields() {
+            return EnumSet.of(SchemaField.SCHEMA_NAME);
+        }
+    }
+}
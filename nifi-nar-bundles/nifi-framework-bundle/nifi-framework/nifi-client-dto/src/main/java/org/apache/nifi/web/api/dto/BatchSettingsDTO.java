@@ -29,6 +29,7 @@ public class BatchSettingsDTO {
     private Integer count;
     private String size;
     private String duration;
+    private Boolean adaptive;
 
     /**
      * @return preferred number of flow files to include in a transaction
@@ -72,5 +73,20 @@ public class BatchSettingsDTO {
         this.duration = duration;
     }
 
+    /**
+     * @return whether the number of flow files in each transaction is adjusted based on observed round-trip time and throughput
+     */
+    @ApiModelProperty(
+            value = "Whether the number of flow files in each transaction is adjusted based on observed round-trip time and throughput. "
+                    + "Only applies when sending to a remote input port. The preferred count and size become upper bounds and the "
+                    + "preferred duration becomes the target duration of each transaction."
+    )
+    public Boolean getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(Boolean adaptive) {
+        this.adaptive = adaptive;
+    }
 
 }
@@ -2900,8 +2900,9 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         long writtenCount = 0L;
 
         try {
-            try (final OutputStream rawOut = contentRepo.write(newClaim);
-                final OutputStream out = new BufferedOutputStream(rawOut)) {
+            // The repository's stream is used directly, rather than being buffered, so that the Content Repository is able to
+            // recognize it as the destination and copy each source claim without reading it into the heap
+            try (final OutputStream out = contentRepo.write(newClaim)) {
 
                 if (header != null && header.length > 0) {
                     out.write(header);
@@ -2768,6 +2768,7 @@ public class StandardVersionedComponentSynchronizer implements VersionedComponen
                     port.setBatchSize(batchSize.getSize());
                     port.setBatchCount(batchSize.getCount());
                     port.setBatchDuration(batchSize.getDuration());
+                    port.setAdaptiveBatching(Boolean.TRUE.equals(batchSize.getAdaptive()));
                 }
                 if (proposedPort.isUseCompression() != null) {
                     port.setUseCompression(proposedPort.isUseCompression());
@@ -2841,6 +2842,7 @@ public class StandardVersionedComponentSynchronizer implements VersionedComponen
             descriptor.setBatchCount(batchSize.getCount());
             descriptor.setBatchDuration(batchSize.getDuration());
             descriptor.setBatchSize(batchSize.getSize());
+            descriptor.setAdaptiveBatching(Boolean.TRUE.equals(batchSize.getAdaptive()));
         }
 
         descriptor.setComments(proposed.getComments());
@@ -758,6 +758,10 @@ public class NiFiRegistryFlowMapper {
         batchSize.setCount(remotePort.getBatchCount());
         batchSize.setDuration(remotePort.getBatchDuration());
         batchSize.setSize(remotePort.getBatchSize());
+        // Only record the flag when enabled so that existing versioned flows do not show a local change
+        if (remotePort.isAdaptiveBatching()) {
+            batchSize.setAdaptive(true);
+        }
         return batchSize;
     }
 
@@ -721,6 +721,9 @@ public class StandardRemoteProcessGroup implements RemoteProcessGroup {
             if (!StringUtils.isBlank(descriptor.getBatchDuration())) {
                 port.setBatchDuration(descriptor.getBatchDuration());
             }
+            if (descriptor.getAdaptiveBatching() != null) {
+                port.setAdaptiveBatching(descriptor.getAdaptiveBatching());
+            }
             port.setVersionedComponentId(descriptor.getVersionedComponentId());
 
             return port;
@@ -802,6 +805,9 @@ public class StandardRemoteProcessGroup implements RemoteProcessGroup {
             if (!StringUtils.isBlank(descriptor.getBatchDuration())) {
                 port.setBatchDuration(descriptor.getBatchDuration());
             }
+            if (descriptor.getAdaptiveBatching() != null) {
+                port.setAdaptiveBatching(descriptor.getAdaptiveBatching());
+            }
             port.setVersionedComponentId(descriptor.getVersionedComponentId());
 
             inputPorts.put(descriptor.getId(), port);
@@ -32,6 +32,7 @@ public class StandardRemoteProcessGroupPortDescriptor implements RemoteProcessGr
     private Integer batchCount;
     private String batchSize;
     private String batchDuration;
+    private Boolean adaptiveBatching;
     private Boolean exists;
     private Boolean targetRunning;
     private Boolean connected;
@@ -135,6 +136,15 @@ public class StandardRemoteProcessGroupPortDescriptor implements RemoteProcessGr
         this.batchDuration = batchDuration;
     }
 
+    @Override
+    public Boolean getAdaptiveBatching() {
+        return adaptiveBatching;
+    }
+
+    public void setAdaptiveBatching(Boolean adaptiveBatching) {
+        this.adaptiveBatching = adaptiveBatching;
+    }
+
     @Override
     public Boolean getExists() {
         return exists;
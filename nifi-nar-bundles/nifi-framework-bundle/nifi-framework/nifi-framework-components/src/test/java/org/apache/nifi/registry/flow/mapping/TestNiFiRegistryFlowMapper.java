@@ -29,12 +29,16 @@ import org.apache.nifi.controller.PropertyConfiguration;
 import org.apache.nifi.controller.ScheduledState;
 import org.apache.nifi.controller.service.ControllerServiceNode;
 import org.apache.nifi.controller.service.ControllerServiceProvider;
+import org.apache.nifi.flow.ComponentType;
 import org.apache.nifi.flow.VersionedProcessor;
+import org.apache.nifi.flow.VersionedRemoteGroupPort;
+import org.apache.nifi.groups.RemoteProcessGroup;
 import org.apache.nifi.logging.LogLevel;
 import org.apache.nifi.nar.ExtensionManager;
 import org.apache.nifi.parameter.ExpressionLanguageAgnosticParameterParser;
 import org.apache.nifi.parameter.ParameterReference;
 import org.apache.nifi.parameter.ParameterTokenList;
+import org.apache.nifi.remote.RemoteGroupPort;
 import org.apache.nifi.scheduling.ExecutionNode;
 import org.apache.nifi.scheduling.SchedulingStrategy;
 import org.junit.Test;
@@ -51,6 +55,7 @@ import java.util.UUID;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -136,6 +141,33 @@ public class TestNiFiRegistryFlowMapper {
         testControllerServicesMapsToProperId(false);
     }
 
+    @Test
+    public void testMappingRemotePortIncludesAdaptiveBatching() {
+        final NiFiRegistryFlowMapper mapper = new NiFiRegistryFlowMapper(mock(ExtensionManager.class), FlowMappingOptions.DEFAULT_OPTIONS);
+
+        final RemoteGroupPort remotePort = createRemoteGroupPort();
+        when(remotePort.isAdaptiveBatching()).thenReturn(true);
+        final VersionedRemoteGroupPort adaptivePort = mapper.mapRemotePort(remotePort, ComponentType.REMOTE_INPUT_PORT);
+        assertEquals(Integer.valueOf(500), adaptivePort.getBatchSize().getCount());
+        assertTrue(adaptivePort.getBatchSize().getAdaptive());
+
+        when(remotePort.isAdaptiveBatching()).thenReturn(false);
+        final VersionedRemoteGroupPort fixedPort = mapper.mapRemotePort(remotePort, ComponentType.REMOTE_INPUT_PORT);
+        assertNull(fixedPort.getBatchSize().getAdaptive());
+    }
+
+    private RemoteGroupPort createRemoteGroupPort() {
+        final RemoteProcessGroup remoteGroup = mock(RemoteProcessGroup.class);
+        when(remoteGroup.getIdentifier()).thenReturn(UUID.randomUUID().toString());
+
+        final RemoteGroupPort remotePort = mock(RemoteGroupPort.class);
+        when(remotePort.getIdentifier()).thenReturn(UUID.randomUUID().toString());
+        when(remotePort.getVersionedComponentId()).thenReturn(Optional.empty());
+        when(remotePort.getRemoteProcessGroup()).thenReturn(remoteGroup);
+        when(remotePort.getName()).thenReturn("Remote Port");
+        when(remotePort.getBatchCount()).thenReturn(500);
+        return remotePort;
+    }
 
     private void testControllerServicesMapsToProperId(final boolean useVersionedId) {
         final ExtensionManager extensionManager = mock(ExtensionManager.class);
@@ -79,6 +79,11 @@ public interface RemoteProcessGroupPortDescriptor {
      */
     String getBatchDuration();
 
+    /**
+     * @return Whether or not the size of each transaction is adjusted based on observed round-trip time and throughput
+     */
+    Boolean getAdaptiveBatching();
+
     /**
      * @return Whether or not the target port exists
      */
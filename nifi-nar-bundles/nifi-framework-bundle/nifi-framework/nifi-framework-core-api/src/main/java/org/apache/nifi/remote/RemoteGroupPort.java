@@ -54,4 +54,8 @@ public abstract class RemoteGroupPort extends AbstractPort implements Port, Remo
     public abstract String getBatchDuration();
 
     public abstract void setBatchDuration(String batchDuration);
+
+    public abstract boolean isAdaptiveBatching();
+
+    public abstract void setAdaptiveBatching(boolean adaptiveBatching);
 }
@@ -712,6 +712,7 @@ public class StandardFlowSnippet implements FlowSnippet {
                     descriptor.setBatchCount(batchSettings.getCount());
                     descriptor.setBatchSize(batchSettings.getSize());
                     descriptor.setBatchDuration(batchSettings.getDuration());
+                    descriptor.setAdaptiveBatching(batchSettings.getAdaptive());
                 }
                 remotePorts.add(descriptor);
             }
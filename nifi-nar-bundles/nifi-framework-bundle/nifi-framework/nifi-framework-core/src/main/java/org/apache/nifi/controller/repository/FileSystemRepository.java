@@ -46,6 +46,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -800,27 +801,35 @@ public class FileSystemRepository implements ContentRepository {
             throw new IllegalArgumentException("destination cannot be within claims");
         }
 
-        try (final ByteCountingOutputStream out = new ByteCountingOutputStream(write(destination))) {
+        try (final OutputStream out = write(destination)) {
+            long bytesWritten = 0L;
             if (header != null) {
                 out.write(header);
+                bytesWritten += header.length;
             }
 
             int i = 0;
             for (final ContentClaim claim : claims) {
-                try (final InputStream in = read(claim)) {
-                    StreamUtils.copy(in, out);
+                if (isTransferSupported(out)) {
+                    bytesWritten += transferTo(claim, (ContentRepositoryOutputStream) out, 0L, size(claim));
+                } else {
+                    try (final InputStream in = read(claim)) {
+                        bytesWritten += StreamUtils.copy(in, out);
+                    }
                 }
 
                 if (++i < claims.size() && demarcator != null) {
                     out.write(demarcator);
+                    bytesWritten += demarcator.length;
                 }
             }
 
             if (footer != null) {
                 out.write(footer);
+                bytesWritten += footer.length;
             }
 
-            return out.getBytesWritten();
+            return bytesWritten;
         }
     }
 
@@ -896,6 +905,10 @@ public class FileSystemRepository implements ContentRepository {
             return 0L;
         }
 
+        if (isTransferSupported(destination)) {
+            return transferTo(claim, (ContentRepositoryOutputStream) destination, 0L, size(claim));
+        }
+
         try (final InputStream in = read(claim)) {
             return StreamUtils.copy(in, destination);
         }
@@ -913,6 +926,9 @@ public class FileSystemRepository implements ContentRepository {
         if (offset == 0 && length == claimSize) {
             return exportTo(claim, destination);
         }
+        if (isTransferSupported(destination)) {
+            return transferTo(claim, (ContentRepositoryOutputStream) destination, offset, Math.min(length, claimSize - offset));
+        }
         try (final InputStream in = read(claim)) {
             StreamUtils.skip(in, offset);
             final byte[] buffer = new byte[8192];
@@ -926,6 +942,21 @@ public class FileSystemRepository implements ContentRepository {
         }
     }
 
+    private boolean isTransferSupported(final OutputStream destination) {
+        return destination instanceof ContentRepositoryOutputStream && ((ContentRepositoryOutputStream) destination).isTransferSupported();
+    }
+
+    /**
+     * Appends the given range of the claim's content to another claim of this repository. The bytes are moved from one file to the
+     * other with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} rather than being copied through
+     * the heap, so that merging content costs no more than the operating system's copy of the bytes.
+     */
+    private long transferTo(final ContentClaim claim, final ContentRepositoryOutputStream destination, final long offset, final long length) throws IOException {
+        try (final FileInputStream in = (FileInputStream) getInputStream(claim)) {
+            return destination.transferFrom(in.getChannel(), claim.getOffset() + offset, length);
+        }
+    }
+
     @Override
     public long size(final ContentClaim claim) throws IOException {
         if (claim == null) {
@@ -2026,6 +2057,39 @@ public class FileSystemRepository implements ContentRepository {
             scc.setLength(bytesWritten + initialLength);
         }
 
+        /**
+         * @return <code>true</code> if the bytes of other claims can be transferred to this stream as they are stored on disk
+         */
+        protected boolean isTransferSupported() {
+            return true;
+        }
+
+        /**
+         * Writes the given region of the source file to the claim without copying it through the heap
+         *
+         * @param source the file to read from
+         * @param position the offset into the source file at which to start
+         * @param count the number of bytes to write
+         * @return the number of bytes written
+         * @throws IOException if unable to read from the source or write to the claim
+         */
+        public synchronized long transferFrom(final FileChannel source, final long position, final long count) throws IOException {
+            if (closed) {
+                throw new IOException("Stream is closed");
+            }
+
+            try {
+                bcos.transferFrom(source, position, count);
+            } catch (final IOException ioe) {
+                recycle = false;
+                throw new IOException("Failed to write to " + this, ioe);
+            }
+
+            bytesWritten += count;
+            scc.setLength(bytesWritten + initialLength);
+            return count;
+        }
+
         @Override
         public synchronized void flush() throws IOException {
             if (closed) {
@@ -250,6 +250,12 @@ public class EncryptedFileSystemRepository extends FileSystemRepository {
             return "EncryptedFileSystemRepository Stream [" + scc + "]";
         }
 
+        @Override
+        protected boolean isTransferSupported() {
+            // content of other claims is encrypted with a different key identifier, so it must be decrypted and encrypted again
+            return false;
+        }
+
         @Override
         public synchronized void write(final int b) throws IOException {
             ByteBuffer bb = ByteBuffer.allocate(4);
@@ -477,6 +477,7 @@ public class FlowFromDOMFactory {
         descriptor.setBatchCount(getOptionalInt(element, "batchCount"));
         descriptor.setBatchSize(getString(element, "batchSize"));
         descriptor.setBatchDuration(getString(element, "batchDuration"));
+        descriptor.setAdaptiveBatching(getBoolean(element, "adaptiveBatching"));
         descriptor.setTransmitting("RUNNING".equalsIgnoreCase(getString(element, "scheduledState")));
 
         return descriptor;
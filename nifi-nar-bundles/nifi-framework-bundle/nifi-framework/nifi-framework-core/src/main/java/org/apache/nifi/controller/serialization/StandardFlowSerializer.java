@@ -445,6 +445,9 @@ public class StandardFlowSerializer implements FlowSerializer<Document> {
         if (batchDuration != null && batchDuration.length() > 0) {
             addTextElement(element, "batchDuration", batchDuration);
         }
+        if (port.isAdaptiveBatching()) {
+            addTextElement(element, "adaptiveBatching", String.valueOf(true));
+        }
 
         parentElement.appendChild(element);
     }
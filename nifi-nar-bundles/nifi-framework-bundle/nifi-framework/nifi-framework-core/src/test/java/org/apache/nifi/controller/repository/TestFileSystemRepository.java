@@ -470,6 +470,35 @@ public class TestFileSystemRepository {
         assertTrue(Arrays.equals(Files.readAllBytes(helloWorldFile.toPath()), data));
     }
 
+    @Test
+    public void testExportRangeToClaim() throws IOException {
+        final ContentClaim source = repository.create(true);
+        try (final OutputStream out = repository.write(source)) {
+            out.write("0123456789".getBytes(StandardCharsets.UTF_8));
+        }
+
+        final ContentClaim destination = repository.create(true);
+        try (final OutputStream out = repository.write(destination)) {
+            out.write('[');
+            assertEquals(4L, repository.exportTo(source, out, 3L, 4L));
+            out.write(']');
+        }
+        assertEquals(6L, destination.getLength());
+
+        // a claim that is written to the same file afterwards must begin after the transferred bytes
+        final ContentClaim next = repository.create(true);
+        try (final OutputStream out = repository.write(next)) {
+            out.write("next".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (final InputStream in = repository.read(destination)) {
+            assertArrayEquals("[3456]".getBytes(StandardCharsets.UTF_8), readFully(in, 16));
+        }
+        try (final InputStream in = repository.read(next)) {
+            assertArrayEquals("next".getBytes(StandardCharsets.UTF_8), readFully(in, 16));
+        }
+    }
+
     @Test
     public void testExportToFile() throws IOException {
         final ContentClaim claim = repository.create(true);
@@ -35,6 +35,7 @@ import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.InputStreamCallback;
+import org.apache.nifi.remote.client.AdaptiveBatchSizer;
 import org.apache.nifi.remote.client.SiteToSiteClient;
 import org.apache.nifi.remote.client.SiteToSiteClientConfig;
 import org.apache.nifi.remote.exception.PortNotRunningException;
@@ -80,6 +81,7 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
     private final AtomicReference<Integer> batchCount = new AtomicReference<>();
     private final AtomicReference<String> batchSize = new AtomicReference<>();
     private final AtomicReference<String> batchDuration = new AtomicReference<>();
+    private final AtomicBoolean adaptiveBatching = new AtomicBoolean(false);
     private final AtomicBoolean targetExists = new AtomicBoolean(true);
     private final AtomicBoolean targetRunning = new AtomicBoolean(true);
     private final SSLContext sslContext;
@@ -87,6 +89,7 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
     private volatile String targetId;
 
     private final AtomicReference<SiteToSiteClient> clientRef = new AtomicReference<>();
+    private final AtomicReference<AdaptiveBatchSizer> batchSizerRef = new AtomicReference<>();
 
     SiteToSiteClient getSiteToSiteClient() {
         return clientRef.get();
@@ -189,7 +192,26 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
             clientBuilder.requestBatchDuration(FormatUtils.getTimeDuration(batchDuration.trim(), TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
         }
 
-        clientRef.set(clientBuilder.build());
+        clientBuilder.adaptiveBatching(isAdaptiveBatching());
+
+        final SiteToSiteClient client = clientBuilder.build();
+        clientRef.set(client);
+        batchSizerRef.set(createBatchSizer(client.getConfig()));
+    }
+
+    private AdaptiveBatchSizer createBatchSizer(final SiteToSiteClientConfig config) {
+        // Only the sending side controls the size of a Transaction; when receiving, the remote instance decides
+        if (!config.isAdaptiveBatching() || transferDirection != TransferDirection.SEND) {
+            return null;
+        }
+
+        final long preferredBatchDuration = config.getPreferredBatchDuration(TimeUnit.NANOSECONDS);
+        final long targetNanos = preferredBatchDuration > 0 ? preferredBatchDuration : BATCH_SEND_NANOS;
+        final int preferredBatchCount = config.getPreferredBatchCount();
+        final int maxBatchCount = preferredBatchCount > 0 ? preferredBatchCount : AdaptiveBatchSizer.DEFAULT_MAX_BATCH_COUNT;
+        final int initialBatchCount = Math.min(maxBatchCount, AdaptiveBatchSizer.DEFAULT_INITIAL_BATCH_COUNT);
+
+        return new AdaptiveBatchSizer(targetNanos, TimeUnit.NANOSECONDS, 1, initialBatchCount, maxBatchCount);
     }
 
     @Override
@@ -309,11 +331,24 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
             long bytesSent = 0L;
 
             final SiteToSiteClientConfig siteToSiteClientConfig = getSiteToSiteClient().getConfig();
-            final long maxBatchBytes = siteToSiteClientConfig.getPreferredBatchSize();
-            final int maxBatchCount = siteToSiteClientConfig.getPreferredBatchCount();
             final long preferredBatchDuration = siteToSiteClientConfig.getPreferredBatchDuration(TimeUnit.NANOSECONDS);
-            final long maxBatchDuration = preferredBatchDuration > 0 ? preferredBatchDuration : BATCH_SEND_NANOS;
-
+            final AdaptiveBatchSizer batchSizer = batchSizerRef.get();
+
+            final long maxBatchBytes;
+            final int maxBatchCount;
+            final long maxBatchDuration;
+            if (batchSizer == null) {
+                maxBatchBytes = siteToSiteClientConfig.getPreferredBatchSize();
+                maxBatchCount = siteToSiteClientConfig.getPreferredBatchCount();
+                maxBatchDuration = preferredBatchDuration > 0 ? preferredBatchDuration : BATCH_SEND_NANOS;
+            } else {
+                final long preferredBatchBytes = siteToSiteClientConfig.getPreferredBatchSize();
+                final long adaptiveBatchBytes = batchSizer.getBatchSize();
+                maxBatchBytes = preferredBatchBytes > 0 && (adaptiveBatchBytes <= 0 || preferredBatchBytes < adaptiveBatchBytes) ? preferredBatchBytes : adaptiveBatchBytes;
+                maxBatchCount = batchSizer.getBatchCount();
+                // Duration remains a safety net in case the transfer rate drops sharply in the middle of a Transaction
+                maxBatchDuration = 2 * batchSizer.getTargetDuration(TimeUnit.NANOSECONDS);
+            }
 
             final Set<FlowFile> flowFilesSent = new HashSet<>();
             boolean continueTransaction = true;
@@ -356,6 +391,7 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
                 continueTransaction = (flowFile != null);
             }
 
+            final long transferCompleteNanos = System.nanoTime();
             transaction.confirm();
 
             // consume input stream entirely, ignoring its contents. If we
@@ -368,6 +404,12 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
             transaction.complete();
             session.commitAsync();
 
+            if (batchSizer != null) {
+                final long completeNanos = System.nanoTime();
+                batchSizer.recordTransaction(flowFilesSent.size(), bytesSent, transferCompleteNanos - startSendingNanos, completeNanos - transferCompleteNanos);
+                logger.debug("{} Adjusted batch sizing to {}", this, batchSizer);
+            }
+
             final String flowFileDescription = (flowFilesSent.size() < 20) ? flowFilesSent.toString() : flowFilesSent.size() + " FlowFiles";
             logger.info("{} Successfully sent {} ({}) to {} in {} milliseconds at a rate of {}",
                 this, flowFileDescription, dataSize, transaction.getCommunicant().getUrl(), uploadMillis, uploadDataRate);
@@ -556,6 +598,16 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
         this.batchDuration.set(batchDuration);
     }
 
+    @Override
+    public boolean isAdaptiveBatching() {
+        return adaptiveBatching.get();
+    }
+
+    @Override
+    public void setAdaptiveBatching(final boolean adaptiveBatching) {
+        this.adaptiveBatching.set(adaptiveBatching);
+    }
+
     @Override
     public String toString() {
         return "RemoteGroupPort[name=" + getName() + ",targets=" + remoteGroup.getTargetUris() + "]";
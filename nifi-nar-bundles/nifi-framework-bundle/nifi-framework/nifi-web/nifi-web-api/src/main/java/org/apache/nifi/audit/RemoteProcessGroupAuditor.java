@@ -102,6 +102,9 @@ public class RemoteProcessGroupAuditor extends NiFiAuditor {
                     .setConvertName(PORT_NAME_CONVERT),
             new ConfigurationRecorder<RemoteGroupPort, RemoteProcessGroupPortDTO>("Batch Duration",
                     dto -> dto.getBatchSettings() != null && dto.getBatchSettings().getDuration() != null, RemoteGroupPort::getBatchDuration)
+                    .setConvertName(PORT_NAME_CONVERT),
+            new ConfigurationRecorder<RemoteGroupPort, RemoteProcessGroupPortDTO>("Adaptive Batching",
+                    dto -> dto.getBatchSettings() != null && dto.getBatchSettings().getAdaptive() != null, RemoteGroupPort::isAdaptiveBatching)
                     .setConvertName(PORT_NAME_CONVERT)
     );
 
@@ -1815,6 +1815,7 @@ public final class DtoFactory {
         batchDTO.setCount(port.getBatchCount());
         batchDTO.setSize(port.getBatchSize());
         batchDTO.setDuration(port.getBatchDuration());
+        batchDTO.setAdaptive(port.isAdaptiveBatching());
         dto.setBatchSettings(batchDTO);
 
         // determine if this port is currently connected to another component locally
@@ -4335,6 +4336,7 @@ public final class DtoFactory {
             batchCopy.setCount(batchOrg.getCount());
             batchCopy.setSize(batchOrg.getSize());
             batchCopy.setDuration(batchOrg.getDuration());
+            batchCopy.setAdaptive(batchOrg.getAdaptive());
             copy.setBatchSettings(batchCopy);
         }
         return copy;
@@ -361,6 +361,9 @@ public class StandardRemoteProcessGroupDAO extends ComponentDAO implements Remot
             port.setBatchCount(batchSettingsDTO.getCount());
             port.setBatchSize(batchSettingsDTO.getSize());
             port.setBatchDuration(batchSettingsDTO.getDuration());
+            if (isNotNull(batchSettingsDTO.getAdaptive())) {
+                port.setAdaptiveBatching(batchSettingsDTO.getAdaptive());
+            }
         }
 
         final Boolean isTransmitting = remoteProcessGroupPortDto.isTransmitting();
@@ -442,6 +442,9 @@ public class TestRemoteProcessGroupAuditor {
             when(updatedRPGPort.getBatchCount()).thenReturn(batchSettings.getCount());
             when(updatedRPGPort.getBatchSize()).thenReturn(batchSettings.getSize());
             when(updatedRPGPort.getBatchDuration()).thenReturn(batchSettings.getDuration());
+            if (batchSettings.getAdaptive() != null) {
+                when(updatedRPGPort.isAdaptiveBatching()).thenReturn(batchSettings.getAdaptive());
+            }
         }
 
         when(joinPoint.proceed()).thenReturn(updatedRPGPort);
@@ -593,4 +596,23 @@ public class TestRemoteProcessGroupAuditor {
         assertEquals(Operation.Configure, action.getOperation());
         assertConfigureDetails(action.getActionDetails(), "input-port-1.Batch Duration", "", "10sec");
     }
+
+    @Test
+    public void testConfigurePortAdaptiveBatching() throws Throwable {
+
+        final RemoteGroupPort existingRPGPort = defaultRemoteGroupPort();
+        when(existingRPGPort.getName()).thenReturn("input-port-1");
+
+        final RemoteProcessGroupPortDTO inputRPGPortDTO = defaultRemoteProcessGroupPortDTO();
+        final BatchSettingsDTO batchSettingsDTO = new BatchSettingsDTO();
+        batchSettingsDTO.setAdaptive(true);
+        inputRPGPortDTO.setBatchSettings(batchSettingsDTO);
+
+        final Collection<Action> actions = updateProcessGroupInputPortConfiguration(inputRPGPortDTO, existingRPGPort);
+
+        assertEquals(1, actions.size());
+        final Action action = actions.iterator().next();
+        assertEquals(Operation.Configure, action.getOperation());
+        assertConfigureDetails(action.getActionDetails(), "input-port-1.Adaptive Batching", "false", "true");
+    }
 }
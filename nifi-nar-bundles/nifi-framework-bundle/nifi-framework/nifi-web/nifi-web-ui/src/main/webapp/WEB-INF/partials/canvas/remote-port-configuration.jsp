@@ -71,6 +71,11 @@
                 </div>
             </div>
             <div class="clear"></div>
+            <div id="remote-port-adaptive-batching-container">
+                <div id="remote-port-adaptive-batching" class="nf-checkbox"></div>
+                <span class="nf-checkbox-label">Adaptive</span>
+                <div class="fa fa-question-circle" alt="Info" title="Whether the number of flow files in each transaction is adjusted based on observed round-trip time and throughput. Count and size become upper bounds and duration becomes the target duration of each transaction."></div>
+            </div>
         </div>
     </div>
 </div>
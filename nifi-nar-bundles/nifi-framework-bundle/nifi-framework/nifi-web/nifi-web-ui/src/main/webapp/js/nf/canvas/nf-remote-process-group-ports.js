@@ -89,6 +89,17 @@
                         }
 
                         if (portValidationErrors.length == 0) {
+                            var batchSettings = {
+                                count: remotePortBatchCount,
+                                size: $('#remote-port-batch-size').val(),
+                                duration: $('#remote-port-batch-duration').val()
+                            };
+
+                            // only the sending side controls the size of a transaction
+                            if ($('#remote-port-type').text() === 'input') {
+                                batchSettings.adaptive = $('#remote-port-adaptive-batching').hasClass('checkbox-checked');
+                            }
+
                             var remoteProcessGroupId = $('#remote-process-group-ports-id').text();
                             var remoteProcessGroupData = d3.select('#id-' + remoteProcessGroupId).datum();
                             var remotePortId = $('#remote-port-id').text();
@@ -102,11 +113,7 @@
                                     groupId: remoteProcessGroupId,
                                     useCompression: $('#remote-port-use-compression').hasClass('checkbox-checked'),
                                     concurrentlySchedulableTaskCount: remotePortConcurrentTasks,
-                                    batchSettings : {
-                                        count: remotePortBatchCount,
-                                        size: $('#remote-port-batch-size').val(),
-                                        duration: $('#remote-port-batch-duration').val()
-                                    }
+                                    batchSettings : batchSettings
                                 }
                             };
 
@@ -145,6 +152,7 @@
                                 $('#' + remotePortId + '-batch-count').text(batchSettings.count);
                                 $('#' + remotePortId + '-batch-size').text(batchSettings.size);
                                 $('#' + remotePortId + '-batch-duration').text(batchSettings.duration);
+                                $('#' + remotePortId + '-batch-adaptive').text(batchSettings.adaptive);
 
                                 // close the dialog
                                 $('#remote-port-configuration').modal('hide');
@@ -183,6 +191,7 @@
                     $('#remote-port-batch-count').val('');
                     $('#remote-port-batch-size').val('');
                     $('#remote-port-batch-duration').val('');
+                    $('#remote-port-adaptive-batching').removeClass('checkbox-checked checkbox-unchecked');
                 }
             }
         });
@@ -241,7 +250,7 @@
     };
 
     /**
-     * Create and return an object contains count, size and duration values to display.
+     * Create and return an object contains count, size, duration and adaptive values to display.
      * If port does not have batch settings or batch setting value is not defined, 'No value set' is displayed.
      */
     var getBatchSettingsDisplayValues = function (port) {
@@ -251,11 +260,13 @@
             values.count = typeof(batchSettings.count) === 'number' ? batchSettings.count : 'No value set';
             values.size = batchSettings.size ? batchSettings.size : 'No value set';
             values.duration = batchSettings.duration ? batchSettings.duration : 'No value set';
+            values.adaptive = batchSettings.adaptive === true ? 'Yes' : 'No';
         } else {
             // if it doesn't have batch settings, clear values
             values.count = 'No value set';
             values.size = 'No value set';
             values.duration = 'No value set';
+            values.adaptive = 'No';
         }
         return values;
     }
@@ -319,9 +330,10 @@
                         var batchCount = $('#' + portId + '-batch-count').text();
                         var batchSize = $('#' + portId + '-batch-size').text();
                         var batchDuration = $('#' + portId + '-batch-duration').text();
+                        var batchAdaptive = $('#' + portId + '-batch-adaptive').text() === 'Yes';
 
                         // show the configuration dialog
-                        configureRemotePort(port.id, portName, portConcurrentTasks, portCompression, batchCount, batchSize, batchDuration, portType);
+                        configureRemotePort(port.id, portName, portConcurrentTasks, portCompression, batchCount, batchSize, batchDuration, batchAdaptive, portType);
                     }).appendTo(portContainerEditContainer);
 
                     // show/hide the edit button as appropriate
@@ -539,6 +551,17 @@
             '</div>' +
             '</div>').append(batchDuration).appendTo(batchSettingsContainer);
 
+        // add this ports adaptive batching, only the sending side controls the size of a transaction
+        if (portType === 'input') {
+            var batchAdaptive = $('<div class="setting-field"></div>').append($('<div id="' + portId + '-batch-adaptive"></div>').text(batchSettings.adaptive));
+            $('<div class="batch-setting">' +
+                '<div class="setting-name">' +
+                'Adaptive' +
+                '<div class="processor-setting"></div>' +
+                '</div>' +
+                '</div>').append(batchAdaptive).appendTo(batchSettingsContainer);
+        }
+
         // clear
         $('<div class="clear"></div>').appendTo(portContainer);
 
@@ -559,9 +582,10 @@
      * @argument {int} batchCount           The flow file count in a batch transaction
      * @argument {string} batchSize         The size of flow files in a batch transaction
      * @argument {string} batchDuration     The duration of a batch transaction
+     * @argument {boolean} batchAdaptive    Whether the size of a batch transaction is adjusted based on observed throughput
      * @argument {string} portType          The type of port this is
      */
-    var configureRemotePort = function (portId, portName, portConcurrentTasks, portCompression, batchCount, batchSize, batchDuration, portType) {
+    var configureRemotePort = function (portId, portName, portConcurrentTasks, portCompression, batchCount, batchSize, batchDuration, batchAdaptive, portType) {
         // set port identifiers
         $('#remote-port-id').text(portId);
         $('#remote-port-type').text(portType);
@@ -577,6 +601,14 @@
         $('#remote-port-batch-size').val(batchSize === 'No value set' ? null : batchSize);
         $('#remote-port-batch-duration').val(batchDuration === 'No value set' ? null : batchDuration);
 
+        // adaptive batching only applies when sending to a remote input port
+        if (portType === 'input') {
+            $('#remote-port-adaptive-batching').addClass(batchAdaptive === true ? 'checkbox-checked' : 'checkbox-unchecked');
+            $('#remote-port-adaptive-batching-container').show();
+        } else {
+            $('#remote-port-adaptive-batching-container').hide();
+        }
+
         // set the port name
         $('#remote-port-name').text(portName).ellipsis();
 
@@ -39,6 +39,8 @@ import org.apache.nifi.annotation.notification.OnPrimaryNodeStateChange;
 import org.apache.nifi.annotation.notification.PrimaryNodeState;
 import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.components.ValidationContext;
+import org.apache.nifi.components.ValidationResult;
 import org.apache.nifi.components.state.Scope;
 import org.apache.nifi.components.state.StateMap;
 import org.apache.nifi.expression.ExpressionLanguageScope;
@@ -67,6 +69,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -191,7 +194,16 @@ public class ListGCSBucket extends AbstractGCSProcessor {
     public static final PropertyDescriptor TRACKING_STATE_CACHE = new PropertyDescriptor.Builder()
         .fromPropertyDescriptor(ListedEntityTracker.TRACKING_STATE_CACHE)
         .dependsOn(LISTING_STRATEGY, BY_ENTITIES)
-        .required(true)
+        .build();
+
+    public static final PropertyDescriptor TRACKING_STATE_DIRECTORY = new PropertyDescriptor.Builder()
+        .fromPropertyDescriptor(ListedEntityTracker.TRACKING_STATE_DIRECTORY)
+        .dependsOn(LISTING_STRATEGY, BY_ENTITIES)
+        .build();
+
+    public static final PropertyDescriptor TRACKING_STATE_PARTITIONS = new PropertyDescriptor.Builder()
+        .fromPropertyDescriptor(ListedEntityTracker.TRACKING_STATE_PARTITIONS)
+        .dependsOn(LISTING_STRATEGY, BY_ENTITIES)
         .build();
 
     public static final PropertyDescriptor INITIAL_LISTING_TARGET = new PropertyDescriptor.Builder()
@@ -249,6 +261,8 @@ public class ListGCSBucket extends AbstractGCSProcessor {
         final List<PropertyDescriptor> descriptors = new ArrayList<>();
         descriptors.add(LISTING_STRATEGY);
         descriptors.add(TRACKING_STATE_CACHE);
+        descriptors.add(TRACKING_STATE_DIRECTORY);
+        descriptors.add(TRACKING_STATE_PARTITIONS);
         descriptors.add(INITIAL_LISTING_TARGET);
         descriptors.add(TRACKING_TIME_WINDOW);
         descriptors.add(BUCKET);
@@ -259,6 +273,13 @@ public class ListGCSBucket extends AbstractGCSProcessor {
         return Collections.unmodifiableList(descriptors);
     }
 
+    @Override
+    protected void customValidate(final ValidationContext validationContext, final Collection<ValidationResult> results) {
+        if (BY_ENTITIES.getValue().equals(validationContext.getProperty(LISTING_STRATEGY).getValue())) {
+            ListedEntityTracker.validateProperties(validationContext, results, Scope.CLUSTER);
+        }
+    }
+
     private static final Set<Relationship> relationships = Collections.singleton(REL_SUCCESS);
 
     @Override
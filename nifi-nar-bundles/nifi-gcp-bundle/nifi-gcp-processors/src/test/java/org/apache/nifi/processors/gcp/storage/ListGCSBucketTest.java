@@ -31,10 +31,12 @@ import org.apache.nifi.util.LogMessage;
 import org.apache.nifi.util.MockFlowFile;
 import org.apache.nifi.util.TestRunner;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -153,6 +155,20 @@ public class ListGCSBucketTest extends AbstractGCSTest {
 
     }
 
+    @Test
+    public void testTrackingEntitiesRequiresTrackingState(@TempDir final Path trackingStateDirectory) throws Exception {
+        reset(storage);
+        final ListGCSBucket processor = getProcessor();
+        final TestRunner runner = buildNewRunner(processor);
+        addRequiredPropertiesToRunner(runner);
+        runner.setProperty(ListGCSBucket.LISTING_STRATEGY, ListGCSBucket.BY_ENTITIES);
+
+        runner.assertNotValid();
+
+        runner.setProperty(ListGCSBucket.TRACKING_STATE_DIRECTORY, trackingStateDirectory.toString());
+        runner.assertValid();
+    }
+
     @Test
     public void testRestorePreviousState() throws Exception {
         reset(storage);
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.orc;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.nifi.annotation.documentation.CapabilityDescription;
+import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.components.ValidationResult;
+import org.apache.nifi.components.Validator;
+import org.apache.nifi.context.PropertyContext;
+import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.expression.ExpressionLanguageScope;
+import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.orc.record.OrcRecordReader;
+import org.apache.nifi.orc.utils.OrcFilterParser;
+import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.serialization.RecordReader;
+import org.apache.nifi.serialization.RecordReaderFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Tags({"orc", "parse", "record", "row", "reader"})
+@CapabilityDescription("Parses ORC data and returns each ORC row as a separate Record object. The schema will come from the ORC data itself. "
+        + "Columns are read directly into Records, and only the columns of the projected fields are read.")
+public class OrcReader extends AbstractControllerService implements RecordReaderFactory {
+
+    private static final Validator FILTER_EXPRESSION_VALIDATOR = (subject, input, context) -> {
+        if (context.isExpressionLanguageSupported(subject) && context.isExpressionLanguagePresent(input)) {
+            return new ValidationResult.Builder().subject(subject).input(input).explanation("Expression Language Present").valid(true).build();
+        }
+
+        try {
+            // the column types are only known once a file is read, so only the syntax can be validated here
+            new OrcFilterParser(input, null).parse();
+            return new ValidationResult.Builder().subject(subject).input(input).valid(true).build();
+        } catch (final IllegalArgumentException e) {
+            return new ValidationResult.Builder().subject(subject).input(input).explanation(e.getMessage()).valid(false).build();
+        }
+    };
+
+    public static final PropertyDescriptor PROJECTED_FIELDS = new PropertyDescriptor.Builder()
+            .name("projected-fields")
+            .displayName("Projected Fields")
+            .description("A comma-separated list of the top-level fields to read. Only the columns of these fields, and of any fields referenced by "
+                    + "the Filter Expression, are read and decoded, and Records contain only these fields. "
+                    + "Fields that do not exist in the ORC data are ignored. If not set, all fields are read.")
+            .addValidator(StandardValidators.NON_BLANK_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.FLOWFILE_ATTRIBUTES)
+            .required(false)
+            .build();
+
+    public static final PropertyDescriptor FILTER_EXPRESSION = new PropertyDescriptor.Builder()
+            .name("filter-expression")
+            .displayName("Filter Expression")
+            .description("An expression that rows must match in order to be returned, such as: age >= 21 AND (state = 'CA' OR state IS NULL). "
+                    + "Top-level columns are compared with =, !=, <, <=, > and >= to numbers, quoted strings, TRUE or FALSE, and combined using AND, OR and NOT. "
+                    + "Dates and timestamps may be compared to quoted values such as '2022-01-31' and '2022-01-31T12:00:00Z'. "
+                    + "As in SQL, a comparison with a null value never matches. ORC skips entire stripes and row groups whose statistics show "
+                    + "that no row can match, and the remaining rows are then filtered individually.")
+            .addValidator(FILTER_EXPRESSION_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.FLOWFILE_ATTRIBUTES)
+            .required(false)
+            .build();
+
+    @Override
+    public RecordReader createRecordReader(final Map<String, String> variables, final InputStream in, final long inputLength, final ComponentLog logger) throws IOException {
+        final PropertyContext context = getConfigurationContext();
+
+        final String projection = context.getProperty(PROJECTED_FIELDS).evaluateAttributeExpressions(variables).getValue();
+        final List<String> projectedFields = projection == null ? null : Stream.of(projection.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toList());
+
+        final String filter = context.getProperty(FILTER_EXPRESSION).evaluateAttributeExpressions(variables).getValue();
+        final String filterExpression = filter == null || filter.trim().isEmpty() ? null : filter;
+
+        return new OrcRecordReader(in, inputLength, new Configuration(), projectedFields, filterExpression);
+    }
+
+    @Override
+    protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
+        final List<PropertyDescriptor> properties = new ArrayList<>();
+        properties.add(PROJECTED_FIELDS);
+        properties.add(FILTER_EXPRESSION);
+        return properties;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.orc;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.nifi.annotation.documentation.CapabilityDescription;
+import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnEnabled;
+import org.apache.nifi.components.AllowableValue;
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.orc.record.WriteOrcResult;
+import org.apache.nifi.processor.DataUnit;
+import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.orc.PutORC;
+import org.apache.nifi.serialization.RecordSetWriter;
+import org.apache.nifi.serialization.RecordSetWriterFactory;
+import org.apache.nifi.serialization.SchemaRegistryRecordSetWriter;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.orc.CompressionKind;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Tags({"orc", "result", "set", "writer", "serializer", "record", "recordset", "row"})
+@CapabilityDescription("Writes the contents of a RecordSet in ORC format. Record values are written directly to the ORC column vectors. "
+        + "Times are written as the number of milliseconds since midnight, and choices as ORC union types.")
+public class OrcRecordSetWriter extends SchemaRegistryRecordSetWriter implements RecordSetWriterFactory {
+
+    public static final PropertyDescriptor COMPRESSION_TYPE = new PropertyDescriptor.Builder()
+            .name("orc-compression-type")
+            .displayName("Compression Type")
+            .description("The type of compression to use for the ORC data")
+            .allowableValues(PutORC.COMPRESSION_TYPES.toArray(new AllowableValue[0]))
+            .defaultValue("NONE")
+            .required(true)
+            .build();
+
+    public static final PropertyDescriptor STRIPE_SIZE = new PropertyDescriptor.Builder()
+            .name("orc-stripe-size")
+            .displayName("Stripe Size")
+            .description("The size of the memory buffer (in bytes) for writing stripes to an ORC file")
+            .required(true)
+            .addValidator(StandardValidators.DATA_SIZE_VALIDATOR)
+            .defaultValue("64 MB")
+            .build();
+
+    public static final PropertyDescriptor BUFFER_SIZE = new PropertyDescriptor.Builder()
+            .name("orc-buffer-size")
+            .displayName("Buffer Size")
+            .description("The maximum size of the memory buffers (in bytes) used for compressing and storing a stripe in memory. This is a hint to the ORC writer, "
+                    + "which may choose to use a smaller buffer size based on stripe size and number of columns for efficient stripe writing and memory utilization.")
+            .required(true)
+            .addValidator(StandardValidators.DATA_SIZE_VALIDATOR)
+            .defaultValue("10 KB")
+            .build();
+
+    private CompressionKind compression;
+    private long stripeSize;
+    private int bufferSize;
+
+    @OnEnabled
+    public void onEnabled(final ConfigurationContext context) {
+        compression = CompressionKind.valueOf(context.getProperty(COMPRESSION_TYPE).getValue());
+        stripeSize = context.getProperty(STRIPE_SIZE).asDataSize(DataUnit.B).longValue();
+        bufferSize = context.getProperty(BUFFER_SIZE).asDataSize(DataUnit.B).intValue();
+    }
+
+    @Override
+    public RecordSetWriter createWriter(final ComponentLog logger, final RecordSchema recordSchema,
+                                        final OutputStream out, final Map<String, String> variables) throws IOException {
+        return new WriteOrcResult(recordSchema, out, new Configuration(), compression, stripeSize, bufferSize);
+    }
+
+    @Override
+    protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
+        final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
+        properties.add(COMPRESSION_TYPE);
+        properties.add(STRIPE_SIZE);
+        properties.add(BUFFER_SIZE);
+        return properties;
+    }
+}
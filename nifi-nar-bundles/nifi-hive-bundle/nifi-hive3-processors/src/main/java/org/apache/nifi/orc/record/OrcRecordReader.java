@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.orc.record;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.MapColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.StructColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.UnionColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.nifi.orc.stream.NifiOrcFileSystem;
+import org.apache.nifi.orc.utils.OrcFilter;
+import org.apache.nifi.orc.utils.OrcFilterParser;
+import org.apache.nifi.orc.utils.OrcSchemaConverter;
+import org.apache.nifi.serialization.RecordReader;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.ChoiceDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.apache.orc.OrcFile;
+import org.apache.orc.Reader;
+import org.apache.orc.TypeDescription;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RecordReader that reads ORC column vectors directly into NiFi Records. Supports reading only a subset of the top-level
+ * fields, in which case the columns of the other fields are never read or decoded, and a filter expression that ORC uses
+ * to skip stripes and row groups based on their statistics before the remaining rows are filtered.
+ */
+public class OrcRecordReader implements RecordReader {
+
+    private final InputStream inputStream;
+    private final org.apache.orc.RecordReader rows;
+    private final VectorizedRowBatch batch;
+    private final RecordSchema recordSchema;
+    private final int[] columnIndexes;
+    private final TypeDescription[] columnTypes;
+    private final OrcFilter filter;
+    private int row = 0;
+
+    /**
+     * @param inputStream the ORC content, which must support mark/reset
+     * @param inputLength the length of the content
+     * @param configuration the Hadoop configuration for the ORC reader
+     * @param projectedFields the top-level fields to read, or <code>null</code> or empty to read all fields
+     * @param filterExpression an expression understood by {@link OrcFilterParser}, or <code>null</code> to read all rows
+     * @throws IOException if unable to read the ORC file tail
+     */
+    public OrcRecordReader(final InputStream inputStream, final long inputLength, final Configuration configuration,
+                           final Collection<String> projectedFields, final String filterExpression) throws IOException {
+        if (inputLength < 0) {
+            throw new IllegalArgumentException("Invalid input length of '" + inputLength + "'. This record reader requires knowing " +
+                    "the length of the InputStream and cannot be used in some cases where the length may not be known.");
+        }
+
+        this.inputStream = inputStream;
+
+        final NifiOrcFileSystem fileSystem = NifiOrcFileSystem.forInput(configuration, inputStream, inputLength);
+        final Reader reader = OrcFile.createReader(fileSystem.getPath(), OrcFile.readerOptions(configuration).filesystem(fileSystem).maxLength(inputLength));
+        final TypeDescription fileSchema = reader.getSchema();
+        if (fileSchema.getCategory() != TypeDescription.Category.STRUCT) {
+            throw new IOException("Cannot read ORC content whose root type is " + fileSchema + " because only struct types can be read as Records");
+        }
+
+        final List<String> fieldNames = fileSchema.getFieldNames();
+        final List<TypeDescription> fieldTypes = fileSchema.getChildren();
+        final boolean readAllFields = projectedFields == null || projectedFields.isEmpty();
+        final boolean[] include = new boolean[fileSchema.getMaximumId() + 1];
+        include[0] = true;
+
+        final List<RecordField> recordFields = new ArrayList<>();
+        final List<Integer> projectedIndexes = new ArrayList<>();
+        for (int i = 0; i < fieldNames.size(); i++) {
+            if (readAllFields || projectedFields.contains(fieldNames.get(i))) {
+                recordFields.add(new RecordField(fieldNames.get(i), OrcSchemaConverter.getDataType(fieldTypes.get(i))));
+                projectedIndexes.add(i);
+                includeColumn(include, fieldTypes.get(i));
+            }
+        }
+
+        final Reader.Options options = new Reader.Options(configuration).schema(fileSchema);
+        if (filterExpression == null) {
+            filter = null;
+        } else {
+            final OrcFilterParser filterParser = new OrcFilterParser(filterExpression, fileSchema);
+            filter = filterParser.parse();
+            options.searchArgument(filter.getSearchArgument(), fieldNames.toArray(new String[0]));
+
+            // The filter is evaluated against the column vectors, so its columns must be read even if they are not projected
+            for (final String referencedField : filterParser.getReferencedFields()) {
+                includeColumn(include, fieldTypes.get(fieldNames.indexOf(referencedField)));
+            }
+        }
+        options.include(include);
+
+        recordSchema = new SimpleRecordSchema(recordFields);
+        columnIndexes = projectedIndexes.stream().mapToInt(Integer::intValue).toArray();
+        columnTypes = new TypeDescription[columnIndexes.length];
+        for (int i = 0; i < columnIndexes.length; i++) {
+            columnTypes[i] = fieldTypes.get(columnIndexes[i]);
+        }
+
+        rows = reader.rows(options);
+        batch = fileSchema.createRowBatch();
+    }
+
+    private static void includeColumn(final boolean[] include, final TypeDescription type) {
+        Arrays.fill(include, type.getId(), type.getMaximumId() + 1, true);
+    }
+
+    @Override
+    public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException {
+        while (true) {
+            if (row >= batch.size) {
+                if (!rows.nextBatch(batch)) {
+                    return null;
+                }
+                row = 0;
+                continue;
+            }
+
+            final int current = row++;
+            if (filter == null || filter.matches(batch, current)) {
+                return createRecord(current);
+            }
+        }
+    }
+
+    private Record createRecord(final int batchRow) {
+        final List<RecordField> fields = recordSchema.getFields();
+        final Map<String, Object> values = new LinkedHashMap<>(fields.size() * 2);
+        for (int i = 0; i < columnIndexes.length; i++) {
+            final RecordField field = fields.get(i);
+            values.put(field.getFieldName(), getValue(batch.cols[columnIndexes[i]], columnTypes[i], field.getDataType(), batchRow));
+        }
+
+        return new MapRecord(recordSchema, values);
+    }
+
+    private static Object getValue(final ColumnVector vector, final TypeDescription type, final DataType dataType, final int row) {
+        final int index = vector.isRepeating ? 0 : row;
+        if (!vector.noNulls && vector.isNull[index]) {
+            return null;
+        }
+
+        switch (type.getCategory()) {
+            case BOOLEAN:
+                return ((LongColumnVector) vector).vector[index] != 0;
+            case BYTE:
+                return (byte) ((LongColumnVector) vector).vector[index];
+            case SHORT:
+                return (short) ((LongColumnVector) vector).vector[index];
+            case INT:
+                return (int) ((LongColumnVector) vector).vector[index];
+            case LONG:
+                return ((LongColumnVector) vector).vector[index];
+            case FLOAT:
+                return (float) ((DoubleColumnVector) vector).vector[index];
+            case DOUBLE:
+                return ((DoubleColumnVector) vector).vector[index];
+            case DECIMAL:
+                return ((DecimalColumnVector) vector).vector[index].getHiveDecimal().bigDecimalValue();
+            case DATE:
+                return Date.valueOf(LocalDate.ofEpochDay(((LongColumnVector) vector).vector[index]));
+            case TIMESTAMP:
+                final TimestampColumnVector timestampVector = (TimestampColumnVector) vector;
+                final Timestamp timestamp = new Timestamp(timestampVector.time[index]);
+                timestamp.setNanos(timestampVector.nanos[index]);
+                return timestamp;
+            case BINARY:
+                final BytesColumnVector binaryVector = (BytesColumnVector) vector;
+                final Object[] bytes = new Object[binaryVector.length[index]];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = binaryVector.vector[index][binaryVector.start[index] + i];
+                }
+                return bytes;
+            case LIST:
+                final ListColumnVector listVector = (ListColumnVector) vector;
+                final TypeDescription elementType = type.getChildren().get(0);
+                final DataType elementDataType = ((ArrayDataType) dataType).getElementType();
+                final int elementOffset = (int) listVector.offsets[index];
+                final Object[] elements = new Object[(int) listVector.lengths[index]];
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = getValue(listVector.child, elementType, elementDataType, elementOffset + i);
+                }
+                return elements;
+            case MAP:
+                final MapColumnVector mapVector = (MapColumnVector) vector;
+                final TypeDescription keyType = type.getChildren().get(0);
+                final DataType keyDataType = OrcSchemaConverter.getDataType(keyType);
+                final TypeDescription valueType = type.getChildren().get(1);
+                final DataType valueDataType = ((MapDataType) dataType).getValueType();
+                final int entryOffset = (int) mapVector.offsets[index];
+                final int entryCount = (int) mapVector.lengths[index];
+                final Map<String, Object> map = new LinkedHashMap<>(entryCount * 2);
+                for (int i = 0; i < entryCount; i++) {
+                    final Object key = getValue(mapVector.keys, keyType, keyDataType, entryOffset + i);
+                    map.put(key == null ? null : key.toString(), getValue(mapVector.values, valueType, valueDataType, entryOffset + i));
+                }
+                return map;
+            case STRUCT:
+                final StructColumnVector structVector = (StructColumnVector) vector;
+                final RecordSchema childSchema = ((RecordDataType) dataType).getChildSchema();
+                final List<TypeDescription> childTypes = type.getChildren();
+                final Map<String, Object> childValues = new LinkedHashMap<>(childTypes.size() * 2);
+                for (int i = 0; i < childTypes.size(); i++) {
+                    final RecordField childField = childSchema.getField(i);
+                    childValues.put(childField.getFieldName(), getValue(structVector.fields[i], childTypes.get(i), childField.getDataType(), index));
+                }
+                return new MapRecord(childSchema, childValues);
+            case UNION:
+                final UnionColumnVector unionVector = (UnionColumnVector) vector;
+                final int tag = unionVector.tags[index];
+                return getValue(unionVector.fields[tag], type.getChildren().get(tag), ((ChoiceDataType) dataType).getPossibleSubTypes().get(tag), index);
+            case STRING:
+            case CHAR:
+            case VARCHAR:
+            default:
+                final BytesColumnVector stringVector = (BytesColumnVector) vector;
+                return new String(stringVector.vector[index], stringVector.start[index], stringVector.length[index], StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public RecordSchema getSchema() {
+        return recordSchema;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            rows.close();
+        } finally {
+            // ensure the input stream still gets closed
+            inputStream.close();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.orc.record;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.MapColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.StructColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.UnionColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.nifi.orc.stream.NifiOrcFileSystem;
+import org.apache.nifi.orc.utils.OrcSchemaConverter;
+import org.apache.nifi.serialization.AbstractRecordSetWriter;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.ChoiceDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.IllegalTypeConversionException;
+import org.apache.orc.CompressionKind;
+import org.apache.orc.OrcFile;
+import org.apache.orc.TypeDescription;
+import org.apache.orc.Writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes Records to ORC by filling the column vectors of a row batch directly from the Record values, and handing each
+ * full batch to the ORC writer.
+ */
+public class WriteOrcResult extends AbstractRecordSetWriter {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final DataType MAP_KEY_DATA_TYPE = RecordFieldType.STRING.getDataType();
+
+    private final RecordSchema recordSchema;
+    private final TypeDescription orcSchema;
+    private final Writer orcWriter;
+    private final VectorizedRowBatch batch;
+
+    public WriteOrcResult(final RecordSchema recordSchema, final OutputStream out, final Configuration configuration, final CompressionKind compression,
+                          final long stripeSize, final int bufferSize) throws IOException {
+        super(out);
+
+        this.recordSchema = recordSchema;
+        this.orcSchema = OrcSchemaConverter.createTypeDescription(recordSchema);
+
+        final NifiOrcFileSystem fileSystem = NifiOrcFileSystem.forOutput(configuration, out);
+        final OrcFile.WriterOptions writerOptions = OrcFile.writerOptions(configuration)
+                .setSchema(orcSchema)
+                .fileSystem(fileSystem)
+                .compress(compression)
+                .stripeSize(stripeSize)
+                .bufferSize(bufferSize);
+        orcWriter = OrcFile.createWriter(fileSystem.getPath(), writerOptions);
+        batch = orcSchema.createRowBatch();
+    }
+
+    @Override
+    protected Map<String, String> writeRecord(final Record record) throws IOException {
+        final int row = batch.size++;
+        final List<RecordField> fields = recordSchema.getFields();
+        final List<TypeDescription> columnTypes = orcSchema.getChildren();
+        for (int i = 0; i < fields.size(); i++) {
+            final RecordField field = fields.get(i);
+            setValue(batch.cols[i], columnTypes.get(i), field.getDataType(), row, record.getValue(field), field.getFieldName());
+        }
+
+        if (batch.size == batch.getMaxSize()) {
+            orcWriter.addRowBatch(batch);
+            batch.reset();
+        }
+
+        return Collections.emptyMap();
+    }
+
+    private static void setValue(final ColumnVector vector, final TypeDescription type, final DataType dataType, final int row, final Object value, final String fieldName) {
+        if (value == null) {
+            vector.noNulls = false;
+            vector.isNull[row] = true;
+            return;
+        }
+        vector.isNull[row] = false;
+
+        switch (type.getCategory()) {
+            case BOOLEAN:
+                ((LongColumnVector) vector).vector[row] = DataTypeUtils.toBoolean(value, fieldName) ? 1L : 0L;
+                break;
+            case BYTE:
+                ((LongColumnVector) vector).vector[row] = DataTypeUtils.toByte(value, fieldName);
+                break;
+            case SHORT:
+                ((LongColumnVector) vector).vector[row] = DataTypeUtils.toShort(value, fieldName);
+                break;
+            case INT:
+                if (dataType.getFieldType() == RecordFieldType.TIME) {
+                    final String timeFormat = dataType.getFormat();
+                    final Time time = DataTypeUtils.toTime(value, () -> DataTypeUtils.getDateFormat(timeFormat), fieldName);
+                    ((LongColumnVector) vector).vector[row] = Math.floorMod(time.getTime(), MILLIS_PER_DAY);
+                } else {
+                    ((LongColumnVector) vector).vector[row] = DataTypeUtils.toInteger(value, fieldName);
+                }
+                break;
+            case LONG:
+                ((LongColumnVector) vector).vector[row] = DataTypeUtils.toLong(value, fieldName);
+                break;
+            case FLOAT:
+                ((DoubleColumnVector) vector).vector[row] = DataTypeUtils.toFloat(value, fieldName);
+                break;
+            case DOUBLE:
+                ((DoubleColumnVector) vector).vector[row] = DataTypeUtils.toDouble(value, fieldName);
+                break;
+            case DECIMAL:
+                // values that do not fit the precision of the column are written as null, as Hive does
+                ((DecimalColumnVector) vector).set(row, HiveDecimal.create(DataTypeUtils.toBigDecimal(value, fieldName)));
+                break;
+            case DATE:
+                final String dateFormat = dataType.getFormat();
+                ((LongColumnVector) vector).vector[row] = DataTypeUtils.toLocalDate(value, () -> DataTypeUtils.getDateTimeFormatter(dateFormat, ZoneId.systemDefault()), fieldName).toEpochDay();
+                break;
+            case TIMESTAMP:
+                final String timestampFormat = dataType.getFormat();
+                ((TimestampColumnVector) vector).set(row, DataTypeUtils.toTimestamp(value, () -> DataTypeUtils.getDateFormat(timestampFormat), fieldName));
+                break;
+            case BINARY:
+                ((BytesColumnVector) vector).setVal(row, toByteArray(value, fieldName));
+                break;
+            case LIST:
+                final ListColumnVector listVector = (ListColumnVector) vector;
+                final DataType elementDataType = ((ArrayDataType) dataType).getElementType();
+                final Object[] elements = DataTypeUtils.toArray(value, fieldName, elementDataType);
+                final int elementOffset = listVector.childCount;
+                listVector.childCount += elements.length;
+                listVector.child.ensureSize(listVector.childCount, true);
+                listVector.offsets[row] = elementOffset;
+                listVector.lengths[row] = elements.length;
+                for (int i = 0; i < elements.length; i++) {
+                    setValue(listVector.child, type.getChildren().get(0), elementDataType, elementOffset + i, elements[i], fieldName);
+                }
+                break;
+            case MAP:
+                final MapColumnVector mapVector = (MapColumnVector) vector;
+                final DataType valueDataType = ((MapDataType) dataType).getValueType();
+                final Map<String, Object> map = DataTypeUtils.toMap(value, fieldName);
+                final int entryOffset = mapVector.childCount;
+                mapVector.childCount += map.size();
+                mapVector.keys.ensureSize(mapVector.childCount, true);
+                mapVector.values.ensureSize(mapVector.childCount, true);
+                mapVector.offsets[row] = entryOffset;
+                mapVector.lengths[row] = map.size();
+                int entry = entryOffset;
+                for (final Map.Entry<String, Object> mapEntry : map.entrySet()) {
+                    setValue(mapVector.keys, type.getChildren().get(0), MAP_KEY_DATA_TYPE, entry, mapEntry.getKey(), fieldName);
+                    setValue(mapVector.values, type.getChildren().get(1), valueDataType, entry, mapEntry.getValue(), fieldName);
+                    entry++;
+                }
+                break;
+            case STRUCT:
+                if (!(value instanceof Record)) {
+                    throw new IllegalTypeConversionException("Cannot convert value [" + value + "] of type " + value.getClass() + " to a Record for field " + fieldName);
+                }
+                final Record childRecord = (Record) value;
+                final StructColumnVector structVector = (StructColumnVector) vector;
+                final List<RecordField> childFields = ((RecordDataType) dataType).getChildSchema().getFields();
+                for (int i = 0; i < childFields.size(); i++) {
+                    final RecordField childField = childFields.get(i);
+                    setValue(structVector.fields[i], type.getChildren().get(i), childField.getDataType(), row, childRecord.getValue(childField), childField.getFieldName());
+                }
+                break;
+            case UNION:
+                final ChoiceDataType choiceDataType = (ChoiceDataType) dataType;
+                final DataType chosenDataType = DataTypeUtils.chooseDataType(value, choiceDataType);
+                final int tag = chosenDataType == null ? -1 : choiceDataType.getPossibleSubTypes().indexOf(chosenDataType);
+                if (tag < 0) {
+                    throw new IllegalTypeConversionException("Cannot convert value [" + value + "] of type " + value.getClass() + " to any of the types "
+                            + choiceDataType.getPossibleSubTypes() + " for field " + fieldName);
+                }
+                final UnionColumnVector unionVector = (UnionColumnVector) vector;
+                unionVector.tags[row] = tag;
+                setValue(unionVector.fields[tag], type.getChildren().get(tag), chosenDataType, row, value, fieldName);
+                break;
+            case STRING:
+            case CHAR:
+            case VARCHAR:
+            default:
+                ((BytesColumnVector) vector).setVal(row, DataTypeUtils.toString(value, dataType.getFormat()).getBytes(StandardCharsets.UTF_8));
+                break;
+        }
+    }
+
+    private static byte[] toByteArray(final Object value, final String fieldName) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        if (value instanceof ByteBuffer) {
+            final ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        }
+        if (value instanceof Object[]) {
+            final Object[] array = (Object[]) value;
+            final byte[] bytes = new byte[array.length];
+            for (int i = 0; i < array.length; i++) {
+                bytes[i] = DataTypeUtils.toByte(array[i], fieldName);
+            }
+            return bytes;
+        }
+        if (value instanceof String) {
+            return ((String) value).getBytes(StandardCharsets.UTF_8);
+        }
+
+        throw new IllegalTypeConversionException("Cannot convert value [" + value + "] of type " + value.getClass() + " to a byte array for field " + fieldName);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (batch.size > 0) {
+                orcWriter.addRowBatch(batch);
+                batch.reset();
+            }
+        } finally {
+            try {
+                orcWriter.close();
+            } finally {
+                // ensure the output stream still gets closed
+                super.close();
+            }
+        }
+    }
+
+    @Override
+    public String getMimeType() {
+        return "application/orc";
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.orc.stream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.util.Progressable;
+import org.apache.nifi.stream.io.NonCloseableOutputStream;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * <p>
+ * A Hadoop FileSystem that holds exactly one file, whose content is a FlowFile's InputStream or OutputStream. The ORC
+ * library reads and writes only through a FileSystem, so this allows ORC content to be read and written in a
+ * ProcessSession callback without a temporary file.
+ * </p>
+ *
+ * <p>
+ * Each instance uses a unique path, because the ORC memory manager tracks writers by path.
+ * </p>
+ */
+public class NifiOrcFileSystem extends FileSystem {
+
+    private static final URI FILE_SYSTEM_URI = URI.create("nifi:///");
+
+    private final Path path = new Path("/" + UUID.randomUUID() + ".orc");
+    private final NifiSeekableInputStream input;
+    private final long inputLength;
+    private final OutputStream output;
+    private boolean created = false;
+
+    private NifiOrcFileSystem(final Configuration configuration, final NifiSeekableInputStream input, final long inputLength, final OutputStream output) {
+        this.input = input;
+        this.inputLength = inputLength;
+        this.output = output;
+        setConf(configuration);
+    }
+
+    /**
+     * @param configuration the Hadoop configuration
+     * @param input the ORC content, which must support mark/reset
+     * @param inputLength the length of the content
+     * @return a FileSystem whose only file, at {@link #getPath()}, can be opened for reading
+     */
+    public static NifiOrcFileSystem forInput(final Configuration configuration, final InputStream input, final long inputLength) {
+        return new NifiOrcFileSystem(configuration, new NifiSeekableInputStream(input), inputLength, null);
+    }
+
+    /**
+     * @param configuration the Hadoop configuration
+     * @param output the stream to write ORC content to; it is not closed when the ORC writer is closed
+     * @return a FileSystem whose only file, at {@link #getPath()}, can be created once for writing
+     */
+    public static NifiOrcFileSystem forOutput(final Configuration configuration, final OutputStream output) {
+        return new NifiOrcFileSystem(configuration, null, -1L, output);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public URI getUri() {
+        return FILE_SYSTEM_URI;
+    }
+
+    @Override
+    public FSDataInputStream open(final Path file, final int bufferSize) throws IOException {
+        verifyPath(file);
+        if (input == null) {
+            throw new IOException("Cannot open " + file + " for reading because it is being written");
+        }
+
+        // ORC opens the file once for the tail and once for the stripes; it only uses positioned reads, so both share the stream
+        return new FSDataInputStream(input);
+    }
+
+    @Override
+    public synchronized FSDataOutputStream create(final Path file, final FsPermission permission, final boolean overwrite, final int bufferSize,
+                                                  final short replication, final long blockSize, final Progressable progress) throws IOException {
+        verifyPath(file);
+        if (output == null) {
+            throw new IOException("Cannot create " + file + " because it is being read");
+        }
+        if (created) {
+            throw new IOException("Cannot create " + file + " because it has already been created");
+        }
+
+        created = true;
+        return new FSDataOutputStream(new NonCloseableOutputStream(output), null);
+    }
+
+    @Override
+    public FSDataOutputStream append(final Path file, final int bufferSize, final Progressable progress) throws IOException {
+        throw new IOException("Cannot append to " + file + " because appending is not supported");
+    }
+
+    @Override
+    public boolean rename(final Path source, final Path destination) {
+        return false;
+    }
+
+    @Override
+    public boolean delete(final Path file, final boolean recursive) {
+        return false;
+    }
+
+    @Override
+    public FileStatus[] listStatus(final Path directory) throws IOException {
+        throw new FileNotFoundException("Directory " + directory + " does not exist");
+    }
+
+    @Override
+    public void setWorkingDirectory(final Path directory) {
+    }
+
+    @Override
+    public Path getWorkingDirectory() {
+        return new Path("/");
+    }
+
+    @Override
+    public boolean mkdirs(final Path directory, final FsPermission permission) {
+        return false;
+    }
+
+    @Override
+    public FileStatus getFileStatus(final Path file) throws IOException {
+        verifyPath(file);
+        if (input == null) {
+            throw new FileNotFoundException("File " + file + " is being written");
+        }
+
+        return new FileStatus(inputLength, false, 1, inputLength, 0L, file);
+    }
+
+    private void verifyPath(final Path file) throws FileNotFoundException {
+        if (!path.equals(file)) {
+            throw new FileNotFoundException("File " + file + " does not exist");
+        }
+    }
+}
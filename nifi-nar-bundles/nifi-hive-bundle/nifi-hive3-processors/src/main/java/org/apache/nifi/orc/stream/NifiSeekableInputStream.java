@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.orc.stream;
+
+import org.apache.hadoop.fs.PositionedReadable;
+import org.apache.hadoop.fs.Seekable;
+import org.apache.nifi.stream.io.ByteCountingInputStream;
+import org.apache.nifi.stream.io.StreamUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Provides random access to content that can only be read as a stream, by marking the start of the stream and resetting to
+ * it whenever an earlier position is requested. ORC reads the file tail first and then the stripes from front to back, so
+ * the content is rewound about once per stripe.
+ */
+public class NifiSeekableInputStream extends InputStream implements Seekable, PositionedReadable {
+
+    private final ByteCountingInputStream input;
+    private long position = 0L;
+
+    public NifiSeekableInputStream(final InputStream input) {
+        if (!input.markSupported()) {
+            throw new IllegalArgumentException("InputStream must support mark/reset to be read as ORC");
+        }
+
+        this.input = new ByteCountingInputStream(input);
+        this.input.mark(Integer.MAX_VALUE);
+    }
+
+    private void moveTo(final long target) throws IOException {
+        if (target < input.getBytesConsumed()) {
+            // seeking backwards so first reset back to beginning of the stream then skip forward
+            input.reset();
+            input.mark(Integer.MAX_VALUE);
+        }
+
+        // must call getBytesConsumed() again in case reset was called above
+        StreamUtils.skip(input, target - input.getBytesConsumed());
+    }
+
+    @Override
+    public int read() throws IOException {
+        moveTo(position);
+        final int value = input.read();
+        if (value >= 0) {
+            position++;
+        }
+        return value;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        moveTo(position);
+        final int count = input.read(buffer, offset, length);
+        if (count > 0) {
+            position += count;
+        }
+        return count;
+    }
+
+    @Override
+    public void seek(final long newPosition) throws IOException {
+        if (newPosition < 0) {
+            throw new EOFException("Cannot seek to negative position " + newPosition);
+        }
+        position = newPosition;
+    }
+
+    @Override
+    public long getPos() {
+        return position;
+    }
+
+    @Override
+    public boolean seekToNewSource(final long targetPosition) {
+        return false;
+    }
+
+    @Override
+    public int read(final long readPosition, final byte[] buffer, final int offset, final int length) throws IOException {
+        moveTo(readPosition);
+        return input.read(buffer, offset, length);
+    }
+
+    @Override
+    public void readFully(final long readPosition, final byte[] buffer, final int offset, final int length) throws IOException {
+        moveTo(readPosition);
+
+        int bytesRead = 0;
+        while (bytesRead < length) {
+            final int count = input.read(buffer, offset + bytesRead, length - bytesRead);
+            if (count < 0) {
+                throw new EOFException("Reached end of content after " + bytesRead + " of " + length + " bytes at position " + readPosition);
+            }
+            bytesRead += count;
+        }
+    }
+
+    @Override
+    public void readFully(final long readPosition, final byte[] buffer) throws IOException {
+        readFully(readPosition, buffer, 0, buffer.length);
+    }
+
+    @Override
+    public void close() {
+        // The ORC reader opens the content more than once, so the underlying stream is closed by the owner of the content
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.orc.utils;
+
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.io.sarg.PredicateLeaf;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgument;
+import org.apache.hadoop.hive.ql.io.sarg.SearchArgumentFactory;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * <p>
+ * A filter created by {@link OrcFilterParser}. It is applied in two steps: ORC evaluates the {@link SearchArgument}
+ * against the statistics of each stripe and row group, and skips those that cannot contain a matching row, and then
+ * {@link #matches(VectorizedRowBatch, int)} is evaluated against each row that was read.
+ * </p>
+ *
+ * <p>
+ * As in SQL, a comparison with a null value is neither true nor false, so rows for which a compared column is null only
+ * match through IS NULL. The search argument follows the same logic, so it never skips a row group that holds a match.
+ * </p>
+ */
+public class OrcFilter {
+
+    private final Node root;
+
+    OrcFilter(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @return a search argument that ORC uses to skip stripes and row groups
+     */
+    public SearchArgument getSearchArgument() {
+        final SearchArgument.Builder builder = SearchArgumentFactory.newBuilder();
+        root.addTo(builder);
+        return builder.build();
+    }
+
+    /**
+     * @param batch a batch that was read with the columns referenced by the filter included
+     * @param row the row of the batch
+     * @return <code>true</code> if the row matches the filter
+     */
+    public boolean matches(final VectorizedRowBatch batch, final int row) {
+        return Boolean.TRUE.equals(root.evaluate(batch, row));
+    }
+
+    interface Node {
+        void addTo(SearchArgument.Builder builder);
+
+        /**
+         * @return the result of the node for the given row, or <code>null</code> if it is unknown because of a null value
+         */
+        Boolean evaluate(VectorizedRowBatch batch, int row);
+    }
+
+    static class And implements Node {
+        private final Node left;
+        private final Node right;
+
+        And(final Node left, final Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public void addTo(final SearchArgument.Builder builder) {
+            builder.startAnd();
+            left.addTo(builder);
+            right.addTo(builder);
+            builder.end();
+        }
+
+        @Override
+        public Boolean evaluate(final VectorizedRowBatch batch, final int row) {
+            final Boolean leftResult = left.evaluate(batch, row);
+            if (Boolean.FALSE.equals(leftResult)) {
+                return Boolean.FALSE;
+            }
+
+            final Boolean rightResult = right.evaluate(batch, row);
+            if (Boolean.FALSE.equals(rightResult)) {
+                return Boolean.FALSE;
+            }
+            return leftResult == null || rightResult == null ? null : Boolean.TRUE;
+        }
+    }
+
+    static class Or implements Node {
+        private final Node left;
+        private final Node right;
+
+        Or(final Node left, final Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public void addTo(final SearchArgument.Builder builder) {
+            builder.startOr();
+            left.addTo(builder);
+            right.addTo(builder);
+            builder.end();
+        }
+
+        @Override
+        public Boolean evaluate(final VectorizedRowBatch batch, final int row) {
+            final Boolean leftResult = left.evaluate(batch, row);
+            if (Boolean.TRUE.equals(leftResult)) {
+                return Boolean.TRUE;
+            }
+
+            final Boolean rightResult = right.evaluate(batch, row);
+            if (Boolean.TRUE.equals(rightResult)) {
+                return Boolean.TRUE;
+            }
+            return leftResult == null || rightResult == null ? null : Boolean.FALSE;
+        }
+    }
+
+    static class Not implements Node {
+        private final Node child;
+
+        Not(final Node child) {
+            this.child = child;
+        }
+
+        @Override
+        public void addTo(final SearchArgument.Builder builder) {
+            builder.startNot();
+            child.addTo(builder);
+            builder.end();
+        }
+
+        @Override
+        public Boolean evaluate(final VectorizedRowBatch batch, final int row) {
+            final Boolean result = child.evaluate(batch, row);
+            return result == null ? null : !result;
+        }
+    }
+
+    static class IsNull implements Node {
+        private final String columnName;
+        private final int columnIndex;
+        private final PredicateLeaf.Type type;
+
+        IsNull(final String columnName, final int columnIndex, final PredicateLeaf.Type type) {
+            this.columnName = columnName;
+            this.columnIndex = columnIndex;
+            this.type = type;
+        }
+
+        @Override
+        public void addTo(final SearchArgument.Builder builder) {
+            builder.isNull(columnName, type);
+        }
+
+        @Override
+        public Boolean evaluate(final VectorizedRowBatch batch, final int row) {
+            final ColumnVector vector = batch.cols[columnIndex];
+            return isNull(vector, getIndex(vector, row));
+        }
+    }
+
+    enum Operator {
+        EQUALS, NOT_EQUALS, LESS_THAN, LESS_THAN_OR_EQUALS, GREATER_THAN, GREATER_THAN_OR_EQUALS
+    }
+
+    /**
+     * Compares a column to a literal. The literal is held in the form that the search argument requires for the leaf type,
+     * along with a form that can be compared to the column vector directly.
+     */
+    static class Comparison implements Node {
+        private final String columnName;
+        private final int columnIndex;
+        private final Operator operator;
+        private final PredicateLeaf.Type type;
+        private final Object literal;
+        private final long longValue;
+        private final double doubleValue;
+        private final byte[] bytesValue;
+
+        /**
+         * @param literal a Boolean, Long, Double, HiveDecimalWritable, String, java.sql.Date or java.sql.Timestamp, as required by the type
+         */
+        Comparison(final String columnName, final int columnIndex, final Operator operator, final PredicateLeaf.Type type, final Object literal) {
+            this.columnName = columnName;
+            this.columnIndex = columnIndex;
+            this.operator = operator;
+            this.type = type;
+            this.literal = literal;
+
+            switch (type) {
+                case BOOLEAN:
+                    longValue = (Boolean) literal ? 1L : 0L;
+                    break;
+                case LONG:
+                    longValue = (Long) literal;
+                    break;
+                case DATE:
+                    longValue = ((Date) literal).toLocalDate().toEpochDay();
+                    break;
+                default:
+                    longValue = 0L;
+                    break;
+            }
+            doubleValue = type == PredicateLeaf.Type.FLOAT ? (Double) literal : 0D;
+            bytesValue = type == PredicateLeaf.Type.STRING ? ((String) literal).getBytes(StandardCharsets.UTF_8) : null;
+        }
+
+        @Override
+        public void addTo(final SearchArgument.Builder builder) {
+            switch (operator) {
+                case EQUALS:
+                    builder.equals(columnName, type, literal);
+                    break;
+                case NOT_EQUALS:
+                    builder.startNot().equals(columnName, type, literal).end();
+                    break;
+                case LESS_THAN:
+                    builder.lessThan(columnName, type, literal);
+                    break;
+                case LESS_THAN_OR_EQUALS:
+                    builder.lessThanEquals(columnName, type, literal);
+                    break;
+                case GREATER_THAN:
+                    builder.startNot().lessThanEquals(columnName, type, literal).end();
+                    break;
+                case GREATER_THAN_OR_EQUALS:
+                default:
+                    builder.startNot().lessThan(columnName, type, literal).end();
+                    break;
+            }
+        }
+
+        @Override
+        public Boolean evaluate(final VectorizedRowBatch batch, final int row) {
+            final ColumnVector vector = batch.cols[columnIndex];
+            final int index = getIndex(vector, row);
+            if (isNull(vector, index)) {
+                return null;
+            }
+
+            final int comparison;
+            switch (type) {
+                case BOOLEAN:
+                case LONG:
+                case DATE:
+                    comparison = Long.compare(((LongColumnVector) vector).vector[index], longValue);
+                    break;
+                case FLOAT:
+                    comparison = Double.compare(((DoubleColumnVector) vector).vector[index], doubleValue);
+                    break;
+                case DECIMAL:
+                    comparison = ((DecimalColumnVector) vector).vector[index].compareTo((HiveDecimalWritable) literal);
+                    break;
+                case TIMESTAMP:
+                    comparison = ((TimestampColumnVector) vector).compareTo(index, (Timestamp) literal);
+                    break;
+                case STRING:
+                default:
+                    final BytesColumnVector bytesVector = (BytesColumnVector) vector;
+                    comparison = compareBytes(bytesVector.vector[index], bytesVector.start[index], bytesVector.length[index], bytesValue);
+                    break;
+            }
+
+            switch (operator) {
+                case EQUALS:
+                    return comparison == 0;
+                case NOT_EQUALS:
+                    return comparison != 0;
+                case LESS_THAN:
+                    return comparison < 0;
+                case LESS_THAN_OR_EQUALS:
+                    return comparison <= 0;
+                case GREATER_THAN:
+                    return comparison > 0;
+                case GREATER_THAN_OR_EQUALS:
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        // ORC orders strings by their UTF-8 bytes, so the row comparison must do the same to agree with the statistics
+        private static int compareBytes(final byte[] bytes, final int start, final int length, final byte[] other) {
+            final int commonLength = Math.min(length, other.length);
+            for (int i = 0; i < commonLength; i++) {
+                final int difference = (bytes[start + i] & 0xFF) - (other[i] & 0xFF);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return length - other.length;
+        }
+    }
+
+    private static int getIndex(final ColumnVector vector, final int row) {
+        return vector.isRepeating ? 0 : row;
+    }
+
+    private static boolean isNull(final ColumnVector vector, final int index) {
+        return !vector.noNulls && vector.isNull[index];
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.orc.utils;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.io.sarg.PredicateLeaf;
+import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.orc.TypeDescription;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * <p>
+ * Parses a filter expression into an {@link OrcFilter}, which ORC uses to skip stripes and row groups whose statistics
+ * show that they cannot contain a matching row, and which is then evaluated against each remaining row.
+ * </p>
+ *
+ * <p>
+ * The grammar is a small subset of a SQL WHERE clause:
+ * </p>
+ * <pre>
+ * expression := term ( OR term )*
+ * term       := factor ( AND factor )*
+ * factor     := NOT factor | '(' expression ')' | column IS [NOT] NULL | column operator literal
+ * operator   := = | != | &lt;&gt; | &lt; | &lt;= | &gt; | &gt;=
+ * literal    := number | 'string' | TRUE | FALSE
+ * </pre>
+ *
+ * <p>
+ * Columns are referenced by the names of top-level fields. Literals are bound to the type of the column, so the ORC schema
+ * of the file must be known; string literals may be used for DATE and TIMESTAMP columns.
+ * </p>
+ */
+public class OrcFilterParser {
+
+    private final String expression;
+    private final TypeDescription schema;
+    private final List<String> tokens;
+    private final Set<String> referencedFields = new LinkedHashSet<>();
+    private int position = 0;
+
+    /**
+     * @param expression the filter expression
+     * @param schema the schema of the ORC file that the filter will be applied to, or <code>null</code> to only check the syntax
+     */
+    public OrcFilterParser(final String expression, final TypeDescription schema) {
+        this.expression = expression;
+        this.schema = schema;
+        this.tokens = tokenize(expression);
+    }
+
+    /**
+     * @return the filter, or <code>null</code> if no schema was provided
+     * @throws IllegalArgumentException if the expression is invalid or does not match the schema
+     */
+    public OrcFilter parse() {
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Filter expression is empty");
+        }
+
+        final OrcFilter.Node root = parseExpression();
+        if (position < tokens.size()) {
+            throw syntaxError("Unexpected token '" + tokens.get(position) + "'");
+        }
+
+        return schema == null ? null : new OrcFilter(root);
+    }
+
+    /**
+     * @return the names of the fields referenced by the expression; only populated once {@link #parse()} has been called
+     */
+    public Set<String> getReferencedFields() {
+        return Collections.unmodifiableSet(referencedFields);
+    }
+
+    private OrcFilter.Node parseExpression() {
+        OrcFilter.Node node = parseTerm();
+        while (acceptKeyword("OR")) {
+            final OrcFilter.Node right = parseTerm();
+            node = schema == null ? null : new OrcFilter.Or(node, right);
+        }
+        return node;
+    }
+
+    private OrcFilter.Node parseTerm() {
+        OrcFilter.Node node = parseFactor();
+        while (acceptKeyword("AND")) {
+            final OrcFilter.Node right = parseFactor();
+            node = schema == null ? null : new OrcFilter.And(node, right);
+        }
+        return node;
+    }
+
+    private OrcFilter.Node parseFactor() {
+        if (acceptKeyword("NOT")) {
+            final OrcFilter.Node node = parseFactor();
+            return schema == null ? null : new OrcFilter.Not(node);
+        }
+
+        if (accept("(")) {
+            final OrcFilter.Node node = parseExpression();
+            expect(")");
+            return node;
+        }
+
+        final String column = next();
+        if (!isIdentifier(column)) {
+            throw syntaxError("Expected column name but found '" + column + "'");
+        }
+        referencedFields.add(column);
+
+        if (acceptKeyword("IS")) {
+            final boolean negated = acceptKeyword("NOT");
+            if (!acceptKeyword("NULL")) {
+                throw syntaxError("Expected NULL after IS");
+            }
+            if (schema == null) {
+                return null;
+            }
+
+            final int columnIndex = getColumnIndex(column);
+            final OrcFilter.Node isNull = new OrcFilter.IsNull(column, columnIndex, getLeafType(column, schema.getChildren().get(columnIndex)));
+            return negated ? new OrcFilter.Not(isNull) : isNull;
+        }
+
+        final String operator = next();
+        switch (operator) {
+            case "=":
+            case "==":
+                return createComparison(column, OrcFilter.Operator.EQUALS, next());
+            case "!=":
+            case "<>":
+                return createComparison(column, OrcFilter.Operator.NOT_EQUALS, next());
+            case "<":
+                return createComparison(column, OrcFilter.Operator.LESS_THAN, next());
+            case "<=":
+                return createComparison(column, OrcFilter.Operator.LESS_THAN_OR_EQUALS, next());
+            case ">":
+                return createComparison(column, OrcFilter.Operator.GREATER_THAN, next());
+            case ">=":
+                return createComparison(column, OrcFilter.Operator.GREATER_THAN_OR_EQUALS, next());
+            default:
+                throw syntaxError("Expected comparison operator after '" + column + "' but found '" + operator + "'");
+        }
+    }
+
+    private OrcFilter.Node createComparison(final String column, final OrcFilter.Operator operator, final String literal) {
+        if (!isLiteral(literal)) {
+            throw syntaxError("Expected literal value but found '" + literal + "'");
+        }
+        if (schema == null) {
+            return null;
+        }
+
+        final int columnIndex = getColumnIndex(column);
+        final PredicateLeaf.Type type = getLeafType(column, schema.getChildren().get(columnIndex));
+        final Object value;
+        switch (type) {
+            case BOOLEAN:
+                if (operator != OrcFilter.Operator.EQUALS && operator != OrcFilter.Operator.NOT_EQUALS) {
+                    throw new IllegalArgumentException("Filter compares boolean column '" + column + "' using an ordering operator but it only supports = and !=");
+                }
+                value = toBoolean(column, literal);
+                break;
+            case LONG:
+                value = toNumber(column, literal, Long::valueOf);
+                break;
+            case FLOAT:
+                value = toNumber(column, literal, Double::valueOf);
+                break;
+            case DECIMAL:
+                final HiveDecimal decimal = HiveDecimal.create(toNumber(column, literal, BigDecimal::new));
+                if (decimal == null) {
+                    throw new IllegalArgumentException("Filter compares decimal column '" + column + "' to '" + literal + "', which exceeds the maximum precision of a decimal");
+                }
+                value = new HiveDecimalWritable(decimal);
+                break;
+            case DATE:
+                value = Date.valueOf(parseDate(column, isString(literal) ? unquote(literal) : literal));
+                break;
+            case TIMESTAMP:
+                value = parseTimestamp(column, isString(literal) ? unquote(literal) : literal);
+                break;
+            case STRING:
+            default:
+                value = isString(literal) ? unquote(literal) : literal;
+                break;
+        }
+
+        return new OrcFilter.Comparison(column, columnIndex, operator, type, value);
+    }
+
+    private int getColumnIndex(final String column) {
+        final int columnIndex = schema.getFieldNames().indexOf(column);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException("Filter references column '" + column + "' but the ORC schema has no such column");
+        }
+        return columnIndex;
+    }
+
+    private static PredicateLeaf.Type getLeafType(final String column, final TypeDescription type) {
+        switch (type.getCategory()) {
+            case BOOLEAN:
+                return PredicateLeaf.Type.BOOLEAN;
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return PredicateLeaf.Type.LONG;
+            case FLOAT:
+            case DOUBLE:
+                return PredicateLeaf.Type.FLOAT;
+            case DECIMAL:
+                return PredicateLeaf.Type.DECIMAL;
+            case DATE:
+                return PredicateLeaf.Type.DATE;
+            case TIMESTAMP:
+                return PredicateLeaf.Type.TIMESTAMP;
+            case STRING:
+            case CHAR:
+            case VARCHAR:
+                return PredicateLeaf.Type.STRING;
+            default:
+                throw new IllegalArgumentException("Filter references column '" + column + "' of type " + type
+                        + " but only boolean, numeric, decimal, date, timestamp and string columns are supported in filters");
+        }
+    }
+
+    private interface NumberParser<T> {
+        T parse(String value);
+    }
+
+    private static <T> T toNumber(final String column, final String literal, final NumberParser<T> parser) {
+        try {
+            return parser.parse(literal);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Filter compares numeric column '" + column + "' to '" + literal + "', which is not a valid number", e);
+        }
+    }
+
+    private static Boolean toBoolean(final String column, final String literal) {
+        if ("TRUE".equalsIgnoreCase(literal) || "FALSE".equalsIgnoreCase(literal)) {
+            return Boolean.valueOf(literal);
+        }
+        throw new IllegalArgumentException("Filter compares boolean column '" + column + "' to '" + literal + "', which is not TRUE or FALSE");
+    }
+
+    private static LocalDate parseDate(final String column, final String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (final DateTimeParseException e) {
+            throw new IllegalArgumentException("Filter compares date column '" + column + "' to '" + value + "', which is not a date of the form yyyy-MM-dd", e);
+        }
+    }
+
+    private static Timestamp parseTimestamp(final String column, final String value) {
+        try {
+            return Timestamp.from(Instant.parse(value));
+        } catch (final DateTimeParseException e) {
+            try {
+                return Timestamp.valueOf(value);
+            } catch (final IllegalArgumentException iae) {
+                throw new IllegalArgumentException("Filter compares timestamp column '" + column + "' to '" + value
+                        + "', which is neither an ISO-8601 instant nor of the form yyyy-MM-dd HH:mm:ss[.fffffffff]", iae);
+            }
+        }
+    }
+
+    private boolean accept(final String token) {
+        if (position < tokens.size() && tokens.get(position).equals(token)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptKeyword(final String keyword) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(final String token) {
+        if (!accept(token)) {
+            throw syntaxError("Expected '" + token + "'");
+        }
+    }
+
+    private String next() {
+        if (position >= tokens.size()) {
+            throw syntaxError("Unexpected end of expression");
+        }
+        return tokens.get(position++);
+    }
+
+    private IllegalArgumentException syntaxError(final String message) {
+        return new IllegalArgumentException("Invalid filter expression [" + expression + "]: " + message);
+    }
+
+    private static boolean isIdentifier(final String token) {
+        if (!Character.isLetter(token.charAt(0)) && token.charAt(0) != '_') {
+            return false;
+        }
+        switch (token.toUpperCase(Locale.ROOT)) {
+            case "AND":
+            case "OR":
+            case "NOT":
+            case "IS":
+            case "NULL":
+            case "TRUE":
+            case "FALSE":
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private static boolean isLiteral(final String token) {
+        final char first = token.charAt(0);
+        return isString(token) || first == '-' || first == '+' || first == '.' || Character.isDigit(first)
+                || "TRUE".equalsIgnoreCase(token) || "FALSE".equalsIgnoreCase(token);
+    }
+
+    private static boolean isString(final String token) {
+        return token.charAt(0) == '\'';
+    }
+
+    private static String unquote(final String token) {
+        return token.substring(1, token.length() - 1).replace("''", "'");
+    }
+
+    private static List<String> tokenize(final String expression) {
+        final List<String> tokens = new ArrayList<>();
+        final int length = expression.length();
+        int i = 0;
+        while (i < length) {
+            final char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                int end = i + 1;
+                while (true) {
+                    if (end >= length) {
+                        throw new IllegalArgumentException("Invalid filter expression [" + expression + "]: unterminated string literal");
+                    }
+                    if (expression.charAt(end) == '\'') {
+                        if (end + 1 < length && expression.charAt(end + 1) == '\'') {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                tokens.add(expression.substring(i, end + 1));
+                i = end + 1;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '=' || c == '!' || c == '<' || c == '>') {
+                final int end = i + 1 < length && (expression.charAt(i + 1) == '=' || (c == '<' && expression.charAt(i + 1) == '>')) ? i + 2 : i + 1;
+                tokens.add(expression.substring(i, end));
+                i = end;
+            } else {
+                int end = i;
+                while (end < length && isWordCharacter(expression.charAt(end))) {
+                    end++;
+                }
+                if (end == i) {
+                    throw new IllegalArgumentException("Invalid filter expression [" + expression + "]: unexpected character '" + c + "' at position " + i);
+                }
+                tokens.add(expression.substring(i, end));
+                i = end;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isWordCharacter(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-' || c == '+';
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.orc.utils;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.ChoiceDataType;
+import org.apache.nifi.serialization.record.type.DecimalDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.apache.orc.TypeDescription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts between ORC schemas and NiFi Record Schemas. ORC has no notion of required fields, so every field of a
+ * converted Record Schema is nullable.
+ */
+public class OrcSchemaConverter {
+
+    private OrcSchemaConverter() {
+    }
+
+    /**
+     * Creates a Record Schema whose fields correspond, in order, to the fields of the given ORC struct
+     *
+     * @param structType the ORC struct
+     * @return the corresponding Record Schema
+     */
+    public static RecordSchema createRecordSchema(final TypeDescription structType) {
+        final List<String> fieldNames = structType.getFieldNames();
+        final List<TypeDescription> fieldTypes = structType.getChildren();
+        final List<RecordField> recordFields = new ArrayList<>(fieldNames.size());
+        for (int i = 0; i < fieldNames.size(); i++) {
+            recordFields.add(new RecordField(fieldNames.get(i), getDataType(fieldTypes.get(i))));
+        }
+
+        return new SimpleRecordSchema(recordFields);
+    }
+
+    /**
+     * @param type the ORC type
+     * @return the Data Type that values of the given ORC type are represented as
+     */
+    public static DataType getDataType(final TypeDescription type) {
+        switch (type.getCategory()) {
+            case BOOLEAN:
+                return RecordFieldType.BOOLEAN.getDataType();
+            case BYTE:
+                return RecordFieldType.BYTE.getDataType();
+            case SHORT:
+                return RecordFieldType.SHORT.getDataType();
+            case INT:
+                return RecordFieldType.INT.getDataType();
+            case LONG:
+                return RecordFieldType.LONG.getDataType();
+            case FLOAT:
+                return RecordFieldType.FLOAT.getDataType();
+            case DOUBLE:
+                return RecordFieldType.DOUBLE.getDataType();
+            case DECIMAL:
+                return RecordFieldType.DECIMAL.getDecimalDataType(type.getPrecision(), type.getScale());
+            case DATE:
+                return RecordFieldType.DATE.getDataType();
+            case TIMESTAMP:
+                return RecordFieldType.TIMESTAMP.getDataType();
+            case BINARY:
+                return RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.BYTE.getDataType());
+            case LIST:
+                return RecordFieldType.ARRAY.getArrayDataType(getDataType(type.getChildren().get(0)));
+            case MAP:
+                // Record maps are keyed by String, so keys of other types are converted to their String representation
+                return RecordFieldType.MAP.getMapDataType(getDataType(type.getChildren().get(1)));
+            case STRUCT:
+                return RecordFieldType.RECORD.getRecordDataType(createRecordSchema(type));
+            case UNION:
+                final List<DataType> possibleTypes = new ArrayList<>(type.getChildren().size());
+                for (final TypeDescription child : type.getChildren()) {
+                    possibleTypes.add(getDataType(child));
+                }
+                return RecordFieldType.CHOICE.getChoiceDataType(possibleTypes);
+            case STRING:
+            case CHAR:
+            case VARCHAR:
+            default:
+                return RecordFieldType.STRING.getDataType();
+        }
+    }
+
+    /**
+     * Creates an ORC schema for writing Records of the given Record Schema
+     *
+     * @param recordSchema the Record Schema
+     * @return the corresponding ORC struct
+     */
+    public static TypeDescription createTypeDescription(final RecordSchema recordSchema) {
+        final TypeDescription structType = TypeDescription.createStruct();
+        for (final RecordField field : recordSchema.getFields()) {
+            structType.addField(field.getFieldName(), createType(field.getDataType()));
+        }
+
+        return structType;
+    }
+
+    private static TypeDescription createType(final DataType dataType) {
+        switch (dataType.getFieldType()) {
+            case BOOLEAN:
+                return TypeDescription.createBoolean();
+            case BYTE:
+                return TypeDescription.createByte();
+            case SHORT:
+                return TypeDescription.createShort();
+            case INT:
+            case TIME:
+                // ORC has no time type, so times are written as milliseconds since midnight
+                return TypeDescription.createInt();
+            case LONG:
+                return TypeDescription.createLong();
+            case FLOAT:
+                return TypeDescription.createFloat();
+            case DOUBLE:
+                return TypeDescription.createDouble();
+            case DECIMAL:
+                final DecimalDataType decimalDataType = (DecimalDataType) dataType;
+                final int precision = Math.min(decimalDataType.getPrecision(), TypeDescription.MAX_PRECISION);
+                return TypeDescription.createDecimal()
+                        .withPrecision(precision)
+                        .withScale(Math.min(decimalDataType.getScale(), precision));
+            case DATE:
+                return TypeDescription.createDate();
+            case TIMESTAMP:
+                return TypeDescription.createTimestamp();
+            case ARRAY:
+                final DataType elementType = ((ArrayDataType) dataType).getElementType();
+                if (elementType.getFieldType() == RecordFieldType.BYTE) {
+                    return TypeDescription.createBinary();
+                }
+                return TypeDescription.createList(createType(elementType));
+            case MAP:
+                return TypeDescription.createMap(TypeDescription.createString(), createType(((MapDataType) dataType).getValueType()));
+            case RECORD:
+                return createTypeDescription(((RecordDataType) dataType).getChildSchema());
+            case CHOICE:
+                final TypeDescription unionType = TypeDescription.createUnion();
+                for (final DataType possibleType : ((ChoiceDataType) dataType).getPossibleSubTypes()) {
+                    unionType.addUnionChild(createType(possibleType));
+                }
+                return unionType;
+            case STRING:
+            case CHAR:
+            case ENUM:
+            case UUID:
+            case BIGINT:
+            default:
+                return TypeDescription.createString();
+        }
+    }
+}
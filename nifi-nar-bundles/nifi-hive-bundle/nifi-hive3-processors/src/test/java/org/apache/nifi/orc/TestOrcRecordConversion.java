@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.orc;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.nifi.orc.record.OrcRecordReader;
+import org.apache.nifi.orc.record.WriteOrcResult;
+import org.apache.nifi.orc.utils.OrcFilterParser;
+import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.RecordSetWriter;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.WriteResult;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.orc.CompressionKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisabledOnOs(OS.WINDOWS)
+public class TestOrcRecordConversion {
+
+    private static final int RECORD_COUNT = 2500;
+
+    private RecordSchema addressSchema;
+    private RecordSchema schema;
+
+    @BeforeEach
+    public void setup() {
+        addressSchema = new SimpleRecordSchema(Arrays.asList(
+                new RecordField("city", RecordFieldType.STRING.getDataType()),
+                new RecordField("zip", RecordFieldType.INT.getDataType())));
+
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("score", RecordFieldType.DOUBLE.getDataType()));
+        fields.add(new RecordField("active", RecordFieldType.BOOLEAN.getDataType()));
+        fields.add(new RecordField("amount", RecordFieldType.DECIMAL.getDecimalDataType(10, 2)));
+        fields.add(new RecordField("created", RecordFieldType.DATE.getDataType()));
+        fields.add(new RecordField("tags", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.STRING.getDataType())));
+        fields.add(new RecordField("attributes", RecordFieldType.MAP.getMapDataType(RecordFieldType.LONG.getDataType())));
+        fields.add(new RecordField("address", RecordFieldType.RECORD.getRecordDataType(addressSchema)));
+        schema = new SimpleRecordSchema(fields);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException, MalformedRecordException {
+        final byte[] orc = writeRecords();
+
+        try (final OrcRecordReader reader = createReader(orc, null, null)) {
+            assertEquals(schema.getFieldNames(), reader.getSchema().getFieldNames());
+
+            for (int i = 0; i < RECORD_COUNT; i++) {
+                final Record record = reader.nextRecord();
+                assertEquals(i, record.getValue("id"));
+                assertEquals("name-" + i, record.getValue("name"));
+                if (i % 10 == 0) {
+                    assertNull(record.getValue("score"));
+                } else {
+                    assertEquals(i / 2D, record.getValue("score"));
+                }
+                assertEquals(i % 2 == 0, record.getValue("active"));
+                assertEquals(new BigDecimal(i + ".25"), record.getValue("amount"));
+                assertEquals(Date.valueOf("2022-01-01").toLocalDate().plusDays(i % 30), ((Date) record.getValue("created")).toLocalDate());
+                assertArrayEquals(new Object[] {"a" + i, "b" + i}, (Object[]) record.getValue("tags"));
+                assertEquals(Collections.singletonMap("count", (long) i), record.getValue("attributes"));
+
+                final Record address = (Record) record.getValue("address");
+                assertEquals("city-" + (i % 5), address.getValue("city"));
+                assertEquals(10000 + i, address.getValue("zip"));
+            }
+
+            assertNull(reader.nextRecord());
+        }
+    }
+
+    @Test
+    public void testProjection() throws IOException, MalformedRecordException {
+        final byte[] orc = writeRecords();
+
+        try (final OrcRecordReader reader = createReader(orc, Arrays.asList("name", "id", "missing"), null)) {
+            assertEquals(Arrays.asList("id", "name"), reader.getSchema().getFieldNames());
+
+            final Record record = reader.nextRecord();
+            assertEquals(0, record.getValue("id"));
+            assertEquals("name-0", record.getValue("name"));
+            assertNull(record.getValue("score"));
+        }
+    }
+
+    @Test
+    public void testFilter() throws IOException, MalformedRecordException {
+        final byte[] orc = writeRecords();
+
+        final List<Integer> ids = readIds(orc, "id >= 2490 AND (active = TRUE OR score IS NULL)");
+        assertEquals(Arrays.asList(2490, 2492, 2494, 2496, 2498), ids);
+
+        // comparisons with null values never match, so neither do their negations
+        assertEquals(RECORD_COUNT - RECORD_COUNT / 10, readIds(orc, "score >= 0").size());
+        assertEquals(0, readIds(orc, "NOT score >= 0 AND score IS NULL").size());
+
+        assertEquals(Collections.singletonList(42), readIds(orc, "name = 'name-42'"));
+        assertEquals(Collections.singletonList(3), readIds(orc, "amount = 3.25"));
+        assertEquals(RECORD_COUNT / 30 + 1, readIds(orc, "created = '2022-01-01'").size());
+    }
+
+    @Test
+    public void testFilterReferencesUnknownColumn() throws IOException {
+        final byte[] orc = writeRecords();
+        assertThrows(IllegalArgumentException.class, () -> createReader(orc, null, "missing = 1"));
+        assertThrows(IllegalArgumentException.class, () -> createReader(orc, null, "tags = 'a'"));
+    }
+
+    @Test
+    public void testFilterSyntax() {
+        new OrcFilterParser("a = 1 AND NOT (b != 'x''y' OR c IS NOT NULL)", null).parse();
+        assertThrows(IllegalArgumentException.class, () -> new OrcFilterParser("a = ", null).parse());
+        assertThrows(IllegalArgumentException.class, () -> new OrcFilterParser("a = 'x", null).parse());
+        assertThrows(IllegalArgumentException.class, () -> new OrcFilterParser("(a = 1", null).parse());
+        assertThrows(IllegalArgumentException.class, () -> new OrcFilterParser("a LIKE 1", null).parse());
+    }
+
+    private List<Integer> readIds(final byte[] orc, final String filter) throws IOException, MalformedRecordException {
+        final List<Integer> ids = new ArrayList<>();
+        try (final OrcRecordReader reader = createReader(orc, Collections.singletonList("id"), filter)) {
+            Record record;
+            while ((record = reader.nextRecord()) != null) {
+                ids.add((Integer) record.getValue("id"));
+            }
+        }
+        return ids;
+    }
+
+    private OrcRecordReader createReader(final byte[] orc, final List<String> projectedFields, final String filter) throws IOException {
+        return new OrcRecordReader(new ByteArrayInputStream(orc), orc.length, new Configuration(), projectedFields, filter);
+    }
+
+    private byte[] writeRecords() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final RecordSetWriter writer = new WriteOrcResult(schema, out, new Configuration(), CompressionKind.ZLIB, 64 * 1024 * 1024, 10 * 1024)) {
+            writer.beginRecordSet();
+            for (int i = 0; i < RECORD_COUNT; i++) {
+                writer.write(createRecord(i));
+            }
+            final WriteResult result = writer.finishRecordSet();
+            assertEquals(RECORD_COUNT, result.getRecordCount());
+        }
+        return out.toByteArray();
+    }
+
+    private Record createRecord(final int i) {
+        final Map<String, Object> address = new HashMap<>();
+        address.put("city", "city-" + (i % 5));
+        address.put("zip", 10000 + i);
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", i);
+        values.put("name", "name-" + i);
+        values.put("score", i % 10 == 0 ? null : i / 2D);
+        values.put("active", i % 2 == 0);
+        values.put("amount", new BigDecimal(i + ".25"));
+        values.put("created", Date.valueOf(Date.valueOf("2022-01-01").toLocalDate().plusDays(i % 30)));
+        values.put("tags", new Object[] {"a" + i, "b" + i});
+        values.put("attributes", Collections.singletonMap("count", (long) i));
+        values.put("address", new MapRecord(addressSchema, address));
+        return new MapRecord(schema, values);
+    }
+}
@@ -20,11 +20,18 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
 import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.components.ValidationResult;
+import org.apache.nifi.components.Validator;
+import org.apache.nifi.context.PropertyContext;
 import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.expression.ExpressionLanguageScope;
 import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.parquet.record.NativeParquetRecordReader;
 import org.apache.nifi.parquet.record.ParquetRecordReader;
 import org.apache.nifi.parquet.utils.ParquetConfig;
+import org.apache.nifi.parquet.utils.ParquetFilterParser;
 import org.apache.nifi.parquet.utils.ParquetUtils;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordReaderFactory;
 
@@ -33,6 +40,8 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.apache.nifi.parquet.utils.ParquetUtils.applyCommonConfig;
 import static org.apache.nifi.parquet.utils.ParquetUtils.createParquetConfig;
@@ -42,11 +51,65 @@ import static org.apache.nifi.parquet.utils.ParquetUtils.createParquetConfig;
         "The schema will come from the Parquet data itself.")
 public class ParquetReader extends AbstractControllerService implements RecordReaderFactory {
 
+    private static final Validator FILTER_EXPRESSION_VALIDATOR = (subject, input, context) -> {
+        if (context.isExpressionLanguageSupported(subject) && context.isExpressionLanguagePresent(input)) {
+            return new ValidationResult.Builder().subject(subject).input(input).explanation("Expression Language Present").valid(true).build();
+        }
+
+        try {
+            // the column types are only known once a file is read, so only the syntax can be validated here
+            new ParquetFilterParser(input, null).parse();
+            return new ValidationResult.Builder().subject(subject).input(input).valid(true).build();
+        } catch (final IllegalArgumentException e) {
+            return new ValidationResult.Builder().subject(subject).input(input).explanation(e.getMessage()).valid(false).build();
+        }
+    };
+
+    public static final PropertyDescriptor PROJECTED_FIELDS = new PropertyDescriptor.Builder()
+            .name("projected-fields")
+            .displayName("Projected Fields")
+            .description("A comma-separated list of the top-level fields to read. Only the columns of these fields are read and decoded, "
+                    + "and Records contain only these fields, along with any fields referenced by the Filter Expression. "
+                    + "Fields that do not exist in the Parquet data are ignored. If not set, all fields are read.")
+            .addValidator(StandardValidators.NON_BLANK_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.FLOWFILE_ATTRIBUTES)
+            .dependsOn(ParquetUtils.RECORD_CONVERSION, ParquetUtils.NATIVE_CONVERSION)
+            .required(false)
+            .build();
+
+    public static final PropertyDescriptor FILTER_EXPRESSION = new PropertyDescriptor.Builder()
+            .name("filter-expression")
+            .displayName("Filter Expression")
+            .description("An expression that rows must match in order to be returned, such as: age >= 21 AND (state = 'CA' OR state IS NULL). "
+                    + "Columns are compared with =, !=, <, <=, > and >= to numbers, quoted strings, TRUE or FALSE, and combined using AND, OR and NOT. "
+                    + "Dates and timestamps may be compared to quoted values such as '2022-01-31' and '2022-01-31T12:00:00Z'. "
+                    + "The filter is evaluated by Parquet, which skips entire row groups whose statistics or dictionaries show that no row can match.")
+            .addValidator(FILTER_EXPRESSION_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.FLOWFILE_ATTRIBUTES)
+            .dependsOn(ParquetUtils.RECORD_CONVERSION, ParquetUtils.NATIVE_CONVERSION)
+            .required(false)
+            .build();
+
     @Override
     public RecordReader createRecordReader(final Map<String, String> variables, final InputStream in, final long inputLength, final ComponentLog logger) throws IOException {
+        final PropertyContext context = getConfigurationContext();
         final Configuration conf = new Configuration();
-        final ParquetConfig parquetConfig = createParquetConfig(getConfigurationContext(), variables);
+        final ParquetConfig parquetConfig = createParquetConfig(context, variables);
         applyCommonConfig(conf, parquetConfig);
+
+        if (ParquetUtils.NATIVE_CONVERSION.getValue().equals(context.getProperty(ParquetUtils.RECORD_CONVERSION).getValue())) {
+            final String projection = context.getProperty(PROJECTED_FIELDS).evaluateAttributeExpressions(variables).getValue();
+            final List<String> projectedFields = projection == null ? null : Stream.of(projection.split(","))
+                    .map(String::trim)
+                    .filter(field -> !field.isEmpty())
+                    .collect(Collectors.toList());
+
+            final String filter = context.getProperty(FILTER_EXPRESSION).evaluateAttributeExpressions(variables).getValue();
+            final String filterExpression = filter == null || filter.trim().isEmpty() ? null : filter;
+
+            return new NativeParquetRecordReader(in, inputLength, conf, projectedFields, filterExpression);
+        }
+
         return new ParquetRecordReader(in, inputLength, conf);
     }
 
@@ -54,6 +117,9 @@ public class ParquetReader extends AbstractControllerService implements RecordRe
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>();
         properties.add(ParquetUtils.AVRO_READ_COMPATIBILITY);
+        properties.add(ParquetUtils.RECORD_CONVERSION);
+        properties.add(PROJECTED_FIELDS);
+        properties.add(FILTER_EXPRESSION);
         return properties;
     }
 }
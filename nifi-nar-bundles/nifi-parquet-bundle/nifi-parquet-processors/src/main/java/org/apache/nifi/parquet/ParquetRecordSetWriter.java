@@ -26,6 +26,7 @@ import org.apache.nifi.avro.AvroTypeUtil;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.controller.ConfigurationContext;
 import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.parquet.record.WriteNativeParquetResult;
 import org.apache.nifi.parquet.record.WriteParquetResult;
 import org.apache.nifi.parquet.utils.ParquetConfig;
 import org.apache.nifi.parquet.utils.ParquetUtils;
@@ -69,6 +70,7 @@ public class ParquetRecordSetWriter extends SchemaRegistryRecordSetWriter implem
 
     private LoadingCache<String, Schema> compiledAvroSchemaCache;
     private String int96Fields;
+    private boolean nativeConversion;
 
     @OnEnabled
     public void onEnabled(final ConfigurationContext context) {
@@ -82,6 +84,8 @@ public class ParquetRecordSetWriter extends SchemaRegistryRecordSetWriter implem
         } else {
             int96Fields = null;
         }
+
+        nativeConversion = ParquetUtils.NATIVE_CONVERSION.getValue().equals(context.getProperty(ParquetUtils.RECORD_CONVERSION).getValue());
     }
 
     @Override
@@ -90,6 +94,10 @@ public class ParquetRecordSetWriter extends SchemaRegistryRecordSetWriter implem
         final ParquetConfig parquetConfig = createParquetConfig(getConfigurationContext(), variables);
         parquetConfig.setInt96Fields(int96Fields);
 
+        if (nativeConversion) {
+            return new WriteNativeParquetResult(recordSchema, out, parquetConfig);
+        }
+
         try {
             final Schema avroSchema;
             try {
@@ -118,6 +126,7 @@ public class ParquetRecordSetWriter extends SchemaRegistryRecordSetWriter implem
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
         properties.add(CACHE_SIZE);
+        properties.add(ParquetUtils.RECORD_CONVERSION);
         properties.add(ParquetUtils.COMPRESSION_TYPE);
         properties.add(ParquetUtils.ROW_GROUP_SIZE);
         properties.add(ParquetUtils.PAGE_SIZE);
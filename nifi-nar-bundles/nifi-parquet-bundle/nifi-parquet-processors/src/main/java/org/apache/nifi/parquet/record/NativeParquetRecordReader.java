@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.parquet.record;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.nifi.parquet.stream.NifiParquetInputFile;
+import org.apache.nifi.parquet.utils.ParquetFilterParser;
+import org.apache.nifi.serialization.RecordReader;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.stream.io.NonCloseableInputStream;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.api.ReadSupport;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.schema.MessageType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * RecordReader that reads Parquet columns directly into NiFi Records, without converting through Avro. Supports reading
+ * only a subset of the top-level fields and a filter expression that is pushed down into Parquet, which uses it to skip
+ * entire row groups based on their statistics and dictionaries before filtering the remaining rows.
+ */
+public class NativeParquetRecordReader implements RecordReader {
+
+    private final InputStream inputStream;
+    private final RecordReadSupport readSupport;
+    private final ParquetReader<Record> parquetReader;
+    private Record nextRecord;
+
+    /**
+     * @param inputStream the Parquet content, which must support mark/reset
+     * @param inputLength the length of the content
+     * @param configuration the Hadoop configuration for the Parquet reader
+     * @param projectedFields the top-level fields to read, or <code>null</code> or empty to read all fields
+     * @param filterExpression an expression understood by {@link ParquetFilterParser}, or <code>null</code> to read all rows
+     * @throws IOException if unable to read the Parquet footer
+     */
+    public NativeParquetRecordReader(final InputStream inputStream, final long inputLength, final Configuration configuration,
+                                     final Collection<String> projectedFields, final String filterExpression) throws IOException {
+        if (inputLength < 0) {
+            throw new IllegalArgumentException("Invalid input length of '" + inputLength + "'. This record reader requires knowing " +
+                    "the length of the InputStream and cannot be used in some cases where the length may not be known.");
+        }
+
+        this.inputStream = inputStream;
+
+        FilterPredicate filterPredicate = null;
+        Collection<String> requestedFields = projectedFields;
+        if (filterExpression != null) {
+            // The filter has to be bound to the physical column types, so the footer must be read before the reader is created
+            final ParquetFilterParser filterParser = new ParquetFilterParser(filterExpression, readSchema(inputStream, inputLength));
+            filterPredicate = filterParser.parse();
+
+            // Parquet can only evaluate the filter against the rows if its columns are read
+            if (projectedFields != null && !projectedFields.isEmpty()) {
+                final Set<String> fields = new LinkedHashSet<>(projectedFields);
+                fields.addAll(filterParser.getReferencedFields());
+                requestedFields = fields;
+            }
+        }
+
+        readSupport = new RecordReadSupport(requestedFields);
+
+        final InputFile inputFile = new NifiParquetInputFile(inputStream, inputLength);
+        final Builder builder = new Builder(inputFile, readSupport);
+        builder.withConf(configuration);
+        if (filterPredicate != null) {
+            builder.withFilter(FilterCompat.get(filterPredicate));
+        }
+        parquetReader = builder.build();
+
+        // Reading the first record initializes the read support, which determines the schema, even if no rows match
+        nextRecord = parquetReader.read();
+    }
+
+    private static MessageType readSchema(final InputStream inputStream, final long inputLength) throws IOException {
+        // NifiSeekableInputStream marks the start of the content and resets to it when seeking backward, so after the
+        // footer has been read the content can be rewound for the actual reader
+        try (final ParquetFileReader footerReader = ParquetFileReader.open(new NifiParquetInputFile(new NonCloseableInputStream(inputStream), inputLength))) {
+            return footerReader.getFooter().getFileMetaData().getSchema();
+        } finally {
+            inputStream.reset();
+        }
+    }
+
+    @Override
+    public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException {
+        if (nextRecord == null) {
+            return null;
+        }
+
+        final Record record = nextRecord;
+        nextRecord = parquetReader.read();
+        return record;
+    }
+
+    @Override
+    public RecordSchema getSchema() {
+        return readSupport.getRecordSchema();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            parquetReader.close();
+        } finally {
+            // ensure the input stream still gets closed
+            inputStream.close();
+        }
+    }
+
+    private static class Builder extends ParquetReader.Builder<Record> {
+        private final ReadSupport<Record> readSupport;
+
+        private Builder(final InputFile inputFile, final ReadSupport<Record> readSupport) {
+            super(inputFile);
+            this.readSupport = readSupport;
+        }
+
+        @Override
+        protected ReadSupport<Record> getReadSupport() {
+            return readSupport;
+        }
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.parquet.record;
+
+import org.apache.nifi.avro.AvroTypeUtil;
+import org.apache.nifi.parquet.utils.ParquetSchemaConverter;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.DecimalDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+/**
+ * Assembles NiFi Records directly from Parquet column values. The converter tree mirrors the requested Parquet schema, so
+ * only the projected columns are ever decoded, and each value is converted once into its final Record representation
+ * rather than first being materialized as an Avro GenericRecord.
+ */
+public class ParquetRecordMaterializer extends RecordMaterializer<Record> {
+
+    private static final long JULIAN_DAY_OF_EPOCH = 2_440_588L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final RecordSchema recordSchema;
+    private final RecordConverter rootConverter;
+    private Record currentRecord;
+
+    public ParquetRecordMaterializer(final MessageType requestedSchema) {
+        this.recordSchema = ParquetSchemaConverter.createRecordSchema(requestedSchema);
+        this.rootConverter = new RecordConverter(requestedSchema, recordSchema, value -> currentRecord = (Record) value);
+    }
+
+    public RecordSchema getRecordSchema() {
+        return recordSchema;
+    }
+
+    @Override
+    public Record getCurrentRecord() {
+        return currentRecord;
+    }
+
+    @Override
+    public GroupConverter getRootConverter() {
+        return rootConverter;
+    }
+
+    private static Converter createConverter(final Type type, final DataType dataType, final ValueSink sink) {
+        if (type.isPrimitive()) {
+            return createPrimitiveConverter(type.asPrimitiveType(), dataType, sink);
+        }
+
+        final GroupType groupType = type.asGroupType();
+        switch (dataType.getFieldType()) {
+            case ARRAY:
+                return new ListConverter(groupType, ((ArrayDataType) dataType).getElementType(), sink);
+            case MAP:
+                return new MapConverter(groupType, ((MapDataType) dataType).getValueType(), sink);
+            default:
+                return new RecordConverter(groupType, ((RecordDataType) dataType).getChildSchema(), sink);
+        }
+    }
+
+    private static Converter createPrimitiveConverter(final PrimitiveType type, final DataType dataType, final ValueSink sink) {
+        final LogicalTypeAnnotation annotation = type.getLogicalTypeAnnotation();
+
+        switch (type.getPrimitiveTypeName()) {
+            case BOOLEAN:
+                return new PrimitiveConverter() {
+                    @Override
+                    public void addBoolean(final boolean value) {
+                        sink.set(value);
+                    }
+                };
+            case FLOAT:
+                return new PrimitiveConverter() {
+                    @Override
+                    public void addFloat(final float value) {
+                        sink.set(value);
+                    }
+                };
+            case DOUBLE:
+                return new PrimitiveConverter() {
+                    @Override
+                    public void addDouble(final double value) {
+                        sink.set(value);
+                    }
+                };
+            case INT32:
+                switch (dataType.getFieldType()) {
+                    case DECIMAL:
+                        final int intScale = ((DecimalDataType) dataType).getScale();
+                        return new IntValueConverter(sink, value -> BigDecimal.valueOf(value, intScale));
+                    case DATE:
+                        return new IntValueConverter(sink, value -> Date.valueOf(LocalDate.ofEpochDay(value)));
+                    case TIME:
+                        return new IntValueConverter(sink, Time::new);
+                    case LONG:
+                        return new IntValueConverter(sink, Integer::toUnsignedLong);
+                    default:
+                        return new IntValueConverter(sink, Integer::valueOf);
+                }
+            case INT64:
+                switch (dataType.getFieldType()) {
+                    case DECIMAL:
+                        final int longScale = ((DecimalDataType) dataType).getScale();
+                        return new LongValueConverter(sink, value -> BigDecimal.valueOf(value, longScale));
+                    case TIMESTAMP:
+                        final long timestampUnits = getUnitsPerSecond(((LogicalTypeAnnotation.TimestampLogicalTypeAnnotation) annotation).getUnit());
+                        return new LongValueConverter(sink, value -> toTimestamp(value, timestampUnits));
+                    case TIME:
+                        final long timeUnits = getUnitsPerSecond(((LogicalTypeAnnotation.TimeLogicalTypeAnnotation) annotation).getUnit());
+                        return new LongValueConverter(sink, value -> new Time(value / (timeUnits / 1_000L)));
+                    case BIGINT:
+                        return new LongValueConverter(sink, value -> new BigInteger(Long.toUnsignedString(value)));
+                    default:
+                        return new LongValueConverter(sink, Long::valueOf);
+                }
+            case INT96:
+                return new BinaryValueConverter(sink, ParquetRecordMaterializer::toTimestamp, true);
+            case BINARY:
+            case FIXED_LEN_BYTE_ARRAY:
+            default:
+                switch (dataType.getFieldType()) {
+                    case DECIMAL:
+                        final int binaryScale = ((DecimalDataType) dataType).getScale();
+                        return new BinaryValueConverter(sink, value -> new BigDecimal(new BigInteger(value.getBytes()), binaryScale), true);
+                    case STRING:
+                        return new BinaryValueConverter(sink, Binary::toStringUsingUTF8, true);
+                    default:
+                        // byte arrays are mutable, so each value gets its own copy rather than sharing a decoded dictionary entry
+                        return new BinaryValueConverter(sink, value -> AvroTypeUtil.convertByteArray(value.getBytes()), false);
+                }
+        }
+    }
+
+    private static long getUnitsPerSecond(final LogicalTypeAnnotation.TimeUnit timeUnit) {
+        switch (timeUnit) {
+            case MILLIS:
+                return 1_000L;
+            case MICROS:
+                return 1_000_000L;
+            case NANOS:
+            default:
+                return NANOS_PER_SECOND;
+        }
+    }
+
+    private static Timestamp toTimestamp(final long value, final long unitsPerSecond) {
+        final long seconds = Math.floorDiv(value, unitsPerSecond);
+        final long fraction = Math.floorMod(value, unitsPerSecond);
+        return createTimestamp(seconds, fraction * (NANOS_PER_SECOND / unitsPerSecond));
+    }
+
+    private static Timestamp toTimestamp(final Binary int96) {
+        // INT96 timestamps hold the nanoseconds of the day followed by the Julian day, both little-endian
+        final ByteBuffer buffer = int96.toByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        final long nanosOfDay = buffer.getLong();
+        final long julianDay = buffer.getInt();
+        final long seconds = (julianDay - JULIAN_DAY_OF_EPOCH) * SECONDS_PER_DAY + nanosOfDay / NANOS_PER_SECOND;
+        return createTimestamp(seconds, nanosOfDay % NANOS_PER_SECOND);
+    }
+
+    private static Timestamp createTimestamp(final long epochSeconds, final long nanos) {
+        final Timestamp timestamp = new Timestamp(epochSeconds * 1_000L);
+        timestamp.setNanos((int) nanos);
+        return timestamp;
+    }
+
+    private interface ValueSink {
+        void set(Object value);
+    }
+
+    private static class IntValueConverter extends PrimitiveConverter {
+        private final ValueSink sink;
+        private final IntFunction<Object> conversion;
+
+        IntValueConverter(final ValueSink sink, final IntFunction<Object> conversion) {
+            this.sink = sink;
+            this.conversion = conversion;
+        }
+
+        @Override
+        public void addInt(final int value) {
+            sink.set(conversion.apply(value));
+        }
+    }
+
+    private static class LongValueConverter extends PrimitiveConverter {
+        private final ValueSink sink;
+        private final LongFunction<Object> conversion;
+
+        LongValueConverter(final ValueSink sink, final LongFunction<Object> conversion) {
+            this.sink = sink;
+            this.conversion = conversion;
+        }
+
+        @Override
+        public void addLong(final long value) {
+            sink.set(conversion.apply(value));
+        }
+    }
+
+    /**
+     * Converts binary values. When the conversion produces immutable values, dictionary-encoded pages are handled by converting
+     * each dictionary entry once and handing out the same value for every row that references it.
+     */
+    private static class BinaryValueConverter extends PrimitiveConverter {
+        private final ValueSink sink;
+        private final Function<Binary, Object> conversion;
+        private final boolean dictionarySupported;
+        private Object[] dictionaryValues;
+
+        BinaryValueConverter(final ValueSink sink, final Function<Binary, Object> conversion, final boolean immutableValues) {
+            this.sink = sink;
+            this.conversion = conversion;
+            this.dictionarySupported = immutableValues;
+        }
+
+        @Override
+        public boolean hasDictionarySupport() {
+            return dictionarySupported;
+        }
+
+        @Override
+        public void setDictionary(final Dictionary dictionary) {
+            dictionaryValues = new Object[dictionary.getMaxId() + 1];
+            for (int i = 0; i < dictionaryValues.length; i++) {
+                dictionaryValues[i] = conversion.apply(dictionary.decodeToBinary(i));
+            }
+        }
+
+        @Override
+        public void addValueFromDictionary(final int dictionaryId) {
+            sink.set(dictionaryValues[dictionaryId]);
+        }
+
+        @Override
+        public void addBinary(final Binary value) {
+            sink.set(conversion.apply(value));
+        }
+    }
+
+    private static class RecordConverter extends GroupConverter {
+        private final RecordSchema schema;
+        private final String[] fieldNames;
+        private final Converter[] converters;
+        private final List<List<Object>> repeatedValues;
+        private final ValueSink sink;
+        private Object[] values;
+
+        RecordConverter(final GroupType groupType, final RecordSchema schema, final ValueSink sink) {
+            this.schema = schema;
+            this.sink = sink;
+
+            final int fieldCount = groupType.getFieldCount();
+            this.fieldNames = new String[fieldCount];
+            this.converters = new Converter[fieldCount];
+            this.repeatedValues = new ArrayList<>(fieldCount);
+            this.values = new Object[fieldCount];
+
+            for (int i = 0; i < fieldCount; i++) {
+                final Type fieldType = groupType.getType(i);
+                final RecordField recordField = schema.getField(i);
+                final int fieldIndex = i;
+                fieldNames[i] = recordField.getFieldName();
+
+                if (fieldType.isRepetition(Type.Repetition.REPEATED)) {
+                    final List<Object> elements = new ArrayList<>();
+                    repeatedValues.add(elements);
+                    converters[i] = createConverter(fieldType, ((ArrayDataType) recordField.getDataType()).getElementType(), elements::add);
+                } else {
+                    repeatedValues.add(null);
+                    converters[i] = createConverter(fieldType, recordField.getDataType(), value -> values[fieldIndex] = value);
+                }
+            }
+        }
+
+        @Override
+        public Converter getConverter(final int fieldIndex) {
+            return converters[fieldIndex];
+        }
+
+        @Override
+        public void start() {
+            values = new Object[fieldNames.length];
+            for (final List<Object> elements : repeatedValues) {
+                if (elements != null) {
+                    elements.clear();
+                }
+            }
+        }
+
+        @Override
+        public void end() {
+            final Map<String, Object> fieldValues = new HashMap<>((int) (fieldNames.length / 0.75F) + 1);
+            for (int i = 0; i < fieldNames.length; i++) {
+                final List<Object> elements = repeatedValues.get(i);
+                fieldValues.put(fieldNames[i], elements == null ? values[i] : elements.toArray());
+            }
+
+            sink.set(new MapRecord(schema, fieldValues));
+        }
+    }
+
+    private static class ListConverter extends GroupConverter {
+        private final Converter repeatedConverter;
+        private final List<Object> elements = new ArrayList<>();
+        private final ValueSink sink;
+
+        ListConverter(final GroupType listType, final DataType elementType, final ValueSink sink) {
+            this.sink = sink;
+
+            final Type repeatedType = listType.getType(0);
+            if (ParquetSchemaConverter.isListElementRepeatedType(repeatedType, listType.getName())) {
+                repeatedConverter = createConverter(repeatedType, elementType, elements::add);
+            } else {
+                repeatedConverter = new ElementConverter(repeatedType.asGroupType(), elementType, elements::add);
+            }
+        }
+
+        @Override
+        public Converter getConverter(final int fieldIndex) {
+            return repeatedConverter;
+        }
+
+        @Override
+        public void start() {
+            elements.clear();
+        }
+
+        @Override
+        public void end() {
+            sink.set(elements.toArray());
+        }
+    }
+
+    /**
+     * Handles the repeated group of a three-level list, which wraps a single, possibly null, element
+     */
+    private static class ElementConverter extends GroupConverter {
+        private final Converter elementConverter;
+        private final ValueSink sink;
+        private Object element;
+
+        ElementConverter(final GroupType repeatedType, final DataType elementType, final ValueSink sink) {
+            this.sink = sink;
+            this.elementConverter = createConverter(repeatedType.getType(0), elementType, value -> element = value);
+        }
+
+        @Override
+        public Converter getConverter(final int fieldIndex) {
+            return elementConverter;
+        }
+
+        @Override
+        public void start() {
+            element = null;
+        }
+
+        @Override
+        public void end() {
+            sink.set(element);
+        }
+    }
+
+    private static class MapConverter extends GroupConverter {
+        private final Converter keyValueConverter;
+        private final ValueSink sink;
+        private Map<String, Object> map;
+
+        MapConverter(final GroupType mapType, final DataType valueType, final ValueSink sink) {
+            this.sink = sink;
+            this.keyValueConverter = new KeyValueConverter(mapType.getType(0).asGroupType(), valueType);
+        }
+
+        @Override
+        public Converter getConverter(final int fieldIndex) {
+            return keyValueConverter;
+        }
+
+        @Override
+        public void start() {
+            map = new LinkedHashMap<>();
+        }
+
+        @Override
+        public void end() {
+            sink.set(map);
+        }
+
+        private class KeyValueConverter extends GroupConverter {
+            private final Converter keyConverter;
+            private final Converter valueConverter;
+            private Object key;
+            private Object value;
+
+            KeyValueConverter(final GroupType keyValueType, final DataType valueType) {
+                final Type keyType = keyValueType.getType(0);
+                keyConverter = createConverter(keyType, ParquetSchemaConverter.getDataType(keyType), converted -> key = converted);
+                valueConverter = keyValueType.getFieldCount() > 1 ? createConverter(keyValueType.getType(1), valueType, converted -> value = converted) : null;
+            }
+
+            @Override
+            public Converter getConverter(final int fieldIndex) {
+                return fieldIndex == 0 ? keyConverter : valueConverter;
+            }
+
+            @Override
+            public void start() {
+                key = null;
+                value = null;
+            }
+
+            @Override
+            public void end() {
+                map.put(String.valueOf(key), value);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.parquet.record;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.parquet.hadoop.api.InitContext;
+import org.apache.parquet.hadoop.api.ReadSupport;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReadSupport that materializes NiFi Records directly. If a projection is given, only the named top-level fields are
+ * requested from the file, so the column chunks of all other fields are never read.
+ */
+public class RecordReadSupport extends ReadSupport<Record> {
+
+    private final Collection<String> projectedFields;
+    private volatile ParquetRecordMaterializer materializer;
+
+    /**
+     * @param projectedFields the names of the top-level fields to read, or <code>null</code> or empty to read all fields.
+     *            Names that do not exist in a given file are ignored.
+     */
+    public RecordReadSupport(final Collection<String> projectedFields) {
+        this.projectedFields = projectedFields;
+    }
+
+    @Override
+    public ReadContext init(final InitContext context) {
+        final MessageType fileSchema = context.getFileSchema();
+        if (projectedFields == null || projectedFields.isEmpty()) {
+            return new ReadContext(fileSchema);
+        }
+
+        // keep the order of the file so that projected Records have the same field order as unprojected ones
+        final List<Type> requestedFields = new ArrayList<>(projectedFields.size());
+        for (final Type field : fileSchema.getFields()) {
+            if (projectedFields.contains(field.getName())) {
+                requestedFields.add(field);
+            }
+        }
+
+        if (requestedFields.isEmpty()) {
+            throw new IllegalArgumentException("None of the projected fields " + projectedFields + " exist in the Parquet schema " + fileSchema);
+        }
+
+        return new ReadContext(new MessageType(fileSchema.getName(), requestedFields));
+    }
+
+    @Override
+    public RecordMaterializer<Record> prepareForRead(final Configuration configuration, final Map<String, String> keyValueMetaData,
+                                                     final MessageType fileSchema, final ReadContext readContext) {
+        materializer = new ParquetRecordMaterializer(readContext.getRequestedSchema());
+        return materializer;
+    }
+
+    /**
+     * @return the schema of the Records being read, or <code>null</code> if reading has not yet started
+     */
+    public RecordSchema getRecordSchema() {
+        final ParquetRecordMaterializer current = materializer;
+        return current == null ? null : current.getRecordSchema();
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.parquet.record;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.DecimalDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.IllegalTypeConversionException;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WriteSupport that writes the fields of NiFi Records directly to a Parquet schema created by
+ * {@link org.apache.nifi.parquet.utils.ParquetSchemaConverter#createMessageType(RecordSchema)}, without first creating an
+ * Avro GenericRecord for each Record.
+ */
+public class RecordWriteSupport extends WriteSupport<Record> {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final RecordSchema recordSchema;
+    private final MessageType messageType;
+    private RecordConsumer recordConsumer;
+
+    public RecordWriteSupport(final RecordSchema recordSchema, final MessageType messageType) {
+        this.recordSchema = recordSchema;
+        this.messageType = messageType;
+    }
+
+    @Override
+    public WriteContext init(final Configuration configuration) {
+        return new WriteContext(messageType, Collections.emptyMap());
+    }
+
+    @Override
+    public void prepareForWrite(final RecordConsumer recordConsumer) {
+        this.recordConsumer = recordConsumer;
+    }
+
+    @Override
+    public void write(final Record record) {
+        recordConsumer.startMessage();
+        writeFields(record, recordSchema, messageType);
+        recordConsumer.endMessage();
+    }
+
+    private void writeFields(final Record record, final RecordSchema schema, final GroupType groupType) {
+        final List<RecordField> fields = schema.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            final RecordField field = fields.get(i);
+            final Object value = record.getValue(field);
+            if (value == null) {
+                if (groupType.getType(i).isRepetition(Type.Repetition.REQUIRED)) {
+                    throw new IllegalTypeConversionException("Cannot write null value for non-nullable field '" + field.getFieldName() + "'");
+                }
+                continue;
+            }
+
+            recordConsumer.startField(field.getFieldName(), i);
+            writeValue(value, field.getDataType(), groupType.getType(i), field.getFieldName());
+            recordConsumer.endField(field.getFieldName(), i);
+        }
+    }
+
+    private void writeValue(final Object value, final DataType dataType, final Type type, final String fieldName) {
+        switch (dataType.getFieldType()) {
+            case BOOLEAN:
+                recordConsumer.addBoolean(DataTypeUtils.toBoolean(value, fieldName));
+                break;
+            case BYTE:
+            case SHORT:
+            case INT:
+                recordConsumer.addInteger(DataTypeUtils.toInteger(value, fieldName));
+                break;
+            case LONG:
+                recordConsumer.addLong(DataTypeUtils.toLong(value, fieldName));
+                break;
+            case FLOAT:
+                recordConsumer.addFloat(DataTypeUtils.toFloat(value, fieldName));
+                break;
+            case DOUBLE:
+                recordConsumer.addDouble(DataTypeUtils.toDouble(value, fieldName));
+                break;
+            case DECIMAL:
+                final BigDecimal decimal = DataTypeUtils.toBigDecimal(value, fieldName).setScale(((DecimalDataType) dataType).getScale(), RoundingMode.HALF_UP);
+                recordConsumer.addBinary(Binary.fromConstantByteArray(decimal.unscaledValue().toByteArray()));
+                break;
+            case DATE:
+                final String dateFormat = dataType.getFormat();
+                recordConsumer.addInteger((int) DataTypeUtils.toLocalDate(value, () -> DataTypeUtils.getDateTimeFormatter(dateFormat, ZoneId.systemDefault()), fieldName).toEpochDay());
+                break;
+            case TIME:
+                final String timeFormat = dataType.getFormat();
+                final Time time = DataTypeUtils.toTime(value, () -> DataTypeUtils.getDateFormat(timeFormat), fieldName);
+                recordConsumer.addInteger((int) Math.floorMod(time.getTime(), MILLIS_PER_DAY));
+                break;
+            case TIMESTAMP:
+                final String timestampFormat = dataType.getFormat();
+                recordConsumer.addLong(DataTypeUtils.toTimestamp(value, () -> DataTypeUtils.getDateFormat(timestampFormat), fieldName).getTime());
+                break;
+            case ARRAY:
+                final DataType elementType = ((ArrayDataType) dataType).getElementType();
+                if (type.isPrimitive()) {
+                    recordConsumer.addBinary(Binary.fromConstantByteArray(toByteArray(value, fieldName)));
+                } else {
+                    writeList(value, elementType, type.asGroupType(), fieldName);
+                }
+                break;
+            case MAP:
+                writeMap(value, ((MapDataType) dataType).getValueType(), type.asGroupType(), fieldName);
+                break;
+            case RECORD:
+                if (!(value instanceof Record)) {
+                    throw new IllegalTypeConversionException("Cannot convert value [" + value + "] of type " + value.getClass() + " to a Record for field " + fieldName);
+                }
+                recordConsumer.startGroup();
+                writeFields((Record) value, ((RecordDataType) dataType).getChildSchema(), type.asGroupType());
+                recordConsumer.endGroup();
+                break;
+            default:
+                recordConsumer.addBinary(Binary.fromString(DataTypeUtils.toString(value, dataType.getFormat())));
+                break;
+        }
+    }
+
+    private void writeList(final Object value, final DataType elementType, final GroupType listType, final String fieldName) {
+        final Object[] elements = DataTypeUtils.toArray(value, fieldName, elementType);
+        final GroupType repeatedType = listType.getType(0).asGroupType();
+        final Type elementParquetType = repeatedType.getType(0);
+
+        recordConsumer.startGroup();
+        if (elements.length > 0) {
+            recordConsumer.startField(repeatedType.getName(), 0);
+            for (final Object element : elements) {
+                recordConsumer.startGroup();
+                if (element != null) {
+                    recordConsumer.startField(elementParquetType.getName(), 0);
+                    writeValue(element, elementType, elementParquetType, fieldName);
+                    recordConsumer.endField(elementParquetType.getName(), 0);
+                }
+                recordConsumer.endGroup();
+            }
+            recordConsumer.endField(repeatedType.getName(), 0);
+        }
+        recordConsumer.endGroup();
+    }
+
+    private void writeMap(final Object value, final DataType valueType, final GroupType mapType, final String fieldName) {
+        final Map<String, Object> map = DataTypeUtils.toMap(value, fieldName);
+        final GroupType keyValueType = mapType.getType(0).asGroupType();
+        final String keyName = keyValueType.getType(0).getName();
+        final Type valueParquetType = keyValueType.getType(1);
+
+        recordConsumer.startGroup();
+        if (!map.isEmpty()) {
+            recordConsumer.startField(keyValueType.getName(), 0);
+            for (final Map.Entry<String, Object> entry : map.entrySet()) {
+                recordConsumer.startGroup();
+                recordConsumer.startField(keyName, 0);
+                recordConsumer.addBinary(Binary.fromString(entry.getKey()));
+                recordConsumer.endField(keyName, 0);
+                if (entry.getValue() != null) {
+                    recordConsumer.startField(valueParquetType.getName(), 1);
+                    writeValue(entry.getValue(), valueType, valueParquetType, fieldName);
+                    recordConsumer.endField(valueParquetType.getName(), 1);
+                }
+                recordConsumer.endGroup();
+            }
+            recordConsumer.endField(keyValueType.getName(), 0);
+        }
+        recordConsumer.endGroup();
+    }
+
+    private static byte[] toByteArray(final Object value, final String fieldName) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        if (value instanceof ByteBuffer) {
+            final ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        }
+        if (value instanceof Object[]) {
+            final Object[] array = (Object[]) value;
+            final byte[] bytes = new byte[array.length];
+            for (int i = 0; i < array.length; i++) {
+                bytes[i] = DataTypeUtils.toByte(array[i], fieldName);
+            }
+            return bytes;
+        }
+        if (value instanceof String) {
+            return ((String) value).getBytes(StandardCharsets.UTF_8);
+        }
+
+        throw new IllegalTypeConversionException("Cannot convert value [" + value + "] of type " + value.getClass() + " to a byte array for field " + fieldName);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.parquet.record;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.nifi.parquet.stream.NifiParquetOutputFile;
+import org.apache.nifi.parquet.utils.ParquetConfig;
+import org.apache.nifi.parquet.utils.ParquetSchemaConverter;
+import org.apache.nifi.serialization.AbstractRecordSetWriter;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.schema.MessageType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.apache.nifi.parquet.utils.ParquetUtils.applyCommonConfig;
+
+/**
+ * Writes Records to Parquet using {@link RecordWriteSupport}, so that Record values are written straight to the Parquet
+ * columns rather than first being converted to Avro GenericRecords.
+ */
+public class WriteNativeParquetResult extends AbstractRecordSetWriter {
+
+    private final ParquetWriter<Record> parquetWriter;
+
+    public WriteNativeParquetResult(final RecordSchema recordSchema, final OutputStream out, final ParquetConfig parquetConfig) throws IOException {
+        super(out);
+
+        final Configuration conf = new Configuration();
+        final OutputFile outputFile = new NifiParquetOutputFile(out);
+        final MessageType messageType = ParquetSchemaConverter.createMessageType(recordSchema);
+
+        final Builder writerBuilder = new Builder(outputFile, new RecordWriteSupport(recordSchema, messageType));
+        applyCommonConfig(writerBuilder, conf, parquetConfig);
+        parquetWriter = writerBuilder.build();
+    }
+
+    @Override
+    protected Map<String, String> writeRecord(final Record record) throws IOException {
+        parquetWriter.write(record);
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            parquetWriter.close();
+        } finally {
+            // ensure the output stream still gets closed
+            super.close();
+        }
+    }
+
+    @Override
+    public String getMimeType() {
+        return "application/parquet";
+    }
+
+    private static class Builder extends ParquetWriter.Builder<Record, Builder> {
+        private final WriteSupport<Record> writeSupport;
+
+        private Builder(final OutputFile outputFile, final WriteSupport<Record> writeSupport) {
+            super(outputFile);
+            this.writeSupport = writeSupport;
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        @Override
+        protected WriteSupport<Record> getWriteSupport(final Configuration conf) {
+            return writeSupport;
+        }
+    }
+}
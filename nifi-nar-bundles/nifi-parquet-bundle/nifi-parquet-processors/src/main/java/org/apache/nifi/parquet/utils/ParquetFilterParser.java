@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.parquet.utils;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * <p>
+ * Parses a filter expression into a Parquet {@link FilterPredicate}. Parquet evaluates such predicates against the min/max
+ * statistics and dictionaries of each row group, so row groups that cannot contain a matching row are skipped without
+ * being decompressed or decoded, and then against each remaining row.
+ * </p>
+ *
+ * <p>
+ * The grammar is a small subset of a SQL WHERE clause:
+ * </p>
+ * <pre>
+ * expression := term ( OR term )*
+ * term       := factor ( AND factor )*
+ * factor     := NOT factor | '(' expression ')' | column IS [NOT] NULL | column operator literal
+ * operator   := = | != | &lt;&gt; | &lt; | &lt;= | &gt; | &gt;=
+ * literal    := number | 'string' | TRUE | FALSE
+ * </pre>
+ *
+ * <p>
+ * Columns are referenced by name, using dots to address fields of nested groups. Literals are bound to the physical type of
+ * the column, so the Parquet schema of the file must be known; string literals may be used for DATE and TIMESTAMP columns.
+ * </p>
+ */
+public class ParquetFilterParser {
+
+    private final String expression;
+    private final MessageType schema;
+    private final List<String> tokens;
+    private final Set<String> referencedFields = new LinkedHashSet<>();
+    private int position = 0;
+
+    /**
+     * @param expression the filter expression
+     * @param schema the schema of the Parquet file that the filter will be applied to, or <code>null</code> to only check the syntax
+     */
+    public ParquetFilterParser(final String expression, final MessageType schema) {
+        this.expression = expression;
+        this.schema = schema;
+        this.tokens = tokenize(expression);
+    }
+
+    /**
+     * @return the predicate, or <code>null</code> if no schema was provided
+     * @throws IllegalArgumentException if the expression is invalid or does not match the schema
+     */
+    public FilterPredicate parse() {
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Filter expression is empty");
+        }
+
+        final FilterPredicate predicate = parseExpression();
+        if (position < tokens.size()) {
+            throw syntaxError("Unexpected token '" + tokens.get(position) + "'");
+        }
+
+        return predicate;
+    }
+
+    /**
+     * @return the names of the top-level fields referenced by the expression; only populated once {@link #parse()} has been called
+     */
+    public Set<String> getReferencedFields() {
+        return Collections.unmodifiableSet(referencedFields);
+    }
+
+    private FilterPredicate parseExpression() {
+        FilterPredicate predicate = parseTerm();
+        while (acceptKeyword("OR")) {
+            final FilterPredicate right = parseTerm();
+            predicate = schema == null ? null : FilterApi.or(predicate, right);
+        }
+        return predicate;
+    }
+
+    private FilterPredicate parseTerm() {
+        FilterPredicate predicate = parseFactor();
+        while (acceptKeyword("AND")) {
+            final FilterPredicate right = parseFactor();
+            predicate = schema == null ? null : FilterApi.and(predicate, right);
+        }
+        return predicate;
+    }
+
+    private FilterPredicate parseFactor() {
+        if (acceptKeyword("NOT")) {
+            final FilterPredicate predicate = parseFactor();
+            return schema == null ? null : FilterApi.not(predicate);
+        }
+
+        if (accept("(")) {
+            final FilterPredicate predicate = parseExpression();
+            expect(")");
+            return predicate;
+        }
+
+        final String column = next();
+        if (!isIdentifier(column)) {
+            throw syntaxError("Expected column name but found '" + column + "'");
+        }
+        referencedFields.add(column.split("\\.", 2)[0]);
+
+        if (acceptKeyword("IS")) {
+            final boolean negated = acceptKeyword("NOT");
+            if (!acceptKeyword("NULL")) {
+                throw syntaxError("Expected NULL after IS");
+            }
+            return createPredicate(column, negated ? "!=" : "=", null);
+        }
+
+        final String operator = next();
+        switch (operator) {
+            case "=":
+            case "==":
+                return createPredicate(column, "=", next());
+            case "!=":
+            case "<>":
+                return createPredicate(column, "!=", next());
+            case "<":
+            case "<=":
+            case ">":
+            case ">=":
+                return createPredicate(column, operator, next());
+            default:
+                throw syntaxError("Expected comparison operator after '" + column + "' but found '" + operator + "'");
+        }
+    }
+
+    private FilterPredicate createPredicate(final String column, final String operator, final String literal) {
+        if (literal != null && !isLiteral(literal)) {
+            throw syntaxError("Expected literal value but found '" + literal + "'");
+        }
+        if (schema == null) {
+            return null;
+        }
+
+        final String[] path = column.split("\\.");
+        if (!schema.containsPath(path)) {
+            throw new IllegalArgumentException("Filter references column '" + column + "' but the Parquet schema has no such column");
+        }
+        final Type type = schema.getType(path);
+        if (!type.isPrimitive()) {
+            throw new IllegalArgumentException("Filter references column '" + column + "' but it is a group and cannot be compared");
+        }
+
+        final PrimitiveType primitiveType = type.asPrimitiveType();
+        final LogicalTypeAnnotation annotation = primitiveType.getLogicalTypeAnnotation();
+        if (annotation instanceof LogicalTypeAnnotation.DecimalLogicalTypeAnnotation) {
+            throw new IllegalArgumentException("Filter references column '" + column + "' but DECIMAL columns are not supported in filters");
+        }
+
+        switch (primitiveType.getPrimitiveTypeName()) {
+            case BOOLEAN:
+                final Boolean booleanValue = literal == null ? null : toBoolean(column, literal);
+                return compareEquality(FilterApi.booleanColumn(column), column, operator, booleanValue);
+            case INT32:
+                final Integer intValue;
+                if (literal == null) {
+                    intValue = null;
+                } else if (annotation instanceof LogicalTypeAnnotation.DateLogicalTypeAnnotation && isString(literal)) {
+                    intValue = (int) parseDate(column, unquote(literal)).toEpochDay();
+                } else {
+                    intValue = toNumber(column, literal, Integer::valueOf);
+                }
+                return compare(FilterApi.intColumn(column), operator, intValue);
+            case INT64:
+                final Long longValue;
+                if (literal == null) {
+                    longValue = null;
+                } else if (annotation instanceof LogicalTypeAnnotation.TimestampLogicalTypeAnnotation && isString(literal)) {
+                    longValue = toTimestampValue(column, unquote(literal), ((LogicalTypeAnnotation.TimestampLogicalTypeAnnotation) annotation).getUnit());
+                } else {
+                    longValue = toNumber(column, literal, Long::valueOf);
+                }
+                return compare(FilterApi.longColumn(column), operator, longValue);
+            case FLOAT:
+                return compare(FilterApi.floatColumn(column), operator, literal == null ? null : toNumber(column, literal, Float::valueOf));
+            case DOUBLE:
+                return compare(FilterApi.doubleColumn(column), operator, literal == null ? null : toNumber(column, literal, Double::valueOf));
+            case BINARY:
+                if (ParquetSchemaConverter.isString(annotation)) {
+                    final Binary binaryValue = literal == null ? null : Binary.fromString(isString(literal) ? unquote(literal) : literal);
+                    return compare(FilterApi.binaryColumn(column), operator, binaryValue);
+                }
+                // fall through
+            default:
+                throw new IllegalArgumentException("Filter references column '" + column + "' of type " + primitiveType.getPrimitiveTypeName()
+                        + " but only boolean, numeric, date, timestamp and string columns are supported in filters");
+        }
+    }
+
+    private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt> FilterPredicate compare(
+            final C column, final String operator, final T value) {
+        switch (operator) {
+            case "=":
+                return FilterApi.eq(column, value);
+            case "!=":
+                return FilterApi.notEq(column, value);
+            case "<":
+                return FilterApi.lt(column, value);
+            case "<=":
+                return FilterApi.ltEq(column, value);
+            case ">":
+                return FilterApi.gt(column, value);
+            default:
+                return FilterApi.gtEq(column, value);
+        }
+    }
+
+    private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsEqNotEq> FilterPredicate compareEquality(
+            final C column, final String columnName, final String operator, final T value) {
+        switch (operator) {
+            case "=":
+                return FilterApi.eq(column, value);
+            case "!=":
+                return FilterApi.notEq(column, value);
+            default:
+                throw new IllegalArgumentException("Filter compares column '" + columnName + "' using '" + operator + "' but it only supports = and !=");
+        }
+    }
+
+    private interface NumberParser<T> {
+        T parse(String value);
+    }
+
+    private static <T> T toNumber(final String column, final String literal, final NumberParser<T> parser) {
+        try {
+            return parser.parse(literal);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Filter compares numeric column '" + column + "' to '" + literal + "', which is not a valid number", e);
+        }
+    }
+
+    private static Boolean toBoolean(final String column, final String literal) {
+        if ("TRUE".equalsIgnoreCase(literal) || "FALSE".equalsIgnoreCase(literal)) {
+            return Boolean.valueOf(literal);
+        }
+        throw new IllegalArgumentException("Filter compares boolean column '" + column + "' to '" + literal + "', which is not TRUE or FALSE");
+    }
+
+    private static LocalDate parseDate(final String column, final String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (final DateTimeParseException e) {
+            throw new IllegalArgumentException("Filter compares date column '" + column + "' to '" + value + "', which is not a date of the form yyyy-MM-dd", e);
+        }
+    }
+
+    private static long toTimestampValue(final String column, final String value, final LogicalTypeAnnotation.TimeUnit unit) {
+        Instant instant;
+        try {
+            instant = Instant.parse(value);
+        } catch (final DateTimeParseException e) {
+            try {
+                instant = Timestamp.valueOf(value).toInstant();
+            } catch (final IllegalArgumentException iae) {
+                throw new IllegalArgumentException("Filter compares timestamp column '" + column + "' to '" + value
+                        + "', which is neither an ISO-8601 instant nor of the form yyyy-MM-dd HH:mm:ss[.fffffffff]", iae);
+            }
+        }
+
+        switch (unit) {
+            case MILLIS:
+                return instant.toEpochMilli();
+            case MICROS:
+                return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000L);
+            case NANOS:
+            default:
+                return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        }
+    }
+
+    private boolean accept(final String token) {
+        if (position < tokens.size() && tokens.get(position).equals(token)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptKeyword(final String keyword) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(final String token) {
+        if (!accept(token)) {
+            throw syntaxError("Expected '" + token + "'");
+        }
+    }
+
+    private String next() {
+        if (position >= tokens.size()) {
+            throw syntaxError("Unexpected end of expression");
+        }
+        return tokens.get(position++);
+    }
+
+    private IllegalArgumentException syntaxError(final String message) {
+        return new IllegalArgumentException("Invalid filter expression [" + expression + "]: " + message);
+    }
+
+    private static boolean isIdentifier(final String token) {
+        if (!Character.isLetter(token.charAt(0)) && token.charAt(0) != '_') {
+            return false;
+        }
+        switch (token.toUpperCase(Locale.ROOT)) {
+            case "AND":
+            case "OR":
+            case "NOT":
+            case "IS":
+            case "NULL":
+            case "TRUE":
+            case "FALSE":
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private static boolean isLiteral(final String token) {
+        final char first = token.charAt(0);
+        return isString(token) || first == '-' || first == '+' || first == '.' || Character.isDigit(first)
+                || "TRUE".equalsIgnoreCase(token) || "FALSE".equalsIgnoreCase(token);
+    }
+
+    private static boolean isString(final String token) {
+        return token.charAt(0) == '\'';
+    }
+
+    private static String unquote(final String token) {
+        return token.substring(1, token.length() - 1).replace("''", "'");
+    }
+
+    private static List<String> tokenize(final String expression) {
+        final List<String> tokens = new ArrayList<>();
+        final int length = expression.length();
+        int i = 0;
+        while (i < length) {
+            final char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                int end = i + 1;
+                while (true) {
+                    if (end >= length) {
+                        throw new IllegalArgumentException("Invalid filter expression [" + expression + "]: unterminated string literal");
+                    }
+                    if (expression.charAt(end) == '\'') {
+                        if (end + 1 < length && expression.charAt(end + 1) == '\'') {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                tokens.add(expression.substring(i, end + 1));
+                i = end + 1;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '=' || c == '!' || c == '<' || c == '>') {
+                final int end = i + 1 < length && (expression.charAt(i + 1) == '=' || (c == '<' && expression.charAt(i + 1) == '>')) ? i + 2 : i + 1;
+                tokens.add(expression.substring(i, end));
+                i = end;
+            } else {
+                int end = i;
+                while (end < length && isWordCharacter(expression.charAt(end))) {
+                    end++;
+                }
+                if (end == i) {
+                    throw new IllegalArgumentException("Invalid filter expression [" + expression + "]: unexpected character '" + c + "' at position " + i);
+                }
+                tokens.add(expression.substring(i, end));
+                i = end;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isWordCharacter(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-' || c == '+';
+    }
+}
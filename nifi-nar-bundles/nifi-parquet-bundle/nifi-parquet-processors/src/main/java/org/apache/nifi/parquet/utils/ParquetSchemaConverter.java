@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.parquet.utils;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.DecimalDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+import org.apache.parquet.schema.Types;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts between Parquet schemas and NiFi Record Schemas without going through an Avro schema. Lists and maps follow the
+ * <a href="https://github.com/apache/parquet-format/blob/master/LogicalTypes.md">Parquet logical type specification</a>,
+ * including the backward-compatibility rules for lists written by older libraries.
+ */
+public class ParquetSchemaConverter {
+
+    public static final String DEFAULT_MESSAGE_NAME = "nifiRecord";
+
+    private static final String LIST_REPEATED_NAME = "list";
+    private static final String LIST_ELEMENT_NAME = "element";
+    private static final String MAP_REPEATED_NAME = "key_value";
+    private static final String MAP_KEY_NAME = "key";
+    private static final String MAP_VALUE_NAME = "value";
+
+    private ParquetSchemaConverter() {
+    }
+
+    /**
+     * Creates a Record Schema whose fields correspond, in order, to the fields of the given Parquet group
+     *
+     * @param groupType the Parquet message or group
+     * @return the corresponding Record Schema
+     */
+    public static RecordSchema createRecordSchema(final GroupType groupType) {
+        final List<RecordField> recordFields = new ArrayList<>(groupType.getFieldCount());
+        for (final Type field : groupType.getFields()) {
+            final DataType dataType;
+            if (field.isRepetition(Repetition.REPEATED)) {
+                // a repeated field that is not wrapped in a LIST group is an array of its own type
+                dataType = RecordFieldType.ARRAY.getArrayDataType(getDataType(field));
+            } else {
+                dataType = getDataType(field);
+            }
+
+            recordFields.add(new RecordField(field.getName(), dataType, field.isRepetition(Repetition.OPTIONAL)));
+        }
+
+        return new SimpleRecordSchema(recordFields);
+    }
+
+    /**
+     * Determines the Data Type of a field, ignoring its repetition
+     *
+     * @param type the Parquet type of the field
+     * @return the Data Type that values of the field are represented as
+     */
+    public static DataType getDataType(final Type type) {
+        if (type.isPrimitive()) {
+            return getPrimitiveDataType(type.asPrimitiveType());
+        }
+
+        final GroupType groupType = type.asGroupType();
+        final LogicalTypeAnnotation annotation = groupType.getLogicalTypeAnnotation();
+        if (annotation instanceof LogicalTypeAnnotation.ListLogicalTypeAnnotation) {
+            return RecordFieldType.ARRAY.getArrayDataType(getDataType(getListElementType(groupType)));
+        }
+        if (isMap(groupType)) {
+            final GroupType keyValueType = groupType.getType(0).asGroupType();
+            final DataType valueType = keyValueType.getFieldCount() > 1
+                    ? getDataType(keyValueType.getType(1))
+                    : RecordFieldType.STRING.getDataType();
+            return RecordFieldType.MAP.getMapDataType(valueType);
+        }
+
+        return RecordFieldType.RECORD.getRecordDataType(createRecordSchema(groupType));
+    }
+
+    private static DataType getPrimitiveDataType(final PrimitiveType type) {
+        final LogicalTypeAnnotation annotation = type.getLogicalTypeAnnotation();
+        if (annotation instanceof LogicalTypeAnnotation.DecimalLogicalTypeAnnotation) {
+            final LogicalTypeAnnotation.DecimalLogicalTypeAnnotation decimal = (LogicalTypeAnnotation.DecimalLogicalTypeAnnotation) annotation;
+            return RecordFieldType.DECIMAL.getDecimalDataType(decimal.getPrecision(), decimal.getScale());
+        }
+
+        switch (type.getPrimitiveTypeName()) {
+            case BOOLEAN:
+                return RecordFieldType.BOOLEAN.getDataType();
+            case INT32:
+                if (annotation instanceof LogicalTypeAnnotation.DateLogicalTypeAnnotation) {
+                    return RecordFieldType.DATE.getDataType();
+                }
+                if (annotation instanceof LogicalTypeAnnotation.TimeLogicalTypeAnnotation) {
+                    return RecordFieldType.TIME.getDataType();
+                }
+                if (isUnsigned(annotation) && ((LogicalTypeAnnotation.IntLogicalTypeAnnotation) annotation).getBitWidth() == 32) {
+                    return RecordFieldType.LONG.getDataType();
+                }
+                return RecordFieldType.INT.getDataType();
+            case INT64:
+                if (annotation instanceof LogicalTypeAnnotation.TimestampLogicalTypeAnnotation) {
+                    return RecordFieldType.TIMESTAMP.getDataType();
+                }
+                if (annotation instanceof LogicalTypeAnnotation.TimeLogicalTypeAnnotation) {
+                    return RecordFieldType.TIME.getDataType();
+                }
+                if (isUnsigned(annotation)) {
+                    return RecordFieldType.BIGINT.getDataType();
+                }
+                return RecordFieldType.LONG.getDataType();
+            case INT96:
+                return RecordFieldType.TIMESTAMP.getDataType();
+            case FLOAT:
+                return RecordFieldType.FLOAT.getDataType();
+            case DOUBLE:
+                return RecordFieldType.DOUBLE.getDataType();
+            case BINARY:
+            case FIXED_LEN_BYTE_ARRAY:
+            default:
+                if (isString(annotation)) {
+                    return RecordFieldType.STRING.getDataType();
+                }
+                return RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.BYTE.getDataType());
+        }
+    }
+
+    /**
+     * Creates a Parquet schema for writing Records of the given Record Schema. Non-nullable fields are required, all others
+     * are optional. Arrays and maps are written using the three-level LIST and MAP structures.
+     *
+     * @param recordSchema the Record Schema
+     * @return the corresponding Parquet schema
+     */
+    public static MessageType createMessageType(final RecordSchema recordSchema) {
+        final Types.MessageTypeBuilder builder = Types.buildMessage();
+        for (final RecordField field : recordSchema.getFields()) {
+            builder.addField(createType(field.getFieldName(), field.getDataType(), field.isNullable() ? Repetition.OPTIONAL : Repetition.REQUIRED));
+        }
+
+        return builder.named(DEFAULT_MESSAGE_NAME);
+    }
+
+    private static Type createType(final String name, final DataType dataType, final Repetition repetition) {
+        switch (dataType.getFieldType()) {
+            case BOOLEAN:
+                return Types.primitive(PrimitiveTypeName.BOOLEAN, repetition).named(name);
+            case BYTE:
+                return Types.primitive(PrimitiveTypeName.INT32, repetition).as(LogicalTypeAnnotation.intType(8, true)).named(name);
+            case SHORT:
+                return Types.primitive(PrimitiveTypeName.INT32, repetition).as(LogicalTypeAnnotation.intType(16, true)).named(name);
+            case INT:
+                return Types.primitive(PrimitiveTypeName.INT32, repetition).named(name);
+            case LONG:
+                return Types.primitive(PrimitiveTypeName.INT64, repetition).named(name);
+            case FLOAT:
+                return Types.primitive(PrimitiveTypeName.FLOAT, repetition).named(name);
+            case DOUBLE:
+                return Types.primitive(PrimitiveTypeName.DOUBLE, repetition).named(name);
+            case DECIMAL:
+                final DecimalDataType decimalDataType = (DecimalDataType) dataType;
+                return Types.primitive(PrimitiveTypeName.BINARY, repetition)
+                        .as(LogicalTypeAnnotation.decimalType(decimalDataType.getScale(), decimalDataType.getPrecision()))
+                        .named(name);
+            case DATE:
+                return Types.primitive(PrimitiveTypeName.INT32, repetition).as(LogicalTypeAnnotation.dateType()).named(name);
+            case TIME:
+                return Types.primitive(PrimitiveTypeName.INT32, repetition)
+                        .as(LogicalTypeAnnotation.timeType(true, LogicalTypeAnnotation.TimeUnit.MILLIS))
+                        .named(name);
+            case TIMESTAMP:
+                return Types.primitive(PrimitiveTypeName.INT64, repetition)
+                        .as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MILLIS))
+                        .named(name);
+            case ARRAY:
+                final DataType elementType = ((ArrayDataType) dataType).getElementType();
+                if (elementType.getFieldType() == RecordFieldType.BYTE) {
+                    return Types.primitive(PrimitiveTypeName.BINARY, repetition).named(name);
+                }
+                return Types.buildGroup(repetition)
+                        .as(LogicalTypeAnnotation.listType())
+                        .addField(Types.repeatedGroup()
+                                .addField(createType(LIST_ELEMENT_NAME, elementType, Repetition.OPTIONAL))
+                                .named(LIST_REPEATED_NAME))
+                        .named(name);
+            case MAP:
+                final DataType valueType = ((MapDataType) dataType).getValueType();
+                return Types.buildGroup(repetition)
+                        .as(LogicalTypeAnnotation.mapType())
+                        .addField(Types.repeatedGroup()
+                                .addField(Types.required(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named(MAP_KEY_NAME))
+                                .addField(createType(MAP_VALUE_NAME, valueType, Repetition.OPTIONAL))
+                                .named(MAP_REPEATED_NAME))
+                        .named(name);
+            case RECORD:
+                final RecordSchema childSchema = ((RecordDataType) dataType).getChildSchema();
+                final Types.GroupBuilder<GroupType> groupBuilder = Types.buildGroup(repetition);
+                for (final RecordField childField : childSchema.getFields()) {
+                    groupBuilder.addField(createType(childField.getFieldName(), childField.getDataType(),
+                            childField.isNullable() ? Repetition.OPTIONAL : Repetition.REQUIRED));
+                }
+                return groupBuilder.named(name);
+            case STRING:
+            case CHAR:
+            case ENUM:
+            case UUID:
+            case BIGINT:
+            case CHOICE:
+            default:
+                // Parquet has no union type, so choices are written as their String representation, as are values without a Parquet equivalent
+                return Types.primitive(PrimitiveTypeName.BINARY, repetition).as(LogicalTypeAnnotation.stringType()).named(name);
+        }
+    }
+
+    /**
+     * Determines the type of the elements of a group annotated as a LIST, applying the backward-compatibility rules for
+     * two-level lists
+     *
+     * @param listType the LIST group
+     * @return the type of the list's elements
+     */
+    public static Type getListElementType(final GroupType listType) {
+        final Type repeatedType = listType.getType(0);
+        if (isListElementRepeatedType(repeatedType, listType.getName())) {
+            return repeatedType;
+        }
+
+        return repeatedType.asGroupType().getType(0);
+    }
+
+    /**
+     * @param repeatedType the repeated field of a LIST group
+     * @param listName the name of the LIST group
+     * @return <code>true</code> if the repeated field is itself the list element, as is the case for lists written with the
+     * legacy two-level structure, or <code>false</code> if it wraps the element
+     */
+    public static boolean isListElementRepeatedType(final Type repeatedType, final String listName) {
+        return repeatedType.isPrimitive()
+                || repeatedType.asGroupType().getFieldCount() > 1
+                || "array".equals(repeatedType.getName())
+                || (listName + "_tuple").equals(repeatedType.getName());
+    }
+
+    /**
+     * @param groupType the Parquet group
+     * @return <code>true</code> if the group is annotated as a MAP
+     */
+    public static boolean isMap(final GroupType groupType) {
+        final LogicalTypeAnnotation annotation = groupType.getLogicalTypeAnnotation();
+        return annotation instanceof LogicalTypeAnnotation.MapLogicalTypeAnnotation
+                || annotation instanceof LogicalTypeAnnotation.MapKeyValueTypeAnnotation;
+    }
+
+    /**
+     * @param annotation the logical type annotation of a BINARY or FIXED_LEN_BYTE_ARRAY column
+     * @return <code>true</code> if the column holds UTF-8 text
+     */
+    public static boolean isString(final LogicalTypeAnnotation annotation) {
+        return annotation instanceof LogicalTypeAnnotation.StringLogicalTypeAnnotation
+                || annotation instanceof LogicalTypeAnnotation.EnumLogicalTypeAnnotation
+                || annotation instanceof LogicalTypeAnnotation.JsonLogicalTypeAnnotation;
+    }
+
+    /**
+     * @param annotation the logical type annotation of an INT32 or INT64 column
+     * @return <code>true</code> if the column holds unsigned integers
+     */
+    public static boolean isUnsigned(final LogicalTypeAnnotation annotation) {
+        return annotation instanceof LogicalTypeAnnotation.IntLogicalTypeAnnotation
+                && !((LogicalTypeAnnotation.IntLogicalTypeAnnotation) annotation).isSigned();
+    }
+}
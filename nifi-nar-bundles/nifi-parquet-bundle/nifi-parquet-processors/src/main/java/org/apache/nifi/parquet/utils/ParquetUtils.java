@@ -126,6 +126,22 @@ public class ParquetUtils {
             .required(true)
             .build();
 
+    public static final AllowableValue AVRO_CONVERSION = new AllowableValue("avro", "Avro",
+            "Each record is converted to or from an Avro GenericRecord by the parquet-avro library.");
+
+    public static final AllowableValue NATIVE_CONVERSION = new AllowableValue("native", "Native",
+            "Parquet columns are read into and written from NiFi Records directly, without creating an intermediate Avro record for every row. "
+                    + "The Avro-specific properties do not apply.");
+
+    public static final PropertyDescriptor RECORD_CONVERSION = new PropertyDescriptor.Builder()
+            .name("record-conversion")
+            .displayName("Record Conversion")
+            .description("Specifies how NiFi Records are converted to and from the Parquet data")
+            .allowableValues(AVRO_CONVERSION, NATIVE_CONVERSION)
+            .defaultValue(AVRO_CONVERSION.getValue())
+            .required(true)
+            .build();
+
     public static final List<AllowableValue> COMPRESSION_TYPES = getCompressionTypes();
 
     private static List<AllowableValue> getCompressionTypes() {
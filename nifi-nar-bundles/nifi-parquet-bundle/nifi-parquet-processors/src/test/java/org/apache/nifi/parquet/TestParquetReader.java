@@ -25,9 +25,11 @@ import org.apache.hadoop.fs.Path;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.controller.ConfigurationContext;
 import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.parquet.utils.ParquetUtils;
 import org.apache.nifi.reporting.InitializationException;
 import org.apache.nifi.serialization.MalformedRecordException;
 import org.apache.nifi.serialization.RecordReader;
+import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.util.MockComponentLog;
 import org.apache.nifi.util.MockConfigurationContext;
 import org.apache.nifi.util.TestRunner;
@@ -52,6 +54,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisabledOnOs({ OS.WINDOWS })
 public class TestParquetReader {
@@ -106,6 +111,76 @@ public class TestParquetReader {
         }
     }
 
+    @Test
+    public void testReadUsersNative() throws IOException, MalformedRecordException {
+        final File parquetFile = writeUsers("testReadUsersNative", 10);
+        final ParquetReader nativeReaderFactory = createNativeReaderFactory(null, null);
+
+        try (final InputStream in = new ByteArrayInputStream(IOUtils.toByteArray(parquetFile.toURI()));
+             final RecordReader recordReader = nativeReaderFactory.createRecordReader(
+                     Collections.emptyMap(), in, parquetFile.length(), componentLog)) {
+
+            assertEquals(3, recordReader.getSchema().getFieldCount());
+            for (int i = 0; i < 10; i++) {
+                final Record record = recordReader.nextRecord();
+                assertEquals("Bob" + i, record.getValue("name"));
+                assertEquals(i % 3 == 0 ? null : i, record.getValue("favorite_number"));
+                assertEquals("blue" + i, record.getValue("favorite_color"));
+            }
+            assertNull(recordReader.nextRecord());
+        }
+    }
+
+    @Test
+    public void testReadUsersNativeWithProjectionAndFilter() throws IOException, MalformedRecordException {
+        final File parquetFile = writeUsers("testReadUsersNativeWithProjectionAndFilter", 10);
+        final ParquetReader nativeReaderFactory = createNativeReaderFactory("name", "favorite_number >= ${min} AND favorite_color != 'blue8'");
+
+        try (final InputStream in = new ByteArrayInputStream(IOUtils.toByteArray(parquetFile.toURI()));
+             final RecordReader recordReader = nativeReaderFactory.createRecordReader(
+                     Collections.singletonMap("min", "5"), in, parquetFile.length(), componentLog)) {
+
+            // fields referenced by the filter are read along with the projected fields
+            assertEquals(3, recordReader.getSchema().getFieldCount());
+
+            assertEquals("Bob5", recordReader.nextRecord().getValue("name"));
+            assertEquals("Bob7", recordReader.nextRecord().getValue("name"));
+            assertNull(recordReader.nextRecord());
+        }
+    }
+
+    @Test
+    public void testReadUsersNativeWithProjection() throws IOException, MalformedRecordException {
+        final File parquetFile = writeUsers("testReadUsersNativeWithProjection", 10);
+        final ParquetReader nativeReaderFactory = createNativeReaderFactory("favorite_color, missing", null);
+
+        try (final InputStream in = new ByteArrayInputStream(IOUtils.toByteArray(parquetFile.toURI()));
+             final RecordReader recordReader = nativeReaderFactory.createRecordReader(
+                     Collections.emptyMap(), in, parquetFile.length(), componentLog)) {
+
+            assertEquals(1, recordReader.getSchema().getFieldCount());
+            assertFalse(recordReader.getSchema().getField("name").isPresent());
+
+            int recordCount = 0;
+            Record record;
+            while ((record = recordReader.nextRecord()) != null) {
+                assertEquals("blue" + recordCount, record.getValue("favorite_color"));
+                recordCount++;
+            }
+            assertEquals(10, recordCount);
+        }
+    }
+
+    @Test
+    public void testReadUsersNativeWithFilterOnUnknownColumn() throws IOException {
+        final File parquetFile = writeUsers("testReadUsersNativeWithFilterOnUnknownColumn", 10);
+        final ParquetReader nativeReaderFactory = createNativeReaderFactory(null, "age > 21");
+
+        try (final InputStream in = new ByteArrayInputStream(IOUtils.toByteArray(parquetFile.toURI()))) {
+            assertThrows(IllegalArgumentException.class, () -> nativeReaderFactory.createRecordReader(Collections.emptyMap(), in, parquetFile.length(), componentLog));
+        }
+    }
+
     @Test
     public void testReader() throws InitializationException, IOException  {
         final TestRunner runner = TestRunners.newTestRunner(TestParquetProcessor.class);
@@ -126,6 +201,34 @@ public class TestParquetReader {
     }
 
 
+    private File writeUsers(final String testName, final int numUsers) throws IOException {
+        final Schema schema = getSchema();
+        final File parquetFile = new File("target/TestParquetReader-" + testName + "-" + System.currentTimeMillis());
+
+        try (final ParquetWriter<GenericRecord> writer = createParquetWriter(schema, parquetFile)) {
+            for (int i = 0; i < numUsers; i++) {
+                final GenericRecord user = new GenericData.Record(schema);
+                user.put("name", "Bob" + i);
+                user.put("favorite_number", i % 3 == 0 ? null : i);
+                user.put("favorite_color", "blue" + i);
+                writer.write(user);
+            }
+        }
+
+        return parquetFile;
+    }
+
+    private ParquetReader createNativeReaderFactory(final String projectedFields, final String filterExpression) {
+        final Map<PropertyDescriptor, String> properties = new HashMap<>();
+        properties.put(ParquetUtils.RECORD_CONVERSION, ParquetUtils.NATIVE_CONVERSION.getValue());
+        properties.put(ParquetReader.PROJECTED_FIELDS, projectedFields);
+        properties.put(ParquetReader.FILTER_EXPRESSION, filterExpression);
+
+        final ParquetReader readerFactory = new ParquetReader();
+        readerFactory.abstractStoreConfigContext(new MockConfigurationContext(properties, null));
+        return readerFactory;
+    }
+
     private Schema getSchema() throws IOException {
         final File schemaFile = new File(SCHEMA_PATH);
         final String schemaString = IOUtils.toString(new FileInputStream(schemaFile), StandardCharsets.UTF_8);
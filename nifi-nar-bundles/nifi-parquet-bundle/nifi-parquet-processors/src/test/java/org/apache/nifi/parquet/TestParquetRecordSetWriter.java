@@ -22,6 +22,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.parquet.utils.ParquetUtils;
 import org.apache.nifi.processor.AbstractProcessor;
 import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.processor.ProcessSession;
@@ -55,6 +56,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class TestParquetRecordSetWriter {
 
@@ -90,7 +92,31 @@ public class TestParquetRecordSetWriter {
         verifyParquetRecords(parquetFile);
     }
 
+    @Test
+    public void testWriteUsersNative() throws IOException, SchemaNotFoundException, InitializationException {
+        initRecordSetWriter(Collections.singletonMap(ParquetUtils.RECORD_CONVERSION, ParquetUtils.NATIVE_CONVERSION.getValue()));
+        final RecordSchema writeSchema = recordSetWriterFactory.getSchema(Collections.emptyMap(), null);
+        final File parquetFile = new File("target/testWriterUsersNative-" + System.currentTimeMillis());
+        writeUsers(writeSchema, parquetFile);
+
+        final Configuration conf = new Configuration();
+        final InputFile inputFile = HadoopInputFile.fromPath(new Path(parquetFile.getPath()), conf);
+        try (final ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(inputFile).withConf(conf).build()) {
+            for (int i = 0; i < USERS; i++) {
+                final GenericRecord user = reader.read();
+                assertEquals("user" + i, user.get("name").toString());
+                assertEquals(i, user.get("favorite_number"));
+                assertEquals("blue", user.get("favorite_color").toString());
+            }
+            assertNull(reader.read());
+        }
+    }
+
     private void initRecordSetWriter() throws IOException, InitializationException {
+        initRecordSetWriter(Collections.emptyMap());
+    }
+
+    private void initRecordSetWriter(final Map<PropertyDescriptor, String> additionalProperties) throws IOException, InitializationException {
         final TestRunner runner = TestRunners.newTestRunner(new AbstractProcessor() {
             @Override
             public void onTrigger(final ProcessContext context, final ProcessSession session) throws ProcessException {
@@ -101,6 +127,7 @@ public class TestParquetRecordSetWriter {
 
         final File schemaFile = new File(SCHEMA_PATH);
         final Map<PropertyDescriptor, String> properties = createPropertiesWithSchema(schemaFile);
+        properties.putAll(additionalProperties);
         properties.forEach((k, v) -> runner.setProperty(recordSetWriterFactory, k, v));
 
         runner.enableControllerService(recordSetWriterFactory);
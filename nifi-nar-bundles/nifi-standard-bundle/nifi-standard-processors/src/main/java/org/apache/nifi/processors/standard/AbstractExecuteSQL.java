@@ -19,6 +19,7 @@ package org.apache.nifi.processors.standard;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.dbcp.DBCPService;
 import org.apache.nifi.expression.ExpressionLanguageScope;
@@ -32,6 +33,8 @@ import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.standard.sql.PartitionedQuery;
+import org.apache.nifi.processors.standard.sql.PartitionedRecordSet;
 import org.apache.nifi.processors.standard.sql.SqlWriter;
 import org.apache.nifi.util.StopWatch;
 import org.apache.nifi.util.db.JdbcCommon;
@@ -50,8 +53,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
 
 
 public abstract class AbstractExecuteSQL extends AbstractProcessor {
@@ -185,10 +190,36 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
             .required(true)
             .build();
 
+    public static final PropertyDescriptor PARTITION_COLUMN = new PropertyDescriptor.Builder()
+            .name("esql-partition-column")
+            .displayName("Partition Column")
+            .description("The name of a numeric, date or timestamp column of the query results. If set, the range between the minimum and maximum value of this column "
+                    + "is split into the configured 'Number of Partitions', and the ranges are fetched concurrently, each on its own connection from the "
+                    + "Database Connection Pooling Service, while their rows are written to the outgoing FlowFiles. Rows of different ranges are interleaved "
+                    + "in no particular order. The query is wrapped as a sub-query for this purpose, so it must be a single select statement that the database "
+                    + "accepts as a sub-query. SQL Pre-Queries are executed on each of the connections.")
+            .required(false)
+            .addValidator(StandardValidators.NON_EMPTY_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.FLOWFILE_ATTRIBUTES)
+            .build();
+
+    public static final PropertyDescriptor PARTITION_COUNT = new PropertyDescriptor.Builder()
+            .name("esql-partition-count")
+            .displayName("Number of Partitions")
+            .description("The number of ranges to split the query into, and thus the number of queries that are executed concurrently. The Database Connection "
+                    + "Pooling Service must be able to provide this many connections in addition to the one used to determine the ranges.")
+            .defaultValue("4")
+            .required(true)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .dependsOn(PARTITION_COLUMN)
+            .build();
+
     protected List<PropertyDescriptor> propDescriptors;
 
     protected DBCPService dbcpService;
 
+    private volatile ExecutorService partitionExecutor;
+
     @Override
     public Set<Relationship> getRelationships() {
         return relationships;
@@ -210,6 +241,17 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
         }
         dbcpService = context.getProperty(DBCP_SERVICE).asControllerService(DBCPService.class);
 
+        if (context.getProperty(PARTITION_COLUMN).isSet()) {
+            partitionExecutor = PartitionedRecordSet.createExecutorService(context.getProperty(PARTITION_COUNT).asInteger(), getClass().getSimpleName() + " " + getIdentifier() + " Partition");
+        }
+    }
+
+    @OnStopped
+    public void stop() {
+        if (partitionExecutor != null) {
+            partitionExecutor.shutdownNow();
+            partitionExecutor = null;
+        }
     }
 
     @Override
@@ -234,6 +276,9 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
         final Integer outputBatchSizeField = context.getProperty(OUTPUT_BATCH_SIZE).evaluateAttributeExpressions(fileToProcess).asInteger();
         final int outputBatchSize = outputBatchSizeField == null ? 0 : outputBatchSizeField;
         final Integer fetchSize = context.getProperty(FETCH_SIZE).evaluateAttributeExpressions(fileToProcess).asInteger();
+        final String partitionColumn = context.getProperty(PARTITION_COLUMN).isSet()
+                ? context.getProperty(PARTITION_COLUMN).evaluateAttributeExpressions(fileToProcess).getValue()
+                : null;
 
         List<String> preQueries = getQueries(context.getProperty(SQL_PRE_QUERY).evaluateAttributeExpressions(fileToProcess).getValue());
         List<String> postQueries = getQueries(context.getProperty(SQL_POST_QUERY).evaluateAttributeExpressions(fileToProcess).getValue());
@@ -252,6 +297,7 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
         }
 
         int resultCount = 0;
+        PartitionedRecordSet partitionedRecordSet = null;
         try (final Connection con = dbcpService.getConnection(fileToProcess == null ? Collections.emptyMap() : fileToProcess.getAttributes())) {
             con.setAutoCommit(context.getProperty(AUTO_COMMIT).asBoolean());
             try (final PreparedStatement st = con.prepareStatement(selectQuery)) {
@@ -283,11 +329,16 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
 
                 final StopWatch executionTime = new StopWatch(true);
 
-                boolean hasResults = st.execute();
+                // A partitioned query is fetched in ranges on other connections, so it is never executed as a whole
+                final PartitionedRecordSet partitions = partitionColumn == null ? null
+                        : executePartitionedQuery(context, con, fileToProcess, sqlWriter, selectQuery, partitionColumn, preQueries);
+                partitionedRecordSet = partitions;
+
+                boolean hasResults = partitions != null || st.execute();
 
                 long executionTimeElapsed = executionTime.getElapsed(TimeUnit.MILLISECONDS);
 
-                boolean hasUpdateCount = st.getUpdateCount() != -1;
+                boolean hasUpdateCount = partitions == null && st.getUpdateCount() != -1;
 
                 Map<String, String> inputFileAttrMap = fileToProcess == null ? null : fileToProcess.getAttributes();
                 String inputFileUUID = fileToProcess == null ? null : fileToProcess.getAttribute(CoreAttributes.UUID.key());
@@ -297,7 +348,7 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
                         final AtomicLong nrOfRows = new AtomicLong(0L);
 
                         try {
-                            final ResultSet resultSet = st.getResultSet();
+                            final ResultSet resultSet = partitions == null ? st.getResultSet() : null;
                             do {
                                 final StopWatch fetchTime = new StopWatch(true);
 
@@ -316,7 +367,9 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
                                 try {
                                     resultSetFF = session.write(resultSetFF, out -> {
                                         try {
-                                            nrOfRows.set(sqlWriter.writeResultSet(resultSet, out, getLogger(), null));
+                                            nrOfRows.set(partitions == null
+                                                    ? sqlWriter.writeResultSet(resultSet, out, getLogger(), null)
+                                                    : sqlWriter.writeRecordSet(partitions, out, getLogger()));
                                         } catch (Exception e) {
                                             throw (e instanceof ProcessException) ? (ProcessException) e : new ProcessException(e);
                                         }
@@ -401,6 +454,9 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
                     }
 
                     // are there anymore result sets?
+                    if (partitions != null) {
+                        break;
+                    }
                     try {
                         hasResults = st.getMoreResults(Statement.CLOSE_CURRENT_RESULT);
                         hasUpdateCount = st.getUpdateCount() != -1;
@@ -470,9 +526,75 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
                 session.putAttribute(fileToProcess,RESULT_ERROR_MESSAGE,e.getMessage());
                 session.transfer(fileToProcess, REL_FAILURE);
             }
+        } finally {
+            if (partitionedRecordSet != null) {
+                partitionedRecordSet.close();
+            }
         }
     }
 
+    /**
+     * Splits the given query into ranges of the partition column and starts fetching them concurrently. The ranges are determined on the
+     * given connection, and each range is fetched on its own connection from the connection pool, on which the pre-queries are executed first.
+     */
+    private PartitionedRecordSet executePartitionedQuery(final ProcessContext context, final Connection con, final FlowFile fileToProcess, final SqlWriter sqlWriter,
+                                                         final String selectQuery, final String partitionColumn, final List<String> preQueries) throws SQLException {
+        final int partitionCount = context.getProperty(PARTITION_COUNT).asInteger();
+        final int queryTimeout = context.getProperty(QUERY_TIMEOUT).evaluateAttributeExpressions(fileToProcess).asTimePeriod(TimeUnit.SECONDS).intValue();
+        final Integer fetchSize = context.getProperty(FETCH_SIZE).evaluateAttributeExpressions(fileToProcess).asInteger();
+        final boolean autoCommit = context.getProperty(AUTO_COMMIT).asBoolean();
+        final Map<String, String> attributes = fileToProcess == null ? Collections.emptyMap() : fileToProcess.getAttributes();
+
+        // Range boundaries are bound after any parameters of the query itself
+        int parameterCount = 0;
+        for (final String key : attributes.keySet()) {
+            final Matcher matcher = JdbcCommon.SQL_TYPE_ATTRIBUTE_PATTERN.matcher(key);
+            if (matcher.matches()) {
+                parameterCount = Math.max(parameterCount, Integer.parseInt(matcher.group(1)));
+            }
+        }
+
+        final PartitionedQuery partitionedQuery = new PartitionedQuery(selectQuery, partitionColumn, "partitioned_query", parameterCount);
+        final List<PartitionedQuery.Range> ranges;
+        try (final PreparedStatement boundsStatement = con.prepareStatement(partitionedQuery.getBoundsQuery())) {
+            boundsStatement.setQueryTimeout(queryTimeout);
+            JdbcCommon.setParameters(boundsStatement, attributes);
+            try (final ResultSet boundsResultSet = boundsStatement.executeQuery()) {
+                ranges = partitionedQuery.getRanges(boundsResultSet, partitionCount);
+            }
+        }
+        getLogger().debug("Fetching {} concurrently in {} ranges", new Object[]{selectQuery, ranges.size()});
+
+        return new PartitionedRecordSet(ranges, partitionExecutor,
+                () -> {
+                    final Connection partitionConnection = dbcpService.getConnection(attributes);
+                    try {
+                        partitionConnection.setAutoCommit(autoCommit);
+                        final Pair<String, SQLException> failure = executeConfigStatements(partitionConnection, preQueries);
+                        if (failure != null) {
+                            throw failure.getRight();
+                        }
+                    } catch (final SQLException e) {
+                        partitionConnection.close();
+                        throw e;
+                    }
+                    return partitionConnection;
+                },
+                statement -> {
+                    if (fetchSize != null && fetchSize > 0) {
+                        try {
+                            statement.setFetchSize(fetchSize);
+                        } catch (SQLException se) {
+                            // Not all drivers support this, just log the error (at debug level) and move on
+                            getLogger().debug("Cannot set fetch size to {} due to {}", new Object[]{fetchSize, se.getLocalizedMessage()}, se);
+                        }
+                    }
+                    statement.setQueryTimeout(queryTimeout);
+                    JdbcCommon.setParameters(statement, attributes);
+                },
+                resultSet -> sqlWriter.createRecordSet(resultSet, null));
+    }
+
     /*
      * Executes given queries using pre-defined connection.
      * Returns null on success, or a query string if failed.
@@ -37,6 +37,8 @@ import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.processors.standard.db.DatabaseAdapter;
+import org.apache.nifi.processors.standard.sql.PartitionedQuery;
+import org.apache.nifi.processors.standard.sql.PartitionedRecordSet;
 import org.apache.nifi.processors.standard.sql.SqlWriter;
 import org.apache.nifi.util.StopWatch;
 import org.apache.nifi.util.db.JdbcCommon;
@@ -58,6 +60,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -159,6 +162,31 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
             .defaultValue(INITIAL_LOAD_STRATEGY_ALL_ROWS.getValue())
             .build();
 
+    public static final PropertyDescriptor PARTITION_COLUMN = new PropertyDescriptor.Builder()
+            .name("qdbt-partition-column")
+            .displayName("Partition Column")
+            .description("The name of a numeric, date or timestamp column of the query results. If set, the range between the minimum and maximum value of this column "
+                    + "is split into the configured 'Number of Partitions', and the ranges are fetched concurrently, each on its own connection from the "
+                    + "Database Connection Pooling Service, while their rows are written to the outgoing FlowFiles. Rows of different ranges are interleaved "
+                    + "in no particular order. Ranges are evenly sized, so the column should be evenly distributed, such as an auto-incremented key.")
+            .required(false)
+            .addValidator(StandardValidators.NON_EMPTY_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.VARIABLE_REGISTRY)
+            .build();
+
+    public static final PropertyDescriptor PARTITION_COUNT = new PropertyDescriptor.Builder()
+            .name("qdbt-partition-count")
+            .displayName("Number of Partitions")
+            .description("The number of ranges to split the query into, and thus the number of queries that are executed concurrently. The Database Connection "
+                    + "Pooling Service must be able to provide this many connections in addition to the one used to determine the ranges.")
+            .defaultValue("4")
+            .required(true)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .dependsOn(PARTITION_COLUMN)
+            .build();
+
+    private volatile ExecutorService partitionExecutor;
+
     @Override
     public Set<Relationship> getRelationships() {
         return relationships;
@@ -202,12 +230,21 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
     @OnScheduled
     public void setup(final ProcessContext context) {
         maxValueProperties = getDefaultMaxValueProperties(context, null);
+
+        if (context.getProperty(PARTITION_COLUMN).isSet()) {
+            partitionExecutor = PartitionedRecordSet.createExecutorService(context.getProperty(PARTITION_COUNT).asInteger(), getClass().getSimpleName() + " " + getIdentifier() + " Partition");
+        }
     }
 
     @OnStopped
     public void stop() {
         // Reset the column type map in case properties change
         setupComplete.set(false);
+
+        if (partitionExecutor != null) {
+            partitionExecutor.shutdownNow();
+            partitionExecutor = null;
+        }
     }
 
     @Override
@@ -240,6 +277,9 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
         final Integer transIsolationLevel = context.getProperty(TRANS_ISOLATION_LEVEL).isSet()
                 ? context.getProperty(TRANS_ISOLATION_LEVEL).asInteger()
                 : null;
+        final String partitionColumn = context.getProperty(PARTITION_COLUMN).isSet()
+                ? context.getProperty(PARTITION_COLUMN).evaluateAttributeExpressions().getValue()
+                : null;
 
         SqlWriter sqlWriter = configureSqlWriter(session, context);
 
@@ -340,13 +380,17 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
             }
 
             st.setQueryTimeout(queryTimeout); // timeout in seconds
+
+            // Max values will be updated in the state property map by the callback
+            final MaxValueResultSetRowCollector maxValCollector = new MaxValueResultSetRowCollector(tableName, statePropertyMap, dbAdapter);
+
             if (logger.isDebugEnabled()) {
                 logger.debug("Executing query {}", new Object[] { selectQuery });
             }
-            try (final ResultSet resultSet = st.executeQuery(selectQuery)) {
+            try (final PartitionedRecordSet partitionedRecordSet = partitionColumn == null ? null
+                    : executePartitionedQuery(context, st, dbcpService, dbAdapter, sqlWriter, selectQuery, partitionColumn, maxValCollector);
+                 final ResultSet resultSet = partitionedRecordSet == null ? st.executeQuery(selectQuery) : null) {
                 int fragmentIndex=0;
-                // Max values will be updated in the state property map by the callback
-                final MaxValueResultSetRowCollector maxValCollector = new MaxValueResultSetRowCollector(tableName, statePropertyMap, dbAdapter);
 
                 while(true) {
                     final AtomicLong nrOfRows = new AtomicLong(0L);
@@ -355,7 +399,9 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
                     try {
                         fileToProcess = session.write(fileToProcess, out -> {
                             try {
-                                nrOfRows.set(sqlWriter.writeResultSet(resultSet, out, getLogger(), maxValCollector));
+                                nrOfRows.set(partitionedRecordSet == null
+                                        ? sqlWriter.writeResultSet(resultSet, out, getLogger(), maxValCollector)
+                                        : sqlWriter.writeRecordSet(partitionedRecordSet, out, getLogger()));
                             } catch (Exception e) {
                                 throw new ProcessException("Error during database query or conversion of records.", e);
                             }
@@ -463,6 +509,65 @@ public abstract class AbstractQueryDatabaseTable extends AbstractDatabaseFetchPr
         }
     }
 
+    /**
+     * Splits the given query into ranges of the partition column and starts fetching them concurrently. The ranges are determined on the
+     * given statement, and each range is fetched on its own connection from the connection pool.
+     */
+    private PartitionedRecordSet executePartitionedQuery(final ProcessContext context, final Statement st, final DBCPService dbcpService, final DatabaseAdapter dbAdapter,
+                                                         final SqlWriter sqlWriter, final String selectQuery, final String partitionColumn, final MaxValueResultSetRowCollector maxValCollector) throws SQLException {
+        final int partitionCount = context.getProperty(PARTITION_COUNT).asInteger();
+        final Integer queryTimeout = context.getProperty(QUERY_TIMEOUT).evaluateAttributeExpressions().asTimePeriod(TimeUnit.SECONDS).intValue();
+        final Integer fetchSize = context.getProperty(FETCH_SIZE).evaluateAttributeExpressions().asInteger();
+        final Integer transIsolationLevel = context.getProperty(TRANS_ISOLATION_LEVEL).isSet()
+                ? context.getProperty(TRANS_ISOLATION_LEVEL).asInteger()
+                : null;
+
+        final PartitionedQuery partitionedQuery = new PartitionedQuery(selectQuery, partitionColumn, dbAdapter.getTableAliasClause("partitioned_query"), 0);
+        final List<PartitionedQuery.Range> ranges;
+        try (final ResultSet boundsResultSet = st.executeQuery(partitionedQuery.getBoundsQuery())) {
+            ranges = partitionedQuery.getRanges(boundsResultSet, partitionCount);
+        }
+        getLogger().debug("Fetching {} concurrently in {} ranges", new Object[] {selectQuery, ranges.size()});
+
+        // The collector is shared by all ranges, so rows must be offered to it one at a time
+        final JdbcCommon.ResultSetRowCallback callback = new JdbcCommon.ResultSetRowCallback() {
+            @Override
+            public void processRow(final ResultSet resultSet) throws IOException {
+                synchronized (maxValCollector) {
+                    maxValCollector.processRow(resultSet);
+                }
+            }
+
+            @Override
+            public void applyStateChanges() {
+                synchronized (maxValCollector) {
+                    maxValCollector.applyStateChanges();
+                }
+            }
+        };
+
+        return new PartitionedRecordSet(ranges, partitionExecutor,
+                () -> {
+                    final Connection con = dbcpService.getConnection(Collections.emptyMap());
+                    if (transIsolationLevel != null) {
+                        con.setTransactionIsolation(transIsolationLevel);
+                    }
+                    return con;
+                },
+                statement -> {
+                    if (fetchSize != null && fetchSize > 0) {
+                        try {
+                            statement.setFetchSize(fetchSize);
+                        } catch (SQLException se) {
+                            // Not all drivers support this, just log the error (at debug level) and move on
+                            getLogger().debug("Cannot set fetch size to {} due to {}", new Object[]{fetchSize, se.getLocalizedMessage()}, se);
+                        }
+                    }
+                    statement.setQueryTimeout(queryTimeout);
+                },
+                resultSet -> sqlWriter.createRecordSet(resultSet, callback));
+    }
+
     protected String getQuery(DatabaseAdapter dbAdapter, String tableName, String columnNames, List<String> maxValColumnNames,
                               String customWhereClause, Map<String, String> stateMap) {
 
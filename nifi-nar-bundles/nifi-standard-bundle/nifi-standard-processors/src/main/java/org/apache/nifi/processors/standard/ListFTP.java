@@ -99,6 +99,8 @@ public class ListFTP extends ListFileTransfer {
         properties.add(FTPTransfer.BUFFER_SIZE);
         properties.add(TARGET_SYSTEM_TIMESTAMP_PRECISION);
         properties.add(ListedEntityTracker.TRACKING_STATE_CACHE);
+        properties.add(ListedEntityTracker.TRACKING_STATE_DIRECTORY);
+        properties.add(ListedEntityTracker.TRACKING_STATE_PARTITIONS);
         properties.add(ListedEntityTracker.TRACKING_TIME_WINDOW);
         properties.add(ListedEntityTracker.INITIAL_LISTING_TARGET);
         properties.add(FTPTransfer.UTF8_ENCODING);
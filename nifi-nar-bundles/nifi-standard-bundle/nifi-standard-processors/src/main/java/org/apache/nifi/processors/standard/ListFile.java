@@ -50,11 +50,15 @@ import org.apache.nifi.util.Tuple;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileStore;
+import java.nio.file.FileSystemLoopException;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributeView;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -75,11 +79,18 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiPredicate;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -147,6 +158,18 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
             .defaultValue("true")
             .build();
 
+    public static final PropertyDescriptor TRAVERSAL_PARALLELISM = new Builder()
+            .name("traversal-parallelism")
+            .displayName("Directory Traversal Parallelism")
+            .description("The number of threads to use for listing subdirectories when 'Recurse Subdirectories' is true. A value of 1 walks the directory tree "
+                    + "one directory at a time. Larger values allow sibling directories to be listed concurrently, which can greatly reduce the time needed to list "
+                    + "a large directory tree, particularly on network file systems where listing each directory incurs a round trip, at the cost of issuing "
+                    + "more concurrent requests to the file system.")
+            .required(true)
+            .addValidator(POSITIVE_INTEGER_VALIDATOR)
+            .defaultValue("1")
+            .build();
+
     public static final PropertyDescriptor DIRECTORY_LOCATION = new Builder()
             .name("Input Directory Location")
             .description("Specifies where the Input Directory is located. This is used to determine whether state should be stored locally or across the cluster.")
@@ -269,6 +292,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
 
     private volatile ScheduledExecutorService monitoringThreadPool;
     private volatile Future<?> monitoringFuture;
+    private volatile ForkJoinPool traversalPool;
 
     private volatile boolean includeFileAttributes;
     private volatile PerformanceTracker performanceTracker;
@@ -289,6 +313,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         properties.add(DIRECTORY);
         properties.add(LISTING_STRATEGY);
         properties.add(RECURSE);
+        properties.add(TRAVERSAL_PARALLELISM);
         properties.add(RECORD_WRITER);
         properties.add(DIRECTORY_LOCATION);
         properties.add(FILE_FILTER);
@@ -301,6 +326,8 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         properties.add(IGNORE_HIDDEN_FILES);
         properties.add(TARGET_SYSTEM_TIMESTAMP_PRECISION);
         properties.add(ListedEntityTracker.TRACKING_STATE_CACHE);
+        properties.add(ListedEntityTracker.TRACKING_STATE_DIRECTORY);
+        properties.add(ListedEntityTracker.TRACKING_STATE_PARTITIONS);
         properties.add(ListedEntityTracker.TRACKING_TIME_WINDOW);
         properties.add(ListedEntityTracker.INITIAL_LISTING_TARGET);
         properties.add(ListedEntityTracker.NODE_IDENTIFIER);
@@ -351,6 +378,18 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         final long millisToKeepStats = TimeUnit.MINUTES.toMillis(15);
         final MonitorActiveTasks monitorTask = new MonitorActiveTasks(performanceTracker, getLogger(), maxDiskOperationMillis, maxListingMillis, millisToKeepStats);
         monitoringFuture = monitoringThreadPool.scheduleAtFixedRate(monitorTask, 15, 15, TimeUnit.SECONDS);
+
+        final int traversalParallelism = context.getProperty(TRAVERSAL_PARALLELISM).asInteger();
+        if (traversalParallelism > 1 && context.getProperty(RECURSE).asBoolean()) {
+            final String identifier = getIdentifier();
+            traversalPool = new ForkJoinPool(traversalParallelism, pool -> {
+                final ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setName("ListFile Directory Traversal [UUID=" + identifier + "]-" + t.getPoolIndex());
+                t.setDaemon(true);
+
+                return t;
+            }, null, false);
+        }
     }
 
     @OnStopped
@@ -359,6 +398,11 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
             monitoringFuture.cancel(true);
         }
 
+        if (traversalPool != null) {
+            traversalPool.shutdownNow();
+            traversalPool = null;
+        }
+
         final boolean trackPerformance = context.getProperty(TRACK_PERFORMANCE).asBoolean();
         if (trackPerformance) {
             logPerformance();
@@ -511,7 +555,6 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
             throws IOException {
         final Path basePath = new File(getPath(context)).toPath();
         final Boolean recurse = context.getProperty(RECURSE).asBoolean();
-        final Map<Path, BasicFileAttributes> lastModifiedMap = new HashMap<>();
 
         final BiPredicate<Path, BasicFileAttributes> fileFilter;
         final PerformanceTracker performanceTracker;
@@ -527,7 +570,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         int maxDepth = recurse ? Integer.MAX_VALUE : 1;
 
         final BiPredicate<Path, BasicFileAttributes> matcher = new BiPredicate<Path, BasicFileAttributes>() {
-            private long lastTimestamp = System.currentTimeMillis();
+            private final AtomicLong lastTimestamp = new AtomicLong(System.currentTimeMillis());
 
             @Override
             public boolean test(final Path path, final BasicFileAttributes attributes) {
@@ -536,8 +579,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
                 }
 
                 final long now = System.currentTimeMillis();
-                final long timeToList = now - lastTimestamp;
-                lastTimestamp = now;
+                final long timeToList = now - lastTimestamp.getAndSet(now);
 
                 final Path relativeDirectory = basePath.relativize(path).getParent();
                 final String relativePath = relativeDirectory == null ? "" : relativeDirectory.toString();
@@ -555,10 +597,6 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
                     final boolean matchesFilters = (minTimestamp == null || attributes.lastModifiedTime().toMillis() >= minTimestamp)
                             && fileFilter.test(path, attributes);
                     if (!isDirectory && (!applyFilters || matchesFilters)) {
-                        // We store the attributes for each Path we are returning in order to avoid
-                        // retrieving them again later when creating the FileInfo
-                        lastModifiedMap.put(path, attributes);
-
                         return true;
                     }
 
@@ -575,58 +613,43 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
 
         try {
             final long start = System.currentTimeMillis();
-            final List<FileInfo> result = new LinkedList<>();
+            final List<FileInfo> result;
 
-            Files.walkFileTree(basePath, Collections.singleton(FileVisitOption.FOLLOW_LINKS), maxDepth, new FileVisitor<Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attributes) {
-                    if (Files.isReadable(dir)) {
-                        return FileVisitResult.CONTINUE;
-                    } else {
-                        getLogger().debug("The following directory is not readable: {}", new Object[]{dir.toString()});
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-                }
-
-                @Override
-                public FileVisitResult visitFile(final Path path, final BasicFileAttributes attributes) {
-                    if (matcher.test(path, attributes)) {
-                        final File file = path.toFile();
-                        final BasicFileAttributes fileAttributes = lastModifiedMap.get(path);
-                        final FileInfo fileInfo = new FileInfo.Builder()
-                                .directory(false)
-                                .filename(file.getName())
-                                .fullPathFileName(file.getAbsolutePath())
-                                .lastModifiedTime(fileAttributes.lastModifiedTime().toMillis())
-                                .size(fileAttributes.size())
-                                .build();
-
-                        result.add(fileInfo);
+            final ForkJoinPool traversalPool = this.traversalPool;
+            if (listingMode == ListingMode.EXECUTION && traversalPool != null && recurse) {
+                result = performParallelListing(traversalPool, basePath, matcher);
+            } else {
+                result = new LinkedList<>();
+                Files.walkFileTree(basePath, Collections.singleton(FileVisitOption.FOLLOW_LINKS), maxDepth, new FileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attributes) {
+                        return isDirectoryReadable(dir) ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
                     }
 
-                    return FileVisitResult.CONTINUE;
-                }
+                    @Override
+                    public FileVisitResult visitFile(final Path path, final BasicFileAttributes attributes) {
+                        if (matcher.test(path, attributes)) {
+                            result.add(createFileInfo(path, attributes));
+                        }
 
-                @Override
-                public FileVisitResult visitFileFailed(final Path path, final IOException e) {
-                    if (e instanceof AccessDeniedException) {
-                        getLogger().debug("The following file is not readable: {}", new Object[]{path.toString()});
-                        return FileVisitResult.SKIP_SUBTREE;
-                    } else {
-                        getLogger().error("Error during visiting file {}: {}", new Object[]{path.toString(), e.getMessage()}, e);
-                        return FileVisitResult.TERMINATE;
+                        return FileVisitResult.CONTINUE;
                     }
-                }
 
-                @Override
-                public FileVisitResult postVisitDirectory(final Path dir, final IOException e) {
-                    if (e != null) {
-                        getLogger().error("Error during visiting directory {}: {}", new Object[]{dir.toString(), e.getMessage()}, e);
+                    @Override
+                    public FileVisitResult visitFileFailed(final Path path, final IOException e) {
+                        return handleVisitFailure(path, e) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.TERMINATE;
                     }
 
-                    return FileVisitResult.CONTINUE;
-                }
-            });
+                    @Override
+                    public FileVisitResult postVisitDirectory(final Path dir, final IOException e) {
+                        if (e != null) {
+                            getLogger().error("Error during visiting directory {}: {}", new Object[]{dir.toString(), e.getMessage()}, e);
+                        }
+
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
 
             final long millis = System.currentTimeMillis() - start;
 
@@ -642,6 +665,165 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         }
     }
 
+    /**
+     * Lists the directory tree rooted at the given base path, listing sibling directories concurrently using the given pool. The traversal honors the same rules
+     * as the sequential walk: symbolic links are followed, unreadable directories are skipped, and a failure to read any entry other than due to insufficient
+     * permissions, including a symbolic link that points to one of its own ancestors, ends the listing with whatever has been gathered up to that point.
+     */
+    private List<FileInfo> performParallelListing(final ForkJoinPool pool, final Path basePath, final BiPredicate<Path, BasicFileAttributes> matcher) {
+        final BasicFileAttributes baseAttributes;
+        try {
+            baseAttributes = Files.readAttributes(basePath, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            handleVisitFailure(basePath, e);
+            return new LinkedList<>();
+        }
+
+        if (!baseAttributes.isDirectory()) {
+            final List<FileInfo> result = new LinkedList<>();
+            if (matcher.test(basePath, baseAttributes)) {
+                result.add(createFileInfo(basePath, baseAttributes));
+            }
+            return result;
+        }
+
+        if (!isDirectoryReadable(basePath)) {
+            return new LinkedList<>();
+        }
+
+        final Queue<FileInfo> results = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean terminated = new AtomicBoolean(false);
+        pool.invoke(new DirectoryListingTask(basePath, Collections.singletonList(baseAttributes.fileKey()), matcher, results, terminated));
+
+        return new LinkedList<>(results);
+    }
+
+    private boolean isDirectoryReadable(final Path dir) {
+        if (Files.isReadable(dir)) {
+            return true;
+        }
+
+        getLogger().debug("The following directory is not readable: {}", new Object[]{dir.toString()});
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> if the listing should continue after failing to visit the given path, <code>false</code> if it should be terminated
+     */
+    private boolean handleVisitFailure(final Path path, final IOException e) {
+        if (e instanceof AccessDeniedException) {
+            getLogger().debug("The following file is not readable: {}", new Object[]{path.toString()});
+            return true;
+        }
+
+        getLogger().error("Error during visiting file {}: {}", new Object[]{path.toString(), e.getMessage()}, e);
+        return false;
+    }
+
+    private FileInfo createFileInfo(final Path path, final BasicFileAttributes attributes) {
+        final File file = path.toFile();
+        return new FileInfo.Builder()
+                .directory(false)
+                .filename(file.getName())
+                .fullPathFileName(file.getAbsolutePath())
+                .lastModifiedTime(attributes.lastModifiedTime().toMillis())
+                .size(attributes.size())
+                .build();
+    }
+
+    /**
+     * Lists a single directory, passing each file to the matcher and forking a new task for each subdirectory.
+     */
+    private class DirectoryListingTask extends RecursiveAction {
+        private final Path directory;
+        private final List<Object> ancestorKeys;
+        private final BiPredicate<Path, BasicFileAttributes> matcher;
+        private final Queue<FileInfo> results;
+        private final AtomicBoolean terminated;
+
+        DirectoryListingTask(final Path directory, final List<Object> ancestorKeys, final BiPredicate<Path, BasicFileAttributes> matcher,
+                             final Queue<FileInfo> results, final AtomicBoolean terminated) {
+            this.directory = directory;
+            this.ancestorKeys = ancestorKeys;
+            this.matcher = matcher;
+            this.results = results;
+            this.terminated = terminated;
+        }
+
+        @Override
+        protected void compute() {
+            final List<DirectoryListingTask> subtasks = new ArrayList<>();
+
+            try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (final Path path : stream) {
+                    if (terminated.get()) {
+                        break;
+                    }
+
+                    final BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    } catch (final IOException e) {
+                        // A broken symbolic link is still visited as a file, just as it is by Files.walkFileTree
+                        final BasicFileAttributes linkAttributes = readLinkAttributes(path);
+                        if (linkAttributes == null) {
+                            terminateOnFailure(path, e);
+                            continue;
+                        }
+
+                        if (matcher.test(path, linkAttributes)) {
+                            results.add(createFileInfo(path, linkAttributes));
+                        }
+                        continue;
+                    }
+
+                    if (attributes.isDirectory()) {
+                        final Object fileKey = attributes.fileKey();
+                        if (fileKey != null && ancestorKeys.contains(fileKey)) {
+                            terminateOnFailure(path, new FileSystemLoopException(path.toString()));
+                            continue;
+                        }
+
+                        if (isDirectoryReadable(path)) {
+                            final List<Object> childAncestorKeys = new ArrayList<>(ancestorKeys.size() + 1);
+                            childAncestorKeys.addAll(ancestorKeys);
+                            childAncestorKeys.add(fileKey);
+
+                            final DirectoryListingTask subtask = new DirectoryListingTask(path, childAncestorKeys, matcher, results, terminated);
+                            subtask.fork();
+                            subtasks.add(subtask);
+                        }
+                    } else if (matcher.test(path, attributes)) {
+                        results.add(createFileInfo(path, attributes));
+                    }
+                }
+            } catch (final DirectoryIteratorException e) {
+                getLogger().error("Error during visiting directory {}: {}", new Object[]{directory.toString(), e.getCause().getMessage()}, e.getCause());
+            } catch (final IOException e) {
+                terminateOnFailure(directory, e);
+            }
+
+            for (final DirectoryListingTask subtask : subtasks) {
+                subtask.join();
+            }
+        }
+
+        private BasicFileAttributes readLinkAttributes(final Path path) {
+            try {
+                final BasicFileAttributes linkAttributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                return linkAttributes.isSymbolicLink() ? linkAttributes : null;
+            } catch (final IOException e) {
+                return null;
+            }
+        }
+
+        private void terminateOnFailure(final Path path, final IOException e) {
+            if (!handleVisitFailure(path, e)) {
+                terminated.set(true);
+            }
+        }
+    }
+
     @Override
     protected String getListingContainerName(final ProcessContext context) {
         return String.format("%s Directory [%s]", context.getProperty(DIRECTORY_LOCATION).getValue(), getPath(context));
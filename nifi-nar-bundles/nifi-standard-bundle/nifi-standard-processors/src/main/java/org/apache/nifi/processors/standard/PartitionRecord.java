@@ -41,6 +41,7 @@ import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.RecordPathAccessor;
 import org.apache.nifi.record.path.util.RecordPathCache;
 import org.apache.nifi.record.path.validation.RecordPathValidator;
 import org.apache.nifi.serialization.RecordReader;
@@ -98,6 +99,8 @@ import java.util.stream.Stream;
 @SeeAlso({ConvertRecord.class, SplitRecord.class, UpdateRecord.class, QueryRecord.class})
 
 public class PartitionRecord extends AbstractProcessor {
+    private static final Object NO_SELECTION = new Object();
+
     private final RecordPathCache recordPathCache = new RecordPathCache(25);
 
     static final PropertyDescriptor RECORD_READER = new PropertyDescriptor.Builder()
@@ -204,6 +207,12 @@ public class PartitionRecord extends AbstractProcessor {
 
             final RecordSchema writeSchema = writerFactory.getSchema(originalAttributes, reader.getSchema());
 
+            // Simple RecordPaths can be resolved against the reader's schema once, rather than being evaluated in full for every Record
+            final Map<String, RecordPathAccessor> recordPathAccessors = new HashMap<>();
+            for (final Map.Entry<String, RecordPath> entry : recordPaths.entrySet()) {
+                entry.getValue().createAccessor(reader.getSchema()).ifPresent(accessor -> recordPathAccessors.put(entry.getKey(), accessor));
+            }
+
             Record record;
             while ((record = reader.nextRecord()) != null) {
                 final Map<String, List<ValueWrapper>> recordMap = new HashMap<>();
@@ -212,11 +221,18 @@ public class PartitionRecord extends AbstractProcessor {
                 for (final Map.Entry<String, RecordPath> entry : recordPaths.entrySet()) {
                     final String propName = entry.getKey();
                     final RecordPath recordPath = entry.getValue();
-
-                    final Stream<FieldValue> fieldValueStream = recordPath.evaluate(record).getSelectedFields();
-                    final List<ValueWrapper> fieldValues = fieldValueStream
-                        .map(fieldVal -> new ValueWrapper(fieldVal.getValue()))
-                        .collect(Collectors.toList());
+                    final RecordPathAccessor accessor = recordPathAccessors.get(propName);
+
+                    final List<ValueWrapper> fieldValues;
+                    if (accessor == null) {
+                        final Stream<FieldValue> fieldValueStream = recordPath.evaluate(record).getSelectedFields();
+                        fieldValues = fieldValueStream
+                            .map(fieldVal -> new ValueWrapper(fieldVal.getValue()))
+                            .collect(Collectors.toList());
+                    } else {
+                        final Object value = accessor.getValue(record, NO_SELECTION);
+                        fieldValues = value == NO_SELECTION ? Collections.emptyList() : Collections.singletonList(new ValueWrapper(value));
+                    }
                     recordMap.put(propName, fieldValues);
                 }
 
@@ -51,6 +51,7 @@ import org.apache.nifi.record.path.validation.RecordPathValidator;
 import org.apache.nifi.serialization.MalformedRecordException;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordReaderFactory;
+import org.apache.nifi.serialization.SimpleRecordSchema;
 import org.apache.nifi.serialization.record.DataType;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
@@ -58,10 +59,13 @@ import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.nifi.serialization.record.util.DataTypeUtils;
 import org.apache.nifi.serialization.record.util.IllegalTypeConversionException;
+import org.apache.nifi.serialization.record.util.ValueConverter;
+import org.apache.nifi.serialization.record.util.RecordConversionPlan;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.sql.BatchUpdateException;
 import java.sql.Clob;
@@ -81,9 +85,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -140,6 +147,14 @@ public class PutDatabaseRecord extends AbstractProcessor {
             "Fail on Unmatched Columns",
             "A flow will fail if any column in the database that does not have a field in the document.  An error will be logged");
 
+    static final AllowableValue BATCH_INSERT = new AllowableValue("batch", "Batched Statements",
+            "Each record is inserted by its own parameterized INSERT statement, and the statements are sent to the database in batches");
+    static final AllowableValue MULTI_ROW_INSERT = new AllowableValue("multi-row", "Multi-Row Statements",
+            "Records are inserted by parameterized INSERT statements that each contain as many rows in their VALUES clause as specified by the 'Rows Per Insert Statement' "
+            + "property, so that the database has far fewer statements to execute. The database must support INSERT statements with multiple rows");
+    static final AllowableValue BULK_LOAD_INSERT = new AllowableValue("bulk-load", "Bulk Load",
+            "Records are streamed to the database using its bulk load mechanism, such as COPY for PostgreSQL. Only available for Database Types that support bulk loading");
+
     // Relationships
     public static final Relationship REL_SUCCESS = new Relationship.Builder()
             .name("success")
@@ -328,7 +343,8 @@ public class PutDatabaseRecord extends AbstractProcessor {
     static final PropertyDescriptor TABLE_SCHEMA_CACHE_SIZE = new Builder()
             .name("table-schema-cache-size")
             .displayName("Table Schema Cache Size")
-            .description("Specifies how many Table Schemas should be cached")
+            .description("Specifies how many Table Schemas should be cached. The same number of generated SQL statements, which depend on the table, the schema of "
+                    + "the records and the Statement Type, is cached as well")
             .addValidator(StandardValidators.NON_NEGATIVE_INTEGER_VALIDATOR)
             .defaultValue("100")
             .required(true)
@@ -346,11 +362,34 @@ public class PutDatabaseRecord extends AbstractProcessor {
             .dependsOn(STATEMENT_TYPE, INSERT_TYPE, UPDATE_TYPE, USE_ATTR_TYPE, USE_RECORD_PATH)
             .build();
 
+    static final PropertyDescriptor INSERT_STRATEGY = new Builder()
+            .name("put-db-record-insert-strategy")
+            .displayName("Insert Strategy")
+            .description("Specifies how records are inserted when the Statement Type of a FlowFile is INSERT. This property has no effect for other Statement Types, "
+                    + "including when the Statement Type is determined by a Record Path.")
+            .allowableValues(BATCH_INSERT, MULTI_ROW_INSERT, BULK_LOAD_INSERT)
+            .defaultValue(BATCH_INSERT.getValue())
+            .required(true)
+            .dependsOn(STATEMENT_TYPE, INSERT_TYPE, USE_ATTR_TYPE)
+            .build();
+
+    static final PropertyDescriptor ROWS_PER_INSERT = new Builder()
+            .name("put-db-record-rows-per-insert")
+            .displayName("Rows Per Insert Statement")
+            .description("The number of rows in the VALUES clause of each INSERT statement. The last statement for a FlowFile may contain fewer rows. Databases limit "
+                    + "the number of parameters in a statement, so this value multiplied by the number of columns being inserted must not exceed the limit of the database.")
+            .defaultValue("100")
+            .required(true)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .dependsOn(INSERT_STRATEGY, MULTI_ROW_INSERT)
+            .build();
+
     static final PropertyDescriptor DB_TYPE;
 
     protected static final Map<String, DatabaseAdapter> dbAdapters;
     protected static List<PropertyDescriptor> propDescriptors;
     private Cache<SchemaKey, TableSchema> schemaCache;
+    private Cache<SqlKey, SqlAndIncludedColumns> sqlCache;
 
     static {
         dbAdapters = new HashMap<>();
@@ -400,11 +439,15 @@ public class PutDatabaseRecord extends AbstractProcessor {
         pds.add(RollbackOnFailure.ROLLBACK_ON_FAILURE);
         pds.add(TABLE_SCHEMA_CACHE_SIZE);
         pds.add(MAX_BATCH_SIZE);
+        pds.add(INSERT_STRATEGY);
+        pds.add(ROWS_PER_INSERT);
 
         propDescriptors = Collections.unmodifiableList(pds);
     }
 
     private DatabaseAdapter databaseAdapter;
+    private String insertStrategy;
+    private int rowsPerInsert;
     private volatile Function<Record, String> recordPathOperationType;
     private volatile RecordPath dataRecordPath;
 
@@ -447,6 +490,16 @@ public class PutDatabaseRecord extends AbstractProcessor {
             );
         }
 
+        if ((INSERT_TYPE.equals(statementType) || USE_ATTR_TYPE.equals(statementType))
+            && BULK_LOAD_INSERT.getValue().equals(validationContext.getProperty(INSERT_STRATEGY).getValue()) && !databaseAdapter.supportsBulkLoad()) {
+            validationResults.add(new ValidationResult.Builder()
+                .subject(INSERT_STRATEGY.getDisplayName())
+                .valid(false)
+                .explanation(databaseAdapter.getName() + " does not support " + BULK_LOAD_INSERT.getDisplayName())
+                .build()
+            );
+        }
+
         return validationResults;
     }
 
@@ -458,6 +511,12 @@ public class PutDatabaseRecord extends AbstractProcessor {
         schemaCache = Caffeine.newBuilder()
                 .maximumSize(tableSchemaCacheSize)
                 .build();
+        sqlCache = Caffeine.newBuilder()
+                .maximumSize(tableSchemaCacheSize)
+                .build();
+
+        insertStrategy = context.getProperty(INSERT_STRATEGY).getValue();
+        rowsPerInsert = context.getProperty(ROWS_PER_INSERT).asInteger();
 
         final String statementTypeRecordPathValue = context.getProperty(STATEMENT_TYPE_RECORD_PATH).getValue();
         if (statementTypeRecordPathValue == null) {
@@ -631,7 +690,20 @@ public class PutDatabaseRecord extends AbstractProcessor {
         // build the fully qualified table name
         final String fqTableName =  generateTableName(settings, catalog, schemaName, tableName, tableSchema);
 
+        if (INSERT_TYPE.equalsIgnoreCase(explicitStatementType)) {
+            if (BULK_LOAD_INSERT.getValue().equals(insertStrategy)) {
+                executeBulkLoad(session, con, recordReader, fqTableName, tableSchema, settings);
+                return;
+            }
+            if (MULTI_ROW_INSERT.getValue().equals(insertStrategy)) {
+                executeMultiRowInsert(session, flowFile, con, recordReader, fqTableName, tableSchema, settings, maxBatchSize, timeoutMillis);
+                return;
+            }
+        }
+
         final Map<String, PreparedSqlAndColumns> preparedSql = new HashMap<>();
+        // Records share their schema, so determine how each field is converted to the type of its column once rather than for every value
+        final Map<List<Integer>, ColumnConversionPlan> conversionPlans = new IdentityHashMap<>();
         int currentBatchSize = 0;
         int batchIndex = 0;
         Record outerRecord;
@@ -650,35 +722,8 @@ public class PutDatabaseRecord extends AbstractProcessor {
                 for (final Record currentRecord : dataRecords) {
                     PreparedSqlAndColumns preparedSqlAndColumns = preparedSql.get(statementType);
                     if (preparedSqlAndColumns == null) {
-                        final RecordSchema recordSchema = currentRecord.getSchema();
-
-                        final SqlAndIncludedColumns sqlHolder;
-                        if (INSERT_TYPE.equalsIgnoreCase(statementType)) {
-                            sqlHolder = generateInsert(recordSchema, fqTableName, tableSchema, settings);
-                        } else if (UPDATE_TYPE.equalsIgnoreCase(statementType)) {
-                            sqlHolder = generateUpdate(recordSchema, fqTableName, updateKeys, tableSchema, settings);
-                        } else if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
-                            sqlHolder = generateDelete(recordSchema, fqTableName, tableSchema, settings);
-                        } else if (UPSERT_TYPE.equalsIgnoreCase(statementType)) {
-                            sqlHolder = generateUpsert(recordSchema, fqTableName, updateKeys, tableSchema, settings);
-                        } else if (INSERT_IGNORE_TYPE.equalsIgnoreCase(statementType)) {
-                            sqlHolder = generateInsertIgnore(recordSchema, fqTableName, updateKeys, tableSchema, settings);
-                        } else {
-                            throw new IllegalArgumentException(format("Statement Type %s is not valid, FlowFile %s", statementType, flowFile));
-                        }
-
-                        // Create the Prepared Statement
-                        final PreparedStatement preparedStatement = con.prepareStatement(sqlHolder.getSql());
-
-                        try {
-                            preparedStatement.setQueryTimeout(timeoutMillis); // timeout in seconds
-                        } catch (final SQLException se) {
-                            // If the driver doesn't support query timeout, then assume it is "infinite". Allow a timeout of zero only
-                            if (timeoutMillis > 0) {
-                                throw se;
-                            }
-                        }
-
+                        final SqlAndIncludedColumns sqlHolder = getSql(statementType, currentRecord.getSchema(), fqTableName, updateKeys, tableSchema, settings, flowFile);
+                        final PreparedStatement preparedStatement = prepareStatement(con, sqlHolder.getSql(), timeoutMillis);
                         preparedSqlAndColumns = new PreparedSqlAndColumns(sqlHolder, preparedStatement);
                         preparedSql.put(statementType, preparedSqlAndColumns);
                     }
@@ -698,87 +743,7 @@ public class PutDatabaseRecord extends AbstractProcessor {
                     }
                     lastPreparedStatement = ps;
 
-                    final Object[] values = currentRecord.getValues();
-                    final List<DataType> dataTypes = currentRecord.getSchema().getDataTypes();
-                    final RecordSchema recordSchema = currentRecord.getSchema();
-                    final Map<String, ColumnDescription> columns = tableSchema.getColumns();
-
-                    int deleteIndex = 0;
-                    for (int i = 0; i < fieldIndexes.size(); i++) {
-                        final int currentFieldIndex = fieldIndexes.get(i);
-                        Object currentValue = values[currentFieldIndex];
-                        final DataType dataType = dataTypes.get(currentFieldIndex);
-                        final int fieldSqlType = DataTypeUtils.getSQLTypeValue(dataType);
-                        final String fieldName = recordSchema.getField(currentFieldIndex).getFieldName();
-                        String columnName = normalizeColumnName(fieldName, settings.translateFieldNames);
-                        int sqlType;
-
-                        final ColumnDescription column = columns.get(columnName);
-                        // 'column' should not be null here as the fieldIndexes should correspond to fields that match table columns, but better to handle just in case
-                        if (column == null) {
-                            if (!settings.ignoreUnmappedFields) {
-                                throw new SQLDataException("Cannot map field '" + fieldName + "' to any column in the database\n"
-                                        + (settings.translateFieldNames ? "Normalized " : "") + "Columns: " + String.join(",", columns.keySet()));
-                            } else {
-                                sqlType = fieldSqlType;
-                            }
-                        } else {
-                            sqlType = column.dataType;
-                        }
-
-                        // Convert (if necessary) from field data type to column data type
-                        if (fieldSqlType != sqlType) {
-                            try {
-                                DataType targetDataType = DataTypeUtils.getDataTypeFromSQLTypeValue(sqlType);
-                                if (targetDataType != null) {
-                                    if (sqlType == Types.BLOB || sqlType == Types.BINARY) {
-                                        if (currentValue instanceof Object[]) {
-                                            // Convert Object[Byte] arrays to byte[]
-                                            Object[] src = (Object[]) currentValue;
-                                            if (src.length > 0) {
-                                                if (!(src[0] instanceof Byte)) {
-                                                    throw new IllegalTypeConversionException("Cannot convert value " + currentValue + " to BLOB/BINARY");
-                                                }
-                                            }
-                                            byte[] dest = new byte[src.length];
-                                            for (int j = 0; j < src.length; j++) {
-                                                dest[j] = (Byte) src[j];
-                                            }
-                                            currentValue = dest;
-                                        } else if (currentValue instanceof String) {
-                                            currentValue = ((String) currentValue).getBytes(StandardCharsets.UTF_8);
-                                        } else if (currentValue != null && !(currentValue instanceof byte[])) {
-                                            throw new IllegalTypeConversionException("Cannot convert value " + currentValue + " to BLOB/BINARY");
-                                        }
-                                    } else {
-                                        currentValue = DataTypeUtils.convertType(
-                                                currentValue,
-                                                targetDataType,
-                                                fieldName);
-                                    }
-                                }
-                            } catch (IllegalTypeConversionException itce) {
-                                // If the field and column types don't match or the value can't otherwise be converted to the column datatype,
-                                // try with the original object and field datatype
-                                sqlType = DataTypeUtils.getSQLTypeValue(dataType);
-                            }
-                        }
-
-                        // If DELETE type, insert the object twice if the column is nullable because of the null check (see generateDelete for details)
-                        if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
-                            setParameter(ps, ++deleteIndex, currentValue, fieldSqlType, sqlType);
-                            if (column.isNullable()) {
-                                setParameter(ps, ++deleteIndex, currentValue, fieldSqlType, sqlType);
-                            }
-                        } else if (UPSERT_TYPE.equalsIgnoreCase(statementType)) {
-                            final int timesToAddObjects = databaseAdapter.getTimesToAddColumnObjectsForUpsert();
-                            for (int j = 0; j < timesToAddObjects; j++) {
-                                setParameter(ps, i + (fieldIndexes.size() * j) + 1, currentValue, fieldSqlType, sqlType);
-                            }
-                        } else {
-                            setParameter(ps, i + 1, currentValue, fieldSqlType, sqlType);
-                        }
-                    }
+                    setParameters(ps, 0, currentRecord, fieldIndexes, statementType, tableSchema, settings, conversionPlans);
 
                     ps.addBatch();
                     session.adjustCounter(statementType + " updates performed", 1, false);
@@ -804,6 +769,261 @@ public class PutDatabaseRecord extends AbstractProcessor {
         }
     }
 
+    /**
+     * Inserts the records using INSERT statements that each contain up to {@link #ROWS_PER_INSERT} rows. All full statements share one
+     * PreparedStatement and are executed in batches; the rows that remain at the end are inserted by a statement of their own.
+     */
+    private void executeMultiRowInsert(final ProcessSession session, final FlowFile flowFile, final Connection con, final RecordReader recordReader, final String fqTableName,
+                                       final TableSchema tableSchema, final DMLSettings settings, final int maxBatchSize, final int timeoutMillis)
+        throws MalformedRecordException, IOException, SQLException {
+
+        final ComponentLog log = getLogger();
+        final Map<List<Integer>, ColumnConversionPlan> conversionPlans = new IdentityHashMap<>();
+        final List<Record> pendingRecords = new ArrayList<>(rowsPerInsert);
+        SqlAndIncludedColumns sqlHolder = null;
+        PreparedStatement ps = null;
+        int currentBatchSize = 0;
+        int batchIndex = 0;
+        Record outerRecord;
+
+        try {
+            while ((outerRecord = recordReader.nextRecord()) != null) {
+                for (final Record currentRecord : getDataRecords(outerRecord)) {
+                    if (sqlHolder == null) {
+                        sqlHolder = getSql(INSERT_TYPE, currentRecord.getSchema(), fqTableName, null, tableSchema, settings, flowFile);
+                        ps = prepareStatement(con, generateMultiRowInsert(sqlHolder, rowsPerInsert), timeoutMillis);
+                    }
+
+                    pendingRecords.add(currentRecord);
+                    if (pendingRecords.size() < rowsPerInsert) {
+                        continue;
+                    }
+
+                    setParameters(ps, pendingRecords, sqlHolder.getFieldIndexes(), tableSchema, settings, conversionPlans);
+                    ps.addBatch();
+                    session.adjustCounter(INSERT_TYPE + " updates performed", pendingRecords.size(), false);
+                    currentBatchSize += pendingRecords.size();
+                    pendingRecords.clear();
+
+                    if (maxBatchSize > 0 && currentBatchSize >= maxBatchSize) {
+                        batchIndex++;
+                        log.debug("Executing multi-row insert because batch reached max size for {}; batch index: {}; batch size: {}", flowFile, batchIndex, currentBatchSize);
+                        ps.executeBatch();
+                        session.adjustCounter("Batches Executed", 1, false);
+                        currentBatchSize = 0;
+                    }
+                }
+            }
+
+            if (currentBatchSize > 0) {
+                ps.executeBatch();
+                session.adjustCounter("Batches Executed", 1, false);
+            }
+
+            if (!pendingRecords.isEmpty()) {
+                try (final PreparedStatement remainderStatement = prepareStatement(con, generateMultiRowInsert(sqlHolder, pendingRecords.size()), timeoutMillis)) {
+                    setParameters(remainderStatement, pendingRecords, sqlHolder.getFieldIndexes(), tableSchema, settings, conversionPlans);
+                    remainderStatement.executeUpdate();
+                }
+                session.adjustCounter(INSERT_TYPE + " updates performed", pendingRecords.size(), false);
+            }
+        } finally {
+            if (ps != null) {
+                ps.close();
+            }
+        }
+    }
+
+    private void setParameters(final PreparedStatement ps, final List<Record> records, final List<Integer> fieldIndexes, final TableSchema tableSchema,
+                               final DMLSettings settings, final Map<List<Integer>, ColumnConversionPlan> conversionPlans) throws IOException, SQLException {
+        for (int row = 0; row < records.size(); row++) {
+            setParameters(ps, row * fieldIndexes.size(), records.get(row), fieldIndexes, INSERT_TYPE, tableSchema, settings, conversionPlans);
+        }
+    }
+
+    /**
+     * Streams the records to the database through the bulk load mechanism of the Database Adapter. The columns to load are determined
+     * by the first record, just as they are for the statements generated for the other Insert Strategies.
+     */
+    private void executeBulkLoad(final ProcessSession session, final Connection con, final RecordReader recordReader, final String fqTableName,
+                                 final TableSchema tableSchema, final DMLSettings settings) throws MalformedRecordException, IOException, SQLException {
+
+        final BulkLoadRows rows = new BulkLoadRows(recordReader, tableSchema, settings);
+        if (!rows.hasNext()) {
+            return;
+        }
+
+        final RecordSchema recordSchema = rows.peekSchema();
+        final SqlAndIncludedColumns sqlHolder = getSql(INSERT_TYPE, recordSchema, fqTableName, null, tableSchema, settings, null);
+        final Map<String, ColumnDescription> columns = tableSchema.getColumns();
+        final List<String> columnNames = new ArrayList<>(sqlHolder.getFieldIndexes().size());
+        for (final int fieldIndex : sqlHolder.getFieldIndexes()) {
+            final String columnName = columns.get(normalizeColumnName(recordSchema.getField(fieldIndex).getFieldName(), settings.translateFieldNames)).getColumnName();
+            if (settings.escapeColumnNames) {
+                columnNames.add(tableSchema.getQuotedIdentifierString() + columnName + tableSchema.getQuotedIdentifierString());
+            } else {
+                columnNames.add(columnName);
+            }
+        }
+
+        rows.setFieldIndexes(sqlHolder.getFieldIndexes());
+        final long rowCount;
+        try {
+            rowCount = databaseAdapter.bulkLoad(con, fqTableName, columnNames, rows);
+        } catch (final UncheckedIOException e) {
+            // Unwrap the failure to read the records while they were being loaded
+            throw e.getCause();
+        }
+
+        session.adjustCounter(INSERT_TYPE + " updates performed", rowCount, false);
+        session.adjustCounter("Bulk Loads Executed", 1, false);
+    }
+
+    /**
+     * Returns the SQL for the given Statement Type and record schema, generating it only if it is not already cached. The Table Schema is part
+     * of the key, so that the SQL is generated again whenever the Table Schema is fetched again.
+     */
+    private SqlAndIncludedColumns getSql(final String statementType, final RecordSchema recordSchema, final String fqTableName, final String updateKeys,
+                                         final TableSchema tableSchema, final DMLSettings settings, final FlowFile flowFile)
+        throws MalformedRecordException, SQLException {
+        final SqlKey sqlKey = new SqlKey(statementType.toUpperCase(), fqTableName, updateKeys, recordSchema, tableSchema);
+        final SqlAndIncludedColumns cachedSql = sqlCache.getIfPresent(sqlKey);
+        if (cachedSql != null) {
+            return cachedSql;
+        }
+
+        final SqlAndIncludedColumns sqlHolder;
+        if (INSERT_TYPE.equalsIgnoreCase(statementType)) {
+            sqlHolder = generateInsert(recordSchema, fqTableName, tableSchema, settings);
+        } else if (UPDATE_TYPE.equalsIgnoreCase(statementType)) {
+            sqlHolder = generateUpdate(recordSchema, fqTableName, updateKeys, tableSchema, settings);
+        } else if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
+            sqlHolder = generateDelete(recordSchema, fqTableName, tableSchema, settings);
+        } else if (UPSERT_TYPE.equalsIgnoreCase(statementType)) {
+            sqlHolder = generateUpsert(recordSchema, fqTableName, updateKeys, tableSchema, settings);
+        } else if (INSERT_IGNORE_TYPE.equalsIgnoreCase(statementType)) {
+            sqlHolder = generateInsertIgnore(recordSchema, fqTableName, updateKeys, tableSchema, settings);
+        } else {
+            throw new IllegalArgumentException(format("Statement Type %s is not valid, FlowFile %s", statementType, flowFile));
+        }
+
+        sqlCache.put(sqlKey, sqlHolder);
+        return sqlHolder;
+    }
+
+    private PreparedStatement prepareStatement(final Connection con, final String sql, final int timeoutMillis) throws SQLException {
+        final PreparedStatement preparedStatement = con.prepareStatement(sql);
+
+        try {
+            preparedStatement.setQueryTimeout(timeoutMillis); // timeout in seconds
+        } catch (final SQLException se) {
+            // If the driver doesn't support query timeout, then assume it is "infinite". Allow a timeout of zero only
+            if (timeoutMillis > 0) {
+                preparedStatement.close();
+                throw se;
+            }
+        }
+
+        return preparedStatement;
+    }
+
+    private void setParameters(final PreparedStatement ps, final int parameterOffset, final Record currentRecord, final List<Integer> fieldIndexes, final String statementType,
+                               final TableSchema tableSchema, final DMLSettings settings, final Map<List<Integer>, ColumnConversionPlan> conversionPlans)
+            throws IOException, SQLException {
+        final Object[] values = currentRecord.getValues();
+        final List<DataType> dataTypes = currentRecord.getSchema().getDataTypes();
+        final RecordSchema recordSchema = currentRecord.getSchema();
+        final Map<String, ColumnDescription> columns = tableSchema.getColumns();
+
+        ColumnConversionPlan conversionPlan = conversionPlans.get(fieldIndexes);
+        if (conversionPlan == null || !conversionPlan.isPlanFor(recordSchema)) {
+            conversionPlan = new ColumnConversionPlan(recordSchema, fieldIndexes, tableSchema, settings);
+            conversionPlans.put(fieldIndexes, conversionPlan);
+        }
+
+        int deleteIndex = 0;
+        for (int i = 0; i < fieldIndexes.size(); i++) {
+            final int currentFieldIndex = fieldIndexes.get(i);
+            Object currentValue = values[currentFieldIndex];
+            final DataType dataType = dataTypes.get(currentFieldIndex);
+            final int fieldSqlType = DataTypeUtils.getSQLTypeValue(dataType);
+            final String fieldName = recordSchema.getField(currentFieldIndex).getFieldName();
+            String columnName = normalizeColumnName(fieldName, settings.translateFieldNames);
+            int sqlType;
+
+            final ColumnDescription column = columns.get(columnName);
+            // 'column' should not be null here as the fieldIndexes should correspond to fields that match table columns, but better to handle just in case
+            if (column == null) {
+                if (!settings.ignoreUnmappedFields) {
+                    throw new SQLDataException("Cannot map field '" + fieldName + "' to any column in the database\n"
+                            + (settings.translateFieldNames ? "Normalized " : "") + "Columns: " + String.join(",", columns.keySet()));
+                } else {
+                    sqlType = fieldSqlType;
+                }
+            } else {
+                sqlType = column.dataType;
+            }
+
+            // Convert (if necessary) from field data type to column data type
+            if (fieldSqlType != sqlType) {
+                try {
+                    currentValue = convertToColumnType(currentValue, fieldName, sqlType, conversionPlan.getConverter(i));
+                } catch (IllegalTypeConversionException itce) {
+                    // If the field and column types don't match or the value can't otherwise be converted to the column datatype,
+                    // try with the original object and field datatype
+                    sqlType = DataTypeUtils.getSQLTypeValue(dataType);
+                }
+            }
+
+            // If DELETE type, insert the object twice if the column is nullable because of the null check (see generateDelete for details)
+            if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
+                setParameter(ps, ++deleteIndex, currentValue, fieldSqlType, sqlType);
+                if (column.isNullable()) {
+                    setParameter(ps, ++deleteIndex, currentValue, fieldSqlType, sqlType);
+                }
+            } else if (UPSERT_TYPE.equalsIgnoreCase(statementType)) {
+                final int timesToAddObjects = databaseAdapter.getTimesToAddColumnObjectsForUpsert();
+                for (int j = 0; j < timesToAddObjects; j++) {
+                    setParameter(ps, i + (fieldIndexes.size() * j) + 1, currentValue, fieldSqlType, sqlType);
+                }
+            } else {
+                setParameter(ps, parameterOffset + i + 1, currentValue, fieldSqlType, sqlType);
+            }
+        }
+    }
+
+    /**
+     * Converts the value of a field to the type of its column. BLOB and BINARY columns accept byte arrays, which are obtained from the value
+     * directly; any other value is converted with the converter that the {@link ColumnConversionPlan} holds for the field.
+     *
+     * @param converter the converter for the field, or null if the value is bound as it is
+     */
+    private static Object convertToColumnType(final Object value, final String fieldName, final int sqlType, final ValueConverter converter) {
+        if (sqlType == Types.BLOB || sqlType == Types.BINARY) {
+            if (value instanceof Object[]) {
+                // Convert Object[Byte] arrays to byte[]
+                Object[] src = (Object[]) value;
+                if (src.length > 0) {
+                    if (!(src[0] instanceof Byte)) {
+                        throw new IllegalTypeConversionException("Cannot convert value " + value + " to BLOB/BINARY");
+                    }
+                }
+                byte[] dest = new byte[src.length];
+                for (int j = 0; j < src.length; j++) {
+                    dest[j] = (Byte) src[j];
+                }
+                return dest;
+            } else if (value instanceof String) {
+                return ((String) value).getBytes(StandardCharsets.UTF_8);
+            } else if (value != null && !(value instanceof byte[])) {
+                throw new IllegalTypeConversionException("Cannot convert value " + value + " to BLOB/BINARY");
+            }
+            return value;
+        }
+
+        return converter == null ? value : converter.convert(value, fieldName);
+    }
+
     private void setParameter(PreparedStatement ps, int index, Object value, int fieldSqlType, int sqlType) throws IOException {
         if (sqlType == Types.BLOB) {
             // Convert Byte[] or String (anything that has been converted to byte[]) into BLOB
@@ -1045,6 +1265,19 @@ public class PutDatabaseRecord extends AbstractProcessor {
         return new SqlAndIncludedColumns(sqlBuilder.toString(), includedColumns);
     }
 
+    /**
+     * Extends an INSERT statement generated by {@link #generateInsert(RecordSchema, String, TableSchema, DMLSettings)}, which has a single row of parameters
+     * in its VALUES clause, to the given number of rows. The parameters of each row are in the same order as those of the original statement.
+     */
+    String generateMultiRowInsert(final SqlAndIncludedColumns insert, final int rowCount) {
+        final String valuesRow = "(" + StringUtils.repeat("?", ",", insert.getFieldIndexes().size()) + ")";
+        final StringBuilder sqlBuilder = new StringBuilder(insert.getSql());
+        for (int i = 1; i < rowCount; i++) {
+            sqlBuilder.append(",").append(valuesRow);
+        }
+        return sqlBuilder.toString();
+    }
+
     SqlAndIncludedColumns generateUpsert(final RecordSchema recordSchema, final String tableName, final String updateKeys,
                                          final TableSchema tableSchema, final DMLSettings settings)
         throws IllegalArgumentException, SQLException, MalformedRecordException {
@@ -1582,6 +1815,46 @@ public class PutDatabaseRecord extends AbstractProcessor {
         }
     }
 
+    static class SqlKey {
+        private final String statementType;
+        private final String tableName;
+        private final String updateKeys;
+        private final RecordSchema recordSchema;
+        private final TableSchema tableSchema;
+
+        public SqlKey(final String statementType, final String tableName, final String updateKeys, final RecordSchema recordSchema, final TableSchema tableSchema) {
+            this.statementType = statementType;
+            this.tableName = tableName;
+            this.updateKeys = updateKeys;
+            this.recordSchema = recordSchema;
+            this.tableSchema = tableSchema;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = statementType.hashCode();
+            result = 31 * result + tableName.hashCode();
+            result = 31 * result + (updateKeys != null ? updateKeys.hashCode() : 0);
+            result = 31 * result + recordSchema.hashCode();
+            result = 31 * result + System.identityHashCode(tableSchema);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            SqlKey sqlKey = (SqlKey) o;
+
+            if (!statementType.equals(sqlKey.statementType)) return false;
+            if (!tableName.equals(sqlKey.tableName)) return false;
+            if (updateKeys != null ? !updateKeys.equals(sqlKey.updateKeys) : sqlKey.updateKeys != null) return false;
+            // The Table Schema is compared by identity, so that SQL generated from a Table Schema that has since been fetched again is not used
+            return tableSchema == sqlKey.tableSchema && recordSchema.equals(sqlKey.recordSchema);
+        }
+    }
+
     /**
      * A holder class for a SQL prepared statement and a BitSet indicating which columns are being updated (to determine which values from the record to set on the statement)
      * A value of null for getIncludedColumns indicates that all columns/fields should be included.
@@ -1628,6 +1901,141 @@ public class PutDatabaseRecord extends AbstractProcessor {
         }
     }
 
+    /**
+     * The conversions of the fields that a statement includes to the types of the columns that they are bound to, determined once for a record schema
+     * by a {@link RecordConversionPlan} whose target schema holds the type of each column. Fields whose column has the same type, or no column at all,
+     * are bound as they are and have no converter. BLOB and BINARY columns are converted by {@link #convertToColumnType} and have no converter either.
+     */
+    private static class ColumnConversionPlan {
+        private final RecordSchema recordSchema;
+        private final ValueConverter[] converters;
+
+        ColumnConversionPlan(final RecordSchema recordSchema, final List<Integer> fieldIndexes, final TableSchema tableSchema, final DMLSettings settings) {
+            this.recordSchema = recordSchema;
+
+            final Map<String, ColumnDescription> columns = tableSchema.getColumns();
+            final List<RecordField> columnFields = new ArrayList<>(fieldIndexes.size());
+            final boolean[] converted = new boolean[fieldIndexes.size()];
+            for (int i = 0; i < fieldIndexes.size(); i++) {
+                final RecordField field = recordSchema.getField(fieldIndexes.get(i));
+                final ColumnDescription column = columns.get(normalizeColumnName(field.getFieldName(), settings.translateFieldNames));
+                final int sqlType = column == null ? DataTypeUtils.getSQLTypeValue(field.getDataType()) : column.getDataType();
+
+                final DataType columnDataType = DataTypeUtils.getDataTypeFromSQLTypeValue(sqlType);
+                converted[i] = columnDataType != null && sqlType != DataTypeUtils.getSQLTypeValue(field.getDataType()) && sqlType != Types.BLOB && sqlType != Types.BINARY;
+                columnFields.add(converted[i] ? new RecordField(field.getFieldName(), columnDataType, field.isNullable()) : field);
+            }
+
+            final RecordConversionPlan plan = RecordConversionPlan.create(recordSchema, new SimpleRecordSchema(columnFields));
+            converters = new ValueConverter[columnFields.size()];
+            for (int i = 0; i < converters.length; i++) {
+                converters[i] = converted[i] ? plan.getConverter(i) : null;
+            }
+        }
+
+        boolean isPlanFor(final RecordSchema schema) {
+            return schema == recordSchema || schema.equals(recordSchema);
+        }
+
+        /**
+         * @param index the index of the field among the fields that the statement includes
+         * @return the converter to the type of the field's column, or null if the value is bound as it is
+         */
+        ValueConverter getConverter(final int index) {
+            return converters[index];
+        }
+    }
+
+    /**
+     * Iterates over the data records read from a FlowFile, presenting each as the values of the columns being bulk loaded, converted to the types of
+     * the columns wherever possible.
+     */
+    private class BulkLoadRows implements Iterator<Object[]> {
+        private final RecordReader recordReader;
+        private final TableSchema tableSchema;
+        private final DMLSettings settings;
+        private ColumnConversionPlan conversionPlan;
+        private Iterator<Record> dataRecords = Collections.emptyIterator();
+        private Record nextRecord;
+        private List<Integer> fieldIndexes;
+
+        BulkLoadRows(final RecordReader recordReader, final TableSchema tableSchema, final DMLSettings settings) {
+            this.recordReader = recordReader;
+            this.tableSchema = tableSchema;
+            this.settings = settings;
+        }
+
+        void setFieldIndexes(final List<Integer> fieldIndexes) {
+            this.fieldIndexes = fieldIndexes;
+        }
+
+        RecordSchema peekSchema() {
+            return hasNext() ? nextRecord.getSchema() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextRecord != null) {
+                return true;
+            }
+
+            while (!dataRecords.hasNext()) {
+                final Record outerRecord;
+                try {
+                    outerRecord = recordReader.nextRecord();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (final MalformedRecordException e) {
+                    throw new ProcessException("Failed to read Record to bulk load", e);
+                }
+
+                if (outerRecord == null) {
+                    return false;
+                }
+                dataRecords = getDataRecords(outerRecord).iterator();
+            }
+
+            nextRecord = dataRecords.next();
+            return true;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Record record = nextRecord;
+            nextRecord = null;
+
+            final Object[] values = record.getValues();
+            final RecordSchema recordSchema = record.getSchema();
+            final Map<String, ColumnDescription> columns = tableSchema.getColumns();
+            if (conversionPlan == null || !conversionPlan.isPlanFor(recordSchema)) {
+                conversionPlan = new ColumnConversionPlan(recordSchema, fieldIndexes, tableSchema, settings);
+            }
+
+            final Object[] columnValues = new Object[fieldIndexes.size()];
+            for (int i = 0; i < fieldIndexes.size(); i++) {
+                final int fieldIndex = fieldIndexes.get(i);
+                final String fieldName = recordSchema.getField(fieldIndex).getFieldName();
+                final ColumnDescription column = columns.get(normalizeColumnName(fieldName, settings.translateFieldNames));
+
+                Object value = values[fieldIndex];
+                if (column != null && column.getDataType() != DataTypeUtils.getSQLTypeValue(recordSchema.getDataTypes().get(fieldIndex))) {
+                    try {
+                        value = convertToColumnType(value, fieldName, column.getDataType(), conversionPlan.getConverter(i));
+                    } catch (final IllegalTypeConversionException itce) {
+                        // Load the original value and leave it to the database to convert it, as is done when binding statement parameters
+                    }
+                }
+                columnValues[i] = value;
+            }
+
+            return columnValues;
+        }
+    }
+
     private static class RecordPathStatementType implements Function<Record, String> {
         private final RecordPath recordPath;
 
@@ -128,6 +128,8 @@ public class QueryDatabaseTableRecord extends AbstractQueryDatabaseTable {
         pds.add(INITIAL_LOAD_STRATEGY);
         pds.add(QUERY_TIMEOUT);
         pds.add(FETCH_SIZE);
+        pds.add(PARTITION_COLUMN);
+        pds.add(PARTITION_COUNT);
         pds.add(MAX_ROWS_PER_FLOW_FILE);
         pds.add(OUTPUT_BATCH_SIZE);
         pds.add(MAX_FRAGMENTS);
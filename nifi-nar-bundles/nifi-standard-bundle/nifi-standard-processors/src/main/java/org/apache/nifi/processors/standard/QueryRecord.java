@@ -53,7 +53,9 @@ import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.OutputStreamCallback;
 import org.apache.nifi.processors.standard.calcite.RecordPathFunctions;
 import org.apache.nifi.queryrecord.FlowFileTable;
+import org.apache.nifi.queryrecord.VectorizedQuery;
 import org.apache.nifi.schema.access.SchemaNotFoundException;
+import org.apache.nifi.serialization.MalformedRecordException;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordReaderFactory;
 import org.apache.nifi.serialization.RecordSetWriter;
@@ -79,11 +81,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -158,6 +162,19 @@ public class QueryRecord extends AbstractProcessor {
         .defaultValue("true")
         .required(true)
         .build();
+    static final PropertyDescriptor VECTORIZED_EXECUTION = new PropertyDescriptor.Builder()
+        .name("vectorized-execution")
+        .displayName("Vectorized Execution")
+        .description("If true, queries that only select columns from the FLOWFILE table and filter rows by comparing columns to literal values, such as "
+            + "SELECT name, age FROM FLOWFILE WHERE age > 21 AND name IS NOT NULL, are evaluated directly against batches of records rather than being "
+            + "planned and executed by Calcite. This avoids much of the per-record overhead of Calcite. Only columns with a numeric, string, or boolean type "
+            + "may be referenced; any query that is not supported in this way, such as one that uses functions, aggregations, or ordering, is executed by "
+            + "Calcite as usual.")
+        .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+        .allowableValues("true", "false")
+        .defaultValue("false")
+        .required(true)
+        .build();
 
     public static final Relationship REL_ORIGINAL = new Relationship.Builder()
         .name("original")
@@ -178,6 +195,10 @@ public class QueryRecord extends AbstractProcessor {
         .removalListener(this::onCacheEviction)
         .build();
 
+    private final Cache<Tuple<String, RecordSchema>, Optional<VectorizedQuery>> vectorizedQueries = Caffeine.newBuilder()
+        .maximumSize(25)
+        .build();
+
     @Override
     protected void init(final ProcessorInitializationContext context) {
         try {
@@ -193,6 +214,7 @@ public class QueryRecord extends AbstractProcessor {
         properties.add(CACHE_SCHEMA);
         properties.add(DEFAULT_PRECISION);
         properties.add(DEFAULT_SCALE);
+        properties.add(VECTORIZED_EXECUTION);
         this.properties = Collections.unmodifiableList(properties);
 
         relationships.add(REL_FAILURE);
@@ -247,6 +269,7 @@ public class QueryRecord extends AbstractProcessor {
         }
 
         statementQueues.invalidateAll();
+        vectorizedQueries.invalidateAll();
     }
 
     private void onCacheEviction(final Tuple<String, RecordSchema> key, final BlockingQueue<CachedStatement> queue, final RemovalCause cause) {
@@ -273,6 +296,7 @@ public class QueryRecord extends AbstractProcessor {
         final RecordReaderFactory recordReaderFactory = context.getProperty(RECORD_READER_FACTORY).asControllerService(RecordReaderFactory.class);
         final Integer defaultPrecision = context.getProperty(DEFAULT_PRECISION).evaluateAttributeExpressions(original).asInteger();
         final Integer defaultScale = context.getProperty(DEFAULT_SCALE).evaluateAttributeExpressions(original).asInteger();
+        final boolean vectorizedExecution = context.getProperty(VECTORIZED_EXECUTION).asBoolean();
 
         final Map<FlowFile, Relationship> transformedFlowFiles = new HashMap<>();
         final Set<FlowFile> createdFlowFiles = new HashSet<>();
@@ -314,39 +338,65 @@ public class QueryRecord extends AbstractProcessor {
                 try {
                     final String sql = context.getProperty(descriptor).evaluateAttributeExpressions(original).getValue();
                     final AtomicReference<WriteResult> writeResultRef = new AtomicReference<>();
-                    final QueryResult queryResult = query(session, original, readerSchema, sql, recordReaderFactory);
-
                     final AtomicReference<String> mimeTypeRef = new AtomicReference<>();
                     final FlowFile originalFlowFile = original;
-                    try {
-                        final ResultSet rs = queryResult.getResultSet();
-                        transformed = session.write(transformed, new OutputStreamCallback() {
-                            @Override
-                            public void process(final OutputStream out) throws IOException {
-                                final ResultSetRecordSet recordSet;
-                                final RecordSchema writeSchema;
-
-                                try {
-                                    recordSet = new ResultSetRecordSet(rs, writerSchema, defaultPrecision, defaultScale);
-                                    final RecordSchema resultSetSchema = recordSet.getSchema();
-                                    writeSchema = recordSetWriterFactory.getSchema(originalAttributes, resultSetSchema);
-                                } catch (final SQLException | SchemaNotFoundException e) {
-                                    throw new ProcessException(e);
-                                }
 
+                    final Optional<VectorizedQuery> vectorizedQuery = vectorizedExecution ? getVectorizedQuery(sql, readerSchema) : Optional.empty();
+                    if (vectorizedQuery.isPresent()) {
+                        final AtomicInteger vectorizedRecordsRead = new AtomicInteger(0);
+                        final VectorizedQuery query = vectorizedQuery.get();
+                        final RecordSchema resultSchema = query.getResultSchema(writerSchema);
+                        transformed = session.write(transformed, out -> {
+                            try (final InputStream in = session.read(originalFlowFile);
+                                 final RecordReader reader = recordReaderFactory.createRecordReader(originalAttributes, in, originalFlowFile.getSize(), getLogger())) {
+
+                                final VectorizedQuery.VectorizedRecordSet recordSet = query.execute(reader, resultSchema);
+                                final RecordSchema writeSchema = recordSetWriterFactory.getSchema(originalAttributes, resultSchema);
                                 try (final RecordSetWriter resultSetWriter = recordSetWriterFactory.createWriter(getLogger(), writeSchema, out, originalFlowFile)) {
                                     writeResultRef.set(resultSetWriter.write(recordSet));
                                     mimeTypeRef.set(resultSetWriter.getMimeType());
-                                } catch (final Exception e) {
-                                    throw new IOException(e);
+                                } finally {
+                                    vectorizedRecordsRead.set(recordSet.getRecordsRead());
                                 }
+                            } catch (final SchemaNotFoundException | MalformedRecordException e) {
+                                throw new ProcessException(e);
                             }
                         });
-                    } finally {
-                        closeQuietly(queryResult);
+
+                        recordsRead = Math.max(recordsRead, vectorizedRecordsRead.get());
+                    } else {
+                        final QueryResult queryResult = query(session, original, readerSchema, sql, recordReaderFactory);
+                        try {
+                            final ResultSet rs = queryResult.getResultSet();
+                            transformed = session.write(transformed, new OutputStreamCallback() {
+                                @Override
+                                public void process(final OutputStream out) throws IOException {
+                                    final ResultSetRecordSet recordSet;
+                                    final RecordSchema writeSchema;
+
+                                    try {
+                                        recordSet = new ResultSetRecordSet(rs, writerSchema, defaultPrecision, defaultScale);
+                                        final RecordSchema resultSetSchema = recordSet.getSchema();
+                                        writeSchema = recordSetWriterFactory.getSchema(originalAttributes, resultSetSchema);
+                                    } catch (final SQLException | SchemaNotFoundException e) {
+                                        throw new ProcessException(e);
+                                    }
+
+                                    try (final RecordSetWriter resultSetWriter = recordSetWriterFactory.createWriter(getLogger(), writeSchema, out, originalFlowFile)) {
+                                        writeResultRef.set(resultSetWriter.write(recordSet));
+                                        mimeTypeRef.set(resultSetWriter.getMimeType());
+                                    } catch (final Exception e) {
+                                        throw new IOException(e);
+                                    }
+                                }
+                            });
+                        } finally {
+                            closeQuietly(queryResult);
+                        }
+
+                        recordsRead = Math.max(recordsRead, queryResult.getRecordsRead());
                     }
 
-                    recordsRead = Math.max(recordsRead, queryResult.getRecordsRead());
                     final WriteResult result = writeResultRef.get();
                     if (result.getRecordCount() == 0 && !context.getProperty(INCLUDE_ZERO_RECORD_FLOWFILES).asBoolean()) {
                         session.remove(transformed);
@@ -407,6 +457,10 @@ public class QueryRecord extends AbstractProcessor {
     }
 
 
+    private Optional<VectorizedQuery> getVectorizedQuery(final String sql, final RecordSchema schema) {
+        return vectorizedQueries.get(new Tuple<>(sql, schema), key -> VectorizedQuery.compile(sql, schema));
+    }
+
     private synchronized CachedStatement getStatement(final String sql, final RecordSchema schema, final Supplier<CachedStatement> statementBuilder) {
         final Tuple<String, RecordSchema> tuple = new Tuple<>(sql, schema);
         final BlockingQueue<CachedStatement> statementQueue = statementQueues.get(tuple, key -> new LinkedBlockingQueue<>());
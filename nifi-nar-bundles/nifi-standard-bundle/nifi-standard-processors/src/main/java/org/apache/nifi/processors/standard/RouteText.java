@@ -55,13 +55,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
@@ -211,6 +214,12 @@ public class RouteText extends AbstractProcessor {
 
     final static int PATTERNS_CACHE_MAXIMUM_ENTRIES = 1024;
 
+    /**
+     * The number of user-defined properties at which evaluating a line against all of them at once with a {@link LiteralMatcher}
+     * becomes cheaper than comparing the line with each property value in turn.
+     */
+    final static int LITERAL_MATCHER_MINIMUM_PROPERTIES = 8;
+
     /**
      * LRU cache for the compiled patterns. The size of the cache is determined by the value of
      * {@link #PATTERNS_CACHE_MAXIMUM_ENTRIES}.
@@ -225,6 +234,42 @@ public class RouteText extends AbstractProcessor {
                 r -> ignoreCase ? Pattern.compile(r, Pattern.CASE_INSENSITIVE) : Pattern.compile(r));
     }
 
+    /**
+     * The most recently built {@link LiteralMatcher}. Property values rarely differ between FlowFiles, so this is
+     * normally built once and then reused for every FlowFile.
+     */
+    private volatile LiteralMatcher cachedLiteralMatcher = null;
+
+    /**
+     * Returns a matcher that evaluates a line against all of the given property values in a single pass, or <code>null</code>
+     * if the values must instead be evaluated one at a time, as is the case for the Regular Expression and Expression Language
+     * strategies, for fewer than {@link #LITERAL_MATCHER_MINIMUM_PROPERTIES} properties, or for values that cannot be searched for as literals.
+     */
+    private LiteralMatcher getLiteralMatcher(final Map<Relationship, Object> propValueMap, final String matchStrategy, final boolean ignoreCase) {
+        if (propValueMap.size() < LITERAL_MATCHER_MINIMUM_PROPERTIES || !LiteralMatcher.isSupported(matchStrategy, ignoreCase)) {
+            return null;
+        }
+
+        final Map<Relationship, String> values = new HashMap<>(propValueMap.size());
+        for (final Map.Entry<Relationship, Object> entry : propValueMap.entrySet()) {
+            final String value = (String) entry.getValue();
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+
+            values.put(entry.getKey(), value);
+        }
+
+        final LiteralMatcher cached = cachedLiteralMatcher;
+        if (cached != null && cached.isFor(values, matchStrategy, ignoreCase)) {
+            return cached;
+        }
+
+        final LiteralMatcher literalMatcher = new LiteralMatcher(values, matchStrategy, ignoreCase);
+        cachedLiteralMatcher = literalMatcher;
+        return literalMatcher;
+    }
+
     @Override
     protected void init(final ProcessorInitializationContext context) {
         final Set<Relationship> set = new HashSet<>();
@@ -408,6 +453,9 @@ public class RouteText extends AbstractProcessor {
             }
         }
 
+        final LiteralMatcher literalMatcher = getLiteralMatcher(propValueMap, matchStrategy, ignoreCase);
+        final boolean findAll = !ROUTE_TO_MATCHED_WHEN_ANY_PROPERTY_MATCHES.getValue().equals(routeStrategy);
+
         final Map<Relationship, Map<Group, FlowFile>> flowFileMap = new HashMap<>();
         final Pattern groupPattern = groupingRegex;
 
@@ -449,28 +497,41 @@ public class RouteText extends AbstractProcessor {
                         variables.put("lineNo", String.valueOf(++lineCount));
 
                         int propertiesThatMatchedLine = 0;
-                        for (final Map.Entry<Relationship, Object> entry : propValueMap.entrySet()) {
-                            boolean lineMatchesProperty = lineMatches(matchLine, entry.getValue(), matchStrategy, ignoreCase, originalFlowFile, variables);
-                            if (lineMatchesProperty) {
-                                propertiesThatMatchedLine++;
-                            }
-
-                            if (lineMatchesProperty && ROUTE_TO_MATCHING_PROPERTY_NAME.getValue().equals(routeStrategy)) {
-                                // route each individual line to each Relationship that matches. This one matches.
-                                final Relationship relationship = entry.getKey();
-
-                                final Group group = getGroup(matchLine, groupPattern);
-                                appendLine(session, flowFileMap, relationship, originalFlowFile, line, charset, group);
-                                continue;
+                        if (literalMatcher != null) {
+                            // A single scan of the line determines every property that it matches
+                            final Set<Relationship> matchingRelationships = literalMatcher.findMatches(matchLine, findAll);
+                            propertiesThatMatchedLine = matchingRelationships.size();
+
+                            if (ROUTE_TO_MATCHING_PROPERTY_NAME.getValue().equals(routeStrategy)) {
+                                for (final Relationship relationship : matchingRelationships) {
+                                    final Group group = getGroup(matchLine, groupPattern);
+                                    appendLine(session, flowFileMap, relationship, originalFlowFile, line, charset, group);
+                                }
                             }
-
-                            // break as soon as possible to avoid calculating things we don't need to calculate.
-                            if (lineMatchesProperty && ROUTE_TO_MATCHED_WHEN_ANY_PROPERTY_MATCHES.getValue().equals(routeStrategy)) {
-                                break;
-                            }
-
-                            if (!lineMatchesProperty && ROUTE_TO_MATCHED_WHEN_ALL_PROPERTIES_MATCH.getValue().equals(routeStrategy)) {
-                                break;
+                        } else {
+                            for (final Map.Entry<Relationship, Object> entry : propValueMap.entrySet()) {
+                                boolean lineMatchesProperty = lineMatches(matchLine, entry.getValue(), matchStrategy, ignoreCase, originalFlowFile, variables);
+                                if (lineMatchesProperty) {
+                                    propertiesThatMatchedLine++;
+                                }
+
+                                if (lineMatchesProperty && ROUTE_TO_MATCHING_PROPERTY_NAME.getValue().equals(routeStrategy)) {
+                                    // route each individual line to each Relationship that matches. This one matches.
+                                    final Relationship relationship = entry.getKey();
+
+                                    final Group group = getGroup(matchLine, groupPattern);
+                                    appendLine(session, flowFileMap, relationship, originalFlowFile, line, charset, group);
+                                    continue;
+                                }
+
+                                // break as soon as possible to avoid calculating things we don't need to calculate.
+                                if (lineMatchesProperty && ROUTE_TO_MATCHED_WHEN_ANY_PROPERTY_MATCHES.getValue().equals(routeStrategy)) {
+                                    break;
+                                }
+
+                                if (!lineMatchesProperty && ROUTE_TO_MATCHED_WHEN_ALL_PROPERTIES_MATCH.getValue().equals(routeStrategy)) {
+                                    break;
+                                }
                             }
                         }
 
@@ -603,6 +664,234 @@ public class RouteText extends AbstractProcessor {
     }
 
 
+
+    /**
+     * Evaluates a line against the values of all user-defined properties at once when using one of the literal Matching Strategies.
+     * Values for 'Starts With' and 'Ends With' are arranged in a trie that is walked from the start or the end of the line, so that no
+     * more of the line is read than the longest value. Values for 'Contains' are compiled into an Aho-Corasick automaton so that each
+     * line is scanned only once regardless of the number of properties, while values for a case-sensitive 'Equals' are looked up by hash.
+     */
+    private static class LiteralMatcher {
+        private final Map<Relationship, String> values;
+        private final String matchStrategy;
+        private final boolean ignoreCase;
+        private final Map<String, Set<Relationship>> relationshipsByValue = new HashMap<>();
+        private final Node root;
+
+        LiteralMatcher(final Map<Relationship, String> values, final String matchStrategy, final boolean ignoreCase) {
+            this.values = values;
+            this.matchStrategy = matchStrategy;
+            this.ignoreCase = ignoreCase;
+
+            for (final Map.Entry<Relationship, String> entry : values.entrySet()) {
+                relationshipsByValue.computeIfAbsent(normalize(entry.getValue()), k -> new HashSet<>()).add(entry.getKey());
+            }
+            relationshipsByValue.replaceAll((value, relationships) -> Collections.unmodifiableSet(relationships));
+
+            if (equalsValue.equals(matchStrategy)) {
+                root = null;
+            } else {
+                root = new Node();
+                final boolean reverse = endsWithValue.equals(matchStrategy);
+                for (final Map.Entry<String, Set<Relationship>> entry : relationshipsByValue.entrySet()) {
+                    final String value = entry.getKey();
+                    Node node = root;
+                    for (int i = 0; i < value.length(); i++) {
+                        node = node.addChild(value.charAt(reverse ? value.length() - 1 - i : i));
+                    }
+                    node.relationships = entry.getValue();
+                }
+
+                if (containsValue.equals(matchStrategy)) {
+                    root.linkFailures();
+                }
+            }
+        }
+
+        static boolean isSupported(final String matchStrategy, final boolean ignoreCase) {
+            switch (matchStrategy) {
+                case startsWithValue:
+                case endsWithValue:
+                case containsValue:
+                    return true;
+                case equalsValue:
+                    // String.equalsIgnoreCase is not equivalent to comparing the lower-case forms, so only exact matches are looked up by hash
+                    return !ignoreCase;
+                default:
+                    return false;
+            }
+        }
+
+        boolean isFor(final Map<Relationship, String> values, final String matchStrategy, final boolean ignoreCase) {
+            return this.ignoreCase == ignoreCase && this.matchStrategy.equals(matchStrategy) && this.values.equals(values);
+        }
+
+        /**
+         * @param line the line to evaluate
+         * @param findAll if false, evaluation may stop as soon as any one property is found to match
+         * @return the Relationships of all properties whose values match the line
+         */
+        Set<Relationship> findMatches(final String line, final boolean findAll) {
+            // String.toLowerCase returns the line itself unless it contains upper-case characters
+            final String normalizedLine = normalize(line);
+            switch (matchStrategy) {
+                case startsWithValue:
+                    return findPrefixes(normalizedLine, false, findAll);
+                case endsWithValue:
+                    return findPrefixes(normalizedLine, true, findAll);
+                case containsValue:
+                    return findOccurrences(normalizedLine, findAll);
+                default:
+                    final Set<Relationship> relationships = relationshipsByValue.get(normalizedLine);
+                    return relationships == null ? Collections.emptySet() : relationships;
+            }
+        }
+
+        private Set<Relationship> findPrefixes(final String line, final boolean reverse, final boolean findAll) {
+            Set<Relationship> matches = Collections.emptySet();
+            Node node = root;
+            for (int i = 0; i < line.length(); i++) {
+                node = node.getChild(line.charAt(reverse ? line.length() - 1 - i : i));
+                if (node == null) {
+                    break;
+                }
+
+                if (node.relationships != null) {
+                    matches = merge(matches, node.relationships);
+                    if (!findAll) {
+                        break;
+                    }
+                }
+            }
+
+            return matches;
+        }
+
+        private Set<Relationship> findOccurrences(final String line, final boolean findAll) {
+            Set<Relationship> matches = Collections.emptySet();
+            Node node = root;
+            for (int i = 0; i < line.length(); i++) {
+                final char c = line.charAt(i);
+                Node next = node.getChild(c);
+                while (next == null && node != root) {
+                    node = node.failure;
+                    next = node.getChild(c);
+                }
+                node = next == null ? root : next;
+
+                for (Node match = node.relationships == null ? node.output : node; match != null; match = match.output) {
+                    matches = merge(matches, match.relationships);
+                    if (!findAll) {
+                        return matches;
+                    }
+                }
+            }
+
+            return matches;
+        }
+
+        /**
+         * Adds the Relationships of a matched value to those already found. The sets held by the matcher are returned as they are
+         * as long as the line matches a single value, so that a copy is only made once a line matches several different values.
+         */
+        private static Set<Relationship> merge(final Set<Relationship> matches, final Set<Relationship> relationships) {
+            if (matches.isEmpty() || matches == relationships) {
+                return relationships;
+            }
+
+            if (matches instanceof HashSet) {
+                matches.addAll(relationships);
+                return matches;
+            }
+
+            final Set<Relationship> merged = new HashSet<>(matches);
+            merged.addAll(relationships);
+            return merged;
+        }
+
+        private String normalize(final String value) {
+            return ignoreCase ? value.toLowerCase() : value;
+        }
+
+        /**
+         * A node of the trie of property values, whose children are kept in arrays sorted by character.
+         */
+        private static class Node {
+            private char[] labels = new char[0];
+            private Node[] children = new Node[0];
+
+            /**
+             * The Relationships of the properties whose value ends at this node, or null if no value ends here
+             */
+            private Set<Relationship> relationships;
+
+            /**
+             * The node for the longest proper suffix of this node's value that is also a prefix of some value, used by 'Contains'
+             */
+            private Node failure;
+
+            /**
+             * The nearest node along the failure links at which a value ends, used by 'Contains'
+             */
+            private Node output;
+
+            Node getChild(final char c) {
+                final int index = Arrays.binarySearch(labels, c);
+                return index < 0 ? null : children[index];
+            }
+
+            Node addChild(final char c) {
+                final int index = Arrays.binarySearch(labels, c);
+                if (index >= 0) {
+                    return children[index];
+                }
+
+                final int insertionPoint = -index - 1;
+                final char[] newLabels = new char[labels.length + 1];
+                final Node[] newChildren = new Node[children.length + 1];
+                System.arraycopy(labels, 0, newLabels, 0, insertionPoint);
+                System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+                System.arraycopy(labels, insertionPoint, newLabels, insertionPoint + 1, labels.length - insertionPoint);
+                System.arraycopy(children, insertionPoint, newChildren, insertionPoint + 1, children.length - insertionPoint);
+
+                final Node child = new Node();
+                newLabels[insertionPoint] = c;
+                newChildren[insertionPoint] = child;
+                labels = newLabels;
+                children = newChildren;
+                return child;
+            }
+
+            /**
+             * Sets the failure and output links of every node below this one, which must be the root of the trie
+             */
+            void linkFailures() {
+                final Queue<Node> queue = new ArrayDeque<>();
+                for (final Node child : children) {
+                    child.failure = this;
+                    queue.add(child);
+                }
+
+                while (!queue.isEmpty()) {
+                    final Node node = queue.remove();
+                    for (int i = 0; i < node.labels.length; i++) {
+                        final Node child = node.children[i];
+                        Node failure = node.failure;
+                        Node next = failure.getChild(node.labels[i]);
+                        while (next == null && failure != this) {
+                            failure = failure.failure;
+                            next = failure.getChild(node.labels[i]);
+                        }
+
+                        child.failure = next == null ? this : next;
+                        child.output = child.failure.relationships == null ? child.failure.output : child.failure;
+                        queue.add(child);
+                    }
+                }
+            }
+        }
+    }
+
     private static class Group {
         private final List<String> capturedValues;
 
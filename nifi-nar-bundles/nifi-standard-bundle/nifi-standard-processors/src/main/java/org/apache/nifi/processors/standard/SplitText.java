@@ -16,7 +16,6 @@
  */
 package org.apache.nifi.processors.standard;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.nifi.annotation.behavior.EventDriven;
 import org.apache.nifi.annotation.behavior.InputRequirement;
 import org.apache.nifi.annotation.behavior.InputRequirement.Requirement;
@@ -43,14 +42,13 @@ import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.InputStreamCallback;
-import org.apache.nifi.processor.io.OutputStreamCallback;
 import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.stream.io.StreamUtils;
 import org.apache.nifi.stream.io.util.TextLineDemarcator;
 import org.apache.nifi.stream.io.util.TextLineDemarcator.OffsetInfo;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -58,9 +56,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -88,11 +84,13 @@ import java.util.concurrent.atomic.AtomicReference;
             "including header, if applicable, which is duplicated in each split FlowFile"),
     @WritesAttribute(attribute = "fragment.identifier", description = "All split FlowFiles produced from the same parent FlowFile will have the same randomly generated UUID added for this attribute"),
     @WritesAttribute(attribute = "fragment.index", description = "A one-up number that indicates the ordering of the split FlowFiles that were created from a single parent FlowFile"),
-    @WritesAttribute(attribute = "fragment.count", description = "The number of split FlowFiles generated from the parent FlowFile"),
+    @WritesAttribute(attribute = "fragment.count", description = "The number of split FlowFiles generated from the parent FlowFile. Not written if the splits "
+            + "of the parent FlowFile are released over several sessions (see Splits Per Session)"),
     @WritesAttribute(attribute = "segment.original.filename ", description = "The filename of the parent FlowFile")})
 @SeeAlso(MergeContent.class)
 @SystemResourceConsideration(resource = SystemResource.MEMORY, description = "The FlowFile with its attributes is stored in memory, not the content of the FlowFile. If many splits are generated " +
-        "due to the size of the content, or how the content is configured to be split, a two-phase approach may be necessary to avoid excessive use of memory.")
+        "due to the size of the content, or how the content is configured to be split, a two-phase approach or the Splits Per Session property may be necessary to avoid "
+        + "excessive use of memory.")
 public class SplitText extends AbstractProcessor {
     // attribute keys
     public static final String SPLIT_LINE_COUNT = "text.line.count";
@@ -143,6 +141,17 @@ public class SplitText extends AbstractProcessor {
             .defaultValue("true")
             .build();
 
+    public static final PropertyDescriptor SPLITS_PER_SESSION = new PropertyDescriptor.Builder()
+            .name("Splits Per Session")
+            .description("The maximum number of splits to release in a single session. If not set, all splits of a FlowFile are released at once, so every split "
+                    + "FlowFile is held in memory until the session is committed. If set, a FlowFile that yields more splits is split over several invocations: "
+                    + "each releases and commits up to this many splits and returns the FlowFile to its queue, remembering where to resume. The original FlowFile "
+                    + "is routed to 'original' once all of its splits have been released. Because the number of splits is not known until then, splits of a "
+                    + "FlowFile that is split over several invocations do not have the fragment.count attribute.")
+            .required(false)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .build();
+
     public static final Relationship REL_ORIGINAL = new Relationship.Builder()
             .name("original")
             .description("The original input file will be routed to this destination when it has been successfully split into 1 or more files")
@@ -156,6 +165,13 @@ public class SplitText extends AbstractProcessor {
             .description("If a file cannot be split for some reason, the original file will be routed to this destination and nothing will be routed elsewhere")
             .build();
 
+    // attributes that carry the progress of a FlowFile whose splits are released over several sessions
+    private static final String RESUME_OFFSET_ATTRIBUTE = "split.text.resume.offset";
+    private static final String RESUME_FRAGMENT_INDEX_ATTRIBUTE = "split.text.resume.fragment.index";
+    private static final String RESUME_FRAGMENT_ID_ATTRIBUTE = "split.text.resume.fragment.identifier";
+    private static final Set<String> RESUME_ATTRIBUTES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        RESUME_OFFSET_ATTRIBUTE, RESUME_FRAGMENT_INDEX_ATTRIBUTE, RESUME_FRAGMENT_ID_ATTRIBUTE)));
+
     private static final List<PropertyDescriptor> properties;
     private static final Set<Relationship> relationships;
 
@@ -165,7 +181,8 @@ public class SplitText extends AbstractProcessor {
             FRAGMENT_MAX_SIZE,
             HEADER_LINE_COUNT,
             HEADER_MARKER,
-            REMOVE_TRAILING_NEWLINES));
+            REMOVE_TRAILING_NEWLINES,
+            SPLITS_PER_SESSION));
 
         relationships = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
             REL_ORIGINAL,
@@ -183,6 +200,8 @@ public class SplitText extends AbstractProcessor {
 
     private volatile String headerMarker;
 
+    private volatile int splitsPerSession;
+
     @Override
     public Set<Relationship> getRelationships() {
         return relationships;
@@ -197,10 +216,12 @@ public class SplitText extends AbstractProcessor {
         this.lineCount = context.getProperty(LINE_SPLIT_COUNT).asInteger();
         this.headerLineCount = context.getProperty(HEADER_LINE_COUNT).asInteger();
         this.headerMarker = context.getProperty(HEADER_MARKER).getValue();
+        this.splitsPerSession = context.getProperty(SPLITS_PER_SESSION).isSet() ? context.getProperty(SPLITS_PER_SESSION).asInteger() : 0;
     }
 
     /**
-     * Will split the incoming stream releasing all splits as FlowFile at once.
+     * Will split the incoming stream releasing all splits as FlowFile at once, or, if {@link #SPLITS_PER_SESSION} is set, releasing at most
+     * that many splits and returning the incoming FlowFile to its queue until all of its splits have been released.
      */
     @Override
     public void onTrigger(ProcessContext context, ProcessSession processSession) throws ProcessException {
@@ -208,10 +229,22 @@ public class SplitText extends AbstractProcessor {
         if (sourceFlowFile == null) {
             return;
         }
+
+        // Resume where the previous session left off. The resume attributes are removed before any split is created so that splits do not inherit them
+        final String resumeOffsetValue = sourceFlowFile.getAttribute(RESUME_OFFSET_ATTRIBUTE);
+        final long resumeOffset = resumeOffsetValue == null ? 0L : Long.parseLong(resumeOffsetValue);
+        final int firstFragmentIndex = resumeOffsetValue == null ? 1 : Integer.parseInt(sourceFlowFile.getAttribute(RESUME_FRAGMENT_INDEX_ATTRIBUTE));
+        final String fragmentId = resumeOffsetValue == null ? UUID.randomUUID().toString() : sourceFlowFile.getAttribute(RESUME_FRAGMENT_ID_ATTRIBUTE);
+        if (resumeOffsetValue != null) {
+            sourceFlowFile = processSession.removeAllAttributes(sourceFlowFile, RESUME_ATTRIBUTES);
+        }
+
+        final FlowFile flowFileToSplit = sourceFlowFile;
+        final int maxSplits = this.splitsPerSession;
         AtomicBoolean error = new AtomicBoolean();
         List<SplitInfo> computedSplitsInfo = new ArrayList<>();
         AtomicReference<SplitInfo> headerSplitInfoRef = new AtomicReference<>();
-        processSession.read(sourceFlowFile, new InputStreamCallback() {
+        processSession.read(flowFileToSplit, new InputStreamCallback() {
             @Override
             public void process(InputStream in) throws IOException {
                 TextLineDemarcator demarcator = new TextLineDemarcator(in);
@@ -225,7 +258,7 @@ public class SplitText extends AbstractProcessor {
                         splitInfo = SplitText.this.computeHeader(demarcator, startOffset, SplitText.this.headerLineCount, null, null);
                         if ((splitInfo != null) && (splitInfo.lineCount < SplitText.this.headerLineCount)) {
                             error.set(true);
-                            getLogger().error("Unable to split " + sourceFlowFile + " due to insufficient amount of header lines. Required "
+                            getLogger().error("Unable to split " + flowFileToSplit + " due to insufficient amount of header lines. Required "
                                     + SplitText.this.headerLineCount + " but was " + splitInfo.lineCount + ". Routing to failure.");
                         }
                     } else if (SplitText.this.headerMarker != null) {
@@ -237,16 +270,12 @@ public class SplitText extends AbstractProcessor {
                     getLogger().error(e.getMessage() + " Routing to failure.", e);
                 }
 
-                // Compute and collect fragments representing the individual splits
-                if (!error.get()) {
+                // Compute and collect fragments representing the individual splits, unless resuming further into the content
+                if (!error.get() && resumeOffset == 0) {
                     if (headerSplitInfoRef.get() != null) {
                         startOffset = headerSplitInfoRef.get().length;
                     }
-                    long preAccumulatedLength = startOffset;
-                    while ((splitInfo = SplitText.this.nextSplit(demarcator, startOffset, SplitText.this.lineCount, splitInfo, preAccumulatedLength)) != null) {
-                        computedSplitsInfo.add(splitInfo);
-                        startOffset += splitInfo.length;
-                    }
+                    SplitText.this.computeSplits(demarcator, startOffset, startOffset, splitInfo, maxSplits, computedSplitsInfo);
                     long stop = System.nanoTime();
                     if (getLogger().isDebugEnabled()) {
                         getLogger().debug("Computed splits in " + (stop - start) + " milliseconds.");
@@ -255,18 +284,58 @@ public class SplitText extends AbstractProcessor {
             }
         });
 
+        if (!error.get() && resumeOffset > 0) {
+            // Skip directly to where the previous session stopped rather than demarcating the lines that were already split
+            processSession.read(flowFileToSplit, new InputStreamCallback() {
+                @Override
+                public void process(InputStream in) throws IOException {
+                    StreamUtils.skip(in, resumeOffset);
+                    final long headerLength = headerSplitInfoRef.get() == null ? 0 : headerSplitInfoRef.get().length;
+                    SplitText.this.computeSplits(new TextLineDemarcator(in), resumeOffset, headerLength, null, maxSplits, computedSplitsInfo);
+                }
+            });
+        }
+
         if (error.get()){
             processSession.transfer(sourceFlowFile, REL_FAILURE);
-        } else {
-            final String fragmentId = UUID.randomUUID().toString();
-            final List<FlowFile> splitFlowFiles = this.generateSplitFlowFiles(fragmentId, sourceFlowFile, headerSplitInfoRef.get(), computedSplitsInfo, processSession);
+            return;
+        }
+
+        final SplitInfo lastSplitInfo = computedSplitsInfo.isEmpty() ? null : computedSplitsInfo.get(computedSplitsInfo.size() - 1);
+        final long nextOffset = lastSplitInfo == null ? sourceFlowFile.getSize() : lastSplitInfo.startOffset + lastSplitInfo.length;
+        final boolean complete = maxSplits <= 0 || computedSplitsInfo.size() < maxSplits || nextOffset >= sourceFlowFile.getSize();
 
-            final FlowFile originalFlowFile = FragmentAttributes.copyAttributesToOriginal(processSession, sourceFlowFile, fragmentId, splitFlowFiles.size());
+        // The number of splits is known only if they are all released in this session
+        final List<FlowFile> splitFlowFiles = this.generateSplitFlowFiles(fragmentId, sourceFlowFile, headerSplitInfoRef.get(), computedSplitsInfo,
+                firstFragmentIndex, complete && resumeOffset == 0, processSession);
+        if (!splitFlowFiles.isEmpty()) {
+            processSession.transfer(splitFlowFiles, REL_SPLITS);
+        }
+
+        if (complete) {
+            final int fragmentCount = firstFragmentIndex - 1 + splitFlowFiles.size();
+            final FlowFile originalFlowFile = FragmentAttributes.copyAttributesToOriginal(processSession, sourceFlowFile, fragmentId, fragmentCount);
             processSession.transfer(originalFlowFile, REL_ORIGINAL);
+        } else {
+            final Map<String, String> resumeAttributes = new HashMap<>();
+            resumeAttributes.put(RESUME_OFFSET_ATTRIBUTE, String.valueOf(nextOffset));
+            resumeAttributes.put(RESUME_FRAGMENT_INDEX_ATTRIBUTE, String.valueOf(firstFragmentIndex + splitFlowFiles.size()));
+            resumeAttributes.put(RESUME_FRAGMENT_ID_ATTRIBUTE, fragmentId);
+            sourceFlowFile = processSession.putAllAttributes(sourceFlowFile, resumeAttributes);
+            processSession.transfer(sourceFlowFile);
+        }
+    }
 
-            if (!splitFlowFiles.isEmpty()) {
-                processSession.transfer(splitFlowFiles, REL_SPLITS);
-            }
+    /**
+     * Computes the splits that start at the given offset and adds them to the given List, stopping once it holds 'maxSplits' splits if 'maxSplits' is positive.
+     */
+    private void computeSplits(TextLineDemarcator demarcator, long startOffset, long preAccumulatedLength, SplitInfo remainderSplitInfo, int maxSplits,
+            List<SplitInfo> computedSplitsInfo) throws IOException {
+        SplitInfo splitInfo = remainderSplitInfo;
+        while ((maxSplits <= 0 || computedSplitsInfo.size() < maxSplits)
+                && (splitInfo = this.nextSplit(demarcator, startOffset, this.lineCount, splitInfo, preAccumulatedLength)) != null) {
+            computedSplitsInfo.add(splitInfo);
+            startOffset += splitInfo.length;
         }
     }
 
@@ -291,8 +360,9 @@ public class SplitText extends AbstractProcessor {
      * it signifies the header information and its contents will be included in
      * each and every computed split.
      */
-    private List<FlowFile> generateSplitFlowFiles(String fragmentId, FlowFile sourceFlowFile, SplitInfo splitInfo, List<SplitInfo> computedSplitsInfo, ProcessSession processSession){
-        List<FlowFile> splitFlowFiles = new ArrayList<>();
+    private List<FlowFile> generateSplitFlowFiles(String fragmentId, FlowFile sourceFlowFile, SplitInfo splitInfo, List<SplitInfo> computedSplitsInfo,
+            int firstFragmentIndex, boolean includeFragmentCount, ProcessSession processSession){
+        List<FlowFile> splitFlowFiles = new ArrayList<>(computedSplitsInfo.size());
 
         FlowFile headerFlowFile = null;
         long headerCrlfLength = 0;
@@ -300,20 +370,33 @@ public class SplitText extends AbstractProcessor {
             headerFlowFile = processSession.clone(sourceFlowFile, splitInfo.startOffset, splitInfo.length);
             headerCrlfLength = splitInfo.trimmedLength;
         }
-        int fragmentIndex = 1; // set to 1 to preserve the existing behavior *only*. Perhaps should be deprecated to follow the 0,1,2... scheme
+        int fragmentIndex = firstFragmentIndex; // starts at 1 to preserve the existing behavior *only*. Perhaps should be deprecated to follow the 0,1,2... scheme
+        final String origFileName = sourceFlowFile.getAttribute(CoreAttributes.FILENAME.key());
 
-        if ((computedSplitsInfo.size() == 0) && (headerFlowFile != null)) {
+        if ((computedSplitsInfo.size() == 0) && (headerFlowFile != null) && (firstFragmentIndex == 1)) {
             FlowFile splitFlowFile = processSession.clone(sourceFlowFile, 0, headerFlowFile.getSize() - headerCrlfLength);
             splitFlowFile = this.updateAttributes(processSession, splitFlowFile, 0, splitFlowFile.getSize(),
-                    fragmentId, fragmentIndex++, sourceFlowFile.getAttribute(CoreAttributes.FILENAME.key()));
+                    fragmentId, fragmentIndex++, null, origFileName);
             splitFlowFiles.add(splitFlowFile);
         } else {
-            final Iterator<SplitInfo> itr = computedSplitsInfo.iterator();
-            while (itr.hasNext()) {
-                final SplitInfo computedSplitInfo = itr.next();
-                itr.remove();
+            // Determine the real split count up front (i.e. don't count files for which there will be no clone) so that
+            // all attributes of each split can be added at once rather than revisiting every split once they have all been created
+            String fragmentCount = null;
+            if (includeFragmentCount) {
+                int splitCount = 0;
+                for (final SplitInfo computedSplitInfo : computedSplitsInfo) {
+                    if (headerFlowFile != null || this.getSplitLength(computedSplitInfo) > 0) {
+                        splitCount++;
+                    }
+                }
+                fragmentCount = String.valueOf(splitCount);
+            }
+
+            for (int i = 0; i < computedSplitsInfo.size(); i++) {
+                // release each SplitInfo as soon as it has been used
+                final SplitInfo computedSplitInfo = computedSplitsInfo.set(i, null);
 
-                long length = this.removeTrailingNewLines ? computedSplitInfo.trimmedLength : computedSplitInfo.length;
+                long length = this.getSplitLength(computedSplitInfo);
                 boolean proceedWithClone = headerFlowFile != null || length > 0;
                 if (proceedWithClone) {
                     FlowFile splitFlowFile = null;
@@ -329,21 +412,11 @@ public class SplitText extends AbstractProcessor {
                     }
 
                     splitFlowFile = this.updateAttributes(processSession, splitFlowFile, computedSplitInfo.lineCount, splitFlowFile.getSize(), fragmentId, fragmentIndex++,
-                            sourceFlowFile.getAttribute(CoreAttributes.FILENAME.key()));
+                            fragmentCount, origFileName);
                     splitFlowFiles.add(splitFlowFile);
                 }
             }
-
-            // Update fragment.count with real split count (i.e. don't count files for which there was no clone)
-            final String fragmentCount = String.valueOf(fragmentIndex - 1); // -1 because the index starts at 1 (see above)
-
-            final ListIterator<FlowFile> flowFileItr = splitFlowFiles.listIterator();
-            while (flowFileItr.hasNext()) {
-                FlowFile splitFlowFile = flowFileItr.next();
-
-                final FlowFile updated = processSession.putAttribute(splitFlowFile, FRAGMENT_COUNT, fragmentCount);
-                flowFileItr.set(updated);
-            }
+            computedSplitsInfo.clear();
         }
 
         getLogger().info("Split {} into {} FlowFiles{}", new Object[] {sourceFlowFile, splitFlowFiles.size(), headerFlowFile == null ? " containing headers." : "."});
@@ -354,37 +427,37 @@ public class SplitText extends AbstractProcessor {
         return splitFlowFiles;
     }
 
+    private long getSplitLength(SplitInfo splitInfo) {
+        return this.removeTrailingNewLines ? splitInfo.trimmedLength : splitInfo.length;
+    }
+
     /**
      * Will concatenate the contents of the provided array of {@link FlowFile}s
      * into a single {@link FlowFile}. While this operation is as general as it
      * is described in the previous sentence, in the context of this processor
      * there can only be two {@link FlowFile}s with the first {@link FlowFile}
      * representing the header content of the split and the second
-     * {@link FlowFile} represents the split itself.
+     * {@link FlowFile} represents the split itself. The contents are merged by
+     * the session, which allows the Content Repository to transfer them between
+     * claims directly rather than streaming them through the processor.
      */
     private FlowFile concatenateContents(FlowFile sourceFlowFile, ProcessSession session, FlowFile... flowFiles) {
         FlowFile mergedFlowFile = session.create(sourceFlowFile);
-        for (FlowFile flowFile : flowFiles) {
-            mergedFlowFile = session.append(mergedFlowFile, new OutputStreamCallback() {
-                @Override
-                public void process(OutputStream out) throws IOException {
-                    try (InputStream is = session.read(flowFile)) {
-                        IOUtils.copy(is, out);
-                    }
-                }
-            });
-        }
+        mergedFlowFile = session.merge(Arrays.asList(flowFiles), mergedFlowFile);
         session.remove(flowFiles[1]); // in current usage we always have 2 files
         return mergedFlowFile;
     }
 
     private FlowFile updateAttributes(ProcessSession processSession, FlowFile splitFlowFile, long splitLineCount, long splitFlowFileSize,
-            String splitId, int splitIndex, String origFileName) {
+            String splitId, int splitIndex, String splitCount, String origFileName) {
         Map<String, String> attributes = new HashMap<>();
         attributes.put(SPLIT_LINE_COUNT, String.valueOf(splitLineCount));
         attributes.put(FRAGMENT_SIZE, String.valueOf(splitFlowFile.getSize()));
         attributes.put(FRAGMENT_ID, splitId);
         attributes.put(FRAGMENT_INDEX, String.valueOf(splitIndex));
+        if (splitCount != null) {
+            attributes.put(FRAGMENT_COUNT, splitCount);
+        }
         attributes.put(SEGMENT_ORIGINAL_FILENAME, origFileName);
         return processSession.putAllAttributes(splitFlowFile, attributes);
     }
@@ -499,7 +572,7 @@ public class SplitText extends AbstractProcessor {
      * Container for hosting meta-information pertaining to the split so it can
      * be used later to create {@link FlowFile} representing the split.
      */
-    private class SplitInfo {
+    private static class SplitInfo {
         final long startOffset, length, trimmedLength, lineCount;
         OffsetInfo remaningOffsetInfo;
 
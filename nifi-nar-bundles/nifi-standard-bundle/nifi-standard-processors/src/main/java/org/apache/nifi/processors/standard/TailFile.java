@@ -64,17 +64,28 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -136,6 +147,12 @@ public class TailFile extends AbstractProcessor {
             "Start with the data at the end of the File to Tail. Do not ingest any data thas has already been rolled over or any "
             + "data in the File to Tail that has already been written.");
 
+    static final AllowableValue CHANGE_DETECTION_POLLING = new AllowableValue("Polling", "Polling",
+            "Every tailed file is checked for new data and rollover each time the Processor runs.");
+    static final AllowableValue CHANGE_DETECTION_WATCH_SERVICE = new AllowableValue("Watch Service", "Watch Service",
+            "The directories containing the tailed files are registered with the file system's watch service, and a tailed file is only checked "
+            + "when a change was reported for it, or a file was created in its directory, since it was last checked. All files are checked at every lookup.");
+
     static final PropertyDescriptor BASE_DIRECTORY = new Builder()
             .name("tail-base-directory")
             .displayName("Base directory")
@@ -281,6 +298,29 @@ public class TailFile extends AbstractProcessor {
         .dependsOn(LINE_START_PATTERN)
         .build();
 
+    static final PropertyDescriptor CHANGE_DETECTION = new Builder()
+        .name("tailfile-change-detection")
+        .displayName("Change Detection")
+        .description("Only used in Multiple files mode. Specifies how the processor determines which of the tailed files need to be checked for new data. "
+            + "File systems that do not report changes made by other hosts, such as NFS, only have their files checked at each lookup when using '"
+            + CHANGE_DETECTION_WATCH_SERVICE.getDisplayName() + "'; in that case 'Lookup frequency' bounds the latency.")
+        .required(true)
+        .allowableValues(CHANGE_DETECTION_POLLING, CHANGE_DETECTION_WATCH_SERVICE)
+        .defaultValue(CHANGE_DETECTION_POLLING.getValue())
+        .dependsOn(MODE, MODE_MULTIFILE)
+        .build();
+
+    static final PropertyDescriptor MAX_OPEN_FILES = new Builder()
+        .name("tailfile-max-open-files")
+        .displayName("Maximum Open Files")
+        .description("Only used in Multiple files mode. The maximum number of tailed files to keep open between executions. When exceeded, the files "
+            + "that were read least recently are closed and reopened at their last position the next time they are read. If not set, all tailed files are kept open.")
+        .required(false)
+        .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+        .expressionLanguageSupported(NONE)
+        .dependsOn(MODE, MODE_MULTIFILE)
+        .build();
+
     static final Relationship REL_SUCCESS = new Relationship.Builder()
             .name("success")
             .description("All FlowFiles are routed to this Relationship.")
@@ -295,6 +335,15 @@ public class TailFile extends AbstractProcessor {
     private volatile Pattern lineStartPattern;
     private volatile long maxBufferBytes;
 
+    // Tailed files having an open reader, in order of last access
+    private final Map<String, Boolean> openFiles = new LinkedHashMap<>(16, 0.75f, true);
+
+    private volatile WatchService watchService;
+    private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+    private final Map<Path, String> watchedFiles = new HashMap<>();
+    private final Set<String> changedFiles = new HashSet<>();
+    private volatile boolean checkAllFiles = true;
+
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>();
@@ -308,6 +357,8 @@ public class TailFile extends AbstractProcessor {
         properties.add(RECURSIVE);
         properties.add(LOOKUP_FREQUENCY);
         properties.add(MAXIMUM_AGE);
+        properties.add(CHANGE_DETECTION);
+        properties.add(MAX_OPEN_FILES);
         properties.add(REREAD_ON_NUL);
         properties.add(LINE_START_PATTERN);
         properties.add(MAX_BUFFER_LENGTH);
@@ -388,6 +439,7 @@ public class TailFile extends AbstractProcessor {
     public void recoverState(final ProcessContext context) throws IOException {
         // set isMultiChanging
         isMultiChanging.set(context.getProperty(MODE).getValue().equals(MODE_MULTIFILE.getValue()));
+        checkAllFiles = true;
 
         List<String> filesToTail = lookup(context);
 
@@ -480,6 +532,7 @@ public class TailFile extends AbstractProcessor {
     private void recoverState(final ProcessContext context, final List<String> filesToTail, final Map<String, String> map) throws IOException {
         for (String file : filesToTail) {
             recoverState(context, map, file);
+            updateOpenFiles(context, file);
         }
     }
 
@@ -626,17 +679,32 @@ public class TailFile extends AbstractProcessor {
 
     @OnStopped
     public void cleanup(final ProcessContext context) {
+        final Map<String, String> stateUpdates = new HashMap<>();
+        cleanup(stateUpdates);
+        persistState(stateUpdates, null, context);
+    }
+
+    /**
+     * Closes the readers of all tailed files and adds the resulting state of each file to the given state updates.
+     */
+    private void cleanup(final Map<String, String> stateUpdates) {
         for (TailFileObject tfo : states.values()) {
             cleanReader(tfo);
             final TailFileState state = tfo.getState();
             tfo.setState(new TailFileState(state.getFilename(), state.getFile(), null, state.getPosition() - linesBuffer.size(),
                 state.getTimestamp(), state.getLength(), state.getChecksum(), state.getBuffer(), state.isTailingPostRollover()));
-            persistState(tfo, null, context);
+            addStateUpdates(tfo, stateUpdates);
         }
 
         linesBuffer.reset();
     }
 
+    @OnStopped
+    public void stopChangeDetection() {
+        closeWatchService();
+        openFiles.clear();
+    }
+
     private void cleanReader(TailFileObject tfo) {
         if (tfo.getState() == null) {
             return;
@@ -665,6 +733,7 @@ public class TailFile extends AbstractProcessor {
                     final Scope scope = getStateScope(context);
                     final StateMap stateMap = session.getState(scope);
                     initStates(filesToTail, stateMap.toMap(), false, context.getProperty(START_POSITION).getValue());
+                    checkAllFiles = true;
                 } catch (IOException e) {
                     getLogger().error("Exception raised while attempting to recover state about where the tailing last left off", e);
                     context.yield();
@@ -690,24 +759,44 @@ public class TailFile extends AbstractProcessor {
             return;
         }
 
-        for (final String tailFile : states.keySet()) {
-            try {
-                processTailFile(context, session, tailFile);
-            } catch (NulCharacterEncounteredException e) {
-                getLogger().warn("NUL character encountered in " + tailFile + " and '" + REREAD_ON_NUL.getDisplayName() + "' is set to 'true', yielding.");
-                context.yield();
-                return;
-            }
+        final List<String> filesToProcess = getFilesToProcess(context);
+        if (filesToProcess.isEmpty()) {
+            getLogger().debug("No change detected in any of the tailed files");
+            context.yield();
+            return;
         }
 
-        // If a Line Start Pattern is being used and data is buffered, the Position that has been stored in the state will
-        // not be accurate. To address this, we call cleanup(), which will handle updating the state to the correct values for us.
-        if (lineStartPattern != null && linesBuffer.size() > 0) {
-            cleanup(context);
+        // Every file's state changes are stored with a single state update once all files have been processed
+        final Map<String, String> stateUpdates = new HashMap<>();
+        try {
+            for (final String tailFile : filesToProcess) {
+                changedFiles.remove(tailFile);
+                try {
+                    processTailFile(context, session, tailFile, stateUpdates);
+                } catch (NulCharacterEncounteredException e) {
+                    markChanged(tailFile);
+                    getLogger().warn("NUL character encountered in " + tailFile + " and '" + REREAD_ON_NUL.getDisplayName() + "' is set to 'true', yielding.");
+                    context.yield();
+                    return;
+                } catch (final RuntimeException e) {
+                    markChanged(tailFile);
+                    throw e;
+                }
+
+                updateOpenFiles(context, tailFile);
+            }
+
+            // If a Line Start Pattern is being used and data is buffered, the Position that has been stored in the state will
+            // not be accurate. To address this, we call cleanup(), which will handle updating the state to the correct values for us.
+            if (lineStartPattern != null && linesBuffer.size() > 0) {
+                cleanup(stateUpdates);
+            }
+        } finally {
+            persistState(stateUpdates, session, context);
         }
     }
 
-    private void processTailFile(final ProcessContext context, final ProcessSession session, final String tailFile) {
+    private void processTailFile(final ProcessContext context, final ProcessSession session, final String tailFile, final Map<String, String> stateUpdates) {
         // If user changes the file that is being tailed, we need to consume the already-rolled-over data according
         // to the Initial Start Position property
         boolean rolloverOccurred;
@@ -718,9 +807,9 @@ public class TailFile extends AbstractProcessor {
             final String recoverPosition = context.getProperty(START_POSITION).getValue();
 
             if (START_BEGINNING_OF_TIME.getValue().equals(recoverPosition)) {
-                recoverRolledFiles(context, session, tailFile, tfo.getExpectedRecoveryChecksum(), tfo.getState().getTimestamp(), tfo.getState().getPosition());
+                recoverRolledFiles(context, session, tailFile, tfo.getExpectedRecoveryChecksum(), tfo.getState().getTimestamp(), tfo.getState().getPosition(), stateUpdates);
             } else if (START_CURRENT_FILE.getValue().equals(recoverPosition)) {
-                cleanup(context);
+                cleanup(stateUpdates);
                 tfo.setState(new TailFileState(tailFile, null, null, 0L, 0L, 0L, null, tfo.getState().getBuffer()));
             } else {
                 final String filename = tailFile;
@@ -740,7 +829,7 @@ public class TailFile extends AbstractProcessor {
                     }
 
                     fileChannel.position(position);
-                    cleanup(context);
+                    cleanup(stateUpdates);
                     tfo.setState(new TailFileState(filename, file, fileChannel, position, timestamp, file.length(), checksum, tfo.getState().getBuffer()));
                 } catch (final IOException ioe) {
                     getLogger().error("Attempted to position Reader at current position in file {} but failed to do so due to {}", new Object[]{file, ioe.toString()}, ioe);
@@ -761,7 +850,8 @@ public class TailFile extends AbstractProcessor {
                 expectedChecksumValue = tfo.getState().getChecksum() == null ? null : tfo.getState().getChecksum().getValue();
             }
 
-            rolloverOccurred = recoverRolledFiles(context, session, tailFile, expectedChecksumValue, tfo.getState().getTimestamp(), tfo.getState().getPosition());
+            rolloverOccurred = recoverRolledFiles(context, session, tailFile, expectedChecksumValue, tfo.getState().getTimestamp(), tfo.getState().getPosition(),
+                stateUpdates);
             if (rolloverOccurred) {
                 final boolean tailAfterRollover = context.getProperty(POST_ROLLOVER_TAIL_PERIOD).asTimePeriod(TimeUnit.MILLISECONDS) > 0;
                 if (tailAfterRollover) {
@@ -787,6 +877,7 @@ public class TailFile extends AbstractProcessor {
         long length = state.getLength();
 
         // Create a reader if necessary.
+        boolean replacedWhileClosed = false;
         if (file == null || reader == null) {
             file = new File(tailFile);
             reader = createReader(file, position);
@@ -794,6 +885,13 @@ public class TailFile extends AbstractProcessor {
                 context.yield();
                 return;
             }
+
+            // If the reader was closed to limit the number of open files, make sure that the file was not replaced in the meantime.
+            final Object closedFileKey = tfo.getClosedFileKey();
+            if (closedFileKey != null) {
+                replacedWhileClosed = !closedFileKey.equals(getFileKey(file));
+                tfo.setClosedFileKey(null);
+            }
         }
 
         final long startNanos = System.nanoTime();
@@ -811,6 +909,10 @@ public class TailFile extends AbstractProcessor {
         //    both have the same name but are different files. As a result, once we have consumed all data from the File Channel,
         //    we want to roll over and consume data from the new file.
         boolean rotated = rolloverOccurred;
+        if (replacedWhileClosed) {
+            getLogger().debug("Rotated = true because {} was replaced while its reader was closed", file);
+            rotated = true;
+        }
         if (!rotated) {
             final long fileLength = file.length();
             if (length > fileLength) {
@@ -850,7 +952,7 @@ public class TailFile extends AbstractProcessor {
             // no data to consume so rather than continually running, yield to allow other processors to use the thread.
             getLogger().debug("No data to consume; created no FlowFiles");
             tfo.setState(new TailFileState(tailFile, file, reader, position, timestamp, length, checksum, state.getBuffer()));
-            persistState(tfo, session, context);
+            addStateUpdates(tfo, stateUpdates);
             context.yield();
             return;
         }
@@ -920,7 +1022,7 @@ public class TailFile extends AbstractProcessor {
         // Create a new state object to represent our current position, timestamp, etc.
         tfo.setState(new TailFileState(tailFile, file, reader, position, timestamp, length, checksum, state.getBuffer()));
 
-        persistState(tfo, session, context);
+        addStateUpdates(tfo, stateUpdates);
 
         if (abort.get() != null) {
             final long newPosition = positionHolder.get();
@@ -1163,11 +1265,15 @@ public class TailFile extends AbstractProcessor {
         return Scope.LOCAL;
     }
 
-    private void persistState(final TailFileObject tfo, final ProcessSession session, final ProcessContext context) {
-        persistState(tfo.getState().toStateMap(tfo.getFilenameIndex()), session, context);
+    private void addStateUpdates(final TailFileObject tfo, final Map<String, String> stateUpdates) {
+        stateUpdates.putAll(tfo.getState().toStateMap(tfo.getFilenameIndex()));
     }
 
     private void persistState(final Map<String, String> state, final ProcessSession session, final ProcessContext context) {
+        if (state.isEmpty()) {
+            return;
+        }
+
         try {
             final Scope scope = getStateScope(context);
             final StateMap oldState = session == null ? context.getStateManager().getState(scope) : session.getState(scope);
@@ -1187,6 +1293,10 @@ public class TailFile extends AbstractProcessor {
             }
 
             updatedState.putAll(state);
+            if (updatedState.equals(oldState.toMap())) {
+                getLogger().trace("State has not changed; will not update it");
+                return;
+            }
 
             if (session == null) {
                 context.getStateManager().setState(updatedState, scope);
@@ -1198,6 +1308,216 @@ public class TailFile extends AbstractProcessor {
         }
     }
 
+    /**
+     * Keeps track of the tailed files having an open reader, and closes the readers of the least recently read files
+     * once there are more than the configured Maximum Open Files.
+     */
+    private void updateOpenFiles(final ProcessContext context, final String tailFile) {
+        final Integer maxOpenFiles = context.getProperty(MAX_OPEN_FILES).asInteger();
+        if (maxOpenFiles == null || !isMultiChanging.get()) {
+            return;
+        }
+
+        final TailFileObject tfo = states.get(tailFile);
+        if (tfo == null || tfo.getState() == null || tfo.getState().getReader() == null) {
+            openFiles.remove(tailFile);
+            return;
+        }
+
+        openFiles.put(tailFile, Boolean.TRUE);
+
+        final Iterator<String> leastRecentlyRead = openFiles.keySet().iterator();
+        while (openFiles.size() > maxOpenFiles && leastRecentlyRead.hasNext()) {
+            final String openFile = leastRecentlyRead.next();
+            if (openFile.equals(tailFile)) {
+                continue;
+            }
+
+            final TailFileObject openTfo = states.get(openFile);
+            if (openTfo == null || openTfo.getState() == null || openTfo.getState().getReader() == null) {
+                leastRecentlyRead.remove();
+            } else if (closeIdleReader(openTfo)) {
+                leastRecentlyRead.remove();
+            }
+        }
+    }
+
+    /**
+     * Closes the reader of a tailed file, keeping its position so that it is reopened where it left off.
+     *
+     * @return <code>false</code> if the file has changed since it was last read, in which case the reader is kept open
+     * so that rollover can still be detected when the file is next read
+     */
+    private boolean closeIdleReader(final TailFileObject tfo) {
+        final TailFileState state = tfo.getState();
+        final File file = state.getFile();
+        final FileChannel reader = state.getReader();
+        if (file == null) {
+            return false;
+        }
+        if (!reader.isOpen()) {
+            return true;
+        }
+
+        try {
+            if (reader.size() != file.length()) {
+                return false;
+            }
+        } catch (final IOException e) {
+            getLogger().debug("Failed to determine the size of the File Channel for {}; will keep it open", file, e);
+            return false;
+        }
+
+        cleanReader(tfo);
+        tfo.setClosedFileKey(getFileKey(file));
+        tfo.setState(new TailFileState(state.getFilename(), file, null, state.getPosition(), state.getTimestamp(), state.getLength(),
+            state.getChecksum(), state.getBuffer(), state.isTailingPostRollover()));
+        return true;
+    }
+
+    private Object getFileKey(final File file) {
+        try {
+            return Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Determines which of the tailed files need to be processed. With the Watch Service change detection, these are the files for which a
+     * change was reported since they were last processed, files whose state needs to be settled (e.g., after recovery or while tailing a
+     * rolled over file), and all files after each lookup.
+     */
+    private List<String> getFilesToProcess(final ProcessContext context) {
+        final boolean watchChanges = isMultiChanging.get()
+            && CHANGE_DETECTION_WATCH_SERVICE.getValue().equals(context.getProperty(CHANGE_DETECTION).getValue());
+        if (!watchChanges) {
+            closeWatchService();
+            return new ArrayList<>(states.keySet());
+        }
+
+        if (watchService == null) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+            } catch (final IOException e) {
+                getLogger().warn("Failed to create Watch Service; will check all tailed files", e);
+                return new ArrayList<>(states.keySet());
+            }
+            checkAllFiles = true;
+        }
+
+        if (checkAllFiles) {
+            registerDirectories();
+            changedFiles.addAll(states.keySet());
+            checkAllFiles = false;
+        }
+
+        pollChanges();
+        changedFiles.retainAll(states.keySet());
+
+        final List<String> filesToProcess = new ArrayList<>();
+        for (final Map.Entry<String, TailFileObject> entry : states.entrySet()) {
+            final TailFileObject tfo = entry.getValue();
+            if (changedFiles.contains(entry.getKey()) || tfo.isTailFileChanged() || tfo.getExpectedRecoveryChecksum() != null
+                    || (tfo.getState() != null && tfo.getState().isTailingPostRollover())) {
+                filesToProcess.add(entry.getKey());
+            }
+        }
+        return filesToProcess;
+    }
+
+    private void registerDirectories() {
+        watchedFiles.clear();
+        final Set<Path> directories = new HashSet<>();
+        for (final String tailFile : states.keySet()) {
+            final Path path = Paths.get(tailFile).toAbsolutePath();
+            watchedFiles.put(path, tailFile);
+            directories.add(path.getParent());
+        }
+
+        final Iterator<Map.Entry<Path, WatchKey>> registered = watchKeys.entrySet().iterator();
+        while (registered.hasNext()) {
+            final Map.Entry<Path, WatchKey> entry = registered.next();
+            if (!directories.contains(entry.getKey())) {
+                entry.getValue().cancel();
+                registered.remove();
+            }
+        }
+
+        for (final Path directory : directories) {
+            if (watchKeys.containsKey(directory)) {
+                continue;
+            }
+
+            try {
+                final WatchKey key = directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watchKeys.put(directory, key);
+            } catch (final IOException e) {
+                getLogger().warn("Failed to watch directory {} for changes; files in it will only be checked at each lookup", directory, e);
+            }
+        }
+    }
+
+    private void pollChanges() {
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            final Path directory = (Path) key.watchable();
+            for (final WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    getLogger().debug("Change events were lost for {}; will check all tailed files in it", directory);
+                    markDirectoryChanged(directory);
+                    continue;
+                }
+
+                final String tailFile = watchedFiles.get(directory.resolve((Path) event.context()));
+                if (tailFile != null) {
+                    changedFiles.add(tailFile);
+                } else if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    // Another file was created in the directory, such as a rolled over file.
+                    markDirectoryChanged(directory);
+                }
+            }
+
+            if (!key.reset()) {
+                watchKeys.remove(directory);
+                markDirectoryChanged(directory);
+            }
+        }
+    }
+
+    private void markDirectoryChanged(final Path directory) {
+        for (final Map.Entry<Path, String> entry : watchedFiles.entrySet()) {
+            if (Objects.equals(directory, entry.getKey().getParent())) {
+                changedFiles.add(entry.getValue());
+            }
+        }
+    }
+
+    private void markChanged(final String tailFile) {
+        if (watchService != null) {
+            changedFiles.add(tailFile);
+        }
+    }
+
+    private void closeWatchService() {
+        if (watchService == null) {
+            return;
+        }
+
+        try {
+            watchService.close();
+        } catch (final IOException e) {
+            getLogger().warn("Failed to close Watch Service", e);
+        }
+
+        watchService = null;
+        watchKeys.clear();
+        watchedFiles.clear();
+        changedFiles.clear();
+        checkAllFiles = true;
+    }
+
     private FileChannel createReader(final File file, final long position) {
         final FileChannel reader;
 
@@ -1250,18 +1570,21 @@ public class TailFile extends AbstractProcessor {
      * ingested.
      * @param position the byte offset in the file being tailed, where tailing
      * last left off.
+     * @param stateUpdates the state changes to store once all files have been
+     * processed.
      *
      * @return <code>true</code> if the file being tailed has rolled over,
      * <code>false</code> otherwise
      */
-    private boolean recoverRolledFiles(final ProcessContext context, final ProcessSession session, final String tailFile, final Long expectedChecksum, final long timestamp, final long position) {
+    private boolean recoverRolledFiles(final ProcessContext context, final ProcessSession session, final String tailFile, final Long expectedChecksum, final long timestamp, final long position,
+            final Map<String, String> stateUpdates) {
         try {
             // Find all files that match our rollover pattern, if any, and order them based on their timestamp and filename.
             // Ignore any file that has a timestamp earlier than the state that we have persisted. If we were reading from
             // a file when we stopped running, then that file that we were reading from should be the first file in this list,
             // assuming that the file still exists on the file system.
             final List<File> rolledOffFiles = getRolledOffFiles(context, timestamp, tailFile);
-            return recoverRolledFiles(context, session, tailFile, rolledOffFiles, expectedChecksum, position);
+            return recoverRolledFiles(context, session, tailFile, rolledOffFiles, expectedChecksum, position, stateUpdates);
         } catch (final IOException e) {
             getLogger().error("Failed to recover files that have rolled over due to {}", new Object[]{e});
             return false;
@@ -1283,12 +1606,14 @@ public class TailFile extends AbstractProcessor {
      * oldest file from offset 0 through &lt;position&gt;.
      * @param position the byte offset in the file being tailed, where tailing
      * last left off.
+     * @param stateUpdates the state changes to store once all files have been
+     * processed.
      *
      * @return <code>true</code> if the file being tailed has rolled over, false
      * otherwise
      */
     private boolean recoverRolledFiles(final ProcessContext context, final ProcessSession session, final String tailFile, final List<File> rolledOffFiles, final Long expectedChecksum,
-            final long position) {
+            final long position, final Map<String, String> stateUpdates) {
         try {
             getLogger().debug("Recovering Rolled Off Files; total number of files rolled off = {}", new Object[]{rolledOffFiles.size()});
             TailFileObject tfo = states.get(tailFile);
@@ -1323,11 +1648,11 @@ public class TailFile extends AbstractProcessor {
                     // User has configured to continue tailing file after it has been rolled over, until it's no longer being modified.
                     // Consume any newly added lines from the rolled over file, but do not consume the last line, if it doesn't have a newline.
                     // Keep the state indicating that we are currently tailing a file post-rollover.
-                    consumed = tailRolledFile(context, session, tailFile, expectedChecksum, position, tfo, firstFile, false, true);
+                    consumed = tailRolledFile(context, session, tailFile, expectedChecksum, position, tfo, firstFile, false, true, stateUpdates);
                 } else {
                     // User has not configured to continue tailing file after it has been rolled over. If any data was written to the rolled file before
                     // rolling it over, consume that data, up to the end of the file, including the last line, even if it doesn't have a newline.
-                    consumed = tailRolledFile(context, session, tailFile, expectedChecksum, position, tfo, firstFile, true, false);
+                    consumed = tailRolledFile(context, session, tailFile, expectedChecksum, position, tfo, firstFile, true, false, stateUpdates);
                 }
 
                 if (consumed) {
@@ -1352,7 +1677,7 @@ public class TailFile extends AbstractProcessor {
 
                 // The file has been rolled over and is no longer being written to. Consume all the way to the end of the file, including the last line,
                 // even if it does not have a newline after it.
-                final boolean consumed = tailRolledFile(context, session, tailFile, expectedChecksum, position, tfo, newestFile, true, false);
+                final boolean consumed = tailRolledFile(context, session, tailFile, expectedChecksum, position, tfo, newestFile, true, false, stateUpdates);
                 if (consumed) {
                     getLogger().debug("Consumed the final data from {}", newestFile);
                     rolledOffFiles.remove(newestFile);
@@ -1366,7 +1691,7 @@ public class TailFile extends AbstractProcessor {
             // we were reading when we last stopped, as it may already have been partially consumed. That is taken care of in the
             // above block of code.
             for (final File file : rolledOffFiles) {
-                tfo.setState(consumeFileFully(file, context, session, tfo));
+                tfo.setState(consumeFileFully(file, context, session, tfo, stateUpdates));
             }
 
             return rolloverOccurred;
@@ -1377,7 +1702,8 @@ public class TailFile extends AbstractProcessor {
     }
 
     private boolean tailRolledFile(final ProcessContext context, final ProcessSession session, final String tailFile, final Long expectedChecksum,
-                                final long position, final TailFileObject tfo, final File fileToTail, final boolean readFully, final boolean tailingPostRollover) throws IOException {
+                                final long position, final TailFileObject tfo, final File fileToTail, final boolean readFully, final boolean tailingPostRollover,
+                                final Map<String, String> stateUpdates) throws IOException {
 
         final Boolean reReadOnNul = context.getProperty(REREAD_ON_NUL).asBoolean();
         final long startNanos = System.nanoTime();
@@ -1461,11 +1787,11 @@ public class TailFile extends AbstractProcessor {
 
                 // use a timestamp of lastModified() + 1 so that we do not ingest this file again.
                 getLogger().debug("Completed tailing of file {}; will cleanup state", tailFile);
-                cleanup(context);
+                cleanup(stateUpdates);
                 tfo.setState(new TailFileState(tailFile, null, null, 0L, fileToTail.lastModified() + 1L, fileToTail.length(), null, tfo.getState().getBuffer(), tailingPostRollover));
             }
 
-            persistState(tfo, session, context);
+            addStateUpdates(tfo, stateUpdates);
             return true;
         }
     }
@@ -1479,11 +1805,13 @@ public class TailFile extends AbstractProcessor {
      * @param context the ProcessContext
      * @param session the ProcessSession
      * @param tfo the current state
+     * @param stateUpdates the state changes to store once all files have been processed
      *
      * @return the new, updated state that reflects that the given file has been
      * ingested.
      */
-    private TailFileState consumeFileFully(final File file, final ProcessContext context, final ProcessSession session, TailFileObject tfo) throws IOException {
+    private TailFileState consumeFileFully(final File file, final ProcessContext context, final ProcessSession session, TailFileObject tfo,
+            final Map<String, String> stateUpdates) throws IOException {
         FlowFile flowFile = session.create();
 
         try (final InputStream fis = new FileInputStream(file)) {
@@ -1506,11 +1834,11 @@ public class TailFile extends AbstractProcessor {
             getLogger().debug("Created {} from {} and routed to success", new Object[]{flowFile, file});
 
             // use a timestamp of lastModified() + 1 so that we do not ingest this file again.
-            cleanup(context);
+            cleanup(stateUpdates);
             tfo.setState(new TailFileState(context.getProperty(FILENAME).evaluateAttributeExpressions().getValue(), null, null, 0L, file.lastModified() + 1L, file.length(), null,
                     tfo.getState().getBuffer()));
 
-            persistState(tfo, session, context);
+            addStateUpdates(tfo, stateUpdates);
         }
 
         return tfo.getState();
@@ -1526,6 +1854,7 @@ public class TailFile extends AbstractProcessor {
         private Long expectedRecoveryChecksum;
         private int filenameIndex;
         private boolean tailFileChanged = true;
+        private Object closedFileKey;
 
         public TailFileObject(final int index, final TailFileState fileState) {
             this.filenameIndex = index;
@@ -1572,6 +1901,14 @@ public class TailFile extends AbstractProcessor {
             this.tailFileChanged = tailFileChanged;
         }
 
+        public Object getClosedFileKey() {
+            return closedFileKey;
+        }
+
+        public void setClosedFileKey(Object closedFileKey) {
+            this.closedFileKey = closedFileKey;
+        }
+
     }
 
     /**
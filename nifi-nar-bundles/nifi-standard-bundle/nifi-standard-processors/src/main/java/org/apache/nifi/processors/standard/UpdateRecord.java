@@ -38,6 +38,7 @@ import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.RecordPathAccessor;
 import org.apache.nifi.record.path.RecordPathResult;
 import org.apache.nifi.record.path.util.RecordPathCache;
 import org.apache.nifi.record.path.validation.RecordPathPropertyNameValidator;
@@ -55,6 +56,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -155,9 +157,9 @@ public class UpdateRecord extends AbstractRecordProcessor {
 
         for (final String recordPathText : recordPaths) {
             final RecordPath recordPath = recordPathCache.getCompiled(recordPathText);
-            final RecordPathResult result = recordPath.evaluate(record);
 
             if (evaluateValueAsRecordPath) {
+                final RecordPathResult result = recordPath.evaluate(record);
                 final String replacementValue = context.getProperty(recordPathText).evaluateAttributeExpressions(flowFile).getValue();
                 final RecordPath replacementRecordPath = recordPathCache.getCompiled(replacementValue);
 
@@ -172,6 +174,7 @@ public class UpdateRecord extends AbstractRecordProcessor {
                 final PropertyValue replacementValue = context.getProperty(recordPathText);
 
                 if (replacementValue.isExpressionLanguagePresent()) {
+                    final RecordPathResult result = recordPath.evaluate(record);
                     final Map<String, String> fieldVariables = new HashMap<>();
 
                     result.getSelectedFields().forEach(fieldVal -> {
@@ -186,7 +189,17 @@ public class UpdateRecord extends AbstractRecordProcessor {
                     });
                 } else {
                     final String evaluatedReplacementVal = replacementValue.evaluateAttributeExpressions(flowFile).getValue();
-                    result.getSelectedFields().forEach(fieldVal -> fieldVal.updateValue(evaluatedReplacementVal, RecordFieldType.STRING.getDataType()));
+
+                    // A simple RecordPath selects at most one field, which can be updated without evaluating the RecordPath in full
+                    final Optional<RecordPathAccessor> accessor = recordPathCache.getAccessor(recordPathText);
+                    if (accessor.isPresent()) {
+                        final FieldValue fieldValue = accessor.get().getFieldValue(record);
+                        if (fieldValue != null) {
+                            fieldValue.updateValue(evaluatedReplacementVal, RecordFieldType.STRING.getDataType());
+                        }
+                    } else {
+                        recordPath.evaluate(record).getSelectedFields().forEach(fieldVal -> fieldVal.updateValue(evaluatedReplacementVal, RecordFieldType.STRING.getDataType()));
+                    }
                 }
             }
         }
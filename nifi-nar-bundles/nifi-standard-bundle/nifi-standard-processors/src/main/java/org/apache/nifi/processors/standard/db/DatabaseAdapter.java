@@ -16,7 +16,10 @@
  */
 package org.apache.nifi.processors.standard.db;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -116,6 +119,33 @@ public interface DatabaseAdapter {
         throw new UnsupportedOperationException("UPSERT is not supported for " + getName());
     }
 
+    /**
+     * Tells whether this adapter supports loading rows through the bulk load mechanism of the database.
+     *
+     * @return true if bulk loading is supported, false otherwise
+     */
+    default boolean supportsBulkLoad() {
+        return false;
+    }
+
+    /**
+     * Loads rows into a table using the bulk load mechanism of the database, such as COPY for PostgreSQL, which is typically much faster
+     * than executing an INSERT statement per row. The rows are consumed from the iterator while they are being loaded, so they need not
+     * all be held in memory. The rows are loaded as part of the current transaction of the connection.
+     * <br /><br />
+     * There is no standard way of doing this so not all adapters support it - use together with {@link #supportsBulkLoad()}!
+     *
+     * @param connection  The connection to load the rows through.
+     * @param table       The name of the table to load the rows into.
+     * @param columnNames The names of the columns to load values into.
+     * @param rows        The rows to load, each containing the values of the columns in the order of the provided column list.
+     * @return            The number of rows that were loaded.
+     * @throws SQLException if the rows could not be loaded
+     */
+    default long bulkLoad(Connection connection, String table, List<String> columnNames, Iterator<Object[]> rows) throws SQLException {
+        throw new UnsupportedOperationException("Bulk load is not supported for " + getName());
+    }
+
     /**
      * <p>Returns a bare identifier string by removing wrapping escape characters
      * from identifier strings such as table and column names.</p>
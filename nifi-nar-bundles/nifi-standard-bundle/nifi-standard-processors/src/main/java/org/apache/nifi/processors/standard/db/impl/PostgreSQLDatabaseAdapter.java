@@ -18,11 +18,21 @@ package org.apache.nifi.processors.standard.db.impl;
 
 import org.apache.nifi.util.StringUtils;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class PostgreSQLDatabaseAdapter extends GenericDatabaseAdapter {
+    private static final String PG_CONNECTION_CLASS = "org.postgresql.PGConnection";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     @Override
     public String getName() {
         return "PostgreSQL";
@@ -115,5 +125,165 @@ public class PostgreSQLDatabaseAdapter extends GenericDatabaseAdapter {
         return statementStringBuilder.toString();
     }
 
+    @Override
+    public boolean supportsBulkLoad() {
+        return true;
+    }
+
+    @Override
+    public long bulkLoad(final Connection connection, final String table, final List<String> columnNames, final Iterator<Object[]> rows) throws SQLException {
+        if (StringUtils.isEmpty(table)) {
+            throw new IllegalArgumentException("Table name cannot be null or blank");
+        }
+        if (columnNames == null || columnNames.isEmpty()) {
+            throw new IllegalArgumentException("Column names cannot be null or empty");
+        }
+
+        final String copyStatement = "COPY " + table + " (" + String.join(", ", columnNames) + ") FROM STDIN WITH (FORMAT csv)";
+        final Object copyManager = getCopyManager(connection);
+        try (final Reader reader = new CopyInReader(rows)) {
+            return (Long) copyManager.getClass().getMethod("copyIn", String.class, Reader.class).invoke(copyManager, copyStatement, reader);
+        } catch (final InvocationTargetException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException("Failed to copy rows into " + table, cause);
+        } catch (final ReflectiveOperationException | IOException e) {
+            throw new SQLException("Failed to copy rows into " + table, e);
+        }
+    }
+
+    /**
+     * The PostgreSQL driver is not a dependency of this bundle, so its CopyManager is obtained reflectively from the class loader
+     * that provided the connection, which is the one that has the driver available.
+     */
+    private Object getCopyManager(final Connection connection) throws SQLException {
+        final Class<?> pgConnectionClass = getPgConnectionClass(connection);
+        try {
+            final Object pgConnection = connection.unwrap(pgConnectionClass);
+            return pgConnectionClass.getMethod("getCopyAPI").invoke(pgConnection);
+        } catch (final ReflectiveOperationException e) {
+            throw new SQLFeatureNotSupportedException("Unable to obtain the CopyManager of the PostgreSQL connection", e);
+        }
+    }
+
+    private Class<?> getPgConnectionClass(final Connection connection) throws SQLException {
+        final ClassLoader[] classLoaders = {connection.getClass().getClassLoader(), Thread.currentThread().getContextClassLoader()};
+        for (final ClassLoader classLoader : classLoaders) {
+            if (classLoader == null) {
+                continue;
+            }
+
+            try {
+                return Class.forName(PG_CONNECTION_CLASS, false, classLoader);
+            } catch (final ClassNotFoundException ignored) {
+                // Try the next class loader
+            }
+        }
+
+        throw new SQLFeatureNotSupportedException("Bulk load requires the PostgreSQL JDBC driver but " + PG_CONNECTION_CLASS + " could not be found");
+    }
+
+    /**
+     * Presents rows as the CSV text expected by COPY ... FROM STDIN WITH (FORMAT csv), formatting each row only when it is read.
+     * Every non-null value is quoted, so that an empty string is distinguished from an unquoted empty value, which denotes null.
+     */
+    static class CopyInReader extends Reader {
+        private final Iterator<Object[]> rows;
+        private final StringBuilder line = new StringBuilder();
+        private int position = 0;
+
+        CopyInReader(final Iterator<Object[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+
+            while (position >= line.length()) {
+                if (!rows.hasNext()) {
+                    return -1;
+                }
+
+                line.setLength(0);
+                position = 0;
+                appendRow(rows.next());
+            }
+
+            final int count = Math.min(length, line.length() - position);
+            line.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        private void appendRow(final Object[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+
+                final Object value = values[i];
+                if (value != null) {
+                    appendQuoted(format(value));
+                }
+            }
 
+            line.append('\n');
+        }
+
+        private void appendQuoted(final String text) {
+            line.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                final char c = text.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        private static String format(final Object value) {
+            if (value instanceof byte[]) {
+                // bytea hex format
+                final byte[] bytes = (byte[]) value;
+                final StringBuilder hex = new StringBuilder(2 + bytes.length * 2).append("\\x");
+                for (final byte b : bytes) {
+                    hex.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+                }
+                return hex.toString();
+            }
+
+            if (value instanceof Object[]) {
+                // array literal, such as {"a","b",NULL}
+                final Object[] elements = (Object[]) value;
+                final StringBuilder array = new StringBuilder("{");
+                for (int i = 0; i < elements.length; i++) {
+                    if (i > 0) {
+                        array.append(',');
+                    }
+
+                    if (elements[i] == null) {
+                        array.append("NULL");
+                    } else {
+                        array.append('"').append(format(elements[i]).replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+                    }
+                }
+                return array.append('}').toString();
+            }
+
+            return value.toString();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
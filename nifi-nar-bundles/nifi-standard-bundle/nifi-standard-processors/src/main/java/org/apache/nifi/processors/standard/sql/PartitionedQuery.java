@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.sql;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits a SQL select query into ranges of a numeric, date or timestamp column so that the ranges can be fetched concurrently.
+ * The original query is wrapped as a sub-query, first to determine the minimum and maximum values of the partition column, and then
+ * once per range with a WHERE clause that selects only the rows of that range. The ranges are half-open and share their boundaries,
+ * so every row, including those whose partition column is null, is selected by exactly one range.
+ */
+public class PartitionedQuery {
+
+    private final String query;
+    private final String partitionColumn;
+    private final String aliasClause;
+    private final int parameterOffset;
+
+    /**
+     * @param query the query to partition
+     * @param partitionColumn the name of the column, as it appears in the results of the query, whose values the ranges are based on
+     * @param aliasClause the clause used to alias the wrapped query, such as <code>AS partitioned_query</code>
+     * @param parameterOffset the number of parameters that the query itself declares; range boundaries are bound after these
+     */
+    public PartitionedQuery(final String query, final String partitionColumn, final String aliasClause, final int parameterOffset) {
+        this.query = query;
+        this.partitionColumn = partitionColumn;
+        this.aliasClause = aliasClause;
+        this.parameterOffset = parameterOffset;
+    }
+
+    /**
+     * @return a query whose single row contains the minimum and maximum values of the partition column
+     */
+    public String getBoundsQuery() {
+        return "SELECT MIN(" + partitionColumn + "), MAX(" + partitionColumn + ") FROM (" + query + ") " + aliasClause;
+    }
+
+    /**
+     * Determines the ranges to fetch from the results of the bounds query.
+     *
+     * @param boundsResultSet the results of executing {@link #getBoundsQuery()}
+     * @param partitionCount the desired number of ranges
+     * @return the ranges, of which there are fewer than requested if the partition column has fewer distinct values than requested
+     * @throws SQLException if the bounds cannot be read, or if the partition column is not a numeric, date or timestamp column
+     */
+    public List<Range> getRanges(final ResultSet boundsResultSet, final int partitionCount) throws SQLException {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Number of partitions must be positive but was " + partitionCount);
+        }
+        if (!boundsResultSet.next()) {
+            return Collections.singletonList(new Range(null, null, Types.NULL));
+        }
+
+        final int sqlType = boundsResultSet.getMetaData().getColumnType(1);
+        final List<?> boundaries;
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT: {
+                final BigDecimal min = boundsResultSet.getBigDecimal(1);
+                final BigDecimal max = boundsResultSet.getBigDecimal(2);
+                boundaries = (min == null || max == null) ? Collections.emptyList() : getBoundaries(min.toBigInteger().longValue(), max.toBigInteger().longValue(), partitionCount);
+                break;
+            }
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE: {
+                final BigDecimal min = boundsResultSet.getBigDecimal(1);
+                final BigDecimal max = boundsResultSet.getBigDecimal(2);
+                boundaries = (min == null || max == null) ? Collections.emptyList() : getBoundaries(min, max, partitionCount);
+                break;
+            }
+            case Types.DATE: {
+                final Date min = boundsResultSet.getDate(1);
+                final Date max = boundsResultSet.getDate(2);
+                final List<Date> dates = new ArrayList<>();
+                if (min != null && max != null) {
+                    for (final long millis : getBoundaries(min.getTime(), max.getTime(), partitionCount)) {
+                        dates.add(new Date(millis));
+                    }
+                }
+                boundaries = dates;
+                break;
+            }
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE: {
+                final Timestamp min = boundsResultSet.getTimestamp(1);
+                final Timestamp max = boundsResultSet.getTimestamp(2);
+                final List<Timestamp> timestamps = new ArrayList<>();
+                if (min != null && max != null) {
+                    for (final long millis : getBoundaries(min.getTime(), max.getTime(), partitionCount)) {
+                        timestamps.add(new Timestamp(millis));
+                    }
+                }
+                boundaries = timestamps;
+                break;
+            }
+            default:
+                throw new SQLDataException("Partition Column " + partitionColumn + " is of type " + boundsResultSet.getMetaData().getColumnTypeName(1)
+                        + " but only numeric, date and timestamp columns can be used to partition a query");
+        }
+
+        final List<Range> ranges = new ArrayList<>(boundaries.size() + 1);
+        Object lower = null;
+        for (final Object boundary : boundaries) {
+            ranges.add(new Range(lower, boundary, sqlType));
+            lower = boundary;
+        }
+        ranges.add(new Range(lower, null, sqlType));
+        return ranges;
+    }
+
+    /**
+     * Returns the values at which ranges of a column whose values are between <code>min</code> and <code>max</code> should be split,
+     * in ascending order and without duplicates. The first range ends, exclusively, at the first value, and the last range begins,
+     * inclusively, at the last value.
+     */
+    static List<Long> getBoundaries(final long min, final long max, final int partitionCount) {
+        final List<Long> boundaries = new ArrayList<>();
+        if (max <= min) {
+            return boundaries;
+        }
+
+        // Integral values are discrete, so the span counts the values themselves; this keeps a boundary at every value when there are few of them
+        final BigInteger start = BigInteger.valueOf(min);
+        final BigInteger span = BigInteger.valueOf(max).subtract(start).add(BigInteger.ONE);
+        final BigInteger partitions = BigInteger.valueOf(partitionCount);
+        long previous = min;
+        for (int i = 1; i < partitionCount; i++) {
+            final long boundary = start.add(span.multiply(BigInteger.valueOf(i)).divide(partitions)).longValue();
+            if (boundary > previous) {
+                boundaries.add(boundary);
+                previous = boundary;
+            }
+        }
+        return boundaries;
+    }
+
+    static List<BigDecimal> getBoundaries(final BigDecimal min, final BigDecimal max, final int partitionCount) {
+        final List<BigDecimal> boundaries = new ArrayList<>();
+        if (max.compareTo(min) <= 0) {
+            return boundaries;
+        }
+
+        final BigDecimal span = max.subtract(min);
+        final BigDecimal partitions = BigDecimal.valueOf(partitionCount);
+        BigDecimal previous = min;
+        for (int i = 1; i < partitionCount; i++) {
+            final BigDecimal boundary = min.add(span.multiply(BigDecimal.valueOf(i)).divide(partitions, MathContext.DECIMAL64));
+            if (boundary.compareTo(previous) > 0) {
+                boundaries.add(boundary);
+                previous = boundary;
+            }
+        }
+        return boundaries;
+    }
+
+    /**
+     * A range of values of the partition column. The lower bound is inclusive and the upper bound exclusive; a missing lower bound
+     * means the range also includes rows whose partition column is null.
+     */
+    public class Range {
+        private final Object lower;
+        private final Object upper;
+        private final int sqlType;
+
+        Range(final Object lower, final Object upper, final int sqlType) {
+            this.lower = lower;
+            this.upper = upper;
+            this.sqlType = sqlType;
+        }
+
+        public Object getLower() {
+            return lower;
+        }
+
+        public Object getUpper() {
+            return upper;
+        }
+
+        /**
+         * @return the query that selects only the rows of this range
+         */
+        public String getQuery() {
+            if (lower == null && upper == null) {
+                return query;
+            }
+
+            final StringBuilder sb = new StringBuilder("SELECT * FROM (").append(query).append(") ").append(aliasClause).append(" WHERE ");
+            if (lower == null) {
+                sb.append("(").append(partitionColumn).append(" < ? OR ").append(partitionColumn).append(" IS NULL)");
+            } else if (upper == null) {
+                sb.append(partitionColumn).append(" >= ?");
+            } else {
+                sb.append(partitionColumn).append(" >= ? AND ").append(partitionColumn).append(" < ?");
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Binds the boundaries of this range to a statement prepared from {@link #getQuery()}
+         *
+         * @param statement the statement to bind the boundaries to
+         * @throws SQLException if a boundary cannot be bound
+         */
+        public void setParameters(final PreparedStatement statement) throws SQLException {
+            int parameterIndex = parameterOffset;
+            if (lower != null) {
+                setParameter(statement, ++parameterIndex, lower);
+            }
+            if (upper != null) {
+                setParameter(statement, ++parameterIndex, upper);
+            }
+        }
+
+        private void setParameter(final PreparedStatement statement, final int parameterIndex, final Object value) throws SQLException {
+            if (value instanceof Long) {
+                statement.setLong(parameterIndex, (Long) value);
+            } else if (value instanceof BigDecimal) {
+                statement.setBigDecimal(parameterIndex, (BigDecimal) value);
+            } else if (value instanceof Date) {
+                statement.setDate(parameterIndex, (Date) value);
+            } else {
+                statement.setTimestamp(parameterIndex, (Timestamp) value);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Range[" + partitionColumn + " from " + (lower == null ? "null" : lower) + " to " + (upper == null ? "max" : upper) + ", type=" + sqlType + "]";
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.sql;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.RecordSet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A RecordSet over all of the ranges of a {@link PartitionedQuery}. Each range is queried on its own connection by a task of the given
+ * ExecutorService, and its rows are converted into Records by that task and handed to the consumer through a bounded queue, so the
+ * ranges are fetched concurrently while the Records are written by a single thread. Records of different ranges are interleaved in
+ * no particular order. If any range fails, {@link #next()} throws the failure once the consumer reaches it; the RecordSet must be
+ * closed in order to cancel the ranges that are still being fetched.
+ */
+public class PartitionedRecordSet implements RecordSet, Closeable {
+    private static final int RECORDS_BUFFERED_PER_RANGE = 1000;
+    private static final long OFFER_TIMEOUT_MILLIS = 100L;
+
+    // Marks the end of a range; compared by identity and never returned to the consumer
+    private static final Record END_OF_RANGE = new MapRecord(new SimpleRecordSchema(Collections.emptyList()), Collections.emptyMap());
+
+    private final BlockingQueue<Record> queue;
+    private final List<Future<?>> futures;
+    private final CountDownLatch schemaLatch = new CountDownLatch(1);
+    private final AtomicReference<RecordSchema> schemaRef = new AtomicReference<>();
+    private final AtomicReference<Throwable> failureRef = new AtomicReference<>();
+    private volatile boolean closed = false;
+    private int remainingRanges;
+
+    /**
+     * @param ranges the ranges to fetch
+     * @param executor the ExecutorService whose tasks fetch the ranges
+     * @param connectionSupplier supplies a connection for each range; the connection is closed once the range has been fetched
+     * @param statementConfigurer configures the statement of each range, such as its fetch size and timeout, before the range boundaries are bound
+     * @param recordSetFactory converts the ResultSet of each range into Records
+     */
+    public PartitionedRecordSet(final List<PartitionedQuery.Range> ranges, final ExecutorService executor, final ConnectionSupplier connectionSupplier,
+                                final StatementConfigurer statementConfigurer, final RecordSetFactory recordSetFactory) {
+        this.queue = new ArrayBlockingQueue<>(RECORDS_BUFFERED_PER_RANGE * ranges.size());
+        this.remainingRanges = ranges.size();
+        this.futures = new ArrayList<>(ranges.size());
+        for (final PartitionedQuery.Range range : ranges) {
+            futures.add(executor.submit(() -> fetch(range, connectionSupplier, statementConfigurer, recordSetFactory)));
+        }
+    }
+
+    private void fetch(final PartitionedQuery.Range range, final ConnectionSupplier connectionSupplier, final StatementConfigurer statementConfigurer,
+                       final RecordSetFactory recordSetFactory) {
+        try (final Connection connection = connectionSupplier.getConnection();
+             final PreparedStatement statement = connection.prepareStatement(range.getQuery())) {
+            statementConfigurer.configure(statement);
+            range.setParameters(statement);
+
+            try (final ResultSet resultSet = statement.executeQuery()) {
+                final RecordSet recordSet = recordSetFactory.createRecordSet(resultSet);
+                if (schemaRef.compareAndSet(null, recordSet.getSchema())) {
+                    schemaLatch.countDown();
+                }
+
+                Record record;
+                while (!closed && (record = recordSet.next()) != null) {
+                    if (!enqueue(record)) {
+                        return;
+                    }
+                }
+            }
+        } catch (final Throwable t) {
+            failureRef.compareAndSet(null, t);
+            schemaLatch.countDown();
+        } finally {
+            enqueue(END_OF_RANGE);
+        }
+    }
+
+    private boolean enqueue(final Record record) {
+        try {
+            while (!queue.offer(record, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public RecordSchema getSchema() throws IOException {
+        try {
+            schemaLatch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the first range of the partitioned query to be executed", e);
+        }
+
+        final RecordSchema schema = schemaRef.get();
+        if (schema == null) {
+            throw failure();
+        }
+        return schema;
+    }
+
+    @Override
+    public Record next() throws IOException {
+        while (remainingRanges > 0) {
+            final Record record;
+            try {
+                record = queue.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for records of the partitioned query", e);
+            }
+
+            if (record != END_OF_RANGE) {
+                return record;
+            }
+
+            remainingRanges--;
+            if (failureRef.get() != null) {
+                throw failure();
+            }
+        }
+
+        return null;
+    }
+
+    private IOException failure() {
+        final Throwable failure = failureRef.get();
+        return new IOException("Failed to fetch a range of the partitioned query", failure);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (final Future<?> future : futures) {
+            future.cancel(true);
+        }
+        queue.clear();
+    }
+
+    /**
+     * Creates an ExecutorService suitable for fetching the given number of ranges concurrently
+     *
+     * @param threadCount the number of threads
+     * @param name the name of the threads, to which a sequence number is appended
+     * @return the ExecutorService, which must be shut down when no longer needed
+     */
+    public static ExecutorService createExecutorService(final int threadCount, final String name) {
+        return Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+            private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+            private final AtomicInteger counter = new AtomicInteger(0);
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread t = defaultFactory.newThread(r);
+                t.setName(name + "-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    @FunctionalInterface
+    public interface ConnectionSupplier {
+        Connection getConnection() throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface StatementConfigurer {
+        void configure(PreparedStatement statement) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RecordSetFactory {
+        RecordSet createRecordSet(ResultSet resultSet) throws SQLException, IOException;
+    }
+}
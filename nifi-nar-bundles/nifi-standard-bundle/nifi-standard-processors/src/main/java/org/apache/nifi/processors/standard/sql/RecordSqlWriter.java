@@ -89,6 +89,35 @@ public class RecordSqlWriter implements SqlWriter {
         }
     }
 
+    @Override
+    public RecordSet createRecordSet(ResultSet resultSet, ResultSetRowCallback callback) throws SQLException {
+        final Schema avroSchema = JdbcCommon.createSchema(resultSet, options);
+        final RecordSchema recordAvroSchema = AvroTypeUtil.createSchema(avroSchema);
+        return new ResultSetRecordSetWithCallback(resultSet, recordAvroSchema, callback, options.getDefaultPrecision(), options.getDefaultScale(), options.isUseLogicalTypes());
+    }
+
+    @Override
+    public long writeRecordSet(RecordSet recordSet, OutputStream outputStream, ComponentLog logger) throws Exception {
+        try {
+            if (writeSchema == null) {
+                writeSchema = recordSetWriterFactory.getSchema(originalAttributes, recordSet.getSchema());
+            }
+        } catch (final SchemaNotFoundException | IOException e) {
+            throw new ProcessException(e);
+        }
+
+        final RecordSet limitedRecordSet = (maxRowsPerFlowFile > 0) ? recordSet.limit(maxRowsPerFlowFile) : recordSet;
+        try (final RecordSetWriter resultSetWriter = recordSetWriterFactory.createWriter(logger, writeSchema, outputStream, Collections.emptyMap())) {
+            writeResultRef.set(resultSetWriter.write(limitedRecordSet));
+            if (mimeType == null) {
+                mimeType = resultSetWriter.getMimeType();
+            }
+            return writeResultRef.get().getRecordCount();
+        } catch (final Exception e) {
+            throw new IOException(e);
+        }
+    }
+
     @Override
     public Map<String, String> getAttributesToAdd() {
         Map<String, String> attributesToAdd = new HashMap<>();
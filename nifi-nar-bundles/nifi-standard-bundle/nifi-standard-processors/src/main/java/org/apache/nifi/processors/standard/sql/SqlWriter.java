@@ -18,10 +18,12 @@ package org.apache.nifi.processors.standard.sql;
 
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.processor.ProcessSession;
+import org.apache.nifi.serialization.record.RecordSet;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.Map;
 
@@ -46,6 +48,30 @@ public interface SqlWriter {
      */
     long writeResultSet(ResultSet resultSet, OutputStream outputStream, ComponentLog logger, ResultSetRowCallback callback) throws Exception;
 
+    /**
+     * Creates a RecordSet that converts the rows of the given result set in the same manner as {@link #writeResultSet}. This is used to convert the ranges
+     * of a {@link PartitionedQuery} on the threads that fetch them, and may be called concurrently. The default implementation does not support this.
+     * @param resultSet the ResultSet to be converted
+     * @param callback a MaxValueResultSetRowCollector that may be called as each row in the ResultSet is processed
+     * @return a RecordSet over the rows of the result set
+     * @throws SQLException if the result set cannot be read
+     */
+    default RecordSet createRecordSet(ResultSet resultSet, ResultSetRowCallback callback) throws SQLException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support partitioned queries");
+    }
+
+    /**
+     * Writes the given record set, such as a {@link PartitionedRecordSet}, out to the given output stream. The default implementation does not support this.
+     * @param recordSet the RecordSet to be written
+     * @param outputStream the OutputStream to write the record set to
+     * @param logger a common logger that can be used to log messages during write
+     * @return the number of records written to the output stream
+     * @throws Exception if any errors occur during the writing of the record set to the output stream
+     */
+    default long writeRecordSet(RecordSet recordSet, OutputStream outputStream, ComponentLog logger) throws Exception {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support partitioned queries");
+    }
+
     /**
      * Returns a map of attribute key/value pairs to be added to any outgoing flow file(s). The default implementation is to return an empty map.
      * @return a map of attribute key/value pairs
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.queryrecord;
+
+import org.apache.nifi.serialization.record.batch.RecordBatch;
+
+/**
+ * A predicate that is evaluated against all rows of a {@link RecordBatch} at once. Results follow SQL's three-valued logic,
+ * so that a comparison against a <code>null</code> value is neither true nor false.
+ */
+interface BatchPredicate {
+    byte FALSE = 0;
+    byte TRUE = 1;
+    byte UNKNOWN = 2;
+
+    /**
+     * Evaluates the predicate against every row of the given batch, regardless of the batch's selection
+     *
+     * @param batch the batch to evaluate
+     * @param results an array of at least {@link RecordBatch#getRowCount()} elements that is populated with one of
+     *            {@link #TRUE}, {@link #FALSE}, or {@link #UNKNOWN} for each row
+     */
+    void evaluate(RecordBatch batch, byte[] results);
+}
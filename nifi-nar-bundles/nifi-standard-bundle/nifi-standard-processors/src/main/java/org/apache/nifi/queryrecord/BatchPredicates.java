@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.queryrecord;
+
+import org.apache.nifi.serialization.record.batch.BooleanColumnVector;
+import org.apache.nifi.serialization.record.batch.ColumnVector;
+import org.apache.nifi.serialization.record.batch.DoubleColumnVector;
+import org.apache.nifi.serialization.record.batch.LongColumnVector;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
+
+import java.math.BigDecimal;
+
+import static org.apache.nifi.queryrecord.BatchPredicate.FALSE;
+import static org.apache.nifi.queryrecord.BatchPredicate.TRUE;
+import static org.apache.nifi.queryrecord.BatchPredicate.UNKNOWN;
+
+/**
+ * Factory methods for the {@link BatchPredicate}s that are supported by {@link VectorizedQuery}. Each predicate
+ * works directly against the column vectors so that no Records are created while filtering.
+ */
+final class BatchPredicates {
+
+    private BatchPredicates() {
+    }
+
+    enum ComparisonOperator {
+        EQUALS,
+        NOT_EQUALS,
+        LESS_THAN,
+        LESS_THAN_OR_EQUAL,
+        GREATER_THAN,
+        GREATER_THAN_OR_EQUAL;
+
+        boolean test(final int comparison) {
+            switch (this) {
+                case EQUALS:
+                    return comparison == 0;
+                case NOT_EQUALS:
+                    return comparison != 0;
+                case LESS_THAN:
+                    return comparison < 0;
+                case LESS_THAN_OR_EQUAL:
+                    return comparison <= 0;
+                case GREATER_THAN:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        /**
+         * @return the operator to use when the operands are swapped, such that <code>a op b</code> is equivalent to <code>b op.reverse() a</code>
+         */
+        ComparisonOperator reverse() {
+            switch (this) {
+                case LESS_THAN:
+                    return GREATER_THAN;
+                case LESS_THAN_OR_EQUAL:
+                    return GREATER_THAN_OR_EQUAL;
+                case GREATER_THAN:
+                    return LESS_THAN;
+                case GREATER_THAN_OR_EQUAL:
+                    return LESS_THAN_OR_EQUAL;
+                default:
+                    return this;
+            }
+        }
+    }
+
+    static BatchPredicate and(final BatchPredicate left, final BatchPredicate right) {
+        return (batch, results) -> {
+            left.evaluate(batch, results);
+            final byte[] rightResults = new byte[batch.getRowCount()];
+            right.evaluate(batch, rightResults);
+
+            for (int row = 0; row < batch.getRowCount(); row++) {
+                final byte leftResult = results[row];
+                final byte rightResult = rightResults[row];
+                if (leftResult == FALSE || rightResult == FALSE) {
+                    results[row] = FALSE;
+                } else if (leftResult == UNKNOWN || rightResult == UNKNOWN) {
+                    results[row] = UNKNOWN;
+                } else {
+                    results[row] = TRUE;
+                }
+            }
+        };
+    }
+
+    static BatchPredicate or(final BatchPredicate left, final BatchPredicate right) {
+        return (batch, results) -> {
+            left.evaluate(batch, results);
+            final byte[] rightResults = new byte[batch.getRowCount()];
+            right.evaluate(batch, rightResults);
+
+            for (int row = 0; row < batch.getRowCount(); row++) {
+                final byte leftResult = results[row];
+                final byte rightResult = rightResults[row];
+                if (leftResult == TRUE || rightResult == TRUE) {
+                    results[row] = TRUE;
+                } else if (leftResult == UNKNOWN || rightResult == UNKNOWN) {
+                    results[row] = UNKNOWN;
+                } else {
+                    results[row] = FALSE;
+                }
+            }
+        };
+    }
+
+    static BatchPredicate not(final BatchPredicate predicate) {
+        return (batch, results) -> {
+            predicate.evaluate(batch, results);
+
+            for (int row = 0; row < batch.getRowCount(); row++) {
+                if (results[row] != UNKNOWN) {
+                    results[row] = results[row] == TRUE ? FALSE : TRUE;
+                }
+            }
+        };
+    }
+
+    static BatchPredicate isNull(final int columnIndex, final boolean negate) {
+        final byte nullResult = negate ? FALSE : TRUE;
+        final byte nonNullResult = negate ? TRUE : FALSE;
+
+        return (batch, results) -> {
+            final ColumnVector column = batch.getColumn(columnIndex);
+            for (int row = 0; row < batch.getRowCount(); row++) {
+                results[row] = isNull(column, row) ? nullResult : nonNullResult;
+            }
+        };
+    }
+
+    static BatchPredicate booleanEquals(final int columnIndex, final boolean expected) {
+        return (batch, results) -> {
+            final ColumnVector column = batch.getColumn(columnIndex);
+
+            if (column instanceof BooleanColumnVector) {
+                final BooleanColumnVector booleans = (BooleanColumnVector) column;
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    if (isNull(booleans, row)) {
+                        results[row] = UNKNOWN;
+                    } else {
+                        results[row] = booleans.getBoolean(row) == expected ? TRUE : FALSE;
+                    }
+                }
+            } else {
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    final Object value = isNull(column, row) ? null : column.getObject(row);
+                    if (value == null) {
+                        results[row] = UNKNOWN;
+                    } else {
+                        results[row] = Boolean.parseBoolean(value.toString()) == expected ? TRUE : FALSE;
+                    }
+                }
+            }
+        };
+    }
+
+    static BatchPredicate compareNumber(final int columnIndex, final ComparisonOperator operator, final BigDecimal literal) {
+        final Long longLiteral = toLong(literal);
+        final double doubleLiteral = literal.doubleValue();
+
+        return (batch, results) -> {
+            final ColumnVector column = batch.getColumn(columnIndex);
+
+            if (column instanceof LongColumnVector && longLiteral != null) {
+                final LongColumnVector longs = (LongColumnVector) column;
+                final long value = longLiteral;
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    if (isNull(longs, row)) {
+                        results[row] = UNKNOWN;
+                    } else {
+                        results[row] = operator.test(Long.compare(longs.getLong(row), value)) ? TRUE : FALSE;
+                    }
+                }
+            } else if (column instanceof DoubleColumnVector) {
+                final DoubleColumnVector doubles = (DoubleColumnVector) column;
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    if (isNull(doubles, row)) {
+                        results[row] = UNKNOWN;
+                    } else {
+                        results[row] = operator.test(compare(doubles.getDouble(row), doubleLiteral)) ? TRUE : FALSE;
+                    }
+                }
+            } else {
+                // Either the column is not held in a primitive vector or the literal has a fractional part that a long cannot represent
+                for (int row = 0; row < batch.getRowCount(); row++) {
+                    final Object value = isNull(column, row) ? null : column.getObject(row);
+                    if (value == null) {
+                        results[row] = UNKNOWN;
+                    } else {
+                        results[row] = operator.test(toBigDecimal(value).compareTo(literal)) ? TRUE : FALSE;
+                    }
+                }
+            }
+        };
+    }
+
+    static BatchPredicate compareString(final int columnIndex, final ComparisonOperator operator, final String literal) {
+        return (batch, results) -> {
+            final ColumnVector column = batch.getColumn(columnIndex);
+            for (int row = 0; row < batch.getRowCount(); row++) {
+                final Object value = isNull(column, row) ? null : column.getObject(row);
+                if (value == null) {
+                    results[row] = UNKNOWN;
+                } else {
+                    results[row] = operator.test(value.toString().compareTo(literal)) ? TRUE : FALSE;
+                }
+            }
+        };
+    }
+
+    /**
+     * Rows beyond the end of a vector are treated as null, as they are by {@link RecordBatch#getRecord(int)}
+     */
+    private static boolean isNull(final ColumnVector column, final int row) {
+        return row >= column.size() || column.isNull(row);
+    }
+
+    private static int compare(final double value, final double literal) {
+        if (value < literal) {
+            return -1;
+        }
+        if (value > literal) {
+            return 1;
+        }
+
+        // Equal values, including positive and negative zero, compare as equal; only NaN falls through to Double.compare
+        return value == literal ? 0 : Double.compare(value, literal);
+    }
+
+    private static Long toLong(final BigDecimal literal) {
+        try {
+            return literal.longValueExact();
+        } catch (final ArithmeticException ae) {
+            return null;
+        }
+    }
+
+    private static BigDecimal toBigDecimal(final Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Number) {
+            return BigDecimal.valueOf(((Number) value).doubleValue());
+        }
+
+        return new BigDecimal(value.toString());
+    }
+}
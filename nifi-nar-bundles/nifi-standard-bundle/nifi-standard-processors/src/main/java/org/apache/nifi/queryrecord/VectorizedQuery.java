@@ -0,0 +1,490 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.queryrecord;
+
+import org.apache.calcite.config.Lex;
+import org.apache.calcite.sql.SqlBasicCall;
+import org.apache.calcite.sql.SqlCharStringLiteral;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlNumericLiteral;
+import org.apache.calcite.sql.SqlSelect;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.sql.validate.SqlValidatorUtil;
+import org.apache.nifi.processor.exception.ProcessException;
+import org.apache.nifi.queryrecord.BatchPredicates.ComparisonOperator;
+import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.RecordReader;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.RecordSet;
+import org.apache.nifi.serialization.record.batch.ColumnVector;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ * A query against the FLOWFILE table that is simple enough to be evaluated directly against the records of a {@link RecordReader},
+ * without planning and executing it through Calcite. Supported queries are of the form
+ * <code>SELECT &lt;columns&gt; FROM FLOWFILE [WHERE &lt;condition&gt;]</code>, where each selected column is either <code>*</code>
+ * or a column name with an optional alias, and the condition is any combination of AND, OR, and NOT over comparisons of a
+ * column to a literal, IS [NOT] NULL checks, and boolean columns.
+ * </p>
+ *
+ * <p>
+ * Records are read in batches. Only the columns that the condition references are copied into {@link RecordBatch} column vectors,
+ * where the condition is evaluated a column at a time, and the records that match are then returned as they were read, or as a
+ * lightweight projection of them. Only columns whose values Calcite would return unchanged (numbers, strings, and booleans) may be
+ * referenced, and result columns are named the way that Calcite names them, so that the results are identical to those that Calcite
+ * would produce. A query that is compiled once may be executed concurrently against any number of readers whose schema it was compiled for.
+ * </p>
+ */
+public class VectorizedQuery {
+    private static final String TABLE_NAME = "FLOWFILE";
+
+    private static final SqlParser.Config PARSER_CONFIG = SqlParser.configBuilder()
+        .setLex(Lex.MYSQL_ANSI)
+        .build();
+
+    private static final int BATCH_SIZE = 1024;
+
+    private static final Set<RecordFieldType> NUMERIC_TYPES = EnumSet.of(RecordFieldType.BYTE, RecordFieldType.SHORT, RecordFieldType.INT,
+        RecordFieldType.LONG, RecordFieldType.FLOAT, RecordFieldType.DOUBLE);
+
+    private final RecordSchema inputSchema;
+    private final RecordSchema resultSchema;
+    private final int[] columnIndices;
+    private final BatchPredicate predicate;
+    private final int[] predicateColumns;
+
+    private VectorizedQuery(final RecordSchema inputSchema, final RecordSchema resultSchema, final int[] columnIndices, final BatchPredicate predicate,
+                            final int[] predicateColumns) {
+        this.inputSchema = inputSchema;
+        this.resultSchema = resultSchema;
+        this.columnIndices = columnIndices;
+        this.predicate = predicate;
+        this.predicateColumns = predicateColumns;
+    }
+
+    /**
+     * Compiles the given SQL into a query that can be evaluated against batches of records that adhere to the given schema
+     *
+     * @param sql the SQL to compile
+     * @param schema the schema of the FLOWFILE table
+     * @return the compiled query, or an empty Optional if the SQL cannot be evaluated without Calcite
+     */
+    public static Optional<VectorizedQuery> compile(final String sql, final RecordSchema schema) {
+        final SqlNode query;
+        try {
+            query = SqlParser.create(sql, PARSER_CONFIG).parseQuery();
+        } catch (final SqlParseException e) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(compile((SqlSelect) requireSupported(query, query instanceof SqlSelect), schema));
+        } catch (final UnsupportedQueryException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static VectorizedQuery compile(final SqlSelect select, final RecordSchema schema) throws UnsupportedQueryException {
+        requireSupported(select, !select.isDistinct() && select.getGroup() == null && select.getHaving() == null && isEmpty(select.getWindowList())
+            && isEmpty(select.getOrderList()) && select.getOffset() == null && select.getFetch() == null);
+
+        final SqlNode from = select.getFrom();
+        requireSupported(from, from instanceof SqlIdentifier && ((SqlIdentifier) from).isSimple() && TABLE_NAME.equalsIgnoreCase(((SqlIdentifier) from).getSimple()));
+
+        final List<Integer> indices = new ArrayList<>();
+        final List<RecordField> resultFields = new ArrayList<>();
+        for (final SqlNode selectItem : select.getSelectList()) {
+            if (selectItem instanceof SqlIdentifier && ((SqlIdentifier) selectItem).isStar()) {
+                requireSupported(selectItem, ((SqlIdentifier) selectItem).names.size() == 1);
+
+                for (int i = 0; i < schema.getFieldCount(); i++) {
+                    final RecordField field = schema.getField(i);
+                    requireProjectable(selectItem, field);
+                    indices.add(i);
+                    resultFields.add(field);
+                }
+                continue;
+            }
+
+            // Name the column exactly as Calcite's validator would, so that the result schema does not depend on how the query is executed
+            final String columnName = SqlValidatorUtil.getAlias(selectItem, -1);
+            requireSupported(selectItem, columnName != null);
+
+            final SqlNode column = selectItem.getKind() == SqlKind.AS ? ((SqlBasicCall) selectItem).getOperandList().get(0) : selectItem;
+            final int index = resolveColumn(toColumn(column), schema);
+            final RecordField field = schema.getField(index);
+            requireProjectable(selectItem, field);
+            indices.add(index);
+            resultFields.add(new RecordField(columnName, field.getDataType(), field.isNullable()));
+        }
+
+        // Calcite renames duplicate column names, so leave such queries to Calcite
+        final Set<String> resultNames = new HashSet<>();
+        for (final RecordField field : resultFields) {
+            requireSupported(select, resultNames.add(field.getFieldName().toUpperCase(Locale.ROOT)));
+        }
+
+        final Set<Integer> predicateColumns = new TreeSet<>();
+        final BatchPredicate predicate = select.getWhere() == null ? null : toPredicate(select.getWhere(), schema, predicateColumns);
+        final int[] columnIndices = indices.stream().mapToInt(Integer::intValue).toArray();
+        return new VectorizedQuery(schema, new SimpleRecordSchema(resultFields), columnIndices, predicate,
+            predicateColumns.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static BatchPredicate toPredicate(final SqlNode node, final RecordSchema schema, final Set<Integer> columns) throws UnsupportedQueryException {
+        if (node instanceof SqlIdentifier) {
+            final int index = resolveColumn((SqlIdentifier) node, schema, columns);
+            requireSupported(node, getFieldType(schema, index) == RecordFieldType.BOOLEAN);
+            return BatchPredicates.booleanEquals(index, true);
+        }
+
+        requireSupported(node, node instanceof SqlBasicCall);
+        final List<SqlNode> operands = ((SqlBasicCall) node).getOperandList();
+
+        switch (node.getKind()) {
+            case AND:
+            case OR: {
+                BatchPredicate predicate = toPredicate(operands.get(0), schema, columns);
+                for (int i = 1; i < operands.size(); i++) {
+                    final BatchPredicate next = toPredicate(operands.get(i), schema, columns);
+                    predicate = node.getKind() == SqlKind.AND ? BatchPredicates.and(predicate, next) : BatchPredicates.or(predicate, next);
+                }
+                return predicate;
+            }
+            case NOT:
+                return BatchPredicates.not(toPredicate(operands.get(0), schema, columns));
+            case IS_NULL:
+            case IS_NOT_NULL:
+                return BatchPredicates.isNull(resolveColumn(toColumn(operands.get(0)), schema, columns), node.getKind() == SqlKind.IS_NOT_NULL);
+            case EQUALS:
+                return toComparison(node, operands, ComparisonOperator.EQUALS, schema, columns);
+            case NOT_EQUALS:
+                return toComparison(node, operands, ComparisonOperator.NOT_EQUALS, schema, columns);
+            case LESS_THAN:
+                return toComparison(node, operands, ComparisonOperator.LESS_THAN, schema, columns);
+            case LESS_THAN_OR_EQUAL:
+                return toComparison(node, operands, ComparisonOperator.LESS_THAN_OR_EQUAL, schema, columns);
+            case GREATER_THAN:
+                return toComparison(node, operands, ComparisonOperator.GREATER_THAN, schema, columns);
+            case GREATER_THAN_OR_EQUAL:
+                return toComparison(node, operands, ComparisonOperator.GREATER_THAN_OR_EQUAL, schema, columns);
+            default:
+                throw new UnsupportedQueryException(node);
+        }
+    }
+
+    private static BatchPredicate toComparison(final SqlNode node, final List<SqlNode> operands, final ComparisonOperator operator, final RecordSchema schema,
+                                               final Set<Integer> columns) throws UnsupportedQueryException {
+        final SqlNode left = operands.get(0);
+        final SqlNode right = operands.get(1);
+
+        final SqlIdentifier column;
+        final SqlNode literal;
+        final ComparisonOperator columnOperator;
+        if (left instanceof SqlIdentifier) {
+            column = (SqlIdentifier) left;
+            literal = right;
+            columnOperator = operator;
+        } else {
+            column = toColumn(right);
+            literal = left;
+            columnOperator = operator.reverse();
+        }
+
+        final int index = resolveColumn(column, schema, columns);
+        final RecordFieldType fieldType = getFieldType(schema, index);
+
+        if (NUMERIC_TYPES.contains(fieldType)) {
+            return BatchPredicates.compareNumber(index, columnOperator, toNumber(literal));
+        }
+
+        if (fieldType == RecordFieldType.STRING && literal instanceof SqlCharStringLiteral) {
+            return BatchPredicates.compareString(index, columnOperator, ((SqlLiteral) literal).getValueAs(String.class));
+        }
+
+        if (fieldType == RecordFieldType.BOOLEAN && literal instanceof SqlLiteral && ((SqlLiteral) literal).getTypeName() == SqlTypeName.BOOLEAN
+                && (columnOperator == ComparisonOperator.EQUALS || columnOperator == ComparisonOperator.NOT_EQUALS)) {
+            final boolean value = ((SqlLiteral) literal).booleanValue();
+            return BatchPredicates.booleanEquals(index, columnOperator == ComparisonOperator.EQUALS ? value : !value);
+        }
+
+        throw new UnsupportedQueryException(node);
+    }
+
+    private static BigDecimal toNumber(final SqlNode node) throws UnsupportedQueryException {
+        if (node instanceof SqlNumericLiteral) {
+            return ((SqlNumericLiteral) node).bigDecimalValue();
+        }
+
+        if (node.getKind() == SqlKind.MINUS_PREFIX) {
+            return toNumber(((SqlBasicCall) node).getOperandList().get(0)).negate();
+        }
+
+        throw new UnsupportedQueryException(node);
+    }
+
+    private static SqlIdentifier toColumn(final SqlNode node) throws UnsupportedQueryException {
+        requireSupported(node, node instanceof SqlIdentifier && ((SqlIdentifier) node).isSimple());
+        return (SqlIdentifier) node;
+    }
+
+    /**
+     * Column names are not case sensitive, so a column can only be resolved if exactly one field matches it
+     */
+    private static int resolveColumn(final SqlIdentifier column, final RecordSchema schema) throws UnsupportedQueryException {
+        final String columnName = toColumn(column).getSimple();
+
+        int index = -1;
+        for (int i = 0; i < schema.getFieldCount(); i++) {
+            if (schema.getField(i).getFieldName().equalsIgnoreCase(columnName)) {
+                requireSupported(column, index < 0);
+                index = i;
+            }
+        }
+
+        requireSupported(column, index >= 0);
+        return index;
+    }
+
+    private static int resolveColumn(final SqlIdentifier column, final RecordSchema schema, final Set<Integer> columns) throws UnsupportedQueryException {
+        final int index = resolveColumn(column, schema);
+        columns.add(index);
+        return index;
+    }
+
+    private static RecordFieldType getFieldType(final RecordSchema schema, final int index) {
+        return schema.getField(index).getDataType().getFieldType();
+    }
+
+    private static void requireProjectable(final SqlNode node, final RecordField field) throws UnsupportedQueryException {
+        final RecordFieldType fieldType = field.getDataType().getFieldType();
+        requireSupported(node, NUMERIC_TYPES.contains(fieldType) || fieldType == RecordFieldType.STRING || fieldType == RecordFieldType.BOOLEAN);
+    }
+
+    private static SqlNode requireSupported(final SqlNode node, final boolean supported) throws UnsupportedQueryException {
+        if (!supported) {
+            throw new UnsupportedQueryException(node);
+        }
+
+        return node;
+    }
+
+    private static boolean isEmpty(final SqlNodeList nodeList) {
+        return nodeList == null || nodeList.size() == 0;
+    }
+
+    /**
+     * @return the schema of the records that are produced by this query, using the data types of the columns that are selected
+     */
+    public RecordSchema getResultSchema() {
+        return resultSchema;
+    }
+
+    /**
+     * Determines the schema of the records that are produced by this query in the same way as
+     * {@link org.apache.nifi.serialization.record.ResultSetRecordSet} does for the results of Calcite: a selected column takes
+     * the data type that the writer schema gives to the field it selects, if any, and otherwise the data type of that field.
+     *
+     * @param writerSchema the schema of the Record Writer, or <code>null</code>
+     * @return the schema of the records that are produced by this query
+     */
+    public RecordSchema getResultSchema(final RecordSchema writerSchema) {
+        if (writerSchema == null) {
+            return resultSchema;
+        }
+
+        final List<RecordField> fields = new ArrayList<>(columnIndices.length);
+        for (int i = 0; i < columnIndices.length; i++) {
+            final RecordField resultField = resultSchema.getField(i);
+            final Optional<DataType> writerDataType = writerSchema.getDataType(inputSchema.getField(columnIndices[i]).getFieldName());
+            fields.add(writerDataType.isPresent() ? new RecordField(resultField.getFieldName(), writerDataType.get(), resultField.isNullable()) : resultField);
+        }
+
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+        return schema.equals(resultSchema) ? resultSchema : schema;
+    }
+
+    /**
+     * Evaluates this query against the records of the given reader. Records are read lazily as the returned RecordSet is consumed.
+     *
+     * @param reader the reader to evaluate, whose schema must be the schema that this query was compiled for
+     * @param schema the schema of the resulting records, as returned by {@link #getResultSchema(RecordSchema)}
+     * @return the records that match the query's condition, containing only the selected columns
+     */
+    public VectorizedRecordSet execute(final RecordReader reader, final RecordSchema schema) {
+        if (schema.getFieldCount() != columnIndices.length) {
+            throw new IllegalArgumentException("Cannot produce records with schema " + schema + " because the query selects " + columnIndices.length + " columns");
+        }
+
+        return new VectorizedRecordSet(reader, schema);
+    }
+
+    @Override
+    public String toString() {
+        return "VectorizedQuery[resultSchema=" + resultSchema + "]";
+    }
+
+    /**
+     * The records that are produced by a query. Records that match the query are written straight from those that the reader returned:
+     * when the query selects every column of the FLOWFILE table unchanged, the reader's records are returned as they are, and otherwise
+     * each result holds only the selected values of the record that it was read as.
+     */
+    public class VectorizedRecordSet implements RecordSet {
+        private final RecordReader reader;
+        private final RecordSchema schema;
+        private final RecordField[] selectedFields;
+        private final boolean passThrough;
+        private final Record[] records = new Record[BATCH_SIZE];
+        private final byte[] results = new byte[BATCH_SIZE];
+        private int recordCount = 0;
+        private int position = 0;
+        private int recordsRead = 0;
+        private boolean exhausted = false;
+
+        private VectorizedRecordSet(final RecordReader reader, final RecordSchema schema) {
+            this.reader = reader;
+            this.schema = schema;
+            this.passThrough = schema.equals(inputSchema);
+
+            selectedFields = new RecordField[columnIndices.length];
+            for (int i = 0; i < columnIndices.length; i++) {
+                selectedFields[i] = inputSchema.getField(columnIndices[i]);
+            }
+        }
+
+        @Override
+        public RecordSchema getSchema() {
+            return schema;
+        }
+
+        @Override
+        public Record next() throws IOException {
+            while (true) {
+                while (position < recordCount) {
+                    final int row = position++;
+                    if (predicate == null || results[row] == BatchPredicate.TRUE) {
+                        final Record record = records[row];
+                        records[row] = null;
+                        return toResult(record);
+                    }
+
+                    records[row] = null;
+                }
+
+                if (!readBatch()) {
+                    return null;
+                }
+            }
+        }
+
+        /**
+         * @return the number of records that have been read from the reader so far
+         */
+        public int getRecordsRead() {
+            return recordsRead;
+        }
+
+        private boolean readBatch() throws IOException {
+            position = 0;
+            recordCount = 0;
+            if (exhausted) {
+                return false;
+            }
+
+            try {
+                Record record;
+                while (recordCount < BATCH_SIZE && (record = reader.nextRecord(true, true)) != null) {
+                    records[recordCount++] = record;
+                }
+            } catch (final MalformedRecordException e) {
+                throw new ProcessException("Failed to read next record due to " + e.getMessage(), e);
+            }
+
+            exhausted = recordCount < BATCH_SIZE;
+            recordsRead += recordCount;
+
+            if (predicate != null && recordCount > 0) {
+                predicate.evaluate(createPredicateBatch(), results);
+            }
+
+            return recordCount > 0;
+        }
+
+        /**
+         * Creates a batch that holds only the columns that the query's condition references. The other columns are never read by the
+         * condition, so they are left unpopulated rather than copied out of every record.
+         */
+        private RecordBatch createPredicateBatch() {
+            final ColumnVector[] columns = new ColumnVector[inputSchema.getFieldCount()];
+            for (final int columnIndex : predicateColumns) {
+                final RecordField field = inputSchema.getField(columnIndex);
+                final ColumnVector column = ColumnVector.create(field.getDataType(), recordCount);
+                for (int row = 0; row < recordCount; row++) {
+                    column.setObject(row, records[row].getValue(field));
+                }
+                columns[columnIndex] = column;
+            }
+
+            return new RecordBatch(inputSchema, columns, recordCount);
+        }
+
+        private Record toResult(final Record record) {
+            if (passThrough) {
+                return record;
+            }
+
+            final Map<String, Object> values = new LinkedHashMap<>(selectedFields.length * 2);
+            for (int i = 0; i < selectedFields.length; i++) {
+                values.put(schema.getField(i).getFieldName(), record.getValue(selectedFields[i]));
+            }
+
+            return new MapRecord(schema, values);
+        }
+    }
+
+    private static class UnsupportedQueryException extends Exception {
+        UnsupportedQueryException(final SqlNode node) {
+            super("Cannot evaluate " + node + " without Calcite", null, false, false);
+        }
+    }
+}
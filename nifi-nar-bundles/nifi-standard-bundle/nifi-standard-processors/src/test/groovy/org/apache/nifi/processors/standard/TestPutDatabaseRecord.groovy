@@ -1218,6 +1218,196 @@ class TestPutDatabaseRecord {
         verify(spyStmt.get(), times(1)).executeBatch()
     }
 
+    @Test
+    void testInsertMultiRow() throws InitializationException, ProcessException, SQLException, IOException {
+        recreateTable(createPersons)
+        final MockRecordParser parser = new MockRecordParser()
+        runner.addControllerService("parser", parser)
+        runner.enableControllerService(parser)
+
+        parser.addSchemaField("id", RecordFieldType.INT)
+        parser.addSchemaField("name", RecordFieldType.STRING)
+        parser.addSchemaField("code", RecordFieldType.INT)
+
+        (1..11).each {
+            parser.addRecord(it, it == 7 ? null : "rec$it".toString(), 100 + it)
+        }
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, 'parser')
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE)
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, 'PERSONS')
+        runner.setProperty(PutDatabaseRecord.INSERT_STRATEGY, PutDatabaseRecord.MULTI_ROW_INSERT)
+        runner.setProperty(PutDatabaseRecord.ROWS_PER_INSERT, '5')
+
+        runner.enqueue(new byte[0])
+        runner.run()
+
+        runner.assertTransferCount(PutDatabaseRecord.REL_SUCCESS, 1)
+        assertEquals(11L, runner.getCounterValue(PutDatabaseRecord.INSERT_TYPE + ' updates performed'))
+        // Two statements of five rows each, executed as one batch, and one statement for the remaining row
+        assertEquals(1L, runner.getCounterValue('Batches Executed'))
+
+        final Connection conn = dbcp.getConnection()
+        final Statement stmt = conn.createStatement()
+        final ResultSet rs = stmt.executeQuery('SELECT * FROM PERSONS ORDER BY id')
+        (1..11).each {
+            assertTrue(rs.next())
+            assertEquals(it, rs.getInt(1))
+            assertEquals(it == 7 ? null : "rec$it".toString(), rs.getString(2))
+            assertEquals(100 + it, rs.getInt(3))
+        }
+        assertFalse(rs.next())
+
+        stmt.close()
+        conn.close()
+    }
+
+    @Test
+    void testInsertMultiRowConstraintViolation() throws InitializationException, ProcessException, SQLException, IOException {
+        recreateTable(createPersons)
+        final MockRecordParser parser = new MockRecordParser()
+        runner.addControllerService("parser", parser)
+        runner.enableControllerService(parser)
+
+        parser.addSchemaField("id", RecordFieldType.INT)
+        parser.addSchemaField("name", RecordFieldType.STRING)
+        parser.addSchemaField("code", RecordFieldType.INT)
+
+        parser.addRecord(1, 'rec1', 101)
+        parser.addRecord(2, 'rec2', 102)
+        parser.addRecord(3, 'rec3', 1000)   // This record violates the constraint on the 'code' column so should result in FlowFile being routed to failure
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, 'parser')
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE)
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, 'PERSONS')
+        runner.setProperty(PutDatabaseRecord.INSERT_STRATEGY, PutDatabaseRecord.MULTI_ROW_INSERT)
+        runner.setProperty(PutDatabaseRecord.ROWS_PER_INSERT, '2')
+
+        runner.enqueue(new byte[0])
+        runner.run()
+
+        runner.assertAllFlowFilesTransferred(PutDatabaseRecord.REL_FAILURE, 1)
+        assertEquals(0, getTableSize())
+    }
+
+    @Test
+    void testInsertBulkLoad() throws InitializationException, ProcessException, SQLException, IOException {
+        recreateTable(createPersons)
+        final MockRecordParser parser = new MockRecordParser()
+        runner.addControllerService("parser", parser)
+        runner.enableControllerService(parser)
+
+        parser.addSchemaField("id", RecordFieldType.INT)
+        parser.addSchemaField("name", RecordFieldType.STRING)
+        parser.addSchemaField("code", RecordFieldType.STRING)
+        parser.addSchemaField("dt", RecordFieldType.DATE)
+
+        LocalDate testDate = LocalDate.of(2021, 1, 26)
+        Date jdbcDate = Date.valueOf(testDate) // in local TZ
+
+        parser.addRecord(1, 'rec1', '101', jdbcDate)
+        parser.addRecord(2, null, '102', null)
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, 'parser')
+        runner.setProperty(PutDatabaseRecord.DB_TYPE, 'Derby')
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE)
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, 'PERSONS')
+        runner.setProperty(PutDatabaseRecord.INSERT_STRATEGY, PutDatabaseRecord.BULK_LOAD_INSERT)
+
+        runner.enqueue(new byte[0])
+        runner.run()
+
+        runner.assertTransferCount(PutDatabaseRecord.REL_SUCCESS, 1)
+        assertEquals(1L, runner.getCounterValue('Bulk Loads Executed'))
+        assertEquals(2L, runner.getCounterValue(PutDatabaseRecord.INSERT_TYPE + ' updates performed'))
+
+        final Connection conn = dbcp.getConnection()
+        final Statement stmt = conn.createStatement()
+        final ResultSet rs = stmt.executeQuery('SELECT * FROM PERSONS ORDER BY id')
+        assertTrue(rs.next())
+        assertEquals(1, rs.getInt(1))
+        assertEquals('rec1', rs.getString(2))
+        // The string field is converted to the integer type of the column
+        assertEquals(101, rs.getInt(3))
+        assertEquals(jdbcDate.toString(), rs.getDate(4).toString())
+        assertTrue(rs.next())
+        assertEquals(2, rs.getInt(1))
+        assertNull(rs.getString(2))
+        assertEquals(102, rs.getInt(3))
+        assertNull(rs.getDate(4))
+        assertFalse(rs.next())
+
+        stmt.close()
+        conn.close()
+    }
+
+    @Test
+    void testBulkLoadNotSupported() {
+        final MockRecordParser parser = new MockRecordParser()
+        runner.addControllerService("parser", parser)
+        runner.enableControllerService(parser)
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, 'parser')
+        runner.setProperty(PutDatabaseRecord.DB_TYPE, 'Generic')
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE)
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, 'PERSONS')
+        runner.setProperty(PutDatabaseRecord.INSERT_STRATEGY, PutDatabaseRecord.BULK_LOAD_INSERT)
+        runner.assertNotValid()
+
+        runner.setProperty(PutDatabaseRecord.DB_TYPE, 'Derby')
+        runner.assertValid()
+    }
+
+    @Test
+    void testInsertDifferentSchemasSameTable() throws InitializationException, ProcessException, SQLException, IOException {
+        recreateTable(createPersons)
+        final MockRecordParser parser = new MockRecordParser()
+        runner.addControllerService("parser", parser)
+        runner.enableControllerService(parser)
+
+        parser.addSchemaField("id", RecordFieldType.INT)
+        parser.addSchemaField("name", RecordFieldType.STRING)
+        parser.addSchemaField("code", RecordFieldType.INT)
+        parser.addRecord(1, 'rec1', 101)
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, 'parser')
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE)
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, 'PERSONS')
+
+        runner.enqueue(new byte[0])
+        runner.run(1, false)
+        runner.assertTransferCount(PutDatabaseRecord.REL_SUCCESS, 1)
+
+        // The SQL generated for the first schema is cached, but must not be used for records of another schema
+        final MockRecordParser otherParser = new MockRecordParser()
+        runner.addControllerService("otherParser", otherParser)
+        runner.enableControllerService(otherParser)
+        otherParser.addSchemaField("code", RecordFieldType.INT)
+        otherParser.addSchemaField("id", RecordFieldType.INT)
+        otherParser.addRecord(102, 2)
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, 'otherParser')
+
+        runner.enqueue(new byte[0])
+        runner.run(1, true, false)
+        runner.assertTransferCount(PutDatabaseRecord.REL_SUCCESS, 2)
+
+        final Connection conn = dbcp.getConnection()
+        final Statement stmt = conn.createStatement()
+        final ResultSet rs = stmt.executeQuery('SELECT * FROM PERSONS ORDER BY id')
+        assertTrue(rs.next())
+        assertEquals(1, rs.getInt(1))
+        assertEquals('rec1', rs.getString(2))
+        assertEquals(101, rs.getInt(3))
+        assertTrue(rs.next())
+        assertEquals(2, rs.getInt(1))
+        assertNull(rs.getString(2))
+        assertEquals(102, rs.getInt(3))
+        assertFalse(rs.next())
+
+        stmt.close()
+        conn.close()
+    }
+
     private Supplier<PreparedStatement> createPreparedStatementSpy() {
         PreparedStatement spyStmt
         doAnswer({ inv ->
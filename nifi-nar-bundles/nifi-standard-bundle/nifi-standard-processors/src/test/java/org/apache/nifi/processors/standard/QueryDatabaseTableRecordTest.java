@@ -1361,6 +1361,73 @@ public class QueryDatabaseTableRecordTest {
         runner.run();
     }
 
+    @Test
+    public void testPartitionedQuery() throws SQLException {
+        // load test data to database
+        final Connection con = ((DBCPService) runner.getControllerService("dbcp")).getConnection();
+        Statement stmt = con.createStatement();
+
+        try {
+            stmt.execute("drop table TEST_PARTITIONED");
+        } catch (final SQLException sqle) {
+            // Ignore, usually due to Derby not having DROP TABLE IF EXISTS
+        }
+
+        stmt.execute("create table TEST_PARTITIONED (id integer not null, val1 integer, constraint partitioned_pk primary key (id))");
+        for (int i = 0; i < 100; i++) {
+            stmt.execute("insert into TEST_PARTITIONED (id, val1) VALUES (" + i + ", " + (i % 10 == 0 ? "NULL" : String.valueOf(i)) + ")");
+        }
+
+        runner.setIncomingConnection(false);
+        runner.setProperty(QueryDatabaseTableRecord.TABLE_NAME, "TEST_PARTITIONED");
+        runner.setProperty(AbstractDatabaseFetchProcessor.MAX_VALUE_COLUMN_NAMES, "id");
+        runner.setProperty(QueryDatabaseTableRecord.PARTITION_COLUMN, "val1");
+        runner.setProperty(QueryDatabaseTableRecord.PARTITION_COUNT, "4");
+        runner.setProperty(QueryDatabaseTableRecord.MAX_ROWS_PER_FLOW_FILE, "30");
+        runner.run();
+
+        // Every row, including those with a null partition column, is fetched exactly once
+        runner.assertAllFlowFilesTransferred(QueryDatabaseTableRecord.REL_SUCCESS, 4);
+        long rowCount = 0;
+        for (final MockFlowFile flowFile : runner.getFlowFilesForRelationship(QueryDatabaseTableRecord.REL_SUCCESS)) {
+            rowCount += Long.parseLong(flowFile.getAttribute(QueryDatabaseTableRecord.RESULT_ROW_COUNT));
+        }
+        assertEquals(100, rowCount);
+        runner.getStateManager().assertStateEquals("test_partitioned" + AbstractDatabaseFetchProcessor.NAMESPACE_DELIMITER + "id", "99", Scope.CLUSTER);
+        runner.clearTransferState();
+
+        // Only new rows are fetched on the next run
+        stmt.execute("insert into TEST_PARTITIONED (id, val1) VALUES (100, 100)");
+        stmt.execute("insert into TEST_PARTITIONED (id, val1) VALUES (101, NULL)");
+        runner.run();
+        runner.assertAllFlowFilesTransferred(QueryDatabaseTableRecord.REL_SUCCESS, 1);
+        runner.getFlowFilesForRelationship(QueryDatabaseTableRecord.REL_SUCCESS).get(0).assertAttributeEquals(QueryDatabaseTableRecord.RESULT_ROW_COUNT, "2");
+        runner.getStateManager().assertStateEquals("test_partitioned" + AbstractDatabaseFetchProcessor.NAMESPACE_DELIMITER + "id", "101", Scope.CLUSTER);
+    }
+
+    @Test
+    public void testPartitionedQueryUnsupportedColumnType() throws SQLException {
+        // load test data to database
+        final Connection con = ((DBCPService) runner.getControllerService("dbcp")).getConnection();
+        Statement stmt = con.createStatement();
+
+        try {
+            stmt.execute("drop table TEST_PARTITIONED_VARCHAR");
+        } catch (final SQLException sqle) {
+            // Ignore, usually due to Derby not having DROP TABLE IF EXISTS
+        }
+
+        stmt.execute("create table TEST_PARTITIONED_VARCHAR (id integer not null, name varchar(20))");
+        stmt.execute("insert into TEST_PARTITIONED_VARCHAR (id, name) VALUES (1, 'a')");
+
+        runner.setIncomingConnection(false);
+        runner.setProperty(QueryDatabaseTableRecord.TABLE_NAME, "TEST_PARTITIONED_VARCHAR");
+        runner.setProperty(QueryDatabaseTableRecord.PARTITION_COLUMN, "name");
+        runner.run();
+
+        runner.assertTransferCount(QueryDatabaseTableRecord.REL_SUCCESS, 0);
+    }
+
     @Test
     public void testWithExceptionAfterSomeRowsProcessed() throws SQLException {
         // load test data to database
@@ -53,6 +53,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -385,6 +386,50 @@ public class TestExecuteSQLRecord {
         lastFlowFile.assertAttributeEquals(AbstractExecuteSQL.RESULTSET_INDEX, "0");
     }
 
+    @Test
+    public void testPartitionedQuery() throws Exception {
+        // load test data to database
+        final Connection con = ((DBCPService) runner.getControllerService("dbcp")).getConnection();
+        Statement stmt = con.createStatement();
+
+        try {
+            stmt.execute("drop table TEST_NULL_INT");
+        } catch (final SQLException sqle) {
+        }
+
+        stmt.execute("create table TEST_NULL_INT (id integer not null, val1 integer, val2 integer, constraint my_pk primary key (id))");
+
+        for (int i = 0; i < 1000; i++) {
+            stmt.execute("insert into TEST_NULL_INT (id, val1, val2) VALUES (" + i + ", 1, " + (i % 2) + ")");
+        }
+
+        MockRecordWriter recordWriter = new MockRecordWriter(null, true, -1);
+        runner.addControllerService("writer", recordWriter);
+        runner.setProperty(ExecuteSQLRecord.RECORD_WRITER_FACTORY, "writer");
+        runner.enableControllerService(recordWriter);
+
+        runner.setIncomingConnection(true);
+        runner.setProperty(ExecuteSQLRecord.MAX_ROWS_PER_FLOW_FILE, "100");
+        runner.setProperty(ExecuteSQLRecord.PARTITION_COLUMN, "id");
+        runner.setProperty(ExecuteSQLRecord.PARTITION_COUNT, "4");
+        runner.setProperty(ExecuteSQLRecord.SQL_SELECT_QUERY, "SELECT * FROM TEST_NULL_INT WHERE val2 = ?");
+
+        // The range boundaries must be bound after the parameters of the query itself
+        final Map<String, String> attrMap = new HashMap<>();
+        attrMap.put("sql.args.1.type", String.valueOf(Types.INTEGER));
+        attrMap.put("sql.args.1.value", "0");
+        runner.enqueue("", attrMap);
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(ExecuteSQLRecord.REL_SUCCESS, 5);
+        long rowCount = 0;
+        for (final MockFlowFile flowFile : runner.getFlowFilesForRelationship(ExecuteSQLRecord.REL_SUCCESS)) {
+            flowFile.assertAttributeEquals(ExecuteSQLRecord.RESULTSET_INDEX, "0");
+            rowCount += Long.parseLong(flowFile.getAttribute(ExecuteSQLRecord.RESULT_ROW_COUNT));
+        }
+        assertEquals(500, rowCount);
+    }
+
     @Test
     public void testInsertStatementCreatesFlowFile() throws Exception {
         // remove previous test database, if any
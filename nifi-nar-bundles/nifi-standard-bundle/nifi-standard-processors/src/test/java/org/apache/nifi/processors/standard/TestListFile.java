@@ -52,10 +52,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -787,6 +789,51 @@ public class TestListFile {
         assertEquals(1, successFiles2.size());
     }
 
+    @Test
+    public void testRecurseInParallel() throws Exception {
+        final long now = getTestModifiedTime();
+
+        final Set<String> expectedFilenames = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            final File subdir = new File(TESTDIR + "/subdir" + i + "/nested" + i);
+            assertTrue(subdir.mkdirs());
+
+            for (int j = 0; j < 4; j++) {
+                final File file = new File(j % 2 == 0 ? subdir : subdir.getParentFile(), "file" + i + "-" + j + ".txt");
+                assertTrue(file.createNewFile());
+                assertTrue(file.setLastModified(now));
+                expectedFilenames.add(file.getName());
+            }
+
+            final File ignored = new File(subdir, "ignored" + i + ".dat");
+            assertTrue(ignored.createNewFile());
+            assertTrue(ignored.setLastModified(now));
+        }
+
+        runner.setProperty(ListFile.DIRECTORY, testDir.getAbsolutePath());
+        runner.setProperty(ListFile.RECURSE, "true");
+        runner.setProperty(ListFile.TRAVERSAL_PARALLELISM, "4");
+        runner.setProperty(ListFile.FILE_FILTER, ".*\\.txt");
+        runNext();
+
+        runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, 20);
+        final Set<String> listedFilenames = new HashSet<>();
+        for (final MockFlowFile mff : runner.getFlowFilesForRelationship(ListFile.REL_SUCCESS)) {
+            final String filename = mff.getAttribute(CoreAttributes.FILENAME.key());
+            listedFilenames.add(filename);
+
+            final String index = filename.substring(4, 5);
+            final boolean nested = Integer.parseInt(filename.substring(6, 7)) % 2 == 0;
+            final String expectedPath = "subdir" + index + File.separator + (nested ? "nested" + index + File.separator : "");
+            mff.assertAttributeEquals(CoreAttributes.PATH.key(), expectedPath);
+        }
+        assertEquals(expectedFilenames, listedFilenames);
+
+        // nothing new to list
+        runNext();
+        runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, 0);
+    }
+
     @Test
     public void testReadable() throws Exception {
         final long now = getTestModifiedTime();
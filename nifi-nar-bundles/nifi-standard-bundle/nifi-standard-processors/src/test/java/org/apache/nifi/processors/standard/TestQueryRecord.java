@@ -953,6 +953,99 @@ public class TestQueryRecord {
         out.assertContentEquals("\"name\",\"points\"\n\"Tom\",\"49\"\n\"Alice\",\n,\"36\"\n");
     }
 
+    @Test
+    public void testVectorizedExecution() throws InitializationException {
+        final MockRecordParser parser = new MockRecordParser();
+        parser.addSchemaField("name", RecordFieldType.STRING, true);
+        parser.addSchemaField("age", RecordFieldType.INT, true);
+        parser.addRecord("Tom", 49);
+        parser.addRecord("Alice", 36);
+        parser.addRecord("Bob", 22);
+        parser.addRecord(null, 50);
+        parser.addRecord("Eve", null);
+
+        final MockRecordWriter writer = new MockRecordWriter("\"person\",\"age\"");
+
+        TestRunner runner = getRunner();
+        runner.addControllerService("parser", parser);
+        runner.enableControllerService(parser);
+        runner.addControllerService("writer", writer);
+        runner.enableControllerService(writer);
+
+        runner.setProperty(REL_NAME, "select name as person, age from FLOWFILE WHERE age > 30 AND name IS NOT NULL");
+        runner.setProperty(QueryRecord.RECORD_READER_FACTORY, "parser");
+        runner.setProperty(QueryRecord.RECORD_WRITER_FACTORY, "writer");
+        runner.setProperty(QueryRecord.VECTORIZED_EXECUTION, "true");
+
+        runner.enqueue(new byte[0]);
+        runner.run();
+
+        runner.assertTransferCount(REL_NAME, 1);
+        final MockFlowFile out = runner.getFlowFilesForRelationship(REL_NAME).get(0);
+        out.assertAttributeEquals(QueryRecord.ROUTE_ATTRIBUTE_KEY, REL_NAME);
+        out.assertAttributeEquals("record.count", "2");
+        out.assertContentEquals("\"person\",\"age\"\n\"Tom\",\"49\"\n\"Alice\",\"36\"\n");
+    }
+
+    @Test
+    public void testVectorizedExecutionExcludesUnknownResults() throws InitializationException {
+        final MockRecordParser parser = new MockRecordParser();
+        parser.addSchemaField("name", RecordFieldType.STRING, true);
+        parser.addSchemaField("age", RecordFieldType.INT, true);
+        parser.addRecord("Tom", 49);
+        parser.addRecord("Alice", null);
+        parser.addRecord("Bob", 22);
+
+        final MockRecordWriter writer = new MockRecordWriter("\"name\",\"age\"");
+
+        TestRunner runner = getRunner();
+        runner.addControllerService("parser", parser);
+        runner.enableControllerService(parser);
+        runner.addControllerService("writer", writer);
+        runner.enableControllerService(writer);
+
+        // comparing a null age is neither true nor false, so negating the comparison must not select Alice
+        runner.setProperty(REL_NAME, "select * from FLOWFILE WHERE NOT (age < 40)");
+        runner.setProperty(QueryRecord.RECORD_READER_FACTORY, "parser");
+        runner.setProperty(QueryRecord.RECORD_WRITER_FACTORY, "writer");
+        runner.setProperty(QueryRecord.VECTORIZED_EXECUTION, "true");
+
+        runner.enqueue(new byte[0]);
+        runner.run();
+
+        runner.assertTransferCount(REL_NAME, 1);
+        final MockFlowFile out = runner.getFlowFilesForRelationship(REL_NAME).get(0);
+        out.assertContentEquals("\"name\",\"age\"\n\"Tom\",\"49\"\n");
+    }
+
+    @Test
+    public void testVectorizedExecutionFallsBackToCalcite() throws InitializationException {
+        final MockRecordParser parser = new MockRecordParser();
+        parser.addSchemaField("name", RecordFieldType.STRING);
+        parser.addSchemaField("age", RecordFieldType.INT);
+        parser.addRecord("Tom", 49);
+
+        final MockRecordWriter writer = new MockRecordWriter("\"name\",\"points\"");
+
+        TestRunner runner = getRunner();
+        runner.addControllerService("parser", parser);
+        runner.enableControllerService(parser);
+        runner.addControllerService("writer", writer);
+        runner.enableControllerService(writer);
+
+        runner.setProperty(REL_NAME, "select name, age * 2 as points from FLOWFILE WHERE name <> ''");
+        runner.setProperty(QueryRecord.RECORD_READER_FACTORY, "parser");
+        runner.setProperty(QueryRecord.RECORD_WRITER_FACTORY, "writer");
+        runner.setProperty(QueryRecord.VECTORIZED_EXECUTION, "true");
+
+        runner.enqueue(new byte[0]);
+        runner.run();
+
+        runner.assertTransferCount(REL_NAME, 1);
+        final MockFlowFile out = runner.getFlowFilesForRelationship(REL_NAME).get(0);
+        out.assertContentEquals("\"name\",\"points\"\n\"Tom\",\"98\"\n");
+    }
+
     @Test
     public void testParseFailure() throws InitializationException {
         final MockRecordParser parser = new MockRecordParser();
@@ -764,6 +764,117 @@ public class TestRouteText {
         outOriginal.assertContentEquals(Paths.get("src/test/resources/TestXml/XmlBundle.xsd"));
     }
 
+    @Test
+    public void testManyLiteralProperties() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new RouteText());
+        runner.setProperty(RouteText.MATCH_STRATEGY, RouteText.CONTAINS);
+        for (int i = 0; i < 60; i++) {
+            runner.setProperty("route" + i, "value-" + i + ";");
+        }
+        runner.setProperty("duplicate", "value-7;");
+
+        final String originalText = "a value-7; b\nvalue-42;value-7;\nvalue-;\n";
+        runner.enqueue(originalText.getBytes("UTF-8"));
+        runner.run();
+
+        runner.assertTransferCount("route7", 1);
+        runner.assertTransferCount("duplicate", 1);
+        runner.assertTransferCount("route42", 1);
+        runner.assertTransferCount("route4", 0);
+        runner.assertTransferCount("unmatched", 1);
+
+        runner.getFlowFilesForRelationship("route7").get(0).assertContentEquals("a value-7; b\nvalue-42;value-7;\n");
+        runner.getFlowFilesForRelationship("duplicate").get(0).assertContentEquals("a value-7; b\nvalue-42;value-7;\n");
+        runner.getFlowFilesForRelationship("route42").get(0).assertContentEquals("value-42;value-7;\n");
+        runner.getFlowFilesForRelationship("unmatched").get(0).assertContentEquals("value-;\n");
+    }
+
+    @Test
+    public void testLiteralPropertiesStartsWith() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new RouteText());
+        runner.setProperty(RouteText.MATCH_STRATEGY, RouteText.STARTS_WITH);
+        runner.setProperty(RouteText.IGNORE_CASE, "true");
+        runner.setProperty("ab", "AB");
+        runner.setProperty("abcd", "abcd");
+        runner.setProperty("b", "b");
+        setUnmatchedProperties(runner);
+
+        runner.enqueue("bab\nxab\nAbab\nABCDEF\n".getBytes("UTF-8"));
+        runner.run();
+
+        runner.getFlowFilesForRelationship("ab").get(0).assertContentEquals("Abab\nABCDEF\n");
+        runner.getFlowFilesForRelationship("abcd").get(0).assertContentEquals("ABCDEF\n");
+        runner.getFlowFilesForRelationship("b").get(0).assertContentEquals("bab\n");
+        runner.getFlowFilesForRelationship("unmatched").get(0).assertContentEquals("xab\n");
+    }
+
+    @Test
+    public void testLiteralPropertiesEndsWith() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new RouteText());
+        runner.setProperty(RouteText.MATCH_STRATEGY, RouteText.ENDS_WITH);
+        runner.setProperty("ab", "ab");
+        runner.setProperty("b", "b");
+        runner.setProperty("xab", "xab");
+        setUnmatchedProperties(runner);
+
+        final String text = "abab\nabba\nxab\nb\nba\n";
+        runner.enqueue(text.getBytes("UTF-8"));
+        runner.run();
+
+        runner.getFlowFilesForRelationship("ab").get(0).assertContentEquals("abab\nxab\n");
+        runner.getFlowFilesForRelationship("b").get(0).assertContentEquals("abab\nxab\nb\n");
+        runner.getFlowFilesForRelationship("xab").get(0).assertContentEquals("xab\n");
+        runner.getFlowFilesForRelationship("unmatched").get(0).assertContentEquals("abba\nba\n");
+
+        runner.clearTransferState();
+        runner.setProperty(RouteText.ROUTE_STRATEGY, RouteText.ROUTE_TO_MATCHED_WHEN_ANY_PROPERTY_MATCHES);
+
+        runner.enqueue(text.getBytes("UTF-8"));
+        runner.run();
+
+        runner.getFlowFilesForRelationship("matched").get(0).assertContentEquals("abab\nxab\nb\n");
+        runner.getFlowFilesForRelationship("unmatched").get(0).assertContentEquals("abba\nba\n");
+    }
+
+    @Test
+    public void testLiteralPropertiesContainOverlappingValues() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new RouteText());
+        runner.setProperty(RouteText.MATCH_STRATEGY, RouteText.CONTAINS);
+        runner.setProperty("he", "he");
+        runner.setProperty("she", "she");
+        runner.setProperty("his", "his");
+        runner.setProperty("hers", "hers");
+        setUnmatchedProperties(runner);
+
+        runner.enqueue("ushers\nthis\nh\n".getBytes("UTF-8"));
+        runner.run();
+
+        runner.getFlowFilesForRelationship("he").get(0).assertContentEquals("ushers\n");
+        runner.getFlowFilesForRelationship("she").get(0).assertContentEquals("ushers\n");
+        runner.getFlowFilesForRelationship("hers").get(0).assertContentEquals("ushers\n");
+        runner.getFlowFilesForRelationship("his").get(0).assertContentEquals("this\n");
+        runner.getFlowFilesForRelationship("unmatched").get(0).assertContentEquals("h\n");
+    }
+
+    @Test
+    public void testLiteralPropertiesWithExpressionLanguage() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new RouteText());
+        runner.setProperty(RouteText.MATCH_STRATEGY, RouteText.EQUALS);
+        runner.setProperty(RouteText.ROUTE_STRATEGY, RouteText.ROUTE_TO_MATCHED_WHEN_ANY_PROPERTY_MATCHES);
+        runner.setProperty("first", "${value}");
+        runner.setProperty("second", "${value}${value}");
+        setUnmatchedProperties(runner);
+
+        final String text = "one\ntwo\ntwotwo";
+        runner.enqueue(text, Collections.singletonMap("value", "one"));
+        runner.enqueue(text, Collections.singletonMap("value", "two"));
+        runner.run(2);
+
+        runner.assertTransferCount("matched", 2);
+        runner.getFlowFilesForRelationship("matched").get(0).assertContentEquals("one\n");
+        runner.getFlowFilesForRelationship("matched").get(1).assertContentEquals("two\ntwotwo");
+    }
+
     @Test
     public void testPatternCache() throws IOException {
         final RouteText routeText = new RouteText();
@@ -821,4 +932,11 @@ public class TestRouteText {
         }
         return lines;
     }
+
+    private static void setUnmatchedProperties(final TestRunner runner) {
+        // Enough properties for their values to be evaluated against each line at once
+        for (int i = 0; i < RouteText.LITERAL_MATCHER_MINIMUM_PROPERTIES; i++) {
+            runner.setProperty("unmatched-property-" + i, "unmatched-value-" + i);
+        }
+    }
 }
@@ -56,6 +56,96 @@ public class TestSplitText {
         runner.assertTransferCount(SplitText.REL_SPLITS, 3);
     }
 
+    @Test
+    public void testSplitsPerSession() {
+        final TestRunner runner = TestRunners.newTestRunner(new SplitText());
+        runner.setProperty(SplitText.LINE_SPLIT_COUNT, "1");
+        runner.setProperty(SplitText.SPLITS_PER_SESSION, "1000");
+
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            content.append("Line ").append(i).append('\n');
+        }
+        runner.enqueue(content.toString());
+
+        runner.run(9);
+        runner.assertTransferCount(SplitText.REL_SPLITS, 9000);
+        runner.assertTransferCount(SplitText.REL_ORIGINAL, 0);
+        assertEquals(1, runner.getQueueSize().getObjectCount());
+
+        runner.run();
+        runner.assertTransferCount(SplitText.REL_SPLITS, 10000);
+        runner.assertTransferCount(SplitText.REL_ORIGINAL, 1);
+        runner.assertTransferCount(SplitText.REL_FAILURE, 0);
+        runner.assertQueueEmpty();
+
+        final MockFlowFile originalFlowFile = runner.getFlowFilesForRelationship(SplitText.REL_ORIGINAL).get(0);
+        originalFlowFile.assertAttributeEquals(SplitText.FRAGMENT_COUNT, "10000");
+        originalFlowFile.assertAttributeNotExists("split.text.resume.offset");
+        final String fragmentId = originalFlowFile.getAttribute(SplitText.FRAGMENT_ID);
+
+        final List<MockFlowFile> splits = runner.getFlowFilesForRelationship(SplitText.REL_SPLITS);
+        for (int i = 0; i < splits.size(); i++) {
+            final MockFlowFile split = splits.get(i);
+            split.assertContentEquals("Line " + i);
+            split.assertAttributeEquals(SplitText.FRAGMENT_INDEX, String.valueOf(i + 1));
+            split.assertAttributeEquals(SplitText.FRAGMENT_ID, fragmentId);
+            split.assertAttributeNotExists(SplitText.FRAGMENT_COUNT);
+            split.assertAttributeNotExists("split.text.resume.offset");
+        }
+    }
+
+    @Test
+    public void testSplitsPerSessionWithHeader() {
+        final TestRunner runner = TestRunners.newTestRunner(new SplitText());
+        runner.setProperty(SplitText.HEADER_LINE_COUNT, "1");
+        runner.setProperty(SplitText.LINE_SPLIT_COUNT, "2");
+        runner.setProperty(SplitText.SPLITS_PER_SESSION, "5");
+
+        final StringBuilder content = new StringBuilder("Header\n");
+        for (int i = 0; i < 25; i++) {
+            content.append("Line ").append(i).append('\n');
+        }
+        runner.enqueue(content.toString());
+
+        runner.run(3);
+        runner.assertTransferCount(SplitText.REL_SPLITS, 13);
+        runner.assertTransferCount(SplitText.REL_ORIGINAL, 1);
+        runner.assertTransferCount(SplitText.REL_FAILURE, 0);
+        runner.assertQueueEmpty();
+        runner.getFlowFilesForRelationship(SplitText.REL_ORIGINAL).get(0).assertAttributeEquals(SplitText.FRAGMENT_COUNT, "13");
+
+        final List<MockFlowFile> splits = runner.getFlowFilesForRelationship(SplitText.REL_SPLITS);
+        for (int i = 0; i < 12; i++) {
+            splits.get(i).assertContentEquals("Header\nLine " + (2 * i) + "\nLine " + (2 * i + 1));
+            splits.get(i).assertAttributeEquals(SplitText.SPLIT_LINE_COUNT, "2");
+            splits.get(i).assertAttributeEquals(SplitText.FRAGMENT_INDEX, String.valueOf(i + 1));
+        }
+        splits.get(12).assertContentEquals("Header\nLine 24");
+        splits.get(12).assertAttributeEquals(SplitText.FRAGMENT_INDEX, "13");
+    }
+
+    @Test
+    public void testSplitsPerSessionNotReached() {
+        final TestRunner runner = TestRunners.newTestRunner(new SplitText());
+        runner.setProperty(SplitText.HEADER_LINE_COUNT, "1");
+        runner.setProperty(SplitText.LINE_SPLIT_COUNT, "1");
+        runner.setProperty(SplitText.SPLITS_PER_SESSION, "5");
+
+        runner.enqueue("Header\nLine 1\nLine 2\n");
+        runner.run();
+
+        runner.assertTransferCount(SplitText.REL_SPLITS, 2);
+        runner.assertTransferCount(SplitText.REL_ORIGINAL, 1);
+        runner.assertQueueEmpty();
+
+        final List<MockFlowFile> splits = runner.getFlowFilesForRelationship(SplitText.REL_SPLITS);
+        splits.get(0).assertContentEquals("Header\nLine 1");
+        splits.get(0).assertAttributeEquals(SplitText.FRAGMENT_COUNT, "2");
+        splits.get(1).assertContentEquals("Header\nLine 2");
+        splits.get(1).assertAttributeEquals(SplitText.FRAGMENT_COUNT, "2");
+    }
+
     @Test
     public void testIncompleteHeader() {
         final TestRunner runner = TestRunners.newTestRunner(new SplitText());
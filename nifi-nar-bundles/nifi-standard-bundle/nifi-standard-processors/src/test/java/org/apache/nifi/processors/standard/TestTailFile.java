@@ -41,6 +41,9 @@ import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -1190,6 +1193,143 @@ public class TestTailFile {
         assertTrue(runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).stream().anyMatch(mockFlowFile -> mockFlowFile.isContentEqual("1\n")));
     }
 
+    @Test
+    public void testMultipleFilesWithMaxOpenFiles() throws IOException {
+        runner.setProperty(TailFile.START_POSITION, TailFile.START_CURRENT_FILE);
+        runner.setProperty(TailFile.BASE_DIRECTORY, "target");
+        runner.setProperty(TailFile.FILENAME, "log(ging)?.txt");
+        runner.setProperty(TailFile.MODE, TailFile.MODE_MULTIFILE);
+        runner.setProperty(TailFile.MAX_OPEN_FILES, "1");
+
+        final File myOtherFile = new File("target/logging.txt");
+        if (myOtherFile.exists()) {
+            myOtherFile.delete();
+        }
+        assertTrue(myOtherFile.createNewFile());
+
+        runner.run(1, false, true);
+        runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 0);
+
+        try (final RandomAccessFile myOtherRaf = new RandomAccessFile(myOtherFile, "rw")) {
+            raf.write("hello\n".getBytes());
+            myOtherRaf.write("hey\n".getBytes());
+
+            runner.run(1, false, false);
+            runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 2);
+            assertEquals(1, processor.getState().values().stream().filter(tfo -> tfo.getState().getReader() != null).count());
+            runner.clearTransferState();
+
+            // The file whose reader was closed is reopened where it left off.
+            raf.write("world\n".getBytes());
+            myOtherRaf.write("guys\n".getBytes());
+
+            runner.run(1, true, false);
+            runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 2);
+            assertTrue(runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).stream().anyMatch(mockFlowFile -> mockFlowFile.isContentEqual("world\n")));
+            assertTrue(runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).stream().anyMatch(mockFlowFile -> mockFlowFile.isContentEqual("guys\n")));
+        }
+    }
+
+    @Test
+    public void testMultipleFilesReplacedWhileReaderClosed() throws IOException {
+        runner.setProperty(TailFile.START_POSITION, TailFile.START_CURRENT_FILE);
+        runner.setProperty(TailFile.BASE_DIRECTORY, "target");
+        runner.setProperty(TailFile.FILENAME, "log(ging)?.txt");
+        runner.setProperty(TailFile.MODE, TailFile.MODE_MULTIFILE);
+        runner.setProperty(TailFile.MAX_OPEN_FILES, "1");
+
+        final File myOtherFile = new File("target/logging.txt");
+        if (myOtherFile.exists()) {
+            myOtherFile.delete();
+        }
+        assertTrue(myOtherFile.createNewFile());
+
+        runner.run(1, false, true);
+        runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 0);
+
+        try (final RandomAccessFile myOtherRaf = new RandomAccessFile(myOtherFile, "rw")) {
+            raf.write("hello\n".getBytes());
+            myOtherRaf.write("hey\n".getBytes());
+
+            runner.run(1, false, false);
+            runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 2);
+            runner.clearTransferState();
+
+            final TailFile.TailFileObject closedTfo = processor.getState().values().stream()
+                .filter(tfo -> tfo.getState().getReader() == null)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Expected the reader of one file to be closed"));
+
+            // Both files are still held open by the test, so the replacement is guaranteed to get a different file key.
+            final File replacement = new File("target/replacement.tmp");
+            Files.write(replacement.toPath(), "replaced content\n".getBytes(StandardCharsets.UTF_8));
+            Files.move(replacement.toPath(), new File(closedTfo.getState().getFilename()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            // The replaced file is read from the beginning rather than from the position of the file it replaced.
+            runner.run(1, true, false);
+            runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 1);
+            runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).get(0).assertContentEquals("replaced content\n");
+        }
+    }
+
+    @Test
+    public void testStateStoredOncePerRun() throws IOException {
+        runner.setProperty(TailFile.LINE_START_PATTERN, "<\\d>");
+
+        runner.run(1, false, true);
+        runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 0);
+
+        final String line1 = "<1>Hello, World\n";
+        raf.write(line1.getBytes());
+        raf.write("<2>Start of multi-line\n".getBytes());
+
+        // The read position and the position of the buffered lines are both stored with a single state update.
+        final long version = runner.getStateManager().getState(Scope.LOCAL).getVersion();
+        runner.run(1, false, false);
+        runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 1);
+
+        final StateMap stateMap = runner.getStateManager().getState(Scope.LOCAL);
+        assertEquals(version + 1, stateMap.getVersion());
+        assertEquals(String.valueOf(line1.length()), stateMap.get("file.0.position"));
+    }
+
+    @Test
+    public void testMultipleFilesWithWatchService() throws IOException, InterruptedException {
+        runner.setProperty(TailFile.START_POSITION, TailFile.START_CURRENT_FILE);
+        runner.setProperty(TailFile.BASE_DIRECTORY, "target");
+        runner.setProperty(TailFile.FILENAME, "log.txt");
+        runner.setProperty(TailFile.MODE, TailFile.MODE_MULTIFILE);
+        runner.setProperty(TailFile.CHANGE_DETECTION, TailFile.CHANGE_DETECTION_WATCH_SERVICE);
+
+        runner.run(1, false, true);
+        runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 0);
+
+        raf.write("hello\n".getBytes());
+        runUntilTransferred(1);
+        runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 1);
+        runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).get(0).assertContentEquals("hello\n");
+        runner.clearTransferState();
+
+        raf.write("world\n".getBytes());
+        runUntilTransferred(1);
+        runner.assertAllFlowFilesTransferred(TailFile.REL_SUCCESS, 1);
+        runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).get(0).assertContentEquals("world\n");
+
+        runner.run(1, true, false);
+    }
+
+    private void runUntilTransferred(final int expectedCount) throws InterruptedException {
+        // Change events are delivered asynchronously by the Watch Service
+        final long maxTime = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (System.currentTimeMillis() < maxTime) {
+            runner.run(1, false, false);
+            if (runner.getFlowFilesForRelationship(TailFile.REL_SUCCESS).size() >= expectedCount) {
+                return;
+            }
+            Thread.sleep(100L);
+        }
+    }
+
     @Test
     public void testMultipleFilesChangingNameStrategy() throws IOException, InterruptedException {
         runner.setProperty(TailFile.START_POSITION, TailFile.START_CURRENT_FILE);
@@ -19,6 +19,12 @@ package org.apache.nifi.processors.standard.db.impl;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.nifi.processors.standard.db.DatabaseAdapter;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * An implementation of DatabaseAdapter for Derby (used for testing).
  */
@@ -91,4 +97,32 @@ public class DerbyDatabaseAdapter implements DatabaseAdapter {
 
         return query.toString();
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean supportsBulkLoad() {
+        return true;
+    }
+
+    @Override
+    public long bulkLoad(Connection connection, String table, List<String> columnNames, Iterator<Object[]> rows) throws SQLException {
+        // Derby's bulk import procedures only read from files, so a batch of INSERT statements stands in for them
+        final String sql = "INSERT INTO " + table + " (" + String.join(", ", columnNames) + ") VALUES (" + StringUtils.repeat("?", ",", columnNames.size()) + ")";
+        long rowCount = 0;
+        try (final PreparedStatement ps = connection.prepareStatement(sql)) {
+            while (rows.hasNext()) {
+                final Object[] row = rows.next();
+                for (int i = 0; i < row.length; i++) {
+                    if (row[i] == null) {
+                        ps.setNull(i + 1, ps.getParameterMetaData().getParameterType(i + 1));
+                    } else {
+                        ps.setObject(i + 1, row[i]);
+                    }
+                }
+                ps.addBatch();
+                rowCount++;
+            }
+            ps.executeBatch();
+        }
+        return rowCount;
+    }
+}
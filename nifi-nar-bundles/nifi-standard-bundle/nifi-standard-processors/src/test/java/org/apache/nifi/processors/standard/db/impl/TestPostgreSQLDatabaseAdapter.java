@@ -19,12 +19,16 @@ package org.apache.nifi.processors.standard.db.impl;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Date;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -41,6 +45,36 @@ public class TestPostgreSQLDatabaseAdapter {
         assertTrue(testSubject.getClass().getSimpleName() + " should support upsert", testSubject.supportsUpsert());
     }
 
+    @Test
+    public void testSupportsBulkLoad() throws Exception {
+        assertTrue(testSubject.getClass().getSimpleName() + " should support bulk load", testSubject.supportsBulkLoad());
+        assertFalse(new GenericDatabaseAdapter().supportsBulkLoad());
+    }
+
+    @Test
+    public void testCopyInReader() throws IOException {
+        final List<Object[]> rows = Arrays.asList(
+                new Object[] {1, "plain", Date.valueOf("2021-01-26")},
+                new Object[] {2, "with \"quotes\", commas\nand newlines", null},
+                new Object[] {3, "", new byte[] {0x01, (byte) 0xAB}},
+                new Object[] {4, null, new Object[] {"a", null, "b\"c"}});
+
+        final StringBuilder copied = new StringBuilder();
+        try (final Reader reader = new PostgreSQLDatabaseAdapter.CopyInReader(rows.iterator())) {
+            // Read in small chunks to verify that rows are split across reads correctly
+            final char[] buffer = new char[7];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                copied.append(buffer, 0, read);
+            }
+        }
+
+        assertEquals("\"1\",\"plain\",\"2021-01-26\"\n"
+                + "\"2\",\"with \"\"quotes\"\", commas\nand newlines\",\n"
+                + "\"3\",\"\",\"\\x01ab\"\n"
+                + "\"4\",,\"{\"\"a\"\",NULL,\"\"b\\\"\"c\"\"}\"\n", copied.toString());
+    }
+
     @Test
     public void testGetUpsertStatementWithNullTableName() throws Exception {
         testGetUpsertStatement(null, Arrays.asList("notEmpty"), Arrays.asList("notEmpty"), new IllegalArgumentException("Table name cannot be null or blank"));
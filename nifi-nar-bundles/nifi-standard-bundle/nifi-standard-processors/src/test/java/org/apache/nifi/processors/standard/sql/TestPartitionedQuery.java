@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.sql;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestPartitionedQuery {
+
+    @Test
+    public void testBoundsQuery() {
+        final PartitionedQuery query = new PartitionedQuery("SELECT * FROM t WHERE a > 5", "id", "AS partitioned_query", 0);
+        assertEquals("SELECT MIN(id), MAX(id) FROM (SELECT * FROM t WHERE a > 5) AS partitioned_query", query.getBoundsQuery());
+    }
+
+    @Test
+    public void testLongBoundaries() {
+        assertEquals(Arrays.asList(25L, 50L, 75L), PartitionedQuery.getBoundaries(0L, 100L, 4));
+        assertEquals(Arrays.asList(-50L), PartitionedQuery.getBoundaries(-100L, 0L, 2));
+
+        // Fewer distinct values than partitions must not produce empty or duplicate ranges
+        assertEquals(Arrays.asList(1L, 2L), PartitionedQuery.getBoundaries(0L, 2L, 10));
+        assertEquals(Collections.emptyList(), PartitionedQuery.getBoundaries(7L, 7L, 4));
+        assertEquals(Collections.emptyList(), PartitionedQuery.getBoundaries(0L, 100L, 1));
+    }
+
+    @Test
+    public void testLongBoundariesDoNotOverflow() {
+        final List<Long> boundaries = PartitionedQuery.getBoundaries(Long.MIN_VALUE, Long.MAX_VALUE, 2);
+        assertEquals(Collections.singletonList(0L), boundaries);
+    }
+
+    @Test
+    public void testDecimalBoundaries() {
+        final List<BigDecimal> boundaries = PartitionedQuery.getBoundaries(new BigDecimal("0.5"), new BigDecimal("1.5"), 4);
+        assertEquals(3, boundaries.size());
+        assertEquals(0, new BigDecimal("0.75").compareTo(boundaries.get(0)));
+        assertEquals(0, new BigDecimal("1.0").compareTo(boundaries.get(1)));
+        assertEquals(0, new BigDecimal("1.25").compareTo(boundaries.get(2)));
+    }
+}
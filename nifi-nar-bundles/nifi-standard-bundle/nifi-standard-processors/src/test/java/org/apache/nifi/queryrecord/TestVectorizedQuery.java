@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.queryrecord;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.ArrayListRecordReader.ArrayListReader;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.RecordSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestVectorizedQuery {
+
+    private static final RecordSchema SCHEMA = new SimpleRecordSchema(Arrays.asList(
+        new RecordField("name", RecordFieldType.STRING.getDataType()),
+        new RecordField("age", RecordFieldType.INT.getDataType()),
+        new RecordField("score", RecordFieldType.DOUBLE.getDataType()),
+        new RecordField("active", RecordFieldType.BOOLEAN.getDataType())));
+
+    @Test
+    public void testUnsupportedQueries() {
+        assertFalse(VectorizedQuery.compile("SELECT COUNT(*) FROM FLOWFILE", SCHEMA).isPresent());
+        assertFalse(VectorizedQuery.compile("SELECT name FROM FLOWFILE ORDER BY age", SCHEMA).isPresent());
+        assertFalse(VectorizedQuery.compile("SELECT DISTINCT name FROM FLOWFILE", SCHEMA).isPresent());
+        assertFalse(VectorizedQuery.compile("SELECT age + 1 FROM FLOWFILE", SCHEMA).isPresent());
+        assertFalse(VectorizedQuery.compile("SELECT name FROM FLOWFILE WHERE name LIKE 'J%'", SCHEMA).isPresent());
+        assertFalse(VectorizedQuery.compile("SELECT name FROM FLOWFILE WHERE age = '5'", SCHEMA).isPresent());
+        assertFalse(VectorizedQuery.compile("SELECT name, name FROM FLOWFILE", SCHEMA).isPresent());
+        assertFalse(VectorizedQuery.compile("SELECT unknown FROM FLOWFILE", SCHEMA).isPresent());
+        assertFalse(VectorizedQuery.compile("SELECT name FROM OTHER", SCHEMA).isPresent());
+        assertFalse(VectorizedQuery.compile("not sql", SCHEMA).isPresent());
+    }
+
+    @Test
+    public void testProjection() throws IOException {
+        final VectorizedQuery query = VectorizedQuery.compile("SELECT AGE AS years, name FROM flowfile", SCHEMA).get();
+        assertEquals(Arrays.asList("years", "name"), query.getResultSchema().getFieldNames());
+
+        final List<Record> results = execute(query, query.getResultSchema());
+        assertEquals(4, results.size());
+        assertEquals(30, results.get(0).getValue("years"));
+        assertEquals("John", results.get(0).getValue("name"));
+        assertEquals(query.getResultSchema(), results.get(0).getSchema());
+        assertNull(results.get(0).getValue("score"));
+    }
+
+    @Test
+    public void testColumnNamesMatchCalcite() {
+        assertEquals(Arrays.asList("AGE", "Name"), VectorizedQuery.compile("SELECT AGE, \"Name\" FROM FLOWFILE", SCHEMA).get().getResultSchema().getFieldNames());
+        assertEquals(Arrays.asList("name", "age", "score", "active"), VectorizedQuery.compile("SELECT * FROM FLOWFILE", SCHEMA).get().getResultSchema().getFieldNames());
+    }
+
+    @Test
+    public void testResultSchemaUsesWriterSchema() {
+        final RecordSchema writerSchema = new SimpleRecordSchema(Arrays.asList(
+            new RecordField("name", RecordFieldType.STRING.getDataType()),
+            new RecordField("age", RecordFieldType.LONG.getDataType())));
+
+        final VectorizedQuery query = VectorizedQuery.compile("SELECT age AS years, score FROM FLOWFILE", SCHEMA).get();
+        final RecordSchema resultSchema = query.getResultSchema(writerSchema);
+        assertEquals(Arrays.asList("years", "score"), resultSchema.getFieldNames());
+        assertEquals(RecordFieldType.LONG.getDataType(), resultSchema.getDataType("years").get());
+        assertEquals(RecordFieldType.DOUBLE.getDataType(), resultSchema.getDataType("score").get());
+
+        assertEquals(SCHEMA, VectorizedQuery.compile("SELECT * FROM FLOWFILE", SCHEMA).get().getResultSchema(SCHEMA));
+    }
+
+    @Test
+    public void testSelectAllReturnsRecordsAsRead() throws IOException {
+        final List<Record> records = createRecords();
+        final VectorizedQuery query = VectorizedQuery.compile("SELECT * FROM FLOWFILE WHERE active", SCHEMA).get();
+        final List<Record> results = execute(query, records, query.getResultSchema(SCHEMA));
+
+        assertEquals(2, results.size());
+        assertSame(records.get(0), results.get(0));
+        assertSame(records.get(2), results.get(1));
+    }
+
+    @Test
+    public void testCountsRecordsRead() throws IOException {
+        final List<Record> records = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            records.add(createRecord("Name " + i, i, null, i % 2 == 0));
+        }
+
+        final VectorizedQuery query = VectorizedQuery.compile("SELECT name FROM FLOWFILE WHERE active AND age >= 1000", SCHEMA).get();
+        final VectorizedQuery.VectorizedRecordSet recordSet = query.execute(createReader(records), query.getResultSchema());
+
+        int count = 0;
+        while (recordSet.next() != null) {
+            count++;
+        }
+
+        assertEquals(750, count);
+        assertEquals(2500, recordSet.getRecordsRead());
+    }
+
+    @Test
+    public void testFilter() throws IOException {
+        assertEquals(Arrays.asList("John", "Jane"), selectNames("SELECT * FROM FLOWFILE WHERE age >= 25"));
+        assertEquals(Arrays.asList("Jane", "Jim"), selectNames("SELECT * FROM FLOWFILE WHERE 25 > age OR score > 9.5"));
+        assertEquals(Arrays.asList("John", "Jim"), selectNames("SELECT * FROM FLOWFILE WHERE active"));
+        assertEquals(Arrays.asList("Jane"), selectNames("SELECT * FROM FLOWFILE WHERE active = false"));
+        assertEquals(Arrays.asList("Jane", "Jim", "Jill"), selectNames("SELECT * FROM FLOWFILE WHERE name > 'Jan' AND name <> 'John'"));
+        assertEquals(Arrays.asList("John"), selectNames("SELECT * FROM FLOWFILE WHERE age > -1 AND score = 7.5"));
+        assertEquals(Arrays.asList("Jill"), selectNames("SELECT * FROM FLOWFILE WHERE age IS NULL"));
+        assertEquals(Arrays.asList("John", "Jane"), selectNames("SELECT * FROM FLOWFILE WHERE age > 24.5"));
+    }
+
+    @Test
+    public void testNullComparisonIsNeverSelected() throws IOException {
+        assertEquals(Arrays.asList("John", "Jane"), selectNames("SELECT * FROM FLOWFILE WHERE NOT (age < 25)"));
+        assertEquals(Arrays.asList("John", "Jane", "Jim"), selectNames("SELECT * FROM FLOWFILE WHERE age < 25 OR age >= 25"));
+        assertTrue(selectNames("SELECT * FROM FLOWFILE WHERE NOT (age < 25 OR age >= 25)").isEmpty());
+    }
+
+    private List<String> selectNames(final String sql) throws IOException {
+        final VectorizedQuery query = VectorizedQuery.compile(sql, SCHEMA).get();
+
+        final List<String> names = new ArrayList<>();
+        for (final Record record : execute(query, query.getResultSchema())) {
+            names.add((String) record.getValue("name"));
+        }
+        return names;
+    }
+
+    private List<Record> execute(final VectorizedQuery query, final RecordSchema resultSchema) throws IOException {
+        return execute(query, createRecords(), resultSchema);
+    }
+
+    private List<Record> execute(final VectorizedQuery query, final List<Record> records, final RecordSchema resultSchema) throws IOException {
+        final RecordSet recordSet = query.execute(createReader(records), resultSchema);
+
+        final List<Record> results = new ArrayList<>();
+        Record record;
+        while ((record = recordSet.next()) != null) {
+            results.add(record);
+        }
+        return results;
+    }
+
+    private ArrayListReader createReader(final List<Record> records) {
+        return new ArrayListReader(records, SCHEMA, new ByteArrayInputStream(new byte[0]));
+    }
+
+    private List<Record> createRecords() {
+        return Arrays.asList(
+            createRecord("John", 30, 7.5D, true),
+            createRecord("Jane", 25, 9.75D, false),
+            createRecord("Jim", 20, 5D, true),
+            createRecord("Jill", null, null, null));
+    }
+
+    private Record createRecord(final String name, final Integer age, final Double score, final Boolean active) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("name", name);
+        values.put("age", age);
+        values.put("score", score);
+        values.put("active", active);
+        return new MapRecord(SCHEMA, values);
+    }
+}
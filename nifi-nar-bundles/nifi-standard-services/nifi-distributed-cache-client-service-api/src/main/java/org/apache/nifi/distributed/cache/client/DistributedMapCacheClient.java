@@ -89,6 +89,25 @@ public interface DistributedMapCacheClient extends ControllerService {
      */
     <K> boolean containsKey(K key, Serializer<K> keySerializer) throws IOException;
 
+    /**
+     * Determines which of the given keys are present in the cache. This should be used when needed to check
+     * a large batch of keys in a single operation.
+     *
+     * @param <K> the key type
+     * @param keys a set of keys to look for in the cache
+     * @param keySerializer the Serializer that will be used to serialize the keys into bytes
+     * @return a Map indicating, for each of the given keys, whether it is present in the cache
+     *
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    default <K> Map<K, Boolean> containsKeys(Set<K> keys, Serializer<K> keySerializer) throws IOException {
+        final Map<K, Boolean> results = new HashMap<>(keys.size());
+        for (K key : keys) {
+            results.put(key, containsKey(key, keySerializer));
+        }
+        return results;
+    }
+
     /**
      * Adds the specified key and value to the cache, overwriting any value that is
      * currently set.
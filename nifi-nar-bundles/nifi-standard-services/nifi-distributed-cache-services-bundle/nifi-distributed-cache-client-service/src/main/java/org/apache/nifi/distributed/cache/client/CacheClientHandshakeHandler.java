@@ -84,6 +84,13 @@ public class CacheClientHandshakeHandler extends ChannelInboundHandlerAdapter {
         promiseHandshakeComplete.awaitUninterruptibly();
     }
 
+    /**
+     * @return true if the version of the distributed cache protocol has been successfully negotiated with the service
+     */
+    public boolean isHandshakeComplete() {
+        return promiseHandshakeComplete.isSuccess();
+    }
+
     /**
      * @return the coordinator used to broker the version of the distributed cache protocol with the service
      */
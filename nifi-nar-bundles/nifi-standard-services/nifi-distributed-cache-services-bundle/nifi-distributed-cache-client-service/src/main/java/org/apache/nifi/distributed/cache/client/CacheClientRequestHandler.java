@@ -27,6 +27,10 @@ import org.apache.nifi.distributed.cache.client.adapter.NullInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.OutboundAdapter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * The {@link io.netty.channel.ChannelHandler} responsible for sending client requests and receiving server responses
@@ -35,9 +39,14 @@ import java.io.IOException;
 public class CacheClientRequestHandler extends ChannelInboundHandlerAdapter {
 
     /**
-     * The object used to buffer and interpret the service response byte stream.
+     * The objects used to buffer and interpret the service response byte stream, in the order in which the responses are expected.
      */
-    private InboundAdapter inboundAdapter = new NullInboundAdapter();
+    private final Queue<InboundAdapter> inboundAdapters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The object used to drop data received outside the context of a request.
+     */
+    private final InboundAdapter nullInboundAdapter = new NullInboundAdapter();
 
     /**
      * The synchronization construct used to signal the client application that the server response has been received.
@@ -50,7 +59,7 @@ public class CacheClientRequestHandler extends ChannelInboundHandlerAdapter {
         try {
             final byte[] bytes = new byte[byteBuf.readableBytes()];
             byteBuf.readBytes(bytes);
-            inboundAdapter.queue(bytes);
+            getInboundAdapter().queue(bytes);
         } finally {
             byteBuf.release();
         }
@@ -58,22 +67,40 @@ public class CacheClientRequestHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelReadComplete(final ChannelHandlerContext ctx) throws IOException {
-        inboundAdapter.dequeue();
-        if (inboundAdapter.isComplete() && !channelPromise.isSuccess()) {
+        InboundAdapter inboundAdapter = inboundAdapters.peek();
+        while (inboundAdapter != null) {
+            inboundAdapter.dequeue();
+            if (!inboundAdapter.isComplete()) {
+                break;
+            }
+
+            // Content beyond the end of this response belongs to the response to the next pipelined request
+            inboundAdapters.remove();
+            final byte[] remaining = inboundAdapter.drainRemaining();
+            inboundAdapter = inboundAdapters.peek();
+            if (remaining.length > 0) {
+                getInboundAdapter().queue(remaining);
+            }
+        }
+
+        if (inboundAdapters.isEmpty() && channelPromise != null && !channelPromise.isDone()) {
             channelPromise.setSuccess();
         }
     }
 
     @Override
     public void channelUnregistered(final ChannelHandlerContext ctx) {
-        if (!inboundAdapter.isComplete()) {
-            channelPromise.setFailure(new IOException("Channel unregistered before processing completed: " + ctx.channel().toString()));
+        final boolean incomplete = inboundAdapters.stream().anyMatch(inboundAdapter -> !inboundAdapter.isComplete());
+        if (incomplete && channelPromise != null) {
+            channelPromise.tryFailure(new IOException("Channel unregistered before processing completed: " + ctx.channel().toString()));
         }
     }
 
     @Override
     public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
-        channelPromise.setFailure(cause);
+        if (channelPromise != null) {
+            channelPromise.tryFailure(cause);
+        }
     }
 
     /**
@@ -88,18 +115,46 @@ public class CacheClientRequestHandler extends ChannelInboundHandlerAdapter {
      * @param inboundAdapter  the business logic to deserialize the server response
      */
     public void invoke(final Channel channel, final OutboundAdapter outboundAdapter, final InboundAdapter inboundAdapter) throws IOException {
+        invoke(channel, Collections.singletonList(outboundAdapter), Collections.singletonList(inboundAdapter));
+    }
+
+    /**
+     * Perform a pipelined series of synchronous method calls to the server. All requests are written to the channel
+     * before any response is read; as the server responds to the requests on a channel in the order in which they
+     * were received, the response byte stream is handed to each of the inbound adapters in turn.
+     *
+     * An inbound adapter may interpret the responses to several requests, as long as the responses are read in
+     * the same order in which the requests were written.
+     *
+     * @param channel          the network channel used to make the requests
+     * @param outboundAdapters the request payloads, in the order in which they are to be sent
+     * @param inboundAdapters  the business logic to deserialize the server responses, in the order in which they are expected
+     */
+    public void invoke(final Channel channel, final List<OutboundAdapter> outboundAdapters, final List<InboundAdapter> inboundAdapters) throws IOException {
         final CacheClientHandshakeHandler handshakeHandler = channel.pipeline().get(CacheClientHandshakeHandler.class);
         handshakeHandler.waitHandshakeComplete();
-        if (handshakeHandler.getVersionNegotiator().getVersion() < outboundAdapter.getMinimumVersion()) {
-            throw new UnsupportedOperationException("Remote cache server doesn't support protocol version " + outboundAdapter.getMinimumVersion());
+
+        final int version = handshakeHandler.getVersionNegotiator().getVersion();
+        final ByteBuf request = Unpooled.buffer();
+        for (final OutboundAdapter outboundAdapter : outboundAdapters) {
+            if (version < outboundAdapter.getMinimumVersion()) {
+                throw new UnsupportedOperationException("Remote cache server doesn't support protocol version " + outboundAdapter.getMinimumVersion());
+            }
+            request.writeBytes(outboundAdapter.toBytes());
         }
-        this.inboundAdapter = inboundAdapter;
+
+        this.inboundAdapters.addAll(inboundAdapters);
         channelPromise = channel.newPromise();
-        channel.writeAndFlush(Unpooled.wrappedBuffer(outboundAdapter.toBytes()));
+        channel.writeAndFlush(request);
         channelPromise.awaitUninterruptibly();
-        this.inboundAdapter = new NullInboundAdapter();
+        this.inboundAdapters.clear();
         if (channelPromise.cause() != null) {
             throw new IOException("Request invocation failed", channelPromise.cause());
         }
     }
+
+    private InboundAdapter getInboundAdapter() {
+        final InboundAdapter inboundAdapter = inboundAdapters.peek();
+        return inboundAdapter == null ? nullInboundAdapter : inboundAdapter;
+    }
 }
@@ -24,6 +24,7 @@ import org.apache.nifi.remote.VersionNegotiatorFactory;
 import org.apache.nifi.ssl.SSLContextService;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Encapsulate operations which may be performed using a {@link DistributedSetCacheClientService} or a
@@ -36,6 +37,11 @@ public class DistributedCacheClient {
      */
     private final ChannelPool channelPool;
 
+    /**
+     * The version of the distributed cache protocol most recently negotiated on any channel, or zero before the first handshake.
+     */
+    private volatile int protocolVersion;
+
     /**
      * Constructor.
      *
@@ -68,10 +74,56 @@ public class DistributedCacheClient {
             final CacheClientRequestHandler requestHandler = (CacheClientRequestHandler) channel.pipeline().last();
             requestHandler.invoke(channel, outboundAdapter, inboundAdapter);
         } finally {
+            updateProtocolVersion(channel);
+            channelPool.release(channel).syncUninterruptibly();
+        }
+    }
+
+    /**
+     * Call a series of service methods, sending all requests before waiting for any response.
+     *
+     * @param outboundAdapters the objects used to assemble the service request byte streams
+     * @param inboundAdapters  the objects used to interpret the service response byte streams, in the order of the responses
+     * @throws IOException on serialization failure; on communication failure
+     */
+    protected void invoke(final List<OutboundAdapter> outboundAdapters, final List<InboundAdapter> inboundAdapters) throws IOException {
+        final Channel channel = channelPool.acquire().syncUninterruptibly().getNow();
+        try {
+            final CacheClientRequestHandler requestHandler = (CacheClientRequestHandler) channel.pipeline().last();
+            requestHandler.invoke(channel, outboundAdapters, inboundAdapters);
+        } finally {
+            updateProtocolVersion(channel);
             channelPool.release(channel).syncUninterruptibly();
         }
     }
 
+    /**
+     * Get the version of the distributed cache protocol negotiated with the service. A channel is only acquired
+     * to find the version before the first request; afterwards, the version negotiated on the channel used by the
+     * most recent request is returned.
+     *
+     * @return the negotiated protocol version
+     */
+    protected int getProtocolVersion() {
+        if (protocolVersion == 0) {
+            final Channel channel = channelPool.acquire().syncUninterruptibly().getNow();
+            try {
+                channel.pipeline().get(CacheClientHandshakeHandler.class).waitHandshakeComplete();
+            } finally {
+                updateProtocolVersion(channel);
+                channelPool.release(channel).syncUninterruptibly();
+            }
+        }
+        return protocolVersion;
+    }
+
+    private void updateProtocolVersion(final Channel channel) {
+        final CacheClientHandshakeHandler handshakeHandler = channel.pipeline().get(CacheClientHandshakeHandler.class);
+        if (handshakeHandler.isHandshakeComplete()) {
+            protocolVersion = handshakeHandler.getVersionNegotiator().getVersion();
+        }
+    }
+
     /**
      * Shutdown {@link ChannelPool} cleanly.
      */
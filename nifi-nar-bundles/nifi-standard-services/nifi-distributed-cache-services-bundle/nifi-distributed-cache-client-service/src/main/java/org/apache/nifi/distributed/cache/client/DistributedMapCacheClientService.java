@@ -26,6 +26,7 @@ import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.controller.AbstractControllerService;
 import org.apache.nifi.controller.ConfigurationContext;
 import org.apache.nifi.distributed.cache.client.adapter.AtomicCacheEntryInboundAdapter;
+import org.apache.nifi.distributed.cache.client.adapter.ContainsKeysInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.MapInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.MapValuesInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.SetInboundAdapter;
@@ -107,7 +108,7 @@ public class DistributedMapCacheClientService extends AbstractControllerService
     public void onEnabled(final ConfigurationContext context) {
         getLogger().debug("Enabling Map Cache Client Service [{}]", context.getName());
         this.versionNegotiatorFactory  = new StandardVersionNegotiatorFactory(
-                ProtocolVersion.V3.value(), ProtocolVersion.V2.value(), ProtocolVersion.V1.value());
+                ProtocolVersion.V4.value(), ProtocolVersion.V3.value(), ProtocolVersion.V2.value(), ProtocolVersion.V1.value());
         this.cacheClient = new NettyDistributedMapCacheClient(
                 context.getProperty(HOSTNAME).getValue(),
                 context.getProperty(PORT).asInteger(),
@@ -145,12 +146,30 @@ public class DistributedMapCacheClientService extends AbstractControllerService
         cacheClient.put(bytesKey, bytesValue);
     }
 
+    @Override
+    public <K, V> void putAll(final Map<K, V> keysAndValues, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+        final List<byte[]> bytesKeys = new ArrayList<>(keysAndValues.size());
+        final List<byte[]> bytesValues = new ArrayList<>(keysAndValues.size());
+        for (final Map.Entry<K, V> entry : keysAndValues.entrySet()) {
+            bytesKeys.add(CacheClientSerde.serialize(entry.getKey(), keySerializer));
+            bytesValues.add(CacheClientSerde.serialize(entry.getValue(), valueSerializer));
+        }
+        cacheClient.putAll(bytesKeys, bytesValues);
+    }
+
     @Override
     public <K> boolean containsKey(final K key, final Serializer<K> keySerializer) throws IOException {
         final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
         return cacheClient.containsKey(bytesKey);
     }
 
+    @Override
+    public <K> Map<K, Boolean> containsKeys(final Set<K> keys, final Serializer<K> keySerializer) throws IOException {
+        final Collection<byte[]> bytesKeys = CacheClientSerde.serialize(keys, keySerializer);
+        final ContainsKeysInboundAdapter<K> inboundAdapter = new ContainsKeysInboundAdapter<>(keys, new HashMap<>());
+        return cacheClient.containsKeys(bytesKeys, inboundAdapter);
+    }
+
     @Override
     public <K, V> V getAndPutIfAbsent(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer, final Deserializer<V> valueDeserializer) throws IOException {
         final byte[] bytesKey = CacheClientSerde.serialize(key, keySerializer);
@@ -18,6 +18,7 @@ package org.apache.nifi.distributed.cache.client;
 
 import org.apache.nifi.distributed.cache.client.adapter.AtomicCacheEntryInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.BooleanInboundAdapter;
+import org.apache.nifi.distributed.cache.client.adapter.ContainsKeysInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.LongInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.MapInboundAdapter;
 import org.apache.nifi.distributed.cache.client.adapter.MapValuesInboundAdapter;
@@ -31,7 +32,10 @@ import org.apache.nifi.remote.VersionNegotiatorFactory;
 import org.apache.nifi.ssl.SSLContextService;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -100,6 +104,52 @@ public class NettyDistributedMapCacheClient extends DistributedCacheClient {
         }
     }
 
+    /**
+     * Adds the specified keys and values to the cache, overwriting any values that are
+     * currently set. Servers that do not support protocol version 4 receive a pipelined
+     * series of individual put requests instead.
+     *
+     * @param keys   The keys to set
+     * @param values The values to associate with the keys, in the same order as the keys
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    public void putAll(final List<byte[]> keys, final List<byte[]> values) throws IOException {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        if (getProtocolVersion() >= ProtocolVersion.V4.value()) {
+            final OutboundAdapter outboundAdapter = new OutboundAdapter()
+                    .minimumVersion(ProtocolVersion.V4.value())
+                    .write(MapOperation.PUT_ALL.value())
+                    .write(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                outboundAdapter.write(keys.get(i)).write(values.get(i));
+            }
+            final BooleanInboundAdapter inboundAdapter = new BooleanInboundAdapter();
+            invoke(outboundAdapter, inboundAdapter);
+            if (!inboundAdapter.getResult()) {
+                throw new IOException("Server indicated 'putAll' operation failed");
+            }
+        } else {
+            final List<OutboundAdapter> outboundAdapters = new ArrayList<>(keys.size());
+            final List<BooleanInboundAdapter> inboundAdapters = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                outboundAdapters.add(new OutboundAdapter()
+                        .write(MapOperation.PUT.value())
+                        .write(keys.get(i))
+                        .write(values.get(i)));
+                inboundAdapters.add(new BooleanInboundAdapter());
+            }
+            invoke(outboundAdapters, new ArrayList<>(inboundAdapters));
+            for (final BooleanInboundAdapter inboundAdapter : inboundAdapters) {
+                if (!inboundAdapter.getResult()) {
+                    throw new IOException("Server indicated 'put' operation failed");
+                }
+            }
+        }
+    }
+
     /**
      * Determines if the given value is present in the cache and if so returns
      * <code>true</code>, else returns <code>false</code>
@@ -118,6 +168,40 @@ public class NettyDistributedMapCacheClient extends DistributedCacheClient {
         return inboundAdapter.getResult();
     }
 
+    /**
+     * Determines which of the given keys are present in the cache. Servers that do not support
+     * protocol version 4 receive a pipelined series of individual containsKey requests instead.
+     *
+     * @param <K>         the key type
+     * @param keys        the keys to look for in the cache
+     * @param mapAdapter  the reader used to deserialize the service result
+     * @return a map indicating, for each of the keys, whether it is present in the cache
+     * @throws IOException if unable to communicate with the remote instance
+     */
+    public <K> Map<K, Boolean> containsKeys(final Collection<byte[]> keys, final ContainsKeysInboundAdapter<K> mapAdapter) throws IOException {
+        if (keys.isEmpty()) {
+            return mapAdapter.getResult();
+        }
+
+        if (getProtocolVersion() >= ProtocolVersion.V4.value()) {
+            final OutboundAdapter outboundAdapter = new OutboundAdapter()
+                    .minimumVersion(ProtocolVersion.V4.value())
+                    .write(MapOperation.CONTAINS_KEYS.value())
+                    .write(keys);
+            invoke(outboundAdapter, mapAdapter);
+        } else {
+            // The response to a series of containsKey requests is the same as the response to a single containsKeys request
+            final List<OutboundAdapter> outboundAdapters = new ArrayList<>(keys.size());
+            for (final byte[] key : keys) {
+                outboundAdapters.add(new OutboundAdapter()
+                        .write(MapOperation.CONTAINS_KEY.value())
+                        .write(key));
+            }
+            invoke(outboundAdapters, Collections.singletonList(mapAdapter));
+        }
+        return mapAdapter.getResult();
+    }
+
     /**
      * Adds the specified key and value to the cache, if they are not already
      * present. If a value already exists in the cache for the given
@@ -160,7 +244,8 @@ public class NettyDistributedMapCacheClient extends DistributedCacheClient {
     }
 
     /**
-     * Returns the values in the cache for the given keys, if they exist.
+     * Returns the values in the cache for the given keys, if they exist. Servers that do not support
+     * protocol version 3 receive a pipelined series of individual get requests instead.
      *
      * @param <K>        the key type
      * @param <V>        the value type
@@ -170,11 +255,26 @@ public class NettyDistributedMapCacheClient extends DistributedCacheClient {
      * @throws IOException if unable to communicate with the remote instance
      */
     public <K, V> Map<K, V> subMap(Collection<byte[]> keys, final MapValuesInboundAdapter<K, V> mapAdapter) throws IOException {
-        final OutboundAdapter outboundAdapter = new OutboundAdapter()
-                .minimumVersion(ProtocolVersion.V3.value())
-                .write(MapOperation.SUBMAP.value())
-                .write(keys);
-        invoke(outboundAdapter, mapAdapter);
+        if (keys.isEmpty()) {
+            return mapAdapter.getResult();
+        }
+
+        if (getProtocolVersion() >= ProtocolVersion.V3.value()) {
+            final OutboundAdapter outboundAdapter = new OutboundAdapter()
+                    .minimumVersion(ProtocolVersion.V3.value())
+                    .write(MapOperation.SUBMAP.value())
+                    .write(keys);
+            invoke(outboundAdapter, mapAdapter);
+        } else {
+            // The response to a series of get requests is the same as the response to a single subMap request
+            final List<OutboundAdapter> outboundAdapters = new ArrayList<>(keys.size());
+            for (final byte[] key : keys) {
+                outboundAdapters.add(new OutboundAdapter()
+                        .write(MapOperation.GET.value())
+                        .write(key));
+            }
+            invoke(outboundAdapters, Collections.singletonList(mapAdapter));
+        }
         return mapAdapter.getResult();
     }
 
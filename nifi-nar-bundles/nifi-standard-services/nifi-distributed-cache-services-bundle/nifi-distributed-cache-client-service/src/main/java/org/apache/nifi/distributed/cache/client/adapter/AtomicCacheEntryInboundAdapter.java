@@ -107,4 +107,11 @@ public class AtomicCacheEntryInboundAdapter<K, V> implements InboundAdapter {
             }
         }
     }
+
+    @Override
+    public byte[] drainRemaining() {
+        final byte[] bytes = new byte[byteBuf.readableBytes()];
+        byteBuf.readBytes(bytes);
+        return bytes;
+    }
 }
@@ -68,4 +68,11 @@ public class BooleanInboundAdapter implements InboundAdapter {
             result = (b != 0);
         }
     }
+
+    @Override
+    public byte[] drainRemaining() {
+        final byte[] bytes = new byte[byteBuf.readableBytes()];
+        byteBuf.readBytes(bytes);
+        return bytes;
+    }
 }
@@ -44,4 +44,14 @@ public interface InboundAdapter {
      * @throws IOException on failure parsing the content
      */
     void dequeue() throws IOException;
+
+    /**
+     * Remove any queued content that was not consumed in parsing the response. When requests are pipelined, this content
+     * is the beginning of the response to the next request.
+     *
+     * @return the content that was not consumed
+     */
+    default byte[] drainRemaining() {
+        return new byte[0];
+    }
 }
@@ -67,4 +67,11 @@ public class LongInboundAdapter implements InboundAdapter {
             result = byteBuf.readLong();
         }
     }
+
+    @Override
+    public byte[] drainRemaining() {
+        final byte[] bytes = new byte[byteBuf.readableBytes()];
+        byteBuf.readBytes(bytes);
+        return bytes;
+    }
 }
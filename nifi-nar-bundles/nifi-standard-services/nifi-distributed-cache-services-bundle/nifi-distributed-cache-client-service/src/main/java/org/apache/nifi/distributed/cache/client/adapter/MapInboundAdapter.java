@@ -123,4 +123,11 @@ public class MapInboundAdapter<K, V> implements InboundAdapter {
             }
         }
     }
+
+    @Override
+    public byte[] drainRemaining() {
+        final byte[] bytes = new byte[byteBuf.readableBytes()];
+        byteBuf.readBytes(bytes);
+        return bytes;
+    }
 }
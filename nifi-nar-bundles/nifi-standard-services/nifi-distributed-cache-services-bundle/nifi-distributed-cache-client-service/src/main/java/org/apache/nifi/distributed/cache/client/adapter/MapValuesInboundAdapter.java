@@ -104,4 +104,11 @@ public class MapValuesInboundAdapter<K, V> implements InboundAdapter {
             }
         }
     }
+
+    @Override
+    public byte[] drainRemaining() {
+        final byte[] bytes = new byte[byteBuf.readableBytes()];
+        byteBuf.readBytes(bytes);
+        return bytes;
+    }
 }
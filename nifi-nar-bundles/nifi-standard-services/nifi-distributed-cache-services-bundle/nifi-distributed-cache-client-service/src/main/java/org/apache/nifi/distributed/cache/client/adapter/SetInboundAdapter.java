@@ -102,4 +102,11 @@ public class SetInboundAdapter<T> implements InboundAdapter {
             }
         }
     }
+
+    @Override
+    public byte[] drainRemaining() {
+        final byte[] bytes = new byte[byteBuf.readableBytes()];
+        byteBuf.readBytes(bytes);
+        return bytes;
+    }
 }
@@ -77,4 +77,11 @@ public class ValueInboundAdapter<T> implements InboundAdapter {
     public void dequeue() throws IOException {
         inboundToken.update(byteBuf, deserializer);
     }
+
+    @Override
+    public byte[] drainRemaining() {
+        final byte[] bytes = new byte[byteBuf.readableBytes()];
+        byteBuf.readBytes(bytes);
+        return bytes;
+    }
 }
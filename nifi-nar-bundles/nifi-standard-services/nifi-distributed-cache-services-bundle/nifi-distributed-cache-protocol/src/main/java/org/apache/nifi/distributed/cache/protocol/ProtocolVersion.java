@@ -22,7 +22,8 @@ package org.apache.nifi.distributed.cache.protocol;
 public enum ProtocolVersion {
     V1(1),
     V2(2),
-    V3(3);
+    V3(3),
+    V4(4);
 
     private final int version;
 
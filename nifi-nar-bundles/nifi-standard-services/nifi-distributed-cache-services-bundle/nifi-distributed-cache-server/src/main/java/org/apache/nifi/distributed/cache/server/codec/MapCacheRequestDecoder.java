@@ -47,6 +47,8 @@ public class MapCacheRequestDecoder extends CacheRequestDecoder {
 
         if (MapOperation.CONTAINS_KEY == cacheOperation) {
             request = readKeyRequest(cacheOperation, byteBuf);
+        } else if (MapOperation.CONTAINS_KEYS == cacheOperation) {
+            request = readSubMapRequest(cacheOperation, byteBuf);
         } else if (MapOperation.FETCH == cacheOperation) {
             request = readKeyRequest(cacheOperation, byteBuf);
         } else if (MapOperation.GET == cacheOperation) {
@@ -69,6 +71,8 @@ public class MapCacheRequestDecoder extends CacheRequestDecoder {
             request = readSubMapRequest(cacheOperation, byteBuf);
         } else if (MapOperation.PUT == cacheOperation) {
             request = readKeyValueRequest(cacheOperation, byteBuf);
+        } else if (MapOperation.PUT_ALL == cacheOperation) {
+            request = readPutAllRequest(cacheOperation, byteBuf);
         } else if (MapOperation.PUT_IF_ABSENT == cacheOperation) {
             request = readKeyValueRequest(cacheOperation, byteBuf);
         } else {
@@ -147,4 +151,31 @@ public class MapCacheRequestDecoder extends CacheRequestDecoder {
 
         return mapCacheRequest;
     }
+
+    private MapCacheRequest readPutAllRequest(final CacheOperation cacheOperation, final ByteBuf byteBuf) {
+        final OptionalInt entries = readInt(byteBuf);
+        if (!entries.isPresent()) {
+            return null;
+        }
+
+        final List<byte[]> keys = new ArrayList<>();
+        final List<byte[]> values = new ArrayList<>();
+        for (int i = 0; i < entries.getAsInt(); i++) {
+            final Optional<byte[]> key = readBytes(byteBuf);
+            if (!key.isPresent()) {
+                // Return null and retry on subsequent invocations
+                return null;
+            }
+
+            final Optional<byte[]> value = readBytes(byteBuf);
+            if (!value.isPresent()) {
+                return null;
+            }
+
+            keys.add(key.get());
+            values.add(value.get());
+        }
+
+        return new MapCacheRequest(cacheOperation, keys, values);
+    }
 }
@@ -67,6 +67,14 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final boolean success = mapCache.containsKey(key);
             writeResult(channelHandlerContext, cacheOperation, success);
+        } else if (MapOperation.CONTAINS_KEYS == cacheOperation) {
+            final List<byte[]> keys = mapCacheRequest.getKeys();
+            for (final byte[] key : keys) {
+                final boolean success = mapCache.containsKey(ByteBuffer.wrap(key));
+                channelHandlerContext.write(new CacheOperationResult(success));
+            }
+            log.debug("Map Cache Operation [{}] Keys [{}]", cacheOperation, keys.size());
+            channelHandlerContext.flush();
         } else if (MapOperation.GET == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final ByteBuffer cached = mapCache.get(key);
@@ -92,6 +100,15 @@ public class MapCacheRequestHandler extends SimpleChannelInboundHandler<MapCache
             final ByteBuffer value = ByteBuffer.wrap(mapCacheRequest.getValue());
             final MapPutResult result = mapCache.put(key, value);
             writeResult(channelHandlerContext, cacheOperation, result.isSuccessful());
+        } else if (MapOperation.PUT_ALL == cacheOperation) {
+            final List<byte[]> keys = mapCacheRequest.getKeys();
+            final List<byte[]> values = mapCacheRequest.getValues();
+            boolean success = true;
+            for (int i = 0; i < keys.size(); i++) {
+                final MapPutResult result = mapCache.put(ByteBuffer.wrap(keys.get(i)), ByteBuffer.wrap(values.get(i)));
+                success &= result.isSuccessful();
+            }
+            writeResult(channelHandlerContext, cacheOperation, success);
         } else if (MapOperation.PUT_IF_ABSENT == cacheOperation) {
             final ByteBuffer key = ByteBuffer.wrap(mapCacheRequest.getKey());
             final ByteBuffer value = ByteBuffer.wrap(mapCacheRequest.getValue());
@@ -18,15 +18,18 @@ package org.apache.nifi.distributed.cache.server.map;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import javax.net.ssl.SSLContext;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.SeeAlso;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.controller.ConfigurationContext;
 import org.apache.nifi.distributed.cache.server.CacheServer;
 import org.apache.nifi.distributed.cache.server.DistributedCacheServer;
 import org.apache.nifi.distributed.cache.server.EvictionPolicy;
 import org.apache.nifi.processor.DataUnit;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.ssl.SSLContextService;
 
 @Tags({"distributed", "cluster", "map", "cache", "server", "key/value"})
@@ -35,6 +38,37 @@ import org.apache.nifi.ssl.SSLContextService;
 @SeeAlso(classNames = {"org.apache.nifi.distributed.cache.client.DistributedMapCacheClientService", "org.apache.nifi.ssl.StandardSSLContextService"})
 public class DistributedMapCacheServer extends DistributedCacheServer {
 
+    public static final PropertyDescriptor CACHE_SHARDS = new PropertyDescriptor.Builder()
+        .name("cache-shards")
+        .displayName("Cache Shards")
+        .description("The number of independently locked segments that the cache entries are divided among. With a value of 1, all entries are held "
+            + "in a single structure and evicted in exact order. Higher values allow concurrent clients to access different keys without contending "
+            + "for a lock; the Maximum Cache Entries are then divided among the shards, each evicting on its own, and Least Frequently Used eviction "
+            + "is approximated. The number is rounded down to a power of two and limited so that each shard holds at least "
+            + ShardedMapCache.MIN_ENTRIES_PER_SHARD + " entries.")
+        .required(true)
+        .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+        .defaultValue("1")
+        .build();
+
+    public static final PropertyDescriptor PERSISTENCE_FORMAT = new PropertyDescriptor.Builder()
+        .name("persistence-format")
+        .displayName("Persistence Format")
+        .description("The format in which the cache is persisted to the Persistence Directory. Changing the format requires an empty Persistence Directory.")
+        .required(true)
+        .allowableValues(PersistenceFormat.class)
+        .defaultValue(PersistenceFormat.WRITE_AHEAD_LOG.getValue())
+        .dependsOn(PERSISTENCE_PATH)
+        .build();
+
+    @Override
+    protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
+        final List<PropertyDescriptor> properties = super.getSupportedPropertyDescriptors();
+        properties.add(CACHE_SHARDS);
+        properties.add(PERSISTENCE_FORMAT);
+        return properties;
+    }
+
     @Override
     protected CacheServer createCacheServer(final ConfigurationContext context) {
         final int port = context.getProperty(PORT).asInteger();
@@ -43,6 +77,8 @@ public class DistributedMapCacheServer extends DistributedCacheServer {
         final int maxSize = context.getProperty(MAX_CACHE_ENTRIES).asInteger();
         final String evictionPolicyName = context.getProperty(EVICTION_POLICY).getValue();
         final int maxReadSize = context.getProperty(MAX_READ_SIZE).asDataSize(DataUnit.B).intValue();
+        final int cacheShards = context.getProperty(CACHE_SHARDS).asInteger();
+        final PersistenceFormat persistenceFormat = PersistenceFormat.valueOf(context.getProperty(PERSISTENCE_FORMAT).getValue());
 
         final SSLContext sslContext;
         if (sslContextService == null) {
@@ -69,7 +105,7 @@ public class DistributedMapCacheServer extends DistributedCacheServer {
         try {
             final File persistenceDir = persistencePath == null ? null : new File(persistencePath);
 
-            return createMapCacheServer(port, maxSize, sslContext, evictionPolicy, persistenceDir, maxReadSize);
+            return createMapCacheServer(port, maxSize, sslContext, evictionPolicy, persistenceDir, maxReadSize, cacheShards, persistenceFormat);
         } catch (final Exception e) {
             throw new RuntimeException(e);
         }
@@ -81,7 +117,9 @@ public class DistributedMapCacheServer extends DistributedCacheServer {
             final SSLContext sslContext,
             final EvictionPolicy evictionPolicy,
             final File persistenceDir,
-            final int maxReadSize
+            final int maxReadSize,
+            final int cacheShards,
+            final PersistenceFormat persistenceFormat
     ) throws IOException {
         return new StandardMapCacheServer(
                 getLogger(),
@@ -91,7 +129,9 @@ public class DistributedMapCacheServer extends DistributedCacheServer {
                 maxSize,
                 evictionPolicy,
                 persistenceDir,
-                maxReadSize
+                maxReadSize,
+                cacheShards,
+                persistenceFormat
         );
     }
 }
@@ -0,0 +1,727 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * A MapCache that persists the contents of the cache that it wraps as a log of segment files. Every update is appended to the
+ * active segment, which is replaced by a new one once it reaches the maximum segment size. Appended records reach the operating
+ * system immediately, and the active segment is synced to disk periodically so that concurrent updates share the cost of an fsync.
+ * </p>
+ *
+ * <p>
+ * For each key, the location of the record holding its current value is tracked, which allows the number of live records in each
+ * segment to be known. A background task compacts segments in which fewer than half of the records are live by copying those records
+ * to the active segment and deleting the old segment. Unlike a checkpoint of the write-ahead log, the cost of compaction is proportional
+ * to the number of live records in the segments being compacted rather than to the size of the cache.
+ * </p>
+ *
+ * <p>
+ * Recovery maps each segment into memory in turn and replays its records. A record that is truncated or fails its checksum marks the
+ * end of the segment; if it occurs in the newest segment, that segment is truncated so that the damage is not carried forward.
+ * </p>
+ */
+public class LogStructuredMapCache implements MapCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogStructuredMapCache.class);
+
+    static final long DEFAULT_MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+    static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000L;
+    static final long DEFAULT_COMPACTION_INTERVAL_MILLIS = 30000L;
+
+    private static final long MAX_SEGMENT_SIZE_LIMIT = 1024L * 1024 * 1024;
+    private static final double COMPACTION_THRESHOLD = 0.5D;
+
+    private static final int MAGIC = 0x4E4D434C;
+    private static final int FORMAT_VERSION = 1;
+    private static final int SEGMENT_HEADER_LENGTH = 8;
+
+    // Each record is its body length and the CRC-32 of its body, followed by the body: type, key length, key, value length and value
+    private static final int RECORD_HEADER_LENGTH = 8;
+    private static final int MIN_RECORD_BODY_LENGTH = 9;
+    private static final byte DELETE = 0;
+    private static final byte PUT = 1;
+
+    private static final String LOCK_FILENAME = "segments.lock";
+    private static final Pattern SEGMENT_FILENAME_PATTERN = Pattern.compile("segment-(\\d+)\\.log");
+
+    private final MapCache wrapped;
+    private final String serviceIdentifier;
+    private final Path directory;
+    private final long maxSegmentSize;
+
+    private final FileChannel lockChannel;
+    private final FileLock directoryLock;
+
+    // All of the following are guarded by the log lock. Updates to the wrapped cache are made while holding it as well so that
+    // the order of the records in the log always matches the order in which the updates were applied.
+    private final Lock logLock = new ReentrantLock();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final Map<ByteBuffer, Long> locations = new HashMap<>();
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(8192);
+    private Segment activeSegment;
+    private boolean dirty;
+
+    private final ScheduledExecutorService executor;
+
+    public LogStructuredMapCache(final String serviceIdentifier, final File persistencePath, final MapCache cacheToWrap) throws IOException {
+        this(serviceIdentifier, persistencePath, cacheToWrap, DEFAULT_MAX_SEGMENT_SIZE, DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_COMPACTION_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param syncIntervalMillis how often to sync the active segment to disk, or 0 to sync only when a segment is completed
+     * @param compactionIntervalMillis how often to check for segments that need to be compacted, or 0 to compact only when {@link #compact()} is called
+     */
+    LogStructuredMapCache(final String serviceIdentifier, final File persistencePath, final MapCache cacheToWrap, final long maxSegmentSize,
+                          final long syncIntervalMillis, final long compactionIntervalMillis) throws IOException {
+        if (maxSegmentSize <= SEGMENT_HEADER_LENGTH || maxSegmentSize > MAX_SEGMENT_SIZE_LIMIT) {
+            throw new IllegalArgumentException("Maximum segment size must be between " + SEGMENT_HEADER_LENGTH + " and " + MAX_SEGMENT_SIZE_LIMIT + " bytes but was " + maxSegmentSize);
+        }
+
+        this.wrapped = cacheToWrap;
+        this.serviceIdentifier = serviceIdentifier;
+        this.directory = persistencePath.toPath();
+        this.maxSegmentSize = maxSegmentSize;
+
+        Files.createDirectories(directory);
+        if (Files.exists(directory.resolve("snapshot")) || Files.exists(directory.resolve("partition-0"))) {
+            throw new IOException("Persistence Directory " + directory + " contains a Write-Ahead Log and cannot be used for Log-Structured Segments");
+        }
+
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILENAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            directoryLock = lockChannel.tryLock();
+            if (directoryLock == null) {
+                throw new IOException("Persistence Directory " + directory + " is locked by another process");
+            }
+        } catch (final IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("Map Cache Persistence for " + serviceIdentifier);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (syncIntervalMillis > 0) {
+            executor.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        if (compactionIntervalMillis > 0) {
+            executor.scheduleWithFixedDelay(this::compactQuietly, compactionIntervalMillis, compactionIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LogStructuredMapCache[service id=" + serviceIdentifier + ", directory=" + directory + "]";
+    }
+
+    void restore() throws IOException {
+        logLock.lock();
+        try {
+            final TreeMap<Integer, Path> segmentPaths = new TreeMap<>();
+            try (final Stream<Path> children = Files.list(directory)) {
+                children.forEach(child -> {
+                    final Matcher matcher = SEGMENT_FILENAME_PATTERN.matcher(child.getFileName().toString());
+                    if (matcher.matches()) {
+                        segmentPaths.put(Integer.parseInt(matcher.group(1)), child);
+                    }
+                });
+            }
+
+            // Keep the records in the order in which their keys were last written so that the wrapped cache is rebuilt in that order
+            final Map<ByteBuffer, RecoveredRecord> recovered = new LinkedHashMap<>();
+            for (final Map.Entry<Integer, Path> entry : segmentPaths.entrySet()) {
+                final Segment segment = new Segment(entry.getKey(), entry.getValue());
+                segments.put(segment.id, segment);
+                recover(segment, recovered, entry.getKey().equals(segmentPaths.lastKey()));
+            }
+
+            activeSegment = createSegment(segments.isEmpty() ? 0 : segments.lastKey() + 1);
+
+            for (final RecoveredRecord record : recovered.values()) {
+                final MapPutResult putResult = wrapped.putIfAbsent(record.key, record.value);
+                locations.put(record.key, record.location);
+
+                final MapCacheRecord evicted = putResult.getEvicted();
+                if (evicted != null) {
+                    markDead(locations.remove(evicted.getKey()));
+                    writeBuffer.clear();
+                    bufferRecord(DELETE, evicted.getKey(), null);
+                    write();
+                }
+            }
+
+            logger.info("{} restored {} entries from {} segments", this, recovered.size(), segmentPaths.size());
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    private void recover(final Segment segment, final Map<ByteBuffer, RecoveredRecord> recovered, final boolean newestSegment) throws IOException {
+        long validLength = 0L;
+        final long size = Files.size(segment.path);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Segment " + segment.path + " is " + size + " bytes, which exceeds the maximum segment size");
+        }
+
+        // Records are read through a stream rather than a memory-mapped buffer, which cannot be unmapped before it is garbage collected
+        try (final InputStream fileIn = Files.newInputStream(segment.path);
+             final DataInputStream in = new DataInputStream(new BufferedInputStream(fileIn, 65536))) {
+
+            if (size >= SEGMENT_HEADER_LENGTH && in.readInt() == MAGIC && in.readInt() == FORMAT_VERSION) {
+                validLength = SEGMENT_HEADER_LENGTH;
+                final CRC32 checksum = new CRC32();
+                while (size - validLength >= RECORD_HEADER_LENGTH + MIN_RECORD_BODY_LENGTH) {
+                    final long offset = validLength;
+                    final int bodyLength = in.readInt();
+                    final int expectedChecksum = in.readInt();
+                    if (bodyLength < MIN_RECORD_BODY_LENGTH || bodyLength > size - offset - RECORD_HEADER_LENGTH) {
+                        break;
+                    }
+
+                    final byte[] bodyBytes = new byte[bodyLength];
+                    in.readFully(bodyBytes);
+                    checksum.reset();
+                    checksum.update(bodyBytes, 0, bodyLength);
+                    if ((int) checksum.getValue() != expectedChecksum) {
+                        break;
+                    }
+
+                    final ByteBuffer body = ByteBuffer.wrap(bodyBytes);
+                    final byte type = body.get();
+                    final ByteBuffer key = readBytes(body);
+                    final ByteBuffer value = readBytes(body);
+                    if (key == null || value == null) {
+                        break;
+                    }
+
+                    final RecoveredRecord previous = recovered.remove(key);
+                    if (previous != null) {
+                        markDead(previous.location);
+                    }
+
+                    segment.records++;
+                    if (type == PUT) {
+                        final long location = location(segment.id, offset);
+                        recovered.put(key, new RecoveredRecord(key, value, location));
+                        segment.liveRecords++;
+                    }
+
+                    validLength = offset + RECORD_HEADER_LENGTH + bodyLength;
+                }
+            }
+
+            segment.size = validLength;
+            if (validLength == size) {
+                return;
+            }
+        }
+
+        if (newestSegment) {
+            logger.warn("{} found an incomplete record at offset {} of {}; truncating the segment", this, validLength, segment.path);
+            try (final FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        } else {
+            logger.warn("{} found a corrupt record at offset {} of {}; the remainder of the segment will be ignored", this, validLength, segment.path);
+        }
+    }
+
+    private static ByteBuffer readBytes(final ByteBuffer body) {
+        if (body.remaining() < 4) {
+            return null;
+        }
+
+        final int length = body.getInt();
+        if (length < 0 || length > body.remaining()) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[length];
+        body.get(bytes);
+        return ByteBuffer.wrap(bytes);
+    }
+
+    @Override
+    public MapPutResult putIfAbsent(final ByteBuffer key, final ByteBuffer value) throws IOException {
+        logLock.lock();
+        try {
+            final MapPutResult putResult = wrapped.putIfAbsent(key, value);
+            logPut(key, value, putResult);
+            return putResult;
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    @Override
+    public MapPutResult put(final ByteBuffer key, final ByteBuffer value) throws IOException {
+        logLock.lock();
+        try {
+            final MapPutResult putResult = wrapped.put(key, value);
+            logPut(key, value, putResult);
+            return putResult;
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    @Override
+    public MapPutResult replace(final MapCacheRecord record) throws IOException {
+        logLock.lock();
+        try {
+            final MapPutResult putResult = wrapped.replace(record);
+            logPut(record.getKey(), record.getValue(), putResult);
+            return putResult;
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    private void logPut(final ByteBuffer key, final ByteBuffer value, final MapPutResult putResult) throws IOException {
+        if (!putResult.isSuccessful()) {
+            return;
+        }
+
+        writeBuffer.clear();
+        bufferRecord(PUT, key, value);
+        final MapCacheRecord evicted = putResult.getEvicted();
+        if (evicted != null) {
+            bufferRecord(DELETE, evicted.getKey(), null);
+        }
+
+        final long location = write();
+        markDead(locations.put(key, location));
+        if (evicted != null) {
+            markDead(locations.remove(evicted.getKey()));
+        }
+    }
+
+    @Override
+    public ByteBuffer remove(final ByteBuffer key) throws IOException {
+        logLock.lock();
+        try {
+            final ByteBuffer removed = wrapped.remove(key);
+            if (removed != null) {
+                writeBuffer.clear();
+                bufferRecord(DELETE, key, null);
+                write();
+                markDead(locations.remove(key));
+            }
+            return removed;
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    @Override
+    public Map<ByteBuffer, ByteBuffer> removeByPattern(final String regex) throws IOException {
+        logLock.lock();
+        try {
+            final Map<ByteBuffer, ByteBuffer> removed = wrapped.removeByPattern(regex);
+            if (removed != null && !removed.isEmpty()) {
+                writeBuffer.clear();
+                for (final ByteBuffer key : removed.keySet()) {
+                    bufferRecord(DELETE, key, null);
+                    markDead(locations.remove(key));
+                }
+                write();
+            }
+            return removed;
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(final ByteBuffer key) throws IOException {
+        return wrapped.containsKey(key);
+    }
+
+    @Override
+    public ByteBuffer get(final ByteBuffer key) throws IOException {
+        return wrapped.get(key);
+    }
+
+    @Override
+    public Map<ByteBuffer, ByteBuffer> subMap(final List<ByteBuffer> keys) throws IOException {
+        return wrapped.subMap(keys);
+    }
+
+    @Override
+    public MapCacheRecord fetch(final ByteBuffer key) throws IOException {
+        return wrapped.fetch(key);
+    }
+
+    @Override
+    public Set<ByteBuffer> keySet() throws IOException {
+        return wrapped.keySet();
+    }
+
+    /**
+     * Appends a record to the write buffer. Must be called while holding the log lock.
+     */
+    private void bufferRecord(final byte type, final ByteBuffer key, final ByteBuffer value) {
+        // Key and value must be backed by an array, as with the write-ahead log
+        final byte[] keyBytes = key.array();
+        final byte[] valueBytes = value == null ? new byte[0] : value.array();
+        final int bodyLength = 1 + 4 + keyBytes.length + 4 + valueBytes.length;
+
+        if (writeBuffer.remaining() < RECORD_HEADER_LENGTH + bodyLength) {
+            final ByteBuffer expanded = ByteBuffer.allocate(Math.max(writeBuffer.capacity() * 2, writeBuffer.position() + RECORD_HEADER_LENGTH + bodyLength));
+            writeBuffer.flip();
+            expanded.put(writeBuffer);
+            writeBuffer = expanded;
+        }
+
+        final int start = writeBuffer.position();
+        writeBuffer.putInt(bodyLength);
+        writeBuffer.putInt(0);
+        writeBuffer.put(type);
+        writeBuffer.putInt(keyBytes.length);
+        writeBuffer.put(keyBytes);
+        writeBuffer.putInt(valueBytes.length);
+        writeBuffer.put(valueBytes);
+
+        final CRC32 checksum = new CRC32();
+        checksum.update(writeBuffer.array(), start + RECORD_HEADER_LENGTH, bodyLength);
+        writeBuffer.putInt(start + 4, (int) checksum.getValue());
+
+        activeSegment.records++;
+        if (type == PUT) {
+            activeSegment.liveRecords++;
+        }
+    }
+
+    /**
+     * Writes the contents of the write buffer to the active segment, first starting a new segment if the active one would grow too large.
+     * Must be called while holding the log lock.
+     *
+     * @return the location of the first record that was written
+     */
+    private long write() throws IOException {
+        writeBuffer.flip();
+        if (activeSegment.size > SEGMENT_HEADER_LENGTH && activeSegment.size + writeBuffer.remaining() > maxSegmentSize) {
+            rollSegment();
+        }
+
+        final long location = location(activeSegment.id, activeSegment.size);
+        while (writeBuffer.hasRemaining()) {
+            activeSegment.size += activeSegment.channel.write(writeBuffer);
+        }
+
+        dirty = true;
+        return location;
+    }
+
+    private void rollSegment() throws IOException {
+        final Segment completed = activeSegment;
+        final Segment next = createSegment(completed.id + 1);
+
+        // The records in the write buffer were counted against the completed segment but are about to be written to the next one
+        int bufferedRecords = 0;
+        int bufferedLiveRecords = 0;
+        final ByteBuffer buffered = writeBuffer.duplicate();
+        while (buffered.hasRemaining()) {
+            final int bodyLength = buffered.getInt(buffered.position());
+            bufferedRecords++;
+            if (buffered.get(buffered.position() + RECORD_HEADER_LENGTH) == PUT) {
+                bufferedLiveRecords++;
+            }
+            buffered.position(buffered.position() + RECORD_HEADER_LENGTH + bodyLength);
+        }
+        completed.records -= bufferedRecords;
+        completed.liveRecords -= bufferedLiveRecords;
+        next.records += bufferedRecords;
+        next.liveRecords += bufferedLiveRecords;
+
+        completed.channel.force(false);
+        completed.channel.close();
+        completed.channel = null;
+        activeSegment = next;
+    }
+
+    private Segment createSegment(final int id) throws IOException {
+        final Segment segment = new Segment(id, directory.resolve("segment-" + id + ".log"));
+        segment.channel = FileChannel.open(segment.path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        final ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_LENGTH);
+        header.putInt(MAGIC);
+        header.putInt(FORMAT_VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            segment.channel.write(header);
+        }
+
+        segment.size = SEGMENT_HEADER_LENGTH;
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void markDead(final Long location) {
+        if (location == null) {
+            return;
+        }
+
+        final Segment segment = segments.get(segmentId(location));
+        if (segment != null) {
+            segment.liveRecords--;
+        }
+    }
+
+    private static long location(final int segmentId, final long offset) {
+        return ((long) segmentId << 32) | offset;
+    }
+
+    private static int segmentId(final long location) {
+        return (int) (location >>> 32);
+    }
+
+    /**
+     * Syncs any records that have been written to the active segment since the last sync
+     */
+    void sync() throws IOException {
+        final FileChannel channel;
+        logLock.lock();
+        try {
+            if (!dirty || activeSegment == null) {
+                return;
+            }
+
+            channel = activeSegment.channel;
+            dirty = false;
+        } finally {
+            logLock.unlock();
+        }
+
+        try {
+            // Sync outside of the lock so that updates are not held up; records written in the meantime are synced as well
+            channel.force(false);
+        } catch (final ClosedChannelException e) {
+            // The segment was completed, which syncs it
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (final Exception e) {
+            logger.warn("{} failed to sync active segment", this, e);
+        }
+    }
+
+    /**
+     * Compacts each completed segment in which fewer than half of the records hold the current value of a key
+     */
+    void compact() throws IOException {
+        final List<Segment> candidates = new ArrayList<>();
+        logLock.lock();
+        try {
+            for (final Segment segment : segments.values()) {
+                if (segment != activeSegment && (segment.liveRecords <= 0 || segment.liveRecords < segment.records * COMPACTION_THRESHOLD)) {
+                    candidates.add(segment);
+                }
+            }
+        } finally {
+            logLock.unlock();
+        }
+
+        for (final Segment segment : candidates) {
+            compact(segment);
+        }
+    }
+
+    private void compact(final Segment segment) throws IOException {
+        int copiedRecords = 0;
+        try (final InputStream fileIn = Files.newInputStream(segment.path);
+             final DataInputStream in = new DataInputStream(new BufferedInputStream(fileIn, 65536))) {
+
+            long offset = SEGMENT_HEADER_LENGTH;
+            in.skipBytes(SEGMENT_HEADER_LENGTH);
+            while (offset < segment.size) {
+                final int bodyLength = in.readInt();
+                in.readInt();
+                final byte type = in.readByte();
+                final ByteBuffer key = ByteBuffer.wrap(readBytes(in));
+                final ByteBuffer value = ByteBuffer.wrap(readBytes(in));
+
+                logLock.lock();
+                try {
+                    if (type == PUT) {
+                        final Long location = locations.get(key);
+                        if (location != null && location == location(segment.id, offset)) {
+                            writeBuffer.clear();
+                            bufferRecord(PUT, key, value);
+                            locations.put(key, write());
+                            copiedRecords++;
+                        }
+                    } else if (!locations.containsKey(key) && segments.firstKey() < segment.id) {
+                        // An older segment may still hold a value for this key that would otherwise come back to life on recovery
+                        writeBuffer.clear();
+                        bufferRecord(DELETE, key, null);
+                        write();
+                        copiedRecords++;
+                    }
+                } finally {
+                    logLock.unlock();
+                }
+
+                offset += RECORD_HEADER_LENGTH + bodyLength;
+            }
+        }
+
+        logLock.lock();
+        try {
+            // The copied records must be durable before the segment that held them is removed
+            activeSegment.channel.force(false);
+            segments.remove(segment.id);
+        } finally {
+            logLock.unlock();
+        }
+
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (final IOException e) {
+            // Replaying a segment whose records have all been copied to newer segments is harmless, so this is not an error
+            logger.warn("{} compacted {} but failed to delete it", this, segment.path, e);
+        }
+
+        logger.debug("{} compacted {} by copying {} of {} records", this, segment.path, copiedRecords, segment.records);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new EOFException("Invalid length " + length);
+        }
+
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (final Exception e) {
+            logger.warn("{} failed to compact segments", this, e);
+        }
+    }
+
+    /**
+     * @return the number of segment files, including the active segment
+     */
+    int getSegmentCount() {
+        logLock.lock();
+        try {
+            return segments.size();
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        logLock.lock();
+        try {
+            if (activeSegment != null && activeSegment.channel != null) {
+                activeSegment.channel.force(false);
+                activeSegment.channel.close();
+                activeSegment.channel = null;
+            }
+        } finally {
+            logLock.unlock();
+            try {
+                directoryLock.release();
+            } finally {
+                lockChannel.close();
+            }
+        }
+
+        wrapped.shutdown();
+    }
+
+    private static class Segment {
+        private final int id;
+        private final Path path;
+        private FileChannel channel;
+        private long size;
+        private int records;
+        private int liveRecords;
+
+        Segment(final int id, final Path path) {
+            this.id = id;
+            this.path = path;
+        }
+    }
+
+    private static class RecoveredRecord {
+        private final ByteBuffer key;
+        private final ByteBuffer value;
+        private final long location;
+
+        RecoveredRecord(final ByteBuffer key, final ByteBuffer value, final long location) {
+            this.key = key;
+            this.value = value;
+            this.location = location;
+        }
+    }
+}
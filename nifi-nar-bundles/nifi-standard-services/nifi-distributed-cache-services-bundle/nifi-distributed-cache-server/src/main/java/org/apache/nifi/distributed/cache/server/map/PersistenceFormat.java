@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import org.apache.nifi.components.DescribedValue;
+
+/**
+ * Format used to persist the contents of a map cache
+ */
+public enum PersistenceFormat implements DescribedValue {
+    WRITE_AHEAD_LOG("Write-Ahead Log", "Each update is written to a write-ahead log that is periodically checkpointed by writing out the entire cache"),
+
+    LOG_STRUCTURED("Log-Structured Segments", "Updates are appended to a series of segment files that are synced in batches and compacted in the background,"
+        + " so that the cost of persisting and recovering the cache does not grow with the number of updates. Not compatible with directories written"
+        + " using a Write-Ahead Log.");
+
+    private final String displayName;
+
+    private final String description;
+
+    PersistenceFormat(final String displayName, final String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    @Override
+    public String getValue() {
+        return name();
+    }
+
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+}
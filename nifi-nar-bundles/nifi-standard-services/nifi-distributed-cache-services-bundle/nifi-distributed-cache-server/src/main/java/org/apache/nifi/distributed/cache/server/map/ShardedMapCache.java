@@ -0,0 +1,485 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.apache.nifi.distributed.cache.server.EvictionPolicy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * A MapCache that spreads its entries across a number of independently locked shards, so that operations on
+ * different keys rarely contend with one another. Each shard keeps its entries in a {@link LinkedHashMap},
+ * ordered by insertion for FIFO and by access for LRU, so that finding the entry to evict is O(1).
+ * </p>
+ *
+ * <p>
+ * LFU is approximated: each shard records how often its keys are accessed in a small, periodically aged
+ * count-min sketch, and evicts whichever of the least recently used entries has the lowest estimated frequency.
+ * Unlike {@link SimpleMapCache}, the maximum number of entries is divided among the shards and eviction
+ * happens within the shard that a new key belongs to.
+ * </p>
+ */
+public class ShardedMapCache implements MapCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedMapCache.class);
+
+    static final int MIN_ENTRIES_PER_SHARD = 64;
+    static final int LFU_SAMPLE_SIZE = 8;
+
+    private final String serviceIdentifier;
+    private final Shard[] shards;
+    private final int shardMask;
+
+    public ShardedMapCache(final String serviceIdentifier, final int maxSize, final EvictionPolicy evictionPolicy, final int requestedShards) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum cache size must be positive but was " + maxSize);
+        }
+        if (requestedShards < 1) {
+            throw new IllegalArgumentException("Number of shards must be positive but was " + requestedShards);
+        }
+
+        this.serviceIdentifier = serviceIdentifier;
+
+        // Use a power of two so that the shard can be selected with a mask, and don't split a small cache so finely that its eviction order becomes meaningless
+        final int shardLimit = Math.min(requestedShards, Math.max(1, maxSize / MIN_ENTRIES_PER_SHARD));
+        final int shardCount = Integer.highestOneBit(shardLimit);
+
+        this.shards = new Shard[shardCount];
+        this.shardMask = shardCount - 1;
+        for (int i = 0; i < shardCount; i++) {
+            final int shardSize = maxSize / shardCount + (i < maxSize % shardCount ? 1 : 0);
+            shards[i] = new Shard(shardSize, evictionPolicy);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ShardedMapCache[service id=" + serviceIdentifier + ", shards=" + shards.length + "]";
+    }
+
+    int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * @return a snapshot of the statistics of each shard, in shard order
+     */
+    public List<ShardStatistics> getShardStatistics() {
+        final List<ShardStatistics> statistics = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            statistics.add(shards[i].getStatistics(i));
+        }
+        return statistics;
+    }
+
+    Shard getShard(final ByteBuffer key) {
+        return shards[spread(key.hashCode()) & shardMask];
+    }
+
+    private static int spread(final int hashCode) {
+        final int hash = hashCode * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public MapPutResult putIfAbsent(final ByteBuffer key, final ByteBuffer value) {
+        final Shard shard = getShard(key);
+        shard.lock();
+        try {
+            final MapCacheRecord existing = shard.access(key);
+            if (existing == null) {
+                return shard.put(key, value, null);
+            }
+
+            return new MapPutResult(false, existing, existing, null);
+        } finally {
+            shard.unlock();
+        }
+    }
+
+    @Override
+    public MapPutResult put(final ByteBuffer key, final ByteBuffer value) {
+        final Shard shard = getShard(key);
+        shard.lock();
+        try {
+            return shard.put(key, value, shard.entries.get(key));
+        } finally {
+            shard.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(final ByteBuffer key) {
+        return fetch(key) != null;
+    }
+
+    @Override
+    public ByteBuffer get(final ByteBuffer key) {
+        final MapCacheRecord record = fetch(key);
+        return record == null ? null : record.getValue();
+    }
+
+    @Override
+    public Map<ByteBuffer, ByteBuffer> subMap(final List<ByteBuffer> keys) {
+        if (keys == null) {
+            return null;
+        }
+
+        final Map<ByteBuffer, ByteBuffer> results = new HashMap<>(keys.size());
+        for (final ByteBuffer key : keys) {
+            results.put(key, get(key));
+        }
+        return results;
+    }
+
+    @Override
+    public ByteBuffer remove(final ByteBuffer key) {
+        final Shard shard = getShard(key);
+        shard.lock();
+        try {
+            final MapCacheRecord record = shard.entries.remove(key);
+            return record == null ? null : record.getValue();
+        } finally {
+            shard.unlock();
+        }
+    }
+
+    @Override
+    public Map<ByteBuffer, ByteBuffer> removeByPattern(final String regex) {
+        final Pattern pattern = Pattern.compile(regex);
+        final Map<ByteBuffer, ByteBuffer> removedMap = new HashMap<>();
+
+        for (final Shard shard : shards) {
+            shard.lock();
+            try {
+                final Iterator<MapCacheRecord> records = shard.entries.values().iterator();
+                while (records.hasNext()) {
+                    final MapCacheRecord record = records.next();
+                    // Key must be backed by something that array() returns a byte[] that can be converted into a String via the default charset
+                    if (pattern.matcher(new String(record.getKey().array())).matches()) {
+                        records.remove();
+                        removedMap.put(record.getKey(), record.getValue());
+                    }
+                }
+            } finally {
+                shard.unlock();
+            }
+        }
+
+        return removedMap;
+    }
+
+    @Override
+    public MapCacheRecord fetch(final ByteBuffer key) {
+        final Shard shard = getShard(key);
+        shard.lock();
+        try {
+            return shard.access(key);
+        } finally {
+            shard.unlock();
+        }
+    }
+
+    @Override
+    public MapPutResult replace(final MapCacheRecord inputRecord) {
+        final ByteBuffer key = inputRecord.getKey();
+        final Shard shard = getShard(key);
+        shard.lock();
+        try {
+            final MapCacheRecord existing = shard.access(key);
+            if (existing != null && inputRecord.getRevision() != existing.getRevision()) {
+                // The key has been updated by other operation.
+                return new MapPutResult(false, inputRecord, existing, null);
+            }
+
+            return shard.put(key, inputRecord.getValue(), existing);
+        } finally {
+            shard.unlock();
+        }
+    }
+
+    @Override
+    public Set<ByteBuffer> keySet() {
+        final Set<ByteBuffer> keys = new HashSet<>();
+        for (final Shard shard : shards) {
+            shard.lock();
+            try {
+                keys.addAll(shard.entries.keySet());
+            } finally {
+                shard.unlock();
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+    }
+
+    /**
+     * A portion of the cache along with the lock that guards it. All fields other than the contention count are accessed only while the lock is held.
+     */
+    static class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        private final LongAdder contentions = new LongAdder();
+        private final int maxSize;
+        private final LinkedHashMap<ByteBuffer, MapCacheRecord> entries;
+        private final FrequencySketch frequencySketch;
+
+        private long hits;
+        private long misses;
+        private long puts;
+        private long evictions;
+
+        Shard(final int maxSize, final EvictionPolicy evictionPolicy) {
+            this.maxSize = maxSize;
+            this.entries = new LinkedHashMap<>(16, 0.75f, evictionPolicy != EvictionPolicy.FIFO);
+            this.frequencySketch = evictionPolicy == EvictionPolicy.LFU ? new FrequencySketch(maxSize) : null;
+        }
+
+        /**
+         * Acquires the lock of the shard, counting the acquisition as contended if another thread holds the lock
+         */
+        void lock() {
+            if (!lock.tryLock()) {
+                contentions.increment();
+                lock.lock();
+            }
+        }
+
+        void unlock() {
+            lock.unlock();
+        }
+
+        MapCacheRecord access(final ByteBuffer key) {
+            final MapCacheRecord record = entries.get(key);
+            if (record == null) {
+                misses++;
+                return null;
+            }
+
+            hits++;
+            record.hit();
+            if (frequencySketch != null) {
+                frequencySketch.increment(key);
+            }
+            return record;
+        }
+
+        MapPutResult put(final ByteBuffer key, final ByteBuffer value, final MapCacheRecord existing) {
+            final long revision;
+            final MapCacheRecord evicted;
+            if (existing == null) {
+                revision = 0;
+                evicted = entries.size() < maxSize ? null : evict();
+            } else {
+                revision = existing.getRevision() + 1;
+                // Replacing the value makes this a new entry, which FIFO orders by the time of the update just as SimpleMapCache does
+                entries.remove(key);
+                evicted = null;
+            }
+
+            if (frequencySketch != null) {
+                frequencySketch.increment(key);
+            }
+
+            final MapCacheRecord record = new MapCacheRecord(key, value, revision);
+            entries.put(key, record);
+            puts++;
+
+            return new MapPutResult(true, record, existing, evicted);
+        }
+
+        private MapCacheRecord evict() {
+            final Iterator<MapCacheRecord> records = entries.values().iterator();
+            MapCacheRecord recordToEvict = records.next();
+
+            if (frequencySketch != null) {
+                // Among the least recently used entries, choose the one that has been used the least often
+                int lowestFrequency = frequencySketch.frequency(recordToEvict.getKey());
+                for (int i = 1; i < LFU_SAMPLE_SIZE && records.hasNext(); i++) {
+                    final MapCacheRecord candidate = records.next();
+                    final int frequency = frequencySketch.frequency(candidate.getKey());
+                    if (frequency < lowestFrequency) {
+                        recordToEvict = candidate;
+                        lowestFrequency = frequency;
+                    }
+                }
+            }
+
+            entries.remove(recordToEvict.getKey());
+            evictions++;
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Evicting value {} from cache", new String(recordToEvict.getValue().array(), StandardCharsets.UTF_8));
+            }
+
+            return recordToEvict;
+        }
+
+        ShardStatistics getStatistics(final int index) {
+            lock();
+            try {
+                return new ShardStatistics(index, entries.size(), maxSize, hits, misses, puts, evictions, contentions.sum());
+            } finally {
+                unlock();
+            }
+        }
+    }
+
+    /**
+     * A count-min sketch of 4-bit counters used to estimate how often a key has been accessed. Once the number of increments
+     * reaches ten times the width of the sketch, all counters are halved so that keys that were popular long ago can be evicted.
+     */
+    static class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int MAX_WIDTH = 1 << 20;
+        private static final int[] SEEDS = {0x97CB3127, 0xB1E6B5A7, 0x5E2D58D5, 0xC2B2AE35};
+
+        private final byte[] counters;
+        private final int widthMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(final int expectedEntries) {
+            final int width = Math.min(MAX_WIDTH, Integer.highestOneBit(Math.max(16, expectedEntries - 1) << 1));
+            this.counters = new byte[DEPTH * width];
+            this.widthMask = width - 1;
+            this.sampleSize = 10 * width;
+        }
+
+        void increment(final ByteBuffer key) {
+            final int hash = spread(key.hashCode());
+            boolean incremented = false;
+            for (int row = 0; row < DEPTH; row++) {
+                final int index = indexOf(hash, row);
+                if (counters[index] < MAX_COUNT) {
+                    counters[index]++;
+                    incremented = true;
+                }
+            }
+
+            if (incremented && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(final ByteBuffer key) {
+            final int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                frequency = Math.min(frequency, counters[indexOf(hash, row)]);
+            }
+            return frequency;
+        }
+
+        private int indexOf(final int hash, final int row) {
+            int rowHash = (hash + SEEDS[row]) * SEEDS[row];
+            rowHash ^= rowHash >>> 15;
+            return row * (widthMask + 1) + (rowHash & widthMask);
+        }
+
+        private void reset() {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = (byte) (counters[i] >>> 1);
+            }
+            additions /= 2;
+        }
+    }
+
+    /**
+     * Point-in-time statistics of a single shard. Contentions count the lock acquisitions that had to wait for another thread.
+     */
+    public static class ShardStatistics {
+        private final int shard;
+        private final int size;
+        private final int maxSize;
+        private final long hits;
+        private final long misses;
+        private final long puts;
+        private final long evictions;
+        private final long contentions;
+
+        public ShardStatistics(final int shard, final int size, final int maxSize, final long hits, final long misses, final long puts, final long evictions,
+                               final long contentions) {
+            this.shard = shard;
+            this.size = size;
+            this.maxSize = maxSize;
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.evictions = evictions;
+            this.contentions = contentions;
+        }
+
+        public int getShard() {
+            return shard;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getContentions() {
+            return contentions;
+        }
+
+        @Override
+        public String toString() {
+            return "ShardStatistics[shard=" + shard + ", size=" + size + ", maxSize=" + maxSize + ", hits=" + hits
+                + ", misses=" + misses + ", puts=" + puts + ", evictions=" + evictions + ", contentions=" + contentions + "]";
+        }
+    }
+}
@@ -40,6 +40,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Standard Map Cache Server implemented using Netty
@@ -47,8 +49,12 @@ import java.util.Arrays;
 public class StandardMapCacheServer extends EventCacheServer {
     private final EventServerFactory eventServerFactory;
 
+    private final ComponentLog log;
+
     private final MapCache cache;
 
+    private final ShardedMapCache shardedCache;
+
     public StandardMapCacheServer(
             final ComponentLog log,
             final String identifier,
@@ -58,13 +64,54 @@ public class StandardMapCacheServer extends EventCacheServer {
             final EvictionPolicy evictionPolicy,
             final File persistencePath,
             final int maxReadLength
+    ) throws IOException {
+        this(log, identifier, sslContext, port, maxCacheEntries, evictionPolicy, persistencePath, maxReadLength, 1);
+    }
+
+    public StandardMapCacheServer(
+            final ComponentLog log,
+            final String identifier,
+            final SSLContext sslContext,
+            final int port,
+            final int maxCacheEntries,
+            final EvictionPolicy evictionPolicy,
+            final File persistencePath,
+            final int maxReadLength,
+            final int cacheShards
+    ) throws IOException {
+        this(log, identifier, sslContext, port, maxCacheEntries, evictionPolicy, persistencePath, maxReadLength, cacheShards, PersistenceFormat.WRITE_AHEAD_LOG);
+    }
+
+    public StandardMapCacheServer(
+            final ComponentLog log,
+            final String identifier,
+            final SSLContext sslContext,
+            final int port,
+            final int maxCacheEntries,
+            final EvictionPolicy evictionPolicy,
+            final File persistencePath,
+            final int maxReadLength,
+            final int cacheShards,
+            final PersistenceFormat persistenceFormat
     ) throws IOException {
         super(log, port);
+        this.log = log;
 
-        final MapCache simpleCache = new SimpleMapCache(identifier, maxCacheEntries, evictionPolicy);
+        final MapCache simpleCache;
+        if (cacheShards > 1) {
+            shardedCache = new ShardedMapCache(identifier, maxCacheEntries, evictionPolicy, cacheShards);
+            simpleCache = shardedCache;
+        } else {
+            shardedCache = null;
+            simpleCache = new SimpleMapCache(identifier, maxCacheEntries, evictionPolicy);
+        }
 
         if (persistencePath == null) {
             this.cache = simpleCache;
+        } else if (persistenceFormat == PersistenceFormat.LOG_STRUCTURED) {
+            final LogStructuredMapCache logStructuredCache = new LogStructuredMapCache(identifier, persistencePath, simpleCache);
+            logStructuredCache.restore();
+            this.cache = logStructuredCache;
         } else {
             final PersistentMapCache persistentCache = new PersistentMapCache(identifier, persistencePath, simpleCache);
             persistentCache.restore();
@@ -100,6 +147,10 @@ public class StandardMapCacheServer extends EventCacheServer {
 
     @Override
     public void stop() {
+        if (shardedCache != null && log.isDebugEnabled()) {
+            log.debug("Stopping with shard statistics {}", getShardStatistics());
+        }
+
         try {
             cache.shutdown();
         } catch (final IOException e) {
@@ -109,6 +160,13 @@ public class StandardMapCacheServer extends EventCacheServer {
         }
     }
 
+    /**
+     * @return the size, hit, miss, put, eviction and lock contention counts of each shard of the cache, or an empty List if the cache is not sharded
+     */
+    public List<ShardedMapCache.ShardStatistics> getShardStatistics() {
+        return shardedCache == null ? Collections.emptyList() : shardedCache.getShardStatistics();
+    }
+
     @Override
     protected EventServer createEventServer() {
         return eventServerFactory.getEventServer();
@@ -116,6 +174,7 @@ public class StandardMapCacheServer extends EventCacheServer {
 
     protected VersionNegotiator createVersionNegotiator() {
         return new StandardVersionNegotiator(
+                ProtocolVersion.V4.value(),
                 ProtocolVersion.V3.value(),
                 ProtocolVersion.V2.value(),
                 ProtocolVersion.V1.value()
@@ -36,6 +36,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -157,6 +158,31 @@ public class DistributedMapCacheTest {
         }
     }
 
+    @Test
+    public void testPutAll() throws IOException {
+        final Map<String, String> map = new HashMap<>();
+        for (int i = 0; (i < 3); ++i) {
+            map.put("keyPutAll" + i, "valuePutAll" + i);
+        }
+        client.putAll(map, serializer, serializer);
+        for (int i = 0; (i < 3); ++i) {
+            assertEquals("valuePutAll" + i, client.get("keyPutAll" + i, serializer, deserializer));
+        }
+    }
+
+    @Test
+    public void testContainsKeys() throws IOException {
+        client.put("keyContainsKeys0", "valueContainsKeys0", serializer, serializer);
+        client.put("keyContainsKeys1", "valueContainsKeys1", serializer, serializer);
+        final Set<String> keys = new HashSet<>(Arrays.asList("keyContainsKeys0", "keyContainsKeys1", "keyContainsKeys2"));
+        final Map<String, Boolean> contains = client.containsKeys(keys, serializer);
+        assertEquals(3, contains.size());
+        assertTrue(contains.get("keyContainsKeys0"));
+        assertTrue(contains.get("keyContainsKeys1"));
+        assertFalse(contains.get("keyContainsKeys2"));
+        assertTrue(client.containsKeys(new HashSet<>(), serializer).isEmpty());
+    }
+
     @Test
     public void testRemoveByPatternAndGet() throws IOException {
         final String key = "keyRemoveByPatternAndGet";
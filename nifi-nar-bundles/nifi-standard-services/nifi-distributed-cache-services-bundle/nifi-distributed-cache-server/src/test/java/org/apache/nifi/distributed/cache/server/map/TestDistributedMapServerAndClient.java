@@ -49,7 +49,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -226,7 +228,7 @@ public class TestDistributedMapServerAndClient {
         // Create a server that only supports protocol version 1.
         server = new DistributedMapCacheServer() {
             @Override
-            protected CacheServer createMapCacheServer(int port, int maxSize, SSLContext sslContext, EvictionPolicy evictionPolicy, File persistenceDir, int maxReadSize) throws IOException {
+            protected CacheServer createMapCacheServer(int port, int maxSize, SSLContext sslContext, EvictionPolicy evictionPolicy, File persistenceDir, int maxReadSize, int cacheShards, PersistenceFormat persistenceFormat) throws IOException {
                 return new StandardMapCacheServer(getLogger(), getIdentifier(), sslContext, port, maxSize, evictionPolicy, persistenceDir, maxReadSize) {
                     @Override
                     protected StandardVersionNegotiator createVersionNegotiator() {
@@ -272,6 +274,23 @@ public class TestDistributedMapServerAndClient {
             assertThrows(UnsupportedOperationException.class, () -> client.keySet(stringDeserializer));
             assertThrows(UnsupportedOperationException.class, () -> client.removeAndGet("v.*", stringSerializer, stringDeserializer));
             assertThrows(UnsupportedOperationException.class, () ->client.removeByPatternAndGet("v.*", stringDeserializer, stringDeserializer));
+
+            // Batch operations fall back to pipelined single-key requests
+            final Map<String, String> batch = new HashMap<>();
+            batch.put("test-batch-1", "batch1");
+            batch.put("test-batch-2", "batch2");
+            client.putAll(batch, stringSerializer, stringSerializer);
+
+            final Set<String> batchKeys = new HashSet<>(Arrays.asList("test-batch-1", "test-batch-2", "test-batch-3"));
+            final Map<String, Boolean> containsKeys = client.containsKeys(batchKeys, stringSerializer);
+            assertTrue(containsKeys.get("test-batch-1"));
+            assertTrue(containsKeys.get("test-batch-2"));
+            assertFalse(containsKeys.get("test-batch-3"));
+
+            final Map<String, String> subMap = client.subMap(batchKeys, stringSerializer, stringDeserializer);
+            assertEquals("batch1", subMap.get("test-batch-1"));
+            assertEquals("batch2", subMap.get("test-batch-2"));
+            assertNull(subMap.get("test-batch-3"));
         } finally {
             client.close();
         }
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import org.apache.nifi.distributed.cache.server.EvictionPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestLogStructuredMapCache {
+
+    @TempDir
+    Path persistenceDirectory;
+
+    @Test
+    public void testRestore() throws Exception {
+        LogStructuredMapCache cache = createCache(100, 1024 * 1024);
+        cache.put(wrap("key1"), wrap("value1-0"));
+        cache.put(wrap("key1"), wrap("value1-1"));
+        cache.putIfAbsent(wrap("key2"), wrap("value2"));
+        cache.put(wrap("key3"), wrap("value3"));
+        cache.remove(wrap("key3"));
+        cache.put(wrap("pattern-1"), wrap("value"));
+        cache.put(wrap("pattern-2"), wrap("value"));
+        cache.removeByPattern("pattern-.*");
+        cache.replace(new MapCacheRecord(wrap("key4"), wrap("value4")));
+        cache.shutdown();
+
+        cache = createCache(100, 1024 * 1024);
+        assertEquals(3, cache.keySet().size());
+        assertEquals("value1-1", string(cache.get(wrap("key1"))));
+        assertEquals("value2", string(cache.get(wrap("key2"))));
+        assertEquals("value4", string(cache.get(wrap("key4"))));
+        assertNull(cache.get(wrap("key3")));
+        cache.shutdown();
+    }
+
+    @Test
+    public void testEvictedEntriesNotRestored() throws Exception {
+        LogStructuredMapCache cache = createCache(2, 1024 * 1024);
+        cache.put(wrap("key1"), wrap("value1"));
+        cache.put(wrap("key2"), wrap("value2"));
+        cache.put(wrap("key3"), wrap("value3"));
+        cache.shutdown();
+
+        cache = createCache(2, 1024 * 1024);
+        assertNull(cache.get(wrap("key1")));
+        assertEquals("value2", string(cache.get(wrap("key2"))));
+        assertEquals("value3", string(cache.get(wrap("key3"))));
+        cache.shutdown();
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        LogStructuredMapCache cache = createCache(1000, 1024);
+        for (int i = 0; i < 500; i++) {
+            cache.put(wrap("key" + (i % 10)), wrap("value-" + i));
+        }
+        cache.put(wrap("removed"), wrap("value"));
+        cache.remove(wrap("removed"));
+
+        final int segmentCount = cache.getSegmentCount();
+        assertTrue(segmentCount > 10);
+
+        cache.compact();
+        assertTrue(cache.getSegmentCount() < 4, "Expected segments to be compacted but " + cache.getSegmentCount() + " remain");
+        cache.shutdown();
+
+        cache = createCache(1000, 1024);
+        assertEquals(10, cache.keySet().size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("value-" + (490 + i), string(cache.get(wrap("key" + i))));
+        }
+        assertNull(cache.get(wrap("removed")));
+        cache.shutdown();
+    }
+
+    @Test
+    public void testTruncatedRecordIgnored() throws Exception {
+        LogStructuredMapCache cache = createCache(100, 1024 * 1024);
+        cache.put(wrap("key1"), wrap("value1"));
+        cache.put(wrap("key2"), wrap("value2"));
+        cache.shutdown();
+
+        final Path segment = persistenceDirectory.resolve("segment-0.log");
+        try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        cache = createCache(100, 1024 * 1024);
+        assertEquals("value1", string(cache.get(wrap("key1"))));
+        assertNull(cache.get(wrap("key2")));
+        cache.put(wrap("key3"), wrap("value3"));
+        cache.shutdown();
+
+        cache = createCache(100, 1024 * 1024);
+        assertEquals(2, cache.keySet().size());
+        assertEquals("value3", string(cache.get(wrap("key3"))));
+        cache.shutdown();
+    }
+
+    @Test
+    public void testWriteAheadLogDirectoryRejected() throws Exception {
+        Files.createFile(persistenceDirectory.resolve("snapshot"));
+        assertThrows(IOException.class, () -> createCache(100, 1024 * 1024));
+    }
+
+    @Test
+    public void testDuplicatePersistenceDirectory() throws Exception {
+        final LogStructuredMapCache cache = createCache(100, 1024 * 1024);
+        try {
+            assertThrows(OverlappingFileLockException.class, () -> createCache(100, 1024 * 1024));
+        } finally {
+            cache.shutdown();
+        }
+    }
+
+    private LogStructuredMapCache createCache(final int maxSize, final long maxSegmentSize) throws IOException {
+        final File directory = persistenceDirectory.toFile();
+        final MapCache simpleCache = new SimpleMapCache("simpleCache", maxSize, EvictionPolicy.FIFO);
+        final LogStructuredMapCache cache = new LogStructuredMapCache("logStructuredCache", directory, simpleCache, maxSegmentSize, 0, 0);
+        cache.restore();
+        return cache;
+    }
+
+    private static ByteBuffer wrap(final String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String string(final ByteBuffer buffer) {
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+}
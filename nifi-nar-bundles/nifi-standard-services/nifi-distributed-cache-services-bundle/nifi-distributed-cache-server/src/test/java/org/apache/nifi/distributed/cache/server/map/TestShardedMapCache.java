@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import org.apache.nifi.distributed.cache.server.EvictionPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestShardedMapCache {
+
+    @Test
+    public void testShardCount() {
+        assertEquals(1, new ShardedMapCache("service-id", 2, EvictionPolicy.FIFO, 16).getShardCount());
+        assertEquals(4, new ShardedMapCache("service-id", 10000, EvictionPolicy.FIFO, 6).getShardCount());
+        assertEquals(16, new ShardedMapCache("service-id", 10000, EvictionPolicy.FIFO, 16).getShardCount());
+        assertEquals(2, new ShardedMapCache("service-id", 200, EvictionPolicy.FIFO, 16).getShardCount());
+    }
+
+    @Test
+    public void testBasicOperations() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 1000, EvictionPolicy.LRU, 8);
+
+        final ByteBuffer key = wrap("key1");
+        assertNull(cache.get(key));
+        assertNull(cache.fetch(key));
+
+        MapPutResult putResult = cache.put(key, wrap("value1-0"));
+        assertTrue(putResult.isSuccessful());
+        assertNull(putResult.getExisting());
+        assertEquals(0, putResult.getRecord().getRevision());
+
+        putResult = cache.put(key, wrap("value1-1"));
+        assertTrue(putResult.isSuccessful());
+        assertEquals("value1-0", string(putResult.getExisting().getValue()));
+        assertEquals(1, putResult.getRecord().getRevision());
+
+        putResult = cache.putIfAbsent(key, wrap("value1-2"));
+        assertFalse(putResult.isSuccessful());
+        assertEquals("value1-1", string(putResult.getExisting().getValue()));
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(wrap("other-" + i), wrap("value"));
+        }
+        assertEquals(101, cache.keySet().size());
+        assertTrue(cache.containsKey(key));
+
+        final Map<ByteBuffer, ByteBuffer> results = cache.subMap(Arrays.asList(key, wrap("missing")));
+        assertEquals(2, results.size());
+        assertEquals("value1-1", string(results.get(key)));
+        assertNull(results.get(wrap("missing")));
+
+        final Map<ByteBuffer, ByteBuffer> removed = cache.removeByPattern("other-1.*");
+        assertEquals(11, removed.size());
+        assertEquals(90, cache.keySet().size());
+
+        assertEquals("value1-1", string(cache.remove(key)));
+        assertNull(cache.remove(key));
+        assertEquals(0, cache.put(key, wrap("value1-3")).getRecord().getRevision(), "Revision should start from 0");
+    }
+
+    @Test
+    public void testOptimisticLock() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 1000, EvictionPolicy.FIFO, 4);
+
+        final ByteBuffer key = wrap("key1");
+        assertTrue(cache.replace(new MapCacheRecord(key, wrap("valueC1-0"))).isSuccessful(), "Replace should succeed if there's no existing key.");
+        assertFalse(cache.replace(new MapCacheRecord(key, wrap("valueC2-0"))).isSuccessful());
+
+        final MapCacheRecord c1 = cache.fetch(key);
+        final MapCacheRecord c2 = cache.fetch(key);
+        final MapPutResult putResult = cache.replace(new MapCacheRecord(key, wrap("valueC1-1"), c1.getRevision()));
+        assertTrue(putResult.isSuccessful());
+        assertEquals(1, putResult.getRecord().getRevision());
+        assertFalse(cache.replace(new MapCacheRecord(key, wrap("valueC2-1"), c2.getRevision())).isSuccessful());
+    }
+
+    @Test
+    public void testFifoEviction() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 3, EvictionPolicy.FIFO, 1);
+        cache.put(wrap("key1"), wrap("value1"));
+        cache.put(wrap("key2"), wrap("value2"));
+        cache.put(wrap("key3"), wrap("value3"));
+
+        // reading does not affect the order in which entries are evicted
+        cache.get(wrap("key1"));
+        final MapPutResult putResult = cache.put(wrap("key4"), wrap("value4"));
+        assertNotNull(putResult.getEvicted());
+        assertEquals("key1", string(putResult.getEvicted().getKey()));
+
+        // updating an existing key does not evict anything, but moves it to the back of the queue
+        assertNull(cache.put(wrap("key2"), wrap("value2-1")).getEvicted());
+        assertEquals("key3", string(cache.put(wrap("key5"), wrap("value5")).getEvicted().getKey()));
+    }
+
+    @Test
+    public void testLruEviction() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 3, EvictionPolicy.LRU, 1);
+        cache.put(wrap("key1"), wrap("value1"));
+        cache.put(wrap("key2"), wrap("value2"));
+        cache.put(wrap("key3"), wrap("value3"));
+
+        cache.get(wrap("key1"));
+        assertEquals("key2", string(cache.put(wrap("key4"), wrap("value4")).getEvicted().getKey()));
+        assertTrue(cache.containsKey(wrap("key3")));
+        assertEquals("key1", string(cache.put(wrap("key5"), wrap("value5")).getEvicted().getKey()));
+    }
+
+    @Test
+    public void testLfuEviction() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 3, EvictionPolicy.LFU, 1);
+        cache.put(wrap("key1"), wrap("value1"));
+        cache.put(wrap("key2"), wrap("value2"));
+        cache.put(wrap("key3"), wrap("value3"));
+
+        for (int i = 0; i < 5; i++) {
+            cache.get(wrap("key1"));
+            cache.get(wrap("key3"));
+        }
+        cache.get(wrap("key2"));
+        cache.get(wrap("key1"));
+
+        // key2 was accessed more recently than key3, but far less often
+        assertEquals("key2", string(cache.put(wrap("key4"), wrap("value4")).getEvicted().getKey()));
+    }
+
+    @Test
+    public void testMaxSizeDividedAmongShards() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 256, EvictionPolicy.LRU, 4);
+        assertEquals(4, cache.getShardCount());
+
+        int evictions = 0;
+        for (int i = 0; i < 300; i++) {
+            if (cache.put(wrap("key" + i), wrap("value")).getEvicted() != null) {
+                evictions++;
+            }
+        }
+
+        assertEquals(256, cache.keySet().size());
+        assertEquals(44, evictions);
+        assertNotNull(cache.get(wrap("key299")));
+        assertNull(cache.get(wrap("missing")));
+    }
+
+    @Test
+    public void testShardStatistics() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 256, EvictionPolicy.LRU, 4);
+        for (int i = 0; i < 300; i++) {
+            cache.put(wrap("key" + i), wrap("value"));
+        }
+        cache.get(wrap("key299"));
+        cache.get(wrap("missing"));
+
+        final List<ShardedMapCache.ShardStatistics> statistics = cache.getShardStatistics();
+        assertEquals(4, statistics.size());
+        assertEquals(256, statistics.stream().mapToInt(ShardedMapCache.ShardStatistics::getMaxSize).sum());
+        assertEquals(256, statistics.stream().mapToInt(ShardedMapCache.ShardStatistics::getSize).sum());
+        assertEquals(300, statistics.stream().mapToLong(ShardedMapCache.ShardStatistics::getPuts).sum());
+        assertEquals(44, statistics.stream().mapToLong(ShardedMapCache.ShardStatistics::getEvictions).sum());
+        assertEquals(1, statistics.stream().mapToLong(ShardedMapCache.ShardStatistics::getHits).sum());
+        assertEquals(1, statistics.stream().mapToLong(ShardedMapCache.ShardStatistics::getMisses).sum());
+        assertEquals(0, statistics.stream().mapToLong(ShardedMapCache.ShardStatistics::getContentions).sum());
+    }
+
+    @Test
+    public void testShardContention() throws Exception {
+        final ShardedMapCache cache = new ShardedMapCache("service-id", 256, EvictionPolicy.LRU, 4);
+        final ByteBuffer key = wrap("key");
+        final ShardedMapCache.Shard shard = cache.getShard(key);
+
+        final Thread reader;
+        shard.lock();
+        try {
+            reader = new Thread(() -> cache.get(key));
+            reader.start();
+            while (!shard.lock.hasQueuedThread(reader)) {
+                Thread.sleep(1L);
+            }
+        } finally {
+            shard.unlock();
+        }
+        reader.join();
+
+        final List<ShardedMapCache.ShardStatistics> statistics = cache.getShardStatistics();
+        assertEquals(1, statistics.stream().mapToLong(ShardedMapCache.ShardStatistics::getContentions).sum());
+        assertEquals(1, statistics.stream().mapToLong(ShardedMapCache.ShardStatistics::getMisses).sum());
+    }
+
+    private static ByteBuffer wrap(final String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String string(final ByteBuffer buffer) {
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.avro;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * <p>
+ * Holds the objects that are needed to read or write Avro data for a given schema and that are expensive enough to create that they
+ * should not be created for every FlowFile: the mapping between Avro schemas and NiFi Record Schemas, Datum Readers and Writers,
+ * and Binary Decoders.
+ * </p>
+ *
+ * <p>
+ * Record Schemas for Avro schemas that are embedded in the content are keyed by the fingerprint of the schema text, so that the mapping
+ * is computed only once no matter how many FlowFiles carry the schema. Datum Readers and Writers are keyed by the identity of the Avro
+ * Schema, which callers obtain from a cache, so that lookups do not need to traverse the schema. This class is thread-safe.
+ * </p>
+ */
+public class AvroCodecCache {
+    private final Cache<Long, CachedRecordSchema> recordSchemasByFingerprint;
+    private final Cache<List<RecordField>, Schema> avroSchemasByFields;
+    private final Cache<Schema, DatumReader<GenericRecord>> datumReaders;
+    private final Cache<Schema, DatumWriter<GenericRecord>> datumWriters;
+    private final BlockingQueue<BinaryDecoder> decoderPool;
+
+    public AvroCodecCache(final int maxSchemas, final int decoderPoolSize) {
+        recordSchemasByFingerprint = Caffeine.newBuilder().maximumSize(maxSchemas).build();
+        avroSchemasByFields = Caffeine.newBuilder().maximumSize(maxSchemas).build();
+        datumReaders = Caffeine.newBuilder().weakKeys().maximumSize(maxSchemas).build();
+        datumWriters = Caffeine.newBuilder().weakKeys().maximumSize(maxSchemas).build();
+        decoderPool = new LinkedBlockingQueue<>(Math.max(1, decoderPoolSize));
+    }
+
+    /**
+     * Returns the Record Schema that corresponds to the given Avro Schema, as would be returned by {@link AvroTypeUtil#createSchema(Schema)}.
+     *
+     * @param avroSchema the Avro Schema
+     * @param schemaText the JSON text that the Avro Schema was parsed from, such as the schema in the header of an Avro data file
+     * @return the corresponding Record Schema
+     */
+    public RecordSchema getRecordSchema(final Schema avroSchema, final byte[] schemaText) {
+        final long fingerprint = SchemaNormalization.fingerprint64(schemaText);
+        final CachedRecordSchema cached = recordSchemasByFingerprint.getIfPresent(fingerprint);
+
+        // Guard against fingerprint collisions by verifying that the schema is the same before using the cached mapping
+        if (cached != null && cached.avroSchema.equals(avroSchema)) {
+            return cached.recordSchema;
+        }
+
+        final RecordSchema recordSchema = AvroTypeUtil.createSchema(avroSchema);
+        recordSchemasByFingerprint.put(fingerprint, new CachedRecordSchema(avroSchema, recordSchema));
+        return recordSchema;
+    }
+
+    /**
+     * Returns the Avro Schema to use for the given Record Schema, as would be returned by {@link AvroTypeUtil#extractAvroSchema(RecordSchema)}.
+     * Schemas that are not defined by Avro schema text are built from the fields of the Record Schema, and the result is cached per distinct
+     * list of fields.
+     *
+     * @param recordSchema the Record Schema
+     * @return the Avro Schema
+     */
+    public Schema getAvroSchema(final RecordSchema recordSchema) {
+        final boolean avroText = recordSchema.getSchemaFormat().isPresent() && recordSchema.getSchemaFormat().get().equals(AvroTypeUtil.AVRO_SCHEMA_FORMAT)
+            && recordSchema.getSchemaText().isPresent();
+        if (avroText) {
+            return AvroTypeUtil.extractAvroSchema(recordSchema);
+        }
+
+        return avroSchemasByFields.get(recordSchema.getFields(), fields -> AvroTypeUtil.extractAvroSchema(recordSchema));
+    }
+
+    /**
+     * @param avroSchema the schema of the data to read; must be an instance that is itself cached by the caller
+     * @return a Datum Reader for the given schema. The Datum Reader may be shared by multiple threads, so its schema must not be changed.
+     */
+    public DatumReader<GenericRecord> getDatumReader(final Schema avroSchema) {
+        return datumReaders.get(avroSchema, NonCachingDatumReader::new);
+    }
+
+    /**
+     * @param avroSchema the schema of the data to write; must be an instance that is itself cached by the caller
+     * @return a Datum Writer for the given schema. The Datum Writer may be shared by multiple threads, so its schema must not be
+     * changed to a different one.
+     */
+    public DatumWriter<GenericRecord> getDatumWriter(final Schema avroSchema) {
+        return datumWriters.get(avroSchema, GenericDatumWriter::new);
+    }
+
+    /**
+     * Obtains a Binary Decoder for the given InputStream, reusing a previously recycled Decoder if one is available.
+     *
+     * @param in the stream to decode
+     * @return a Binary Decoder that reads from the given stream
+     */
+    public BinaryDecoder getDecoder(final InputStream in) {
+        return DecoderFactory.get().binaryDecoder(in, decoderPool.poll());
+    }
+
+    /**
+     * Makes the given Decoder available for reuse. The Decoder must not be used by the caller afterward.
+     *
+     * @param decoder the decoder to recycle
+     */
+    public void recycle(final BinaryDecoder decoder) {
+        if (decoder != null) {
+            decoderPool.offer(decoder);
+        }
+    }
+
+    public void clear() {
+        recordSchemasByFingerprint.invalidateAll();
+        avroSchemasByFields.invalidateAll();
+        datumReaders.invalidateAll();
+        datumWriters.invalidateAll();
+        decoderPool.clear();
+    }
+
+    private static class CachedRecordSchema {
+        private final Schema avroSchema;
+        private final RecordSchema recordSchema;
+
+        private CachedRecordSchema(final Schema avroSchema, final RecordSchema recordSchema) {
+            this.avroSchema = avroSchema;
+            this.recordSchema = recordSchema;
+        }
+    }
+}
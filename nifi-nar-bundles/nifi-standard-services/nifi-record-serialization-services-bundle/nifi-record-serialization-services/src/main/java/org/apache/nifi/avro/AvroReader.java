@@ -22,6 +22,7 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.apache.avro.Schema;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
 import org.apache.nifi.annotation.lifecycle.OnEnabled;
 import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
@@ -60,7 +61,11 @@ public class AvroReader extends SchemaRegistryService implements RecordReaderFac
             .required(true)
             .build();
 
+    // Decoders are only needed for content without an embedded schema; this bounds how many idle ones are retained
+    private static final int DECODER_POOL_SIZE = 32;
+
     private LoadingCache<String, Schema> compiledAvroSchemaCache;
+    private volatile AvroCodecCache codecCache;
 
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
@@ -75,6 +80,15 @@ public class AvroReader extends SchemaRegistryService implements RecordReaderFac
         compiledAvroSchemaCache = Caffeine.newBuilder()
                 .maximumSize(cacheSize)
                 .build(schemaText -> new Schema.Parser().parse(schemaText));
+
+        codecCache = new AvroCodecCache(cacheSize, DECODER_POOL_SIZE);
+    }
+
+    @OnDisabled
+    public void cleanup() {
+        if (codecCache != null) {
+            codecCache.clear();
+        }
     }
 
     @Override
@@ -97,7 +111,7 @@ public class AvroReader extends SchemaRegistryService implements RecordReaderFac
     public RecordReader createRecordReader(final Map<String, String> variables, final InputStream in, final long inputLength, final ComponentLog logger) throws IOException, SchemaNotFoundException {
         final String schemaAccessStrategy = getConfigurationContext().getProperty(getSchemaAcessStrategyDescriptor()).getValue();
         if (EMBEDDED_AVRO_SCHEMA.getValue().equals(schemaAccessStrategy)) {
-            return new AvroReaderWithEmbeddedSchema(in);
+            return new AvroReaderWithEmbeddedSchema(in, codecCache);
         } else {
             final RecordSchema recordSchema = getSchema(variables, in, null);
 
@@ -108,16 +122,16 @@ public class AvroReader extends SchemaRegistryService implements RecordReaderFac
                     if (textOption.isPresent()) {
                         avroSchema = compiledAvroSchemaCache.get(textOption.get());
                     } else {
-                        avroSchema = AvroTypeUtil.extractAvroSchema(recordSchema);
+                        avroSchema = codecCache.getAvroSchema(recordSchema);
                     }
                 } else {
-                    avroSchema = AvroTypeUtil.extractAvroSchema(recordSchema);
+                    avroSchema = codecCache.getAvroSchema(recordSchema);
                 }
             } catch (final Exception e) {
                 throw new SchemaNotFoundException("Failed to compile Avro Schema", e);
             }
 
-            return new AvroReaderWithExplicitSchema(in, recordSchema, avroSchema);
+            return new AvroReaderWithExplicitSchema(in, recordSchema, avroSchema, codecCache);
         }
     }
 
@@ -18,6 +18,7 @@
 package org.apache.nifi.avro;
 
 import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileConstants;
 import org.apache.avro.file.DataFileStream;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.nifi.serialization.record.RecordSchema;
@@ -30,12 +31,26 @@ public class AvroReaderWithEmbeddedSchema extends AvroRecordReader {
     private final InputStream in;
     private final Schema avroSchema;
     private final RecordSchema recordSchema;
+    private GenericRecord genericRecord;
 
     public AvroReaderWithEmbeddedSchema(final InputStream in) throws IOException {
+        this(in, null);
+    }
+
+    /**
+     * @param in the stream to read from
+     * @param codecCache the cache from which to obtain the Record Schema for the embedded schema, or <code>null</code> to always create it
+     */
+    public AvroReaderWithEmbeddedSchema(final InputStream in, final AvroCodecCache codecCache) throws IOException {
         this.in = in;
         dataFileStream = new DataFileStream<>(in, new NonCachingDatumReader<>());
         this.avroSchema = dataFileStream.getSchema();
-        recordSchema = AvroTypeUtil.createSchema(avroSchema);
+
+        if (codecCache == null) {
+            recordSchema = AvroTypeUtil.createSchema(avroSchema);
+        } else {
+            recordSchema = codecCache.getRecordSchema(avroSchema, dataFileStream.getMeta(DataFileConstants.SCHEMA));
+        }
     }
 
     @Override
@@ -45,12 +60,14 @@ public class AvroReaderWithEmbeddedSchema extends AvroRecordReader {
     }
 
     @Override
-    protected GenericRecord nextAvroRecord() {
+    protected GenericRecord nextAvroRecord() throws IOException {
         if (!dataFileStream.hasNext()) {
             return null;
         }
 
-        return dataFileStream.next();
+        // The values of each record are copied when it is converted to a Record, so the GenericRecord can be reused for the next one
+        genericRecord = dataFileStream.next(genericRecord);
+        return genericRecord;
     }
 
     @Override
@@ -37,15 +37,27 @@ public class AvroReaderWithExplicitSchema extends AvroRecordReader {
     private final InputStream in;
     private final RecordSchema recordSchema;
     private final DatumReader<GenericRecord> datumReader;
+    private final AvroCodecCache codecCache;
     private BinaryDecoder decoder;
     private GenericRecord genericRecord;
     private DataFileStream<GenericRecord> dataFileStream;
 
     public AvroReaderWithExplicitSchema(final InputStream in, final RecordSchema recordSchema, final Schema avroSchema) throws IOException {
+        this(in, recordSchema, avroSchema, null);
+    }
+
+    /**
+     * @param in the stream to read from
+     * @param recordSchema the schema of the records
+     * @param avroSchema the Avro schema of the data; when a codec cache is given, this must be an instance that is reused for other FlowFiles
+     * @param codecCache the cache from which to obtain the Datum Reader and Decoder, or <code>null</code> to always create them
+     */
+    public AvroReaderWithExplicitSchema(final InputStream in, final RecordSchema recordSchema, final Schema avroSchema, final AvroCodecCache codecCache) throws IOException {
         this.in = in;
         this.recordSchema = recordSchema;
+        this.codecCache = codecCache;
 
-        datumReader = new NonCachingDatumReader<>(avroSchema);
+        datumReader = codecCache == null ? new NonCachingDatumReader<>(avroSchema) : codecCache.getDatumReader(avroSchema);
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         TeeInputStream teeInputStream = new TeeInputStream(in, baos);
         // Try to parse as a DataFileStream, if it works, glue the streams back together and delegate calls to the DataFileStream
@@ -57,7 +69,7 @@ public class AvroReaderWithExplicitSchema extends AvroRecordReader {
             // conjunction with SequenceInputStream to glue the two streams back together for future reading
             ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());
             SequenceInputStream sis = new SequenceInputStream(bais, in);
-            decoder = DecoderFactory.get().binaryDecoder(sis, null);
+            decoder = codecCache == null ? DecoderFactory.get().binaryDecoder(sis, null) : codecCache.getDecoder(sis);
         }
         if (dataFileStream != null) {
             // Verify the schemas are the same
@@ -74,22 +86,33 @@ public class AvroReaderWithExplicitSchema extends AvroRecordReader {
 
     @Override
     public void close() throws IOException {
+        if (codecCache != null && decoder != null) {
+            codecCache.recycle(decoder);
+            decoder = null;
+        }
+
         in.close();
     }
 
     @Override
     protected GenericRecord nextAvroRecord() throws IOException {
         // If the avro file had an embedded schema that matched the explicit schema, delegate to the DataFileStream for reading records
+        // The values of each record are copied when it is converted to a Record, so the GenericRecord can be reused for the next one
         if (dataFileStream != null) {
-            return dataFileStream.hasNext() ? dataFileStream.next() : null;
+            if (!dataFileStream.hasNext()) {
+                return null;
+            }
+
+            genericRecord = dataFileStream.next(genericRecord);
+            return genericRecord;
         }
 
-        if (decoder.isEnd()) {
+        if (decoder == null || decoder.isEnd()) {
             return null;
         }
 
         try {
-            genericRecord = datumReader.read(null, decoder);
+            genericRecord = datumReader.read(genericRecord, decoder);
         } catch (final EOFException eof) {
             return null;
         }
@@ -103,6 +103,7 @@ public class AvroRecordSetWriter extends SchemaRegistryRecordSetWriter implement
 
     private LoadingCache<String, Schema> compiledAvroSchemaCache;
     private volatile BlockingQueue<BinaryEncoder> encoderPool;
+    private volatile AvroCodecCache codecCache;
 
 
     @OnEnabled
@@ -114,6 +115,8 @@ public class AvroRecordSetWriter extends SchemaRegistryRecordSetWriter implement
 
         final int capacity = context.getProperty(ENCODER_POOL_SIZE).evaluateAttributeExpressions().asInteger();
         encoderPool = new LinkedBlockingQueue<>(capacity);
+
+        codecCache = new AvroCodecCache(cacheSize, 0);
     }
 
     @OnDisabled
@@ -121,6 +124,9 @@ public class AvroRecordSetWriter extends SchemaRegistryRecordSetWriter implement
         if (encoderPool != null) {
             encoderPool.clear();
         }
+        if (codecCache != null) {
+            codecCache.clear();
+        }
     }
 
     @Override
@@ -136,19 +142,20 @@ public class AvroRecordSetWriter extends SchemaRegistryRecordSetWriter implement
                     if (textOption.isPresent()) {
                         avroSchema = compiledAvroSchemaCache.get(textOption.get());
                     } else {
-                        avroSchema = AvroTypeUtil.extractAvroSchema(recordSchema);
+                        avroSchema = codecCache.getAvroSchema(recordSchema);
                     }
                 } else {
-                    avroSchema = AvroTypeUtil.extractAvroSchema(recordSchema);
+                    avroSchema = codecCache.getAvroSchema(recordSchema);
                 }
             } catch (final Exception e) {
                 throw new SchemaNotFoundException("Failed to compile Avro Schema", e);
             }
 
             if (AVRO_EMBEDDED.getValue().equals(strategyValue)) {
-                return new WriteAvroResultWithSchema(avroSchema, out, getCodecFactory(compressionFormat));
+                return new WriteAvroResultWithSchema(avroSchema, out, getCodecFactory(compressionFormat), codecCache.getDatumWriter(avroSchema));
             } else {
-                return new WriteAvroResultWithExternalSchema(avroSchema, recordSchema, getSchemaAccessWriter(recordSchema, variables), out, encoderPool, getLogger());
+                return new WriteAvroResultWithExternalSchema(avroSchema, recordSchema, getSchemaAccessWriter(recordSchema, variables), out, encoderPool, getLogger(),
+                    codecCache.getDatumWriter(avroSchema));
             }
         } catch (final SchemaNotFoundException e) {
             throw new ProcessException("Could not determine the Avro Schema to use for writing the content", e);
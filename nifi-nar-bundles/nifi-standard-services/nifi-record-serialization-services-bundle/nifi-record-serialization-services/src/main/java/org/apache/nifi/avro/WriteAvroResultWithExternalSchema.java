@@ -47,6 +47,12 @@ public class WriteAvroResultWithExternalSchema extends AbstractRecordSetWriter {
 
     public WriteAvroResultWithExternalSchema(final Schema avroSchema, final RecordSchema recordSchema, final SchemaAccessWriter schemaAccessWriter,
                                              final OutputStream out, final BlockingQueue<BinaryEncoder> recycleQueue, final ComponentLog logger) {
+        this(avroSchema, recordSchema, schemaAccessWriter, out, recycleQueue, logger, new GenericDatumWriter<>(avroSchema));
+    }
+
+    public WriteAvroResultWithExternalSchema(final Schema avroSchema, final RecordSchema recordSchema, final SchemaAccessWriter schemaAccessWriter,
+                                             final OutputStream out, final BlockingQueue<BinaryEncoder> recycleQueue, final ComponentLog logger,
+                                             final DatumWriter<GenericRecord> datumWriter) {
         super(out);
         this.recordSchema = recordSchema;
         this.schemaAccessWriter = schemaAccessWriter;
@@ -62,7 +68,7 @@ public class WriteAvroResultWithExternalSchema extends AbstractRecordSetWriter {
 
         encoder = EncoderFactory.get().blockingBinaryEncoder(buffered, reusableEncoder);
 
-        datumWriter = new GenericDatumWriter<>(avroSchema);
+        this.datumWriter = datumWriter;
     }
 
     @Override
@@ -27,6 +27,7 @@ import org.apache.avro.file.CodecFactory;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DatumWriter;
 import org.apache.nifi.serialization.AbstractRecordSetWriter;
 import org.apache.nifi.serialization.record.Record;
 
@@ -36,10 +37,19 @@ public class WriteAvroResultWithSchema extends AbstractRecordSetWriter {
     private final Schema schema;
 
     public WriteAvroResultWithSchema(final Schema schema, final OutputStream out, final CodecFactory codec) throws IOException {
+        this(schema, out, codec, new GenericDatumWriter<>(schema));
+    }
+
+    /**
+     * @param schema the schema to write with
+     * @param out the stream to write to
+     * @param codec the codec to compress the data with
+     * @param datumWriter the Datum Writer for the given schema, which may be shared with other writers of the same schema instance
+     */
+    public WriteAvroResultWithSchema(final Schema schema, final OutputStream out, final CodecFactory codec, final DatumWriter<GenericRecord> datumWriter) throws IOException {
         super(out);
         this.schema = schema;
 
-        final GenericDatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>(schema);
         dataFileWriter = new DataFileWriter<>(datumWriter);
         dataFileWriter.setCodec(codec);
         dataFileWriter.create(schema, out);
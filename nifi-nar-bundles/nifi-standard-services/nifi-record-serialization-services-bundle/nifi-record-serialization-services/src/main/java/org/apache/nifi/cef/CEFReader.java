@@ -143,6 +143,10 @@ public final class CEFReader extends SchemaRegistryService implements RecordRead
                 .fromPropertyDescriptor(SCHEMA_CACHE)
                 .dependsOn(SCHEMA_ACCESS_STRATEGY, SchemaInferenceUtil.INFER_SCHEMA)
                 .build());
+        properties.add(new PropertyDescriptor.Builder()
+                .fromPropertyDescriptor(SchemaInferenceUtil.SHAPE_CACHE_SIZE)
+                .dependsOn(SCHEMA_ACCESS_STRATEGY, SchemaInferenceUtil.INFER_SCHEMA)
+                .build());
 
         properties.add(ACCEPT_EMPTY_EXTENSIONS);
         return properties;
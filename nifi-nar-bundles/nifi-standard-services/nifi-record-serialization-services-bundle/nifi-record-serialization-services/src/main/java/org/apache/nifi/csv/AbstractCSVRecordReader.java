@@ -17,12 +17,24 @@
 
 package org.apache.nifi.csv;
 
+import org.apache.commons.csv.CSVRecord;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.nifi.serialization.record.util.DataTypeUtils;
 import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.function.Supplier;
 
 abstract public class AbstractCSVRecordReader implements RecordReader {
@@ -132,6 +144,72 @@ abstract public class AbstractCSVRecordReader implements RecordReader {
         return value;
     }
 
+    /**
+     * Determines the fields that correspond to the columns of the given header map, using the field from the schema where one exists
+     * and a String field otherwise.
+     */
+    protected final List<RecordField> getRecordFields(final Map<String, Integer> headerMap) {
+        // Use a SortedMap keyed by index of the field so that we can get a List of field names in the correct order
+        final SortedMap<Integer, String> sortedMap = new TreeMap<>();
+        for (final Map.Entry<String, Integer> entry : headerMap.entrySet()) {
+            sortedMap.put(entry.getValue(), entry.getKey());
+        }
+
+        final List<RecordField> fields = new ArrayList<>();
+        final List<String> rawFieldNames = new ArrayList<>(sortedMap.values());
+        for (final String rawFieldName : rawFieldNames) {
+            final Optional<RecordField> option = schema.getField(rawFieldName);
+            if (option.isPresent()) {
+                fields.add(option.get());
+            } else {
+                fields.add(new RecordField(rawFieldName, RecordFieldType.STRING.getDataType()));
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * Converts a row parsed by Apache Commons CSV into a Record. This method does not depend on any mutable state of the reader,
+     * so it may be called concurrently for different rows.
+     */
+    protected final Record createRecord(final CSVRecord csvRecord, final List<RecordField> recordFields, final boolean coerceTypes, final boolean dropUnknownFields) {
+        final int numFieldNames = recordFields.size();
+        final Map<String, Object> values = new LinkedHashMap<>(recordFields.size() * 2);
+        for (int i = 0; i < csvRecord.size(); i++) {
+            final String rawValue = csvRecord.get(i);
+
+            final String rawFieldName;
+            final DataType dataType;
+            if (i >= numFieldNames) {
+                if (!dropUnknownFields) {
+                    values.put("unknown_field_index_" + i, rawValue);
+                }
+
+                continue;
+            } else {
+                final RecordField recordField = recordFields.get(i);
+                rawFieldName = recordField.getFieldName();
+                dataType = recordField.getDataType();
+            }
+
+
+            final Object value;
+            if (coerceTypes) {
+                value = convert(rawValue, dataType, rawFieldName);
+            } else {
+                // The CSV Reader is going to return all fields as Strings, because CSV doesn't have any way to
+                // dictate a field type. As a result, we will use the schema that we have to attempt to convert
+                // the value into the desired type if it's a simple type.
+                value = convertSimpleIfPossible(rawValue, dataType, rawFieldName);
+            }
+
+            values.put(rawFieldName, value);
+        }
+
+        return new MapRecord(schema, values, coerceTypes, dropUnknownFields);
+    }
+
     private String trim(String value) {
         return (value.length() > 1) && value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value.length() - 1) : value;
     }
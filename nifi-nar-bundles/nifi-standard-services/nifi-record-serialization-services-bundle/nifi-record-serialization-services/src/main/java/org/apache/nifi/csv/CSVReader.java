@@ -20,6 +20,7 @@ package org.apache.nifi.csv;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
 import org.apache.nifi.annotation.lifecycle.OnEnabled;
 import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
@@ -27,6 +28,7 @@ import org.apache.nifi.context.PropertyContext;
 import org.apache.nifi.controller.ConfigurationContext;
 import org.apache.nifi.expression.ExpressionLanguageScope;
 import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.schema.access.SchemaAccessStrategy;
 import org.apache.nifi.schema.access.SchemaAccessUtils;
 import org.apache.nifi.schema.access.SchemaNotFoundException;
@@ -49,6 +51,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 @Tags({"csv", "parse", "record", "row", "reader", "delimited", "comma", "separated", "values"})
 @CapabilityDescription("Parses CSV-formatted data, returning each row in the CSV file as a separate record. "
@@ -79,6 +83,22 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
             .required(true)
             .build();
 
+    public static final PropertyDescriptor PARSING_THREADS = new PropertyDescriptor.Builder()
+            .name("csv-reader-parsing-threads")
+            .displayName("Parsing Threads")
+            .description("The number of threads to use for parsing the content of a single FlowFile. When greater than 1, the content of large FlowFiles is split "
+                    + "into chunks at record boundaries, the chunks are parsed concurrently, and the records are returned in their original order. Small FlowFiles "
+                    + "are always parsed by the thread that reads the records. The threads are shared by all components that use this Controller Service.")
+            .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .defaultValue("1")
+            .dependsOn(CSV_PARSER, APACHE_COMMONS_CSV)
+            .required(true)
+            .build();
+
+    // content smaller than this is not worth splitting into chunks
+    private static final long MIN_PARALLEL_INPUT_LENGTH = 2L * ParallelCSVRecordReader.DEFAULT_CHUNK_SIZE;
+
     private volatile ConfigurationContext context;
 
     private volatile String csvParser;
@@ -88,6 +108,8 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
     private volatile boolean firstLineIsHeader;
     private volatile boolean ignoreHeader;
     private volatile String charSet;
+    private volatile int parsingThreads;
+    private volatile ExecutorService parsingPool;
 
     // it will be initialized only if there are no dynamic csv formatting properties
     private volatile CSVFormat csvFormat;
@@ -96,6 +118,11 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
         properties.add(CSV_PARSER);
+        properties.add(PARSING_THREADS);
+        properties.add(new PropertyDescriptor.Builder()
+            .fromPropertyDescriptor(SchemaInferenceUtil.SHAPE_CACHE_SIZE)
+            .dependsOn(SchemaAccessUtils.SCHEMA_ACCESS_STRATEGY, SchemaInferenceUtil.INFER_SCHEMA)
+            .build());
         properties.add(DateTimeUtils.DATE_FORMAT);
         properties.add(DateTimeUtils.TIME_FORMAT);
         properties.add(DateTimeUtils.TIMESTAMP_FORMAT);
@@ -138,6 +165,19 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
         } else {
             this.csvFormat = null;
         }
+
+        this.parsingThreads = context.getProperty(PARSING_THREADS).asInteger();
+        if (APACHE_COMMONS_CSV.getValue().equals(csvParser) && parsingThreads > 1) {
+            this.parsingPool = new ForkJoinPool(parsingThreads);
+        }
+    }
+
+    @OnDisabled
+    public void shutdownParsingPool() {
+        if (parsingPool != null) {
+            parsingPool.shutdown();
+            parsingPool = null;
+        }
     }
 
     @Override
@@ -154,7 +194,11 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
             format = CSVUtils.createCSVFormat(context, variables);
         }
 
-        if (APACHE_COMMONS_CSV.getValue().equals(csvParser)) {
+        final ExecutorService pool = this.parsingPool;
+        if (APACHE_COMMONS_CSV.getValue().equals(csvParser) && pool != null && inputLength >= MIN_PARALLEL_INPUT_LENGTH) {
+            return new ParallelCSVRecordReader(in, logger, schema, format, firstLineIsHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat, charSet,
+                pool, ParallelCSVRecordReader.DEFAULT_CHUNK_SIZE, 2 * parsingThreads);
+        } else if (APACHE_COMMONS_CSV.getValue().equals(csvParser)) {
             return new CSVRecordReader(in, logger, schema, format, firstLineIsHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat, charSet);
         } else if (JACKSON_CSV.getValue().equals(csvParser)) {
             return new JacksonCSVRecordReader(in, logger, schema, format, firstLineIsHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat, charSet);
@@ -170,7 +214,8 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
         } else if (allowableValue.equalsIgnoreCase(SchemaInferenceUtil.INFER_SCHEMA.getValue())) {
             final RecordSourceFactory<CSVRecordAndFieldNames> sourceFactory = (variables, in) -> new CSVRecordSource(in, context, variables);
             final SchemaInferenceEngine<CSVRecordAndFieldNames> inference = new CSVSchemaInference(new TimeValueInference(dateFormat, timeFormat, timestampFormat));
-            return new InferSchemaAccessStrategy<>(sourceFactory, inference, getLogger());
+            final SchemaAccessStrategy inferenceStrategy = new InferSchemaAccessStrategy<>(sourceFactory, inference, getLogger());
+            return SchemaInferenceUtil.cacheInferredSchemasByShape(inferenceStrategy, context, getLogger(), sourceFactory, inference);
         }
 
         return super.getSchemaAccessStrategy(allowableValue, schemaRegistry, context);
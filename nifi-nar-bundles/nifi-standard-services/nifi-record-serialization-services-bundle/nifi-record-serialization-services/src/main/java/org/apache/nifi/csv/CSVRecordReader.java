@@ -21,13 +21,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
@@ -35,11 +29,8 @@ import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.serialization.MalformedRecordException;
-import org.apache.nifi.serialization.record.DataType;
-import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
-import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
 
 public class CSVRecordReader extends AbstractCSVRecordReader {
@@ -73,44 +64,9 @@ public class CSVRecordReader extends AbstractCSVRecordReader {
     public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
 
         try {
-            final RecordSchema schema = getSchema();
-
             final List<RecordField> recordFields = getRecordFields();
-            final int numFieldNames = recordFields.size();
             for (final CSVRecord csvRecord : csvParser) {
-                final Map<String, Object> values = new LinkedHashMap<>(recordFields.size() * 2);
-                for (int i = 0; i < csvRecord.size(); i++) {
-                    final String rawValue = csvRecord.get(i);
-
-                    final String rawFieldName;
-                    final DataType dataType;
-                    if (i >= numFieldNames) {
-                        if (!dropUnknownFields) {
-                            values.put("unknown_field_index_" + i, rawValue);
-                        }
-
-                        continue;
-                    } else {
-                        final RecordField recordField = recordFields.get(i);
-                        rawFieldName = recordField.getFieldName();
-                        dataType = recordField.getDataType();
-                    }
-
-
-                    final Object value;
-                    if (coerceTypes) {
-                        value = convert(rawValue, dataType, rawFieldName);
-                    } else {
-                        // The CSV Reader is going to return all fields as Strings, because CSV doesn't have any way to
-                        // dictate a field type. As a result, we will use the schema that we have to attempt to convert
-                        // the value into the desired type if it's a simple type.
-                        value = convertSimpleIfPossible(rawValue, dataType, rawFieldName);
-                    }
-
-                    values.put(rawFieldName, value);
-                }
-
-                return new MapRecord(schema, values, coerceTypes, dropUnknownFields);
+                return createRecord(csvRecord, recordFields, coerceTypes, dropUnknownFields);
             }
         } catch (Exception e) {
             throw new MalformedRecordException("Error while getting next record", e);
@@ -125,23 +81,7 @@ public class CSVRecordReader extends AbstractCSVRecordReader {
             return this.recordFields;
         }
 
-        // Use a SortedMap keyed by index of the field so that we can get a List of field names in the correct order
-        final SortedMap<Integer, String> sortedMap = new TreeMap<>();
-        for (final Map.Entry<String, Integer> entry : csvParser.getHeaderMap().entrySet()) {
-            sortedMap.put(entry.getValue(), entry.getKey());
-        }
-
-        final List<RecordField> fields = new ArrayList<>();
-        final List<String> rawFieldNames = new ArrayList<>(sortedMap.values());
-        for (final String rawFieldName : rawFieldNames) {
-            final Optional<RecordField> option = schema.getField(rawFieldName);
-            if (option.isPresent()) {
-                fields.add(option.get());
-            } else {
-                fields.add(new RecordField(rawFieldName, RecordFieldType.STRING.getDataType()));
-            }
-        }
-
+        final List<RecordField> fields = getRecordFields(csvParser.getHeaderMap());
         this.recordFields = fields;
         return fields;
     }
@@ -0,0 +1,440 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.csv;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.io.input.BOMInputStream;
+import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+/**
+ * <p>
+ * A CSV Record Reader that parses the content using several threads while still returning the records in the order in which
+ * they appear in the content.
+ * </p>
+ *
+ * <p>
+ * The content is read in chunks of approximately the configured size. Each chunk is cut at the last record separator that is not
+ * part of a quoted value or a comment, so that each chunk contains only whole records and can be parsed by Apache Commons CSV without
+ * knowledge of the chunks that precede it. Chunks are then parsed and converted to Records by the given executor. At most the configured
+ * number of chunks are held in memory at any one time.
+ * </p>
+ *
+ * <p>
+ * The Records of a chunk are created using the 'coerce types' and 'drop unknown fields' flags of the most recent call to
+ * {@link #nextRecord(boolean, boolean)}. If a later call uses different flags, the raw values of the affected rows are converted again.
+ * </p>
+ */
+public class ParallelCSVRecordReader extends AbstractCSVRecordReader {
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final Reader reader;
+    private final CSVFormat chunkFormat;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final RecordBoundaryScanner scanner;
+    private final List<RecordField> recordFields;
+    private final Deque<Future<ParsedChunk>> chunks = new ArrayDeque<>();
+
+    private char[] remainder = new char[0];
+    private int remainderLength = 0;
+    private boolean endOfStream = false;
+    private boolean firstChunk = true;
+
+    private ParsedChunk currentChunk;
+    private int currentIndex;
+    private boolean coerceTypes = true;
+    private boolean dropUnknownFields = true;
+
+    public ParallelCSVRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema, final CSVFormat csvFormat, final boolean hasHeader, final boolean ignoreHeader,
+                                   final String dateFormat, final String timeFormat, final String timestampFormat, final String encoding,
+                                   final ExecutorService executor, final int chunkSize, final int maxChunksInFlight) throws IOException {
+        super(logger, schema, hasHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat);
+
+        if (chunkSize < 1 || maxChunksInFlight < 1) {
+            throw new IllegalArgumentException("Chunk size and number of chunks in flight must be positive");
+        }
+
+        this.reader = new InputStreamReader(new BOMInputStream(in), encoding);
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+        this.scanner = new RecordBoundaryScanner(csvFormat);
+
+        CSVFormat withHeader;
+        if (hasHeader) {
+            withHeader = csvFormat.withSkipHeaderRecord();
+
+            if (ignoreHeader) {
+                withHeader = withHeader.withHeader(schema.getFieldNames().toArray(new String[0]));
+            } else {
+                withHeader = withHeader.withFirstRecordAsHeader();
+            }
+        } else {
+            withHeader = csvFormat.withHeader(schema.getFieldNames().toArray(new String[0]));
+        }
+
+        // Only the first chunk can contain the header. The fields are determined up front so that all chunks map columns the same way,
+        // and the remaining chunks are parsed without any header so that their first record is never mistaken for one.
+        final CSVParser firstParser = new CSVParser(readChunk(), withHeader);
+        this.recordFields = getRecordFields(firstParser.getHeaderMap());
+        this.chunkFormat = csvFormat.withHeader((String[]) null).withSkipHeaderRecord(false);
+
+        submit(firstParser);
+    }
+
+    @Override
+    public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        this.coerceTypes = coerceTypes;
+        this.dropUnknownFields = dropUnknownFields;
+
+        while (currentChunk == null || currentIndex >= currentChunk.size()) {
+            currentChunk = nextChunk();
+            currentIndex = 0;
+
+            if (currentChunk == null) {
+                return null;
+            }
+        }
+
+        final int index = currentIndex++;
+        final Object result = currentChunk.getResult(index);
+        if (result instanceof Exception) {
+            throw new MalformedRecordException("Error while getting next record", (Exception) result);
+        }
+
+        if (currentChunk.coerceTypes == coerceTypes && currentChunk.dropUnknownFields == dropUnknownFields) {
+            return (Record) result;
+        }
+
+        try {
+            return createRecord(currentChunk.getRow(index), recordFields, coerceTypes, dropUnknownFields);
+        } catch (final Exception e) {
+            throw new MalformedRecordException("Error while getting next record", e);
+        }
+    }
+
+    private ParsedChunk nextChunk() throws IOException {
+        fillPipeline();
+
+        final Future<ParsedChunk> future = chunks.poll();
+        if (future == null) {
+            return null;
+        }
+
+        // Keep the executor busy with the following chunks while this thread consumes the records of the oldest one
+        fillPipeline();
+
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for CSV content to be parsed", e);
+        } catch (final ExecutionException e) {
+            throw new IOException("Failed to parse CSV content", e.getCause());
+        }
+    }
+
+    private void fillPipeline() throws IOException {
+        while (chunks.size() < maxChunksInFlight) {
+            final Reader chunkReader = readChunk();
+            if (chunkReader == null) {
+                return;
+            }
+
+            submit(new CSVParser(chunkReader, chunkFormat));
+        }
+    }
+
+    private void submit(final CSVParser parser) {
+        final boolean coerce = coerceTypes;
+        final boolean drop = dropUnknownFields;
+        chunks.add(executor.submit(() -> parse(parser, coerce, drop)));
+    }
+
+    private ParsedChunk parse(final CSVParser parser, final boolean coerceTypes, final boolean dropUnknownFields) {
+        final ParsedChunk chunk = new ParsedChunk(coerceTypes, dropUnknownFields);
+
+        try (final CSVParser csvParser = parser) {
+            for (final CSVRecord csvRecord : csvParser) {
+                Object result;
+                try {
+                    result = createRecord(csvRecord, recordFields, coerceTypes, dropUnknownFields);
+                } catch (final Exception e) {
+                    result = e;
+                }
+
+                chunk.add(csvRecord, result);
+            }
+        } catch (final Exception e) {
+            // The content of the chunk cannot be parsed past this point, so the error is reported in place of the next record
+            chunk.add(null, e);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Reads the next chunk of content, ending at the last record boundary found in it.
+     *
+     * @return a Reader for the chunk, or <code>null</code> if all content has been read
+     */
+    private Reader readChunk() throws IOException {
+        if (endOfStream && remainderLength == 0) {
+            return null;
+        }
+
+        char[] buffer = Arrays.copyOf(remainder, remainderLength + chunkSize);
+        int length = remainderLength;
+        int boundary = -1;
+        scanner.reset();
+
+        while (true) {
+            while (length < buffer.length && !endOfStream) {
+                final int charsRead = reader.read(buffer, length, buffer.length - length);
+                if (charsRead < 0) {
+                    endOfStream = true;
+                } else {
+                    length += charsRead;
+                }
+            }
+
+            if (endOfStream) {
+                boundary = length;
+                break;
+            }
+
+            boundary = Math.max(boundary, scanner.scan(buffer, length));
+
+            // The first chunk must contain at least one record, not just blank or comment lines, so that the header is parsed with it
+            if (boundary > 0 && (!hasHeader || !firstChunk || scanner.isRecordFound())) {
+                break;
+            }
+
+            // No usable record boundary was found in the entire buffer
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        remainderLength = length - boundary;
+        if (remainder.length < remainderLength) {
+            remainder = new char[Math.max(remainderLength, chunkSize)];
+        }
+        System.arraycopy(buffer, boundary, remainder, 0, remainderLength);
+        firstChunk = false;
+
+        return new CharArrayReader(buffer, 0, boundary);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (final Future<ParsedChunk> future : chunks) {
+            future.cancel(false);
+        }
+        chunks.clear();
+
+        reader.close();
+    }
+
+    /**
+     * The rows of a chunk, along with the Record or the Exception that resulted from converting each one
+     */
+    private static class ParsedChunk {
+        private final boolean coerceTypes;
+        private final boolean dropUnknownFields;
+        private final List<CSVRecord> rows = new ArrayList<>();
+        private final List<Object> results = new ArrayList<>();
+
+        ParsedChunk(final boolean coerceTypes, final boolean dropUnknownFields) {
+            this.coerceTypes = coerceTypes;
+            this.dropUnknownFields = dropUnknownFields;
+        }
+
+        void add(final CSVRecord row, final Object result) {
+            rows.add(row);
+            results.add(result);
+        }
+
+        int size() {
+            return results.size();
+        }
+
+        CSVRecord getRow(final int index) {
+            return rows.get(index);
+        }
+
+        Object getResult(final int index) {
+            return results.get(index);
+        }
+    }
+
+    /**
+     * Locates record separators that are not part of a quoted value or a comment, following the same rules as the
+     * Apache Commons CSV lexer for quotes, escapes and comments. A scan always starts at the beginning of a record.
+     */
+    static class RecordBoundaryScanner {
+        private final char delimiter;
+        private final int quote;
+        private final int escape;
+        private final int commentMarker;
+        private final boolean ignoreSurroundingSpaces;
+
+        private int position;
+        private boolean inQuotes;
+        private boolean inComment;
+        private boolean startOfRecord;
+        private boolean startOfValue;
+        private boolean recordFound;
+
+        RecordBoundaryScanner(final CSVFormat csvFormat) {
+            this.delimiter = csvFormat.getDelimiter();
+            this.quote = csvFormat.getQuoteCharacter() == null ? -1 : csvFormat.getQuoteCharacter();
+            this.escape = csvFormat.getEscapeCharacter() == null ? -1 : csvFormat.getEscapeCharacter();
+            this.commentMarker = csvFormat.getCommentMarker() == null ? -1 : csvFormat.getCommentMarker();
+            this.ignoreSurroundingSpaces = csvFormat.getIgnoreSurroundingSpaces();
+            reset();
+        }
+
+        void reset() {
+            position = 0;
+            inQuotes = false;
+            inComment = false;
+            startOfRecord = true;
+            startOfValue = true;
+            recordFound = false;
+        }
+
+        /**
+         * @return <code>true</code> if a record separator has been found that ends a line other than a blank line or a comment
+         */
+        boolean isRecordFound() {
+            return recordFound;
+        }
+
+        /**
+         * Scans the buffer from where the previous scan stopped up to the given length. A scan may stop short of the length if the
+         * meaning of the last character depends on the character that follows it.
+         *
+         * @return the offset just past the last record separator that was found, or <code>-1</code> if none was found
+         */
+        int scan(final char[] buffer, final int length) {
+            int boundary = -1;
+            int i = position;
+
+            while (i < length) {
+                final char c = buffer[i];
+
+                if (!inQuotes && (c == '\n' || c == '\r')) {
+                    if (c == '\r') {
+                        if (i + 1 >= length) {
+                            break;
+                        }
+                        if (buffer[i + 1] == '\n') {
+                            i++;
+                        }
+                    }
+
+                    i++;
+                    boundary = i;
+                    recordFound |= !startOfRecord;
+                    inComment = false;
+                    startOfRecord = true;
+                    startOfValue = true;
+                    continue;
+                }
+
+                if (inComment) {
+                    i++;
+                    continue;
+                }
+
+                if (inQuotes) {
+                    if (c == escape) {
+                        if (i + 1 >= length) {
+                            break;
+                        }
+                        i += 2;
+                        continue;
+                    }
+
+                    if (c == quote) {
+                        if (i + 1 >= length) {
+                            break;
+                        }
+                        if (buffer[i + 1] == quote) {
+                            i += 2;
+                            continue;
+                        }
+                        inQuotes = false;
+                    }
+
+                    i++;
+                    continue;
+                }
+
+                if (startOfRecord && c == commentMarker) {
+                    inComment = true;
+                    i++;
+                    continue;
+                }
+                startOfRecord = false;
+
+                if (c == escape) {
+                    if (i + 1 >= length) {
+                        break;
+                    }
+                    startOfValue = false;
+                    i += 2;
+                    continue;
+                }
+
+                if (c == delimiter) {
+                    startOfValue = true;
+                } else if (c == quote && startOfValue) {
+                    inQuotes = true;
+                    startOfValue = false;
+                } else if (!(startOfValue && ignoreSurroundingSpaces && Character.isWhitespace(c))) {
+                    startOfValue = false;
+                }
+
+                i++;
+            }
+
+            position = i;
+            return boundary;
+        }
+    }
+}
@@ -333,19 +333,21 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
             firstObjectConsumed = true;
             return firstJsonNode;
         }
-        if (strategy == StartingFieldStrategy.NESTED_FIELD) {
-            return getJsonNodeWithNestedNodeStrategy();
-        } else {
-            return getJsonNode();
-        }
 
+        return advanceToNextObject() ? jsonParser.readValueAsTree() : null;
     }
 
-    private JsonNode getJsonNodeWithNestedNodeStrategy() throws IOException, MalformedRecordException {
+    /**
+     * Advances the parser past any enclosing array tokens to the start of the next JSON Object. The first JSON Object is read
+     * when the reader is created, so this is only to be used once {@link #getNextJsonNode()} has returned it.
+     *
+     * @return <code>true</code> if the parser is positioned at the start of a JSON Object, <code>false</code> if there are no more Objects to read
+     */
+    protected boolean advanceToNextObject() throws IOException, MalformedRecordException {
         while (true) {
             final JsonToken token = jsonParser.nextToken();
             if (token == null) {
-                return null;
+                return false;
             }
 
             switch (token) {
@@ -353,34 +355,25 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
                     break;
                 case END_ARRAY:
                 case END_OBJECT:
+                    if (strategy == StartingFieldStrategy.NESTED_FIELD) {
+                        return false;
+                    }
+                    break;
                 case FIELD_NAME:
-                    return null;
+                    if (strategy == StartingFieldStrategy.NESTED_FIELD) {
+                        return false;
+                    }
+                    throw new MalformedRecordException("Expected to get a JSON Object but got a token of type " + token.name());
                 case START_OBJECT:
-                    return jsonParser.readValueAsTree();
+                    return true;
                 default:
                     throw new MalformedRecordException("Expected to get a JSON Object but got a token of type " + token.name());
             }
         }
     }
 
-    private JsonNode getJsonNode() throws IOException, MalformedRecordException {
-        while (true) {
-            final JsonToken token = jsonParser.nextToken();
-            if (token == null) {
-                return null;
-            }
-
-            switch (token) {
-                case START_ARRAY:
-                case END_ARRAY:
-                case END_OBJECT:
-                    break;
-                case START_OBJECT:
-                    return jsonParser.readValueAsTree();
-                default:
-                    throw new MalformedRecordException("Expected to get a JSON Object but got a token of type " + token.name());
-            }
-        }
+    protected JsonParser getJsonParser() {
+        return jsonParser;
     }
 
     @Override
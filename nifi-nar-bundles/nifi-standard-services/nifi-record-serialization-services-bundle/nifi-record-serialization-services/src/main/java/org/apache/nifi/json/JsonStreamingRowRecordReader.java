@@ -0,0 +1,397 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.apache.nifi.serialization.record.util.ValueConverter;
+import org.apache.nifi.serialization.record.util.ValueConverters;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A JSON Record Reader that maps the tokens of each JSON Object directly into the fields of the schema, rather than first reading
+ * the entire Object into a JSON tree as {@link JsonTreeRowRecordReader} does. Fields that are not part of the schema are skipped
+ * without being parsed into objects when unknown fields are dropped.
+ * </p>
+ *
+ * <p>
+ * When types are coerced, the Records produced are the same as those of {@link JsonTreeRowRecordReader}, except that they do not
+ * retain the JSON text that they were parsed from. When types are not coerced, and for the first Object, which is read when the
+ * reader is created, Records are produced by {@link JsonTreeRowRecordReader}.
+ * </p>
+ */
+public class JsonStreamingRowRecordReader extends JsonTreeRowRecordReader {
+    private static final RecordSchema EMPTY_SCHEMA = new SimpleRecordSchema(Collections.emptyList());
+
+    private final String dateFormat;
+    private final String timeFormat;
+    private final String timestampFormat;
+
+    private final Map<RecordSchema, FieldTable> fieldTables = new IdentityHashMap<>();
+    private final Map<DataType, ValueConverter> valueConverters = new IdentityHashMap<>();
+    private boolean firstRecordRead = false;
+
+    public JsonStreamingRowRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema,
+                                        final String dateFormat, final String timeFormat, final String timestampFormat) throws IOException, MalformedRecordException {
+        this(in, logger, schema, dateFormat, timeFormat, timestampFormat, null, null, null);
+    }
+
+    public JsonStreamingRowRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema,
+                                        final String dateFormat, final String timeFormat, final String timestampFormat,
+                                        final StartingFieldStrategy startingFieldStrategy, final String startingFieldName,
+                                        final SchemaApplicationStrategy schemaApplicationStrategy) throws IOException, MalformedRecordException {
+        super(in, logger, schema, dateFormat, timeFormat, timestampFormat, startingFieldStrategy, startingFieldName, schemaApplicationStrategy);
+        this.dateFormat = dateFormat;
+        this.timeFormat = timeFormat;
+        this.timestampFormat = timestampFormat;
+    }
+
+    @Override
+    public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        if (!firstRecordRead || !coerceTypes) {
+            firstRecordRead = true;
+            return super.nextRecord(coerceTypes, dropUnknownFields);
+        }
+
+        if (!advanceToNextObject()) {
+            return null;
+        }
+
+        final JsonParser parser = getJsonParser();
+        final JsonStreamContext recordContext = parser.getParsingContext();
+        final RecordSchema schema = getSchema();
+        try {
+            return readRecord(parser, schema, null, dropUnknownFields);
+        } catch (final JsonParseException e) {
+            throw e;
+        } catch (final MalformedRecordException e) {
+            skipRemainder(parser, recordContext);
+            throw e;
+        } catch (final Exception e) {
+            skipRemainder(parser, recordContext);
+            throw new MalformedRecordException("Successfully parsed a JSON object from input but failed to convert into a Record object with the given schema", e);
+        }
+    }
+
+    /**
+     * Consumes the rest of the JSON Object whose fields are being read, so that a Record that cannot be converted does not
+     * prevent the following Records from being read, just as when the whole Object is read into a tree before converting it
+     */
+    private void skipRemainder(final JsonParser parser, final JsonStreamContext recordContext) throws IOException {
+        final JsonStreamContext enclosingContext = recordContext.getParent();
+        while (parser.getParsingContext() != enclosingContext) {
+            final JsonToken token = parser.nextToken();
+            if (token == null) {
+                return;
+            }
+            if (token.isStructStart()) {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Reads the fields of the JSON Object that the parser is positioned at, leaving the parser at the end of the Object
+     */
+    private Record readRecord(final JsonParser parser, final RecordSchema schema, final String fieldNamePrefix, final boolean dropUnknown)
+            throws IOException, MalformedRecordException {
+        if (dropUnknown) {
+            return readSchemaFields(parser, schema, fieldNamePrefix);
+        }
+
+        final Map<String, Object> values = new LinkedHashMap<>(schema.getFieldCount() * 2);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+            parser.nextToken();
+
+            final RecordField recordField = schema.getField(fieldName).orElse(null);
+            final Object value;
+            if (recordField == null) {
+                value = readRawValue(parser);
+            } else {
+                final String fullFieldName = fieldNamePrefix == null ? fieldName : fieldNamePrefix + fieldName;
+                value = readField(parser, fullFieldName, recordField.getDataType(), false);
+            }
+
+            values.put(fieldName, value);
+        }
+
+        return new MapRecord(schema, values, false, false);
+    }
+
+    private Record readSchemaFields(final JsonParser parser, final RecordSchema schema, final String fieldNamePrefix) throws IOException, MalformedRecordException {
+        final FieldTable fieldTable = getFieldTable(schema);
+        final Object[] fieldValues = new Object[fieldTable.fields.length];
+        final int[] priorities = new int[fieldTable.fields.length];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final FieldSlot firstSlot = fieldTable.slots.get(parser.getCurrentName());
+            parser.nextToken();
+
+            if (firstSlot == null) {
+                parser.skipChildren();
+                continue;
+            }
+
+            if (firstSlot.next == null) {
+                if (isSuperseded(firstSlot, priorities)) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                final RecordField recordField = fieldTable.fields[firstSlot.index];
+                fieldValues[firstSlot.index] = readField(parser, getFullFieldName(fieldNamePrefix, recordField), recordField.getDataType(), true);
+                priorities[firstSlot.index] = firstSlot.priority;
+                continue;
+            }
+
+            // The name is both the name of one field and an alias of another, so the value is read once as a tree and converted for each field
+            final JsonNode valueNode = parser.readValueAsTree();
+            for (FieldSlot slot = firstSlot; slot != null; slot = slot.next) {
+                if (isSuperseded(slot, priorities)) {
+                    continue;
+                }
+
+                final RecordField recordField = fieldTable.fields[slot.index];
+                fieldValues[slot.index] = convertField(valueNode, getFullFieldName(fieldNamePrefix, recordField), recordField.getDataType(), true);
+                priorities[slot.index] = slot.priority;
+            }
+        }
+
+        final Map<String, Object> values = new LinkedHashMap<>(fieldTable.fields.length * 2);
+        for (int i = 0; i < fieldValues.length; i++) {
+            if (priorities[i] != 0) {
+                values.put(fieldTable.fields[i].getFieldName(), fieldValues[i]);
+            }
+        }
+
+        return new MapRecord(schema, values, false, true);
+    }
+
+    /**
+     * @return <code>true</code> if the field has already been given a value under its name or an earlier alias, which take precedence over the given slot
+     */
+    private static boolean isSuperseded(final FieldSlot slot, final int[] priorities) {
+        final int existingPriority = priorities[slot.index];
+        return existingPriority != 0 && existingPriority < slot.priority;
+    }
+
+    private static String getFullFieldName(final String fieldNamePrefix, final RecordField recordField) {
+        return fieldNamePrefix == null ? recordField.getFieldName() : fieldNamePrefix + recordField.getFieldName();
+    }
+
+    /**
+     * Reads the value that the parser is positioned at and converts it to the given type, with the same result as
+     * {@link JsonTreeRowRecordReader#convertField(JsonNode, String, DataType, boolean)}
+     */
+    private Object readField(final JsonParser parser, final String fieldName, final DataType desiredType, final boolean dropUnknown)
+            throws IOException, MalformedRecordException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        switch (desiredType.getFieldType()) {
+            case MAP: {
+                final Map<String, Object> map = new LinkedHashMap<>();
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    return map;
+                }
+
+                final DataType valueType = ((MapDataType) desiredType).getValueType();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String childName = parser.getCurrentName();
+                    parser.nextToken();
+                    map.put(childName, readField(parser, fieldName, valueType, dropUnknown));
+                }
+                return map;
+            }
+            case ARRAY: {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new MalformedRecordException("Expected a JSON Array for field " + fieldName + " but got a token of type " + token);
+                }
+
+                final DataType elementType = ((ArrayDataType) desiredType).getElementType();
+                final List<Object> elements = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    elements.add(readField(parser, fieldName, elementType, dropUnknown));
+                }
+                return elements.toArray();
+            }
+            case RECORD: {
+                if (token != JsonToken.START_OBJECT || !(desiredType instanceof RecordDataType)) {
+                    parser.skipChildren();
+                    return null;
+                }
+
+                final RecordSchema childSchema = ((RecordDataType) desiredType).getChildSchema();
+                if (childSchema == null) {
+                    return readUntypedRecord(parser, fieldName + ".", dropUnknown);
+                }
+                return readRecord(parser, childSchema, fieldName + ".", dropUnknown);
+            }
+            case CHOICE:
+                // Choosing a type may require examining the whole value, so it is read as a tree
+                return convertField(parser.readValueAsTree(), fieldName, desiredType, dropUnknown);
+            default:
+                return getValueConverter(desiredType).convert(readRawValue(parser), fieldName);
+        }
+    }
+
+    /**
+     * Reads a JSON Object for a Record field that has no child schema, in which case every field of the Object is treated as a String
+     */
+    private Record readUntypedRecord(final JsonParser parser, final String fieldNamePrefix, final boolean dropUnknown) throws IOException, MalformedRecordException {
+        final DataType stringType = RecordFieldType.STRING.getDataType();
+        final List<RecordField> fields = new ArrayList<>();
+        final Map<String, Object> values = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String childName = parser.getCurrentName();
+            parser.nextToken();
+            if (!values.containsKey(childName)) {
+                fields.add(new RecordField(childName, stringType));
+            }
+            values.put(childName, readField(parser, fieldNamePrefix + childName, stringType, dropUnknown));
+        }
+
+        return new MapRecord(new SimpleRecordSchema(fields), values, false, dropUnknown);
+    }
+
+    /**
+     * Reads the value that the parser is positioned at without regard to a schema, with the same result as
+     * {@link AbstractJsonRowRecordReader#getRawNodeValue(JsonNode, String)}
+     */
+    private Object readRawValue(final JsonParser parser) throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (token == null) {
+            return null;
+        }
+
+        switch (token) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_EMBEDDED_OBJECT:
+                return parser.getEmbeddedObject();
+            case START_ARRAY: {
+                final List<Object> elements = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    elements.add(readRawValue(parser));
+                }
+                return elements.toArray();
+            }
+            case START_OBJECT: {
+                final Map<String, Object> values = new HashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String childName = parser.getCurrentName();
+                    parser.nextToken();
+                    values.put(childName, readRawValue(parser));
+                }
+                return new MapRecord(EMPTY_SCHEMA, values);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private ValueConverter getValueConverter(final DataType dataType) {
+        return valueConverters.computeIfAbsent(dataType, type -> ValueConverters.create(type, dateFormat, timeFormat, timestampFormat));
+    }
+
+    private FieldTable getFieldTable(final RecordSchema schema) {
+        return fieldTables.computeIfAbsent(schema, FieldTable::new);
+    }
+
+    /**
+     * Lookup table from JSON field name to the schema fields that it populates. A field's own name takes precedence over its aliases,
+     * and earlier aliases take precedence over later ones, matching the order in which the tree-based reader looks for a field's value.
+     */
+    private static class FieldTable {
+        private final RecordField[] fields;
+        private final Map<String, FieldSlot> slots = new HashMap<>();
+
+        private FieldTable(final RecordSchema schema) {
+            fields = schema.getFields().toArray(new RecordField[0]);
+            for (int i = 0; i < fields.length; i++) {
+                addSlot(fields[i].getFieldName(), i, 1);
+
+                int priority = 2;
+                for (final String alias : fields[i].getAliases()) {
+                    addSlot(alias, i, priority++);
+                }
+            }
+        }
+
+        private void addSlot(final String name, final int index, final int priority) {
+            final FieldSlot existing = slots.get(name);
+            if (existing == null) {
+                slots.put(name, new FieldSlot(index, priority));
+                return;
+            }
+
+            FieldSlot last = existing;
+            while (last.next != null) {
+                last = last.next;
+            }
+            last.next = new FieldSlot(index, priority);
+        }
+    }
+
+    private static class FieldSlot {
+        private final int index;
+        private final int priority;
+        private FieldSlot next;
+
+        private FieldSlot(final int index, final int priority) {
+            this.index = index;
+            this.priority = priority;
+        }
+    }
+}
@@ -57,6 +57,7 @@ import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_NAME_PROPER
 import static org.apache.nifi.schema.access.SchemaAccessUtils.SCHEMA_TEXT_PROPERTY;
 import static org.apache.nifi.schema.inference.SchemaInferenceUtil.INFER_SCHEMA;
 import static org.apache.nifi.schema.inference.SchemaInferenceUtil.SCHEMA_CACHE;
+import static org.apache.nifi.schema.inference.SchemaInferenceUtil.SHAPE_CACHE_SIZE;
 
 @Tags({"json", "tree", "record", "reader", "parser"})
 @CapabilityDescription("Parses JSON into individual Record objects. While the reader expects each record "
@@ -75,6 +76,7 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
     private volatile String startingFieldName;
     private volatile StartingFieldStrategy startingFieldStrategy;
     private volatile SchemaApplicationStrategy schemaApplicationStrategy;
+    private volatile boolean streamingParser;
 
 
     public static final PropertyDescriptor STARTING_FIELD_STRATEGY = new PropertyDescriptor.Builder()
@@ -110,6 +112,18 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
             .allowableValues(SchemaApplicationStrategy.class)
             .build();
 
+    public static final PropertyDescriptor STREAMING_PARSER = new PropertyDescriptor.Builder()
+            .name("streaming-parser")
+            .displayName("Use Streaming Parser")
+            .description("If true, the fields of each JSON object are read directly into the Record using the schema, rather than first reading the entire "
+                    + "object into a JSON tree, and fields that are not part of the schema are skipped without being parsed. This reduces the memory that is "
+                    + "allocated for each Record. Records that are read this way do not retain their original JSON text, so a JSON Writer always serializes "
+                    + "their fields rather than reusing the text that was read.")
+            .required(true)
+            .allowableValues("true", "false")
+            .defaultValue("false")
+            .build();
+
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
@@ -117,9 +131,14 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
                 .fromPropertyDescriptor(SCHEMA_CACHE)
                 .dependsOn(SCHEMA_ACCESS_STRATEGY, INFER_SCHEMA)
                 .build());
+        properties.add(new PropertyDescriptor.Builder()
+                .fromPropertyDescriptor(SHAPE_CACHE_SIZE)
+                .dependsOn(SCHEMA_ACCESS_STRATEGY, INFER_SCHEMA)
+                .build());
         properties.add(STARTING_FIELD_STRATEGY);
         properties.add(STARTING_FIELD_NAME);
         properties.add(SCHEMA_APPLICATION_STRATEGY);
+        properties.add(STREAMING_PARSER);
         properties.add(DateTimeUtils.DATE_FORMAT);
         properties.add(DateTimeUtils.TIME_FORMAT);
         properties.add(DateTimeUtils.TIMESTAMP_FORMAT);
@@ -134,6 +153,7 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
         this.startingFieldStrategy = StartingFieldStrategy.valueOf(context.getProperty(STARTING_FIELD_STRATEGY).getValue());
         this.startingFieldName = context.getProperty(STARTING_FIELD_NAME).getValue();
         this.schemaApplicationStrategy = SchemaApplicationStrategy.valueOf(context.getProperty(SCHEMA_APPLICATION_STRATEGY).getValue());
+        this.streamingParser = context.getProperty(STREAMING_PARSER).asBoolean();
     }
 
     @Override
@@ -165,6 +185,9 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
     public RecordReader createRecordReader(final Map<String, String> variables, final InputStream in, final long inputLength, final ComponentLog logger)
             throws IOException, MalformedRecordException, SchemaNotFoundException {
         final RecordSchema schema = getSchema(variables, in, null);
+        if (streamingParser) {
+            return new JsonStreamingRowRecordReader(in, logger, schema, dateFormat, timeFormat, timestampFormat, startingFieldStrategy, startingFieldName, schemaApplicationStrategy);
+        }
         return new JsonTreeRowRecordReader(in, logger, schema, dateFormat, timeFormat, timestampFormat, startingFieldStrategy, startingFieldName, schemaApplicationStrategy);
     }
 }
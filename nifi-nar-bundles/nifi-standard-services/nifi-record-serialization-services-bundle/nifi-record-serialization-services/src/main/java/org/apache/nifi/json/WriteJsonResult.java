@@ -39,12 +39,17 @@ import org.apache.nifi.serialization.record.type.ChoiceDataType;
 import org.apache.nifi.serialization.record.type.MapDataType;
 import org.apache.nifi.serialization.record.type.RecordDataType;
 import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.RecordConversionPlan;
+import org.apache.nifi.serialization.record.util.ValueConverter;
+import org.apache.nifi.serialization.record.util.ValueConverters;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -60,9 +65,16 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
     private final Supplier<DateFormat> LAZY_DATE_FORMAT;
     private final Supplier<DateFormat> LAZY_TIME_FORMAT;
     private final Supplier<DateFormat> LAZY_TIMESTAMP_FORMAT;
+    private final String dateFormat;
+    private final String timeFormat;
+    private final String timestampFormat;
+    private final Map<DataType, ValueConverter> valueConverters = new IdentityHashMap<>();
+    private final Map<RecordSchema, RecordConversionPlan> conversionPlans = new IdentityHashMap<>();
     private String mimeType = "application/json";
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int MAX_CACHED_VALUE_CONVERTERS = 1000;
+    private static final int MAX_CACHED_CONVERSION_PLANS = 1000;
 
     public WriteJsonResult(final ComponentLog logger, final RecordSchema recordSchema, final SchemaAccessWriter schemaAccess, final OutputStream out, final boolean prettyPrint,
             final NullSuppression nullSuppression, final OutputGrouping outputGrouping, final String dateFormat, final String timeFormat, final String timestampFormat) throws IOException {
@@ -90,6 +102,10 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
         LAZY_TIME_FORMAT = () -> tf;
         LAZY_TIMESTAMP_FORMAT = () -> tsf;
 
+        this.dateFormat = dateFormat;
+        this.timeFormat = timeFormat;
+        this.timestampFormat = timestampFormat;
+
         final JsonFactory factory = new JsonFactory();
         factory.setCodec(objectMapper);
 
@@ -184,9 +200,12 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
             startTask.apply(generator);
 
             if (schemaAware) {
-                for (final RecordField field : writeSchema.getFields()) {
+                final RecordConversionPlan conversionPlan = getConversionPlan(record.getSchema(), writeSchema);
+                final List<RecordField> fields = writeSchema.getFields();
+                for (int i = 0; i < fields.size(); i++) {
+                    final RecordField field = fields.get(i);
                     final String fieldName = field.getFieldName();
-                    final Object value = record.getValue(field);
+                    final Object value = conversionPlan.getValue(record, i);
                     if (value == null) {
                         if (nullSuppression == NullSuppression.NEVER_SUPPRESS || (nullSuppression == NullSuppression.SUPPRESS_MISSING) && isFieldPresent(field, record)) {
                             generator.writeNullField(fieldName);
@@ -197,8 +216,12 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
 
                     generator.writeFieldName(fieldName);
 
-                    final DataType dataType = writeSchema.getDataType(fieldName).get();
-                    writeValue(generator, value, fieldName, dataType);
+                    final DataType dataType = field.getDataType();
+                    if (dataType.getFieldType() == RecordFieldType.CHOICE) {
+                        writeValue(generator, value, fieldName, dataType);
+                    } else {
+                        writeCoercedValue(generator, conversionPlan.getConverter(i).convert(value, fieldName), fieldName, dataType);
+                    }
                 }
             } else {
                 for (final String fieldName : record.getRawFieldNames()) {
@@ -312,7 +335,34 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
         return format.format(value);
     }
 
-    @SuppressWarnings("unchecked")
+    private RecordConversionPlan getConversionPlan(final RecordSchema sourceSchema, final RecordSchema writeSchema) {
+        // Each write schema keeps one plan, whose converters are shared when Records of another schema are written with it
+        RecordConversionPlan conversionPlan = conversionPlans.get(writeSchema);
+        if (conversionPlan == null) {
+            if (conversionPlans.size() >= MAX_CACHED_CONVERSION_PLANS) {
+                conversionPlans.clear();
+            }
+
+            conversionPlan = RecordConversionPlan.create(sourceSchema, writeSchema, dateFormat, timeFormat, timestampFormat);
+            conversionPlans.put(writeSchema, conversionPlan);
+        } else if (!conversionPlan.isPlanFor(sourceSchema)) {
+            conversionPlan = conversionPlan.forSourceSchema(sourceSchema);
+            conversionPlans.put(writeSchema, conversionPlan);
+        }
+
+        return conversionPlan;
+    }
+
+    private ValueConverter getValueConverter(final DataType dataType) {
+        // The Data Types of a schema are reused for every Record, so each converter is normally created once for the lifetime of the writer.
+        // Records whose schemas are created individually would otherwise grow the map without bound.
+        if (valueConverters.size() >= MAX_CACHED_VALUE_CONVERTERS && !valueConverters.containsKey(dataType)) {
+            valueConverters.clear();
+        }
+
+        return valueConverters.computeIfAbsent(dataType, type -> ValueConverters.create(type, dateFormat, timeFormat, timestampFormat));
+    }
+
     private void writeValue(final JsonGenerator generator, final Object value, final String fieldName, final DataType dataType) throws IOException {
         if (value == null) {
             generator.writeNull();
@@ -326,7 +376,12 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
             return;
         }
 
-        final Object coercedValue = DataTypeUtils.convertType(value, chosenDataType, LAZY_DATE_FORMAT, LAZY_TIME_FORMAT, LAZY_TIMESTAMP_FORMAT, fieldName);
+        final Object coercedValue = getValueConverter(chosenDataType).convert(value, fieldName);
+        writeCoercedValue(generator, coercedValue, fieldName, chosenDataType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeCoercedValue(final JsonGenerator generator, final Object coercedValue, final String fieldName, final DataType chosenDataType) throws IOException {
         if (coercedValue == null) {
             generator.writeNull();
             return;
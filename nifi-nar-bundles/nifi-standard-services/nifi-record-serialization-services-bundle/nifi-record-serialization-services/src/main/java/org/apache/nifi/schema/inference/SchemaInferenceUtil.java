@@ -21,6 +21,7 @@ import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.PropertyDescriptor.Builder;
 import org.apache.nifi.context.PropertyContext;
 import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.schema.access.SchemaAccessStrategy;
 import org.apache.nifi.serialization.RecordSchemaCacheService;
 
@@ -39,12 +40,26 @@ public class SchemaInferenceUtil {
         .identifiesControllerService(RecordSchemaCacheService.class)
         .build();
 
+    public static final PropertyDescriptor SHAPE_CACHE_SIZE = new Builder()
+        .name("schema-inference-shape-cache-size")
+        .displayName("Inferred Schema Shape Cache Size")
+        .description("The number of inferred schemas to remember by the shape of the content they were inferred from. The shape is the schema of the first record alone, " +
+            "such as the header and first row of CSV data or the field names and value types of the first JSON object. When content has the same shape as content " +
+            "seen before, the schema inferred then is used without reading the content a second time. This should only be enabled if all content of the same shape " +
+            "also has the same schema: a field or type that appears only after the first record is not detected when the cached schema is used. A value of 0 disables the cache.")
+        .required(true)
+        .addValidator(StandardValidators.NON_NEGATIVE_INTEGER_VALIDATOR)
+        .defaultValue("0")
+        .build();
+
 
     public static <T> SchemaAccessStrategy getSchemaAccessStrategy(final String strategy, final PropertyContext context,  final ComponentLog logger,
                                                                    final RecordSourceFactory<T> recordSourceFactory, final Supplier<SchemaInferenceEngine<T>> inferenceSupplier,
                                                                    final Supplier<SchemaAccessStrategy> defaultSupplier) {
         if (INFER_SCHEMA.getValue().equalsIgnoreCase(strategy)) {
-            final SchemaAccessStrategy inferenceStrategy = new InferSchemaAccessStrategy<>(recordSourceFactory, inferenceSupplier.get(), logger);
+            final SchemaInferenceEngine<T> schemaInference = inferenceSupplier.get();
+            final SchemaAccessStrategy inferenceStrategy = cacheInferredSchemasByShape(new InferSchemaAccessStrategy<>(recordSourceFactory, schemaInference, logger),
+                context, logger, recordSourceFactory, schemaInference);
             final RecordSchemaCacheService schemaCache = context.getProperty(SCHEMA_CACHE).asControllerService(RecordSchemaCacheService.class);
             if (schemaCache == null) {
                 return inferenceStrategy;
@@ -56,4 +71,14 @@ public class SchemaInferenceUtil {
         return defaultSupplier.get();
     }
 
+    public static <T> SchemaAccessStrategy cacheInferredSchemasByShape(final SchemaAccessStrategy inferenceStrategy, final PropertyContext context, final ComponentLog logger,
+                                                                       final RecordSourceFactory<T> recordSourceFactory, final SchemaInferenceEngine<T> schemaInference) {
+        final Integer shapeCacheSize = context.getProperty(SHAPE_CACHE_SIZE).asInteger();
+        if (shapeCacheSize == null || shapeCacheSize == 0) {
+            return inferenceStrategy;
+        }
+
+        return new ShapeCachingSchemaAccessStrategy<>(recordSourceFactory, schemaInference, inferenceStrategy, shapeCacheSize, logger);
+    }
+
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.schema.access.SchemaAccessStrategy;
+import org.apache.nifi.schema.access.SchemaField;
+import org.apache.nifi.schema.access.SchemaNotFoundException;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.stream.io.NonCloseableInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * Avoids inferring the schema of the entire content when content of the same shape has already been seen. The shape of the
+ * content is the schema inferred from its first record alone, such as the header and the types of the first row of a CSV file,
+ * or the field names and value types of the first JSON object. Determining the shape only requires reading the first record.
+ * </p>
+ *
+ * <p>
+ * The first time a shape is seen, the schema is inferred by the given inference strategy and cached against the shape. Later
+ * content with the same shape is given the cached schema without being read in full. This assumes that content with the same
+ * shape also has the same schema, which holds for most feeds but not, for example, when later records of some files contain
+ * fields or types that are absent from the records that were used to infer the cached schema.
+ * </p>
+ */
+public class ShapeCachingSchemaAccessStrategy<T> implements SchemaAccessStrategy {
+    private final RecordSourceFactory<T> recordSourceFactory;
+    private final SchemaInferenceEngine<T> schemaInference;
+    private final SchemaAccessStrategy inferenceStrategy;
+    private final Cache<RecordSchema, RecordSchema> schemasByShape;
+    private final ComponentLog logger;
+
+    public ShapeCachingSchemaAccessStrategy(final RecordSourceFactory<T> recordSourceFactory, final SchemaInferenceEngine<T> schemaInference,
+                                            final SchemaAccessStrategy inferenceStrategy, final int maxCacheSize, final ComponentLog logger) {
+        this.recordSourceFactory = recordSourceFactory;
+        this.schemaInference = schemaInference;
+        this.inferenceStrategy = inferenceStrategy;
+        this.logger = logger;
+        this.schemasByShape = Caffeine.newBuilder()
+            .maximumSize(maxCacheSize)
+            .build();
+    }
+
+    @Override
+    public RecordSchema getSchema(final Map<String, String> variables, final InputStream contentStream, final RecordSchema readSchema) throws SchemaNotFoundException, IOException {
+        final RecordSchema shape = inferShape(variables, contentStream);
+        if (shape == null || shape.getFieldCount() == 0) {
+            // Content without records is cheap to infer, and all such content would otherwise share one shape
+            return inferenceStrategy.getSchema(variables, contentStream, readSchema);
+        }
+
+        final RecordSchema cachedSchema = schemasByShape.getIfPresent(shape);
+        if (cachedSchema != null) {
+            logger.debug("Found cached schema {} for content of shape {}", new Object[] {cachedSchema, shape});
+            return cachedSchema;
+        }
+
+        final RecordSchema schema = inferenceStrategy.getSchema(variables, contentStream, readSchema);
+        schemasByShape.put(shape, schema);
+        logger.debug("Cached inferred schema {} for content of shape {}", new Object[] {schema, shape});
+        return schema;
+    }
+
+    private RecordSchema inferShape(final Map<String, String> variables, final InputStream contentStream) throws IOException {
+        contentStream.mark(10_000_000);
+        try {
+            final RecordSource<T> recordSource = recordSourceFactory.create(variables, new NonCloseableInputStream(contentStream));
+            final T firstRecord = recordSource.next();
+            if (firstRecord == null) {
+                return null;
+            }
+
+            final RecordSource<T> firstRecordSource = new RecordSource<T>() {
+                private boolean consumed = false;
+
+                @Override
+                public T next() {
+                    if (consumed) {
+                        return null;
+                    }
+
+                    consumed = true;
+                    return firstRecord;
+                }
+            };
+
+            return schemaInference.inferSchema(firstRecordSource);
+        } finally {
+            contentStream.reset();
+        }
+    }
+
+    @Override
+    public Set<SchemaField> getSuppliedSchemaFields() {
+        return EnumSet.noneOf(SchemaField.class);
+    }
+}
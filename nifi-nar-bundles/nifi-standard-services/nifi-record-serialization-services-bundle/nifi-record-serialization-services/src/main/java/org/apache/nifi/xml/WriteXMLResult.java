@@ -34,6 +34,7 @@ import org.apache.nifi.serialization.record.type.ChoiceDataType;
 import org.apache.nifi.serialization.record.type.MapDataType;
 import org.apache.nifi.serialization.record.type.RecordDataType;
 import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.RecordConversionPlan;
 
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
@@ -44,6 +45,8 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -72,6 +75,12 @@ public class WriteXMLResult extends AbstractRecordSetWriter implements RecordSet
     private final Supplier<DateFormat> LAZY_DATE_FORMAT;
     private final Supplier<DateFormat> LAZY_TIME_FORMAT;
     private final Supplier<DateFormat> LAZY_TIMESTAMP_FORMAT;
+    private final String dateFormat;
+    private final String timeFormat;
+    private final String timestampFormat;
+    private final Map<RecordSchema, RecordConversionPlan> conversionPlans = new IdentityHashMap<>();
+
+    private static final int MAX_CACHED_CONVERSION_PLANS = 1000;
 
     public WriteXMLResult(final RecordSchema recordSchema, final SchemaAccessWriter schemaAccess, final OutputStream out, final boolean prettyPrint, final boolean omitDeclaration,
                           final NullSuppression nullSuppression, final ArrayWrapping arrayWrapping, final String arrayTagName, final String rootTagName, final String recordTagName,
@@ -115,6 +124,10 @@ public class WriteXMLResult extends AbstractRecordSetWriter implements RecordSet
         LAZY_TIME_FORMAT = () -> tf;
         LAZY_TIMESTAMP_FORMAT = () -> tsf;
 
+        this.dateFormat = dateFormat;
+        this.timeFormat = timeFormat;
+        this.timestampFormat = timestampFormat;
+
         try {
             XMLOutputFactory factory = XMLOutputFactory.newInstance();
 
@@ -225,14 +238,24 @@ public class WriteXMLResult extends AbstractRecordSetWriter implements RecordSet
     private boolean iterateThroughRecordUsingSchema(Deque<String> tagsToOpen, Record record, RecordSchema schema) throws XMLStreamException {
 
         boolean loopHasWritten = false;
-        for (RecordField field : schema.getFields()) {
+        final RecordConversionPlan conversionPlan = getConversionPlan(record.getSchema(), schema);
+        final List<RecordField> fields = schema.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            final RecordField field = fields.get(i);
 
             String fieldName = field.getFieldName();
             DataType dataType = field.getDataType();
-            Object value = record.getValue(field);
+            Object value = conversionPlan.getValue(record, i);
 
-            final DataType chosenDataType = dataType.getFieldType() == RecordFieldType.CHOICE ? DataTypeUtils.chooseDataType(value, (ChoiceDataType) dataType) : dataType;
-            final Object coercedValue = DataTypeUtils.convertType(value, chosenDataType, LAZY_DATE_FORMAT, LAZY_TIME_FORMAT, LAZY_TIMESTAMP_FORMAT, fieldName);
+            final DataType chosenDataType;
+            final Object coercedValue;
+            if (dataType.getFieldType() == RecordFieldType.CHOICE) {
+                chosenDataType = DataTypeUtils.chooseDataType(value, (ChoiceDataType) dataType);
+                coercedValue = DataTypeUtils.convertType(value, chosenDataType, LAZY_DATE_FORMAT, LAZY_TIME_FORMAT, LAZY_TIMESTAMP_FORMAT, fieldName);
+            } else {
+                chosenDataType = dataType;
+                coercedValue = conversionPlan.getConverter(i).convert(value, fieldName);
+            }
 
             if (coercedValue != null) {
                 boolean hasWritten = writeFieldForType(tagsToOpen, coercedValue, chosenDataType, fieldName);
@@ -252,6 +275,24 @@ public class WriteXMLResult extends AbstractRecordSetWriter implements RecordSet
         return loopHasWritten;
     }
 
+    private RecordConversionPlan getConversionPlan(final RecordSchema sourceSchema, final RecordSchema writeSchema) {
+        // Each write schema keeps one plan, whose converters are shared when Records of another schema are written with it
+        RecordConversionPlan conversionPlan = conversionPlans.get(writeSchema);
+        if (conversionPlan == null) {
+            if (conversionPlans.size() >= MAX_CACHED_CONVERSION_PLANS) {
+                conversionPlans.clear();
+            }
+
+            conversionPlan = RecordConversionPlan.create(sourceSchema, writeSchema, dateFormat, timeFormat, timestampFormat);
+            conversionPlans.put(writeSchema, conversionPlan);
+        } else if (!conversionPlan.isPlanFor(sourceSchema)) {
+            conversionPlan = conversionPlan.forSourceSchema(sourceSchema);
+            conversionPlans.put(writeSchema, conversionPlan);
+        }
+
+        return conversionPlan;
+    }
+
     private boolean writeFieldForType(Deque<String> tagsToOpen, Object coercedValue, DataType dataType, String fieldName) throws XMLStreamException {
         switch (dataType.getFieldType()) {
             case BOOLEAN:
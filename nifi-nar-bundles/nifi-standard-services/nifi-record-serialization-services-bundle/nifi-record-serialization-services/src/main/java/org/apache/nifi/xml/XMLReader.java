@@ -138,6 +138,10 @@ public class XMLReader extends SchemaRegistryService implements RecordReaderFact
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
         properties.add(PARSE_XML_ATTRIBUTES);
         properties.add(SchemaInferenceUtil.SCHEMA_CACHE);
+        properties.add(new PropertyDescriptor.Builder()
+            .fromPropertyDescriptor(SchemaInferenceUtil.SHAPE_CACHE_SIZE)
+            .dependsOn(SchemaAccessUtils.SCHEMA_ACCESS_STRATEGY, INFER_SCHEMA)
+            .build());
         properties.add(RECORD_FORMAT);
         properties.add(ATTRIBUTE_PREFIX);
         properties.add(CONTENT_FIELD_NAME);
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.avro;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TestAvroCodecCache {
+    private static final String SCHEMA_TEXT = "{\"type\": \"record\", \"name\": \"test\", \"fields\": ["
+        + "{\"name\": \"name\", \"type\": \"string\"}, {\"name\": \"data\", \"type\": \"bytes\"}]}";
+
+    private final Schema schema = new Schema.Parser().parse(SCHEMA_TEXT);
+
+    private List<GenericRecord> createRecords() {
+        // Values of decreasing length ensure that reused buffers are larger than the values read into them
+        final List<GenericRecord> records = new ArrayList<>();
+        for (final String value : new String[] {"abcdef", "abc", "a"}) {
+            final GenericRecord record = new GenericData.Record(schema);
+            record.put("name", value);
+            record.put("data", ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8)));
+            records.add(record);
+        }
+        return records;
+    }
+
+    private void assertRecords(final AvroRecordReader reader) throws Exception {
+        for (final String value : new String[] {"abcdef", "abc", "a"}) {
+            final Record record = reader.nextRecord();
+            assertEquals(value, record.getValue("name"));
+            assertArrayEquals(AvroTypeUtil.convertByteArray(value.getBytes(StandardCharsets.UTF_8)), (Object[]) record.getValue("data"));
+        }
+        assertNull(reader.nextRecord());
+    }
+
+    @Test
+    public void testEmbeddedSchemaIsMappedOnce() throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (final DataFileWriter<GenericRecord> writer = new DataFileWriter<>(new GenericDatumWriter<GenericRecord>(schema))) {
+            writer.create(schema, baos);
+            for (final GenericRecord record : createRecords()) {
+                writer.append(record);
+            }
+        }
+
+        final AvroCodecCache codecCache = new AvroCodecCache(10, 1);
+        final RecordSchema firstSchema;
+        try (final AvroReaderWithEmbeddedSchema reader = new AvroReaderWithEmbeddedSchema(new ByteArrayInputStream(baos.toByteArray()), codecCache)) {
+            firstSchema = reader.getSchema();
+            assertRecords(reader);
+        }
+
+        try (final AvroReaderWithEmbeddedSchema reader = new AvroReaderWithEmbeddedSchema(new ByteArrayInputStream(baos.toByteArray()), codecCache)) {
+            assertSame(firstSchema, reader.getSchema());
+            assertRecords(reader);
+        }
+    }
+
+    @Test
+    public void testExplicitSchemaReusesReaderAndDecoder() throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(baos, null);
+        final GenericDatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>(schema);
+        for (final GenericRecord record : createRecords()) {
+            datumWriter.write(record, encoder);
+        }
+        encoder.flush();
+
+        final AvroCodecCache codecCache = new AvroCodecCache(10, 1);
+        final RecordSchema recordSchema = AvroTypeUtil.createSchema(schema);
+        for (int i = 0; i < 2; i++) {
+            try (final AvroReaderWithExplicitSchema reader = new AvroReaderWithExplicitSchema(new ByteArrayInputStream(baos.toByteArray()), recordSchema, schema, codecCache)) {
+                assertRecords(reader);
+            }
+        }
+
+        assertSame(codecCache.getDatumReader(schema), codecCache.getDatumReader(schema));
+        assertSame(codecCache.getDatumWriter(schema), codecCache.getDatumWriter(schema));
+    }
+
+    @Test
+    public void testAvroSchemaCachedByFields() throws IOException {
+        final List<RecordField> fields = Arrays.asList(
+            new RecordField("id", RecordFieldType.INT.getDataType()),
+            new RecordField("name", RecordFieldType.STRING.getDataType()));
+
+        final AvroCodecCache codecCache = new AvroCodecCache(10, 1);
+        final Schema first = codecCache.getAvroSchema(new SimpleRecordSchema(fields));
+        assertSame(first, codecCache.getAvroSchema(new SimpleRecordSchema(new ArrayList<>(fields))));
+        assertEquals(AvroTypeUtil.extractAvroSchema(new SimpleRecordSchema(fields)), first);
+
+        final List<RecordField> otherFields = Arrays.asList(
+            new RecordField("id", RecordFieldType.LONG.getDataType()),
+            new RecordField("name", RecordFieldType.STRING.getDataType()));
+        assertNotSame(first, codecCache.getAvroSchema(new SimpleRecordSchema(otherFields)));
+
+        // Schemas that are defined by Avro text are always parsed from that text
+        final RecordSchema textSchema = new SimpleRecordSchema(SCHEMA_TEXT, AvroTypeUtil.AVRO_SCHEMA_FORMAT, null);
+        assertEquals(schema, codecCache.getAvroSchema(textSchema));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.csv;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.RecordReader;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestParallelCSVRecordReader {
+    private final CSVFormat format = CSVFormat.DEFAULT.withTrim().withQuote('"').withEscape('\\').withCommentMarker('#');
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        executor = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private RecordSchema getSchema() {
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("balance", RecordFieldType.DOUBLE.getDataType()));
+        return new SimpleRecordSchema(fields);
+    }
+
+    private String createContent(final int rows) {
+        final StringBuilder sb = new StringBuilder("# accounts\nid,name,balance\n");
+        for (int i = 0; i < rows; i++) {
+            switch (i % 4) {
+                case 0:
+                    sb.append(i).append(",John Doe,").append(i * 10.5D).append('\n');
+                    break;
+                case 1:
+                    sb.append(i).append(",\"Doe, Jane\nSecond Line\",").append(i).append("\r\n");
+                    break;
+                case 2:
+                    sb.append(i).append(",\"Quoted \"\"name\"\"\",").append(i).append("\n# a comment with a \" quote\n");
+                    break;
+                default:
+                    sb.append(i).append(",Escaped \\\nnewline,").append(i).append('\n');
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private RecordReader createSequentialReader(final String content, final boolean hasHeader) throws IOException {
+        return new CSVRecordReader(toStream(content), Mockito.mock(ComponentLog.class), getSchema(), format, hasHeader, false,
+            RecordFieldType.DATE.getDefaultFormat(), RecordFieldType.TIME.getDefaultFormat(), RecordFieldType.TIMESTAMP.getDefaultFormat(), "UTF-8");
+    }
+
+    private RecordReader createParallelReader(final String content, final boolean hasHeader, final int chunkSize) throws IOException {
+        return new ParallelCSVRecordReader(toStream(content), Mockito.mock(ComponentLog.class), getSchema(), format, hasHeader, false,
+            RecordFieldType.DATE.getDefaultFormat(), RecordFieldType.TIME.getDefaultFormat(), RecordFieldType.TIMESTAMP.getDefaultFormat(), "UTF-8",
+            executor, chunkSize, 4);
+    }
+
+    private InputStream toStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Record> readAll(final RecordReader reader, final boolean coerceTypes) throws IOException, MalformedRecordException {
+        final List<Record> records = new ArrayList<>();
+        try (final RecordReader closeable = reader) {
+            Record record;
+            while ((record = closeable.nextRecord(coerceTypes, true)) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    public void testSameRecordsAsSequentialReader() throws IOException, MalformedRecordException {
+        final String content = createContent(500);
+        final List<Record> expected = readAll(createSequentialReader(content, true), true);
+        assertEquals(500, expected.size());
+
+        for (final int chunkSize : new int[] {1, 7, 64, 1024, 1024 * 1024}) {
+            final List<Record> actual = readAll(createParallelReader(content, true, chunkSize), true);
+            assertEquals(expected.size(), actual.size(), "Wrong number of records for chunk size " + chunkSize);
+
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).toMap(), actual.get(i).toMap(), "Wrong record " + i + " for chunk size " + chunkSize);
+            }
+        }
+    }
+
+    @Test
+    public void testWithoutHeader() throws IOException, MalformedRecordException {
+        final String content = "1,John,1.5\n2,Jane,2.5\n3,Jim,3.5\n";
+
+        final List<Record> records = readAll(createParallelReader(content, false, 4), true);
+        assertEquals(3, records.size());
+        assertEquals(Arrays.asList(1, 2, 3), Arrays.asList(records.get(0).getValue("id"), records.get(1).getValue("id"), records.get(2).getValue("id")));
+        assertEquals("Jim", records.get(2).getValue("name"));
+        assertEquals(3.5D, records.get(2).getValue("balance"));
+    }
+
+    @Test
+    public void testChangingCoercionBetweenRecords() throws IOException, MalformedRecordException {
+        final String content = "id,name,balance\n1,John,1.5\n2,Jane,2.5\n";
+
+        try (final RecordReader reader = createParallelReader(content, true, 1024)) {
+            assertEquals(1, reader.nextRecord(true, true).getValue("id"));
+            assertEquals(2, reader.nextRecord(false, false).getValue("id"));
+            assertNull(reader.nextRecord());
+        }
+    }
+
+    @Test
+    public void testMalformedRecordDoesNotStopReading() throws IOException, MalformedRecordException {
+        final String content = "id,name,balance\n1,John,1.5\n2,Jane,not a number\n3,Jim,3.5\n";
+
+        try (final RecordReader reader = createParallelReader(content, true, 8)) {
+            assertEquals(1, reader.nextRecord().getValue("id"));
+            assertThrows(MalformedRecordException.class, reader::nextRecord);
+            assertEquals(3, reader.nextRecord().getValue("id"));
+            assertNull(reader.nextRecord());
+        }
+    }
+
+    @Test
+    public void testEmptyContent() throws IOException, MalformedRecordException {
+        assertEquals(0, readAll(createParallelReader("", true, 16), true).size());
+        assertEquals(0, readAll(createParallelReader("id,name,balance\n", true, 16), true).size());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.json;
+
+import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.util.MockComponentLog;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestJsonStreamingRowRecordReader {
+    private final String dateFormat = RecordFieldType.DATE.getDefaultFormat();
+    private final String timeFormat = RecordFieldType.TIME.getDefaultFormat();
+    private final String timestampFormat = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
+
+    private RecordSchema getAccountSchema() {
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("balance", RecordFieldType.DOUBLE.getDataType()));
+        fields.add(new RecordField("city", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("zip", RecordFieldType.INT.getDataType(), Collections.singleton("zipCode")));
+        return new SimpleRecordSchema(fields);
+    }
+
+    private RecordSchema getDataTypesSchema() {
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("varcharc", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("uuid", RecordFieldType.LONG.getDataType()));
+        fields.add(new RecordField("tinyintc", RecordFieldType.BYTE.getDataType()));
+        fields.add(new RecordField("datec", RecordFieldType.DATE.getDataType()));
+        fields.add(new RecordField("smallintc", RecordFieldType.SHORT.getDataType()));
+        fields.add(new RecordField("longintc", RecordFieldType.LONG.getDataType()));
+        fields.add(new RecordField("bigintc", RecordFieldType.BIGINT.getDataType()));
+        fields.add(new RecordField("floatc", RecordFieldType.FLOAT.getDataType()));
+        fields.add(new RecordField("doublec", RecordFieldType.DOUBLE.getDataType()));
+        fields.add(new RecordField("decimalc", RecordFieldType.DECIMAL.getDecimalDataType(5, 2)));
+        fields.add(new RecordField("timestampc", RecordFieldType.TIMESTAMP.getDataType()));
+        fields.add(new RecordField("timec", RecordFieldType.TIME.getDataType()));
+        fields.add(new RecordField("charc", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("boolc", RecordFieldType.INT.getDataType()));
+        return new SimpleRecordSchema(fields);
+    }
+
+    @Test
+    void testSameRecordsAsTreeReader() throws IOException, MalformedRecordException {
+        for (final String file : Arrays.asList("bank-account-array.json", "bank-account-multiline.json", "bank-account-oneline.json", "bank-account-mixed.json")) {
+            final byte[] json = Files.readAllBytes(Paths.get("src/test/resources/json", file));
+            assertSameRecords(json, getAccountSchema(), true);
+            assertSameRecords(json, getAccountSchema(), false);
+        }
+
+        // The first record is always read as a tree, so the file is repeated to read the second copy by streaming
+        final String dataTypesJson = new String(Files.readAllBytes(Paths.get("src/test/resources/json/data-types.json")), StandardCharsets.UTF_8);
+        final byte[] dataTypes = (dataTypesJson + dataTypesJson).getBytes(StandardCharsets.UTF_8);
+        assertSameRecords(dataTypes, getDataTypesSchema(), true);
+        assertSameRecords(dataTypes, getDataTypesSchema(), false);
+    }
+
+    @Test
+    void testNestedValues() throws IOException, MalformedRecordException {
+        final RecordSchema childSchema = new SimpleRecordSchema(Arrays.asList(
+                new RecordField("id", RecordFieldType.INT.getDataType()),
+                new RecordField("tags", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.STRING.getDataType()))));
+        final DataType choiceType = RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.INT.getDataType(), RecordFieldType.RECORD.getRecordDataType(childSchema));
+        final RecordSchema schema = new SimpleRecordSchema(Arrays.asList(
+                new RecordField("child", RecordFieldType.RECORD.getRecordDataType(childSchema)),
+                new RecordField("children", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.RECORD.getRecordDataType(childSchema))),
+                new RecordField("counts", RecordFieldType.MAP.getMapDataType(RecordFieldType.LONG.getDataType())),
+                new RecordField("either", choiceType),
+                new RecordField("untyped", RecordFieldType.RECORD.getDataType())));
+
+        final String json = "{\"skipped\": {\"a\": [1, 2, {\"b\": null}]}, \"child\": {\"id\": \"1\", \"tags\": [\"x\", 2], \"extra\": true}}\n"
+                + "{\"children\": [{\"id\": 2}, {\"id\": 3, \"tags\": null}], \"counts\": {\"a\": 1, \"b\": \"2\"}, \"either\": 4, \"untyped\": {\"k\": 5}}\n"
+                + "{\"either\": {\"id\": 6}, \"counts\": [1], \"child\": null, \"unknown\": [{\"nested\": {}}]}";
+        assertSameRecords(json.getBytes(StandardCharsets.UTF_8), schema, true);
+        assertSameRecords(json.getBytes(StandardCharsets.UTF_8), schema, false);
+
+        final List<Record> records = readRecords(json.getBytes(StandardCharsets.UTF_8), schema, true, true);
+        final Record child = records.get(0).getAsRecord("child", childSchema);
+        assertEquals(1, child.getValue("id"));
+        assertArrayEquals(new Object[] {"x", "2"}, child.getAsArray("tags"));
+        assertFalse(child.getRawFieldNames().contains("extra"));
+        assertEquals(2L, ((Map<?, ?>) records.get(1).getValue("counts")).get("b"));
+        assertEquals(4, records.get(1).getValue("either"));
+    }
+
+    @Test
+    void testFieldNameTakesPrecedenceOverAlias() throws IOException, MalformedRecordException {
+        final String json = "{\"id\": 0}\n{\"zipCode\": 11111, \"zip\": 22222}\n{\"zip\": 33333, \"zipCode\": 44444}\n{\"zipCode\": 55555}";
+        final List<Record> records = readRecords(json.getBytes(StandardCharsets.UTF_8), getAccountSchema(), true, true);
+        assertEquals(22222, records.get(1).getValue("zip"));
+        assertEquals(33333, records.get(2).getValue("zip"));
+        assertEquals(55555, records.get(3).getValue("zip"));
+    }
+
+    @Test
+    void testUnconvertibleRecordIsSkipped() throws IOException, MalformedRecordException {
+        final String json = "[{\"id\": 1}, {\"id\": \"one\", \"name\": {\"first\": \"John\"}}, {\"id\": 3}]";
+        try (final InputStream in = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+             final JsonStreamingRowRecordReader reader = createStreamingReader(in, getAccountSchema())) {
+            assertEquals(1, reader.nextRecord().getValue("id"));
+            assertThrows(MalformedRecordException.class, reader::nextRecord);
+            assertEquals(3, reader.nextRecord().getValue("id"));
+            assertNull(reader.nextRecord());
+        }
+    }
+
+    private JsonStreamingRowRecordReader createStreamingReader(final InputStream in, final RecordSchema schema) throws IOException, MalformedRecordException {
+        return new JsonStreamingRowRecordReader(in, new MockComponentLog("id", "id"), schema, dateFormat, timeFormat, timestampFormat);
+    }
+
+    private void assertSameRecords(final byte[] json, final RecordSchema schema, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        final List<Record> expected = new ArrayList<>();
+        try (final InputStream in = new ByteArrayInputStream(json);
+             final JsonTreeRowRecordReader reader = new JsonTreeRowRecordReader(in, new MockComponentLog("id", "id"), schema, dateFormat, timeFormat, timestampFormat)) {
+            Record record;
+            while ((record = reader.nextRecord(true, dropUnknownFields)) != null) {
+                expected.add(record);
+            }
+        }
+
+        assertEquals(expected, readRecords(json, schema, true, dropUnknownFields));
+    }
+
+    private List<Record> readRecords(final byte[] json, final RecordSchema schema, final boolean coerceTypes, final boolean dropUnknownFields)
+            throws IOException, MalformedRecordException {
+        final List<Record> records = new ArrayList<>();
+        try (final InputStream in = new ByteArrayInputStream(json);
+             final JsonStreamingRowRecordReader reader = createStreamingReader(in, schema)) {
+            Record record;
+            while ((record = reader.nextRecord(coerceTypes, dropUnknownFields)) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
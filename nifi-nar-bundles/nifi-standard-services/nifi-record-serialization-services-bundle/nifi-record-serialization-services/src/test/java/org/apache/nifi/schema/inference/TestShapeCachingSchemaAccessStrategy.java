@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.nifi.json.JsonRecordSource;
+import org.apache.nifi.json.JsonSchemaInference;
+import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.schema.access.SchemaAccessStrategy;
+import org.apache.nifi.schema.access.SchemaField;
+import org.apache.nifi.schema.access.SchemaNotFoundException;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestShapeCachingSchemaAccessStrategy {
+    private final RecordSourceFactory<JsonNode> recordSourceFactory = (variables, in) -> new JsonRecordSource(in);
+    private final SchemaInferenceEngine<JsonNode> schemaInference = new JsonSchemaInference(new TimeValueInference("yyyy-MM-dd", "HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'"));
+
+    private CountingAccessStrategy inferenceStrategy;
+    private ShapeCachingSchemaAccessStrategy<JsonNode> accessStrategy;
+
+    @BeforeEach
+    public void setup() {
+        inferenceStrategy = new CountingAccessStrategy(new InferSchemaAccessStrategy<>(recordSourceFactory, schemaInference, Mockito.mock(ComponentLog.class)));
+        accessStrategy = new ShapeCachingSchemaAccessStrategy<>(recordSourceFactory, schemaInference, inferenceStrategy, 10, Mockito.mock(ComponentLog.class));
+    }
+
+    @Test
+    public void testSameShapeUsesCachedSchema() throws IOException, SchemaNotFoundException {
+        final RecordSchema first = getSchema("[{\"id\": 1, \"name\": \"John\"}, {\"id\": 2, \"name\": \"Jane\", \"age\": 30}]");
+        assertEquals(1, inferenceStrategy.getInvocations());
+        assertTrue(first.getField("age").isPresent());
+
+        // The first record has the same shape, so the schema inferred from the entire first array is used, including the age field
+        final RecordSchema second = getSchema("[{\"id\": 3, \"name\": \"Jim\"}]");
+        assertEquals(1, inferenceStrategy.getInvocations());
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testDifferentShapeInfersSchema() throws IOException, SchemaNotFoundException {
+        getSchema("[{\"id\": 1, \"name\": \"John\"}]");
+
+        final RecordSchema differentNames = getSchema("[{\"id\": 1, \"title\": \"Engineer\"}]");
+        assertEquals(2, inferenceStrategy.getInvocations());
+        assertTrue(differentNames.getField("title").isPresent());
+        assertFalse(differentNames.getField("name").isPresent());
+
+        final RecordSchema differentTypes = getSchema("[{\"id\": \"one\", \"name\": \"John\"}]");
+        assertEquals(3, inferenceStrategy.getInvocations());
+        assertEquals(RecordFieldType.STRING.getDataType(), differentTypes.getDataType("id").get());
+    }
+
+    @Test
+    public void testEmptyContentIsNotCached() throws IOException, SchemaNotFoundException {
+        getSchema("[]");
+        getSchema("[]");
+        assertEquals(2, inferenceStrategy.getInvocations());
+    }
+
+    private RecordSchema getSchema(final String json) throws IOException, SchemaNotFoundException {
+        try (final InputStream in = new BufferedInputStream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+            return accessStrategy.getSchema(Collections.emptyMap(), in, null);
+        }
+    }
+
+    private static class CountingAccessStrategy implements SchemaAccessStrategy {
+        private final SchemaAccessStrategy delegate;
+        private int invocations = 0;
+
+        CountingAccessStrategy(final SchemaAccessStrategy delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public RecordSchema getSchema(final Map<String, String> variables, final InputStream contentStream, final RecordSchema readSchema) throws SchemaNotFoundException, IOException {
+            invocations++;
+            return delegate.getSchema(variables, contentStream, readSchema);
+        }
+
+        @Override
+        public Set<SchemaField> getSuppliedSchemaFields() {
+            return delegate.getSuppliedSchemaFields();
+        }
+
+        int getInvocations() {
+            return invocations;
+        }
+    }
+}